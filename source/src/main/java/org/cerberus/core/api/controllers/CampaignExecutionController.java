@@ -24,13 +24,7 @@ import io.swagger.annotations.Api;
 import io.swagger.annotations.ApiOperation;
 import io.swagger.annotations.ApiResponse;
 import io.swagger.annotations.ApiResponses;
-import java.io.File;
-import java.io.FileNotFoundException;
-import java.io.FileOutputStream;
 import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
 import lombok.AllArgsConstructor;
 import org.cerberus.core.api.controllers.wrappers.ResponseWrapper;
 import org.cerberus.core.api.dto.v001.CICampaignResultDTOV001;
@@ -52,20 +46,15 @@ import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
 import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
 import java.security.Principal;
 import java.text.DateFormat;
 import java.text.SimpleDateFormat;
-import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.Date;
-import java.util.List;
-import java.util.UUID;
-import java.util.zip.ZipEntry;
-import java.util.zip.ZipOutputStream;
 import org.cerberus.core.crud.entity.Tag;
 import org.cerberus.core.service.pdf.IPDFService;
 import org.cerberus.core.util.DateUtil;
-import org.springframework.core.io.InputStreamResource;
 
 /**
  * @author lucashimpens
@@ -124,13 +113,12 @@ public class CampaignExecutionController {
         @ApiResponse(code = 404, message = "Campaign execution was not found."),
         @ApiResponse(code = 500, message = "An error occurred when retrieving the campaign execution pdfs report.")
     })
-    @JsonView(View.Public.GET.class)
-    @ResponseStatus(HttpStatus.OK)
     @GetMapping(path = "/pdf/{campaignExecutionId}", produces = "application/zip")
-    public ResponseEntity<InputStreamResource> findCampaignExecutionPdfById(
+    public void findCampaignExecutionPdfById(
             @PathVariable("campaignExecutionId") String campaignExecutionId,
             @RequestHeader(name = API_KEY, required = false) String apiKey,
             HttpServletRequest request,
+            HttpServletResponse response,
             Principal principal) {
         LOG.debug("pdf Called.");
         logEventService.createForPublicCalls(EXECUTIONS_CAMPAIGN_PDF_PATH, "CALL", String.format("API /campaignexecutions/pdf/ called with URL: %s", request.getRequestURL()), request);
@@ -143,77 +131,23 @@ public class CampaignExecutionController {
 
             String filePostName = campaignExecutionId + "_" + String.valueOf(df.format(today));
 
-            String rootPath = "";
-            if (System.getProperty("java.io.tmpdir") != null) {
-                rootPath = System.getProperty("java.io.tmpdir");
-            } else {
-                String sep = "" + File.separatorChar;
-                if (sep.equalsIgnoreCase("/")) {
-                    rootPath = "/tmp";
-                } else {
-                    rootPath = "C:";
-                }
-                LOG.warn("Java Property for temporary folder not defined. Default to :" + rootPath);
-            }
-            UUID fileUUID = UUID.randomUUID();
-            String tmpFolderPath = rootPath + File.separatorChar + fileUUID.toString().substring(0, 17) + File.separatorChar;
-            File folderPath = new File(tmpFolderPath);
-            folderPath.mkdirs();
-
-            // Summary PDF
-            String pdfFilenameOri = this.pdfService.generatePdf(campaignExeIdTag, today, tmpFolderPath);
-            String pdfFilename = this.pdfService.addHeaderAndFooter(pdfFilenameOri, tmpFolderPath + "Campaign Execution-" + filePostName + ".pdf", campaignExeIdTag, today, true);
-
-            // Appendix PDFs
-            List<String> pdfFilenameOriAppendix = this.pdfService.generatePdfAppendix(campaignExeIdTag, today, tmpFolderPath);
-            int i = 0;
-            List<String> pdfFilenameAppendixList = new ArrayList<>();
-            for (String filenameAppendix : pdfFilenameOriAppendix) {
-                i++;
-                pdfFilenameAppendixList.add(this.pdfService.addHeaderAndFooter(filenameAppendix, tmpFolderPath + "Campaign Execution-" + filePostName + " - Appendix " + i + ".pdf", campaignExeIdTag, today, false));
-
-            }
-
-            // Creating a PdfWriter
-            String zipPath = rootPath + File.separatorChar + "campaignExecutionReport-" + fileUUID.toString().substring(0, 17) + ".zip";
-            Path zipFilePath = Paths.get(zipPath);
-
-            List<String> filePaths = new ArrayList<>();
-            filePaths.add(pdfFilename);
-            for (String filenam : pdfFilenameAppendixList) {
-                filePaths.add(filenam);
-            }
-
-            try (ZipOutputStream zipOut = new ZipOutputStream(new FileOutputStream(zipPath))) {
-                for (String filePath1 : filePaths) {
-                    File fileToZip = new File(filePath1);
-                    zipOut.putNextEntry(new ZipEntry(fileToZip.getName()));
-                    Files.copy(fileToZip.toPath(), zipOut);
-                }
-            }
+            // Zip is streamed to the response as soon as the pdf files are available.
+            response.setStatus(HttpStatus.OK.value());
+            response.setContentType("application/zip");
+            response.setHeader("Content-Disposition", "attachment; filename=CampaignReport-" + filePostName + ".zip");
+            this.pdfService.writeCampaignReportZip(campaignExeIdTag, today, filePostName, response.getOutputStream());
 
             logEventService.createForPublicCalls(EXECUTIONS_CAMPAIGN_PDF_PATH, "CALLRESULT", String.format("PDFs calculated for campaign '%s'", campaignExecutionId), request);
-            return ResponseEntity
-                    .status(HttpStatus.OK)
-                    .contentLength(zipFilePath.toFile().length())
-                    .header("Content-Disposition", "attachment; filename=CampaignReport-" + filePostName + ".zip")
-                    .body(new InputStreamResource(Files.newInputStream(zipFilePath)));
         } catch (EntityNotFoundException exception) {
-            return ResponseEntity
-                    .status(HttpStatus.NOT_FOUND)
-                    .body(null);
+            response.setStatus(HttpStatus.NOT_FOUND.value());
         } catch (FailedReadOperationException exception) {
-            return ResponseEntity
-                    .status(HttpStatus.INTERNAL_SERVER_ERROR)
-                    .body(null);
-        } catch (FileNotFoundException ex) {
-            return ResponseEntity
-                    .status(HttpStatus.INTERNAL_SERVER_ERROR)
-                    .body(null);
+            response.setStatus(HttpStatus.INTERNAL_SERVER_ERROR.value());
         } catch (IOException ex) {
-            return ResponseEntity
-                    .status(HttpStatus.INTERNAL_SERVER_ERROR)
-                    .body(null);
+            LOG.error(ex, ex);
+            if (!response.isCommitted()) {
+                response.reset();
+                response.setStatus(HttpStatus.INTERNAL_SERVER_ERROR.value());
+            }
         }
     }
 
@@ -0,0 +1,97 @@
+/**
+ * Cerberus Copyright (C) 2013 - 2017 cerberustesting
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This file is part of Cerberus.
+ *
+ * Cerberus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Cerberus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Cerberus.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cerberus.core.crud.dao;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.List;
+import org.cerberus.core.crud.entity.EventOutbox;
+import org.cerberus.core.util.answer.Answer;
+import org.cerberus.core.util.answer.AnswerItem;
+import org.cerberus.core.util.answer.AnswerList;
+
+/**
+ * Interface that defines the public methods to manage Event Outbox table
+ * Insert, Update, Find
+ */
+public interface IEventOutboxDAO {
+
+    /**
+     * Insert all entries in a single batch.
+     *
+     * @param objectList
+     * @return
+     */
+    Answer createList(List<EventOutbox> objectList);
+
+    /**
+     * Get the QUEUED entries that are due for delivery, oldest first.
+     *
+     * @param limit
+     * @return
+     */
+    AnswerList<EventOutbox> readToTreat(int limit);
+
+    /**
+     * Move the entry from QUEUED to SENDING.
+     *
+     * @param id
+     * @return true if the entry was claimed by the current instance. false if
+     * another instance already took it.
+     */
+    boolean updateToSending(long id);
+
+    /**
+     *
+     * @param id
+     * @param status
+     * @param nbRetry
+     * @param nextTryDate
+     * @param message
+     * @return
+     */
+    Answer updateStatus(long id, String status, int nbRetry, Timestamp nextTryDate, String message);
+
+    /**
+     * Move back to QUEUED the entries that stayed in SENDING for more than
+     * timeOutInS seconds (instance stopped during the delivery).
+     *
+     * @param timeOutInS
+     * @return the number of entries moved back to QUEUED.
+     */
+    AnswerItem<Integer> updateToQueuedOldSending(int timeOutInS);
+
+    /**
+     *
+     * @param nbDays
+     * @return
+     */
+    Answer deleteDoneOlderThan(int nbDays);
+
+    /**
+     *
+     * @param rs
+     * @return
+     * @throws SQLException
+     */
+    EventOutbox loadFromResultSet(ResultSet rs) throws SQLException;
+
+}
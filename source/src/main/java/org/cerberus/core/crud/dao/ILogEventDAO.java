@@ -53,6 +53,25 @@ public interface ILogEventDAO {
      */
     AnswerList<LogEvent> readByCriteria(int start, int amount, String colName, String dir, String searchTerm, Map<String, List<String>> individualSearch);
 
+    /**
+     * Keyset (seek) variant of the list. The page is read after the row
+     * described by cursor instead of skipping start rows and the total is a
+     * cached or estimated count. Falls back to offset pagination when colName
+     * cannot be used as a keyset or when no cursor is given for a page other
+     * than the first one.
+     *
+     * @param start
+     * @param amount
+     * @param colName
+     * @param dir
+     * @param searchTerm
+     * @param individualSearch
+     * @param cursor cursor returned with the previous page, null for the first
+     * page
+     * @return a list of LogEvent with the cursor of the next page.
+     */
+    AnswerList<LogEvent> readByCriteria(int start, int amount, String colName, String dir, String searchTerm, Map<String, List<String>> individualSearch, String cursor);
+
     /**
      * Insert a logEvent into the database.
      *
@@ -61,6 +80,14 @@ public interface ILogEventDAO {
      */
     Answer create(LogEvent logevent);
 
+    /**
+     * Insert a list of logEvent into the database in a single batch.
+     *
+     * @param logevents
+     * @return
+     */
+    Answer createList(List<LogEvent> logevents);
+
     /**
      *
      * @param resultSet
@@ -43,4 +43,6 @@ public interface IMyVersionDAO {
 
     boolean flagMyVersionString(String key);
 
+    boolean increment(String key);
+
 }
@@ -22,7 +22,9 @@ package org.cerberus.core.crud.dao;
 import org.cerberus.core.util.answer.Answer;
 import org.cerberus.core.util.answer.AnswerList;
 
+import java.sql.Timestamp;
 import java.util.Date;
+import java.util.List;
 import org.cerberus.core.crud.entity.QueueStat;
 import org.cerberus.core.util.answer.AnswerItem;
 
@@ -37,14 +39,16 @@ import org.cerberus.core.util.answer.AnswerItem;
 public interface IQueueStatDAO {
 
     /**
+     * Samples and compacted buckets between from and to, downsampled by the
+     * database into buckets of bucketSecond seconds. Each returned stat holds
+     * the average values of the bucket and their min and max.
      *
      * @param from
      * @param to
-     * @param modulo allow to sample data retreived taking 1 record out of
-     * modulo.
+     * @param bucketSecond
      * @return
      */
-    AnswerList<QueueStat> readByCriteria(Date from, Date to, int modulo);
+    AnswerList<QueueStat> readByCriteria(Date from, Date to, int bucketSecond);
 
     /**
      *
@@ -60,4 +64,28 @@ public interface IQueueStatDAO {
      */
     Answer create(QueueStat object);
 
+    /**
+     * Insert the samples in a single batch.
+     *
+     * @param objectList
+     * @return
+     */
+    Answer createList(List<QueueStat> objectList);
+
+    /**
+     *
+     * @return the date of the oldest sample not yet compacted, null if none.
+     */
+    AnswerItem<Timestamp> readFirstDateCreated();
+
+    /**
+     * Aggregate the samples between from (included) and to (excluded) into
+     * hourly min/avg/max buckets (queuestatbucket) then delete them.
+     *
+     * @param from
+     * @param to
+     * @return the number of compacted samples.
+     */
+    AnswerItem<Integer> compact(Timestamp from, Timestamp to);
+
 }
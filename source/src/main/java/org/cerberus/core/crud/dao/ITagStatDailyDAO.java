@@ -0,0 +1,70 @@
+/**
+ * Cerberus Copyright (C) 2013 - 2017 cerberustesting
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This file is part of Cerberus.
+ *
+ * Cerberus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Cerberus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Cerberus.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cerberus.core.crud.dao;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.util.List;
+import org.cerberus.core.crud.entity.TagStatDaily;
+import org.cerberus.core.util.answer.Answer;
+import org.cerberus.core.util.answer.AnswerItem;
+import org.cerberus.core.util.answer.AnswerList;
+
+/**
+ * Access to the daily tag statistics materialized from the tag table.
+ */
+public interface ITagStatDailyDAO {
+
+    /**
+     * Recompute the statistics of the tags created on that day (UTC) from the
+     * tag table. Statistics of the day are replaced so that the method can be
+     * called as many times as needed.
+     *
+     * @param day
+     * @return
+     */
+    Answer refreshDay(Date day);
+
+    /**
+     *
+     * @return the creation date of the oldest tag, null if there is no tag.
+     */
+    AnswerItem<Timestamp> readFirstTagDateCreated();
+
+    /**
+     * @param from
+     * @param to
+     * @return the days between from and to (included) that already have
+     * statistics.
+     */
+    AnswerList<Date> readDays(Date from, Date to);
+
+    /**
+     * Statistics summed per day (all campaigns) between from and to
+     * (included).
+     *
+     * @param systems systems of the tags. Empty for all the tags.
+     * @param from
+     * @param to
+     * @return one object per day, ordered by day.
+     */
+    AnswerList<TagStatDaily> readByVarious(List<String> systems, Date from, Date to);
+
+}
@@ -19,9 +19,11 @@
  */
 package org.cerberus.core.crud.dao;
 
+import java.sql.SQLException;
 import java.util.List;
 import org.cerberus.core.crud.entity.TestCase;
 import org.cerberus.core.crud.entity.TestCaseCountry;
+import org.cerberus.core.crud.utils.StatementBatches;
 import org.cerberus.core.util.answer.Answer;
 import org.cerberus.core.util.answer.AnswerItem;
 import org.cerberus.core.util.answer.AnswerList;
@@ -85,4 +87,13 @@ public interface ITestCaseCountryDAO {
      */
     Answer update(TestCaseCountry object);
 
+    /**
+     * Add the creation of the country to batches of statements sharing the same
+     * connection.
+     *
+     * @param batches
+     * @param testCaseCountry
+     * @throws SQLException
+     */
+    void addCreate(StatementBatches batches, TestCaseCountry testCaseCountry) throws SQLException;
 }
@@ -21,6 +21,7 @@ package org.cerberus.core.crud.dao;
 
 import org.cerberus.core.crud.entity.TestCase;
 import org.cerberus.core.crud.entity.TestCaseCountryProperties;
+import org.cerberus.core.crud.utils.StatementBatches;
 import org.cerberus.core.dto.TestListDTO;
 import org.cerberus.core.exception.CerberusException;
 import org.cerberus.core.util.answer.Answer;
@@ -171,4 +172,33 @@ public interface ITestCaseCountryPropertiesDAO {
      */
     TestCaseCountryProperties loadFromResultSet(ResultSet resultSet) throws SQLException;
 
+    /**
+     * Add the creation of the property to batches of statements sharing the same
+     * connection.
+     *
+     * @param batches
+     * @param testCaseCountryProperties
+     * @throws SQLException
+     */
+    void addCreate(StatementBatches batches, TestCaseCountryProperties testCaseCountryProperties) throws SQLException;
+
+    /**
+     * Add the update of the property to batches of statements sharing the same
+     * connection.
+     *
+     * @param batches
+     * @param testCaseCountryProperties
+     * @throws SQLException
+     */
+    void addUpdate(StatementBatches batches, TestCaseCountryProperties testCaseCountryProperties) throws SQLException;
+
+    /**
+     * Add the deletion of the property to batches of statements sharing the same
+     * connection.
+     *
+     * @param batches
+     * @param testCaseCountryProperties
+     * @throws SQLException
+     */
+    void addDelete(StatementBatches batches, TestCaseCountryProperties testCaseCountryProperties) throws SQLException;
 }
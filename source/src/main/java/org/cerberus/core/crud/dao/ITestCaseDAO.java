@@ -21,6 +21,7 @@ package org.cerberus.core.crud.dao;
 
 import org.cerberus.core.crud.entity.TestCase;
 import org.cerberus.core.crud.factory.impl.FactoryTestCase;
+import org.cerberus.core.crud.utils.StatementBatches;
 import org.cerberus.core.dto.TestListDTO;
 import org.cerberus.core.exception.CerberusException;
 import org.cerberus.core.util.answer.Answer;
@@ -279,4 +280,23 @@ public interface ITestCaseDAO {
      */
     public AnswerList<TestListDTO> findTestCaseByServiceByDataLib(String service);
 
+    /**
+     * Add the creation of the testcase to batches of statements sharing the same
+     * connection.
+     *
+     * @param batches
+     * @param testCase
+     * @throws SQLException
+     */
+    void addCreate(StatementBatches batches, TestCase testCase) throws SQLException;
+
+    /**
+     * Add the deletion of the testcase to batches of statements sharing the same
+     * connection.
+     *
+     * @param batches
+     * @param testCase
+     * @throws SQLException
+     */
+    void addDelete(StatementBatches batches, TestCase testCase) throws SQLException;
 }
@@ -21,8 +21,11 @@ package org.cerberus.core.crud.dao;
 
 import org.cerberus.core.crud.entity.TestCase;
 import org.cerberus.core.crud.entity.TestCaseDep;
+import org.cerberus.core.crud.utils.StatementBatches;
 import org.cerberus.core.exception.CerberusException;
 
+import java.sql.Connection;
+import java.sql.SQLException;
 import java.util.List;
 
 /**
@@ -41,4 +44,25 @@ public interface ITestCaseDepDAO {
 
     void delete(TestCaseDep testCaseDep) throws CerberusException;
 
+    /**
+     * Add the creation of the dependency to batches of statements sharing the same
+     * connection.
+     *
+     * @param batches
+     * @param testcaseDependency
+     * @throws SQLException
+     */
+    void addCreate(StatementBatches batches, TestCaseDep testcaseDependency) throws SQLException;
+
+    /**
+     * Read, on connection, the dependencies of other testcases to testcase.
+     * Used inside a transaction in order to keep them when testcase is
+     * deleted and created again.
+     *
+     * @param connection
+     * @param testcase
+     * @return
+     * @throws SQLException
+     */
+    List<TestCaseDep> readByDependency(Connection connection, TestCase testcase) throws SQLException;
 }
@@ -0,0 +1,81 @@
+/**
+ * Cerberus Copyright (C) 2013 - 2017 cerberustesting
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This file is part of Cerberus.
+ *
+ * Cerberus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Cerberus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Cerberus.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cerberus.core.crud.dao;
+
+import java.sql.Timestamp;
+import java.util.List;
+import org.cerberus.core.util.answer.Answer;
+import org.cerberus.core.util.answer.AnswerItem;
+import org.cerberus.core.util.answer.AnswerList;
+import org.json.JSONObject;
+
+/**
+ * Access to the execution history for the retention job (archive and purge).
+ */
+public interface ITestCaseExecutionArchiveDAO {
+
+    /**
+     *
+     * @return the systems that have executions.
+     */
+    AnswerList<String> readDistinctSystems();
+
+    /**
+     * Oldest finished executions of the system that started before the given
+     * date. Executions of a tag are only returned once the tag summary
+     * (DateEndQueue) has been computed, so that the campaign results remain
+     * visible once the detail is purged.
+     *
+     * @param system
+     * @param before
+     * @param keepTagRegex executions with a tag matching that (MySQL) regular
+     * expression are kept. Empty to keep none.
+     * @param limit
+     * @return the execution ids, in ascending order.
+     */
+    AnswerList<Long> readIdsToArchive(String system, Timestamp before, String keepTagRegex, int limit);
+
+    /**
+     * @param exeIds
+     * @return the raw rows of the executions and of all their detail tables,
+     * as a JSON object with one array of rows per table.
+     */
+    AnswerItem<JSONObject> readRawRows(List<Long> exeIds);
+
+    /**
+     * Delete the executions and their detail. Every execution is deleted in
+     * its own transaction so that it is never left half purged.
+     *
+     * @param exeIds
+     * @return
+     */
+    Answer deleteExecutions(List<Long> exeIds);
+
+    /**
+     * Delete at most limit rows of a log table.
+     *
+     * @param table logevent, queuestat or queuestatbucket
+     * @param before
+     * @param limit
+     * @return the number of deleted rows.
+     */
+    AnswerItem<Integer> deleteLogsBefore(String table, Timestamp before, int limit);
+
+}
@@ -226,6 +226,27 @@ public interface ITestCaseExecutionDAO {
      */
     AnswerList<TestCaseExecution> readByCriteria(int start, int amount, String sort, String searchTerm, Map<String, List<String>> individualSearch, List<String> individualLike, List<String> systems) throws CerberusException;
 
+    /**
+     * Keyset (seek) variant of the list, only available when sorting on the
+     * execution id. The page is read after the id held by cursor and the total
+     * is a cached count. Falls back to offset pagination for the other
+     * columns or when no cursor is given for a page other than the first one.
+     *
+     * @param start
+     * @param amount
+     * @param colName
+     * @param dir
+     * @param searchTerm
+     * @param individualSearch
+     * @param individualLike
+     * @param systems
+     * @param cursor cursor returned with the previous page, null for the first
+     * page
+     * @return
+     * @throws CerberusException
+     */
+    AnswerList<TestCaseExecution> readByCriteria(int start, int amount, String colName, String dir, String searchTerm, Map<String, List<String>> individualSearch, List<String> individualLike, List<String> systems, String cursor) throws CerberusException;
+
     /**
      * @param tag
      * @return
@@ -27,6 +27,7 @@ import java.util.List;
 import org.cerberus.core.crud.entity.Application;
 import org.cerberus.core.crud.entity.TestCase;
 import org.cerberus.core.crud.entity.TestCaseExecutionHttpStat;
+import org.cerberus.core.crud.entity.TestCaseExecutionHttpStatMetric;
 import org.cerberus.core.util.answer.Answer;
 import org.cerberus.core.util.answer.AnswerItem;
 import org.cerberus.core.util.answer.AnswerList;
@@ -88,6 +89,41 @@ public interface ITestCaseExecutionHttpStatDAO {
     AnswerItem<JSONObject> readByCriteria(String controlStatus, List<TestCase> testcases, Date from, Date to, List<String> system, List<String> countries, List<String> environments, List<String> robotDecli,
              List<String> parties, List<String> types, List<String> units);
 
+    /**
+     * Insert the values of the http stats. Values that already exist are
+     * ignored.
+     *
+     * @param metrics
+     * @return
+     */
+    Answer createMetrics(List<TestCaseExecutionHttpStatMetric> metrics);
+
+    /**
+     * Recompute the hourly and daily rollups of every curve and period that
+     * contains one of the executions, from all the values of that period.
+     * It can be run again on the same executions.
+     *
+     * @param fromExeId
+     * @param toExeId
+     * @return
+     */
+    Answer createRollups(long fromExeId, long toExeId);
+
+    /**
+     *
+     * @return the lowest execution id that has values, Long.MAX_VALUE if
+     * there is none and -1 on error.
+     */
+    long readMetricMinExeId();
+
+    /**
+     *
+     * @param exeId
+     * @param limit
+     * @return http stats of the executions before exeId, most recent first.
+     */
+    AnswerList<TestCaseExecutionHttpStat> readByIdLowerThan(long exeId, int limit);
+
     /**
      * Uses data of ResultSet to create object {@link Application}
      *
@@ -26,6 +26,7 @@ import java.util.Map;
 import org.cerberus.core.crud.entity.Label;
 import org.cerberus.core.crud.entity.TestCase;
 import org.cerberus.core.crud.entity.TestCaseLabel;
+import org.cerberus.core.crud.utils.StatementBatches;
 import org.cerberus.core.util.answer.Answer;
 import org.cerberus.core.util.answer.AnswerItem;
 import org.cerberus.core.util.answer.AnswerList;
@@ -117,4 +118,13 @@ public interface ITestCaseLabelDAO {
      */
     AnswerList<TestCaseLabel> readByTypeSystem(String type, String system);
 
+    /**
+     * Add the creation of the label to batches of statements sharing the same
+     * connection.
+     *
+     * @param batches
+     * @param testCaseLabel
+     * @throws SQLException
+     */
+    void addCreate(StatementBatches batches, TestCaseLabel testCaseLabel) throws SQLException;
 }
@@ -0,0 +1,71 @@
+/**
+ * Cerberus Copyright (C) 2013 - 2017 cerberustesting
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This file is part of Cerberus.
+ *
+ * Cerberus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Cerberus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Cerberus.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cerberus.core.crud.dao;
+
+import java.util.List;
+import org.cerberus.core.crud.entity.TestCase;
+import org.cerberus.core.crud.entity.TestCaseCountryProperties;
+import org.cerberus.core.crud.entity.TestCaseStep;
+import org.cerberus.core.crud.entity.TestCaseStepAction;
+import org.cerberus.core.crud.entity.TestCaseStepActionControl;
+import org.cerberus.core.util.ListDiff;
+import org.cerberus.core.util.answer.Answer;
+
+/**
+ * Save of the whole script of a testcase (properties, steps, actions and
+ * controls) in a single transaction.
+ */
+public interface ITestCaseScriptDAO {
+
+    /**
+     * Apply all the differences with batch statements in one transaction.
+     * The version of the testcase is incremented only if it is still
+     * expectedVersion, else nothing is saved.
+     *
+     * @param test
+     * @param testcase
+     * @param expectedVersion version of the testcase the differences were
+     * computed from.
+     * @param usrModif
+     * @param properties
+     * @param steps
+     * @param actions
+     * @param controls
+     * @return DATA_OPERATION_ERROR_EXPECTED if the testcase was modified in
+     * the meantime.
+     */
+    Answer save(String test, String testcase, int expectedVersion, String usrModif,
+            ListDiff<TestCaseCountryProperties> properties, ListDiff<TestCaseStep> steps,
+            ListDiff<TestCaseStepAction> actions, ListDiff<TestCaseStepActionControl> controls);
+
+    /**
+     * Insert new testcases with their countries, dependencies, labels and
+     * scripts with batch statements in one transaction, after deleting the
+     * testcases they replace. Nothing is changed if one of the rows fails.
+     * The keys of all the children must already be set.
+     *
+     * @param replaced existing testcases to delete first. The dependencies
+     * of other testcases to them are kept.
+     * @param testcases
+     * @return
+     */
+    Answer create(List<TestCase> replaced, List<TestCase> testcases);
+
+}
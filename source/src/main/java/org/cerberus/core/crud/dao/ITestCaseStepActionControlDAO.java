@@ -19,9 +19,11 @@
  */
 package org.cerberus.core.crud.dao;
 
+import java.sql.SQLException;
 import java.util.List;
 
 import org.cerberus.core.crud.entity.TestCaseStepActionControl;
+import org.cerberus.core.crud.utils.StatementBatches;
 import org.cerberus.core.exception.CerberusException;
 import org.cerberus.core.util.answer.Answer;
 import org.cerberus.core.util.answer.AnswerList;
@@ -64,4 +66,34 @@ public interface ITestCaseStepActionControlDAO {
     public AnswerList<TestCaseStepActionControl> readByVarious1(String test, String testcase, int stepId, int actionId);
 
     Answer create(TestCaseStepActionControl testCaseStepActionControl);
+
+    /**
+     * Add the creation of the control to batches of statements sharing the same
+     * connection.
+     *
+     * @param batches
+     * @param testCaseStepActionControl
+     * @throws SQLException
+     */
+    void addCreate(StatementBatches batches, TestCaseStepActionControl testCaseStepActionControl) throws SQLException;
+
+    /**
+     * Add the update of the control to batches of statements sharing the same
+     * connection.
+     *
+     * @param batches
+     * @param testCaseStepActionControl
+     * @throws SQLException
+     */
+    void addUpdate(StatementBatches batches, TestCaseStepActionControl testCaseStepActionControl) throws SQLException;
+
+    /**
+     * Add the deletion of the control to batches of statements sharing the same
+     * connection.
+     *
+     * @param batches
+     * @param testCaseStepActionControl
+     * @throws SQLException
+     */
+    void addDelete(StatementBatches batches, TestCaseStepActionControl testCaseStepActionControl) throws SQLException;
 }
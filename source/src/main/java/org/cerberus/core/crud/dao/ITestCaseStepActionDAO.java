@@ -20,10 +20,12 @@
 package org.cerberus.core.crud.dao;
 
 import org.cerberus.core.crud.entity.TestCaseStepAction;
+import org.cerberus.core.crud.utils.StatementBatches;
 import org.cerberus.core.exception.CerberusException;
 import org.cerberus.core.util.answer.Answer;
 import org.cerberus.core.util.answer.AnswerList;
 
+import java.sql.SQLException;
 import java.util.List;
 
 /**
@@ -129,4 +131,34 @@ public interface ITestCaseStepActionDAO {
      * @return
      */
     Answer create(TestCaseStepAction testCaseStepAction);
+
+    /**
+     * Add the creation of the action to batches of statements sharing the same
+     * connection.
+     *
+     * @param batches
+     * @param testCaseStepAction
+     * @throws SQLException
+     */
+    void addCreate(StatementBatches batches, TestCaseStepAction testCaseStepAction) throws SQLException;
+
+    /**
+     * Add the update of the action to batches of statements sharing the same
+     * connection.
+     *
+     * @param batches
+     * @param testCaseStepAction
+     * @throws SQLException
+     */
+    void addUpdate(StatementBatches batches, TestCaseStepAction testCaseStepAction) throws SQLException;
+
+    /**
+     * Add the deletion of the action to batches of statements sharing the same
+     * connection.
+     *
+     * @param batches
+     * @param testCaseStepAction
+     * @throws SQLException
+     */
+    void addDelete(StatementBatches batches, TestCaseStepAction testCaseStepAction) throws SQLException;
 }
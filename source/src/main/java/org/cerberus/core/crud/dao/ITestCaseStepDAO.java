@@ -20,10 +20,12 @@
 package org.cerberus.core.crud.dao;
 
 import org.cerberus.core.crud.entity.TestCaseStep;
+import org.cerberus.core.crud.utils.StatementBatches;
 import org.cerberus.core.exception.CerberusException;
 import org.cerberus.core.util.answer.Answer;
 import org.cerberus.core.util.answer.AnswerList;
 
+import java.sql.SQLException;
 import java.util.List;
 
 /**
@@ -172,4 +174,34 @@ public interface ITestCaseStepDAO {
      * @return
      */
     Answer create(TestCaseStep testCaseStep);
+
+    /**
+     * Add the creation of the step to batches of statements sharing the same
+     * connection.
+     *
+     * @param batches
+     * @param testCaseStep
+     * @throws SQLException
+     */
+    void addCreate(StatementBatches batches, TestCaseStep testCaseStep) throws SQLException;
+
+    /**
+     * Add the update of the step to batches of statements sharing the same
+     * connection.
+     *
+     * @param batches
+     * @param testCaseStep
+     * @throws SQLException
+     */
+    void addUpdate(StatementBatches batches, TestCaseStep testCaseStep) throws SQLException;
+
+    /**
+     * Add the deletion of the step to batches of statements sharing the same
+     * connection.
+     *
+     * @param batches
+     * @param testCaseStep
+     * @throws SQLException
+     */
+    void addDelete(StatementBatches batches, TestCaseStep testCaseStep) throws SQLException;
 }
@@ -115,6 +115,13 @@ public interface IUserDAO {
      * @return true if password match and false if password does not match.
      */
     boolean verifyAPIKey(String apiKey);
+
+    /**
+     * @param userID
+     * @return the API key currently stored for the user, null if the user does
+     * not exist.
+     */
+    String readAPIKey(int userID);
     
     /**
      *
@@ -140,6 +140,13 @@ public class AppServiceDAO implements IAppServiceDAO {
 
     @Override
     public AnswerList<AppService> readByCriteria(int start, int amount, String column, String dir, String searchTerm, Map<String, List<String>> individualSearch, List<String> systems) {
+        return new SqlUtil.SearchQueryBuilder(searchTerm)
+                .fullText("srv.`Service`", "srv.`Application`", "srv.`Type`", "srv.`ServicePath`", "srv.`Method`", "srv.`Operation`", "srv.`ServiceRequest`", "srv.`KafkaTopic`", "srv.`KafkaKey`", "srv.`AttachementURL`", "srv.`Group`", "srv.`Description`", "srv.`UsrCreated`", "srv.`UsrModif`")
+                .like("srv.KafkaFilterPath", "srv.KafkaFilterValue", "srv.KafkaFilterHeaderPath", "srv.KafkaFilterHeaderValue", "srv.SchemaRegistryUrl", "srv.DateCreated", "srv.DateModif")
+                .read(searchQuery -> readByCriteria(start, amount, column, dir, individualSearch, systems, searchQuery));
+    }
+
+    private AnswerList<AppService> readByCriteria(int start, int amount, String column, String dir, Map<String, List<String>> individualSearch, List<String> systems, SqlUtil.SearchQueryBuilder searchQuery) {
 
         AnswerList<AppService> response = new AnswerList<>();
         MessageEvent msg = new MessageEvent(MessageEventEnum.DATA_OPERATION_ERROR_UNEXPECTED);
@@ -154,28 +161,8 @@ public class AppServiceDAO implements IAppServiceDAO {
 
         query.append(" WHERE 1=1");
 
-        if (StringUtil.isNotEmpty(searchTerm)) {
-            searchSQL.append(" and (srv.Service like ?");
-            searchSQL.append(" or srv.Application like ?");
-            searchSQL.append(" or srv.Type like ?");
-            searchSQL.append(" or srv.ServicePath like ?");
-            searchSQL.append(" or srv.Method like ?");
-            searchSQL.append(" or srv.Operation like ?");
-            searchSQL.append(" or srv.ServiceRequest like ?");
-            searchSQL.append(" or srv.KafkaTopic like ?");
-            searchSQL.append(" or srv.KafkaKey like ?");
-            searchSQL.append(" or srv.KafkaFilterPath like ?");
-            searchSQL.append(" or srv.KafkaFilterValue like ?");
-            searchSQL.append(" or srv.KafkaFilterHeaderPath like ?");
-            searchSQL.append(" or srv.KafkaFilterHeaderValue like ?");
-            searchSQL.append(" or srv.SchemaRegistryUrl like ?");
-            searchSQL.append(" or srv.AttachementURL like ?");
-            searchSQL.append(" or srv.Group like ?");
-            searchSQL.append(" or srv.Description like ?");
-            searchSQL.append(" or srv.UsrCreated like ?");
-            searchSQL.append(" or srv.DateCreated like ?");
-            searchSQL.append(" or srv.UsrModif like ?");
-            searchSQL.append(" or srv.DateModif like ?)");
+        if (!searchQuery.isEmpty()) {
+            searchSQL.append(" and ").append(searchQuery.getClause());
         }
         if (MapUtils.isNotEmpty(individualSearch)) {
             searchSQL.append(" and ( 1=1 ");
@@ -221,29 +208,7 @@ public class AppServiceDAO implements IAppServiceDAO {
              Statement stm = connection.createStatement()) {
 
             int i = 1;
-            if (StringUtil.isNotEmpty(searchTerm)) {
-                preStat.setString(i++, "%" + searchTerm + "%");
-                preStat.setString(i++, "%" + searchTerm + "%");
-                preStat.setString(i++, "%" + searchTerm + "%");
-                preStat.setString(i++, "%" + searchTerm + "%");
-                preStat.setString(i++, "%" + searchTerm + "%");
-                preStat.setString(i++, "%" + searchTerm + "%");
-                preStat.setString(i++, "%" + searchTerm + "%");
-                preStat.setString(i++, "%" + searchTerm + "%");
-                preStat.setString(i++, "%" + searchTerm + "%");
-                preStat.setString(i++, "%" + searchTerm + "%");
-                preStat.setString(i++, "%" + searchTerm + "%");
-                preStat.setString(i++, "%" + searchTerm + "%");
-                preStat.setString(i++, "%" + searchTerm + "%");
-                preStat.setString(i++, "%" + searchTerm + "%");
-                preStat.setString(i++, "%" + searchTerm + "%");
-                preStat.setString(i++, "%" + searchTerm + "%");
-                preStat.setString(i++, "%" + searchTerm + "%");
-                preStat.setString(i++, "%" + searchTerm + "%");
-                preStat.setString(i++, "%" + searchTerm + "%");
-                preStat.setString(i++, "%" + searchTerm + "%");
-                preStat.setString(i++, "%" + searchTerm + "%");
-            }
+            i = searchQuery.setParameters(preStat, i);
             for (String individualColumnSearchValue : individualColumnSearchValues) {
                 preStat.setString(i++, individualColumnSearchValue);
             }
@@ -327,6 +292,13 @@ public class AppServiceDAO implements IAppServiceDAO {
 
     @Override
     public AnswerList<String> readDistinctValuesByCriteria(String searchTerm, Map<String, List<String>> individualSearch, String columnName) {
+        return new SqlUtil.SearchQueryBuilder(searchTerm)
+                .fullText("srv.`Service`", "srv.`Application`", "srv.`Type`", "srv.`ServicePath`", "srv.`Method`", "srv.`Operation`", "srv.`ServiceRequest`", "srv.`KafkaTopic`", "srv.`KafkaKey`", "srv.`AttachementURL`", "srv.`Group`", "srv.`Description`", "srv.`UsrCreated`", "srv.`UsrModif`")
+                .like("srv.KafkaFilterPath", "srv.KafkaFilterValue")
+                .read(searchQuery -> readDistinctValuesByCriteria(individualSearch, columnName, searchQuery));
+    }
+
+    private AnswerList<String> readDistinctValuesByCriteria(Map<String, List<String>> individualSearch, String columnName, SqlUtil.SearchQueryBuilder searchQuery) {
         AnswerList<String> answer = new AnswerList<>();
         MessageEvent msg = new MessageEvent(MessageEventEnum.DATA_OPERATION_ERROR_UNEXPECTED);
         msg.setDescription(msg.getDescription().replace("%DESCRIPTION%", ""));
@@ -340,18 +312,8 @@ public class AppServiceDAO implements IAppServiceDAO {
         query.append(" as distinctValues FROM appservice srv");
         query.append(" where 1=1");
 
-        if (StringUtil.isNotEmpty(searchTerm)) {
-            searchSQL.append(" and (srv.Service like ?");
-            searchSQL.append(" or srv.Group like ?");
-            searchSQL.append(" or srv.ServicePath like ?");
-            searchSQL.append(" or srv.Operation like ?");
-            searchSQL.append(" or srv.KafkaTopic like ?");
-            searchSQL.append(" or srv.KafkaKey like ?");
-            searchSQL.append(" or srv.KafkaFilterPath like ?");
-            searchSQL.append(" or srv.KafkaFilterValue like ?");
-            searchSQL.append(" or srv.AttachementURL like ?");
-            searchSQL.append(" or srv.Description like ?");
-            searchSQL.append(" or srv.ServiceRequest like ?)");
+        if (!searchQuery.isEmpty()) {
+            searchSQL.append(" and ").append(searchQuery.getClause());
         }
         if (MapUtils.isNotEmpty(individualSearch)) {
             searchSQL.append(" and ( 1=1 ");
@@ -374,19 +336,7 @@ public class AppServiceDAO implements IAppServiceDAO {
              Statement stm = connection.createStatement()) {
 
             int i = 1;
-            if (!StringUtil.isEmpty(searchTerm)) {
-                preStat.setString(i++, "%" + searchTerm + "%");
-                preStat.setString(i++, "%" + searchTerm + "%");
-                preStat.setString(i++, "%" + searchTerm + "%");
-                preStat.setString(i++, "%" + searchTerm + "%");
-                preStat.setString(i++, "%" + searchTerm + "%");
-                preStat.setString(i++, "%" + searchTerm + "%");
-                preStat.setString(i++, "%" + searchTerm + "%");
-                preStat.setString(i++, "%" + searchTerm + "%");
-                preStat.setString(i++, "%" + searchTerm + "%");
-                preStat.setString(i++, "%" + searchTerm + "%");
-                preStat.setString(i++, "%" + searchTerm + "%");
-            }
+            i = searchQuery.setParameters(preStat, i);
             for (String individualColumnSearchValue : individualColumnSearchValues) {
                 preStat.setString(i++, individualColumnSearchValue);
             }
@@ -253,6 +253,13 @@ public class ApplicationObjectDAO implements IApplicationObjectDAO {
 
     @Override
     public AnswerList<ApplicationObject> readByCriteria(int start, int amount, String column, String dir, String searchTerm, Map<String, List<String>> individualSearch) {
+        return new SqlUtil.SearchQueryBuilder(searchTerm)
+                .fullText("`Application`", "`Object`", "`Value`", "`ScreenshotFileName`", "`UsrCreated`", "`UsrModif`")
+                .like("`DateCreated`", "`DateModif`")
+                .read(searchQuery -> readByCriteria(start, amount, column, dir, individualSearch, searchQuery));
+    }
+
+    private AnswerList<ApplicationObject> readByCriteria(int start, int amount, String column, String dir, Map<String, List<String>> individualSearch, SqlUtil.SearchQueryBuilder searchQuery) {
         AnswerList<ApplicationObject> response = new AnswerList<>();
         MessageEvent msg = new MessageEvent(MessageEventEnum.DATA_OPERATION_ERROR_UNEXPECTED);
         msg.setDescription(msg.getDescription().replace("%DESCRIPTION%", ""));
@@ -267,15 +274,8 @@ public class ApplicationObjectDAO implements IApplicationObjectDAO {
 
         searchSQL.append(" where 1=1 ");
 
-        if (StringUtil.isNotEmpty(searchTerm)) {
-            searchSQL.append(" and (`Application` like ?");
-            searchSQL.append(" or `Object` like ?");
-            searchSQL.append(" or `Value` like ?");
-            searchSQL.append(" or `ScreenshotFileName` like ?");
-            searchSQL.append(" or `UsrCreated` like ?");
-            searchSQL.append(" or `DateCreated` like ?");
-            searchSQL.append(" or `UsrModif` like ?");
-            searchSQL.append(" or `DateModif` like ?)");
+        if (!searchQuery.isEmpty()) {
+            searchSQL.append(" and ").append(searchQuery.getClause());
         }
         if (MapUtils.isNotEmpty(individualSearch)) {
             searchSQL.append(" and ( 1=1 ");
@@ -306,16 +306,7 @@ public class ApplicationObjectDAO implements IApplicationObjectDAO {
                 Statement stm = connection.createStatement()) {
 
             int i = 1;
-            if (StringUtil.isNotEmpty(searchTerm)) {
-                preStat.setString(i++, "%" + searchTerm + "%");
-                preStat.setString(i++, "%" + searchTerm + "%");
-                preStat.setString(i++, "%" + searchTerm + "%");
-                preStat.setString(i++, "%" + searchTerm + "%");
-                preStat.setString(i++, "%" + searchTerm + "%");
-                preStat.setString(i++, "%" + searchTerm + "%");
-                preStat.setString(i++, "%" + searchTerm + "%");
-                preStat.setString(i++, "%" + searchTerm + "%");
-            }
+            i = searchQuery.setParameters(preStat, i);
             for (String individualColumnSearchValue : individualColumnSearchValues) {
                 preStat.setString(i++, individualColumnSearchValue);
             }
@@ -358,6 +349,13 @@ public class ApplicationObjectDAO implements IApplicationObjectDAO {
 
     @Override
     public AnswerList<ApplicationObject> readByApplicationByCriteria(String application, int start, int amount, String column, String dir, String searchTerm, Map<String, List<String>> individualSearch, List<String> systems) {
+        return new SqlUtil.SearchQueryBuilder(searchTerm)
+                .fullText("obj.`Application`", "obj.`Object`", "obj.`Value`", "obj.`ScreenshotFileName`", "obj.`UsrCreated`", "obj.`UsrModif`")
+                .like("obj.`DateCreated`", "obj.`DateModif`")
+                .read(searchQuery -> readByApplicationByCriteria(application, start, amount, column, dir, individualSearch, systems, searchQuery));
+    }
+
+    private AnswerList<ApplicationObject> readByApplicationByCriteria(String application, int start, int amount, String column, String dir, Map<String, List<String>> individualSearch, List<String> systems, SqlUtil.SearchQueryBuilder searchQuery) {
         AnswerList<ApplicationObject> response = new AnswerList<>();
         MessageEvent msg = new MessageEvent(MessageEventEnum.DATA_OPERATION_ERROR_UNEXPECTED);
         msg.setDescription(msg.getDescription().replace("%DESCRIPTION%", ""));
@@ -371,15 +369,8 @@ public class ApplicationObjectDAO implements IApplicationObjectDAO {
 
         searchSQL.append(" where 1=1 ");
 
-        if (StringUtil.isNotEmpty(searchTerm)) {
-            searchSQL.append(" and (obj.`Application` like ?");
-            searchSQL.append(" or obj.`Object` like ?");
-            searchSQL.append(" or obj.`Value` like ?");
-            searchSQL.append(" or obj.`ScreenshotFileName` like ?");
-            searchSQL.append(" or obj.`UsrCreated` like ?");
-            searchSQL.append(" or obj.`DateCreated` like ?");
-            searchSQL.append(" or obj.`UsrModif` like ?");
-            searchSQL.append(" or obj.`DateModif` like ?)");
+        if (!searchQuery.isEmpty()) {
+            searchSQL.append(" and ").append(searchQuery.getClause());
         }
         if (MapUtils.isNotEmpty(individualSearch)) {
             searchSQL.append(" and ( 1=1 ");
@@ -421,16 +412,7 @@ public class ApplicationObjectDAO implements IApplicationObjectDAO {
                 Statement stm = connection.createStatement()) {
 
             int i = 1;
-            if (StringUtil.isNotEmpty(searchTerm)) {
-                preStat.setString(i++, "%" + searchTerm + "%");
-                preStat.setString(i++, "%" + searchTerm + "%");
-                preStat.setString(i++, "%" + searchTerm + "%");
-                preStat.setString(i++, "%" + searchTerm + "%");
-                preStat.setString(i++, "%" + searchTerm + "%");
-                preStat.setString(i++, "%" + searchTerm + "%");
-                preStat.setString(i++, "%" + searchTerm + "%");
-                preStat.setString(i++, "%" + searchTerm + "%");
-            }
+            i = searchQuery.setParameters(preStat, i);
             for (String individualColumnSearchValue : individualColumnSearchValues) {
                 preStat.setString(i++, individualColumnSearchValue);
             }
@@ -572,6 +554,13 @@ public class ApplicationObjectDAO implements IApplicationObjectDAO {
 
     @Override
     public AnswerList<String> readDistinctValuesByCriteria(String searchTerm, Map<String, List<String>> individualSearch, String columnName) {
+        return new SqlUtil.SearchQueryBuilder(searchTerm)
+                .fullText("`Application`", "`Object`", "`Value`", "`ScreenshotFileName`", "`UsrCreated`", "`UsrModif`")
+                .like("`DateCreated`", "`DateModif`")
+                .read(searchQuery -> readDistinctValuesByCriteria(individualSearch, columnName, searchQuery));
+    }
+
+    private AnswerList<String> readDistinctValuesByCriteria(Map<String, List<String>> individualSearch, String columnName, SqlUtil.SearchQueryBuilder searchQuery) {
         AnswerList<String> answer = new AnswerList<>();
         MessageEvent msg = new MessageEvent(MessageEventEnum.DATA_OPERATION_ERROR_UNEXPECTED);
         msg.setDescription(msg.getDescription().replace("%DESCRIPTION%", ""));
@@ -586,15 +575,8 @@ public class ApplicationObjectDAO implements IApplicationObjectDAO {
 
         searchSQL.append("WHERE 1=1 ");
 
-        if (StringUtil.isNotEmpty(searchTerm)) {
-            searchSQL.append(" and (`Application` like ?");
-            searchSQL.append(" or `Object` like ?");
-            searchSQL.append(" or `Value` like ?");
-            searchSQL.append(" or `ScreenshotFileName` like ?");
-            searchSQL.append(" or `UsrCreated` like ?");
-            searchSQL.append(" or `DateCreated` like ?");
-            searchSQL.append(" or `UsrModif` like ?");
-            searchSQL.append(" or `DateModif` like ?)");
+        if (!searchQuery.isEmpty()) {
+            searchSQL.append(" and ").append(searchQuery.getClause());
         }
         if (MapUtils.isNotEmpty(individualSearch)) {
             searchSQL.append(" and ( 1=1 ");
@@ -615,16 +597,7 @@ public class ApplicationObjectDAO implements IApplicationObjectDAO {
                 Statement stm = connection.createStatement()) {
 
             int i = 1;
-            if (StringUtil.isNotEmpty(searchTerm)) {
-                preStat.setString(i++, "%" + searchTerm + "%");
-                preStat.setString(i++, "%" + searchTerm + "%");
-                preStat.setString(i++, "%" + searchTerm + "%");
-                preStat.setString(i++, "%" + searchTerm + "%");
-                preStat.setString(i++, "%" + searchTerm + "%");
-                preStat.setString(i++, "%" + searchTerm + "%");
-                preStat.setString(i++, "%" + searchTerm + "%");
-                preStat.setString(i++, "%" + searchTerm + "%");
-            }
+            i = searchQuery.setParameters(preStat, i);
             for (String individualColumnSearchValue : individualColumnSearchValues) {
                 preStat.setString(i++, individualColumnSearchValue);
             }
@@ -667,6 +640,13 @@ public class ApplicationObjectDAO implements IApplicationObjectDAO {
 
     @Override
     public AnswerList<String> readDistinctValuesByApplicationByCriteria(String application, String searchTerm, Map<String, List<String>> individualSearch, String columnName) {
+        return new SqlUtil.SearchQueryBuilder(searchTerm)
+                .fullText("`Application`", "`Object`", "`Value`", "`ScreenshotFileName`", "`UsrCreated`", "`UsrModif`")
+                .like("`DateCreated`", "`DateModif`")
+                .read(searchQuery -> readDistinctValuesByApplicationByCriteria(application, individualSearch, columnName, searchQuery));
+    }
+
+    private AnswerList<String> readDistinctValuesByApplicationByCriteria(String application, Map<String, List<String>> individualSearch, String columnName, SqlUtil.SearchQueryBuilder searchQuery) {
         AnswerList<String> answer = new AnswerList<>();
         MessageEvent msg = new MessageEvent(MessageEventEnum.DATA_OPERATION_ERROR_UNEXPECTED);
         msg.setDescription(msg.getDescription().replace("%DESCRIPTION%", ""));
@@ -684,15 +664,8 @@ public class ApplicationObjectDAO implements IApplicationObjectDAO {
             searchSQL.append(" and (`Application` = ? )");
         }
 
-        if (StringUtil.isNotEmpty(searchTerm)) {
-            searchSQL.append(" and (`Application` like ?");
-            searchSQL.append(" or `Object` like ?");
-            searchSQL.append(" or `Value` like ?");
-            searchSQL.append(" or `ScreenshotFileName` like ?");
-            searchSQL.append(" or `UsrCreated` like ?");
-            searchSQL.append(" or `DateCreated` like ?");
-            searchSQL.append(" or `UsrModif` like ?");
-            searchSQL.append(" or `DateModif` like ?)");
+        if (!searchQuery.isEmpty()) {
+            searchSQL.append(" and ").append(searchQuery.getClause());
         }
         if (MapUtils.isNotEmpty(individualSearch)) {
             searchSQL.append(" and ( 1=1 ");
@@ -716,16 +689,7 @@ public class ApplicationObjectDAO implements IApplicationObjectDAO {
             if (StringUtil.isNotEmpty(application)) {
                 preStat.setString(i++, application);
             }
-            if (StringUtil.isNotEmpty(searchTerm)) {
-                preStat.setString(i++, "%" + searchTerm + "%");
-                preStat.setString(i++, "%" + searchTerm + "%");
-                preStat.setString(i++, "%" + searchTerm + "%");
-                preStat.setString(i++, "%" + searchTerm + "%");
-                preStat.setString(i++, "%" + searchTerm + "%");
-                preStat.setString(i++, "%" + searchTerm + "%");
-                preStat.setString(i++, "%" + searchTerm + "%");
-                preStat.setString(i++, "%" + searchTerm + "%");
-            }
+            i = searchQuery.setParameters(preStat, i);
             for (String individualColumnSearchValue : individualColumnSearchValues) {
                 preStat.setString(i++, individualColumnSearchValue);
             }
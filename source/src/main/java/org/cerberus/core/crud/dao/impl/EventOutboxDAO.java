@@ -0,0 +1,309 @@
+/**
+ * Cerberus Copyright (C) 2013 - 2017 cerberustesting
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This file is part of Cerberus.
+ *
+ * Cerberus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Cerberus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Cerberus.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cerberus.core.crud.dao.impl;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.cerberus.core.crud.dao.IEventOutboxDAO;
+import org.cerberus.core.crud.entity.EventOutbox;
+import org.cerberus.core.database.DatabaseSpring;
+import org.cerberus.core.engine.entity.MessageEvent;
+import org.cerberus.core.enums.MessageEventEnum;
+import org.cerberus.core.util.ParameterParserUtil;
+import org.cerberus.core.util.answer.Answer;
+import org.cerberus.core.util.answer.AnswerItem;
+import org.cerberus.core.util.answer.AnswerList;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Event outbox table access.
+ */
+@Repository
+public class EventOutboxDAO implements IEventOutboxDAO {
+
+    @Autowired
+    private DatabaseSpring databaseSpring;
+
+    private static final Logger LOG = LogManager.getLogger(EventOutboxDAO.class);
+
+    private final String OBJECT_NAME = "Event Outbox";
+    private final int MAX_ROW_SELECTED = 10000;
+
+    @Override
+    public Answer createList(List<EventOutbox> objectList) {
+        Answer response = new Answer();
+        MessageEvent msg = null;
+        StringBuilder query = new StringBuilder();
+        query.append("INSERT INTO eventoutbox (`EventReference`, `EventHookID`, `ObjectKey1`, `ObjectKey2`, `ObjectKey3`, `ObjectKey4`, `Payload`, `Status`, `NbRetry`, `NextTryDate`, `UsrCreated`) ");
+        query.append("VALUES (?,?,?,?,?,?,?,?,0,now(),?)");
+
+        // Debug message on SQL.
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("SQL : " + query.toString());
+            LOG.debug("SQL.param.nb : " + objectList.size());
+        }
+        try (Connection connection = databaseSpring.connect();
+                PreparedStatement preStat = connection.prepareStatement(query.toString())) {
+
+            for (EventOutbox object : objectList) {
+                int i = 1;
+                preStat.setString(i++, object.getEventReference());
+                preStat.setInt(i++, object.getEventHookId());
+                preStat.setString(i++, ParameterParserUtil.parseStringParam(object.getObjectKey1(), ""));
+                preStat.setString(i++, ParameterParserUtil.parseStringParam(object.getObjectKey2(), ""));
+                preStat.setString(i++, ParameterParserUtil.parseStringParam(object.getObjectKey3(), ""));
+                preStat.setString(i++, ParameterParserUtil.parseStringParam(object.getObjectKey4(), ""));
+                preStat.setString(i++, object.getPayload());
+                preStat.setString(i++, EventOutbox.STATUS_QUEUED);
+                preStat.setString(i++, ParameterParserUtil.parseStringParam(object.getUsrCreated(), ""));
+                preStat.addBatch();
+            }
+
+            preStat.executeBatch();
+            msg = new MessageEvent(MessageEventEnum.DATA_OPERATION_OK);
+            msg.setDescription(msg.getDescription().replace("%ITEM%", OBJECT_NAME).replace("%OPERATION%", "INSERT"));
+
+        } catch (Exception e) {
+            LOG.warn("Unable to create Event Outbox entries: " + e.getMessage());
+            msg = new MessageEvent(MessageEventEnum.DATA_OPERATION_ERROR_UNEXPECTED).resolveDescription("DESCRIPTION",
+                    e.toString());
+        } finally {
+            response.setResultMessage(msg);
+        }
+
+        return response;
+    }
+
+    @Override
+    public AnswerList<EventOutbox> readToTreat(int limit) {
+        AnswerList<EventOutbox> response = new AnswerList<>();
+        MessageEvent msg = new MessageEvent(MessageEventEnum.DATA_OPERATION_ERROR_UNEXPECTED);
+        msg.setDescription(msg.getDescription().replace("%DESCRIPTION%", ""));
+        List<EventOutbox> objectList = new ArrayList<>();
+
+        if ((limit <= 0) || (limit >= MAX_ROW_SELECTED)) {
+            limit = MAX_ROW_SELECTED;
+        }
+        final String query = "SELECT * FROM `eventoutbox` evo WHERE evo.`Status` = ? AND evo.`NextTryDate` <= now() ORDER BY evo.`ID` limit " + limit;
+
+        // Debug message on SQL.
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("SQL : " + query);
+        }
+        try (Connection connection = databaseSpring.connect();
+                PreparedStatement preStat = connection.prepareStatement(query)) {
+
+            preStat.setString(1, EventOutbox.STATUS_QUEUED);
+
+            try (ResultSet resultSet = preStat.executeQuery()) {
+                while (resultSet.next()) {
+                    objectList.add(this.loadFromResultSet(resultSet));
+                }
+                if (objectList.size() <= 0) {
+                    msg = new MessageEvent(MessageEventEnum.DATA_OPERATION_NO_DATA_FOUND);
+                } else {
+                    msg = new MessageEvent(MessageEventEnum.DATA_OPERATION_OK);
+                    msg.setDescription(msg.getDescription().replace("%ITEM%", OBJECT_NAME).replace("%OPERATION%", "SELECT"));
+                }
+                response = new AnswerList<>(objectList, objectList.size());
+
+            } catch (SQLException exception) {
+                LOG.error("Unable to execute query : " + exception.toString());
+                msg = new MessageEvent(MessageEventEnum.DATA_OPERATION_ERROR_UNEXPECTED);
+                msg.setDescription(msg.getDescription().replace("%DESCRIPTION%", exception.toString()));
+            }
+        } catch (Exception e) {
+            LOG.warn("Unable to read Event Outbox entries: " + e.getMessage());
+            msg = new MessageEvent(MessageEventEnum.DATA_OPERATION_ERROR_UNEXPECTED).resolveDescription("DESCRIPTION",
+                    e.toString());
+        } finally {
+            response.setResultMessage(msg);
+        }
+        return response;
+    }
+
+    @Override
+    public boolean updateToSending(long id) {
+        final String query = "UPDATE eventoutbox SET `Status` = ?, `UsrModif` = 'Cerberus', `DateModif` = now() WHERE `ID` = ? AND `Status` = ?";
+
+        // Debug message on SQL.
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("SQL : " + query);
+            LOG.debug("SQL.param.id : " + id);
+        }
+        try (Connection connection = databaseSpring.connect();
+                PreparedStatement preStat = connection.prepareStatement(query)) {
+
+            int i = 1;
+            preStat.setString(i++, EventOutbox.STATUS_SENDING);
+            preStat.setLong(i++, id);
+            preStat.setString(i++, EventOutbox.STATUS_QUEUED);
+
+            int updateResult = preStat.executeUpdate();
+            if (updateResult <= 0) {
+                LOG.debug("Event Outbox entry " + id + " no longer QUEUED. Probably taken by another instance.");
+                return false;
+            }
+            return true;
+
+        } catch (Exception e) {
+            LOG.warn("Unable to move Event Outbox entry " + id + " to SENDING: " + e.getMessage());
+        }
+        return false;
+    }
+
+    @Override
+    public Answer updateStatus(long id, String status, int nbRetry, Timestamp nextTryDate, String message) {
+        Answer response = new Answer();
+        MessageEvent msg = null;
+        final String query = "UPDATE eventoutbox SET `Status` = ?, `NbRetry` = ?, `NextTryDate` = ?, `Message` = ?, `UsrModif` = 'Cerberus', `DateModif` = now() WHERE `ID` = ?";
+
+        // Debug message on SQL.
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("SQL : " + query);
+            LOG.debug("SQL.param.id : " + id);
+            LOG.debug("SQL.param.status : " + status);
+        }
+        try (Connection connection = databaseSpring.connect();
+                PreparedStatement preStat = connection.prepareStatement(query)) {
+
+            int i = 1;
+            preStat.setString(i++, status);
+            preStat.setInt(i++, nbRetry);
+            preStat.setTimestamp(i++, nextTryDate);
+            preStat.setString(i++, message);
+            preStat.setLong(i++, id);
+
+            preStat.executeUpdate();
+            msg = new MessageEvent(MessageEventEnum.DATA_OPERATION_OK);
+            msg.setDescription(msg.getDescription().replace("%ITEM%", OBJECT_NAME).replace("%OPERATION%", "UPDATE"));
+
+        } catch (Exception e) {
+            LOG.warn("Unable to update Event Outbox entry: " + e.getMessage());
+            msg = new MessageEvent(MessageEventEnum.DATA_OPERATION_ERROR_UNEXPECTED).resolveDescription("DESCRIPTION",
+                    e.toString());
+        } finally {
+            response.setResultMessage(msg);
+        }
+
+        return response;
+    }
+
+    @Override
+    public AnswerItem<Integer> updateToQueuedOldSending(int timeOutInS) {
+        AnswerItem<Integer> response = new AnswerItem<>();
+        MessageEvent msg = null;
+        final String query = "UPDATE eventoutbox SET `Status` = ?, `UsrModif` = 'Cerberus', `DateModif` = now() WHERE `Status` = ? AND TO_SECONDS(now()) - TO_SECONDS(`DateModif`) > ?";
+
+        // Debug message on SQL.
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("SQL : " + query);
+        }
+        try (Connection connection = databaseSpring.connect();
+                PreparedStatement preStat = connection.prepareStatement(query)) {
+
+            int i = 1;
+            preStat.setString(i++, EventOutbox.STATUS_QUEUED);
+            preStat.setString(i++, EventOutbox.STATUS_SENDING);
+            preStat.setInt(i++, timeOutInS);
+
+            int updateResult = preStat.executeUpdate();
+            if (updateResult > 0) {
+                LOG.info(updateResult + " Event Outbox entries moved back from SENDING to QUEUED. (timeout = " + timeOutInS + ").");
+            }
+            response.setItem(updateResult);
+            msg = new MessageEvent(MessageEventEnum.DATA_OPERATION_OK);
+            msg.setDescription(msg.getDescription().replace("%ITEM%", OBJECT_NAME).replace("%OPERATION%", "UPDATE"));
+
+        } catch (Exception e) {
+            LOG.warn("Unable to requeue Event Outbox entries: " + e.getMessage());
+            msg = new MessageEvent(MessageEventEnum.DATA_OPERATION_ERROR_UNEXPECTED).resolveDescription("DESCRIPTION",
+                    e.toString());
+        } finally {
+            response.setResultMessage(msg);
+        }
+
+        return response;
+    }
+
+    @Override
+    public Answer deleteDoneOlderThan(int nbDays) {
+        Answer response = new Answer();
+        MessageEvent msg = null;
+        final String query = "DELETE FROM eventoutbox WHERE `Status` = ? AND `DateCreated` < DATE_SUB(now(), INTERVAL ? DAY)";
+
+        // Debug message on SQL.
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("SQL : " + query);
+        }
+        try (Connection connection = databaseSpring.connect();
+                PreparedStatement preStat = connection.prepareStatement(query)) {
+
+            int i = 1;
+            preStat.setString(i++, EventOutbox.STATUS_DONE);
+            preStat.setInt(i++, nbDays);
+
+            int nbDeleted = preStat.executeUpdate();
+            LOG.debug(nbDeleted + " delivered Event Outbox entries purged.");
+            msg = new MessageEvent(MessageEventEnum.DATA_OPERATION_OK);
+            msg.setDescription(msg.getDescription().replace("%ITEM%", OBJECT_NAME).replace("%OPERATION%", "DELETE"));
+
+        } catch (Exception e) {
+            LOG.warn("Unable to purge Event Outbox entries: " + e.getMessage());
+            msg = new MessageEvent(MessageEventEnum.DATA_OPERATION_ERROR_UNEXPECTED).resolveDescription("DESCRIPTION",
+                    e.toString());
+        } finally {
+            response.setResultMessage(msg);
+        }
+
+        return response;
+    }
+
+    @Override
+    public EventOutbox loadFromResultSet(ResultSet rs) throws SQLException {
+        return EventOutbox.builder()
+                .id(rs.getLong("evo.ID"))
+                .eventReference(ParameterParserUtil.parseStringParam(rs.getString("evo.EventReference"), ""))
+                .eventHookId(rs.getInt("evo.EventHookID"))
+                .objectKey1(ParameterParserUtil.parseStringParam(rs.getString("evo.ObjectKey1"), ""))
+                .objectKey2(ParameterParserUtil.parseStringParam(rs.getString("evo.ObjectKey2"), ""))
+                .objectKey3(ParameterParserUtil.parseStringParam(rs.getString("evo.ObjectKey3"), ""))
+                .objectKey4(ParameterParserUtil.parseStringParam(rs.getString("evo.ObjectKey4"), ""))
+                .payload(rs.getString("evo.Payload"))
+                .status(ParameterParserUtil.parseStringParam(rs.getString("evo.Status"), ""))
+                .nbRetry(rs.getInt("evo.NbRetry"))
+                .nextTryDate(rs.getTimestamp("evo.NextTryDate"))
+                .message(ParameterParserUtil.parseStringParam(rs.getString("evo.Message"), ""))
+                .usrCreated(ParameterParserUtil.parseStringParam(rs.getString("evo.UsrCreated"), ""))
+                .dateCreated(rs.getTimestamp("evo.DateCreated"))
+                .usrModif(ParameterParserUtil.parseStringParam(rs.getString("evo.UsrModif"), ""))
+                .dateModif(rs.getTimestamp("evo.DateModif"))
+                .build();
+    }
+
+}
@@ -33,6 +33,8 @@ import org.cerberus.core.util.StringUtil;
 import org.cerberus.core.util.answer.Answer;
 import org.cerberus.core.util.answer.AnswerItem;
 import org.cerberus.core.util.answer.AnswerList;
+import org.cerberus.core.util.datatable.KeysetCursor;
+import org.cerberus.core.util.datatable.RowCountCache;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Repository;
 
@@ -43,6 +45,7 @@ import java.sql.SQLException;
 import java.sql.Statement;
 import java.sql.Timestamp;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -63,6 +66,17 @@ public class LogEventDAO implements ILogEventDAO {
     private final String SQL_DUPLICATED_CODE = "23000";
     private final int MAX_ROW_SELECTED = 100000;
 
+    /**
+     * Sort columns that are indexed and not null, so usable as keyset.
+     */
+    private static final Map<String, String> KEYSET_COLUMNS = new HashMap<>();
+    private static final RowCountCache ROW_COUNT_CACHE = new RowCountCache(30000);
+
+    static {
+        KEYSET_COLUMNS.put("logeventid", "`LogEventID`");
+        KEYSET_COLUMNS.put("time", "`Time`");
+    }
+
     @Override
     public AnswerItem<LogEvent> readByKey(long logEventID) {
         AnswerItem<LogEvent> ans = new AnswerItem<>();
@@ -137,24 +151,7 @@ public class LogEventDAO implements ILogEventDAO {
         //were applied -- used for pagination p
         query.append("SELECT SQL_CALC_FOUND_ROWS * FROM logevent ");
 
-        searchSQL.append(" where 1=1 ");
-
-        if (!StringUtil.isEmpty(searchTerm)) {
-            searchSQL.append(" and (`time` like ?");
-            searchSQL.append(" or `login` like ?");
-            searchSQL.append(" or `page` like ?");
-            searchSQL.append(" or `action` like ?");
-            searchSQL.append(" or `log` like ? )");
-        }
-        if (individualSearch != null && !individualSearch.isEmpty()) {
-            searchSQL.append(" and ( 1=1 ");
-            for (Map.Entry<String, List<String>> entry : individualSearch.entrySet()) {
-                searchSQL.append(" and ");
-                searchSQL.append(SqlUtil.getInSQLClauseForPreparedStatement(entry.getKey(), entry.getValue()));
-                individalColumnSearchValues.addAll(entry.getValue());
-            }
-            searchSQL.append(" )");
-        }
+        appendSearchSQL(searchSQL, individalColumnSearchValues, searchTerm, individualSearch);
         query.append(searchSQL);
 
         if (!StringUtil.isEmpty(colName)) {
@@ -176,17 +173,7 @@ public class LogEventDAO implements ILogEventDAO {
         try {
             PreparedStatement preStat = connection.prepareStatement(query.toString());
             try {
-                int i = 1;
-                if (!StringUtil.isEmpty(searchTerm)) {
-                    preStat.setString(i++, "%" + searchTerm + "%");
-                    preStat.setString(i++, "%" + searchTerm + "%");
-                    preStat.setString(i++, "%" + searchTerm + "%");
-                    preStat.setString(i++, "%" + searchTerm + "%");
-                    preStat.setString(i++, "%" + searchTerm + "%");
-                }
-                for (String individualColumnSearchValue : individalColumnSearchValues) {
-                    preStat.setString(i++, individualColumnSearchValue);
-                }
+                setSearchParameters(preStat, 1, searchTerm, individalColumnSearchValues);
                 ResultSet resultSet = preStat.executeQuery();
                 try {
                     //gets the data
@@ -314,6 +301,39 @@ public class LogEventDAO implements ILogEventDAO {
         return new Answer(msg);
     }
 
+    @Override
+    public Answer createList(List<LogEvent> logevents) {
+        MessageEvent msg;
+        final String query = "INSERT INTO logevent (userID, Login, Time, Page, Action, Log, remoteIP, localIP) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+        // Debug message on SQL.
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("SQL : " + query + " (x" + logevents.size() + ")");
+        }
+        try (Connection connection = this.databaseSpring.connect();
+                PreparedStatement preStat = connection.prepareStatement(query)) {
+            for (LogEvent logevent : logevents) {
+                preStat.setLong(1, logevent.getUserID());
+                preStat.setString(2, logevent.getLogin());
+                preStat.setTimestamp(3, logevent.getTime() == null ? new Timestamp(System.currentTimeMillis()) : logevent.getTime());
+                preStat.setString(4, logevent.getPage());
+                preStat.setString(5, logevent.getAction());
+                preStat.setString(6, StringUtils.left(logevent.getLog(), 500));
+                preStat.setString(7, logevent.getremoteIP());
+                preStat.setString(8, logevent.getLocalIP());
+                preStat.addBatch();
+            }
+            preStat.executeBatch();
+            msg = new MessageEvent(MessageEventEnum.DATA_OPERATION_OK);
+            msg.setDescription(msg.getDescription().replace("%ITEM%", OBJECT_NAME).replace("%OPERATION%", "INSERT"));
+        } catch (SQLException exception) {
+            LOG.error("Unable to execute query : " + exception.toString());
+            msg = new MessageEvent(MessageEventEnum.DATA_OPERATION_ERROR_UNEXPECTED);
+            msg.setDescription(msg.getDescription().replace("%DESCRIPTION%", exception.toString()));
+        }
+        return new Answer(msg);
+    }
+
     @Override
     public LogEvent loadFromResultSet(ResultSet resultSet) throws SQLException {
         long logEventID = resultSet.getLong("logEventID") == 0 ? 0 : resultSet.getLong("logEventID");
@@ -328,6 +348,127 @@ public class LogEventDAO implements ILogEventDAO {
         return factoryLogEvent.create(logEventID, userID, login, time, page, action, log, remoteIP, localIP);
     }
 
+    @Override
+    public AnswerList<LogEvent> readByCriteria(int start, int amount, String colName, String dir, String searchTerm, Map<String, List<String>> individualSearch, String cursor) {
+        String sortColumn = KEYSET_COLUMNS.get(StringUtil.isEmpty(colName) ? "logeventid" : colName.toLowerCase());
+        KeysetCursor keysetCursor = KeysetCursor.decode(cursor);
+        if (sortColumn == null || (keysetCursor == null && start > 0)) {
+            return readByCriteria(start, amount, colName, dir, searchTerm, individualSearch);
+        }
+        boolean desc = StringUtil.isEmpty(colName) || "desc".equalsIgnoreCase(dir);
+        int limit = ((amount <= 0) || (amount >= MAX_ROW_SELECTED)) ? MAX_ROW_SELECTED : amount;
+
+        MessageEvent msg;
+        List<LogEvent> logEventList = new ArrayList<>();
+        List<String> individalColumnSearchValues = new ArrayList<>();
+        StringBuilder searchSQL = new StringBuilder();
+        appendSearchSQL(searchSQL, individalColumnSearchValues, searchTerm, individualSearch);
+
+        StringBuilder query = new StringBuilder("SELECT * FROM logevent ").append(searchSQL);
+        if (keysetCursor != null) {
+            query.append(" and ").append(SqlUtil.getKeysetClause(sortColumn, "`LogEventID`", desc));
+        }
+        query.append(SqlUtil.getKeysetOrderBy(sortColumn, "`LogEventID`", desc));
+        query.append(" limit ").append(limit);
+        LOG.debug("SQL : {}", query);
+
+        AnswerList<LogEvent> response = new AnswerList<>();
+        try (Connection connection = this.databaseSpring.connect();
+                PreparedStatement preStat = connection.prepareStatement(query.toString())) {
+            int i = setSearchParameters(preStat, 1, searchTerm, individalColumnSearchValues);
+            if (keysetCursor != null) {
+                SqlUtil.setKeysetParameters(preStat, i, sortColumn, "`LogEventID`", keysetCursor);
+            }
+            String lastValue = null;
+            try (ResultSet resultSet = preStat.executeQuery()) {
+                while (resultSet.next()) {
+                    logEventList.add(this.loadFromResultSet(resultSet));
+                    lastValue = resultSet.getString(sortColumn.replace("`", ""));
+                }
+            }
+            if (logEventList.size() >= limit) {
+                response.setNextCursor(new KeysetCursor(lastValue, logEventList.get(logEventList.size() - 1).getLogEventID()).encode());
+            }
+            response.setTotalRows(countByCriteria(connection, searchSQL.toString(), searchTerm, individalColumnSearchValues));
+
+            if (logEventList.isEmpty()) {
+                msg = new MessageEvent(MessageEventEnum.DATA_OPERATION_NO_DATA_FOUND);
+            } else {
+                msg = new MessageEvent(MessageEventEnum.DATA_OPERATION_OK);
+                msg.setDescription(msg.getDescription().replace("%ITEM%", OBJECT_NAME).replace("%OPERATION%", "SELECT"));
+            }
+        } catch (SQLException exception) {
+            LOG.error("Unable to execute query : {}", exception.toString());
+            msg = new MessageEvent(MessageEventEnum.DATA_OPERATION_ERROR_UNEXPECTED);
+            msg.setDescription(msg.getDescription().replace("%DESCRIPTION%", exception.toString()));
+        }
+
+        response.setResultMessage(msg);
+        response.setDataList(logEventList);
+        return response;
+    }
+
+    /**
+     * Total of the keyset list. Without any filter the table statistics are
+     * used, else the count is computed and kept for a short time so that
+     * scrolling through the pages does not count again.
+     */
+    private int countByCriteria(Connection connection, String searchSQL, String searchTerm, List<String> individalColumnSearchValues) throws SQLException {
+        String key = searchSQL + "|" + searchTerm + "|" + individalColumnSearchValues;
+        int count = ROW_COUNT_CACHE.get(key);
+        if (count >= 0) {
+            return count;
+        }
+        if (StringUtil.isEmpty(searchTerm) && individalColumnSearchValues.isEmpty()) {
+            count = SqlUtil.getApproximateRowCount(connection, "logevent");
+        }
+        if (count < 0) {
+            try (PreparedStatement preStat = connection.prepareStatement("SELECT COUNT(*) FROM logevent " + searchSQL)) {
+                setSearchParameters(preStat, 1, searchTerm, individalColumnSearchValues);
+                try (ResultSet resultSet = preStat.executeQuery()) {
+                    count = resultSet.next() ? resultSet.getInt(1) : 0;
+                }
+            }
+        }
+        ROW_COUNT_CACHE.put(key, count);
+        return count;
+    }
+
+    private void appendSearchSQL(StringBuilder searchSQL, List<String> individalColumnSearchValues, String searchTerm, Map<String, List<String>> individualSearch) {
+        searchSQL.append(" where 1=1 ");
+
+        if (!StringUtil.isEmpty(searchTerm)) {
+            searchSQL.append(" and (`time` like ?");
+            searchSQL.append(" or `login` like ?");
+            searchSQL.append(" or `page` like ?");
+            searchSQL.append(" or `action` like ?");
+            searchSQL.append(" or `log` like ? )");
+        }
+        if (individualSearch != null && !individualSearch.isEmpty()) {
+            searchSQL.append(" and ( 1=1 ");
+            for (Map.Entry<String, List<String>> entry : individualSearch.entrySet()) {
+                searchSQL.append(" and ");
+                searchSQL.append(SqlUtil.getInSQLClauseForPreparedStatement(entry.getKey(), entry.getValue()));
+                individalColumnSearchValues.addAll(entry.getValue());
+            }
+            searchSQL.append(" )");
+        }
+    }
+
+    private int setSearchParameters(PreparedStatement preStat, int i, String searchTerm, List<String> individalColumnSearchValues) throws SQLException {
+        if (!StringUtil.isEmpty(searchTerm)) {
+            preStat.setString(i++, "%" + searchTerm + "%");
+            preStat.setString(i++, "%" + searchTerm + "%");
+            preStat.setString(i++, "%" + searchTerm + "%");
+            preStat.setString(i++, "%" + searchTerm + "%");
+            preStat.setString(i++, "%" + searchTerm + "%");
+        }
+        for (String individualColumnSearchValue : individalColumnSearchValues) {
+            preStat.setString(i++, individualColumnSearchValue);
+        }
+        return i;
+    }
+
     @Override
     public AnswerList<String> readDistinctValuesByCriteria(String searchTerm, Map<String, List<String>> individualSearch, String columnName) {
         AnswerList<String> answer = new AnswerList<>();
@@ -210,6 +210,27 @@ public class MyVersionDAO implements IMyVersionDAO {
         return result;
     }
 
+    @Override
+    public boolean increment(String key) {
+        boolean result = false;
+        final String query = "UPDATE myversion SET `value` = `value` + 1 WHERE `key` = ?";
+
+        // Debug message on SQL.
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("SQL : " + query);
+            LOG.debug("SQL.param.key : " + key);
+        }
+
+        try (Connection connection = this.databaseSpring.connect();
+                PreparedStatement preStat = connection.prepareStatement(query)) {
+            preStat.setString(1, key);
+            result = preStat.executeUpdate() >= 1;
+        } catch (SQLException exception) {
+            LOG.warn("Unable to execute query : " + exception.toString());
+        }
+        return result;
+    }
+
     private MyVersion loadFromResultSet(ResultSet resultSet) {
         String key = "";
         int value = 0;
@@ -69,87 +69,57 @@ public class QueueStatDAO implements IQueueStatDAO {
     private final int MAX_ROW_SELECTED = 50000;
 
     @Override
-    public AnswerList<QueueStat> readByCriteria(Date from, Date to, int modulo) {
+    public AnswerList<QueueStat> readByCriteria(Date from, Date to, int bucketSecond) {
         AnswerList<QueueStat> response = new AnswerList<>();
         MessageEvent msg = new MessageEvent(MessageEventEnum.DATA_OPERATION_ERROR_UNEXPECTED);
         msg.setDescription(msg.getDescription().replace("%DESCRIPTION%", ""));
         List<QueueStat> objectList = new ArrayList<>();
-        StringBuilder searchSQL = new StringBuilder();
-        List<String> individalColumnSearchValues = new ArrayList<>();
         Timestamp t1;
 
         StringBuilder query = new StringBuilder();
-        //SQL_CALC_FOUND_ROWS allows to retrieve the total number of columns by disrearding the limit clauses that
-        //were applied -- used for pagination p
-        query.append("SELECT SQL_CALC_FOUND_ROWS * FROM queuestat ");
-
-        searchSQL.append(" where 1=1 ");
-
-        searchSQL.append(" and DateCreated > ? and DateCreated < ? ");
-
-        query.append(searchSQL);
-
-        query.append(" order by ID desc");
-
+        // Raw samples and compacted buckets are merged then downsampled by the database so that only the points of the graph are returned.
+        query.append("SELECT MIN(s.ts) AS DateCreated, MAX(s.gc) AS GlobalConstrain");
+        query.append(", MIN(s.crMin) AS CurrentlyRunningMin, ROUND(SUM(s.crAvg * s.nb) / SUM(s.nb)) AS CurrentlyRunning, MAX(s.crMax) AS CurrentlyRunningMax");
+        query.append(", MIN(s.qsMin) AS QueueSizeMin, ROUND(SUM(s.qsAvg * s.nb) / SUM(s.nb)) AS QueueSize, MAX(s.qsMax) AS QueueSizeMax FROM (");
+        query.append("SELECT DateCreated ts, 1 nb, GlobalConstrain gc, CurrentlyRunning crMin, CurrentlyRunning crAvg, CurrentlyRunning crMax, QueueSize qsMin, QueueSize qsAvg, QueueSize qsMax ");
+        query.append("FROM queuestat WHERE DateCreated > ? and DateCreated < ? ");
+        query.append("UNION ALL ");
+        query.append("SELECT BucketStart, NbSample, GlobalConstrainMax, CurrentlyRunningMin, CurrentlyRunningAvg, CurrentlyRunningMax, QueueSizeMin, QueueSizeAvg, QueueSizeMax ");
+        query.append("FROM queuestatbucket WHERE BucketStart > ? and BucketStart < ?");
+        query.append(") s GROUP BY FLOOR(UNIX_TIMESTAMP(s.ts) / ?) ORDER BY DateCreated desc");
         query.append(" limit ").append(0).append(" , ").append(MAX_ROW_SELECTED);
 
-        // Debug message on SQL.
-        if (LOG.isDebugEnabled()) {
-            LOG.debug("SQL : " + query.toString());
-            LOG.debug("SQL.param.modulo : " + modulo);
-        }
+        LOG.debug("SQL : {}", query);
+        LOG.debug("SQL.param.bucketSecond : {}", bucketSecond);
 
         try (Connection connection = this.databaseSpring.connect();
-             PreparedStatement preStat = connection.prepareStatement(query.toString());
-             Statement stm = connection.createStatement();) {
+                PreparedStatement preStat = connection.prepareStatement(query.toString())) {
 
             int i = 1;
-            t1 = new Timestamp(from.getTime());
-            preStat.setTimestamp(i++, t1);
-            t1 = new Timestamp(to.getTime());
-            preStat.setTimestamp(i++, t1);
+            for (int j = 0; j < 2; j++) {
+                t1 = new Timestamp(from.getTime());
+                preStat.setTimestamp(i++, t1);
+                t1 = new Timestamp(to.getTime());
+                preStat.setTimestamp(i++, t1);
+            }
+            preStat.setInt(i++, Math.max(bucketSecond, 1));
 
-            try (ResultSet resultSet = preStat.executeQuery();
-                 ResultSet rowSet = stm.executeQuery("SELECT FOUND_ROWS()");) {
-                //gets the data
-                int c = 0;
+            try (ResultSet resultSet = preStat.executeQuery()) {
                 while (resultSet.next()) {
-                    if (modulo != 0) {
-                        int t = c++ % modulo;
-                        if (t == 0) {
-                            objectList.add(this.loadFromResultSet_light(resultSet));
-                        }
-                    } else {
-                        objectList.add(this.loadFromResultSet_light(resultSet));
-                    }
-                }
-
-                //get the total number of rows
-                int nrTotalRows = 0;
-
-                if (rowSet != null && rowSet.next()) {
-                    nrTotalRows = rowSet.getInt(1);
+                    objectList.add(this.loadFromResultSet_bucket(resultSet));
                 }
 
                 if (objectList.size() >= MAX_ROW_SELECTED) { // Result of SQl was limited by MAX_ROW_SELECTED constrain. That means that we may miss some lines in the resultList.
                     LOG.error("Partial Result in the query.");
                     msg = new MessageEvent(MessageEventEnum.DATA_OPERATION_WARNING_PARTIAL_RESULT);
                     msg.setDescription(msg.getDescription().replace("%DESCRIPTION%", "Maximum row reached : " + MAX_ROW_SELECTED));
-                    response = new AnswerList<>(objectList, nrTotalRows);
-                } else if (objectList.size() <= 0) {
+                } else if (objectList.isEmpty()) {
                     msg = new MessageEvent(MessageEventEnum.DATA_OPERATION_NO_DATA_FOUND);
-                    response = new AnswerList<>(objectList, nrTotalRows);
                 } else {
                     msg = new MessageEvent(MessageEventEnum.DATA_OPERATION_OK);
                     msg.setDescription(msg.getDescription().replace("%ITEM%", OBJECT_NAME).replace("%OPERATION%", "SELECT"));
-                    response = new AnswerList<>(objectList, nrTotalRows);
                 }
-
-            } catch (SQLException exception) {
-                LOG.error("Unable to execute query : " + exception.toString());
-                msg = new MessageEvent(MessageEventEnum.DATA_OPERATION_ERROR_UNEXPECTED);
-                msg.setDescription(msg.getDescription().replace("%DESCRIPTION%", exception.toString()));
-
+                response = new AnswerList<>(objectList, objectList.size());
             }
         } catch (SQLException exception) {
             LOG.error("Unable to execute query : " + exception.toString());
@@ -250,6 +220,105 @@ public class QueueStatDAO implements IQueueStatDAO {
         return ans;
     }
 
+    @Override
+    public Answer createList(List<QueueStat> objectList) {
+        MessageEvent msg;
+
+        final String query = "INSERT INTO `queuestat` (`globalConstrain`,`currentlyRunning`,`queueSize`,`usrcreated`,`DateCreated`) VALUES (?, ?, ?, ?, ?)";
+        LOG.debug("SQL : {}", query);
+        try (Connection connection = databaseSpring.connect();
+                PreparedStatement preStat = connection.prepareStatement(query)) {
+            for (QueueStat object : objectList) {
+                int i = 1;
+                preStat.setInt(i++, object.getGlobalConstrain());
+                preStat.setInt(i++, object.getCurrentlyRunning());
+                preStat.setInt(i++, object.getQueueSize());
+                preStat.setString(i++, object.getUsrCreated());
+                preStat.setTimestamp(i++, object.getDateCreated());
+                preStat.addBatch();
+            }
+            preStat.executeBatch();
+
+            msg = new MessageEvent(MessageEventEnum.DATA_OPERATION_OK).resolveDescription("ITEM", OBJECT_NAME)
+                    .resolveDescription("OPERATION", "CREATE");
+        } catch (Exception e) {
+            LOG.error("Unable to create QueueStat : " + e.getMessage());
+            msg = new MessageEvent(MessageEventEnum.DATA_OPERATION_ERROR_UNEXPECTED).resolveDescription("DESCRIPTION",
+                    e.toString());
+        }
+        return new Answer(msg);
+    }
+
+    @Override
+    public AnswerItem<Timestamp> readFirstDateCreated() {
+        MessageEvent msg;
+        Timestamp result = null;
+        final String query = "SELECT MIN(DateCreated) FROM queuestat";
+
+        LOG.debug("SQL : {}", query);
+        try (Connection connection = databaseSpring.connect();
+                PreparedStatement preStat = connection.prepareStatement(query);
+                ResultSet resultSet = preStat.executeQuery()) {
+            if (resultSet.next()) {
+                result = resultSet.getTimestamp(1);
+            }
+            msg = new MessageEvent(MessageEventEnum.DATA_OPERATION_OK).resolveDescription("ITEM", OBJECT_NAME)
+                    .resolveDescription("OPERATION", "SELECT");
+        } catch (SQLException exception) {
+            LOG.error("Unable to execute query : " + exception.toString());
+            msg = new MessageEvent(MessageEventEnum.DATA_OPERATION_ERROR_UNEXPECTED).resolveDescription("DESCRIPTION", exception.toString());
+        }
+        return new AnswerItem<>(result, msg);
+    }
+
+    @Override
+    public AnswerItem<Integer> compact(Timestamp from, Timestamp to) {
+        MessageEvent msg;
+        int nbRow = 0;
+
+        final String bucketStart = "DATE_FORMAT(DateCreated, '%Y-%m-%d %H:00:00')";
+        final String insertQuery = "INSERT INTO `queuestatbucket` (`BucketStart`, `NbSample`, `GlobalConstrainMax`, `CurrentlyRunningMin`, `CurrentlyRunningAvg`, `CurrentlyRunningMax`, `QueueSizeMin`, `QueueSizeAvg`, `QueueSizeMax`) "
+                + "SELECT " + bucketStart + ", COUNT(*), MAX(GlobalConstrain), MIN(CurrentlyRunning), AVG(CurrentlyRunning), MAX(CurrentlyRunning), MIN(QueueSize), AVG(QueueSize), MAX(QueueSize) "
+                + "FROM queuestat WHERE DateCreated >= ? and DateCreated < ? GROUP BY " + bucketStart + " "
+                // Averages are merged before NbSample is updated as the assignments are done in order.
+                + "ON DUPLICATE KEY UPDATE `CurrentlyRunningAvg` = (`CurrentlyRunningAvg` * `NbSample` + VALUES(`CurrentlyRunningAvg`) * VALUES(`NbSample`)) / (`NbSample` + VALUES(`NbSample`))"
+                + ", `QueueSizeAvg` = (`QueueSizeAvg` * `NbSample` + VALUES(`QueueSizeAvg`) * VALUES(`NbSample`)) / (`NbSample` + VALUES(`NbSample`))"
+                + ", `NbSample` = `NbSample` + VALUES(`NbSample`)"
+                + ", `GlobalConstrainMax` = GREATEST(`GlobalConstrainMax`, VALUES(`GlobalConstrainMax`))"
+                + ", `CurrentlyRunningMin` = LEAST(`CurrentlyRunningMin`, VALUES(`CurrentlyRunningMin`)), `CurrentlyRunningMax` = GREATEST(`CurrentlyRunningMax`, VALUES(`CurrentlyRunningMax`))"
+                + ", `QueueSizeMin` = LEAST(`QueueSizeMin`, VALUES(`QueueSizeMin`)), `QueueSizeMax` = GREATEST(`QueueSizeMax`, VALUES(`QueueSizeMax`))";
+        final String deleteQuery = "DELETE FROM queuestat WHERE DateCreated >= ? and DateCreated < ?";
+
+        LOG.debug("SQL : {}", insertQuery);
+        LOG.debug("SQL : {}", deleteQuery);
+        try (Connection connection = databaseSpring.connect()) {
+            boolean autoCommit = connection.getAutoCommit();
+            // Buckets and samples are changed in the same transaction so that a sample is never counted twice.
+            connection.setAutoCommit(false);
+            try (PreparedStatement insertStat = connection.prepareStatement(insertQuery);
+                    PreparedStatement deleteStat = connection.prepareStatement(deleteQuery)) {
+                insertStat.setTimestamp(1, from);
+                insertStat.setTimestamp(2, to);
+                insertStat.executeUpdate();
+                deleteStat.setTimestamp(1, from);
+                deleteStat.setTimestamp(2, to);
+                nbRow = deleteStat.executeUpdate();
+                connection.commit();
+            } catch (SQLException exception) {
+                connection.rollback();
+                throw exception;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+            msg = new MessageEvent(MessageEventEnum.DATA_OPERATION_OK).resolveDescription("ITEM", OBJECT_NAME)
+                    .resolveDescription("OPERATION", "UPDATE");
+        } catch (SQLException exception) {
+            LOG.error("Unable to execute query : " + exception.toString());
+            msg = new MessageEvent(MessageEventEnum.DATA_OPERATION_ERROR_UNEXPECTED).resolveDescription("DESCRIPTION", exception.toString());
+        }
+        return new AnswerItem<>(nbRow, msg);
+    }
+
     private QueueStat loadFromResultSet(ResultSet rs) throws SQLException {
         long id = ParameterParserUtil.parseLongParam(rs.getString("id"), -1);
         Integer globalConstrain = ParameterParserUtil.parseIntegerParam(rs.getString("globalConstrain"), -1);
@@ -263,16 +332,12 @@ public class QueueStatDAO implements IQueueStatDAO {
         return factoryQueueStat.create(id, globalConstrain, currentlyRunning, queueSize, usrcreated, datecreated, usrmodif, datemodif);
     }
 
-    private QueueStat loadFromResultSet_light(ResultSet rs) throws SQLException {
-        long id = -1;
-        Integer globalConstrain = ParameterParserUtil.parseIntegerParam(rs.getString("globalConstrain"), -1);
-        Integer currentlyRunning = ParameterParserUtil.parseIntegerParam(rs.getString("currentlyRunning"), -1);
-        Integer queueSize = ParameterParserUtil.parseIntegerParam(rs.getString("queueSize"), -1);
-        String usrcreated = null;
-        Timestamp datecreated = rs.getTimestamp("DateCreated");
-        String usrmodif = null;
-        Timestamp datemodif = null;
-
-        return factoryQueueStat.create(id, globalConstrain, currentlyRunning, queueSize, usrcreated, datecreated, usrmodif, datemodif);
+    private QueueStat loadFromResultSet_bucket(ResultSet rs) throws SQLException {
+        QueueStat queueStat = factoryQueueStat.create(-1, rs.getInt("GlobalConstrain"), rs.getInt("CurrentlyRunning"), rs.getInt("QueueSize"), null, rs.getTimestamp("DateCreated"), null, null);
+        queueStat.setCurrentlyRunningMin(rs.getInt("CurrentlyRunningMin"));
+        queueStat.setCurrentlyRunningMax(rs.getInt("CurrentlyRunningMax"));
+        queueStat.setQueueSizeMin(rs.getInt("QueueSizeMin"));
+        queueStat.setQueueSizeMax(rs.getInt("QueueSizeMax"));
+        return queueStat;
     }
 }
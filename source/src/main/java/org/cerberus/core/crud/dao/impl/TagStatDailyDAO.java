@@ -0,0 +1,229 @@
+/**
+ * Cerberus Copyright (C) 2013 - 2017 cerberustesting
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This file is part of Cerberus.
+ *
+ * Cerberus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Cerberus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Cerberus.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cerberus.core.crud.dao.impl;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.cerberus.core.crud.dao.ITagStatDailyDAO;
+import org.cerberus.core.crud.entity.TagStatDaily;
+import org.cerberus.core.database.DatabaseSpring;
+import org.cerberus.core.engine.entity.MessageEvent;
+import org.cerberus.core.enums.MessageEventEnum;
+import org.cerberus.core.util.SqlUtil;
+import org.cerberus.core.util.answer.Answer;
+import org.cerberus.core.util.answer.AnswerItem;
+import org.cerberus.core.util.answer.AnswerList;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public class TagStatDailyDAO implements ITagStatDailyDAO {
+
+    private static final Logger LOG = LogManager.getLogger(TagStatDailyDAO.class);
+
+    private static final String OBJECT_NAME = "Tag Daily Statistic";
+
+    private static final String COUNTERS_SQL = "COUNT(*), IFNULL(SUM(tag.`nbExe`), 0), IFNULL(SUM(tag.`nbExeUsefull`), 0), IFNULL(SUM(tag.`nbOK`), 0), IFNULL(SUM(tag.`nbKO`), 0), IFNULL(SUM(tag.`nbFA`), 0), IFNULL(SUM(tag.`nbNA`), 0), IFNULL(SUM(tag.`nbNE`), 0), IFNULL(SUM(tag.`nbWE`), 0), IFNULL(SUM(tag.`nbPE`), 0), IFNULL(SUM(tag.`nbQU`), 0), IFNULL(SUM(tag.`nbQE`), 0), IFNULL(SUM(tag.`nbCA`), 0)";
+
+    @Autowired
+    private DatabaseSpring databaseSpring;
+
+    @Override
+    public Answer refreshDay(Date day) {
+        MessageEvent msg;
+        Timestamp dayStart = Timestamp.from(day.toLocalDate().atStartOfDay(ZoneOffset.UTC).toInstant());
+        Timestamp dayEnd = Timestamp.from(day.toLocalDate().plusDays(1).atStartOfDay(ZoneOffset.UTC).toInstant());
+
+        final String deleteQuery = "DELETE FROM tagstatdaily WHERE `Day` = ?";
+        final String insertQuery = "INSERT INTO tagstatdaily (`System`, `Campaign`, `Day`, `NbTag`, `NbExe`, `NbExeUsefull`, `NbOK`, `NbKO`, `NbFA`, `NbNA`, `NbNE`, `NbWE`, `NbPE`, `NbQU`, `NbQE`, `NbCA`) "
+                + "SELECT '', IFNULL(tag.`Campaign`, ''), ?, " + COUNTERS_SQL + " FROM tag tag "
+                + "WHERE tag.`DateCreated` >= ? and tag.`DateCreated` < ? GROUP BY IFNULL(tag.`Campaign`, '') "
+                + "UNION ALL "
+                + "SELECT tas.`System`, IFNULL(tag.`Campaign`, ''), ?, " + COUNTERS_SQL + " FROM tag tag JOIN tagsystem tas ON tas.`Tag` = tag.`Tag` "
+                + "WHERE tag.`DateCreated` >= ? and tag.`DateCreated` < ? and tas.`System` != '' GROUP BY tas.`System`, IFNULL(tag.`Campaign`, '')";
+
+        LOG.debug("SQL : {}", deleteQuery);
+        LOG.debug("SQL : {}", insertQuery);
+        LOG.debug("SQL.day : {}", day);
+
+        try (Connection connection = databaseSpring.connect()) {
+            boolean autoCommit = connection.getAutoCommit();
+            // Delete and insert are done in the same transaction so that readers never see a day without statistics.
+            connection.setAutoCommit(false);
+            try (PreparedStatement deleteStat = connection.prepareStatement(deleteQuery);
+                    PreparedStatement insertStat = connection.prepareStatement(insertQuery)) {
+                deleteStat.setDate(1, day);
+                deleteStat.executeUpdate();
+
+                int i = 1;
+                insertStat.setDate(i++, day);
+                insertStat.setTimestamp(i++, dayStart);
+                insertStat.setTimestamp(i++, dayEnd);
+                insertStat.setDate(i++, day);
+                insertStat.setTimestamp(i++, dayStart);
+                insertStat.setTimestamp(i++, dayEnd);
+                insertStat.executeUpdate();
+
+                connection.commit();
+            } catch (SQLException exception) {
+                connection.rollback();
+                throw exception;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+            msg = new MessageEvent(MessageEventEnum.DATA_OPERATION_OK);
+            msg.setDescription(msg.getDescription().replace("%ITEM%", OBJECT_NAME).replace("%OPERATION%", "UPDATE"));
+        } catch (SQLException exception) {
+            LOG.error("Unable to execute query : {}", exception.toString());
+            msg = new MessageEvent(MessageEventEnum.DATA_OPERATION_ERROR_UNEXPECTED);
+            msg.setDescription(msg.getDescription().replace("%DESCRIPTION%", exception.toString()));
+        }
+        return new Answer(msg);
+    }
+
+    @Override
+    public AnswerItem<Timestamp> readFirstTagDateCreated() {
+        MessageEvent msg;
+        Timestamp result = null;
+        final String query = "SELECT MIN(`DateCreated`) FROM tag";
+
+        LOG.debug("SQL : {}", query);
+        try (Connection connection = databaseSpring.connect();
+                PreparedStatement preStat = connection.prepareStatement(query);
+                ResultSet resultSet = preStat.executeQuery()) {
+            if (resultSet.next()) {
+                result = resultSet.getTimestamp(1);
+            }
+            msg = new MessageEvent(MessageEventEnum.DATA_OPERATION_OK);
+            msg.setDescription(msg.getDescription().replace("%ITEM%", OBJECT_NAME).replace("%OPERATION%", "SELECT"));
+        } catch (SQLException exception) {
+            LOG.error("Unable to execute query : {}", exception.toString());
+            msg = new MessageEvent(MessageEventEnum.DATA_OPERATION_ERROR_UNEXPECTED);
+            msg.setDescription(msg.getDescription().replace("%DESCRIPTION%", exception.toString()));
+        }
+        return new AnswerItem<>(result, msg);
+    }
+
+    @Override
+    public AnswerList<Date> readDays(Date from, Date to) {
+        MessageEvent msg;
+        List<Date> days = new ArrayList<>();
+        final String query = "SELECT DISTINCT `Day` FROM tagstatdaily WHERE `Day` >= ? and `Day` <= ?";
+
+        LOG.debug("SQL : {}", query);
+        try (Connection connection = databaseSpring.connect();
+                PreparedStatement preStat = connection.prepareStatement(query)) {
+            preStat.setDate(1, from);
+            preStat.setDate(2, to);
+            try (ResultSet resultSet = preStat.executeQuery()) {
+                while (resultSet.next()) {
+                    days.add(resultSet.getDate(1));
+                }
+            }
+            msg = new MessageEvent(MessageEventEnum.DATA_OPERATION_OK);
+            msg.setDescription(msg.getDescription().replace("%ITEM%", OBJECT_NAME).replace("%OPERATION%", "SELECT"));
+        } catch (SQLException exception) {
+            LOG.error("Unable to execute query : {}", exception.toString());
+            msg = new MessageEvent(MessageEventEnum.DATA_OPERATION_ERROR_UNEXPECTED);
+            msg.setDescription(msg.getDescription().replace("%DESCRIPTION%", exception.toString()));
+        }
+        return new AnswerList<>(days, days.size(), msg);
+    }
+
+    @Override
+    public AnswerList<TagStatDaily> readByVarious(List<String> systems, Date from, Date to) {
+        MessageEvent msg;
+        List<TagStatDaily> objectList = new ArrayList<>();
+        StringBuilder query = new StringBuilder();
+        query.append("SELECT `Day`, SUM(`NbTag`), SUM(`NbExe`), SUM(`NbExeUsefull`), SUM(`NbOK`), SUM(`NbKO`), SUM(`NbFA`), SUM(`NbNA`), SUM(`NbNE`), SUM(`NbWE`), SUM(`NbPE`), SUM(`NbQU`), SUM(`NbQE`), SUM(`NbCA`) ");
+        query.append("FROM tagstatdaily WHERE ");
+        if (systems != null && !systems.isEmpty()) {
+            query.append(SqlUtil.generateInClause("`System`", systems));
+        } else {
+            query.append("`System` = ''");
+        }
+        query.append(" and `Day` >= ? and `Day` <= ? GROUP BY `Day` ORDER BY `Day`");
+
+        LOG.debug("SQL : {}", query);
+        LOG.debug("SQL.from : {}", from);
+        LOG.debug("SQL.to : {}", to);
+        LOG.debug("SQL.system : {}", systems);
+
+        try (Connection connection = databaseSpring.connect();
+                PreparedStatement preStat = connection.prepareStatement(query.toString())) {
+            int i = 1;
+            if (systems != null) {
+                for (String system : systems) {
+                    preStat.setString(i++, system);
+                }
+            }
+            preStat.setDate(i++, from);
+            preStat.setDate(i++, to);
+            try (ResultSet resultSet = preStat.executeQuery()) {
+                while (resultSet.next()) {
+                    objectList.add(loadFromResultSet(resultSet));
+                }
+            }
+            if (objectList.isEmpty()) {
+                msg = new MessageEvent(MessageEventEnum.DATA_OPERATION_NO_DATA_FOUND);
+            } else {
+                msg = new MessageEvent(MessageEventEnum.DATA_OPERATION_OK);
+                msg.setDescription(msg.getDescription().replace("%ITEM%", OBJECT_NAME).replace("%OPERATION%", "SELECT"));
+            }
+        } catch (SQLException exception) {
+            LOG.error("Unable to execute query : {}", exception.toString());
+            msg = new MessageEvent(MessageEventEnum.DATA_OPERATION_ERROR_UNEXPECTED);
+            msg.setDescription(msg.getDescription().replace("%DESCRIPTION%", exception.toString()));
+        }
+        return new AnswerList<>(objectList, objectList.size(), msg);
+    }
+
+    private TagStatDaily loadFromResultSet(ResultSet rs) throws SQLException {
+        int i = 1;
+        return TagStatDaily.builder()
+                .system("")
+                .campaign("")
+                .day(rs.getDate(i++))
+                .nbTag(rs.getInt(i++))
+                .nbExe(rs.getInt(i++))
+                .nbExeUsefull(rs.getInt(i++))
+                .nbOK(rs.getInt(i++))
+                .nbKO(rs.getInt(i++))
+                .nbFA(rs.getInt(i++))
+                .nbNA(rs.getInt(i++))
+                .nbNE(rs.getInt(i++))
+                .nbWE(rs.getInt(i++))
+                .nbPE(rs.getInt(i++))
+                .nbQU(rs.getInt(i++))
+                .nbQE(rs.getInt(i++))
+                .nbCA(rs.getInt(i++))
+                .build();
+    }
+
+}
@@ -36,6 +36,7 @@ import org.cerberus.core.engine.entity.MessageEvent;
 import org.cerberus.core.database.DatabaseSpring;
 import org.cerberus.core.crud.entity.TestCaseCountry;
 import org.cerberus.core.crud.factory.IFactoryTestCaseCountry;
+import org.cerberus.core.crud.utils.StatementBatches;
 import org.cerberus.core.enums.MessageEventEnum;
 import org.cerberus.core.util.SqlUtil;
 import org.cerberus.core.util.answer.Answer;
@@ -62,6 +63,7 @@ public class TestCaseCountryDAO implements ITestCaseCountryDAO {
     private static final Logger LOG = LogManager.getLogger(TestCaseCountryDAO.class);
 
     private final String OBJECT_NAME = "TestCaseCountry";
+    private static final String QUERY_CREATE = "INSERT INTO testcasecountry (`test`, `testCase`, `country`, `UsrCreated`) VALUES (?,?,?,?)";
     private final String SQL_DUPLICATED_CODE = "23000";
     private final int MAX_ROW_SELECTED = 100000;
 
@@ -246,24 +248,16 @@ public class TestCaseCountryDAO implements ITestCaseCountryDAO {
     @Override
     public Answer create(TestCaseCountry testCaseCountry) {
         MessageEvent msg = null;
-        StringBuilder query = new StringBuilder();
-        query.append("INSERT INTO testcasecountry (`test`, `testCase`, `country`, `UsrCreated`) ");
-        query.append("VALUES (?,?,?,?)");
-
         // Debug message on SQL.
         if (LOG.isDebugEnabled()) {
-            LOG.debug("SQL : " + query.toString());
+            LOG.debug("SQL : " + QUERY_CREATE);
             LOG.debug("SQL.param.country : " + testCaseCountry.getCountry());
         }
 
         try (Connection connection = this.databaseSpring.connect();
-                PreparedStatement preStat = connection.prepareStatement(query.toString());) {
+                PreparedStatement preStat = connection.prepareStatement(QUERY_CREATE);) {
 
-            int i = 1;
-            preStat.setString(i++, testCaseCountry.getTest());
-            preStat.setString(i++, testCaseCountry.getTestcase());
-            preStat.setString(i++, testCaseCountry.getCountry());
-            preStat.setString(i++, testCaseCountry.getUsrCreated() == null ? "" : testCaseCountry.getUsrCreated());
+            setCreateParameters(preStat, testCaseCountry);
 
             preStat.executeUpdate();
             msg = new MessageEvent(MessageEventEnum.DATA_OPERATION_OK);
@@ -283,6 +277,21 @@ public class TestCaseCountryDAO implements ITestCaseCountryDAO {
         return new Answer(msg);
     }
 
+    @Override
+    public void addCreate(StatementBatches batches, TestCaseCountry testCaseCountry) throws SQLException {
+        PreparedStatement preStat = batches.get(QUERY_CREATE);
+        setCreateParameters(preStat, testCaseCountry);
+        preStat.addBatch();
+    }
+
+    private void setCreateParameters(PreparedStatement preStat, TestCaseCountry testCaseCountry) throws SQLException {
+        int i = 1;
+        preStat.setString(i++, testCaseCountry.getTest());
+        preStat.setString(i++, testCaseCountry.getTestcase());
+        preStat.setString(i++, testCaseCountry.getCountry());
+        preStat.setString(i++, testCaseCountry.getUsrCreated() == null ? "" : testCaseCountry.getUsrCreated());
+    }
+
     @Override
     public Answer delete(TestCaseCountry testCaseCountry) {
         MessageEvent msg = null;
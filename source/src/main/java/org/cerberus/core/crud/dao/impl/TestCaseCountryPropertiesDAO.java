@@ -26,6 +26,7 @@ import org.cerberus.core.crud.dao.ITestCaseCountryPropertiesDAO;
 import org.cerberus.core.crud.entity.TestCase;
 import org.cerberus.core.crud.entity.TestCaseCountryProperties;
 import org.cerberus.core.crud.utils.RequestDbUtils;
+import org.cerberus.core.crud.utils.StatementBatches;
 import org.cerberus.core.database.DatabaseSpring;
 import org.cerberus.core.dto.PropertyListDTO;
 import org.cerberus.core.dto.TestCaseListDTO;
@@ -66,6 +67,13 @@ public class TestCaseCountryPropertiesDAO implements ITestCaseCountryPropertiesD
     private static final Logger LOG = LogManager.getLogger(TestCaseCountryPropertiesDAO.class);
 
     private final String OBJECT_NAME = "TestCaseCountryProperties";
+    private static final String QUERY_CREATE = "INSERT INTO testcasecountryproperties (`Test`,`TestCase`,`Country`,`Property`,`Description`,`Type`"
+            + ",`Database`,`Value1`,`Value2`,`Length`,`RowLimit`,`Nature`,`RetryNb`,`RetryPeriod`,`CacheExpire`,`Rank`, `UsrCreated`)"
+            + "VALUES (?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?)";
+    private static final String QUERY_DELETE = "DELETE FROM `testcasecountryproperties` WHERE `Test`=? and `TestCase`=? and `Country`=? and `Property`=?";
+    private static final String QUERY_UPDATE = "UPDATE testcasecountryproperties SET `Description` = ?, `Type` = ?, `Database` = ?, `Value1` = ?, `Value2` = ?, `Length` = ?, "
+            + "`RowLimit` = ?, `Nature` = ?, `RetryNb` = ?, `RetryPeriod` = ?, `CacheExpire` = ?, `Rank` = ?, `UsrModif` = ?, `DateModif` = CURRENT_TIMESTAMP "
+            + "WHERE `Test` = ? AND `TestCase` = ? AND `Country` = ? AND `Property` = ?";
     private final String SQL_DUPLICATED_CODE = "23000";
     private final int MAX_ROW_SELECTED = 100000;
 
@@ -640,34 +648,12 @@ public class TestCaseCountryPropertiesDAO implements ITestCaseCountryPropertiesD
     public Answer create(TestCaseCountryProperties testCaseCountryProperties) {
         MessageEvent msg = null;
 
-        StringBuilder query = new StringBuilder();
-        query.append("INSERT INTO testcasecountryproperties (`Test`,`TestCase`,`Country`,`Property`,`Description`,`Type`");
-        query.append(",`Database`,`Value1`,`Value2`,`Length`,`RowLimit`,`Nature`,`RetryNb`,`RetryPeriod`,`CacheExpire`,`Rank`, `UsrCreated`)");
-        query.append("VALUES (?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?)");
-
-        loggingQuery(query.toString());
+        loggingQuery(QUERY_CREATE);
 
         try (Connection connection = this.databaseSpring.connect();
-                PreparedStatement preStat = connection.prepareStatement(query.toString());) {
+                PreparedStatement preStat = connection.prepareStatement(QUERY_CREATE);) {
 
-            int i = 1;
-            preStat.setString(i++, testCaseCountryProperties.getTest());
-            preStat.setString(i++, testCaseCountryProperties.getTestcase());
-            preStat.setString(i++, testCaseCountryProperties.getCountry());
-            preStat.setString(i++, testCaseCountryProperties.getProperty());
-            preStat.setString(i++, testCaseCountryProperties.getDescription());
-            preStat.setString(i++, testCaseCountryProperties.getType());
-            preStat.setString(i++, testCaseCountryProperties.getDatabase());
-            preStat.setString(i++, testCaseCountryProperties.getValue1());
-            preStat.setString(i++, testCaseCountryProperties.getValue2());
-            preStat.setString(i++, testCaseCountryProperties.getLength());
-            preStat.setInt(i++, testCaseCountryProperties.getRowLimit());
-            preStat.setString(i++, testCaseCountryProperties.getNature());
-            preStat.setInt(i++, testCaseCountryProperties.getRetryNb());
-            preStat.setInt(i++, testCaseCountryProperties.getRetryPeriod());
-            preStat.setInt(i++, testCaseCountryProperties.getCacheExpire());
-            preStat.setInt(i++, testCaseCountryProperties.getRank());
-            preStat.setString(i++, testCaseCountryProperties.getUsrCreated() == null ? "" : testCaseCountryProperties.getUsrCreated());
+            setCreateParameters(preStat, testCaseCountryProperties);
 
             preStat.executeUpdate();
 
@@ -690,18 +676,12 @@ public class TestCaseCountryPropertiesDAO implements ITestCaseCountryPropertiesD
     @Override
     public Answer delete(TestCaseCountryProperties object) {
         MessageEvent msg;
-        final String query = "DELETE FROM `testcasecountryproperties` WHERE `Test`=? and `TestCase`=? and `Country`=? and `Property`=?";
-
-        loggingQuery(query);
+        loggingQuery(QUERY_DELETE);
 
         try (Connection connection = this.databaseSpring.connect();
-                PreparedStatement preStat = connection.prepareStatement(query);) {
+                PreparedStatement preStat = connection.prepareStatement(QUERY_DELETE);) {
 
-            int i = 1;
-            preStat.setString(i++, object.getTest());
-            preStat.setString(i++, object.getTestcase());
-            preStat.setString(i++, object.getCountry());
-            preStat.setString(i++, object.getProperty());
+            setDeleteParameters(preStat, object);
 
             preStat.executeUpdate();
 
@@ -716,47 +696,12 @@ public class TestCaseCountryPropertiesDAO implements ITestCaseCountryPropertiesD
     @Override
     public Answer update(TestCaseCountryProperties testCaseCountryProperties) {
         MessageEvent msg;
-        StringBuilder query = new StringBuilder();
-        query.append("UPDATE testcasecountryproperties SET ");
-        query.append("`Description` = ?, ");
-        query.append("`Type` = ?, ");
-        query.append("`Database` = ?, ");
-        query.append("`Value1` = ?, ");
-        query.append("`Value2` = ?, ");
-        query.append("`Length` = ?, ");
-        query.append("`RowLimit` = ?, ");
-        query.append("`Nature` = ?, ");
-        query.append("`RetryNb` = ?, ");
-        query.append("`RetryPeriod` = ?, ");
-        query.append("`CacheExpire` = ?, ");
-        query.append("`Rank` = ?, ");
-        query.append("`UsrModif` = ?, ");
-        query.append("`DateModif` = CURRENT_TIMESTAMP ");
-        query.append("WHERE `Test` = ? AND `TestCase` = ? AND `Country` = ? AND `Property` = ?");
-
-        loggingQuery(query.toString());
+        loggingQuery(QUERY_UPDATE);
 
         try (Connection connection = this.databaseSpring.connect();
-                PreparedStatement preStat = connection.prepareStatement(query.toString());) {
+                PreparedStatement preStat = connection.prepareStatement(QUERY_UPDATE);) {
 
-            int i = 1;
-            preStat.setString(i++, testCaseCountryProperties.getDescription());
-            preStat.setString(i++, testCaseCountryProperties.getType());
-            preStat.setString(i++, testCaseCountryProperties.getDatabase());
-            preStat.setString(i++, testCaseCountryProperties.getValue1());
-            preStat.setString(i++, testCaseCountryProperties.getValue2());
-            preStat.setString(i++, testCaseCountryProperties.getLength());
-            preStat.setInt(i++, testCaseCountryProperties.getRowLimit());
-            preStat.setString(i++, testCaseCountryProperties.getNature());
-            preStat.setInt(i++, testCaseCountryProperties.getRetryNb());
-            preStat.setInt(i++, testCaseCountryProperties.getRetryPeriod());
-            preStat.setInt(i++, testCaseCountryProperties.getCacheExpire());
-            preStat.setInt(i++, testCaseCountryProperties.getRank());
-            preStat.setString(i++, testCaseCountryProperties.getUsrModif() == null ? "" : testCaseCountryProperties.getUsrModif());
-            preStat.setString(i++, testCaseCountryProperties.getTest());
-            preStat.setString(i++, testCaseCountryProperties.getTestcase());
-            preStat.setString(i++, testCaseCountryProperties.getCountry());
-            preStat.setString(i++, testCaseCountryProperties.getProperty());
+            setUpdateParameters(preStat, testCaseCountryProperties);
 
             preStat.executeUpdate();
 
@@ -769,6 +714,77 @@ public class TestCaseCountryPropertiesDAO implements ITestCaseCountryPropertiesD
         return new Answer(msg);
     }
 
+    @Override
+    public void addCreate(StatementBatches batches, TestCaseCountryProperties testCaseCountryProperties) throws SQLException {
+        PreparedStatement preStat = batches.get(QUERY_CREATE);
+        setCreateParameters(preStat, testCaseCountryProperties);
+        preStat.addBatch();
+    }
+
+    private void setCreateParameters(PreparedStatement preStat, TestCaseCountryProperties testCaseCountryProperties) throws SQLException {
+        int i = 1;
+        preStat.setString(i++, testCaseCountryProperties.getTest());
+        preStat.setString(i++, testCaseCountryProperties.getTestcase());
+        preStat.setString(i++, testCaseCountryProperties.getCountry());
+        preStat.setString(i++, testCaseCountryProperties.getProperty());
+        preStat.setString(i++, testCaseCountryProperties.getDescription());
+        preStat.setString(i++, testCaseCountryProperties.getType());
+        preStat.setString(i++, testCaseCountryProperties.getDatabase());
+        preStat.setString(i++, testCaseCountryProperties.getValue1());
+        preStat.setString(i++, testCaseCountryProperties.getValue2());
+        preStat.setString(i++, testCaseCountryProperties.getLength());
+        preStat.setInt(i++, testCaseCountryProperties.getRowLimit());
+        preStat.setString(i++, testCaseCountryProperties.getNature());
+        preStat.setInt(i++, testCaseCountryProperties.getRetryNb());
+        preStat.setInt(i++, testCaseCountryProperties.getRetryPeriod());
+        preStat.setInt(i++, testCaseCountryProperties.getCacheExpire());
+        preStat.setInt(i++, testCaseCountryProperties.getRank());
+        preStat.setString(i++, testCaseCountryProperties.getUsrCreated() == null ? "" : testCaseCountryProperties.getUsrCreated());
+    }
+
+    @Override
+    public void addDelete(StatementBatches batches, TestCaseCountryProperties object) throws SQLException {
+        PreparedStatement preStat = batches.get(QUERY_DELETE);
+        setDeleteParameters(preStat, object);
+        preStat.addBatch();
+    }
+
+    private void setDeleteParameters(PreparedStatement preStat, TestCaseCountryProperties object) throws SQLException {
+        int i = 1;
+        preStat.setString(i++, object.getTest());
+        preStat.setString(i++, object.getTestcase());
+        preStat.setString(i++, object.getCountry());
+        preStat.setString(i++, object.getProperty());
+    }
+
+    @Override
+    public void addUpdate(StatementBatches batches, TestCaseCountryProperties testCaseCountryProperties) throws SQLException {
+        PreparedStatement preStat = batches.get(QUERY_UPDATE);
+        setUpdateParameters(preStat, testCaseCountryProperties);
+        preStat.addBatch();
+    }
+
+    private void setUpdateParameters(PreparedStatement preStat, TestCaseCountryProperties testCaseCountryProperties) throws SQLException {
+        int i = 1;
+        preStat.setString(i++, testCaseCountryProperties.getDescription());
+        preStat.setString(i++, testCaseCountryProperties.getType());
+        preStat.setString(i++, testCaseCountryProperties.getDatabase());
+        preStat.setString(i++, testCaseCountryProperties.getValue1());
+        preStat.setString(i++, testCaseCountryProperties.getValue2());
+        preStat.setString(i++, testCaseCountryProperties.getLength());
+        preStat.setInt(i++, testCaseCountryProperties.getRowLimit());
+        preStat.setString(i++, testCaseCountryProperties.getNature());
+        preStat.setInt(i++, testCaseCountryProperties.getRetryNb());
+        preStat.setInt(i++, testCaseCountryProperties.getRetryPeriod());
+        preStat.setInt(i++, testCaseCountryProperties.getCacheExpire());
+        preStat.setInt(i++, testCaseCountryProperties.getRank());
+        preStat.setString(i++, testCaseCountryProperties.getUsrModif() == null ? "" : testCaseCountryProperties.getUsrModif());
+        preStat.setString(i++, testCaseCountryProperties.getTest());
+        preStat.setString(i++, testCaseCountryProperties.getTestcase());
+        preStat.setString(i++, testCaseCountryProperties.getCountry());
+        preStat.setString(i++, testCaseCountryProperties.getProperty());
+    }
+
     @Override
     public void updateApplicationObject(String field, String application, String oldObject, String newObject) throws CerberusException {
         final String query = new StringBuilder("UPDATE testcasecountryproperties tcp ")
@@ -19,7 +19,6 @@
  */
 package org.cerberus.core.crud.dao.impl;
 
-import com.google.common.base.Strings;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.cerberus.core.crud.dao.ITestCaseDAO;
@@ -27,6 +26,7 @@ import org.cerberus.core.crud.entity.TestCase;
 import org.cerberus.core.crud.entity.TestCaseCountry;
 import org.cerberus.core.crud.factory.IFactoryTestCase;
 import org.cerberus.core.crud.service.IParameterService;
+import org.cerberus.core.crud.utils.StatementBatches;
 import org.cerberus.core.database.DatabaseSpring;
 import org.cerberus.core.dto.TestCaseListDTO;
 import org.cerberus.core.dto.TestListDTO;
@@ -91,6 +91,19 @@ public class TestCaseDAO implements ITestCaseDAO {
     private static final Logger LOG = LogManager.getLogger(TestCaseDAO.class);
 
     private final String OBJECT_NAME = "TestCase";
+    private static final String QUERY_CREATE = new StringBuilder("INSERT INTO `testcase` ")
+            .append(" ( `Test`, `TestCase`, `Application`, ")
+            .append("`Description`, `DetailedDescription`, ")
+            .append("`Priority`, `Status`, `isActive`, ")
+            .append("`Type`, `Origine`, `RefOrigine`, `Comment`, ")
+            .append("`FromMajor`, `FromMinor`, `ToMajor`, `ToMinor`, ")
+            .append("`Bugs`, `TargetMajor`, `TargetMinor`, `UsrCreated`, ")
+            .append("`Implementer`, `Executor`, `isActiveQA`, `isActiveUAT`, `isActivePROD`, `useragent`, `screenSize`, ")
+            .append("`conditionOperator`, `conditionValue1`, `conditionValue2`, `conditionValue3`, `conditionOptions`, `version`) ")
+            .append("VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ")
+            .append("?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)")
+            .toString();
+    private static final String QUERY_DELETE = "DELETE FROM testcase WHERE test = ? AND testcase = ?";
     private final String SQL_DUPLICATED_CODE = "23000";
     private final int MAX_ROW_SELECTED = 100000;
 
@@ -125,8 +138,31 @@ public class TestCaseDAO implements ITestCaseDAO {
         return list;
     }
 
+    /**
+     * Join the testcases matching the search on their own columns or on a
+     * label. Labels and columns that are not indexed are searched in their
+     * own SELECT so that each FULLTEXT index is used.
+     */
+    private static void appendFullTextJoin(StringBuilder query, SqlUtil.SearchQueryBuilder searchQuery) {
+        if (searchQuery.isFullText()) {
+            query.append(" JOIN ").append(searchQuery.getUnion(
+                    "SELECT tec.test, tec.testcase FROM testcase tec WHERE %s",
+                    "SELECT tel.test, tel.testcase FROM testcaselabel tel JOIN label lab on lab.id = tel.labelId WHERE %s",
+                    "SELECT tec.test, tec.testcase FROM testcase tec WHERE %s"));
+            query.append(" fts on fts.test = tec.test AND fts.testcase = tec.testcase ");
+        }
+    }
+
     @Override
     public AnswerList<TestCase> readByTestByCriteria(List<String> system, String test, int start, int amount, String sortInformation, String searchTerm, Map<String, List<String>> individualSearch) {
+        return new SqlUtil.SearchQueryBuilder(searchTerm)
+                .fullText("tec.`Test`", "tec.`TestCase`", "tec.`Application`", "tec.`Description`", "tec.`Status`", "tec.`Type`", "tec.`UsrCreated`", "tec.`UsrModif`")
+                .fullText("lab.`Label`")
+                .like("tec.`isActive`", "tec.`priority`", "tec.`dateCreated`")
+                .read(searchQuery -> readByTestByCriteria(system, test, start, amount, sortInformation, individualSearch, searchQuery));
+    }
+
+    private AnswerList<TestCase> readByTestByCriteria(List<String> system, String test, int start, int amount, String sortInformation, Map<String, List<String>> individualSearch, SqlUtil.SearchQueryBuilder searchQuery) {
         AnswerList<TestCase> answer = new AnswerList<>();
         MessageEvent msg = new MessageEvent(MessageEventEnum.DATA_OPERATION_ERROR_UNEXPECTED);
         msg.setDescription(msg.getDescription().replace("%DESCRIPTION%", ""));
@@ -140,7 +176,8 @@ public class TestCaseDAO implements ITestCaseDAO {
         //were applied -- used for pagination p
         query.append("SELECT SQL_CALC_FOUND_ROWS tec.*, app.* FROM testcase tec ");
         query.append(" LEFT OUTER JOIN application app on app.application = tec.application ");
-        if (!StringUtil.isEmpty(searchTerm) || individualSearch.get("lab.label") != null
+        appendFullTextJoin(query, searchQuery);
+        if ((!searchQuery.isEmpty() && !searchQuery.isFullText()) || individualSearch.get("lab.label") != null
                 || individualSearch.get("lab.labelsSTICKER") != null || individualSearch.get("lab.labelsREQUIREMENT") != null || individualSearch.get("lab.labelsBATTERY") != null) {
             // We don't join the label table if we don't need to.
             query.append(" LEFT OUTER JOIN testcaselabel tel on tec.test = tel.test AND tec.testcase = tel.testcase ");
@@ -161,19 +198,8 @@ public class TestCaseDAO implements ITestCaseDAO {
             searchSQL.append(" AND tec.`test` = ?");
         }
 
-        if (!StringUtil.isEmpty(searchTerm)) {
-            searchSQL.append(" and (tec.`testcase` like ?");
-            searchSQL.append(" or tec.`test` like ?");
-            searchSQL.append(" or tec.`application` like ?");
-            searchSQL.append(" or tec.`usrCreated` like ?");
-            searchSQL.append(" or tec.`usrModif` like ?");
-            searchSQL.append(" or tec.`isActive` like ?");
-            searchSQL.append(" or tec.`status` like ?");
-            searchSQL.append(" or tec.`type` like ?");
-            searchSQL.append(" or tec.`priority` like ?");
-            searchSQL.append(" or tec.`dateCreated` like ?");
-            searchSQL.append(" or tec.`description` like ?");
-            searchSQL.append(" or lab.`label` like ?)");
+        if (!searchQuery.isEmpty() && !searchQuery.isFullText()) {
+            searchSQL.append(" and ").append(searchQuery.getClause());
         }
         if (individualSearch != null && !individualSearch.isEmpty()) {
             searchSQL.append(" and ( 1=1 ");
@@ -213,6 +239,10 @@ public class TestCaseDAO implements ITestCaseDAO {
              PreparedStatement preStat = connection.prepareStatement(query.toString());) {
 
             int i = 1;
+            if (searchQuery.isFullText()) {
+                // The UNION is joined before the WHERE clause.
+                i = searchQuery.setParameters(preStat, i);
+            }
             if (system != null && !system.isEmpty()) {
                 for (String string : system) {
                     preStat.setString(i++, string);
@@ -221,19 +251,8 @@ public class TestCaseDAO implements ITestCaseDAO {
             if (!StringUtil.isEmpty(test)) {
                 preStat.setString(i++, test);
             }
-            if (!Strings.isNullOrEmpty(searchTerm)) {
-                preStat.setString(i++, "%" + searchTerm + "%");
-                preStat.setString(i++, "%" + searchTerm + "%");
-                preStat.setString(i++, "%" + searchTerm + "%");
-                preStat.setString(i++, "%" + searchTerm + "%");
-                preStat.setString(i++, "%" + searchTerm + "%");
-                preStat.setString(i++, "%" + searchTerm + "%");
-                preStat.setString(i++, "%" + searchTerm + "%");
-                preStat.setString(i++, "%" + searchTerm + "%");
-                preStat.setString(i++, "%" + searchTerm + "%");
-                preStat.setString(i++, "%" + searchTerm + "%");
-                preStat.setString(i++, "%" + searchTerm + "%");
-                preStat.setString(i++, "%" + searchTerm + "%");
+            if (!searchQuery.isFullText()) {
+                i = searchQuery.setParameters(preStat, i);
             }
             for (String individualColumnSearchValue : individalColumnSearchValues) {
                 preStat.setString(i++, individualColumnSearchValue);
@@ -1378,6 +1397,14 @@ public class TestCaseDAO implements ITestCaseDAO {
 
     @Override
     public AnswerList<String> readDistinctValuesByCriteria(List<String> system, String test, String searchTerm, Map<String, List<String>> individualSearch, String columnName) {
+        return new SqlUtil.SearchQueryBuilder(searchTerm)
+                .fullText("tec.`Test`", "tec.`TestCase`", "tec.`Application`", "tec.`Description`", "tec.`Status`", "tec.`Type`", "tec.`UsrCreated`", "tec.`UsrModif`")
+                .fullText("lab.`Label`")
+                .like("tec.`isActive`", "tec.`priority`", "tec.`dateCreated`")
+                .read(searchQuery -> readDistinctValuesByCriteria(system, test, individualSearch, columnName, searchQuery));
+    }
+
+    private AnswerList<String> readDistinctValuesByCriteria(List<String> system, String test, Map<String, List<String>> individualSearch, String columnName, SqlUtil.SearchQueryBuilder searchQuery) {
         AnswerList<String> answer = new AnswerList<>();
         MessageEvent msg = new MessageEvent(MessageEventEnum.DATA_OPERATION_ERROR_UNEXPECTED);
         String columnNameOri = columnName;
@@ -1398,6 +1425,7 @@ public class TestCaseDAO implements ITestCaseDAO {
         query.append(" LEFT OUTER JOIN testcaselabel tel on tec.test = tel.test AND tec.testcase = tel.testcase ");
         query.append(" LEFT OUTER JOIN label lab on tel.labelId = lab.id ");
         query.append(" LEFT OUTER JOIN application app on app.application = tec.application ");
+        appendFullTextJoin(query, searchQuery);
 
         searchSQL.append("WHERE 1=1");
         switch (columnNameOri) {
@@ -1419,19 +1447,8 @@ public class TestCaseDAO implements ITestCaseDAO {
             searchSQL.append(" AND tec.`test` = ?");
         }
 
-        if (!StringUtil.isEmpty(searchTerm)) {
-            searchSQL.append(" and (tec.`testcase` like ?");
-            searchSQL.append(" or tec.`test` like ?");
-            searchSQL.append(" or tec.`application` like ?");
-            searchSQL.append(" or tec.`usrCreated` like ?");
-            searchSQL.append(" or tec.`usrModif` like ?");
-            searchSQL.append(" or tec.`isActive` like ?");
-            searchSQL.append(" or tec.`status` like ?");
-            searchSQL.append(" or tec.`type` like ?");
-            searchSQL.append(" or tec.`priority` like ?");
-            searchSQL.append(" or tec.`dateCreated` like ?");
-            searchSQL.append(" or lab.`label` like ?");
-            searchSQL.append(" or tec.`description` like ?)");
+        if (!searchQuery.isEmpty() && !searchQuery.isFullText()) {
+            searchSQL.append(" and ").append(searchQuery.getClause());
         }
         if (individualSearch != null && !individualSearch.isEmpty()) {
             searchSQL.append(" and ( 1=1 ");
@@ -1459,6 +1476,10 @@ public class TestCaseDAO implements ITestCaseDAO {
              Statement stm = connection.createStatement();) {
 
             int i = 1;
+            if (searchQuery.isFullText()) {
+                // The UNION is joined before the WHERE clause.
+                i = searchQuery.setParameters(preStat, i);
+            }
             if (system != null && !system.isEmpty()) {
                 for (String string : system) {
                     preStat.setString(i++, string);
@@ -1467,19 +1488,8 @@ public class TestCaseDAO implements ITestCaseDAO {
             if (!StringUtil.isEmpty(test)) {
                 preStat.setString(i++, test);
             }
-            if (!Strings.isNullOrEmpty(searchTerm)) {
-                preStat.setString(i++, "%" + searchTerm + "%");
-                preStat.setString(i++, "%" + searchTerm + "%");
-                preStat.setString(i++, "%" + searchTerm + "%");
-                preStat.setString(i++, "%" + searchTerm + "%");
-                preStat.setString(i++, "%" + searchTerm + "%");
-                preStat.setString(i++, "%" + searchTerm + "%");
-                preStat.setString(i++, "%" + searchTerm + "%");
-                preStat.setString(i++, "%" + searchTerm + "%");
-                preStat.setString(i++, "%" + searchTerm + "%");
-                preStat.setString(i++, "%" + searchTerm + "%");
-                preStat.setString(i++, "%" + searchTerm + "%");
-                preStat.setString(i++, "%" + searchTerm + "%");
+            if (!searchQuery.isFullText()) {
+                i = searchQuery.setParameters(preStat, i);
             }
 
             for (String individualColumnSearchValue : individalColumnSearchValues) {
@@ -1634,68 +1644,15 @@ public class TestCaseDAO implements ITestCaseDAO {
     public Answer create(TestCase testCase) {
         MessageEvent msg = null;
 
-        final StringBuilder sql = new StringBuilder("INSERT INTO `testcase` ")
-                .append(" ( `Test`, `TestCase`, `Application`, ")
-                .append("`Description`, `DetailedDescription`, ")
-                .append("`Priority`, `Status`, `isActive`, ")
-                .append("`Type`, `Origine`, `RefOrigine`, `Comment`, ")
-                .append("`FromMajor`, `FromMinor`, `ToMajor`, `ToMinor`, ")
-                .append("`Bugs`, `TargetMajor`, `TargetMinor`, `UsrCreated`, ")
-                .append("`Implementer`, `Executor`, `isActiveQA`, `isActiveUAT`, `isActivePROD`, `useragent`, `screenSize`, ")
-                .append("`conditionOperator`, `conditionValue1`, `conditionValue2`, `conditionValue3`, `conditionOptions`, `version`) ")
-                .append("VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ")
-                .append("?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?); ");
-
         // Debug message on SQL.
         if (LOG.isDebugEnabled()) {
-            LOG.debug("SQL : " + sql.toString());
+            LOG.debug("SQL : " + QUERY_CREATE);
         }
 
         try (Connection connection = this.databaseSpring.connect();
-             PreparedStatement preStat = connection.prepareStatement(sql.toString());) {
+             PreparedStatement preStat = connection.prepareStatement(QUERY_CREATE);) {
 
-            int i = 1;
-            preStat.setString(i++, ParameterParserUtil.parseStringParam(testCase.getTest(), ""));
-            preStat.setString(i++, ParameterParserUtil.parseStringParam(testCase.getTestcase(), ""));
-            preStat.setString(i++, ParameterParserUtil.parseStringParam(testCase.getApplication(), ""));
-            preStat.setString(i++, ParameterParserUtil.parseStringParam(testCase.getDescription(), ""));
-            preStat.setString(i++, ParameterParserUtil.parseStringParam(testCase.getDetailedDescription(), ""));
-            preStat.setString(i++, Integer.toString(testCase.getPriority()));
-            preStat.setString(i++, ParameterParserUtil.parseStringParam(testCase.getStatus(), ""));
-            preStat.setBoolean(i++, testCase.isActive());
-            preStat.setString(i++, ParameterParserUtil.parseStringParam(testCase.getType(), ""));
-            preStat.setString(i++, ParameterParserUtil.parseStringParam(testCase.getOrigine(), ""));
-            preStat.setString(i++, ParameterParserUtil.parseStringParam(testCase.getRefOrigine(), ""));
-            preStat.setString(i++, ParameterParserUtil.parseStringParam(testCase.getComment(), ""));
-            preStat.setString(i++, ParameterParserUtil.parseStringParam(testCase.getFromMajor(), ""));
-            preStat.setString(i++, ParameterParserUtil.parseStringParam(testCase.getFromMinor(), ""));
-            preStat.setString(i++, ParameterParserUtil.parseStringParam(testCase.getToMajor(), ""));
-            preStat.setString(i++, ParameterParserUtil.parseStringParam(testCase.getToMinor(), ""));
-            if (testCase.getBugs() != null) {
-                preStat.setString(i++, ParameterParserUtil.parseStringParam(testCase.getBugs().toString(), ""));
-            } else {
-                preStat.setString(i++, "[]");
-            }
-            preStat.setString(i++, ParameterParserUtil.parseStringParam(testCase.getTargetMajor(), ""));
-            preStat.setString(i++, ParameterParserUtil.parseStringParam(testCase.getTargetMinor(), ""));
-            preStat.setString(i++, ParameterParserUtil.parseStringParam(testCase.getUsrCreated(), ""));
-            preStat.setString(i++, ParameterParserUtil.parseStringParam(testCase.getImplementer(), ""));
-            preStat.setString(i++, ParameterParserUtil.parseStringParam(testCase.getExecutor(), ""));
-            preStat.setBoolean(i++, testCase.isActiveQA());
-            preStat.setBoolean(i++, testCase.isActiveUAT());
-            preStat.setBoolean(i++, testCase.isActivePROD());
-            preStat.setString(i++, ParameterParserUtil.parseStringParam(testCase.getUserAgent(), ""));
-            preStat.setString(i++, ParameterParserUtil.parseStringParam(testCase.getScreenSize(), ""));
-            preStat.setString(i++, ParameterParserUtil.parseStringParam(testCase.getConditionOperator(), ""));
-            preStat.setString(i++, ParameterParserUtil.parseStringParam(testCase.getConditionValue1(), ""));
-            preStat.setString(i++, ParameterParserUtil.parseStringParam(testCase.getConditionValue2(), ""));
-            preStat.setString(i++, ParameterParserUtil.parseStringParam(testCase.getConditionValue3(), ""));
-            if (testCase.getConditionOptions() != null) {
-                preStat.setString(i++, ParameterParserUtil.parseStringParam(testCase.getConditionOptions().toString(), ""));
-            } else {
-                preStat.setString(i++, "[]");
-            }
-            preStat.setInt(i++, ParameterParserUtil.parseIntegerParam(testCase.getVersion(), 0));
+            setCreateParameters(preStat, testCase);
 
             preStat.executeUpdate();
             msg = new MessageEvent(MessageEventEnum.DATA_OPERATION_OK);
@@ -1719,17 +1676,14 @@ public class TestCaseDAO implements ITestCaseDAO {
     @Override
     public Answer delete(TestCase testCase) {
         MessageEvent msg = null;
-        final String query = "DELETE FROM testcase WHERE test = ? AND testcase = ?";
-
         if (LOG.isDebugEnabled()) {
-            LOG.debug("SQL : " + query);
+            LOG.debug("SQL : " + QUERY_DELETE);
         }
 
         try (Connection connection = this.databaseSpring.connect();
-             PreparedStatement preStat = connection.prepareStatement(query);) {
+             PreparedStatement preStat = connection.prepareStatement(QUERY_DELETE);) {
 
-            preStat.setString(1, testCase.getTest());
-            preStat.setString(2, testCase.getTestcase());
+            setDeleteParameters(preStat, testCase);
 
             preStat.executeUpdate();
 
@@ -1743,6 +1697,70 @@ public class TestCaseDAO implements ITestCaseDAO {
         return new Answer(msg);
     }
 
+    @Override
+    public void addCreate(StatementBatches batches, TestCase testCase) throws SQLException {
+        PreparedStatement preStat = batches.get(QUERY_CREATE);
+        setCreateParameters(preStat, testCase);
+        preStat.addBatch();
+    }
+
+    private void setCreateParameters(PreparedStatement preStat, TestCase testCase) throws SQLException {
+        int i = 1;
+        preStat.setString(i++, ParameterParserUtil.parseStringParam(testCase.getTest(), ""));
+        preStat.setString(i++, ParameterParserUtil.parseStringParam(testCase.getTestcase(), ""));
+        preStat.setString(i++, ParameterParserUtil.parseStringParam(testCase.getApplication(), ""));
+        preStat.setString(i++, ParameterParserUtil.parseStringParam(testCase.getDescription(), ""));
+        preStat.setString(i++, ParameterParserUtil.parseStringParam(testCase.getDetailedDescription(), ""));
+        preStat.setString(i++, Integer.toString(testCase.getPriority()));
+        preStat.setString(i++, ParameterParserUtil.parseStringParam(testCase.getStatus(), ""));
+        preStat.setBoolean(i++, testCase.isActive());
+        preStat.setString(i++, ParameterParserUtil.parseStringParam(testCase.getType(), ""));
+        preStat.setString(i++, ParameterParserUtil.parseStringParam(testCase.getOrigine(), ""));
+        preStat.setString(i++, ParameterParserUtil.parseStringParam(testCase.getRefOrigine(), ""));
+        preStat.setString(i++, ParameterParserUtil.parseStringParam(testCase.getComment(), ""));
+        preStat.setString(i++, ParameterParserUtil.parseStringParam(testCase.getFromMajor(), ""));
+        preStat.setString(i++, ParameterParserUtil.parseStringParam(testCase.getFromMinor(), ""));
+        preStat.setString(i++, ParameterParserUtil.parseStringParam(testCase.getToMajor(), ""));
+        preStat.setString(i++, ParameterParserUtil.parseStringParam(testCase.getToMinor(), ""));
+        if (testCase.getBugs() != null) {
+            preStat.setString(i++, ParameterParserUtil.parseStringParam(testCase.getBugs().toString(), ""));
+        } else {
+            preStat.setString(i++, "[]");
+        }
+        preStat.setString(i++, ParameterParserUtil.parseStringParam(testCase.getTargetMajor(), ""));
+        preStat.setString(i++, ParameterParserUtil.parseStringParam(testCase.getTargetMinor(), ""));
+        preStat.setString(i++, ParameterParserUtil.parseStringParam(testCase.getUsrCreated(), ""));
+        preStat.setString(i++, ParameterParserUtil.parseStringParam(testCase.getImplementer(), ""));
+        preStat.setString(i++, ParameterParserUtil.parseStringParam(testCase.getExecutor(), ""));
+        preStat.setBoolean(i++, testCase.isActiveQA());
+        preStat.setBoolean(i++, testCase.isActiveUAT());
+        preStat.setBoolean(i++, testCase.isActivePROD());
+        preStat.setString(i++, ParameterParserUtil.parseStringParam(testCase.getUserAgent(), ""));
+        preStat.setString(i++, ParameterParserUtil.parseStringParam(testCase.getScreenSize(), ""));
+        preStat.setString(i++, ParameterParserUtil.parseStringParam(testCase.getConditionOperator(), ""));
+        preStat.setString(i++, ParameterParserUtil.parseStringParam(testCase.getConditionValue1(), ""));
+        preStat.setString(i++, ParameterParserUtil.parseStringParam(testCase.getConditionValue2(), ""));
+        preStat.setString(i++, ParameterParserUtil.parseStringParam(testCase.getConditionValue3(), ""));
+        if (testCase.getConditionOptions() != null) {
+            preStat.setString(i++, ParameterParserUtil.parseStringParam(testCase.getConditionOptions().toString(), ""));
+        } else {
+            preStat.setString(i++, "[]");
+        }
+        preStat.setInt(i++, ParameterParserUtil.parseIntegerParam(testCase.getVersion(), 0));
+    }
+
+    @Override
+    public void addDelete(StatementBatches batches, TestCase testCase) throws SQLException {
+        PreparedStatement preStat = batches.get(QUERY_DELETE);
+        setDeleteParameters(preStat, testCase);
+        preStat.addBatch();
+    }
+
+    private void setDeleteParameters(PreparedStatement preStat, TestCase testCase) throws SQLException {
+        preStat.setString(1, testCase.getTest());
+        preStat.setString(2, testCase.getTestcase());
+    }
+
     @Override
     public TestCase loadFromResultSet(ResultSet resultSet) throws SQLException {
         String test = resultSet.getString("tec.Test");
@@ -25,20 +25,27 @@ import org.cerberus.core.crud.dao.ITestCaseDepDAO;
 import org.cerberus.core.crud.entity.TestCase;
 import org.cerberus.core.crud.entity.TestCaseDep;
 import org.cerberus.core.crud.utils.RequestDbUtils;
+import org.cerberus.core.crud.utils.StatementBatches;
 import org.cerberus.core.database.DatabaseSpring;
 import org.cerberus.core.exception.CerberusException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Repository;
 
+import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
 
 @Repository
 public class TestCaseDepDAO implements ITestCaseDepDAO {
 
+    private static final String QUERY_CREATE = "INSERT INTO `testcasedep`"
+            + "(`Test`, `Testcase`, `Type`, `DependencyTest`, `DependencyTestcase`, `DependencyEvent`, `isActive`, `Description`, `UsrCreated`, `DateCreated`, `UsrModif`, `DateModif` )"
+            + "VALUES(?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
     @Autowired
     private DatabaseSpring databaseSpring;
 
@@ -107,17 +114,38 @@ public class TestCaseDepDAO implements ITestCaseDepDAO {
 
     @Override
     public void create(TestCaseDep testcaseDependency) throws CerberusException {
-        String query = "INSERT INTO `testcasedep`" +
-                "(`Test`, `Testcase`, `Type`, `DependencyTest`, `DependencyTestcase`, `DependencyEvent`, `isActive`, `Description`, `UsrCreated`, `DateCreated`, `UsrModif`, `DateModif` )" +
-                "VALUES(?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
-
-            RequestDbUtils.executeUpdate(databaseSpring, query,
-                    preparedStatement -> this.setRequestData(preparedStatement,testcaseDependency,false)
-            );
-
+        RequestDbUtils.executeUpdate(databaseSpring, QUERY_CREATE,
+                preparedStatement -> this.setRequestData(preparedStatement, testcaseDependency, false)
+        );
+    }
 
+    @Override
+    public void addCreate(StatementBatches batches, TestCaseDep testcaseDependency) throws SQLException {
+        PreparedStatement preStat = batches.get(QUERY_CREATE);
+        setRequestData(preStat, testcaseDependency, false);
+        preStat.addBatch();
     }
 
+    @Override
+    public List<TestCaseDep> readByDependency(Connection connection, TestCase testcase) throws SQLException {
+        String query = "SELECT tcd.* FROM `testcasedep` tcd "
+                + "where tcd.DependencyTest = ? and tcd.DependencyTestcase = ? and (tcd.Test != ? or tcd.Testcase != ?)";
+
+        List<TestCaseDep> dependencies = new ArrayList<>();
+        try (PreparedStatement preStat = connection.prepareStatement(query)) {
+            int i = 1;
+            preStat.setString(i++, testcase.getTest());
+            preStat.setString(i++, testcase.getTestcase());
+            preStat.setString(i++, testcase.getTest());
+            preStat.setString(i++, testcase.getTestcase());
+            try (ResultSet resultSet = preStat.executeQuery()) {
+                while (resultSet.next()) {
+                    dependencies.add(this.loadResult(resultSet));
+                }
+            }
+        }
+        return dependencies;
+    }
 
     @Override
     public void update(TestCaseDep testcaseDependency) throws CerberusException {
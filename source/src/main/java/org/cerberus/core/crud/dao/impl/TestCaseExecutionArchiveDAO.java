@@ -0,0 +1,269 @@
+/**
+ * Cerberus Copyright (C) 2013 - 2017 cerberustesting
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This file is part of Cerberus.
+ *
+ * Cerberus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Cerberus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Cerberus.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cerberus.core.crud.dao.impl;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.cerberus.core.crud.dao.ITestCaseExecutionArchiveDAO;
+import org.cerberus.core.database.DatabaseSpring;
+import org.cerberus.core.engine.entity.MessageEvent;
+import org.cerberus.core.enums.MessageEventEnum;
+import org.cerberus.core.util.StringUtil;
+import org.cerberus.core.util.answer.Answer;
+import org.cerberus.core.util.answer.AnswerItem;
+import org.cerberus.core.util.answer.AnswerList;
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Execution history access for the retention job.
+ */
+@Repository
+public class TestCaseExecutionArchiveDAO implements ITestCaseExecutionArchiveDAO {
+
+    private static final Logger LOG = LogManager.getLogger(TestCaseExecutionArchiveDAO.class);
+
+    private static final String OBJECT_NAME = "TestCase Execution Archive";
+
+    /**
+     * Tables that hold the detail of an execution with the column that
+     * references the execution id. Deletion is done in that order, the
+     * execution itself being deleted last.
+     */
+    private static final String[][] EXECUTION_TABLES = {
+        {"testcasestepactioncontrolexecution", "ID"},
+        {"testcasestepactionexecution", "ID"},
+        {"testcasestepexecution", "ID"},
+        {"testcaseexecutiondata", "ID"},
+        {"testcaseexecutionfile", "ExeID"},
+        {"testcaseexecutionhttpstatmetric", "ExeID"},
+        {"testcaseexecutionhttpstat", "ID"},
+        {"testcaseexecutionsysver", "ID"},
+        {"testcaseexecution", "ID"}};
+
+    private static final String[][] LOG_TABLES = {
+        {"logevent", "Time"},
+        {"queuestat", "DateCreated"},
+        {"queuestatbucket", "BucketStart"}};
+
+    @Autowired
+    private DatabaseSpring databaseSpring;
+
+    @Override
+    public AnswerList<String> readDistinctSystems() {
+        MessageEvent msg;
+        List<String> systems = new ArrayList<>();
+        final String query = "SELECT DISTINCT `System` FROM testcaseexecution";
+
+        LOG.debug("SQL : {}", query);
+        try (Connection connection = databaseSpring.connect();
+                PreparedStatement preStat = connection.prepareStatement(query);
+                ResultSet resultSet = preStat.executeQuery()) {
+            while (resultSet.next()) {
+                systems.add(resultSet.getString(1));
+            }
+            msg = new MessageEvent(MessageEventEnum.DATA_OPERATION_OK);
+            msg.setDescription(msg.getDescription().replace("%ITEM%", OBJECT_NAME).replace("%OPERATION%", "SELECT"));
+        } catch (SQLException exception) {
+            LOG.error("Unable to execute query : {}", exception.toString());
+            msg = new MessageEvent(MessageEventEnum.DATA_OPERATION_ERROR_UNEXPECTED);
+            msg.setDescription(msg.getDescription().replace("%DESCRIPTION%", exception.toString()));
+        }
+        return new AnswerList<>(systems, systems.size(), msg);
+    }
+
+    @Override
+    public AnswerList<Long> readIdsToArchive(String system, Timestamp before, String keepTagRegex, int limit) {
+        MessageEvent msg;
+        List<Long> ids = new ArrayList<>();
+        StringBuilder query = new StringBuilder();
+        query.append("SELECT exe.`ID` FROM testcaseexecution exe ");
+        query.append("WHERE exe.`System` = ? AND exe.`Start` < ? AND exe.`ControlStatus` NOT IN ('PE', 'NE') ");
+        query.append("AND (IFNULL(exe.`Tag`, '') = '' OR EXISTS (SELECT 1 FROM tag t WHERE t.`Tag` = exe.`Tag` AND t.`DateEndQueue` > '1970-01-02')) ");
+        if (!StringUtil.isEmpty(keepTagRegex)) {
+            query.append("AND (exe.`Tag` IS NULL OR exe.`Tag` NOT REGEXP ?) ");
+        }
+        query.append("ORDER BY exe.`ID` LIMIT ").append(limit);
+
+        LOG.debug("SQL : {}", query);
+        try (Connection connection = databaseSpring.connect();
+                PreparedStatement preStat = connection.prepareStatement(query.toString())) {
+            int i = 1;
+            preStat.setString(i++, system);
+            preStat.setTimestamp(i++, before);
+            if (!StringUtil.isEmpty(keepTagRegex)) {
+                preStat.setString(i++, keepTagRegex);
+            }
+            try (ResultSet resultSet = preStat.executeQuery()) {
+                while (resultSet.next()) {
+                    ids.add(resultSet.getLong(1));
+                }
+            }
+            msg = new MessageEvent(MessageEventEnum.DATA_OPERATION_OK);
+            msg.setDescription(msg.getDescription().replace("%ITEM%", OBJECT_NAME).replace("%OPERATION%", "SELECT"));
+        } catch (SQLException exception) {
+            LOG.error("Unable to execute query : {}", exception.toString());
+            msg = new MessageEvent(MessageEventEnum.DATA_OPERATION_ERROR_UNEXPECTED);
+            msg.setDescription(msg.getDescription().replace("%DESCRIPTION%", exception.toString()));
+        }
+        return new AnswerList<>(ids, ids.size(), msg);
+    }
+
+    @Override
+    public AnswerItem<JSONObject> readRawRows(List<Long> exeIds) {
+        MessageEvent msg;
+        JSONObject result = new JSONObject();
+
+        try (Connection connection = databaseSpring.connect()) {
+            // Execution first so that the archive reads in the natural order.
+            for (int t = EXECUTION_TABLES.length - 1; t >= 0; t--) {
+                String query = "SELECT * FROM " + EXECUTION_TABLES[t][0] + " WHERE `" + EXECUTION_TABLES[t][1] + "` IN (" + getPlaceholders(exeIds.size()) + ")";
+                LOG.debug("SQL : {}", query);
+                try (PreparedStatement preStat = connection.prepareStatement(query)) {
+                    setIds(preStat, exeIds);
+                    try (ResultSet resultSet = preStat.executeQuery()) {
+                        ResultSetMetaData metaData = resultSet.getMetaData();
+                        JSONArray rows = new JSONArray();
+                        while (resultSet.next()) {
+                            JSONObject row = new JSONObject();
+                            for (int c = 1; c <= metaData.getColumnCount(); c++) {
+                                String value = resultSet.getString(c);
+                                if (value != null) {
+                                    row.put(metaData.getColumnLabel(c), value);
+                                }
+                            }
+                            rows.put(row);
+                        }
+                        result.put(EXECUTION_TABLES[t][0], rows);
+                    }
+                }
+            }
+            msg = new MessageEvent(MessageEventEnum.DATA_OPERATION_OK);
+            msg.setDescription(msg.getDescription().replace("%ITEM%", OBJECT_NAME).replace("%OPERATION%", "SELECT"));
+        } catch (SQLException | JSONException exception) {
+            LOG.error("Unable to execute query : {}", exception.toString());
+            msg = new MessageEvent(MessageEventEnum.DATA_OPERATION_ERROR_UNEXPECTED);
+            msg.setDescription(msg.getDescription().replace("%DESCRIPTION%", exception.toString()));
+        }
+        return new AnswerItem<>(result, msg);
+    }
+
+    @Override
+    public Answer deleteExecutions(List<Long> exeIds) {
+        MessageEvent msg;
+
+        // One transaction per execution : an execution is either fully deleted or left untouched, and locks stay short.
+        try (Connection connection = databaseSpring.connect()) {
+            List<PreparedStatement> deletes = new ArrayList<>();
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try {
+                for (String[] table : EXECUTION_TABLES) {
+                    String query = "DELETE FROM " + table[0] + " WHERE `" + table[1] + "` = ?";
+                    LOG.debug("SQL : {}", query);
+                    deletes.add(connection.prepareStatement(query));
+                }
+                for (Long exeId : exeIds) {
+                    try {
+                        for (PreparedStatement preStat : deletes) {
+                            preStat.setLong(1, exeId);
+                            preStat.executeUpdate();
+                        }
+                        connection.commit();
+                    } catch (SQLException exception) {
+                        connection.rollback();
+                        throw exception;
+                    }
+                }
+            } finally {
+                for (PreparedStatement preStat : deletes) {
+                    preStat.close();
+                }
+                connection.setAutoCommit(autoCommit);
+            }
+            msg = new MessageEvent(MessageEventEnum.DATA_OPERATION_OK);
+            msg.setDescription(msg.getDescription().replace("%ITEM%", OBJECT_NAME).replace("%OPERATION%", "DELETE"));
+        } catch (SQLException exception) {
+            LOG.error("Unable to execute query : {}", exception.toString());
+            msg = new MessageEvent(MessageEventEnum.DATA_OPERATION_ERROR_UNEXPECTED);
+            msg.setDescription(msg.getDescription().replace("%DESCRIPTION%", exception.toString()));
+        }
+        return new Answer(msg);
+    }
+
+    @Override
+    public AnswerItem<Integer> deleteLogsBefore(String table, Timestamp before, int limit) {
+        MessageEvent msg;
+        String dateColumn = null;
+        for (String[] logTable : LOG_TABLES) {
+            if (logTable[0].equals(table)) {
+                dateColumn = logTable[1];
+            }
+        }
+        if (dateColumn == null) {
+            msg = new MessageEvent(MessageEventEnum.DATA_OPERATION_ERROR_EXPECTED);
+            msg.setDescription(msg.getDescription().replace("%ITEM%", OBJECT_NAME).replace("%OPERATION%", "DELETE").replace("%REASON%", "Table " + table + " cannot be purged."));
+            return new AnswerItem<>(0, msg);
+        }
+
+        int deleted = 0;
+        String query = "DELETE FROM " + table + " WHERE `" + dateColumn + "` < ? LIMIT " + limit;
+        LOG.debug("SQL : {}", query);
+        try (Connection connection = databaseSpring.connect();
+                PreparedStatement preStat = connection.prepareStatement(query)) {
+            preStat.setTimestamp(1, before);
+            deleted = preStat.executeUpdate();
+            msg = new MessageEvent(MessageEventEnum.DATA_OPERATION_OK);
+            msg.setDescription(msg.getDescription().replace("%ITEM%", OBJECT_NAME).replace("%OPERATION%", "DELETE"));
+        } catch (SQLException exception) {
+            LOG.error("Unable to execute query : {}", exception.toString());
+            msg = new MessageEvent(MessageEventEnum.DATA_OPERATION_ERROR_UNEXPECTED);
+            msg.setDescription(msg.getDescription().replace("%DESCRIPTION%", exception.toString()));
+        }
+        return new AnswerItem<>(deleted, msg);
+    }
+
+    private static String getPlaceholders(int nb) {
+        StringBuilder placeholders = new StringBuilder();
+        for (int i = 0; i < nb; i++) {
+            placeholders.append(i == 0 ? "?" : ",?");
+        }
+        return placeholders.toString();
+    }
+
+    private static void setIds(PreparedStatement preStat, List<Long> exeIds) throws SQLException {
+        int i = 1;
+        for (Long exeId : exeIds) {
+            preStat.setLong(i++, exeId);
+        }
+    }
+
+}
@@ -42,6 +42,8 @@ import org.cerberus.core.util.SqlUtil;
 import org.cerberus.core.util.StringUtil;
 import org.cerberus.core.util.answer.AnswerItem;
 import org.cerberus.core.util.answer.AnswerList;
+import org.cerberus.core.util.datatable.KeysetCursor;
+import org.cerberus.core.util.datatable.RowCountCache;
 import org.cerberus.core.util.security.UserSecurity;
 import org.springframework.stereotype.Repository;
 
@@ -69,6 +71,7 @@ public class TestCaseExecutionDAO implements ITestCaseExecutionDAO {
     private static final Logger LOG = LogManager.getLogger(TestCaseExecutionDAO.class);
     private static final String OBJECT_NAME = "TestCase Execution";
     private static final int MAX_ROW_SELECTED = 100000;
+    private static final RowCountCache ROW_COUNT_CACHE = new RowCountCache(30000);
 
     @Override
     public long insertTCExecution(TestCaseExecution tCExecution) throws CerberusException {
@@ -810,58 +813,20 @@ public class TestCaseExecutionDAO implements ITestCaseExecutionDAO {
     public AnswerList<TestCaseExecution> readByCriteria(int start, int amount, String sort, String searchTerm,
                                                         Map<String, List<String>> individualSearch, List<String> individualLike,
                                                         List<String> systems) throws CerberusException {
+        return getSearchQuery(searchTerm)
+                .read(searchQuery -> readByCriteria(start, amount, sort, individualSearch, systems, searchQuery));
+    }
+
+    private AnswerList<TestCaseExecution> readByCriteria(int start, int amount, String sort, Map<String, List<String>> individualSearch,
+                                                         List<String> systems, SqlUtil.SearchQueryBuilder searchQuery) {
         MessageEvent msg;
         AnswerList<TestCaseExecution> response = new AnswerList<>();
         List<String> individualColumnSearchValues = new ArrayList<>();
         List<TestCaseExecution> objectList = new ArrayList<>();
 
         final StringBuilder query = new StringBuilder()
-                .append("SELECT SQL_CALC_FOUND_ROWS * FROM testcaseexecution exe ")
-                .append("where 1=1 ");
-
-        if (StringUtil.isNotEmpty(searchTerm)) {
-            query.append("and (exe.`id` like ? ");
-            query.append(" or exe.`test` like ? ");
-            query.append(" or exe.`testCase` like ? ");
-            query.append(" or exe.`build` like ? ");
-            query.append(" or exe.`revision` like ? ");
-            query.append(" or exe.`environment` like ? ");
-            query.append(" or exe.`country` like ? ");
-            query.append(" or exe.`browser` like ? ");
-            query.append(" or exe.`version` like ? ");
-            query.append(" or exe.`platform` like ? ");
-            query.append(" or exe.`browserfullversion` like ? ");
-            query.append(" or exe.`start` like ? ");
-            query.append(" or exe.`end` like ? ");
-            query.append(" or exe.`controlstatus` like ? ");
-            query.append(" or exe.`controlmessage` like ? ");
-            query.append(" or exe.`application` like ? ");
-            query.append(" or exe.`url` like ? ");
-            query.append(" or exe.`robot` like ? ");
-            query.append(" or exe.`robotexecutor` like ? ");
-            query.append(" or exe.`robothost` like ? ");
-            query.append(" or exe.`robotport` like ? ");
-            query.append(" or exe.`tag` like ? ");
-            query.append(" or exe.`end` like ? ");
-            query.append(" or exe.`status` like ? ");
-            query.append(" or exe.`crbversion` like ? ");
-            query.append(" or exe.`executor` like ? ");
-            query.append(" or exe.`screensize` like ? ");
-            query.append(" or exe.`userAgent` like ? )");
-        }
-        if (MapUtils.isNotEmpty(individualSearch)) {
-            query.append(" and ( 1=1 ");
-            for (Map.Entry<String, List<String>> entry : individualSearch.entrySet()) {
-                query.append(" and ");
-                query.append(SqlUtil.getInSQLClauseForPreparedStatement(entry.getKey(), entry.getValue()));
-                individualColumnSearchValues.addAll(entry.getValue());
-            }
-            query.append(" ) ");
-        }
-        if (CollectionUtils.isNotEmpty(systems)) {
-            query.append(" and ").append(SqlUtil.generateInClause("exe.`system`", systems)).append(" ");
-        }
-        query.append(" AND ").append(UserSecurity.getSystemAllowForSQL("exe.`system`"));
+                .append("SELECT SQL_CALC_FOUND_ROWS * FROM testcaseexecution exe ");
+        appendSearchSQL(query, individualColumnSearchValues, searchQuery, individualSearch, systems);
         if (StringUtil.isNotEmpty(sort)) {
             query.append(" order by ").append(sort);
         }
@@ -877,45 +842,7 @@ public class TestCaseExecutionDAO implements ITestCaseExecutionDAO {
              PreparedStatement preStat = connection.prepareStatement(query.toString());
              Statement stm = connection.createStatement()) {
 
-            int i = 1;
-            if (StringUtil.isNotEmpty(searchTerm)) {
-                preStat.setString(i++, "%" + searchTerm + "%");
-                preStat.setString(i++, "%" + searchTerm + "%");
-                preStat.setString(i++, "%" + searchTerm + "%");
-                preStat.setString(i++, "%" + searchTerm + "%");
-                preStat.setString(i++, "%" + searchTerm + "%");
-                preStat.setString(i++, "%" + searchTerm + "%");
-                preStat.setString(i++, "%" + searchTerm + "%");
-                preStat.setString(i++, "%" + searchTerm + "%");
-                preStat.setString(i++, "%" + searchTerm + "%");
-                preStat.setString(i++, "%" + searchTerm + "%");
-                preStat.setString(i++, "%" + searchTerm + "%");
-                preStat.setString(i++, "%" + searchTerm + "%");
-                preStat.setString(i++, "%" + searchTerm + "%");
-                preStat.setString(i++, "%" + searchTerm + "%");
-                preStat.setString(i++, "%" + searchTerm + "%");
-                preStat.setString(i++, "%" + searchTerm + "%");
-                preStat.setString(i++, "%" + searchTerm + "%");
-                preStat.setString(i++, "%" + searchTerm + "%");
-                preStat.setString(i++, "%" + searchTerm + "%");
-                preStat.setString(i++, "%" + searchTerm + "%");
-                preStat.setString(i++, "%" + searchTerm + "%");
-                preStat.setString(i++, "%" + searchTerm + "%");
-                preStat.setString(i++, "%" + searchTerm + "%");
-                preStat.setString(i++, "%" + searchTerm + "%");
-                preStat.setString(i++, "%" + searchTerm + "%");
-                preStat.setString(i++, "%" + searchTerm + "%");
-                preStat.setString(i++, "%" + searchTerm + "%");
-                preStat.setString(i++, "%" + searchTerm + "%");
-            }
-            for (String individualColumnSearchValue : individualColumnSearchValues) {
-                preStat.setString(i++, individualColumnSearchValue);
-            }
-            if (CollectionUtils.isNotEmpty(systems)) {
-                for (String system : systems) {
-                    preStat.setString(i++, system);
-                }
-            }
+            setSearchParameters(preStat, 1, searchQuery, individualColumnSearchValues, systems);
 
             try (ResultSet resultSet = preStat.executeQuery();
                  ResultSet rowSet = stm.executeQuery("SELECT FOUND_ROWS()")) {
@@ -952,6 +879,142 @@ public class TestCaseExecutionDAO implements ITestCaseExecutionDAO {
         return response;
     }
 
+    @Override
+    public AnswerList<TestCaseExecution> readByCriteria(int start, int amount, String colName, String dir, String searchTerm,
+                                                        Map<String, List<String>> individualSearch, List<String> individualLike,
+                                                        List<String> systems, String cursor) throws CerberusException {
+        return getSearchQuery(searchTerm)
+                .read(searchQuery -> readByCriteria(start, amount, colName, dir, individualSearch, systems, cursor, searchQuery));
+    }
+
+    private AnswerList<TestCaseExecution> readByCriteria(int start, int amount, String colName, String dir, Map<String, List<String>> individualSearch,
+                                                         List<String> systems, String cursor, SqlUtil.SearchQueryBuilder searchQuery) {
+        KeysetCursor keysetCursor = KeysetCursor.decode(cursor);
+        boolean keysetColumn = StringUtil.isEmpty(colName) || "exe.id".equalsIgnoreCase(colName) || "id".equalsIgnoreCase(colName);
+        if (!keysetColumn || (keysetCursor == null && start > 0)) {
+            return readByCriteria(start, amount, colName + " " + dir, individualSearch, systems, searchQuery);
+        }
+        boolean desc = StringUtil.isEmpty(colName) || !"asc".equalsIgnoreCase(dir);
+        int limit = ((amount <= 0) || (amount >= MAX_ROW_SELECTED)) ? MAX_ROW_SELECTED : amount;
+
+        MessageEvent msg;
+        List<String> individualColumnSearchValues = new ArrayList<>();
+        List<TestCaseExecution> objectList = new ArrayList<>();
+        StringBuilder searchSQL = new StringBuilder();
+        appendSearchSQL(searchSQL, individualColumnSearchValues, searchQuery, individualSearch, systems);
+
+        StringBuilder query = new StringBuilder("SELECT * FROM testcaseexecution exe ").append(searchSQL);
+        if (keysetCursor != null) {
+            query.append(" and ").append(SqlUtil.getKeysetClause("exe.`ID`", "exe.`ID`", desc));
+        }
+        query.append(SqlUtil.getKeysetOrderBy("exe.`ID`", "exe.`ID`", desc));
+        query.append(" limit ").append(limit);
+        LOG.debug("SQL : {}", query);
+
+        AnswerList<TestCaseExecution> response = new AnswerList<>();
+        try (Connection connection = this.databaseSpring.connect();
+             PreparedStatement preStat = connection.prepareStatement(query.toString())) {
+
+            int i = setSearchParameters(preStat, 1, searchQuery, individualColumnSearchValues, systems);
+            if (keysetCursor != null) {
+                SqlUtil.setKeysetParameters(preStat, i, "exe.`ID`", "exe.`ID`", keysetCursor);
+            }
+            try (ResultSet resultSet = preStat.executeQuery()) {
+                while (resultSet.next()) {
+                    objectList.add(this.loadFromResultSet(resultSet));
+                }
+            }
+            if (objectList.size() >= limit) {
+                response.setNextCursor(new KeysetCursor(null, objectList.get(objectList.size() - 1).getId()).encode());
+            }
+            response.setTotalRows(countByCriteria(connection, searchSQL.toString(), searchQuery, individualColumnSearchValues, systems));
+
+            if (objectList.isEmpty()) {
+                msg = new MessageEvent(MessageEventEnum.DATA_OPERATION_NO_DATA_FOUND);
+            } else {
+                msg = new MessageEvent(MessageEventEnum.DATA_OPERATION_OK);
+                msg.setDescription(msg.getDescription().replace("%ITEM%", OBJECT_NAME).replace("%OPERATION%", "SELECT"));
+            }
+        } catch (SQLException exception) {
+            LOG.error("Unable to execute query : {}", exception.toString());
+            msg = new MessageEvent(MessageEventEnum.DATA_OPERATION_ERROR_UNEXPECTED);
+            msg.setDescription(msg.getDescription().replace("%DESCRIPTION%", exception.toString()));
+        }
+
+        response.setResultMessage(msg);
+        response.setDataList(objectList);
+        return response;
+    }
+
+    /**
+     * Total of the keyset list. The count is kept for a short time so that
+     * scrolling through the pages of a large history does not count again.
+     */
+    private int countByCriteria(Connection connection, String searchSQL, SqlUtil.SearchQueryBuilder searchQuery, List<String> individualColumnSearchValues, List<String> systems) throws SQLException {
+        String key = searchSQL + "|" + searchQuery.getSearchTerm() + "|" + individualColumnSearchValues + "|" + systems;
+        int count = ROW_COUNT_CACHE.get(key);
+        if (count < 0) {
+            try (PreparedStatement preStat = connection.prepareStatement("SELECT COUNT(*) FROM testcaseexecution exe " + searchSQL)) {
+                setSearchParameters(preStat, 1, searchQuery, individualColumnSearchValues, systems);
+                try (ResultSet resultSet = preStat.executeQuery()) {
+                    count = resultSet.next() ? resultSet.getInt(1) : 0;
+                }
+            }
+            ROW_COUNT_CACHE.put(key, count);
+        }
+        return count;
+    }
+
+    /**
+     * Global search of the execution list. The FULLTEXT index only covers the
+     * columns that do not change once the execution is created, so that
+     * updating a running execution does not maintain it. The other columns
+     * are searched with the LIKE, when the index finds nothing or cannot be
+     * used (ex : a number).
+     */
+    private static SqlUtil.SearchQueryBuilder getSearchQuery(String searchTerm) {
+        return new SqlUtil.SearchQueryBuilder(searchTerm)
+                .fullText("exe.`Test`", "exe.`TestCase`", "exe.`Tag`")
+                .like("exe.`Build`", "exe.`Revision`", "exe.`Environment`", "exe.`Country`", "exe.`Browser`", "exe.`Platform`", "exe.`ControlMessage`",
+                        "exe.`Application`", "exe.`Robot`", "exe.`RobotExecutor`", "exe.`RobotHost`", "exe.`Executor`", "exe.`UserAgent`")
+                .like("exe.`id`", "exe.`version`", "exe.`browserfullversion`", "exe.`start`", "exe.`end`", "exe.`controlstatus`", "exe.`url`", "exe.`robotport`",
+                        "exe.`status`", "exe.`crbversion`", "exe.`screensize`");
+    }
+
+    private void appendSearchSQL(StringBuilder query, List<String> individualColumnSearchValues, SqlUtil.SearchQueryBuilder searchQuery, Map<String, List<String>> individualSearch, List<String> systems) {
+        query.append("where 1=1 ");
+
+        if (!searchQuery.isEmpty()) {
+            query.append(" and ").append(searchQuery.getClause());
+        }
+        if (MapUtils.isNotEmpty(individualSearch)) {
+            query.append(" and ( 1=1 ");
+            for (Map.Entry<String, List<String>> entry : individualSearch.entrySet()) {
+                query.append(" and ");
+                query.append(SqlUtil.getInSQLClauseForPreparedStatement(entry.getKey(), entry.getValue()));
+                individualColumnSearchValues.addAll(entry.getValue());
+            }
+            query.append(" ) ");
+        }
+        if (CollectionUtils.isNotEmpty(systems)) {
+            query.append(" and ").append(SqlUtil.generateInClause("exe.`system`", systems)).append(" ");
+        }
+        query.append(" AND ").append(UserSecurity.getSystemAllowForSQL("exe.`system`"));
+    }
+
+    private int setSearchParameters(PreparedStatement preStat, int i, SqlUtil.SearchQueryBuilder searchQuery, List<String> individualColumnSearchValues, List<String> systems) throws SQLException {
+        i = searchQuery.setParameters(preStat, i);
+        for (String individualColumnSearchValue : individualColumnSearchValues) {
+            preStat.setString(i++, individualColumnSearchValue);
+        }
+        if (CollectionUtils.isNotEmpty(systems)) {
+            for (String system : systems) {
+                preStat.setString(i++, system);
+            }
+        }
+        return i;
+    }
+
     @Override
     public AnswerList<TestCaseExecution> readDistinctEnvCountryBrowserByTag(String tag) {
         AnswerList<TestCaseExecution> answer = new AnswerList<>();
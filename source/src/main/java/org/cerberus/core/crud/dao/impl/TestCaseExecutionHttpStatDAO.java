@@ -24,6 +24,7 @@ import org.apache.logging.log4j.Logger;
 import org.cerberus.core.crud.dao.ITestCaseExecutionHttpStatDAO;
 import org.cerberus.core.crud.entity.TestCase;
 import org.cerberus.core.crud.entity.TestCaseExecutionHttpStat;
+import org.cerberus.core.crud.entity.TestCaseExecutionHttpStatMetric;
 import org.cerberus.core.crud.factory.IFactoryTestCase;
 import org.cerberus.core.crud.factory.IFactoryTestCaseExecutionHttpStat;
 import org.cerberus.core.crud.factory.impl.FactoryTestCaseExecutionHttpStat;
@@ -32,7 +33,6 @@ import org.cerberus.core.database.DatabaseSpring;
 import org.cerberus.core.engine.entity.MessageEvent;
 import org.cerberus.core.enums.MessageEventEnum;
 import org.cerberus.core.exception.CerberusException;
-import org.cerberus.core.service.har.IHarService;
 import org.cerberus.core.service.har.entity.HarStat;
 import org.cerberus.core.util.ParameterParserUtil;
 import org.cerberus.core.util.SqlUtil;
@@ -56,7 +56,6 @@ import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.HashMap;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.TimeZone;
@@ -77,8 +76,6 @@ public class TestCaseExecutionHttpStatDAO implements ITestCaseExecutionHttpStatD
     private IFactoryTestCase factoryTestCase;
     @Autowired
     private ITestCaseService testCaseService;
-    @Autowired
-    private IHarService harService;
 
     private static final Logger LOG = LogManager.getLogger(TestCaseExecutionHttpStatDAO.class);
 
@@ -87,6 +84,11 @@ public class TestCaseExecutionHttpStatDAO implements ITestCaseExecutionHttpStatD
     private final int MAX_ROW_SELECTED = 100000;
     private final int MAX_SIZE_SELECTED = 50000000;
     private static final String DATE_FORMAT = "yyyy-MM-dd'T'HH:mm:ss.S'Z'";
+    private static final long RAW_MAX_RANGE_HOURS = 72;
+    private static final long HOURLY_MAX_RANGE_HOURS = 93 * 24;
+    private static final String GRANULARITY_RAW = "raw";
+    private static final String GRANULARITY_HOUR = "hour";
+    private static final String GRANULARITY_DAY = "day";
 
     @Override
     public Answer create(TestCaseExecutionHttpStat object) {
@@ -432,309 +434,451 @@ public class TestCaseExecutionHttpStatDAO implements ITestCaseExecutionHttpStatD
         JSONObject object = new JSONObject();
         AnswerItem<JSONObject> response = new AnswerItem<>();
         MessageEvent msg = new MessageEvent(MessageEventEnum.DATA_OPERATION_ERROR_UNEXPECTED);
-        StringBuilder searchSQL = new StringBuilder();
-        Timestamp t1;
+
+        /*
+         * Short periods are read from the raw values so that every execution
+         * is displayed. Longer ones are read from the hourly or daily
+         * rollups aggregated by the database.
+         */
+        long rangeHours = (to.getTime() - from.getTime()) / 3600000;
+        String granularity;
+        String fromTable;
+        String dateColumn;
+        if (rangeHours <= RAW_MAX_RANGE_HOURS) {
+            granularity = GRANULARITY_RAW;
+            fromTable = "testcaseexecutionhttpstat ehs JOIN testcaseexecutionhttpstatmetric m ON m.ExeID = ehs.ID ";
+            dateColumn = "ehs.`Start`";
+        } else if (rangeHours <= HOURLY_MAX_RANGE_HOURS) {
+            granularity = GRANULARITY_HOUR;
+            fromTable = "testcaseexecutionhttpstathourly m ";
+            dateColumn = "m.`Period`";
+        } else {
+            granularity = GRANULARITY_DAY;
+            fromTable = "testcaseexecutionhttpstatdaily m ";
+            dateColumn = "m.`Period`";
+        }
+        String searchSQL = getSearchSQL(controlStatus, testcases, system, countries, environments, robotDecli, dateColumn);
 
         StringBuilder query = new StringBuilder();
-        //SQL_CALC_FOUND_ROWS allows to retrieve the total number of columns by disrearding the limit clauses that 
-        //were applied -- used for pagination p
-        query.append("SELECT SQL_CALC_FOUND_ROWS * FROM testcaseexecutionhttpstat ehs ");
+        if (GRANULARITY_RAW.equals(granularity)) {
+            query.append("SELECT ehs.`ID` LastExeID, ehs.`Start` Period, ehs.`ControlStatus`, ehs.`System`, ehs.`Application`, ehs.`Test`, ehs.`Testcase`, ehs.`Country`, ehs.`Environment`, ehs.`RobotDecli`");
+            query.append(", m.`Party`, m.`Type`, m.`Unit`, 1 NbExe, m.`Value` ValueSum, m.`Value` ValueMin, m.`Value` ValueMax ");
+        } else {
+            query.append("SELECT MAX(m.`LastExeID`) LastExeID, m.`Period`, IF(COUNT(DISTINCT m.`ControlStatus`) = 1, MAX(m.`ControlStatus`), 'KO') ControlStatus");
+            query.append(", m.`System`, m.`Application`, m.`Test`, m.`Testcase`, m.`Country`, m.`Environment`, m.`RobotDecli`, m.`Party`, m.`Type`, m.`Unit`");
+            query.append(", SUM(m.`NbExe`) NbExe, SUM(m.`ValueSum`) ValueSum, MIN(m.`ValueMin`) ValueMin, MAX(m.`ValueMax`) ValueMax ");
+        }
+        query.append("FROM ").append(fromTable).append(searchSQL);
+        query.append(" and ").append(SqlUtil.generateInClause("m.`Party`", parties));
+        query.append(" and ").append(SqlUtil.generateInClause("m.`Type`", types));
+        query.append(" and ").append(SqlUtil.generateInClause("m.`Unit`", units));
+        if (GRANULARITY_RAW.equals(granularity)) {
+            query.append(" order by ehs.`ID` desc ");
+        } else {
+            query.append(" group by m.`Period`, m.`System`, m.`Application`, m.`Test`, m.`Testcase`, m.`Country`, m.`Environment`, m.`RobotDecli`, m.`Party`, m.`Type`, m.`Unit`");
+            query.append(" order by m.`Period` desc ");
+        }
+        query.append(" limit ").append(MAX_ROW_SELECTED);
 
-        searchSQL.append(" where 1=1 ");
+        // Parties that have data in the period. The nb of executions is the nb of total request values.
+        StringBuilder queryParties = new StringBuilder();
+        if (GRANULARITY_RAW.equals(granularity)) {
+            queryParties.append("SELECT m.`Party`, SUM(IF(m.`Type` = 'total' and m.`Unit` = 'request', 1, 0)) NbExe ");
+        } else {
+            queryParties.append("SELECT m.`Party`, SUM(IF(m.`Type` = 'total' and m.`Unit` = 'request', m.`NbExe`, 0)) NbExe ");
+        }
+        queryParties.append("FROM ").append(fromTable).append(searchSQL).append(" group by m.`Party`");
 
-        // System
+        // Debug message on SQL.
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("SQL : " + query.toString());
+            LOG.debug("SQL : " + queryParties.toString());
+        }
+        try (Connection connection = this.databaseSpring.connect();
+                PreparedStatement preStat = connection.prepareStatement(query.toString());
+                PreparedStatement preStatParties = connection.prepareStatement(queryParties.toString())) {
+
+            int i = setSearchParameters(preStat, 1, controlStatus, testcases, from, to, system, countries, environments, robotDecli);
+            for (String val : parties) {
+                preStat.setString(i++, val);
+            }
+            for (String val : types) {
+                preStat.setString(i++, val);
+            }
+            for (String val : units) {
+                preStat.setString(i++, val);
+            }
+            setSearchParameters(preStatParties, 1, controlStatus, testcases, from, to, system, countries, environments, robotDecli);
+
+            HashMap<String, JSONArray> curveMap = new HashMap<>();
+            HashMap<String, JSONObject> curveObjMap = new HashMap<>();
+            HashMap<String, JSONObject> testcaseMap = new HashMap<>();
+            // Indicator Map
+            HashMap<String, Boolean> partyMap = new HashMap<>();
+            partyMap.put("total", false);
+            partyMap.put("internal", false);
+            HashMap<String, Boolean> typeMap = new HashMap<>();
+            HashMap<String, Boolean> unitMap = new HashMap<>();
+
+            TimeZone tz = TimeZone.getTimeZone("UTC");
+            DateFormat df = new SimpleDateFormat(DATE_FORMAT);
+            df.setTimeZone(tz);
+
+            int nbFetch = 0;
+            try (ResultSet resultSet = preStat.executeQuery()) {
+                while (resultSet.next()) {
+                    nbFetch++;
+                    String test = resultSet.getString("Test");
+                    String testcase = resultSet.getString("Testcase");
+                    String party = resultSet.getString("Party");
+                    String type = resultSet.getString("Type");
+                    String unit = resultSet.getString("Unit");
+                    long nbExe = resultSet.getLong("NbExe");
+
+                    partyMap.put(party, true);
+                    typeMap.put(type, true);
+                    unitMap.put(unit, true);
+
+                    JSONObject pointObj = new JSONObject();
+                    pointObj.put("x", df.format(new Date(resultSet.getTimestamp("Period").getTime())));
+                    pointObj.put("y", (nbExe > 0) ? Math.round((double) resultSet.getLong("ValueSum") / nbExe) : 0);
+                    pointObj.put("exe", resultSet.getLong("LastExeID"));
+                    pointObj.put("exeControlStatus", resultSet.getString("ControlStatus"));
+                    if (!GRANULARITY_RAW.equals(granularity)) {
+                        pointObj.put("nbExe", nbExe);
+                        pointObj.put("min", resultSet.getLong("ValueMin"));
+                        pointObj.put("max", resultSet.getLong("ValueMax"));
+                    }
+
+                    String curveKey = type + "/" + party + "/" + unit + "/" + test + "/" + testcase + "/" + resultSet.getString("Country") + "/" + resultSet.getString("Environment")
+                            + "/" + resultSet.getString("RobotDecli") + "/" + resultSet.getString("System") + "/" + resultSet.getString("Application");
+                    JSONArray curArray = curveMap.get(curveKey);
+                    if (curArray == null) {
+                        curArray = new JSONArray();
+                        curveMap.put(curveKey, curArray);
+
+                        JSONObject curveObj = new JSONObject();
+                        curveObj.put("key", curveKey);
+                        curveObj.put("testcase", getTestCaseJson(testcaseMap, test, testcase));
+                        curveObj.put("country", resultSet.getString("Country"));
+                        curveObj.put("environment", resultSet.getString("Environment"));
+                        curveObj.put("robotdecli", resultSet.getString("RobotDecli"));
+                        curveObj.put("system", resultSet.getString("System"));
+                        curveObj.put("application", resultSet.getString("Application"));
+                        curveObj.put("unit", unit);
+                        curveObj.put("party", party);
+                        curveObj.put("type", type);
+                        curveObjMap.put(curveKey, curveObj);
+                    }
+                    curArray.put(pointObj);
+                }
+            }
+
+            int nrTotalRows = 0;
+            try (ResultSet resultSet = preStatParties.executeQuery()) {
+                while (resultSet.next()) {
+                    String party = resultSet.getString("Party");
+                    if (!partyMap.containsKey(party)) {
+                        partyMap.put(party, false);
+                    }
+                    if ("total".equals(party)) {
+                        nrTotalRows = resultSet.getInt("NbExe");
+                    }
+                }
+            }
+
+            object.put("hasPerfdata", (curveObjMap.size() > 0));
+            object.put("granularity", granularity);
+
+            JSONArray curvesArray = new JSONArray();
+            for (Map.Entry<String, JSONObject> entry : curveObjMap.entrySet()) {
+                JSONObject localcur = new JSONObject();
+                localcur.put("key", entry.getValue());
+                localcur.put("points", curveMap.get(entry.getKey()));
+                curvesArray.put(localcur);
+            }
+            object.put("datasetPerf", curvesArray);
+
+            JSONArray objectdinst = new JSONArray();
+            for (HarStat.Units v : HarStat.Units.values()) {
+                JSONObject objectcount = new JSONObject();
+                objectcount.put("name", v.name().toLowerCase());
+                objectcount.put("hasData", unitMap.containsKey(v.name().toLowerCase()));
+                objectcount.put("isRequested", units.contains(v.name().toLowerCase()));
+                objectdinst.put(objectcount);
+            }
+            object.put("distinctUnits", objectdinst);
+
+            objectdinst = new JSONArray();
+            for (HarStat.Types v : HarStat.Types.values()) {
+                JSONObject objectcount = new JSONObject();
+                objectcount.put("name", v.name().toLowerCase());
+                objectcount.put("hasData", typeMap.containsKey(v.name().toLowerCase()));
+                objectcount.put("isRequested", types.contains(v.name().toLowerCase()));
+                objectdinst.put(objectcount);
+            }
+            object.put("distinctTypes", objectdinst);
+
+            objectdinst = new JSONArray();
+            for (Map.Entry<String, Boolean> entry : partyMap.entrySet()) {
+                JSONObject objectcount = new JSONObject();
+                objectcount.put("name", entry.getKey());
+                objectcount.put("hasData", entry.getValue());
+                objectcount.put("isRequested", parties.contains(entry.getKey()));
+                objectdinst.put(objectcount);
+            }
+            object.put("distinctParties", objectdinst);
+
+            if (nbFetch >= MAX_ROW_SELECTED) { // Result of SQl was limited by MAX_ROW_SELECTED constrain. That means that we may miss some lines in the resultList.
+                LOG.error("Partial Result in the query.");
+                msg = new MessageEvent(MessageEventEnum.DATA_OPERATION_WARNING_PARTIAL_RESULT);
+                msg.setDescription(msg.getDescription().replace("%DESCRIPTION%", "Maximum row reached : " + MAX_ROW_SELECTED));
+            } else if (nbFetch <= 0) {
+                msg = new MessageEvent(MessageEventEnum.DATA_OPERATION_NO_DATA_FOUND);
+            } else {
+                msg = new MessageEvent(MessageEventEnum.DATA_OPERATION_OK);
+                msg.setDescription(msg.getDescription().replace("%ITEM%", OBJECT_NAME).replace("%OPERATION%", "SELECT"));
+            }
+
+            object.put("message", msg.getDescription());
+            object.put("messageType", msg.getCodeString());
+            object.put("iTotalRecords", nrTotalRows);
+            object.put("iTotalDisplayRecords", nrTotalRows);
+
+        } catch (SQLException | JSONException exception) {
+            LOG.error("Unable to execute query : " + exception.toString());
+            msg = new MessageEvent(MessageEventEnum.DATA_OPERATION_ERROR_UNEXPECTED);
+            msg.setDescription(msg.getDescription().replace("%DESCRIPTION%", exception.toString()));
+        }
+
+        response.setResultMessage(msg);
+        response.setItem(object);
+        return response;
+    }
+
+    private String getSearchSQL(String controlStatus, List<TestCase> testcases, List<String> system, List<String> countries, List<String> environments, List<String> robotDecli, String dateColumn) {
+        StringBuilder searchSQL = new StringBuilder();
+        searchSQL.append(" where 1=1 ");
         if (system != null && !system.isEmpty()) {
             searchSQL.append(" and ");
             searchSQL.append(SqlUtil.generateInClause("`System`", system));
         }
-        // Country
         if (countries != null && !countries.isEmpty()) {
             searchSQL.append(" and ");
             searchSQL.append(SqlUtil.generateInClause("`Country`", countries));
         }
-        // System
         if (environments != null && !environments.isEmpty()) {
             searchSQL.append(" and ");
             searchSQL.append(SqlUtil.generateInClause("`Environment`", environments));
         }
-        // System
         if (robotDecli != null && !robotDecli.isEmpty()) {
             searchSQL.append(" and ");
             searchSQL.append(SqlUtil.generateInClause("`RobotDecli`", robotDecli));
         }
-        // from and to
-        searchSQL.append(" and start >= ? and start <= ? ");
-        // testcase
+        searchSQL.append(" and ").append(dateColumn).append(" >= ? and ").append(dateColumn).append(" <= ? ");
         StringBuilder testcaseSQL = new StringBuilder();
         for (TestCase testcase : testcases) {
-            testcaseSQL.append(" (test = ? and testcase = ?) or ");
+            testcaseSQL.append(" (`Test` = ? and `Testcase` = ?) or ");
         }
         if (!StringUtil.isEmpty(testcaseSQL.toString())) {
             searchSQL.append("and (").append(testcaseSQL).append(" (0=1) ").append(")");
         }
-        // controlStatus
         if (controlStatus != null) {
-            searchSQL.append(" and ControlStatus = ? ");
+            searchSQL.append(" and `ControlStatus` = ? ");
         }
+        return searchSQL.toString();
+    }
 
-        query.append(searchSQL);
+    private int setSearchParameters(PreparedStatement preStat, int i, String controlStatus, List<TestCase> testcases, Date from, Date to,
+            List<String> system, List<String> countries, List<String> environments, List<String> robotDecli) throws SQLException {
+        if (system != null && !system.isEmpty()) {
+            for (String syst : system) {
+                preStat.setString(i++, syst);
+            }
+        }
+        if (countries != null && !countries.isEmpty()) {
+            for (String val : countries) {
+                preStat.setString(i++, val);
+            }
+        }
+        if (environments != null && !environments.isEmpty()) {
+            for (String val : environments) {
+                preStat.setString(i++, val);
+            }
+        }
+        if (robotDecli != null && !robotDecli.isEmpty()) {
+            for (String val : robotDecli) {
+                preStat.setString(i++, val);
+            }
+        }
+        preStat.setTimestamp(i++, new Timestamp(from.getTime()));
+        preStat.setTimestamp(i++, new Timestamp(to.getTime()));
+        for (TestCase testcase : testcases) {
+            preStat.setString(i++, testcase.getTest());
+            preStat.setString(i++, testcase.getTestcase());
+        }
+        if (controlStatus != null) {
+            preStat.setString(i++, controlStatus);
+        }
+        return i;
+    }
 
-        query.append(" order by id desc ");
+    private JSONObject getTestCaseJson(Map<String, JSONObject> testcaseMap, String test, String testcase) throws JSONException {
+        String key = test + "/" + testcase;
+        JSONObject testcaseJson = testcaseMap.get(key);
+        if (testcaseJson == null) {
+            TestCase a = factoryTestCase.create(test, testcase);
+            try {
+                a = testCaseService.convert(testCaseService.readByKey(test, testcase));
+            } catch (CerberusException ex) {
+                LOG.error("Exception when getting TestCase details", ex);
+            }
+            testcaseJson = a.toJson();
+            testcaseMap.put(key, testcaseJson);
+        }
+        return testcaseJson;
+    }
 
-        query.append(" limit ").append(MAX_ROW_SELECTED);
+    @Override
+    public Answer createMetrics(List<TestCaseExecutionHttpStatMetric> metrics) {
+        MessageEvent msg;
+        final String query = "INSERT IGNORE INTO testcaseexecutionhttpstatmetric (`ExeID`, `Party`, `Type`, `Unit`, `Value`) VALUES (?,?,?,?,?)";
 
         // Debug message on SQL.
         if (LOG.isDebugEnabled()) {
-            LOG.debug("SQL : " + query.toString());
+            LOG.debug("SQL : " + query);
+            LOG.debug("SQL.param.nb : " + metrics.size());
         }
-        Connection connection = this.databaseSpring.connect();
-        try {
-            PreparedStatement preStat = connection.prepareStatement(query.toString());
-            try {
-                int i = 1;
-                if (system != null && !system.isEmpty()) {
-                    for (String syst : system) {
-                        preStat.setString(i++, syst);
-                    }
-                }
-                if (countries != null && !countries.isEmpty()) {
-                    for (String val : countries) {
-                        preStat.setString(i++, val);
-                    }
-                }
-                if (environments != null && !environments.isEmpty()) {
-                    for (String val : environments) {
-                        preStat.setString(i++, val);
-                    }
-                }
-                if (robotDecli != null && !robotDecli.isEmpty()) {
-                    for (String val : robotDecli) {
-                        preStat.setString(i++, val);
-                    }
-                }
-                t1 = new Timestamp(from.getTime());
-                preStat.setTimestamp(i++, t1);
-                t1 = new Timestamp(to.getTime());
-                preStat.setTimestamp(i++, t1);
-                for (TestCase testcase : testcases) {
-                    preStat.setString(i++, testcase.getTest());
-                    preStat.setString(i++, testcase.getTestcase());
-                }
-                if (controlStatus != null) {
-                    preStat.setString(i++, controlStatus);
-                }
-
-                ResultSet resultSet = preStat.executeQuery();
-                try {
-                    HashMap<String, JSONArray> curveMap = new HashMap<>();
-                    HashMap<String, JSONObject> curveObjMap = new HashMap<>();
-                    // Indicator Map
-                    HashMap<String, Boolean> partyMap = new HashMap<>();
-                    partyMap.put("total", false);
-                    partyMap.put("internal", false);
-                    HashMap<String, Boolean> typeMap = new HashMap<>();
-                    HashMap<String, Boolean> unitMap = new HashMap<>();
-                    String curveKey;
-                    JSONArray curArray = new JSONArray();
-                    JSONObject curveObj = new JSONObject();
-                    JSONObject pointObj = new JSONObject();
-
-                    int nbFetch = 0;
-                    //gets the data
-                    while (resultSet.next()) {
-                        TestCaseExecutionHttpStat curStat = this.loadFromResultSet(resultSet);
-                        nbFetch++;
-
-                        if (curStat.getStatDetail().has("thirdparty")) {
-
-                            // Get List of Third Party
-                            JSONObject partiesA = curStat.getStatDetail().getJSONObject("thirdparty");
-                            @SuppressWarnings("unchecked")
-                            Iterator<String> jsonObjectIterator = partiesA.keys();
-                            jsonObjectIterator.forEachRemaining(key -> {
-                                partyMap.put(key, false);
-                            });
-
-                            for (String party : parties) {
-                                for (String type : types) {
-                                    for (String unit : units) {
-                                        curveKey = getKeyCurve(curStat, party, type, unit);
-                                        int x = harService.getValue(curStat, party, type, unit);
-                                        if (x != -1) {
-                                            partyMap.put(party, true);
-                                            typeMap.put(type, true);
-                                            unitMap.put(unit, true);
-
-                                            pointObj = new JSONObject();
-                                            Date d = new Date(curStat.getStart().getTime());
-                                            TimeZone tz = TimeZone.getTimeZone("UTC");
-                                            DateFormat df = new SimpleDateFormat(DATE_FORMAT);
-                                            df.setTimeZone(tz);
-                                            pointObj.put("x", df.format(d));
-
-                                            pointObj.put("y", x);
-                                            pointObj.put("exe", curStat.getId());
-                                            pointObj.put("exeControlStatus", curStat.getControlStatus());
-
-                                            if (curveMap.containsKey(curveKey)) {
-                                                curArray = curveMap.get(curveKey);
-                                            } else {
-                                                curArray = new JSONArray();
-
-                                                curveObj = new JSONObject();
-                                                curveObj.put("key", curveKey);
-                                                TestCase a = factoryTestCase.create(curStat.getTest(), curStat.getTestcase());
-                                                try {
-                                                    a = testCaseService.convert(testCaseService.readByKey(curStat.getTest(), curStat.getTestcase()));
-                                                } catch (CerberusException ex) {
-                                                    LOG.error("Exception when getting TestCase details", ex);
-                                                }
-                                                curveObj.put("testcase", a.toJson());
-
-                                                curveObj.put("country", curStat.getCountry());
-                                                curveObj.put("environment", curStat.getEnvironment());
-                                                curveObj.put("robotdecli", curStat.getRobotDecli());
-                                                curveObj.put("system", curStat.getSystem());
-                                                curveObj.put("application", curStat.getApplication());
-                                                curveObj.put("unit", unit);
-                                                curveObj.put("party", party);
-                                                curveObj.put("type", type);
-
-                                                curveObjMap.put(curveKey, curveObj);
-                                            }
-                                            curArray.put(pointObj);
-                                            curveMap.put(curveKey, curArray);
-
-                                        }
-
-                                    }
-                                }
-
-                            }
-                        }
-
-                    }
-
-                    object.put("hasPerfdata", (curveObjMap.size() > 0));
-
-                    JSONArray curvesArray = new JSONArray();
-                    for (Map.Entry<String, JSONObject> entry : curveObjMap.entrySet()) {
-                        String key = entry.getKey();
-                        JSONObject val = entry.getValue();
-                        JSONObject localcur = new JSONObject();
-                        localcur.put("key", val);
-                        localcur.put("points", curveMap.get(key));
-                        curvesArray.put(localcur);
-                    }
-                    object.put("datasetPerf", curvesArray);
-
-                    JSONArray objectdinst = new JSONArray();
-                    objectdinst = new JSONArray();
-                    for (HarStat.Units v : HarStat.Units.values()) {
-                        JSONObject objectcount = new JSONObject();
-                        objectcount.put("name", v.name().toLowerCase());
-                        objectcount.put("hasData", unitMap.containsKey(v.name().toLowerCase()));
-                        objectcount.put("isRequested", units.contains(v.name().toLowerCase()));
-                        objectdinst.put(objectcount);
-                    }
-                    object.put("distinctUnits", objectdinst);
-
-                    objectdinst = new JSONArray();
-                    for (HarStat.Types v : HarStat.Types.values()) {
-                        JSONObject objectcount = new JSONObject();
-                        objectcount.put("name", v.name().toLowerCase());
-                        objectcount.put("hasData", typeMap.containsKey(v.name().toLowerCase()));
-                        objectcount.put("isRequested", types.contains(v.name().toLowerCase()));
-                        objectdinst.put(objectcount);
-                    }
-                    object.put("distinctTypes", objectdinst);
-
-                    objectdinst = new JSONArray();
-                    for (Map.Entry<String, Boolean> entry : partyMap.entrySet()) {
-                        String key = entry.getKey();
-                        Boolean val = entry.getValue();
-                        JSONObject objectcount = new JSONObject();
-                        objectcount.put("name", key);
-                        objectcount.put("hasData", val);
-                        objectcount.put("isRequested", parties.contains(key));
-                        objectdinst.put(objectcount);
-                    }
-                    object.put("distinctParties", objectdinst);
-
-                    //get the total number of rows
-                    resultSet = preStat.executeQuery("SELECT FOUND_ROWS()");
-                    int nrTotalRows = 0;
+        try (Connection connection = databaseSpring.connect();
+                PreparedStatement preStat = connection.prepareStatement(query)) {
 
-                    if (resultSet != null && resultSet.next()) {
-                        nrTotalRows = resultSet.getInt(1);
-                    }
-
-                    if (nbFetch >= MAX_ROW_SELECTED) { // Result of SQl was limited by MAX_ROW_SELECTED constrain. That means that we may miss some lines in the resultList.
-                        LOG.error("Partial Result in the query.");
-                        msg = new MessageEvent(MessageEventEnum.DATA_OPERATION_WARNING_PARTIAL_RESULT);
-                        msg.setDescription(msg.getDescription().replace("%DESCRIPTION%", "Maximum row reached : " + MAX_ROW_SELECTED));
-                    } else if (nbFetch <= 0) {
-                        msg = new MessageEvent(MessageEventEnum.DATA_OPERATION_NO_DATA_FOUND);
-                    } else {
-                        msg = new MessageEvent(MessageEventEnum.DATA_OPERATION_OK);
-                        msg.setDescription(msg.getDescription().replace("%ITEM%", OBJECT_NAME).replace("%OPERATION%", "SELECT"));
-                    }
-
-                    object.put("message", msg.getDescription());
-                    object.put("messageType", msg.getCodeString());
-                    object.put("iTotalRecords", nrTotalRows);
-                    object.put("iTotalDisplayRecords", nrTotalRows);
+            for (TestCaseExecutionHttpStatMetric metric : metrics) {
+                int i = 1;
+                preStat.setLong(i++, metric.getExeId());
+                preStat.setString(i++, metric.getParty());
+                preStat.setString(i++, metric.getType());
+                preStat.setString(i++, metric.getUnit());
+                preStat.setLong(i++, metric.getValue());
+                preStat.addBatch();
+            }
+            preStat.executeBatch();
+            msg = new MessageEvent(MessageEventEnum.DATA_OPERATION_OK);
+            msg.setDescription(msg.getDescription().replace("%ITEM%", OBJECT_NAME).replace("%OPERATION%", "INSERT"));
 
-                } catch (SQLException exception) {
-                    LOG.error("Unable to execute query : " + exception.toString());
-                    msg = new MessageEvent(MessageEventEnum.DATA_OPERATION_ERROR_UNEXPECTED);
-                    msg.setDescription(msg.getDescription().replace("%DESCRIPTION%", exception.toString()));
+        } catch (SQLException exception) {
+            LOG.error("Unable to execute query : " + exception.toString());
+            msg = new MessageEvent(MessageEventEnum.DATA_OPERATION_ERROR_UNEXPECTED);
+            msg.setDescription(msg.getDescription().replace("%DESCRIPTION%", exception.toString()));
+        }
+        return new Answer(msg);
+    }
 
-                } finally {
-                    if (resultSet != null) {
-                        resultSet.close();
-                    }
+    @Override
+    public Answer createRollups(long fromExeId, long toExeId) {
+        MessageEvent msg;
+        String[][] rollups = {{"testcaseexecutionhttpstathourly", "%Y-%m-%d %H:00:00", "1 HOUR"}, {"testcaseexecutionhttpstatdaily", "%Y-%m-%d 00:00:00", "1 DAY"}};
+
+        try (Connection connection = databaseSpring.connect()) {
+            for (String[] rollup : rollups) {
+                // Every curve and period touched by the executions is recomputed from all its values, so that running it again gives the same rows.
+                StringBuilder query = new StringBuilder();
+                query.append("REPLACE INTO ").append(rollup[0]);
+                query.append(" (`Period`, `CurveKey`, `System`, `Application`, `Test`, `Testcase`, `Country`, `Environment`, `RobotDecli`, `ControlStatus`, `Party`, `Type`, `Unit`, `NbExe`, `ValueSum`, `ValueMin`, `ValueMax`, `LastExeID`) ");
+                query.append("SELECT aff.p");
+                query.append(", MD5(CONCAT_WS('|', ehs.`System`, IFNULL(ehs.`Application`, ''), IFNULL(ehs.`Test`, ''), IFNULL(ehs.`Testcase`, ''), ehs.`Country`, ehs.`Environment`, ehs.`RobotDecli`, ehs.`ControlStatus`, m.`Party`, m.`Type`, m.`Unit`)) k");
+                query.append(", ehs.`System`, IFNULL(ehs.`Application`, '') a, IFNULL(ehs.`Test`, '') t, IFNULL(ehs.`Testcase`, '') tc, ehs.`Country`, ehs.`Environment`, ehs.`RobotDecli`, ehs.`ControlStatus`, m.`Party`, m.`Type`, m.`Unit`");
+                query.append(", COUNT(*), SUM(m.`Value`), MIN(m.`Value`), MAX(m.`Value`), MAX(ehs.`ID`) ");
+                query.append("FROM (SELECT DISTINCT CAST(DATE_FORMAT(ehs1.`Start`, '").append(rollup[1]).append("') AS DATETIME) p");
+                query.append(", ehs1.`System`, ehs1.`Application`, ehs1.`Test`, ehs1.`Testcase`, ehs1.`Country`, ehs1.`Environment`, ehs1.`RobotDecli`, ehs1.`ControlStatus` ");
+                query.append("FROM testcaseexecutionhttpstat ehs1 WHERE ehs1.`ID` >= ? and ehs1.`ID` <= ?) aff ");
+                query.append("JOIN testcaseexecutionhttpstat ehs ON ehs.`Start` >= aff.p and ehs.`Start` < aff.p + INTERVAL ").append(rollup[2]);
+                query.append(" and ehs.`System` = aff.`System` and ehs.`Application` <=> aff.`Application` and ehs.`Test` <=> aff.`Test` and ehs.`Testcase` <=> aff.`Testcase`");
+                query.append(" and ehs.`Country` = aff.`Country` and ehs.`Environment` = aff.`Environment` and ehs.`RobotDecli` = aff.`RobotDecli` and ehs.`ControlStatus` = aff.`ControlStatus` ");
+                query.append("JOIN testcaseexecutionhttpstatmetric m ON m.`ExeID` = ehs.`ID` ");
+                query.append("GROUP BY aff.p, k, ehs.`System`, a, t, tc, ehs.`Country`, ehs.`Environment`, ehs.`RobotDecli`, ehs.`ControlStatus`, m.`Party`, m.`Type`, m.`Unit`");
+
+                // Debug message on SQL.
+                if (LOG.isDebugEnabled()) {
+                    LOG.debug("SQL : " + query.toString());
+                    LOG.debug("SQL.param.fromExeId : " + fromExeId);
+                    LOG.debug("SQL.param.toExeId : " + toExeId);
                 }
-
-            } catch (SQLException exception) {
-                LOG.error("Unable to execute query : " + exception.toString());
-                msg = new MessageEvent(MessageEventEnum.DATA_OPERATION_ERROR_UNEXPECTED);
-                msg.setDescription(msg.getDescription().replace("%DESCRIPTION%", exception.toString()));
-            } finally {
-                if (preStat != null) {
-                    preStat.close();
+                try (PreparedStatement preStat = connection.prepareStatement(query.toString())) {
+                    preStat.setLong(1, fromExeId);
+                    preStat.setLong(2, toExeId);
+                    preStat.executeUpdate();
                 }
             }
+            msg = new MessageEvent(MessageEventEnum.DATA_OPERATION_OK);
+            msg.setDescription(msg.getDescription().replace("%ITEM%", OBJECT_NAME).replace("%OPERATION%", "INSERT"));
 
         } catch (SQLException exception) {
             LOG.error("Unable to execute query : " + exception.toString());
             msg = new MessageEvent(MessageEventEnum.DATA_OPERATION_ERROR_UNEXPECTED);
             msg.setDescription(msg.getDescription().replace("%DESCRIPTION%", exception.toString()));
-        } catch (JSONException exception) {
-            LOG.error("Unable to execute query : " + exception.toString());
-            msg = new MessageEvent(MessageEventEnum.DATA_OPERATION_ERROR_UNEXPECTED);
-            msg.setDescription(msg.getDescription().replace("%DESCRIPTION%", exception.toString()));
-        } finally {
-            try {
-                if (!this.databaseSpring.isOnTransaction()) {
-                    if (connection != null) {
-                        connection.close();
-                    }
+        }
+        return new Answer(msg);
+    }
+
+    @Override
+    public long readMetricMinExeId() {
+        final String query = "SELECT MIN(`ExeID`) FROM testcaseexecutionhttpstatmetric";
+
+        // Debug message on SQL.
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("SQL : " + query);
+        }
+        try (Connection connection = databaseSpring.connect();
+                PreparedStatement preStat = connection.prepareStatement(query);
+                ResultSet resultSet = preStat.executeQuery()) {
+            if (resultSet.next()) {
+                long minExeId = resultSet.getLong(1);
+                if (!resultSet.wasNull()) {
+                    return minExeId;
                 }
-            } catch (SQLException exception) {
-                LOG.warn("Unable to close connection : " + exception.toString());
             }
+            return Long.MAX_VALUE;
+        } catch (SQLException exception) {
+            LOG.error("Unable to execute query : " + exception.toString());
+            return -1;
         }
+    }
 
+    @Override
+    public AnswerList<TestCaseExecutionHttpStat> readByIdLowerThan(long exeId, int limit) {
+        List<TestCaseExecutionHttpStat> objectList = new ArrayList<>();
+        MessageEvent msg;
+        final String query = "SELECT * FROM testcaseexecutionhttpstat ehs WHERE ehs.`ID` < ? ORDER BY ehs.`ID` desc limit " + Math.min(limit, MAX_ROW_SELECTED);
+
+        // Debug message on SQL.
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("SQL : " + query);
+            LOG.debug("SQL.param.exeId : " + exeId);
+        }
+        try (Connection connection = databaseSpring.connect();
+                PreparedStatement preStat = connection.prepareStatement(query)) {
+            preStat.setLong(1, exeId);
+            try (ResultSet resultSet = preStat.executeQuery()) {
+                while (resultSet.next()) {
+                    objectList.add(this.loadFromResultSet(resultSet));
+                }
+            }
+            if (objectList.isEmpty()) {
+                msg = new MessageEvent(MessageEventEnum.DATA_OPERATION_NO_DATA_FOUND);
+            } else {
+                msg = new MessageEvent(MessageEventEnum.DATA_OPERATION_OK);
+                msg.setDescription(msg.getDescription().replace("%ITEM%", OBJECT_NAME).replace("%OPERATION%", "SELECT"));
+            }
+        } catch (SQLException exception) {
+            LOG.error("Unable to execute query : " + exception.toString());
+            msg = new MessageEvent(MessageEventEnum.DATA_OPERATION_ERROR_UNEXPECTED);
+            msg.setDescription(msg.getDescription().replace("%DESCRIPTION%", exception.toString()));
+        }
+        AnswerList<TestCaseExecutionHttpStat> response = new AnswerList<>(objectList, objectList.size());
         response.setResultMessage(msg);
-        response.setItem(object);
         return response;
     }
 
-    private String getKeyCurve(TestCaseExecutionHttpStat stat, String party, String type, String unit) {
-        return type + "/" + party + "/" + unit + "/" + stat.getTest() + "/" + stat.getTestcase() + "/" + stat.getCountry() + "/" + stat.getEnvironment() + "/" + stat.getRobotDecli() + "/" + stat.getSystem() + "/" + stat.getApplication();
-    }
-
     @Override
     public TestCaseExecutionHttpStat loadFromResultSet(ResultSet rs) throws SQLException {
         long id = rs.getLong("ehs.id");
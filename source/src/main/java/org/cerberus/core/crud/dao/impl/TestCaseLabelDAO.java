@@ -28,6 +28,7 @@ import org.cerberus.core.crud.entity.Label;
 import org.cerberus.core.crud.entity.TestCase;
 import org.cerberus.core.crud.entity.TestCaseLabel;
 import org.cerberus.core.crud.factory.IFactoryTestCaseLabel;
+import org.cerberus.core.crud.utils.StatementBatches;
 import org.cerberus.core.database.DatabaseSpring;
 import org.cerberus.core.engine.entity.MessageEvent;
 import org.cerberus.core.enums.MessageEventEnum;
@@ -67,6 +68,7 @@ public class TestCaseLabelDAO implements ITestCaseLabelDAO {
     private static final Logger LOG = LogManager.getLogger(TestCaseLabelDAO.class);
 
     private final String OBJECT_NAME = "TestCaseLabel";
+    private static final String QUERY_CREATE = "INSERT INTO testcaselabel ( `test`, `testcase`, `labelId`, `usrCreated`) VALUES (?,?,?,?)";
     private final String SQL_DUPLICATED_CODE = "23000";
     private final int MAX_ROW_SELECTED = 100000;
 
@@ -286,21 +288,14 @@ public class TestCaseLabelDAO implements ITestCaseLabelDAO {
     public Answer create(TestCaseLabel object) {
         Answer response = new Answer();
         MessageEvent msg = null;
-        StringBuilder query = new StringBuilder();
-        query.append("INSERT INTO testcaselabel ( `test`, `testcase`, `labelId`, `usrCreated`) ");
-        query.append("VALUES (?,?,?,?)");
-
         // Debug message on SQL.
         if (LOG.isDebugEnabled()) {
-            LOG.debug("SQL : " + query.toString());
+            LOG.debug("SQL : " + QUERY_CREATE);
         }
         try (Connection connection = databaseSpring.connect();
-             PreparedStatement preStat = connection.prepareStatement(query.toString())) {
+             PreparedStatement preStat = connection.prepareStatement(QUERY_CREATE)) {
 
-            preStat.setString(1, object.getTest());
-            preStat.setString(2, object.getTestcase());
-            preStat.setInt(3, object.getLabelId());
-            preStat.setString(4, object.getUsrCreated());
+            setCreateParameters(preStat, object);
 
             preStat.executeUpdate();
             msg = new MessageEvent(MessageEventEnum.DATA_OPERATION_OK);
@@ -317,6 +312,20 @@ public class TestCaseLabelDAO implements ITestCaseLabelDAO {
         return response;
     }
 
+    @Override
+    public void addCreate(StatementBatches batches, TestCaseLabel object) throws SQLException {
+        PreparedStatement preStat = batches.get(QUERY_CREATE);
+        setCreateParameters(preStat, object);
+        preStat.addBatch();
+    }
+
+    private void setCreateParameters(PreparedStatement preStat, TestCaseLabel object) throws SQLException {
+        preStat.setString(1, object.getTest());
+        preStat.setString(2, object.getTestcase());
+        preStat.setInt(3, object.getLabelId());
+        preStat.setString(4, object.getUsrCreated());
+    }
+
     @Override
     public Answer delete(TestCaseLabel object) {
         Answer response = new Answer();
@@ -0,0 +1,276 @@
+/**
+ * Cerberus Copyright (C) 2013 - 2017 cerberustesting
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This file is part of Cerberus.
+ *
+ * Cerberus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Cerberus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Cerberus.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cerberus.core.crud.dao.impl;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.cerberus.core.crud.dao.ITestCaseCountryDAO;
+import org.cerberus.core.crud.dao.ITestCaseCountryPropertiesDAO;
+import org.cerberus.core.crud.dao.ITestCaseDAO;
+import org.cerberus.core.crud.dao.ITestCaseDepDAO;
+import org.cerberus.core.crud.dao.ITestCaseLabelDAO;
+import org.cerberus.core.crud.dao.ITestCaseScriptDAO;
+import org.cerberus.core.crud.dao.ITestCaseStepActionControlDAO;
+import org.cerberus.core.crud.dao.ITestCaseStepActionDAO;
+import org.cerberus.core.crud.dao.ITestCaseStepDAO;
+import org.cerberus.core.crud.entity.TestCase;
+import org.cerberus.core.crud.entity.TestCaseCountry;
+import org.cerberus.core.crud.entity.TestCaseCountryProperties;
+import org.cerberus.core.crud.entity.TestCaseDep;
+import org.cerberus.core.crud.entity.TestCaseLabel;
+import org.cerberus.core.crud.entity.TestCaseStep;
+import org.cerberus.core.crud.entity.TestCaseStepAction;
+import org.cerberus.core.crud.entity.TestCaseStepActionControl;
+import org.cerberus.core.crud.utils.StatementBatches;
+import org.cerberus.core.database.DatabaseSpring;
+import org.cerberus.core.engine.entity.MessageEvent;
+import org.cerberus.core.enums.MessageEventEnum;
+import org.cerberus.core.util.ListDiff;
+import org.cerberus.core.util.answer.Answer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public class TestCaseScriptDAO implements ITestCaseScriptDAO {
+
+    private static final Logger LOG = LogManager.getLogger(TestCaseScriptDAO.class);
+
+    private static final String OBJECT_NAME = "TestCase";
+
+    @Autowired
+    private DatabaseSpring databaseSpring;
+    @Autowired
+    private ITestCaseDAO testCaseDAO;
+    @Autowired
+    private ITestCaseCountryDAO testCaseCountryDAO;
+    @Autowired
+    private ITestCaseDepDAO testCaseDepDAO;
+    @Autowired
+    private ITestCaseLabelDAO testCaseLabelDAO;
+    @Autowired
+    private ITestCaseCountryPropertiesDAO testCaseCountryPropertiesDAO;
+    @Autowired
+    private ITestCaseStepDAO testCaseStepDAO;
+    @Autowired
+    private ITestCaseStepActionDAO testCaseStepActionDAO;
+    @Autowired
+    private ITestCaseStepActionControlDAO testCaseStepActionControlDAO;
+
+    @Override
+    public Answer save(String test, String testcase, int expectedVersion, String usrModif,
+            ListDiff<TestCaseCountryProperties> properties, ListDiff<TestCaseStep> steps,
+            ListDiff<TestCaseStepAction> actions, ListDiff<TestCaseStepActionControl> controls) {
+        MessageEvent msg;
+        final String versionQuery = "UPDATE testcase SET `version` = `version` + 1, `UsrModif` = ?, `DateModif` = CURRENT_TIMESTAMP WHERE `test` = ? AND `testcase` = ? AND `version` = ?";
+
+        LOG.debug("SQL : {}", versionQuery);
+        LOG.debug("Saving script of {}|{} : properties {} steps {} actions {} controls {}", test, testcase, properties, steps, actions, controls);
+
+        try (Connection connection = databaseSpring.connect()) {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try {
+                // Optimistic lock. It also locks the testcase row so that concurrent saves are serialized.
+                int updated;
+                try (PreparedStatement preStat = connection.prepareStatement(versionQuery)) {
+                    int i = 1;
+                    preStat.setString(i++, usrModif);
+                    preStat.setString(i++, test);
+                    preStat.setString(i++, testcase);
+                    preStat.setInt(i++, expectedVersion);
+                    updated = preStat.executeUpdate();
+                }
+                if (updated == 0) {
+                    connection.rollback();
+                    msg = new MessageEvent(MessageEventEnum.DATA_OPERATION_ERROR_EXPECTED);
+                    msg.setDescription(msg.getDescription().replace("%ITEM%", OBJECT_NAME)
+                            .replace("%OPERATION%", "Update")
+                            .replace("%REASON%", "TestCase was modified by someone else since version " + expectedVersion + " was loaded. Please reload the page and apply your changes again."));
+                    return new Answer(msg);
+                }
+
+                // Children are deleted first, and parents are created first.
+                try (StatementBatches deletes = new StatementBatches(connection)) {
+                    for (TestCaseStepActionControl control : controls.getToDelete()) {
+                        testCaseStepActionControlDAO.addDelete(deletes, control);
+                    }
+                    for (TestCaseStepAction action : actions.getToDelete()) {
+                        testCaseStepActionDAO.addDelete(deletes, action);
+                    }
+                    for (TestCaseStep step : steps.getToDelete()) {
+                        testCaseStepDAO.addDelete(deletes, step);
+                    }
+                    for (TestCaseCountryProperties property : properties.getToDelete()) {
+                        testCaseCountryPropertiesDAO.addDelete(deletes, property);
+                    }
+                    deletes.execute();
+                }
+                try (StatementBatches updates = new StatementBatches(connection)) {
+                    for (TestCaseCountryProperties property : properties.getToUpdate()) {
+                        testCaseCountryPropertiesDAO.addUpdate(updates, property);
+                    }
+                    for (TestCaseStep step : steps.getToUpdate()) {
+                        testCaseStepDAO.addUpdate(updates, step);
+                    }
+                    for (TestCaseStepAction action : actions.getToUpdate()) {
+                        testCaseStepActionDAO.addUpdate(updates, action);
+                    }
+                    for (TestCaseStepActionControl control : controls.getToUpdate()) {
+                        testCaseStepActionControlDAO.addUpdate(updates, control);
+                    }
+                    updates.execute();
+                }
+                try (StatementBatches inserts = new StatementBatches(connection)) {
+                    for (TestCaseCountryProperties property : properties.getToCreate()) {
+                        testCaseCountryPropertiesDAO.addCreate(inserts, property);
+                    }
+                    for (TestCaseStep step : steps.getToCreate()) {
+                        testCaseStepDAO.addCreate(inserts, step);
+                    }
+                    for (TestCaseStepAction action : actions.getToCreate()) {
+                        testCaseStepActionDAO.addCreate(inserts, action);
+                    }
+                    for (TestCaseStepActionControl control : controls.getToCreate()) {
+                        testCaseStepActionControlDAO.addCreate(inserts, control);
+                    }
+                    inserts.execute();
+                }
+
+                connection.commit();
+            } catch (SQLException exception) {
+                connection.rollback();
+                throw exception;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+            msg = new MessageEvent(MessageEventEnum.DATA_OPERATION_OK);
+            msg.setDescription(msg.getDescription().replace("%ITEM%", OBJECT_NAME).replace("%OPERATION%", "UPDATE"));
+        } catch (SQLException exception) {
+            LOG.error("Unable to execute query : {}", exception.toString());
+            msg = new MessageEvent(MessageEventEnum.DATA_OPERATION_ERROR_UNEXPECTED);
+            msg.setDescription(msg.getDescription().replace("%DESCRIPTION%", exception.toString()));
+        }
+        return new Answer(msg);
+    }
+
+    @Override
+    public Answer create(List<TestCase> replaced, List<TestCase> testcases) {
+        MessageEvent msg;
+        LOG.debug("Creating {} testcases replacing {}", testcases.size(), replaced.size());
+
+        try (Connection connection = databaseSpring.connect()) {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try {
+                // Dependencies of other testcases to the replaced ones are deleted in cascade, they are created again after.
+                Set<String> replacedKeys = new HashSet<>();
+                for (TestCase testcase : replaced) {
+                    replacedKeys.add(testcase.getTest() + "|" + testcase.getTestcase());
+                }
+                List<TestCaseDep> keptDependencies = new ArrayList<>();
+                for (TestCase testcase : replaced) {
+                    for (TestCaseDep dependency : testCaseDepDAO.readByDependency(connection, testcase)) {
+                        // The ones of replaced testcases come from the new version.
+                        if (!replacedKeys.contains(dependency.getTest() + "|" + dependency.getTestcase())) {
+                            keptDependencies.add(dependency);
+                        }
+                    }
+                }
+                try (StatementBatches deletes = new StatementBatches(connection)) {
+                    for (TestCase testcase : replaced) {
+                        testCaseDAO.addDelete(deletes, testcase);
+                    }
+                    deletes.execute();
+                }
+                // Parents are inserted before their children.
+                try (StatementBatches inserts = new StatementBatches(connection)) {
+                    for (TestCase testcase : testcases) {
+                        testCaseDAO.addCreate(inserts, testcase);
+                    }
+                    for (TestCase testcase : testcases) {
+                        for (TestCaseCountry country : testcase.getTestCaseCountries()) {
+                            testCaseCountryDAO.addCreate(inserts, country);
+                        }
+                        for (TestCaseDep dependency : testcase.getDependencies()) {
+                            testCaseDepDAO.addCreate(inserts, dependency);
+                        }
+                        for (TestCaseLabel label : testcase.getTestCaseLabels()) {
+                            testCaseLabelDAO.addCreate(inserts, label);
+                        }
+                    }
+                    for (TestCaseDep dependency : keptDependencies) {
+                        testCaseDepDAO.addCreate(inserts, dependency);
+                    }
+                    for (TestCase testcase : testcases) {
+                        for (TestCaseCountry country : testcase.getTestCaseCountries()) {
+                            for (TestCaseCountryProperties property : country.getTestCaseCountryProperty()) {
+                                testCaseCountryPropertiesDAO.addCreate(inserts, property);
+                            }
+                        }
+                    }
+                    for (TestCase testcase : testcases) {
+                        for (TestCaseStep step : testcase.getSteps()) {
+                            testCaseStepDAO.addCreate(inserts, step);
+                        }
+                    }
+                    for (TestCase testcase : testcases) {
+                        for (TestCaseStep step : testcase.getSteps()) {
+                            for (TestCaseStepAction action : step.getActions()) {
+                                testCaseStepActionDAO.addCreate(inserts, action);
+                            }
+                        }
+                    }
+                    for (TestCase testcase : testcases) {
+                        for (TestCaseStep step : testcase.getSteps()) {
+                            for (TestCaseStepAction action : step.getActions()) {
+                                for (TestCaseStepActionControl control : action.getControls()) {
+                                    testCaseStepActionControlDAO.addCreate(inserts, control);
+                                }
+                            }
+                        }
+                    }
+                    inserts.execute();
+                }
+
+                connection.commit();
+            } catch (SQLException exception) {
+                connection.rollback();
+                throw exception;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+            msg = new MessageEvent(MessageEventEnum.DATA_OPERATION_OK);
+            msg.setDescription(msg.getDescription().replace("%ITEM%", OBJECT_NAME).replace("%OPERATION%", "INSERT"));
+        } catch (SQLException exception) {
+            LOG.error("Unable to execute query : {}", exception.toString());
+            msg = new MessageEvent(MessageEventEnum.DATA_OPERATION_ERROR_UNEXPECTED);
+            msg.setDescription(msg.getDescription().replace("%DESCRIPTION%", exception.toString()));
+        }
+        return new Answer(msg);
+    }
+
+}
@@ -24,6 +24,7 @@ import org.apache.logging.log4j.Logger;
 import org.cerberus.core.crud.dao.ITestCaseStepActionControlDAO;
 import org.cerberus.core.crud.entity.TestCaseStepActionControl;
 import org.cerberus.core.crud.factory.IFactoryTestCaseStepActionControl;
+import org.cerberus.core.crud.utils.StatementBatches;
 import org.cerberus.core.database.DatabaseSpring;
 import org.cerberus.core.engine.entity.MessageEvent;
 import org.cerberus.core.engine.entity.MessageGeneral;
@@ -67,6 +68,35 @@ public class TestCaseStepActionControlDAO implements ITestCaseStepActionControlD
     private static final Logger LOG = LogManager.getLogger(TestCaseStepActionControlDAO.class);
 
     private final String OBJECT_NAME = "TestCaseStepActionControl";
+    private static final String QUERY_UPDATE = new StringBuilder("UPDATE `testcasestepactioncontrol` SET ")
+            .append("`Test` = ?, ")
+            .append("`Testcase` = ?, ")
+            .append("`StepId` = ?, ")
+            .append("`ActionId` = ?, ")
+            .append("`ControlId` = ?, ")
+            .append("`Sort` = ?, ")
+            .append("`conditionOperator` = ?, ")
+            .append("`conditionValue1` = ?, ")
+            .append("`conditionValue2` = ?, ")
+            .append("`conditionValue3` = ?, ")
+            .append("`conditionOptions` = ?, ")
+            .append("`Control` = ?, ")
+            .append("`Value1` = ?, ")
+            .append("`Value2` = ?, ")
+            .append("`Value3` = ?, ")
+            .append("`Options` = ?, ")
+            .append("`Description` = ?, ")
+            .append("`IsFatal` = ?, ")
+            .append("`screenshotFilename` = ?, ")
+            .append("`usrModif` = ?,")
+            .append("`dateModif` = CURRENT_TIMESTAMP ")
+            .append("WHERE `Test` = ? AND `Testcase` = ? AND `StepId` = ? AND `ActionId` = ? AND `ControlId` = ? ")
+            .toString();
+    private static final String QUERY_DELETE = "DELETE FROM testcasestepactioncontrol WHERE test = ? and testcase = ? and stepId = ? and `actionId` = ? and `controlId` = ?";
+    private static final String QUERY_CREATE = "INSERT INTO testcasestepactioncontrol (`test`, `testcase`, `stepId`, `actionId`, `controlId`, `sort`, "
+            + "`conditionOperator`, `conditionValue1`, `conditionValue2`, `conditionValue3`, `conditionOptions`, `control`, "
+            + "`value1`, `value2`, `value3`, `Options`, `isFatal`, `Description`, `screenshotfilename`, `usrCreated`) "
+            + "VALUES (?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?)";
     private final String SQL_DUPLICATED_CODE = "23000";
     private final int MAX_ROW_SELECTED = 100000;
 
@@ -220,67 +250,17 @@ public class TestCaseStepActionControlDAO implements ITestCaseStepActionControlD
     public void updateTestCaseStepActionControl(TestCaseStepActionControl testCaseStepActionControl) throws CerberusException {
         boolean throwExcep = false;
 
-        final String query = new StringBuilder("UPDATE `testcasestepactioncontrol` SET ")
-                .append("`Test` = ?, ")
-                .append("`Testcase` = ?, ")
-                .append("`StepId` = ?, ")
-                .append("`ActionId` = ?, ")
-                .append("`ControlId` = ?, ")
-                .append("`Sort` = ?, ")
-                .append("`conditionOperator` = ?, ")
-                .append("`conditionValue1` = ?, ")
-                .append("`conditionValue2` = ?, ")
-                .append("`conditionValue3` = ?, ")
-                .append("`conditionOptions` = ?, ")
-                .append("`Control` = ?, ")
-                .append("`Value1` = ?, ")
-                .append("`Value2` = ?, ")
-                .append("`Value3` = ?, ")
-                .append("`Options` = ?, ")
-                .append("`Description` = ?, ")
-                .append("`IsFatal` = ?, ")
-                .append("`screenshotFilename` = ?, ")
-                .append("`usrModif` = ?,")
-                .append("`dateModif` = CURRENT_TIMESTAMP ")
-                .append("WHERE `Test` = ? AND `Testcase` = ? AND `StepId` = ? AND `ActionId` = ? AND `ControlId` = ? ")
-                .toString();
-
         // Debug message on SQL.
         if (LOG.isDebugEnabled()) {
-            LOG.debug("SQL : " + query);
+            LOG.debug("SQL : " + QUERY_UPDATE);
             LOG.debug("SQL.param.conditionoptions : " + testCaseStepActionControl.getConditionOptions().toString());
             LOG.debug("SQL.param.options : " + testCaseStepActionControl.getOptions().toString());
         }
 
         try (Connection connection = this.databaseSpring.connect();
-             PreparedStatement preStat = connection.prepareStatement(query);) {
+             PreparedStatement preStat = connection.prepareStatement(QUERY_UPDATE);) {
 
-            int i = 1;
-            preStat.setString(i++, testCaseStepActionControl.getTest());
-            preStat.setString(i++, testCaseStepActionControl.getTestcase());
-            preStat.setInt(i++, testCaseStepActionControl.getStepId());
-            preStat.setInt(i++, testCaseStepActionControl.getActionId());
-            preStat.setInt(i++, testCaseStepActionControl.getControlId());
-            preStat.setInt(i++, testCaseStepActionControl.getSort());
-            preStat.setString(i++, testCaseStepActionControl.getConditionOperator());
-            preStat.setString(i++, testCaseStepActionControl.getConditionValue1());
-            preStat.setString(i++, testCaseStepActionControl.getConditionValue2());
-            preStat.setString(i++, testCaseStepActionControl.getConditionValue3());
-            preStat.setString(i++, testCaseStepActionControl.getConditionOptions() == null ? "[]" : testCaseStepActionControl.getConditionOptions().toString());
-            preStat.setString(i++, testCaseStepActionControl.getControl());
-            preStat.setString(i++, testCaseStepActionControl.getValue1());
-            preStat.setString(i++, testCaseStepActionControl.getValue2());
-            preStat.setString(i++, testCaseStepActionControl.getValue3());
-            preStat.setString(i++, testCaseStepActionControl.getOptions() == null ? "[]" : testCaseStepActionControl.getOptions().toString());
-            preStat.setString(i++, testCaseStepActionControl.getDescription());
-            preStat.setBoolean(i++, testCaseStepActionControl.isFatal());
-            preStat.setString(i++, testCaseStepActionControl.getScreenshotFilename());
-            preStat.setString(i++, testCaseStepActionControl.getUsrModif() == null ? "" : testCaseStepActionControl.getUsrModif());
-            preStat.setString(i++, testCaseStepActionControl.getTest());
-            preStat.setString(i++, testCaseStepActionControl.getTestcase());
-            preStat.setInt(i++, testCaseStepActionControl.getStepId());
-            preStat.setInt(i++, testCaseStepActionControl.getActionId());
-            preStat.setInt(i++, testCaseStepActionControl.getControlId());
+            setUpdateParameters(preStat, testCaseStepActionControl);
             throwExcep = preStat.executeUpdate() == 0;
         } catch (SQLException exception) {
             LOG.warn("Unable to execute query : " + exception.toString());
@@ -321,20 +301,15 @@ public class TestCaseStepActionControlDAO implements ITestCaseStepActionControlD
     @Override
     public void deleteTestCaseStepActionControl(TestCaseStepActionControl tcsac) throws CerberusException {
         boolean throwExcep = false;
-        final String query = "DELETE FROM testcasestepactioncontrol WHERE test = ? and testcase = ? and stepId = ? and `actionId` = ? and `controlId` = ?";
 
         // Debug message on SQL.
         if (LOG.isDebugEnabled()) {
-            LOG.debug("SQL : " + query);
+            LOG.debug("SQL : " + QUERY_DELETE);
         }
 
         try (Connection connection = this.databaseSpring.connect();
-             PreparedStatement preStat = connection.prepareStatement(query);) {
-            preStat.setString(1, tcsac.getTest());
-            preStat.setString(2, tcsac.getTestcase());
-            preStat.setInt(3, tcsac.getStepId());
-            preStat.setInt(4, tcsac.getActionId());
-            preStat.setInt(5, tcsac.getControlId());
+             PreparedStatement preStat = connection.prepareStatement(QUERY_DELETE);) {
+            setDeleteParameters(preStat, tcsac);
             throwExcep = preStat.executeUpdate() == 0;
         } catch (SQLException exception) {
             LOG.warn("Unable to execute query : " + exception.toString());
@@ -513,41 +488,15 @@ public class TestCaseStepActionControlDAO implements ITestCaseStepActionControlD
     public Answer create(TestCaseStepActionControl testCaseStepActionControl) {
         Answer ans = new Answer();
         MessageEvent msg = null;
-        StringBuilder query = new StringBuilder();
-        query.append("INSERT INTO testcasestepactioncontrol (`test`, `testcase`, `stepId`, `actionId`, `controlId`, `sort`, ");
-        query.append("`conditionOperator`, `conditionValue1`, `conditionValue2`, `conditionValue3`, `conditionOptions`, `control`, ");
-        query.append("`value1`, `value2`, `value3`, `Options`, `isFatal`, `Description`, `screenshotfilename`, `usrCreated`) ");
-        query.append("VALUES (?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?)");
-
         // Debug message on SQL.
         if (LOG.isDebugEnabled()) {
-            LOG.debug("SQL : " + query);
+            LOG.debug("SQL : " + QUERY_CREATE);
         }
 
         try (Connection connection = databaseSpring.connect();
-             PreparedStatement preStat = connection.prepareStatement(query.toString())) {
+             PreparedStatement preStat = connection.prepareStatement(QUERY_CREATE)) {
             // Prepare and execute query
-            int i = 1;
-            preStat.setString(i++, testCaseStepActionControl.getTest());
-            preStat.setString(i++, testCaseStepActionControl.getTestcase());
-            preStat.setInt(i++, testCaseStepActionControl.getStepId());
-            preStat.setInt(i++, testCaseStepActionControl.getActionId());
-            preStat.setInt(i++, testCaseStepActionControl.getControlId());
-            preStat.setInt(i++, testCaseStepActionControl.getSort());
-            preStat.setString(i++, testCaseStepActionControl.getConditionOperator());
-            preStat.setString(i++, testCaseStepActionControl.getConditionValue1());
-            preStat.setString(i++, testCaseStepActionControl.getConditionValue2());
-            preStat.setString(i++, testCaseStepActionControl.getConditionValue3());
-            preStat.setString(i++, testCaseStepActionControl.getConditionOptions() == null ? "[]" : testCaseStepActionControl.getConditionOptions().toString());
-            preStat.setString(i++, testCaseStepActionControl.getControl());
-            preStat.setString(i++, testCaseStepActionControl.getValue1());
-            preStat.setString(i++, testCaseStepActionControl.getValue2());
-            preStat.setString(i++, testCaseStepActionControl.getValue3());
-            preStat.setString(i++, testCaseStepActionControl.getOptions() == null ? "[]" : testCaseStepActionControl.getOptions().toString());
-            preStat.setBoolean(i++, testCaseStepActionControl.isFatal());
-            preStat.setString(i++, testCaseStepActionControl.getDescription());
-            preStat.setString(i++, testCaseStepActionControl.getScreenshotFilename());
-            preStat.setString(i++, testCaseStepActionControl.getUsrCreated() == null ? "" : testCaseStepActionControl.getUsrCreated());
+            setCreateParameters(preStat, testCaseStepActionControl);
             preStat.executeUpdate();
 
             // Set the final message
@@ -564,6 +513,88 @@ public class TestCaseStepActionControlDAO implements ITestCaseStepActionControlD
         return ans;
     }
 
+    @Override
+    public void addUpdate(StatementBatches batches, TestCaseStepActionControl testCaseStepActionControl) throws SQLException {
+        PreparedStatement preStat = batches.get(QUERY_UPDATE);
+        setUpdateParameters(preStat, testCaseStepActionControl);
+        preStat.addBatch();
+    }
+
+    private void setUpdateParameters(PreparedStatement preStat, TestCaseStepActionControl testCaseStepActionControl) throws SQLException {
+        int i = 1;
+        preStat.setString(i++, testCaseStepActionControl.getTest());
+        preStat.setString(i++, testCaseStepActionControl.getTestcase());
+        preStat.setInt(i++, testCaseStepActionControl.getStepId());
+        preStat.setInt(i++, testCaseStepActionControl.getActionId());
+        preStat.setInt(i++, testCaseStepActionControl.getControlId());
+        preStat.setInt(i++, testCaseStepActionControl.getSort());
+        preStat.setString(i++, testCaseStepActionControl.getConditionOperator());
+        preStat.setString(i++, testCaseStepActionControl.getConditionValue1());
+        preStat.setString(i++, testCaseStepActionControl.getConditionValue2());
+        preStat.setString(i++, testCaseStepActionControl.getConditionValue3());
+        preStat.setString(i++, testCaseStepActionControl.getConditionOptions() == null ? "[]" : testCaseStepActionControl.getConditionOptions().toString());
+        preStat.setString(i++, testCaseStepActionControl.getControl());
+        preStat.setString(i++, testCaseStepActionControl.getValue1());
+        preStat.setString(i++, testCaseStepActionControl.getValue2());
+        preStat.setString(i++, testCaseStepActionControl.getValue3());
+        preStat.setString(i++, testCaseStepActionControl.getOptions() == null ? "[]" : testCaseStepActionControl.getOptions().toString());
+        preStat.setString(i++, testCaseStepActionControl.getDescription());
+        preStat.setBoolean(i++, testCaseStepActionControl.isFatal());
+        preStat.setString(i++, testCaseStepActionControl.getScreenshotFilename());
+        preStat.setString(i++, testCaseStepActionControl.getUsrModif() == null ? "" : testCaseStepActionControl.getUsrModif());
+        preStat.setString(i++, testCaseStepActionControl.getTest());
+        preStat.setString(i++, testCaseStepActionControl.getTestcase());
+        preStat.setInt(i++, testCaseStepActionControl.getStepId());
+        preStat.setInt(i++, testCaseStepActionControl.getActionId());
+        preStat.setInt(i++, testCaseStepActionControl.getControlId());
+    }
+
+    @Override
+    public void addDelete(StatementBatches batches, TestCaseStepActionControl tcsac) throws SQLException {
+        PreparedStatement preStat = batches.get(QUERY_DELETE);
+        setDeleteParameters(preStat, tcsac);
+        preStat.addBatch();
+    }
+
+    private void setDeleteParameters(PreparedStatement preStat, TestCaseStepActionControl tcsac) throws SQLException {
+        preStat.setString(1, tcsac.getTest());
+        preStat.setString(2, tcsac.getTestcase());
+        preStat.setInt(3, tcsac.getStepId());
+        preStat.setInt(4, tcsac.getActionId());
+        preStat.setInt(5, tcsac.getControlId());
+    }
+
+    @Override
+    public void addCreate(StatementBatches batches, TestCaseStepActionControl testCaseStepActionControl) throws SQLException {
+        PreparedStatement preStat = batches.get(QUERY_CREATE);
+        setCreateParameters(preStat, testCaseStepActionControl);
+        preStat.addBatch();
+    }
+
+    private void setCreateParameters(PreparedStatement preStat, TestCaseStepActionControl testCaseStepActionControl) throws SQLException {
+        int i = 1;
+        preStat.setString(i++, testCaseStepActionControl.getTest());
+        preStat.setString(i++, testCaseStepActionControl.getTestcase());
+        preStat.setInt(i++, testCaseStepActionControl.getStepId());
+        preStat.setInt(i++, testCaseStepActionControl.getActionId());
+        preStat.setInt(i++, testCaseStepActionControl.getControlId());
+        preStat.setInt(i++, testCaseStepActionControl.getSort());
+        preStat.setString(i++, testCaseStepActionControl.getConditionOperator());
+        preStat.setString(i++, testCaseStepActionControl.getConditionValue1());
+        preStat.setString(i++, testCaseStepActionControl.getConditionValue2());
+        preStat.setString(i++, testCaseStepActionControl.getConditionValue3());
+        preStat.setString(i++, testCaseStepActionControl.getConditionOptions() == null ? "[]" : testCaseStepActionControl.getConditionOptions().toString());
+        preStat.setString(i++, testCaseStepActionControl.getControl());
+        preStat.setString(i++, testCaseStepActionControl.getValue1());
+        preStat.setString(i++, testCaseStepActionControl.getValue2());
+        preStat.setString(i++, testCaseStepActionControl.getValue3());
+        preStat.setString(i++, testCaseStepActionControl.getOptions() == null ? "[]" : testCaseStepActionControl.getOptions().toString());
+        preStat.setBoolean(i++, testCaseStepActionControl.isFatal());
+        preStat.setString(i++, testCaseStepActionControl.getDescription());
+        preStat.setString(i++, testCaseStepActionControl.getScreenshotFilename());
+        preStat.setString(i++, testCaseStepActionControl.getUsrCreated() == null ? "" : testCaseStepActionControl.getUsrCreated());
+    }
+
     private TestCaseStepActionControl loadFromResultSet(ResultSet resultSet) throws SQLException {
         String test = resultSet.getString("Test");
         String testcase = resultSet.getString("Testcase");
@@ -24,6 +24,7 @@ import org.apache.logging.log4j.Logger;
 import org.cerberus.core.crud.dao.ITestCaseStepActionDAO;
 import org.cerberus.core.crud.entity.TestCaseStepAction;
 import org.cerberus.core.crud.factory.IFactoryTestCaseStepAction;
+import org.cerberus.core.crud.utils.StatementBatches;
 import org.cerberus.core.database.DatabaseSpring;
 import org.cerberus.core.engine.entity.MessageEvent;
 import org.cerberus.core.engine.entity.MessageGeneral;
@@ -63,6 +64,34 @@ public class TestCaseStepActionDAO implements ITestCaseStepActionDAO {
     private static final Logger LOG = LogManager.getLogger(TestCaseStepActionDAO.class);
 
     private final String OBJECT_NAME = "TestCaseStepAction";
+    private static final String QUERY_UPDATE = new StringBuilder("UPDATE `testcasestepaction` ")
+            .append("SET ")
+            .append("`Test` = ?, ")
+            .append("`Testcase` = ?, ")
+            .append("`StepId` = ?, ")
+            .append("`actionId` = ?, ")
+            .append("`Sort` = ?, ")
+            .append("`conditionOperator` = ?, ")
+            .append("`ConditionValue1` = ?, ")
+            .append("`ConditionValue2` = ?, ")
+            .append("`ConditionValue3` = ?, ")
+            .append("`ConditionOptions` = ?, ")
+            .append("`Action` = ?, ")
+            .append("`Value1` = ?, ")
+            .append("`Value2` = ?, ")
+            .append("`Value3` = ?, ")
+            .append("`Options` = ?, ")
+            .append("`IsFatal` = ?, ")
+            .append("`Description` = ?, ")
+            .append("`ScreenshotFilename` = ?, ")
+            .append("`UsrModif` = ?, ")
+            .append("`dateModif` = CURRENT_TIMESTAMP ")
+            .append("WHERE `Test` = ? AND `Testcase` = ? AND `StepId` = ? AND `actionId` = ? ")
+            .toString();
+    private static final String QUERY_DELETE = "DELETE FROM testcasestepaction WHERE test = ? and testcase = ? and stepId = ? and `actionId` = ?";
+    private static final String QUERY_CREATE = "INSERT INTO testcasestepaction (`test`, `testcase`, `stepId`, `actionId`, `sort`, "
+            + "`conditionOperator`, `conditionValue1`, `conditionValue2`, `conditionValue3`, `conditionOptions`, `action`, `Value1`, `Value2`, `Value3`, `Options`, `IsFatal`, `description`, `screenshotfilename`, `usrCreated`) "
+            + "VALUES (?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?)";
     private final String SQL_DUPLICATED_CODE = "23000";
     private final int MAX_ROW_SELECTED = 100000;
 
@@ -345,33 +374,8 @@ public class TestCaseStepActionDAO implements ITestCaseStepActionDAO {
 
     @Override
     public void update(TestCaseStepAction testCaseStepAction) throws CerberusException {
-        final String query = new StringBuilder("UPDATE `testcasestepaction` ")
-                .append("SET ")
-                .append("`Test` = ?, ")
-                .append("`Testcase` = ?, ")
-                .append("`StepId` = ?, ")
-                .append("`actionId` = ?, ")
-                .append("`Sort` = ?, ")
-                .append("`conditionOperator` = ?, ")
-                .append("`ConditionValue1` = ?, ")
-                .append("`ConditionValue2` = ?, ")
-                .append("`ConditionValue3` = ?, ")
-                .append("`ConditionOptions` = ?, ")
-                .append("`Action` = ?, ")
-                .append("`Value1` = ?, ")
-                .append("`Value2` = ?, ")
-                .append("`Value3` = ?, ")
-                .append("`Options` = ?, ")
-                .append("`IsFatal` = ?, ")
-                .append("`Description` = ?, ")
-                .append("`ScreenshotFilename` = ?, ")
-                .append("`UsrModif` = ?, ")
-                .append("`dateModif` = CURRENT_TIMESTAMP ")
-                .append("WHERE `Test` = ? AND `Testcase` = ? AND `StepId` = ? AND `actionId` = ? ")
-                .toString();
-
         if (LOG.isDebugEnabled()) {
-            LOG.debug("SQL " + query);
+            LOG.debug("SQL " + QUERY_UPDATE);
             LOG.debug("SQL.param.conditionOperator " + testCaseStepAction.getConditionOperator());
             LOG.debug("SQL.param.conditionValue1 " + testCaseStepAction.getConditionValue1());
             LOG.debug("SQL.param.conditionValue2 " + testCaseStepAction.getConditionValue2());
@@ -379,33 +383,9 @@ public class TestCaseStepActionDAO implements ITestCaseStepActionDAO {
         }
 
         try (Connection connection = this.databaseSpring.connect();
-                PreparedStatement preStat = connection.prepareStatement(query);) {
+                PreparedStatement preStat = connection.prepareStatement(QUERY_UPDATE);) {
 
-            int i = 1;
-            preStat.setString(i++, testCaseStepAction.getTest());
-            preStat.setString(i++, testCaseStepAction.getTestcase());
-            preStat.setInt(i++, testCaseStepAction.getStepId());
-            preStat.setInt(i++, testCaseStepAction.getActionId());
-            preStat.setInt(i++, testCaseStepAction.getSort());
-            preStat.setString(i++, testCaseStepAction.getConditionOperator());
-            preStat.setString(i++, testCaseStepAction.getConditionValue1());
-            preStat.setString(i++, testCaseStepAction.getConditionValue2());
-            preStat.setString(i++, testCaseStepAction.getConditionValue3());
-            preStat.setString(i++, testCaseStepAction.getConditionOptions() == null ? "[]" : testCaseStepAction.getConditionOptions().toString());
-            preStat.setString(i++, testCaseStepAction.getAction());
-            preStat.setString(i++, testCaseStepAction.getValue1());
-            preStat.setString(i++, testCaseStepAction.getValue2());
-            preStat.setString(i++, testCaseStepAction.getValue3());
-            preStat.setString(i++, testCaseStepAction.getOptions() == null ? "[]" : testCaseStepAction.getOptions().toString());
-            preStat.setBoolean(i++, testCaseStepAction.isFatal());
-            preStat.setString(i++, testCaseStepAction.getDescription());
-            preStat.setString(i++, testCaseStepAction.getScreenshotFilename());
-            preStat.setString(i++, testCaseStepAction.getUsrModif() == null ? "" : testCaseStepAction.getUsrModif());
-
-            preStat.setString(i++, testCaseStepAction.getTest());
-            preStat.setString(i++, testCaseStepAction.getTestcase());
-            preStat.setInt(i++, testCaseStepAction.getStepId());
-            preStat.setInt(i++, testCaseStepAction.getActionId());
+            setUpdateParameters(preStat, testCaseStepAction);
 
             preStat.executeUpdate();
         } catch (SQLException exception) {
@@ -471,20 +451,15 @@ public class TestCaseStepActionDAO implements ITestCaseStepActionDAO {
     @Override
     public void delete(TestCaseStepAction tcsa) throws CerberusException {
         boolean throwExcep = false;
-        final String query = "DELETE FROM testcasestepaction WHERE test = ? and testcase = ? and stepId = ? and `actionId` = ?";
-
         // Debug message on SQL.
         if (LOG.isDebugEnabled()) {
-            LOG.debug("SQL : " + query);
+            LOG.debug("SQL : " + QUERY_DELETE);
         }
 
         try (Connection connection = this.databaseSpring.connect();
-                PreparedStatement preStat = connection.prepareStatement(query);) {
+                PreparedStatement preStat = connection.prepareStatement(QUERY_DELETE);) {
 
-            preStat.setString(1, tcsa.getTest());
-            preStat.setString(2, tcsa.getTestcase());
-            preStat.setInt(3, tcsa.getStepId());
-            preStat.setInt(4, tcsa.getActionId());
+            setDeleteParameters(preStat, tcsa);
 
             throwExcep = preStat.executeUpdate() == 0;
 
@@ -528,39 +503,15 @@ public class TestCaseStepActionDAO implements ITestCaseStepActionDAO {
     public Answer create(TestCaseStepAction testCaseStepAction) {
         Answer ans = new Answer();
         MessageEvent msg = null;
-        StringBuilder query = new StringBuilder();
-        query.append("INSERT INTO testcasestepaction (`test`, `testcase`, `stepId`, `actionId`, `sort`, ")
-                .append("`conditionOperator`, `conditionValue1`, `conditionValue2`, `conditionValue3`, `conditionOptions`, `action`, `Value1`, `Value2`, `Value3`, `Options`, `IsFatal`, `description`, `screenshotfilename`, `usrCreated`) ");
-        query.append("VALUES (?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?)");
-
         // Debug message on SQL.
         if (LOG.isDebugEnabled()) {
-            LOG.debug("SQL : " + query);
+            LOG.debug("SQL : " + QUERY_CREATE);
         }
 
         try (Connection connection = databaseSpring.connect();
-                PreparedStatement preStat = connection.prepareStatement(query.toString())) {
+                PreparedStatement preStat = connection.prepareStatement(QUERY_CREATE)) {
             // Prepare and execute query
-            int i = 1;
-            preStat.setString(i++, testCaseStepAction.getTest());
-            preStat.setString(i++, testCaseStepAction.getTestcase());
-            preStat.setInt(i++, testCaseStepAction.getStepId());
-            preStat.setInt(i++, testCaseStepAction.getActionId());
-            preStat.setInt(i++, testCaseStepAction.getSort());
-            preStat.setString(i++, testCaseStepAction.getConditionOperator());
-            preStat.setString(i++, testCaseStepAction.getConditionValue1());
-            preStat.setString(i++, testCaseStepAction.getConditionValue2());
-            preStat.setString(i++, testCaseStepAction.getConditionValue3());
-            preStat.setString(i++, testCaseStepAction.getConditionOptions() == null ? "[]" : testCaseStepAction.getConditionOptions().toString());
-            preStat.setString(i++, testCaseStepAction.getAction());
-            preStat.setString(i++, testCaseStepAction.getValue1());
-            preStat.setString(i++, testCaseStepAction.getValue2());
-            preStat.setString(i++, testCaseStepAction.getValue3());
-            preStat.setString(i++, testCaseStepAction.getOptions() == null ? "[]" : testCaseStepAction.getOptions().toString());
-            preStat.setBoolean(i++, testCaseStepAction.isFatal());
-            preStat.setString(i++, testCaseStepAction.getDescription());
-            preStat.setString(i++, testCaseStepAction.getScreenshotFilename());
-            preStat.setString(i++, testCaseStepAction.getUsrCreated() == null ? "" : testCaseStepAction.getUsrCreated());
+            setCreateParameters(preStat, testCaseStepAction);
             preStat.executeUpdate();
 
             // Set the final message
@@ -577,6 +528,85 @@ public class TestCaseStepActionDAO implements ITestCaseStepActionDAO {
         return ans;
     }
 
+    @Override
+    public void addUpdate(StatementBatches batches, TestCaseStepAction testCaseStepAction) throws SQLException {
+        PreparedStatement preStat = batches.get(QUERY_UPDATE);
+        setUpdateParameters(preStat, testCaseStepAction);
+        preStat.addBatch();
+    }
+
+    private void setUpdateParameters(PreparedStatement preStat, TestCaseStepAction testCaseStepAction) throws SQLException {
+        int i = 1;
+        preStat.setString(i++, testCaseStepAction.getTest());
+        preStat.setString(i++, testCaseStepAction.getTestcase());
+        preStat.setInt(i++, testCaseStepAction.getStepId());
+        preStat.setInt(i++, testCaseStepAction.getActionId());
+        preStat.setInt(i++, testCaseStepAction.getSort());
+        preStat.setString(i++, testCaseStepAction.getConditionOperator());
+        preStat.setString(i++, testCaseStepAction.getConditionValue1());
+        preStat.setString(i++, testCaseStepAction.getConditionValue2());
+        preStat.setString(i++, testCaseStepAction.getConditionValue3());
+        preStat.setString(i++, testCaseStepAction.getConditionOptions() == null ? "[]" : testCaseStepAction.getConditionOptions().toString());
+        preStat.setString(i++, testCaseStepAction.getAction());
+        preStat.setString(i++, testCaseStepAction.getValue1());
+        preStat.setString(i++, testCaseStepAction.getValue2());
+        preStat.setString(i++, testCaseStepAction.getValue3());
+        preStat.setString(i++, testCaseStepAction.getOptions() == null ? "[]" : testCaseStepAction.getOptions().toString());
+        preStat.setBoolean(i++, testCaseStepAction.isFatal());
+        preStat.setString(i++, testCaseStepAction.getDescription());
+        preStat.setString(i++, testCaseStepAction.getScreenshotFilename());
+        preStat.setString(i++, testCaseStepAction.getUsrModif() == null ? "" : testCaseStepAction.getUsrModif());
+
+        preStat.setString(i++, testCaseStepAction.getTest());
+        preStat.setString(i++, testCaseStepAction.getTestcase());
+        preStat.setInt(i++, testCaseStepAction.getStepId());
+        preStat.setInt(i++, testCaseStepAction.getActionId());
+    }
+
+    @Override
+    public void addDelete(StatementBatches batches, TestCaseStepAction tcsa) throws SQLException {
+        PreparedStatement preStat = batches.get(QUERY_DELETE);
+        setDeleteParameters(preStat, tcsa);
+        preStat.addBatch();
+    }
+
+    private void setDeleteParameters(PreparedStatement preStat, TestCaseStepAction tcsa) throws SQLException {
+        preStat.setString(1, tcsa.getTest());
+        preStat.setString(2, tcsa.getTestcase());
+        preStat.setInt(3, tcsa.getStepId());
+        preStat.setInt(4, tcsa.getActionId());
+    }
+
+    @Override
+    public void addCreate(StatementBatches batches, TestCaseStepAction testCaseStepAction) throws SQLException {
+        PreparedStatement preStat = batches.get(QUERY_CREATE);
+        setCreateParameters(preStat, testCaseStepAction);
+        preStat.addBatch();
+    }
+
+    private void setCreateParameters(PreparedStatement preStat, TestCaseStepAction testCaseStepAction) throws SQLException {
+        int i = 1;
+        preStat.setString(i++, testCaseStepAction.getTest());
+        preStat.setString(i++, testCaseStepAction.getTestcase());
+        preStat.setInt(i++, testCaseStepAction.getStepId());
+        preStat.setInt(i++, testCaseStepAction.getActionId());
+        preStat.setInt(i++, testCaseStepAction.getSort());
+        preStat.setString(i++, testCaseStepAction.getConditionOperator());
+        preStat.setString(i++, testCaseStepAction.getConditionValue1());
+        preStat.setString(i++, testCaseStepAction.getConditionValue2());
+        preStat.setString(i++, testCaseStepAction.getConditionValue3());
+        preStat.setString(i++, testCaseStepAction.getConditionOptions() == null ? "[]" : testCaseStepAction.getConditionOptions().toString());
+        preStat.setString(i++, testCaseStepAction.getAction());
+        preStat.setString(i++, testCaseStepAction.getValue1());
+        preStat.setString(i++, testCaseStepAction.getValue2());
+        preStat.setString(i++, testCaseStepAction.getValue3());
+        preStat.setString(i++, testCaseStepAction.getOptions() == null ? "[]" : testCaseStepAction.getOptions().toString());
+        preStat.setBoolean(i++, testCaseStepAction.isFatal());
+        preStat.setString(i++, testCaseStepAction.getDescription());
+        preStat.setString(i++, testCaseStepAction.getScreenshotFilename());
+        preStat.setString(i++, testCaseStepAction.getUsrCreated() == null ? "" : testCaseStepAction.getUsrCreated());
+    }
+
     private TestCaseStepAction loadFromResultSet(ResultSet resultSet) throws SQLException {
         String test = resultSet.getString("tca.Test");
         String testcase = resultSet.getString("tca.Testcase");
@@ -26,6 +26,7 @@ import org.cerberus.core.crud.entity.TestCase;
 import org.cerberus.core.crud.entity.TestCaseStep;
 import org.cerberus.core.crud.factory.IFactoryTestCase;
 import org.cerberus.core.crud.factory.IFactoryTestCaseStep;
+import org.cerberus.core.crud.utils.StatementBatches;
 import org.cerberus.core.database.DatabaseSpring;
 import org.cerberus.core.engine.entity.MessageEvent;
 import org.cerberus.core.engine.entity.MessageGeneral;
@@ -73,6 +74,7 @@ public class TestCaseStepDAO implements ITestCaseStepDAO {
     private final String OBJECT_NAME = "TestCaseStep";
     private final String SQL_DUPLICATED_CODE = "23000";
     private final int MAX_ROW_SELECTED = 100000;
+    private static final String QUERY_DELETE = "DELETE FROM testcasestep WHERE test = ? and testcase = ? and stepId = ?";
 
     @Override
     public List<TestCaseStep> findTestCaseStepByTestCase(String test, String testcase) {
@@ -220,7 +222,40 @@ public class TestCaseStepDAO implements ITestCaseStepDAO {
 
     @Override
     public void deleteTestCaseStep(TestCaseStep tcs) throws CerberusException {
-        final String query = "DELETE FROM testcasestep WHERE test = ? and testcase = ? and stepId = ?";
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("SQL : " + QUERY_DELETE);
+        }
+
+        try (Connection connection = this.databaseSpring.connect();
+                PreparedStatement preStat = connection.prepareStatement(QUERY_DELETE);) {
+
+            setDeleteParameters(preStat, tcs);
+
+            if (preStat.executeUpdate() == 0) {
+                throw new CerberusException(new MessageGeneral(MessageGeneralEnum.CANNOT_UPDATE_TABLE));
+            }
+
+        } catch (SQLException exception) {
+            LOG.error("Unable to execute query : " + exception.toString());
+        }
+    }
+
+    @Override
+    public void addDelete(StatementBatches batches, TestCaseStep tcs) throws SQLException {
+        PreparedStatement preStat = batches.get(QUERY_DELETE);
+        setDeleteParameters(preStat, tcs);
+        preStat.addBatch();
+    }
+
+    private void setDeleteParameters(PreparedStatement preStat, TestCaseStep tcs) throws SQLException {
+        preStat.setString(1, tcs.getTest());
+        preStat.setString(2, tcs.getTestcase());
+        preStat.setInt(3, tcs.getStepId());
+    }
+
+    @Override
+    public void updateTestCaseStep(TestCaseStep tcs) throws CerberusException {
+        String query = getUpdateQuery(tcs);
 
         if (LOG.isDebugEnabled()) {
             LOG.debug("SQL : " + query);
@@ -229,9 +264,7 @@ public class TestCaseStepDAO implements ITestCaseStepDAO {
         try (Connection connection = this.databaseSpring.connect();
                 PreparedStatement preStat = connection.prepareStatement(query);) {
 
-            preStat.setString(1, tcs.getTest());
-            preStat.setString(2, tcs.getTestcase());
-            preStat.setInt(3, tcs.getStepId());
+            setUpdateParameters(preStat, tcs);
 
             if (preStat.executeUpdate() == 0) {
                 throw new CerberusException(new MessageGeneral(MessageGeneralEnum.CANNOT_UPDATE_TABLE));
@@ -243,7 +276,14 @@ public class TestCaseStepDAO implements ITestCaseStepDAO {
     }
 
     @Override
-    public void updateTestCaseStep(TestCaseStep tcs) throws CerberusException {
+    public void addUpdate(StatementBatches batches, TestCaseStep tcs) throws SQLException {
+        PreparedStatement preStat = batches.get(getUpdateQuery(tcs));
+        setUpdateParameters(preStat, tcs);
+        preStat.addBatch();
+    }
+
+    private String getUpdateQuery(TestCaseStep tcs) {
+        // Library step columns are only updated when defined.
         StringBuilder query = new StringBuilder();
         query.append("UPDATE testcasestep SET ");
         query.append(" `Description` = ?, `isUsingLibraryStep`=? ");
@@ -257,48 +297,41 @@ public class TestCaseStepDAO implements ITestCaseStepDAO {
             query.append(",`libraryStepStepId`=? ");
         }
         query.append(",`isLibraryStep` = ?, `Sort` = ?, `loop` = ?, `conditionOperator` = ?, `conditionOptions` = ?, `conditionValue1` = ?, `conditionValue2` = ?, `conditionValue3` = ?, `isExecutionForced` = ?, DateModif = CURRENT_TIMESTAMP, UsrModif = ? WHERE Test = ? AND testcase = ? AND stepId = ?");
+        return query.toString();
+    }
 
-        if (LOG.isDebugEnabled()) {
-            LOG.debug("SQL : " + query.toString());
-        }
-
-        try (Connection connection = this.databaseSpring.connect();
-                PreparedStatement preStat = connection.prepareStatement(query.toString());) {
-
-            int i = 1;
-            preStat.setString(i++, tcs.getDescription());
-            preStat.setBoolean(i++, tcs.isUsingLibraryStep());
-            if (!StringUtil.isEmpty(tcs.getLibraryStepTest())) {
-                preStat.setString(i++, tcs.getLibraryStepTest());
-            }
-            if (!StringUtil.isEmpty(tcs.getLibraryStepTestcase())) {
-                preStat.setString(i++, tcs.getLibraryStepTestcase());
-            }
-            if (tcs.getLibraryStepStepId() >= 0) {
-                preStat.setInt(i++, tcs.getLibraryStepStepId());
-            }
-            preStat.setBoolean(i++, tcs.isLibraryStep());
-            preStat.setInt(i++, tcs.getSort());
-            preStat.setString(i++, tcs.getLoop() == null ? "" : tcs.getLoop());
-            preStat.setString(i++, tcs.getConditionOperator() == null ? "" : tcs.getConditionOperator());
-            preStat.setString(i++, tcs.getConditionOptions() == null ? "[]" : tcs.getConditionOptions().toString());
-            preStat.setString(i++, tcs.getConditionValue1() == null ? "" : tcs.getConditionValue1());
-            preStat.setString(i++, tcs.getConditionValue2() == null ? "" : tcs.getConditionValue2());
-            preStat.setString(i++, tcs.getConditionValue3() == null ? "" : tcs.getConditionValue3());
-            preStat.setBoolean(i++, tcs.isExecutionForced());
-            preStat.setString(i++, tcs.getUsrModif() == null ? "" : tcs.getUsrModif());
-
-            preStat.setString(i++, tcs.getTest());
-            preStat.setString(i++, tcs.getTestcase());
-            preStat.setInt(i++, tcs.getStepId());
-
-            if (preStat.executeUpdate() == 0) {
-                throw new CerberusException(new MessageGeneral(MessageGeneralEnum.CANNOT_UPDATE_TABLE));
-            }
+    private void setUpdateParameters(PreparedStatement preStat, TestCaseStep tcs) throws SQLException {
+        int i = 1;
+        preStat.setString(i++, tcs.getDescription());
+        preStat.setBoolean(i++, tcs.isUsingLibraryStep());
+        i = setLibraryStepParameters(preStat, i, tcs);
+        preStat.setBoolean(i++, tcs.isLibraryStep());
+        preStat.setInt(i++, tcs.getSort());
+        preStat.setString(i++, tcs.getLoop() == null ? "" : tcs.getLoop());
+        preStat.setString(i++, tcs.getConditionOperator() == null ? "" : tcs.getConditionOperator());
+        preStat.setString(i++, tcs.getConditionOptions() == null ? "[]" : tcs.getConditionOptions().toString());
+        preStat.setString(i++, tcs.getConditionValue1() == null ? "" : tcs.getConditionValue1());
+        preStat.setString(i++, tcs.getConditionValue2() == null ? "" : tcs.getConditionValue2());
+        preStat.setString(i++, tcs.getConditionValue3() == null ? "" : tcs.getConditionValue3());
+        preStat.setBoolean(i++, tcs.isExecutionForced());
+        preStat.setString(i++, tcs.getUsrModif() == null ? "" : tcs.getUsrModif());
+
+        preStat.setString(i++, tcs.getTest());
+        preStat.setString(i++, tcs.getTestcase());
+        preStat.setInt(i++, tcs.getStepId());
+    }
 
-        } catch (SQLException exception) {
-            LOG.error("Unable to execute query : " + exception.toString());
+    private int setLibraryStepParameters(PreparedStatement preStat, int i, TestCaseStep tcs) throws SQLException {
+        if (!StringUtil.isEmpty(tcs.getLibraryStepTest())) {
+            preStat.setString(i++, tcs.getLibraryStepTest());
         }
+        if (!StringUtil.isEmpty(tcs.getLibraryStepTestcase())) {
+            preStat.setString(i++, tcs.getLibraryStepTestcase());
+        }
+        if (tcs.getLibraryStepStepId() >= 0) {
+            preStat.setInt(i++, tcs.getLibraryStepStepId());
+        }
+        return i;
     }
 
     @Override
@@ -692,72 +725,18 @@ public class TestCaseStepDAO implements ITestCaseStepDAO {
     public Answer create(TestCaseStep testCaseStep) {
         Answer ans = new Answer();
         MessageEvent msg = null;
-        StringBuilder query = new StringBuilder();
-        query.append("INSERT INTO `testcasestep` (`Test`,`TestCase`,`StepId`,`Sort`,`Description`,`isUsingLibraryStep` ");
-        LOG.warn("SQL : " + query.toString());
-        if (!StringUtil.isEmpty(testCaseStep.getLibraryStepTest())) {
-            query.append(",`libraryStepTest` ");
-        }
-        LOG.warn("SQL2 : " + query.toString());
-        if (!StringUtil.isEmpty(testCaseStep.getLibraryStepTestcase())) {
-            query.append(",`libraryStepTestcase` ");
-        }
-        LOG.warn("SQL3 : " + query.toString());
-        if (testCaseStep.getLibraryStepStepId() >= 0) {
-            query.append(",`libraryStepStepId` ");
-        }
-        LOG.warn("SQL4 : " + query.toString());
-        query.append(", `isLibraryStep`, `loop`, `conditionOperator`, `conditionOptions`, `conditionValue1`, `conditionValue2`, `conditionValue3`, `isExecutionForced`, `usrCreated`) ");
-        query.append("VALUES (?,?,?,?,?,?,?,?");
-        LOG.warn("SQL5 : " + query.toString());
-        if (!StringUtil.isEmpty(testCaseStep.getLibraryStepTest())) {
-            query.append(",?");
-        }
-        LOG.warn("SQL6 : " + query.toString());
-        if (!StringUtil.isEmpty(testCaseStep.getLibraryStepTestcase())) {
-            query.append(",?");
-        }
-        LOG.warn("SQL7 : " + query.toString());
-        if (testCaseStep.getLibraryStepStepId() >= 0) {
-            query.append(",?");
-        }
-        query.append(",?,?,?,?,?,?,?)");
-        LOG.warn("SQL8 : " + query.toString());
+        String query = getCreateQuery(testCaseStep);
         if (LOG.isDebugEnabled()) {
-            LOG.debug("SQL : " + query.toString());
+            LOG.debug("SQL : " + query);
             LOG.debug("SQL.param.libraryStepTest : " + testCaseStep.getLibraryStepTest());
             LOG.debug("SQL.param.libraryStepTestcase : " + testCaseStep.getLibraryStepTestcase());
             LOG.debug("SQL.param.libraryStepStepId : " + testCaseStep.getLibraryStepStepId());
         }
 
         try (Connection connection = databaseSpring.connect();
-                PreparedStatement preStat = connection.prepareStatement(query.toString())) {
+                PreparedStatement preStat = connection.prepareStatement(query)) {
             // Prepare and execute query
-            int i = 1;
-            preStat.setString(i++, testCaseStep.getTest());
-            preStat.setString(i++, testCaseStep.getTestcase());
-            preStat.setInt(i++, testCaseStep.getStepId());
-            preStat.setInt(i++, testCaseStep.getSort());
-            preStat.setString(i++, testCaseStep.getDescription());
-            preStat.setBoolean(i++, testCaseStep.isUsingLibraryStep());
-            if (!StringUtil.isEmpty(testCaseStep.getLibraryStepTest())) {
-                preStat.setString(i++, testCaseStep.getLibraryStepTest());
-            }
-            if (!StringUtil.isEmpty(testCaseStep.getLibraryStepTestcase())) {
-                preStat.setString(i++, testCaseStep.getLibraryStepTestcase());
-            }
-            if (testCaseStep.getLibraryStepStepId() >= 0) {
-                preStat.setInt(i++, testCaseStep.getLibraryStepStepId());
-            }
-            preStat.setBoolean(i++, testCaseStep.isLibraryStep());
-            preStat.setString(i++, testCaseStep.getLoop() == null ? "" : testCaseStep.getLoop());
-            preStat.setString(i++, testCaseStep.getConditionOperator() == null ? "" : testCaseStep.getConditionOperator());
-            preStat.setString(i++, testCaseStep.getConditionOptions() == null ? "[]" : testCaseStep.getConditionOptions().toString());
-            preStat.setString(i++, testCaseStep.getConditionValue1() == null ? "" : testCaseStep.getConditionValue1());
-            preStat.setString(i++, testCaseStep.getConditionValue2() == null ? "" : testCaseStep.getConditionValue2());
-            preStat.setString(i++, testCaseStep.getConditionValue3() == null ? "" : testCaseStep.getConditionValue3());
-            preStat.setBoolean(i++, testCaseStep.isExecutionForced());
-            preStat.setString(i++, testCaseStep.getUsrCreated() == null ? "" : testCaseStep.getUsrCreated());
+            setCreateParameters(preStat, testCaseStep);
             preStat.executeUpdate();
 
             // Set the final message
@@ -778,6 +757,61 @@ public class TestCaseStepDAO implements ITestCaseStepDAO {
         return ans;
     }
 
+    @Override
+    public void addCreate(StatementBatches batches, TestCaseStep testCaseStep) throws SQLException {
+        PreparedStatement preStat = batches.get(getCreateQuery(testCaseStep));
+        setCreateParameters(preStat, testCaseStep);
+        preStat.addBatch();
+    }
+
+    private String getCreateQuery(TestCaseStep testCaseStep) {
+        // Library step columns are only inserted when defined.
+        StringBuilder query = new StringBuilder();
+        query.append("INSERT INTO `testcasestep` (`Test`,`TestCase`,`StepId`,`Sort`,`Description`,`isUsingLibraryStep` ");
+        if (!StringUtil.isEmpty(testCaseStep.getLibraryStepTest())) {
+            query.append(",`libraryStepTest` ");
+        }
+        if (!StringUtil.isEmpty(testCaseStep.getLibraryStepTestcase())) {
+            query.append(",`libraryStepTestcase` ");
+        }
+        if (testCaseStep.getLibraryStepStepId() >= 0) {
+            query.append(",`libraryStepStepId` ");
+        }
+        query.append(", `isLibraryStep`, `loop`, `conditionOperator`, `conditionOptions`, `conditionValue1`, `conditionValue2`, `conditionValue3`, `isExecutionForced`, `usrCreated`) ");
+        query.append("VALUES (?,?,?,?,?,?");
+        if (!StringUtil.isEmpty(testCaseStep.getLibraryStepTest())) {
+            query.append(",?");
+        }
+        if (!StringUtil.isEmpty(testCaseStep.getLibraryStepTestcase())) {
+            query.append(",?");
+        }
+        if (testCaseStep.getLibraryStepStepId() >= 0) {
+            query.append(",?");
+        }
+        query.append(",?,?,?,?,?,?,?,?,?)");
+        return query.toString();
+    }
+
+    private void setCreateParameters(PreparedStatement preStat, TestCaseStep testCaseStep) throws SQLException {
+        int i = 1;
+        preStat.setString(i++, testCaseStep.getTest());
+        preStat.setString(i++, testCaseStep.getTestcase());
+        preStat.setInt(i++, testCaseStep.getStepId());
+        preStat.setInt(i++, testCaseStep.getSort());
+        preStat.setString(i++, testCaseStep.getDescription());
+        preStat.setBoolean(i++, testCaseStep.isUsingLibraryStep());
+        i = setLibraryStepParameters(preStat, i, testCaseStep);
+        preStat.setBoolean(i++, testCaseStep.isLibraryStep());
+        preStat.setString(i++, testCaseStep.getLoop() == null ? "" : testCaseStep.getLoop());
+        preStat.setString(i++, testCaseStep.getConditionOperator() == null ? "" : testCaseStep.getConditionOperator());
+        preStat.setString(i++, testCaseStep.getConditionOptions() == null ? "[]" : testCaseStep.getConditionOptions().toString());
+        preStat.setString(i++, testCaseStep.getConditionValue1() == null ? "" : testCaseStep.getConditionValue1());
+        preStat.setString(i++, testCaseStep.getConditionValue2() == null ? "" : testCaseStep.getConditionValue2());
+        preStat.setString(i++, testCaseStep.getConditionValue3() == null ? "" : testCaseStep.getConditionValue3());
+        preStat.setBoolean(i++, testCaseStep.isExecutionForced());
+        preStat.setString(i++, testCaseStep.getUsrCreated() == null ? "" : testCaseStep.getUsrCreated());
+    }
+
     private TestCaseStep loadFromResultSet(ResultSet resultSet) throws SQLException {
         if (resultSet == null) {
             return null;
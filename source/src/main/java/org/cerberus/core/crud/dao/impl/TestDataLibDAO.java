@@ -19,7 +19,6 @@
  */
 package org.cerberus.core.crud.dao.impl;
 
-import com.google.common.base.Strings;
 import org.apache.commons.fileupload.FileItem;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -445,6 +444,13 @@ public class TestDataLibDAO implements ITestDataLibDAO {
 
     @Override
     public AnswerList<TestDataLib> readByVariousByCriteria(String name, List<String> systems, String environment, String country, String type, int start, int amount, String column, String dir, String searchTerm, Map<String, List<String>> individualSearch) {
+        return new SqlUtil.SearchQueryBuilder(searchTerm)
+                .fullText("tdl.`Name`", "tdl.`Group`", "tdl.`Type`", "tdl.`Database`", "tdl.`DatabaseUrl`", "tdl.`Script`", "tdl.`Service`", "tdl.`ServicePath`", "tdl.`Method`", "tdl.`Envelope`", "tdl.`DatabaseCsv`", "tdl.`CsvUrl`", "tdl.`Description`", "tdl.`System`", "tdl.`Environment`", "tdl.`Country`")
+                .like("tdl.`privateData`", "tdl.`separator`")
+                .read(searchQuery -> readByVariousByCriteria(name, systems, environment, country, type, start, amount, column, dir, individualSearch, searchQuery));
+    }
+
+    private AnswerList<TestDataLib> readByVariousByCriteria(String name, List<String> systems, String environment, String country, String type, int start, int amount, String column, String dir, Map<String, List<String>> individualSearch, SqlUtil.SearchQueryBuilder searchQuery) {
 
         AnswerList<TestDataLib> answer = new AnswerList<>();
         MessageEvent msg;
@@ -463,25 +469,8 @@ public class TestDataLibDAO implements ITestDataLibDAO {
 
         searchSQL.append(" WHERE 1=1 ");
 
-        if (!StringUtil.isEmpty(searchTerm)) {
-            searchSQL.append(" and (tdl.`name` like ?");
-            searchSQL.append(" or tdl.`privateData` like ?");
-            searchSQL.append(" or tdl.`group` like ?");
-            searchSQL.append(" or tdl.`type` like ?");
-            searchSQL.append(" or tdl.`database` like ?");
-            searchSQL.append(" or tdl.`databaseUrl` like ?");
-            searchSQL.append(" or tdl.`script` like ?");
-            searchSQL.append(" or tdl.`service` like ?");
-            searchSQL.append(" or tdl.`servicepath` like ?");
-            searchSQL.append(" or tdl.`method` like ?");
-            searchSQL.append(" or tdl.`envelope` like ?");
-            searchSQL.append(" or tdl.`databaseCsv` like ?");
-            searchSQL.append(" or tdl.`csvUrl` like ?");
-            searchSQL.append(" or tdl.`separator` like ?");
-            searchSQL.append(" or tdl.`description` like ?");
-            searchSQL.append(" or tdl.`system` like ?");
-            searchSQL.append(" or tdl.`environment` like ?");
-            searchSQL.append(" or tdl.`country` like ?) ");
+        if (!searchQuery.isEmpty()) {
+            searchSQL.append(" and ").append(searchQuery.getClause());
         }
         if (individualSearch != null && !individualSearch.isEmpty()) {
             searchSQL.append(" and ( 1=1 ");
@@ -540,26 +529,7 @@ public class TestDataLibDAO implements ITestDataLibDAO {
             PreparedStatement preStat = connection.prepareStatement(query.toString());
             try {
                 int i = 1;
-                if (!StringUtil.isEmpty(searchTerm)) {
-                    preStat.setString(i++, "%" + searchTerm + "%");
-                    preStat.setString(i++, "%" + searchTerm + "%");
-                    preStat.setString(i++, "%" + searchTerm + "%");
-                    preStat.setString(i++, "%" + searchTerm + "%");
-                    preStat.setString(i++, "%" + searchTerm + "%");
-                    preStat.setString(i++, "%" + searchTerm + "%");
-                    preStat.setString(i++, "%" + searchTerm + "%");
-                    preStat.setString(i++, "%" + searchTerm + "%");
-                    preStat.setString(i++, "%" + searchTerm + "%");
-                    preStat.setString(i++, "%" + searchTerm + "%");
-                    preStat.setString(i++, "%" + searchTerm + "%");
-                    preStat.setString(i++, "%" + searchTerm + "%");
-                    preStat.setString(i++, "%" + searchTerm + "%");
-                    preStat.setString(i++, "%" + searchTerm + "%");
-                    preStat.setString(i++, "%" + searchTerm + "%");
-                    preStat.setString(i++, "%" + searchTerm + "%");
-                    preStat.setString(i++, "%" + searchTerm + "%");
-                    preStat.setString(i++, "%" + searchTerm + "%");
-                }
+                i = searchQuery.setParameters(preStat, i);
                 for (String individualColumnSearchValue : individalColumnSearchValues) {
                     preStat.setString(i++, individualColumnSearchValue);
                 }
@@ -1053,6 +1023,13 @@ public class TestDataLibDAO implements ITestDataLibDAO {
 
     @Override
     public AnswerList<String> readDistinctValuesByCriteria(String searchTerm, Map<String, List<String>> individualSearch, String columnName) {
+        return new SqlUtil.SearchQueryBuilder(searchTerm)
+                .fullText("tdl.`Name`", "tdl.`Group`", "tdl.`Type`", "tdl.`Database`", "tdl.`DatabaseUrl`", "tdl.`Script`", "tdl.`Service`", "tdl.`ServicePath`", "tdl.`Method`", "tdl.`Envelope`", "tdl.`DatabaseCsv`", "tdl.`CsvUrl`", "tdl.`Description`", "tdl.`System`", "tdl.`Environment`", "tdl.`Country`")
+                .like("tdl.`privateData`", "tdl.`separator`")
+                .read(searchQuery -> readDistinctValuesByCriteria(individualSearch, columnName, searchQuery));
+    }
+
+    private AnswerList<String> readDistinctValuesByCriteria(Map<String, List<String>> individualSearch, String columnName, SqlUtil.SearchQueryBuilder searchQuery) {
         AnswerList<String> answer = new AnswerList<>();
         MessageEvent msg = new MessageEvent(MessageEventEnum.DATA_OPERATION_ERROR_UNEXPECTED);
         msg.setDescription(msg.getDescription().replace("%DESCRIPTION%", ""));
@@ -1069,23 +1046,8 @@ public class TestDataLibDAO implements ITestDataLibDAO {
 
         searchSQL.append("WHERE 1=1");
 
-        if (!StringUtil.isEmpty(searchTerm)) {
-            searchSQL.append(" and (tdl.`name` like ?");
-            searchSQL.append(" or tdl.`privateData` like ?");
-            searchSQL.append(" or tdl.`group` like ?");
-            searchSQL.append(" or tdl.`type` like ?");
-            searchSQL.append(" or tdl.`database` like ?");
-            searchSQL.append(" or tdl.`databaseUrl` like ?");
-            searchSQL.append(" or tdl.`script` like ?");
-            searchSQL.append(" or tdl.`servicepath` like ?");
-            searchSQL.append(" or tdl.`method` like ?");
-            searchSQL.append(" or tdl.`envelope` like ?");
-            searchSQL.append(" or tdl.`csvUrl` like ?");
-            searchSQL.append(" or tdl.`separator` like ?");
-            searchSQL.append(" or tdl.`description` like ?");
-            searchSQL.append(" or tdl.`system` like ?");
-            searchSQL.append(" or tdl.`environment` like ?");
-            searchSQL.append(" or tdl.`country` like ?) ");
+        if (!searchQuery.isEmpty()) {
+            searchSQL.append(" and ").append(searchQuery.getClause());
         }
         if (individualSearch != null && !individualSearch.isEmpty()) {
             searchSQL.append(" and ( 1=1 ");
@@ -1108,24 +1070,7 @@ public class TestDataLibDAO implements ITestDataLibDAO {
              Statement stm = connection.createStatement();) {
 
             int i = 1;
-            if (!Strings.isNullOrEmpty(searchTerm)) {
-                preStat.setString(i++, "%" + searchTerm + "%");
-                preStat.setString(i++, "%" + searchTerm + "%");
-                preStat.setString(i++, "%" + searchTerm + "%");
-                preStat.setString(i++, "%" + searchTerm + "%");
-                preStat.setString(i++, "%" + searchTerm + "%");
-                preStat.setString(i++, "%" + searchTerm + "%");
-                preStat.setString(i++, "%" + searchTerm + "%");
-                preStat.setString(i++, "%" + searchTerm + "%");
-                preStat.setString(i++, "%" + searchTerm + "%");
-                preStat.setString(i++, "%" + searchTerm + "%");
-                preStat.setString(i++, "%" + searchTerm + "%");
-                preStat.setString(i++, "%" + searchTerm + "%");
-                preStat.setString(i++, "%" + searchTerm + "%");
-                preStat.setString(i++, "%" + searchTerm + "%");
-                preStat.setString(i++, "%" + searchTerm + "%");
-                preStat.setString(i++, "%" + searchTerm + "%");
-            }
+            i = searchQuery.setParameters(preStat, i);
             for (String individualColumnSearchValue : individalColumnSearchValues) {
                 preStat.setString(i++, individualColumnSearchValue);
             }
@@ -556,6 +556,26 @@ public class UserDAO implements IUserDAO {
         return bool;
     }
 
+    @Override
+    public String readAPIKey(int userID) {
+        final String query = "SELECT apiKey FROM user WHERE userid = ?";
+
+        LOG.debug("SQL : {}", query);
+
+        try (Connection connection = this.databaseSpring.connect();
+             PreparedStatement preStat = connection.prepareStatement(query)) {
+            preStat.setInt(1, userID);
+            try (ResultSet rs = preStat.executeQuery()) {
+                if (rs.next()) {
+                    return rs.getString("apiKey");
+                }
+            }
+        } catch (SQLException exception) {
+            LOG.warn("Unable to execute query : " + exception.toString());
+        }
+        return null;
+    }
+
     @Override
     public List<User> findTestDataListByCriteria(int start, int amount, String column, String dir, String searchTerm, String individualSearch) {
         List<User> result = new ArrayList<>();
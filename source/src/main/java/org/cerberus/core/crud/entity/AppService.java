@@ -29,6 +29,7 @@ import org.json.JSONArray;
 import org.json.JSONException;
 import org.json.JSONObject;
 
+import java.io.File;
 import java.sql.Timestamp;
 import java.util.List;
 
@@ -103,6 +104,8 @@ public class AppService {
     @EqualsAndHashCode.Exclude
     private byte[] file;
     @EqualsAndHashCode.Exclude
+    private transient File responseFile; // Large downloaded content spooled on disk instead of file, moved into the execution artifacts when recorded.
+    @EqualsAndHashCode.Exclude
     private long kafkaResponseOffset;
     @EqualsAndHashCode.Exclude
     private int kafkaResponsePartition;
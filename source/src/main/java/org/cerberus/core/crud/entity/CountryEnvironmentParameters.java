@@ -30,7 +30,7 @@ import javax.persistence.Id;
 @Entity
 @Getter
 @Setter
-@Builder
+@Builder(toBuilder = true)
 @EqualsAndHashCode
 @AllArgsConstructor
 @NoArgsConstructor
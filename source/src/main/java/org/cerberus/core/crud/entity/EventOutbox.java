@@ -0,0 +1,64 @@
+/**
+ * Cerberus Copyright (C) 2013 - 2017 cerberustesting
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This file is part of Cerberus.
+ *
+ * Cerberus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Cerberus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Cerberus.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cerberus.core.crud.entity;
+
+import java.sql.Timestamp;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Event hook notification waiting to be delivered (or already delivered) by
+ * the event dispatcher. The payload is the snapshot of the object of the
+ * event when it was triggered.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EventOutbox {
+
+    private long id;
+    private String eventReference;
+    private int eventHookId;
+    private String objectKey1;
+    private String objectKey2;
+    private String objectKey3;
+    private String objectKey4;
+    private String payload;
+    private String status;
+    private int nbRetry;
+    private Timestamp nextTryDate;
+    private String message;
+    private String usrCreated;
+    private Timestamp dateCreated;
+    private String usrModif;
+    private Timestamp dateModif;
+
+    /**
+     * Invariant STATUS String.
+     */
+    public static final String STATUS_QUEUED = "QUEUED";
+    public static final String STATUS_SENDING = "SENDING";
+    public static final String STATUS_DONE = "DONE";
+    public static final String STATUS_ERROR = "ERROR";
+
+}
@@ -46,8 +46,35 @@ public class Parameter {
     public static final String VALUE_queueexecution_global_threadpoolsize_master = "cerberus_queueexecution_global_threadpoolsize_master";
     public static final String VALUE_cerberus_applicationobject_path = "cerberus_applicationobject_path";
     public static final String VALUE_cerberus_exeautomedia_path = "cerberus_exeautomedia_path";
+    public static final String VALUE_cerberus_exeautomedia_packthreshold = "cerberus_exeautomedia_packthreshold";
+    public static final String VALUE_cerberus_exeautomedia_dedup_boolean = "cerberus_exeautomedia_dedup_boolean";
     public static final String VALUE_cerberus_exemanualmedia_path = "cerberus_exemanualmedia_path";
+    public static final String VALUE_cerberus_executionretentionjob_active = "cerberus_executionretentionjob_active";
+    public static final String VALUE_cerberus_executionretentionjob_period = "cerberus_executionretentionjob_period";
+    public static final String VALUE_cerberus_executionretention_days = "cerberus_executionretention_days";
+    public static final String VALUE_cerberus_executionretention_keeptagregex = "cerberus_executionretention_keeptagregex";
+    public static final String VALUE_cerberus_executionretention_batchsize = "cerberus_executionretention_batchsize";
+    public static final String VALUE_cerberus_executionretention_pausems = "cerberus_executionretention_pausems";
+    public static final String VALUE_cerberus_executionretention_archive_boolean = "cerberus_executionretention_archive_boolean";
+    public static final String VALUE_cerberus_executionretention_archivepath = "cerberus_executionretention_archivepath";
+    public static final String VALUE_cerberus_logeventretention_days = "cerberus_logeventretention_days";
+    public static final String VALUE_cerberus_queuestatretention_days = "cerberus_queuestatretention_days";
+    public static final String VALUE_cerberus_queuestat_flushsize = "cerberus_queuestat_flushsize";
+    public static final String VALUE_cerberus_queuestatcompactionjob_period = "cerberus_queuestatcompactionjob_period";
+    public static final String VALUE_cerberus_queuestatcompaction_days = "cerberus_queuestatcompaction_days";
+    public static final String VALUE_cerberus_queueshistorystatgraph_maxnbpoints = "cerberus_queueshistorystatgraph_maxnbpoints";
     public static final String VALUE_cerberus_ftpfile_path = "cerberus_ftpfile_path";
+    public static final String VALUE_cerberus_ftp_pool_maxidle = "cerberus_ftp_pool_maxidle";
+    public static final String VALUE_cerberus_ftp_pool_idletimeout = "cerberus_ftp_pool_idletimeout";
+    public static final String VALUE_cerberus_ftp_streamthreshold = "cerberus_ftp_streamthreshold";
+    public static final String VALUE_cerberus_robotexecutor_healthcheck_period = "cerberus_robotexecutor_healthcheck_period";
+    public static final String VALUE_cerberus_robotexecutor_healthcheck_timeout = "cerberus_robotexecutor_healthcheck_timeout";
+    public static final String VALUE_cerberus_property_parallelcalculation_poolsize = "cerberus_property_parallelcalculation_poolsize";
+    public static final String VALUE_cerberus_robot_sessionpool_size = "cerberus_robot_sessionpool_size";
+    public static final String VALUE_cerberus_robot_sessionpool_idletimeout = "cerberus_robot_sessionpool_idletimeout";
+    public static final String VALUE_cerberus_robot_sessionpool_maxidleperhost = "cerberus_robot_sessionpool_maxidleperhost";
+    public static final String VALUE_cerberus_robot_sessionpool_freshbrowserlabel = "cerberus_robot_sessionpool_freshbrowserlabel";
+    public static final String VALUE_cerberus_execution_parallelstep_poolsize = "cerberus_execution_parallelstep_poolsize";
     public static final String VALUE_cerberus_testdatalibcsv_path = "cerberus_testdatalibcsv_path";
     public static final String VALUE_cerberus_url = "cerberus_url";
     public static final String VALUE_cerberus_gui_url = "cerberus_gui_url";
@@ -60,6 +87,9 @@ public class Parameter {
     public static final String VALUE_cerberus_queueexecution_enable = "cerberus_queueexecution_enable";
     public static final String VALUE_cerberus_splashpage_enable = "cerberus_splashpage_enable";
     public static final String VALUE_cerberus_apikey_enable = "cerberus_apikey_enable";
+    public static final String VALUE_cerberus_apikey_cachettl = "cerberus_apikey_cachettl";
+    public static final String VALUE_cerberus_apikey_maxfailures = "cerberus_apikey_maxfailures";
+    public static final String VALUE_cerberus_apikey_trustedproxies = "cerberus_apikey_trustedproxies";
     public static final String VALUE_cerberus_apikey_value1 = "cerberus_apikey_value1";
     public static final String VALUE_cerberus_apikey_value2 = "cerberus_apikey_value2";
     public static final String VALUE_cerberus_apikey_value3 = "cerberus_apikey_value3";
@@ -86,6 +116,8 @@ public class Parameter {
     public static final String VALUE_cerberus_testcaseautofeed_enable = "cerberus_testcaseautofeed_enable";
     public static final String VALUE_cerberus_instancelogo_url = "cerberus_instancelogo_url";
     public static final String VALUE_cerberus_pdfcampaignreportdisplaycountry_boolean = "cerberus_pdfcampaignreportdisplaycountry_boolean";
+    public static final String VALUE_cerberus_pdfcampaignreport_threadpoolsize = "cerberus_pdfcampaignreport_threadpoolsize";
+    public static final String VALUE_cerberus_pdfcampaignreport_cachesize = "cerberus_pdfcampaignreport_cachesize";
 
     public static final String SECUREDPARAMINSQLCLAUSE = "(\"cerberus_accountcreation_defaultpassword\",\"cerberus_proxyauthentification_password\",\"cerberus_jenkinsadmin_password\","
             + "\"cerberus_smtp_password\",\"cerberus_executeCerberusCommand_password\",\"cerberus_xraycloud_clientsecret\",\"cerberus_xraycloud_clientid\",\"cerberus_xraydc_token\")";
@@ -30,6 +30,11 @@ public class QueueStat {
     private int globalConstrain;
     private int currentlyRunning;
     private int queueSize;
+    // Min and max of the samples when the stat is a downsampled bucket.
+    private int currentlyRunningMin;
+    private int currentlyRunningMax;
+    private int queueSizeMin;
+    private int queueSizeMax;
     private String usrCreated;
     private Timestamp dateCreated;
     private String usrModif;
@@ -67,6 +72,38 @@ public class QueueStat {
         this.queueSize = queueSize;
     }
 
+    public int getCurrentlyRunningMin() {
+        return currentlyRunningMin;
+    }
+
+    public void setCurrentlyRunningMin(int currentlyRunningMin) {
+        this.currentlyRunningMin = currentlyRunningMin;
+    }
+
+    public int getCurrentlyRunningMax() {
+        return currentlyRunningMax;
+    }
+
+    public void setCurrentlyRunningMax(int currentlyRunningMax) {
+        this.currentlyRunningMax = currentlyRunningMax;
+    }
+
+    public int getQueueSizeMin() {
+        return queueSizeMin;
+    }
+
+    public void setQueueSizeMin(int queueSizeMin) {
+        this.queueSizeMin = queueSizeMin;
+    }
+
+    public int getQueueSizeMax() {
+        return queueSizeMax;
+    }
+
+    public void setQueueSizeMax(int queueSizeMax) {
+        this.queueSizeMax = queueSizeMax;
+    }
+
     public String getUsrCreated() {
         return usrCreated;
     }
@@ -0,0 +1,56 @@
+/**
+ * Cerberus Copyright (C) 2013 - 2017 cerberustesting
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This file is part of Cerberus.
+ *
+ * Cerberus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Cerberus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Cerberus.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cerberus.core.crud.entity;
+
+import java.sql.Date;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Daily statistics of the tags created on a given day (UTC) for a system and a
+ * campaign. Rows with an empty system aggregate all the tags whatever their
+ * system. Counters are the sum of the counters of the tag table.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TagStatDaily {
+
+    private String system;
+    private String campaign;
+    private Date day;
+    private int nbTag;
+    private int nbExe;
+    private int nbExeUsefull;
+    private int nbOK;
+    private int nbKO;
+    private int nbFA;
+    private int nbNA;
+    private int nbNE;
+    private int nbWE;
+    private int nbPE;
+    private int nbQU;
+    private int nbQE;
+    private int nbCA;
+
+}
@@ -36,6 +36,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * @author bcivel
@@ -44,6 +45,8 @@ import java.util.TreeMap;
 public class TestCaseExecution {
 
     private static final Logger LOG = LogManager.getLogger(TestCaseExecution.class);
+    // Context of the step executed by the current thread when steps are executed concurrently.
+    private static final ThreadLocal<StepContext> STEP_CONTEXT = new ThreadLocal<>();
 
     private long id;
     private String system;
@@ -141,9 +144,11 @@ public class TestCaseExecution {
     // This is used to keep track of all property calculated within a step/action/control. It is reset each time we enter a step/action/control and the property name is added to the list each time it gets calculated. In case it was already asked for calculation, we stop the execution with FA message.
     private List<String> recursiveAlreadyCalculatedPropertiesList;
     private List<TestCaseCountryProperties> testCaseCountryPropertyList;
+    // Datalibs that can be calculated outside the execution thread, by name. Their definition is only read once per execution.
+    private final Map<String, Boolean> parallelizableDataLibs = new ConcurrentHashMap<>();
 
-    // List of strings that needs to be secured and hidden from end users.
-    private HashMap<String, String> secrets;
+    // List of strings that needs to be secured and hidden from end users. Copied on write as steps can be executed concurrently.
+    private volatile HashMap<String, String> secrets;
 
     private List<TestCaseExecutionQueueDep> testCaseExecutionQueueDepList;
 
@@ -234,16 +239,181 @@ public class TestCaseExecution {
         this.networkTrafficIndexList.add(newIndex);
     }
 
-    public void appendSecret(String secret) {
+    public synchronized void appendSecret(String secret) {
         if (secret != null) {
-            this.secrets.put(secret, "");
+            HashMap<String, String> newSecrets = new HashMap<>(this.secrets);
+            newSecrets.put(secret, "");
+            this.secrets = newSecrets;
         }
     }
 
-    public void appendSecrets(List<String> secrets) {
+    public synchronized void appendSecrets(List<String> secrets) {
+        HashMap<String, String> newSecrets = new HashMap<>(this.secrets);
         secrets.forEach(secret -> {
-            this.secrets.put(secret, "");
+            newSecrets.put(secret, "");
         });
+        this.secrets = newSecrets;
+    }
+
+    /**
+     * Open a step context on the current thread. Until it is closed, the last
+     * service called, the app type engine and the list of properties
+     * calculated by the current action are specific to the step executed by
+     * the thread. This allows independent steps to be executed concurrently.
+     *
+     * @param stepExecution step executed by the thread.
+     */
+    public void openStepContext(TestCaseStepExecution stepExecution) {
+        StepContext context = new StepContext(this);
+        context.stepExecution = stepExecution;
+        context.lastServiceCalled = this.lastServiceCalled;
+        context.originalLastServiceCalled = this.originalLastServiceCalled;
+        context.originalLastServiceCalledContent = this.originalLastServiceCalledContent;
+        context.appTypeEngine = this.appTypeEngine;
+        STEP_CONTEXT.set(context);
+    }
+
+    /**
+     * Close the step context of the current thread.
+     *
+     * @return the context that was closed, so that it can be applied back to
+     * the execution with {@link #applyStepContext(StepContext)}.
+     */
+    public StepContext closeStepContext() {
+        StepContext context = getStepContext();
+        STEP_CONTEXT.remove();
+        return context;
+    }
+
+    /**
+     * Apply the service call information of a closed step context to the
+     * execution, as if the step had been executed sequentially.
+     *
+     * @param context
+     */
+    public void applyStepContext(StepContext context) {
+        if (context != null) {
+            this.lastServiceCalled = context.lastServiceCalled;
+            this.originalLastServiceCalled = context.originalLastServiceCalled;
+            this.originalLastServiceCalledContent = context.originalLastServiceCalledContent;
+        }
+    }
+
+    /**
+     * @return true when the current thread executes a step with a step
+     * context opened on this execution.
+     */
+    public boolean isStepContextOpened() {
+        return getStepContext() != null;
+    }
+
+    private StepContext getStepContext() {
+        StepContext context = STEP_CONTEXT.get();
+        return ((context != null) && (context.execution == this)) ? context : null;
+    }
+
+    /**
+     * @return the step executed by the current thread when a step context is
+     * opened, else the last step registered on the execution.
+     */
+    public TestCaseStepExecution getCurrentStepExecution() {
+        StepContext context = getStepContext();
+        if (context != null) {
+            return context.stepExecution;
+        }
+        if ((this.testCaseStepExecutionList == null) || this.testCaseStepExecutionList.isEmpty()) {
+            return null;
+        }
+        return this.testCaseStepExecutionList.get(this.testCaseStepExecutionList.size() - 1);
+    }
+
+    public AppService getLastServiceCalled() {
+        StepContext context = getStepContext();
+        return context == null ? this.lastServiceCalled : context.lastServiceCalled;
+    }
+
+    public void setLastServiceCalled(AppService lastServiceCalled) {
+        StepContext context = getStepContext();
+        if (context == null) {
+            this.lastServiceCalled = lastServiceCalled;
+        } else {
+            context.lastServiceCalled = lastServiceCalled;
+        }
+    }
+
+    public String getOriginalLastServiceCalled() {
+        StepContext context = getStepContext();
+        return context == null ? this.originalLastServiceCalled : context.originalLastServiceCalled;
+    }
+
+    public void setOriginalLastServiceCalled(String originalLastServiceCalled) {
+        StepContext context = getStepContext();
+        if (context == null) {
+            this.originalLastServiceCalled = originalLastServiceCalled;
+        } else {
+            context.originalLastServiceCalled = originalLastServiceCalled;
+        }
+    }
+
+    public String getOriginalLastServiceCalledContent() {
+        StepContext context = getStepContext();
+        return context == null ? this.originalLastServiceCalledContent : context.originalLastServiceCalledContent;
+    }
+
+    public void setOriginalLastServiceCalledContent(String originalLastServiceCalledContent) {
+        StepContext context = getStepContext();
+        if (context == null) {
+            this.originalLastServiceCalledContent = originalLastServiceCalledContent;
+        } else {
+            context.originalLastServiceCalledContent = originalLastServiceCalledContent;
+        }
+    }
+
+    public String getAppTypeEngine() {
+        StepContext context = getStepContext();
+        return context == null ? this.appTypeEngine : context.appTypeEngine;
+    }
+
+    public void setAppTypeEngine(String appTypeEngine) {
+        StepContext context = getStepContext();
+        if (context == null) {
+            this.appTypeEngine = appTypeEngine;
+        } else {
+            context.appTypeEngine = appTypeEngine;
+        }
+    }
+
+    public List<String> getRecursiveAlreadyCalculatedPropertiesList() {
+        StepContext context = getStepContext();
+        return context == null ? this.recursiveAlreadyCalculatedPropertiesList : context.recursiveAlreadyCalculatedPropertiesList;
+    }
+
+    public void setRecursiveAlreadyCalculatedPropertiesList(List<String> recursiveAlreadyCalculatedPropertiesList) {
+        StepContext context = getStepContext();
+        if (context == null) {
+            this.recursiveAlreadyCalculatedPropertiesList = recursiveAlreadyCalculatedPropertiesList;
+        } else {
+            context.recursiveAlreadyCalculatedPropertiesList = recursiveAlreadyCalculatedPropertiesList;
+        }
+    }
+
+    /**
+     * Execution context of a step executed concurrently with other steps of
+     * the same execution.
+     */
+    public static class StepContext {
+
+        private final TestCaseExecution execution;
+        private TestCaseStepExecution stepExecution;
+        private AppService lastServiceCalled;
+        private String originalLastServiceCalled;
+        private String originalLastServiceCalledContent;
+        private String appTypeEngine;
+        private List<String> recursiveAlreadyCalculatedPropertiesList;
+
+        private StepContext(TestCaseExecution execution) {
+            this.execution = execution;
+        }
     }
 
     public void setResultMessage(MessageGeneral resultMessage) {
@@ -254,13 +424,13 @@ public class TestCaseExecution {
         }
     }
 
-    public void addFileList(TestCaseExecutionFile file) {
+    public synchronized void addFileList(TestCaseExecutionFile file) {
         if (file != null) {
             this.fileList.add(file);
         }
     }
 
-    public void addFileList(List<TestCaseExecutionFile> fileList) {
+    public synchronized void addFileList(List<TestCaseExecutionFile> fileList) {
         if (fileList != null) {
             for (TestCaseExecutionFile testCaseExecutionFile : fileList) {
                 this.fileList.add(testCaseExecutionFile);
@@ -378,9 +548,11 @@ public class TestCaseExecution {
 
                 // Looping on ** Execution Data **
                 array = new JSONArray();
-                for (String key1 : this.getTestCaseExecutionDataMap().keySet()) {
-                    TestCaseExecutionData tced = this.getTestCaseExecutionDataMap().get(key1);
-                    array.put((tced).toJson(true, false, this.getSecrets()));
+                synchronized (this) {
+                    for (String key1 : this.getTestCaseExecutionDataMap().keySet()) {
+                        TestCaseExecutionData tced = this.getTestCaseExecutionDataMap().get(key1);
+                        array.put((tced).toJson(true, false, this.getSecrets()));
+                    }
                 }
                 result.put("testCaseExecutionDataList", array);
 
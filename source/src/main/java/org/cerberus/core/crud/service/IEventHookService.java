@@ -55,6 +55,24 @@ public interface IEventHookService {
      */
     AnswerList<EventHook> readByEventReference(List<String> eventReference, List<String> objectKey1);
 
+    /**
+     * Get the active hooks of the event from the in memory cache. Cache is
+     * refreshed after cerberus_eventhook_cacheduration seconds or when a hook
+     * is modified from the current instance.
+     *
+     * @param eventReference
+     * @return
+     */
+    List<EventHook> readActiveByEventReferenceFromCache(String eventReference);
+
+    /**
+     * Get the hook from the in memory cache.
+     *
+     * @param id
+     * @return null if the hook does not exist anymore.
+     */
+    EventHook readByKeyFromCache(Integer id);
+
     /**
      *
      * @param campaign
@@ -0,0 +1,92 @@
+/**
+ * Cerberus Copyright (C) 2013 - 2017 cerberustesting
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This file is part of Cerberus.
+ *
+ * Cerberus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Cerberus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Cerberus.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cerberus.core.crud.service;
+
+import java.util.List;
+import org.cerberus.core.crud.entity.EventOutbox;
+import org.cerberus.core.util.answer.Answer;
+import org.cerberus.core.util.answer.AnswerList;
+
+/**
+ * Event hook notifications waiting to be delivered.
+ */
+public interface IEventOutboxService {
+
+    /**
+     * Persist the notifications to deliver and signal the dispatcher that new
+     * entries are available.
+     *
+     * @param objectList
+     * @return
+     */
+    Answer createList(List<EventOutbox> objectList);
+
+    /**
+     *
+     * @param limit
+     * @return
+     */
+    AnswerList<EventOutbox> readToTreat(int limit);
+
+    /**
+     *
+     * @param id
+     * @return true if the entry was claimed by the current instance.
+     */
+    boolean updateToSending(long id);
+
+    /**
+     *
+     * @param id
+     * @param message
+     * @return
+     */
+    Answer updateToDone(long id, String message);
+
+    /**
+     * Reschedule the entry after a delivery failure or move it to ERROR when
+     * the maximum number of attempts is reached.
+     *
+     * @param object
+     * @param message
+     * @return
+     */
+    Answer updateToRetryOrError(EventOutbox object, String message);
+
+    /**
+     *
+     * @param timeOutInS
+     * @return
+     */
+    int updateToQueuedOldSending(int timeOutInS);
+
+    /**
+     *
+     * @param nbDays
+     * @return
+     */
+    Answer deleteDoneOlderThan(int nbDays);
+
+    /**
+     * @return true if new entries were created since last call.
+     */
+    boolean consumeNewEntrySignal();
+
+}
@@ -53,6 +53,19 @@ public interface ILogEventService {
      */
     AnswerList<LogEvent> readByCriteria(int start, int amount, String colName, String dir, String searchTerm, Map<String, List<String>> individualSearch);
 
+    /**
+     *
+     * @param start
+     * @param amount
+     * @param colName
+     * @param dir
+     * @param searchTerm
+     * @param individualSearch
+     * @param cursor keyset cursor of the page to read, null for the first page
+     * @return
+     */
+    AnswerList<LogEvent> readByCriteria(int start, int amount, String colName, String dir, String searchTerm, Map<String, List<String>> individualSearch, String cursor);
+
     /**
      *
      * @param logevent
@@ -84,7 +97,8 @@ public interface ILogEventService {
     /**
      * This method is to be used when log is done from a public Servlet. It will
      * automatically check if the log of Public API Calls is activated before
-     * recording the log
+     * recording the log. Logs are written asynchronously by batch so the
+     * public call does not wait for the insert.
      *
      * @param page
      * @param action
@@ -69,4 +69,12 @@ public interface IMyVersionService {
      */
     boolean update(MyVersion myversion);
 
+    /**
+     * Atomically add 1 to the integer value of the key.
+     *
+     * @param key
+     * @return true if the update was done. False in case there were an issue.
+     */
+    boolean increment(String key);
+
 }
@@ -57,6 +57,35 @@ public interface IQueueStatService {
      */
     Answer create(QueueStat object);
 
+    /**
+     * Keep in memory the current state of the queue. Nothing is written to
+     * the database, the state is sampled at fixed cadence by
+     * {@link #sample()}.
+     *
+     * @param globalConstrain
+     * @param currentlyRunning
+     * @param queueSize
+     */
+    void record(int globalConstrain, int currentlyRunning, int queueSize);
+
+    /**
+     * Add the last recorded state to the in memory ring buffer and flush the
+     * buffer to the database once it holds enough samples.
+     */
+    void sample();
+
+    /**
+     * Write all the buffered samples to the database in a single batch.
+     */
+    void flush();
+
+    /**
+     * Compact in background the samples older than
+     * cerberus_queuestatcompaction_days into hourly min/avg/max buckets. Does
+     * nothing if already running on this or another instance.
+     */
+    void compact();
+
     /**
      *
      * @param answerItem
@@ -0,0 +1,120 @@
+/**
+ * Cerberus Copyright (C) 2013 - 2017 cerberustesting
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This file is part of Cerberus.
+ *
+ * Cerberus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Cerberus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Cerberus.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cerberus.core.crud.service;
+
+import java.util.HashMap;
+import org.cerberus.core.crud.entity.Application;
+import org.cerberus.core.crud.entity.BuildRevisionInvariant;
+import org.cerberus.core.crud.entity.CountryEnvParam;
+import org.cerberus.core.crud.entity.CountryEnvironmentParameters;
+import org.cerberus.core.crud.entity.Invariant;
+import org.cerberus.core.crud.entity.Robot;
+import org.cerberus.core.crud.entity.RobotExecutor;
+import org.cerberus.core.exception.CerberusException;
+import org.cerberus.core.util.answer.AnswerItem;
+
+/**
+ * Read-through cache of the reference data used when starting an execution
+ * (invariants, applications, environments, robots). Every create, update or
+ * delete on those tables must call {@link #invalidate()} so that the version
+ * stored in myversion table is increased and the other instances drop their
+ * copy on their next version check.
+ */
+public interface IReferenceDataCacheService {
+
+    /**
+     * @param idName
+     * @param value
+     * @return same as {@link IInvariantService#readByKey(String, String)}
+     */
+    AnswerItem<Invariant> readInvariant(String idName, String value);
+
+    /**
+     * @param idName
+     * @param defaultValue
+     * @return same as
+     * {@link IInvariantService#readToHashMapGp1IntegerByIdname(String, Integer)}
+     */
+    HashMap<String, Integer> readInvariantGp1Integer(String idName, Integer defaultValue);
+
+    /**
+     * @param application
+     * @return same as {@link IApplicationService#readByKey(String)}
+     */
+    AnswerItem<Application> readApplication(String application);
+
+    /**
+     * @param system
+     * @param country
+     * @param environment
+     * @return same as
+     * {@link ICountryEnvParamService#readByKey(String, String, String)}
+     */
+    AnswerItem<CountryEnvParam> readCountryEnvParam(String system, String country, String environment);
+
+    /**
+     * The returned object is a copy that the caller can modify.
+     *
+     * @param system
+     * @param country
+     * @param environment
+     * @param application
+     * @return same as
+     * {@link ICountryEnvironmentParametersService#readByKey(String, String, String, String)}
+     */
+    AnswerItem<CountryEnvironmentParameters> readCountryEnvironmentParameters(String system, String country, String environment, String application);
+
+    /**
+     * The returned object is a copy that the caller can modify.
+     *
+     * @param robot
+     * @return same as {@link IRobotService#readByKey(String)}
+     * @throws CerberusException
+     */
+    Robot readRobot(String robot) throws CerberusException;
+
+    /**
+     * @param robot
+     * @param executor
+     * @return same as {@link IRobotExecutorService#readByKey(String, String)}
+     */
+    AnswerItem<RobotExecutor> readRobotExecutor(String robot, String executor);
+
+    /**
+     * @param system
+     * @param level
+     * @param versionName
+     * @return same as
+     * {@link IBuildRevisionInvariantService#readByKey(String, Integer, String)}
+     */
+    AnswerItem<BuildRevisionInvariant> readBuildRevisionInvariant(String system, Integer level, String versionName);
+
+    /**
+     * Drop the local cache and increase the reference data version so that
+     * other instances drop theirs too.
+     */
+    void invalidate();
+
+    /**
+     * Drop the local cache only.
+     */
+    void purge();
+
+}
@@ -0,0 +1,56 @@
+/**
+ * Cerberus Copyright (C) 2013 - 2017 cerberustesting
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This file is part of Cerberus.
+ *
+ * Cerberus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Cerberus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Cerberus.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cerberus.core.crud.service;
+
+import java.sql.Timestamp;
+import java.util.Date;
+import java.util.List;
+import org.cerberus.core.crud.entity.TagStatDaily;
+import org.cerberus.core.util.answer.AnswerList;
+
+public interface ITagStatDailyService {
+
+    /**
+     * Recompute in background the daily statistics of the day (UTC) the tag
+     * was created. Calls for a day whose refresh did not start yet are
+     * merged into that refresh.
+     *
+     * @param tagDateCreated
+     */
+    void refreshDay(Timestamp tagDateCreated);
+
+    /**
+     * Compute in background the daily statistics of the days that were never
+     * computed (tags created before the statistics table existed). Does
+     * nothing if already done or running, here or on another instance.
+     */
+    void backfill();
+
+    /**
+     * Statistics summed per day between the days (UTC) of from and to.
+     *
+     * @param systems
+     * @param from
+     * @param to
+     * @return
+     */
+    AnswerList<TagStatDaily> readByVarious(List<String> systems, Date from, Date to);
+
+}
@@ -43,6 +43,13 @@ public interface ITestCaseExecutionHttpStatService {
      */
     Answer create(TestCaseExecutionHttpStat object);
 
+    /**
+     * Extract the values of the http stats that have been stored before the
+     * values table existed. Done in background on a single instance of the
+     * cluster, does nothing if already running or finished.
+     */
+    void backfillMetrics();
+
     /**
      *
      * @param tce
@@ -197,6 +197,21 @@ public interface ITestCaseExecutionService {
      */
     AnswerList<TestCaseExecution> readByCriteria(int start, int amount, String sort, String searchTerm, Map<String, List<String>> individualSearch, List<String> individualLike, List<String> system) throws CerberusException;
 
+    /**
+     * @param start
+     * @param amount
+     * @param colName
+     * @param dir
+     * @param searchTerm
+     * @param individualSearch
+     * @param individualLike
+     * @param system
+     * @param cursor keyset cursor of the page to read, null for the first page
+     * @return
+     * @throws CerberusException
+     */
+    AnswerList<TestCaseExecution> readByCriteria(int start, int amount, String colName, String dir, String searchTerm, Map<String, List<String>> individualSearch, List<String> individualLike, List<String> system, String cursor) throws CerberusException;
+
     /**
      * @param tag
      * @return
@@ -0,0 +1,80 @@
+/**
+ * Cerberus Copyright (C) 2013 - 2017 cerberustesting
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This file is part of Cerberus.
+ *
+ * Cerberus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Cerberus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Cerberus.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cerberus.core.crud.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.List;
+import org.cerberus.core.crud.entity.TestCase;
+import org.cerberus.core.dto.TestCaseImportReportDTO;
+
+/**
+ * Streaming export and import of testcases with all their dependencies in the
+ * Cerberus json format. Testcases are read and written one at a time so that
+ * memory does not depend on the number of testcases.
+ */
+public interface ITestCaseImportExportService {
+
+    /**
+     * Import keeping the same folder and ids. Testcases that already exist
+     * are reported in error.
+     */
+    String IMPORTOPTION_KEEPIDS = "1";
+    /**
+     * Import on the same folder with new ids.
+     */
+    String IMPORTOPTION_NEWIDS = "2";
+    /**
+     * Import keeping the same folder and ids. Testcases that already exist
+     * are left untouched.
+     */
+    String IMPORTOPTION_SKIPEXISTING = "3";
+    /**
+     * Import keeping the same folder and ids. Testcases that already exist
+     * are deleted and replaced in the same transaction.
+     */
+    String IMPORTOPTION_REPLACEEXISTING = "4";
+
+    /**
+     * Write the export of the testcases to outputStream. Each testcase is
+     * loaded with its dependencies only when it is written. The stream is not
+     * closed.
+     *
+     * @param testcases testcases to export, only their keys are used.
+     * @param user
+     * @param outputStream
+     * @throws IOException
+     */
+    void exportTestCases(List<TestCase> testcases, String user, OutputStream outputStream) throws IOException;
+
+    /**
+     * Import all the testcases of an export file read from inputStream.
+     * Testcases are created with their scripts by batch, each batch in one
+     * transaction. The version of the file can be anywhere in the root
+     * object. The stream is not closed.
+     *
+     * @param inputStream
+     * @param importOption one of the IMPORTOPTION values.
+     * @param report report updated with the result of each testcase.
+     */
+    void importTestCases(InputStream inputStream, String importOption, TestCaseImportReportDTO report);
+
+}
@@ -0,0 +1,68 @@
+/**
+ * Cerberus Copyright (C) 2013 - 2017 cerberustesting
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This file is part of Cerberus.
+ *
+ * Cerberus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Cerberus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Cerberus.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cerberus.core.crud.service;
+
+import java.util.List;
+import org.cerberus.core.crud.entity.TestCase;
+import org.cerberus.core.crud.entity.TestCaseCountryProperties;
+import org.cerberus.core.crud.entity.TestCaseStep;
+import org.cerberus.core.crud.entity.TestCaseStepAction;
+import org.cerberus.core.crud.entity.TestCaseStepActionControl;
+import org.cerberus.core.exception.CerberusException;
+import org.cerberus.core.util.answer.Answer;
+
+public interface ITestCaseScriptService {
+
+    /**
+     * Save the whole script of a testcase. The script in database (read from
+     * initialTest/initialTestcase) is compared to the new one and only the
+     * differences are applied, in a single transaction. The save is refused
+     * if the testcase is no longer at expectedVersion.
+     *
+     * @param testcase testcase as read from database. Its version is
+     * incremented when the save is done.
+     * @param initialTest
+     * @param initialTestcase
+     * @param expectedVersion version of the testcase the new script is based
+     * on.
+     * @param usrModif
+     * @param properties
+     * @param steps
+     * @param actions
+     * @param controls
+     * @return
+     * @throws CerberusException
+     */
+    Answer saveScript(TestCase testcase, String initialTest, String initialTestcase, int expectedVersion, String usrModif,
+            List<TestCaseCountryProperties> properties, List<TestCaseStep> steps, List<TestCaseStepAction> actions,
+            List<TestCaseStepActionControl> controls) throws CerberusException;
+
+    /**
+     * Create new testcases with their countries, dependencies, labels and
+     * scripts in a single transaction, after deleting the existing testcases
+     * they replace. If anything fails, nothing is deleted nor created.
+     *
+     * @param replaced existing testcases to delete, can be empty.
+     * @param testcases
+     * @return
+     */
+    Answer createTestCases(List<TestCase> replaced, List<TestCase> testcases);
+
+}
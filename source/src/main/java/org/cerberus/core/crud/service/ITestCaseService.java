@@ -382,6 +382,15 @@ public interface ITestCaseService {
      */
     public void createTestcaseWithDependencies(TestCase testCase) throws CerberusException;
 
+    /**
+     * Create the testcase with its countries, dependencies and labels. The
+     * script (properties, steps, actions and controls) is not created.
+     *
+     * @param testCase
+     * @throws org.cerberus.core.exception.CerberusException
+     */
+    public void createTestcaseWithoutScript(TestCase testCase) throws CerberusException;
+
     /**
      * @param testCase
      * @return
@@ -31,6 +31,7 @@ import org.cerberus.core.engine.entity.MessageGeneral;
 import org.cerberus.core.enums.MessageEventEnum;
 import org.cerberus.core.enums.MessageGeneralEnum;
 import org.cerberus.core.exception.CerberusException;
+import org.cerberus.core.crud.service.IReferenceDataCacheService;
 import org.cerberus.core.crud.service.IApplicationService;
 import org.cerberus.core.util.answer.Answer;
 import org.cerberus.core.util.answer.AnswerItem;
@@ -47,6 +48,8 @@ public class ApplicationService implements IApplicationService {
 
     @Autowired
     private IApplicationDAO ApplicationDAO;
+    @Autowired
+    private IReferenceDataCacheService referenceDataCacheService;
 
     private static final Logger LOG = LogManager.getLogger("ApplicationService");
 
@@ -90,17 +93,23 @@ public class ApplicationService implements IApplicationService {
 
     @Override
     public Answer create(Application object) {
-        return ApplicationDAO.create(object);
+        Answer answer = ApplicationDAO.create(object);
+        referenceDataCacheService.invalidate();
+        return answer;
     }
 
     @Override
     public Answer delete(Application object) {
-        return ApplicationDAO.delete(object);
+        Answer answer = ApplicationDAO.delete(object);
+        referenceDataCacheService.invalidate();
+        return answer;
     }
 
     @Override
     public Answer update(String application, Application object) {
-        return ApplicationDAO.update(application, object);
+        Answer answer = ApplicationDAO.update(application, object);
+        referenceDataCacheService.invalidate();
+        return answer;
     }
 
     @Override
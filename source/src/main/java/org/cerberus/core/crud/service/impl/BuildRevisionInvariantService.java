@@ -26,6 +26,7 @@ import org.cerberus.core.crud.dao.IBuildRevisionInvariantDAO;
 import org.cerberus.core.crud.entity.BuildRevisionInvariant;
 import org.cerberus.core.engine.entity.MessageGeneral;
 import org.cerberus.core.exception.CerberusException;
+import org.cerberus.core.crud.service.IReferenceDataCacheService;
 import org.cerberus.core.crud.service.IBuildRevisionInvariantService;
 import org.cerberus.core.enums.MessageEventEnum;
 import org.cerberus.core.enums.MessageGeneralEnum;
@@ -40,6 +41,8 @@ public class BuildRevisionInvariantService implements IBuildRevisionInvariantSer
 
     @Autowired
     private IBuildRevisionInvariantDAO BuildRevisionInvariantDAO;
+    @Autowired
+    private IReferenceDataCacheService referenceDataCacheService;
 
     @Override
     public AnswerItem<BuildRevisionInvariant> readByKey(String system, Integer level, Integer seq) {
@@ -80,17 +83,23 @@ public class BuildRevisionInvariantService implements IBuildRevisionInvariantSer
 
     @Override
     public Answer create(BuildRevisionInvariant buildRevisionInvariant) {
-        return BuildRevisionInvariantDAO.create(buildRevisionInvariant);
+        Answer answer = BuildRevisionInvariantDAO.create(buildRevisionInvariant);
+        referenceDataCacheService.invalidate();
+        return answer;
     }
 
     @Override
     public Answer delete(BuildRevisionInvariant buildRevisionInvariant) {
-        return BuildRevisionInvariantDAO.delete(buildRevisionInvariant);
+        Answer answer = BuildRevisionInvariantDAO.delete(buildRevisionInvariant);
+        referenceDataCacheService.invalidate();
+        return answer;
     }
 
     @Override
     public Answer update(String system, Integer level, Integer seq, BuildRevisionInvariant buildRevisionInvariant) {
-        return BuildRevisionInvariantDAO.update(system, level, seq, buildRevisionInvariant);
+        Answer answer = BuildRevisionInvariantDAO.update(system, level, seq, buildRevisionInvariant);
+        referenceDataCacheService.invalidate();
+        return answer;
     }
 
     @Override
@@ -29,6 +29,7 @@ import org.cerberus.core.crud.entity.CountryEnvironmentParameters;
 import org.cerberus.core.engine.entity.MessageGeneral;
 import org.cerberus.core.exception.CerberusException;
 import org.cerberus.core.crud.factory.IFactoryCountryEnvParam;
+import org.cerberus.core.crud.service.IReferenceDataCacheService;
 import org.cerberus.core.crud.service.ICountryEnvParamService;
 import org.cerberus.core.enums.MessageEventEnum;
 import org.cerberus.core.enums.MessageGeneralEnum;
@@ -54,6 +55,8 @@ public class CountryEnvParamService implements ICountryEnvParamService {
     @Autowired
     ICountryEnvParamDAO countryEnvParamDao;
     @Autowired
+    private IReferenceDataCacheService referenceDataCacheService;
+    @Autowired
     IFactoryCountryEnvParam countryEnvParamFactory;
     @Autowired
     IFactoryCountryEnvironmentParameters countryEnvironmentParametersFactory;
@@ -139,17 +142,23 @@ public class CountryEnvParamService implements ICountryEnvParamService {
 
     @Override
     public Answer create(CountryEnvParam cep) {
-        return countryEnvParamDao.create(cep);
+        Answer answer = countryEnvParamDao.create(cep);
+        referenceDataCacheService.invalidate();
+        return answer;
     }
 
     @Override
     public Answer delete(CountryEnvParam cep) {
-        return countryEnvParamDao.delete(cep);
+        Answer answer = countryEnvParamDao.delete(cep);
+        referenceDataCacheService.invalidate();
+        return answer;
     }
 
     @Override
     public Answer update(CountryEnvParam cep) {
-        return countryEnvParamDao.update(cep);
+        Answer answer = countryEnvParamDao.update(cep);
+        referenceDataCacheService.invalidate();
+        return answer;
     }
 
     @Override
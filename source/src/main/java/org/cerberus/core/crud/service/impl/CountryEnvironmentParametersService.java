@@ -26,6 +26,7 @@ import org.cerberus.core.crud.dao.ICountryEnvironmentParametersDAO;
 import org.cerberus.core.crud.entity.CountryEnvParam;
 import org.cerberus.core.crud.entity.CountryEnvironmentParameters;
 import org.cerberus.core.crud.factory.IFactoryCountryEnvParam;
+import org.cerberus.core.crud.service.IReferenceDataCacheService;
 import org.cerberus.core.crud.service.ICountryEnvParamService;
 import org.cerberus.core.engine.entity.MessageEvent;
 import org.cerberus.core.engine.entity.MessageGeneral;
@@ -52,6 +53,8 @@ public class CountryEnvironmentParametersService implements ICountryEnvironmentP
     @Autowired
     private ICountryEnvironmentParametersDAO countryEnvironmentParametersDao;
     @Autowired
+    private IReferenceDataCacheService referenceDataCacheService;
+    @Autowired
     private ICountryEnvParamService countryEnvParamService;
     @Autowired
     private IFactoryCountryEnvParam factoryCountryEnvParam;
@@ -81,12 +84,14 @@ public class CountryEnvironmentParametersService implements ICountryEnvironmentP
     @Override
     public Answer update(CountryEnvironmentParameters object) {
         Answer answer = countryEnvironmentParametersDao.update(object);
+        referenceDataCacheService.invalidate();
         return answer;
     }
 
     @Override
     public Answer delete(CountryEnvironmentParameters object) {
         Answer answer = countryEnvironmentParametersDao.delete(object);
+        referenceDataCacheService.invalidate();
         return answer;
     }
 
@@ -104,6 +109,7 @@ public class CountryEnvironmentParametersService implements ICountryEnvironmentP
             }
         }
         answer = countryEnvironmentParametersDao.create(object);
+        referenceDataCacheService.invalidate();
         return answer;
     }
 
@@ -122,6 +128,7 @@ public class CountryEnvironmentParametersService implements ICountryEnvironmentP
         for (CountryEnvironmentParameters objectToCreate : objectList) {
             ans = countryEnvironmentParametersDao.delete(objectToCreate);
         }
+        referenceDataCacheService.invalidate();
         return ans;
     }
 
@@ -21,6 +21,7 @@ package org.cerberus.core.crud.service.impl;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import org.apache.logging.log4j.LogManager;
@@ -28,6 +29,7 @@ import org.apache.logging.log4j.Logger;
 import org.cerberus.core.crud.dao.IEventHookDAO;
 import org.cerberus.core.crud.entity.EventHook;
 import org.cerberus.core.crud.service.IEventHookService;
+import org.cerberus.core.crud.service.IParameterService;
 import org.cerberus.core.engine.entity.MessageEvent;
 import org.cerberus.core.engine.entity.MessageGeneral;
 import org.cerberus.core.enums.MessageEventEnum;
@@ -49,11 +51,16 @@ public class EventHookService implements IEventHookService {
 
     @Autowired
     private IEventHookDAO eventHookDAO;
+    @Autowired
+    private IParameterService parameterService;
 
     private static final Logger LOG = LogManager.getLogger("EventHookService");
 
     private final String OBJECT_NAME = "EventHook";
 
+    private volatile Map<Integer, EventHook> hookCache = null;
+    private volatile long hookCacheDate = 0;
+
     @Override
     public AnswerItem<EventHook> readByKey(Integer id) {
         return eventHookDAO.readByKey(id);
@@ -69,6 +76,49 @@ public class EventHookService implements IEventHookService {
         return eventHookDAO.readByEventReferenceByCriteria(eventReference, objectKey1, false, 0, 0, "eventreference", "asc", null, null);
     }
 
+    @Override
+    public List<EventHook> readActiveByEventReferenceFromCache(String eventReference) {
+        List<EventHook> result = new ArrayList<>();
+        for (EventHook eventHook : getHookCache().values()) {
+            if (eventHook.isActive() && eventHook.getEventReference().equals(eventReference)) {
+                result.add(eventHook);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public EventHook readByKeyFromCache(Integer id) {
+        return getHookCache().get(id);
+    }
+
+    private Map<Integer, EventHook> getHookCache() {
+        Map<Integer, EventHook> cache = hookCache;
+        long cacheDuration = parameterService.getParameterIntegerByKey("cerberus_eventhook_cacheduration", "", 60) * 1000L;
+        if ((cache == null) || (System.currentTimeMillis() - hookCacheDate > cacheDuration)) {
+            AnswerList<EventHook> ans = eventHookDAO.readByEventReferenceByCriteria(null, null, false, 0, 0, "id", "asc", null, null);
+            if (ans.isCodeEquals(MessageEventEnum.DATA_OPERATION_ERROR_UNEXPECTED.getCode())) {
+                // We keep the previous version of the cache until the database answers again.
+                LOG.warn("Could not refresh Event Hook cache : " + ans.getMessageDescription());
+                return cache == null ? new HashMap<>() : cache;
+            }
+            cache = new HashMap<>();
+            if (ans.getDataList() != null) {
+                for (EventHook eventHook : ans.getDataList()) {
+                    cache.put(eventHook.getId(), eventHook);
+                }
+            }
+            LOG.debug("Event Hook cache refreshed with " + cache.size() + " hooks.");
+            hookCache = cache;
+            hookCacheDate = System.currentTimeMillis();
+        }
+        return cache;
+    }
+
+    private void invalidateCache() {
+        hookCache = null;
+    }
+
     @Override
     public AnswerList<EventHook> readByCampaign(String campaign) {
         List<String> evtList = new ArrayList<>(Arrays.asList(EventHook.EVENTREFERENCE_CAMPAIGN_START, EventHook.EVENTREFERENCE_CAMPAIGN_END, EventHook.EVENTREFERENCE_CAMPAIGN_END_CIKO));
@@ -94,17 +144,20 @@ public class EventHookService implements IEventHookService {
 
     @Override
     public Answer create(EventHook object) {
+        invalidateCache();
         return eventHookDAO.create(object);
     }
 
     @Override
     public Answer delete(EventHook object) {
+        invalidateCache();
         return eventHookDAO.delete(object);
     }
 
     @Override
     public Answer deleteBycampaign(String campaign) {
         Answer ans = new Answer(new MessageEvent(MessageEventEnum.DATA_OPERATION_ERROR_UNEXPECTED));
+        invalidateCache();
         try {
             for (EventHook object : convert(readByCampaign(campaign))) {
                 ans = eventHookDAO.delete(object);
@@ -118,6 +171,7 @@ public class EventHookService implements IEventHookService {
 
     @Override
     public Answer update(EventHook object) {
+        invalidateCache();
         return eventHookDAO.update(object);
     }
 
@@ -156,6 +210,7 @@ public class EventHookService implements IEventHookService {
     @Override
     public Answer deleteList(List<EventHook> objectList) {
         Answer ans = new Answer(null);
+        invalidateCache();
         for (EventHook objectToDelete : objectList) {
             ans = eventHookDAO.delete(objectToDelete);
         }
@@ -166,6 +221,7 @@ public class EventHookService implements IEventHookService {
     public Answer createList(List<EventHook> objectList) {
         Answer ans = new Answer(null);
         boolean changed = false;
+        invalidateCache();
         if (objectList.isEmpty()) {
             MessageEvent msg = new MessageEvent(MessageEventEnum.DATA_OPERATION_ERROR_UNEXPECTED);
             msg.setDescription(msg.getDescription().replace("%DESCRIPTION%", "Unvalid SchedulerEntry data"));
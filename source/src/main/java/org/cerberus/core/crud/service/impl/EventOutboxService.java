@@ -0,0 +1,110 @@
+/**
+ * Cerberus Copyright (C) 2013 - 2017 cerberustesting
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This file is part of Cerberus.
+ *
+ * Cerberus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Cerberus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Cerberus.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cerberus.core.crud.service.impl;
+
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.cerberus.core.crud.dao.IEventOutboxDAO;
+import org.cerberus.core.crud.entity.EventOutbox;
+import org.cerberus.core.crud.service.IEventOutboxService;
+import org.cerberus.core.crud.service.IParameterService;
+import org.cerberus.core.util.answer.Answer;
+import org.cerberus.core.util.answer.AnswerItem;
+import org.cerberus.core.util.answer.AnswerList;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+/**
+ * Event hook notifications waiting to be delivered.
+ */
+@Service
+public class EventOutboxService implements IEventOutboxService {
+
+    @Autowired
+    private IEventOutboxDAO eventOutboxDAO;
+    @Autowired
+    private IParameterService parameterService;
+
+    private static final Logger LOG = LogManager.getLogger(EventOutboxService.class);
+
+    private static final int MAX_RETRY_PERIOD_S = 3600;
+
+    private final AtomicBoolean newEntrySignal = new AtomicBoolean(true);
+
+    @Override
+    public Answer createList(List<EventOutbox> objectList) {
+        Answer ans = eventOutboxDAO.createList(objectList);
+        newEntrySignal.set(true);
+        return ans;
+    }
+
+    @Override
+    public AnswerList<EventOutbox> readToTreat(int limit) {
+        return eventOutboxDAO.readToTreat(limit);
+    }
+
+    @Override
+    public boolean updateToSending(long id) {
+        return eventOutboxDAO.updateToSending(id);
+    }
+
+    @Override
+    public Answer updateToDone(long id, String message) {
+        return eventOutboxDAO.updateStatus(id, EventOutbox.STATUS_DONE, 0, new Timestamp(System.currentTimeMillis()), message);
+    }
+
+    @Override
+    public Answer updateToRetryOrError(EventOutbox object, String message) {
+        int maxRetry = parameterService.getParameterIntegerByKey("cerberus_eventoutbox_maxretry", "", 5);
+        int nbRetry = object.getNbRetry() + 1;
+        if (nbRetry >= maxRetry) {
+            LOG.warn("Event Outbox entry " + object.getId() + " (" + object.getEventReference() + ") moved to ERROR after " + nbRetry + " attempts : " + message);
+            return eventOutboxDAO.updateStatus(object.getId(), EventOutbox.STATUS_ERROR, nbRetry, new Timestamp(System.currentTimeMillis()), message);
+        }
+        // Exponential backoff : period, 2 x period, 4 x period... capped to 1 hour.
+        long period = parameterService.getParameterIntegerByKey("cerberus_eventoutbox_retryperiod", "", 30);
+        period = Math.min(period << (nbRetry - 1), MAX_RETRY_PERIOD_S);
+        LOG.info("Event Outbox entry " + object.getId() + " (" + object.getEventReference() + ") will be retried in " + period + "s : " + message);
+        return eventOutboxDAO.updateStatus(object.getId(), EventOutbox.STATUS_QUEUED, nbRetry, new Timestamp(System.currentTimeMillis() + (period * 1000)), message);
+    }
+
+    @Override
+    public int updateToQueuedOldSending(int timeOutInS) {
+        AnswerItem<Integer> ans = eventOutboxDAO.updateToQueuedOldSending(timeOutInS);
+        if (ans.getItem() == null) {
+            return 0;
+        }
+        return ans.getItem();
+    }
+
+    @Override
+    public Answer deleteDoneOlderThan(int nbDays) {
+        return eventOutboxDAO.deleteDoneOlderThan(nbDays);
+    }
+
+    @Override
+    public boolean consumeNewEntrySignal() {
+        return newEntrySignal.getAndSet(false);
+    }
+
+}
@@ -24,6 +24,7 @@ import org.apache.logging.log4j.Logger;
 import org.cerberus.core.crud.dao.IInvariantDAO;
 import org.cerberus.core.crud.entity.Invariant;
 import org.cerberus.core.crud.entity.TestCaseCountry;
+import org.cerberus.core.crud.service.IReferenceDataCacheService;
 import org.cerberus.core.crud.service.IInvariantService;
 import org.cerberus.core.crud.service.ITestCaseCountryPropertiesService;
 import org.cerberus.core.crud.service.ITestCaseCountryService;
@@ -57,6 +58,8 @@ public class InvariantService implements IInvariantService {
     @Autowired
     IInvariantDAO invariantDao;
     @Autowired
+    private IReferenceDataCacheService referenceDataCacheService;
+    @Autowired
     ITestCaseCountryService testCaseCountryService;
     @Autowired
     ITestCaseCountryPropertiesService testCaseCountryPropertiesService;
@@ -244,17 +247,23 @@ public class InvariantService implements IInvariantService {
 
     @Override
     public Answer create(Invariant invariant) {
-        return invariantDao.create(invariant);
+        Answer answer = invariantDao.create(invariant);
+        referenceDataCacheService.invalidate();
+        return answer;
     }
 
     @Override
     public Answer delete(Invariant invariant) {
-        return invariantDao.delete(invariant);
+        Answer answer = invariantDao.delete(invariant);
+        referenceDataCacheService.invalidate();
+        return answer;
     }
 
     @Override
     public Answer update(String idname, String value, Invariant invariant) {
-        return invariantDao.update(idname, value, invariant);
+        Answer answer = invariantDao.update(idname, value, invariant);
+        referenceDataCacheService.invalidate();
+        return answer;
     }
 
     @Override
@@ -19,9 +19,17 @@
  */
 package org.cerberus.core.crud.service.impl;
 
+import java.sql.Timestamp;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.annotation.PreDestroy;
 import javax.servlet.http.HttpServletRequest;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 import org.cerberus.core.crud.dao.ILogEventDAO;
 import org.cerberus.core.crud.entity.LogEvent;
 import org.cerberus.core.crud.factory.IFactoryLogEvent;
@@ -32,6 +40,7 @@ import org.cerberus.core.util.answer.Answer;
 import org.cerberus.core.util.answer.AnswerItem;
 import org.cerberus.core.util.answer.AnswerList;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
 /**
@@ -48,6 +57,14 @@ public class LogEventService implements ILogEventService {
     @Autowired
     private IParameterService parameterService;
 
+    private static final Logger LOG = LogManager.getLogger(LogEventService.class);
+
+    private static final int MAX_PENDING_PUBLIC_LOGS = 10000;
+    private static final int FLUSH_BATCH_SIZE = 500;
+
+    private final Queue<LogEvent> pendingPublicLogs = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pendingPublicLogsNb = new AtomicInteger();
+
     @Override
     public AnswerItem<LogEvent> readByKey(long logEventID) {
         return logEventDAO.readByKey(logEventID);
@@ -58,6 +75,11 @@ public class LogEventService implements ILogEventService {
         return logEventDAO.readByCriteria(start, amount, colName, dir, searchTerm, individualSearch);
     }
 
+    @Override
+    public AnswerList<LogEvent> readByCriteria(int start, int amount, String colName, String dir, String searchTerm, Map<String, List<String>> individualSearch, String cursor) {
+        return logEventDAO.readByCriteria(start, amount, colName, dir, searchTerm, individualSearch, cursor);
+    }
+
     @Override
     public Answer create(LogEvent logevent) {
         return logEventDAO.create(logevent);
@@ -97,7 +119,31 @@ public class LogEventService implements ILogEventService {
             if (!(request.getUserPrincipal() == null)) {
                 myUser = ParameterParserUtil.parseStringParam(request.getUserPrincipal().getName(), "");
             }
-            this.create(factoryLogEvent.create(0, 0, myUser, null, page, action, log, request.getRemoteAddr(), request.getLocalAddr()));
+            LogEvent logEvent = factoryLogEvent.create(0, 0, myUser, new Timestamp(System.currentTimeMillis()), page, action, log, request.getRemoteAddr(), request.getLocalAddr());
+            if (pendingPublicLogsNb.incrementAndGet() <= MAX_PENDING_PUBLIC_LOGS) {
+                pendingPublicLogs.add(logEvent);
+            } else {
+                pendingPublicLogsNb.decrementAndGet();
+                LOG.warn("Too many public call logs waiting to be written. Dropping : " + page + " " + action);
+            }
+        }
+    }
+
+    @Scheduled(fixedDelay = 2000, initialDelay = 2000)
+    @PreDestroy
+    public void flushPublicLogs() {
+        List<LogEvent> batch = new ArrayList<>();
+        LogEvent logEvent;
+        while ((logEvent = pendingPublicLogs.poll()) != null) {
+            pendingPublicLogsNb.decrementAndGet();
+            batch.add(logEvent);
+            if (batch.size() >= FLUSH_BATCH_SIZE) {
+                logEventDAO.createList(batch);
+                batch = new ArrayList<>();
+            }
+        }
+        if (!batch.isEmpty()) {
+            logEventDAO.createList(batch);
         }
     }
 
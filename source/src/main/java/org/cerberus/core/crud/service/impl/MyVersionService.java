@@ -74,4 +74,9 @@ public class MyVersionService implements IMyVersionService {
     public boolean update(MyVersion myversion) {
         return this.myVersionDAO.update(myversion);
     }
+
+    @Override
+    public boolean increment(String key) {
+        return this.myVersionDAO.increment(key);
+    }
 }
@@ -19,14 +19,23 @@
  */
 package org.cerberus.core.crud.service.impl;
 
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import javax.annotation.PreDestroy;
 import org.apache.logging.log4j.Logger;
 import org.apache.logging.log4j.LogManager;
 
 import org.cerberus.core.crud.dao.IQueueStatDAO;
+import org.cerberus.core.crud.entity.Parameter;
 import org.cerberus.core.crud.entity.QueueStat;
+import org.cerberus.core.crud.factory.IFactoryQueueStat;
 import org.cerberus.core.crud.service.IParameterService;
+import org.cerberus.core.database.DatabaseLock;
 import org.cerberus.core.engine.entity.MessageGeneral;
 import org.cerberus.core.enums.MessageEventEnum;
 import org.cerberus.core.enums.MessageGeneralEnum;
@@ -36,6 +45,7 @@ import org.cerberus.core.util.answer.Answer;
 import org.cerberus.core.util.answer.AnswerItem;
 import org.cerberus.core.util.answer.AnswerList;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 
 /**
@@ -49,21 +59,41 @@ public class QueueStatService implements IQueueStatService {
     private IQueueStatDAO queueStatDAO;
     @Autowired
     private IParameterService parameterService;
+    @Autowired
+    private IFactoryQueueStat factoryQueueStat;
+    @Autowired
+    private DatabaseLock databaseLock;
 
     private static final Logger LOG = LogManager.getLogger("QueueStat");
 
     private final String OBJECT_NAME = "QueueStat";
 
+    private static final String COMPACTION_LOCK = "cerberus_queuestatcompaction";
+
+    /**
+     * Samples are taken every minute by the scheduled task runner. The ring
+     * buffer keeps one day of samples when the database is not reachable,
+     * older samples being overwritten.
+     */
+    private static final int SAMPLE_SECOND = 60;
+    private static final int BUFFER_CAPACITY = 1440;
+
+    private final QueueStat[] buffer = new QueueStat[BUFFER_CAPACITY];
+    private int bufferHead = 0;
+    private int bufferSize = 0;
+    private volatile QueueStat lastState;
+
+    private final AtomicBoolean compactionRunning = new AtomicBoolean(false);
+
     @Override
     public AnswerList<QueueStat> readByCriteria(Date from, Date to) {
-        Integer nbRows = readNbRowsByCriteria(from, to).getItem();
-        LOG.debug("Total Rows : " + nbRows);
-        Integer maxRows = parameterService.getParameterIntegerByKey("cerberus_queueshistorystatgraph_maxnbpoints", "", 1000);
-        int modulo = 0;
-        if (nbRows > maxRows) {
-            modulo = nbRows / maxRows;
-        }
-        return queueStatDAO.readByCriteria(from, to, modulo);
+        // Buffered samples are written first so that the graph is up to date.
+        flush();
+        int maxPoints = parameterService.getParameterIntegerByKey(Parameter.VALUE_cerberus_queueshistorystatgraph_maxnbpoints, "", 500);
+        long windowSecond = Math.max(0, (to.getTime() - from.getTime()) / 1000);
+        int bucketSecond = (int) Math.max(SAMPLE_SECOND, windowSecond / Math.max(maxPoints, 1));
+        LOG.debug("Bucket size : " + bucketSecond + "s");
+        return queueStatDAO.readByCriteria(from, to, bucketSecond);
     }
 
     @Override
@@ -76,6 +106,105 @@ public class QueueStatService implements IQueueStatService {
         return queueStatDAO.create(object);
     }
 
+    @Override
+    public void record(int globalConstrain, int currentlyRunning, int queueSize) {
+        lastState = factoryQueueStat.create(0, globalConstrain, currentlyRunning, queueSize, "", null, null, null);
+    }
+
+    @Override
+    public void sample() {
+        QueueStat state = lastState;
+        if (state == null) {
+            // Queue was never processed since startup.
+            return;
+        }
+        int nbBuffered;
+        synchronized (buffer) {
+            buffer[(bufferHead + bufferSize) % BUFFER_CAPACITY] = factoryQueueStat.create(0, state.getGlobalConstrain(), state.getCurrentlyRunning(), state.getQueueSize(), "", new Timestamp(new Date().getTime()), null, null);
+            if (bufferSize < BUFFER_CAPACITY) {
+                bufferSize++;
+            } else {
+                bufferHead = (bufferHead + 1) % BUFFER_CAPACITY;
+            }
+            nbBuffered = bufferSize;
+        }
+        if (nbBuffered >= parameterService.getParameterIntegerByKey(Parameter.VALUE_cerberus_queuestat_flushsize, "", 10)) {
+            flush();
+        }
+    }
+
+    @PreDestroy
+    @Override
+    public void flush() {
+        synchronized (buffer) {
+            if (bufferSize == 0) {
+                return;
+            }
+            List<QueueStat> samples = new ArrayList<>(bufferSize);
+            for (int i = 0; i < bufferSize; i++) {
+                samples.add(buffer[(bufferHead + i) % BUFFER_CAPACITY]);
+            }
+            // Samples stay in the buffer if the database is not reachable and will be written at next flush.
+            if (queueStatDAO.createList(samples).isCodeEquals(MessageEventEnum.DATA_OPERATION_OK.getCode())) {
+                for (int i = 0; i < BUFFER_CAPACITY; i++) {
+                    buffer[i] = null;
+                }
+                bufferHead = 0;
+                bufferSize = 0;
+            }
+        }
+    }
+
+    @Override
+    @Async
+    public void compact() {
+        int days = parameterService.getParameterIntegerByKey(Parameter.VALUE_cerberus_queuestatcompaction_days, "", 7);
+        if (days <= 0) {
+            return;
+        }
+        if (!compactionRunning.compareAndSet(false, true)) {
+            LOG.info("Queue stat compaction still running from previous trigger.");
+            return;
+        }
+        // Only one instance of the cluster compacts, the others skip this trigger.
+        try (DatabaseLock.Lock lock = databaseLock.tryLock(COMPACTION_LOCK)) {
+            if (lock == null) {
+                LOG.info("Queue stat compaction running on another instance.");
+                return;
+            }
+            compact(days);
+        } catch (Exception ex) {
+            LOG.error("Exception when compacting queue stats.", ex);
+        } finally {
+            compactionRunning.set(false);
+        }
+    }
+
+    private void compact(int days) {
+        // Limit is aligned on the hour so that a bucket is built from all its samples at once.
+        Timestamp before = Timestamp.from(new Date().toInstant().minus(Duration.ofDays(days)).truncatedTo(ChronoUnit.HOURS));
+        AnswerItem<Timestamp> first = queueStatDAO.readFirstDateCreated();
+        if (first.getItem() == null || !first.getItem().before(before)) {
+            return;
+        }
+        int nbRow = 0;
+        Timestamp from = Timestamp.from(first.getItem().toInstant().truncatedTo(ChronoUnit.HOURS));
+        // One day at a time in order to keep the transactions short.
+        while (from.before(before)) {
+            Timestamp to = Timestamp.from(from.toInstant().plus(Duration.ofDays(1)));
+            if (to.after(before)) {
+                to = before;
+            }
+            AnswerItem<Integer> compacted = queueStatDAO.compact(from, to);
+            if (!compacted.isCodeEquals(MessageEventEnum.DATA_OPERATION_OK.getCode())) {
+                return;
+            }
+            nbRow += compacted.getItem();
+            from = to;
+        }
+        LOG.info(nbRow + " queue stat samples older than " + days + " days compacted into hourly buckets.");
+    }
+
     @Override
     public QueueStat convert(AnswerItem<QueueStat> answerItem) throws CerberusException {
         if (answerItem.isCodeEquals(MessageEventEnum.DATA_OPERATION_OK.getCode())) {
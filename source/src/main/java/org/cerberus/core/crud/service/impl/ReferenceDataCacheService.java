@@ -0,0 +1,240 @@
+/**
+ * Cerberus Copyright (C) 2013 - 2017 cerberustesting
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This file is part of Cerberus.
+ *
+ * Cerberus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Cerberus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Cerberus.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cerberus.core.crud.service.impl;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.cerberus.core.crud.entity.Application;
+import org.cerberus.core.crud.entity.BuildRevisionInvariant;
+import org.cerberus.core.crud.entity.CountryEnvParam;
+import org.cerberus.core.crud.entity.CountryEnvironmentParameters;
+import org.cerberus.core.crud.entity.Invariant;
+import org.cerberus.core.crud.entity.MyVersion;
+import org.cerberus.core.crud.entity.Robot;
+import org.cerberus.core.crud.entity.RobotExecutor;
+import org.cerberus.core.crud.factory.IFactoryRobot;
+import org.cerberus.core.crud.service.IApplicationService;
+import org.cerberus.core.crud.service.IBuildRevisionInvariantService;
+import org.cerberus.core.crud.service.ICountryEnvParamService;
+import org.cerberus.core.crud.service.ICountryEnvironmentParametersService;
+import org.cerberus.core.crud.service.IInvariantService;
+import org.cerberus.core.crud.service.IMyVersionService;
+import org.cerberus.core.crud.service.IReferenceDataCacheService;
+import org.cerberus.core.crud.service.IRobotExecutorService;
+import org.cerberus.core.crud.service.IRobotService;
+import org.cerberus.core.engine.entity.MessageEvent;
+import org.cerberus.core.enums.MessageEventEnum;
+import org.cerberus.core.exception.CerberusException;
+import org.cerberus.core.service.guibundle.IGuiBundleService;
+import org.cerberus.core.util.answer.AnswerItem;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Entries are only cached once the reference data version has been read
+ * from myversion table, so that an instance never keeps data that another
+ * instance could not invalidate. Misses are never cached.
+ */
+@Service
+public class ReferenceDataCacheService implements IReferenceDataCacheService {
+
+    private static final Logger LOG = LogManager.getLogger(ReferenceDataCacheService.class);
+
+    public static final String MYVERSION_KEY = "referencedata_version";
+
+    @Autowired
+    private IMyVersionService myVersionService;
+    @Autowired
+    private IInvariantService invariantService;
+    @Autowired
+    private IApplicationService applicationService;
+    @Autowired
+    private ICountryEnvParamService countryEnvParamService;
+    @Autowired
+    private ICountryEnvironmentParametersService countryEnvironmentParametersService;
+    @Autowired
+    private IRobotService robotService;
+    @Autowired
+    private IRobotExecutorService robotExecutorService;
+    @Autowired
+    private IBuildRevisionInvariantService buildRevisionInvariantService;
+    @Autowired
+    private IFactoryRobot factoryRobot;
+    @Autowired
+    private IGuiBundleService guiBundleService;
+
+    private final Map<String, Object> entries = new ConcurrentHashMap<>();
+    // Increased on every purge so that a value loaded before a purge is not stored after it.
+    private final AtomicLong generation = new AtomicLong();
+    private volatile Integer knownVersion = null;
+
+    @Override
+    public AnswerItem<Invariant> readInvariant(String idName, String value) {
+        return readItem(key("INVARIANT", idName, value), () -> invariantService.readByKey(idName, value));
+    }
+
+    @Override
+    public HashMap<String, Integer> readInvariantGp1Integer(String idName, Integer defaultValue) {
+        // An empty map is also what a technical error gives so it is not cached.
+        HashMap<String, Integer> result = read(key("INVARIANTGP1", idName, String.valueOf(defaultValue)), () -> {
+            HashMap<String, Integer> map = invariantService.readToHashMapGp1IntegerByIdname(idName, defaultValue);
+            return map.isEmpty() ? null : map;
+        });
+        return result == null ? new HashMap<>() : new HashMap<>(result);
+    }
+
+    @Override
+    public AnswerItem<Application> readApplication(String application) {
+        return readItem(key("APPLICATION", application), () -> applicationService.readByKey(application));
+    }
+
+    @Override
+    public AnswerItem<CountryEnvParam> readCountryEnvParam(String system, String country, String environment) {
+        return readItem(key("COUNTRYENVPARAM", system, country, environment), () -> countryEnvParamService.readByKey(system, country, environment));
+    }
+
+    @Override
+    public AnswerItem<CountryEnvironmentParameters> readCountryEnvironmentParameters(String system, String country, String environment, String application) {
+        AnswerItem<CountryEnvironmentParameters> answer = readItem(key("COUNTRYENVAPP", system, country, environment, application),
+                () -> countryEnvironmentParametersService.readByKey(system, country, environment, application));
+        if (answer.getItem() != null) {
+            answer.setItem(answer.getItem().toBuilder().build());
+        }
+        return answer;
+    }
+
+    @Override
+    public Robot readRobot(String robot) throws CerberusException {
+        String key = key("ROBOT", robot);
+        Robot result = (Robot) getCached(key);
+        if (result == null) {
+            long gen = generation.get();
+            result = robotService.readByKey(robot);
+            store(key, gen, result);
+        }
+        if (result == null) {
+            return null;
+        }
+        // Execution set the decoded capabilities on its robot so each one gets its own copy.
+        return factoryRobot.create(result.getRobotID(), result.getRobot(), result.getPlatform(), result.getBrowser(), result.getVersion(), result.getActive(),
+                result.getLbexemethod(), result.getDescription(), result.getUserAgent(), result.getScreenSize(), result.getProfileFolder(), result.getExtraParam(),
+                result.isAcceptInsecureCerts(), result.getCapabilities(), result.getExecutors(), result.getRobotDecli(), result.getType());
+    }
+
+    @Override
+    public AnswerItem<RobotExecutor> readRobotExecutor(String robot, String executor) {
+        return readItem(key("ROBOTEXECUTOR", robot, executor), () -> robotExecutorService.readByKey(robot, executor));
+    }
+
+    @Override
+    public AnswerItem<BuildRevisionInvariant> readBuildRevisionInvariant(String system, Integer level, String versionName) {
+        return readItem(key("BUILDREVISION", system, String.valueOf(level), versionName), () -> buildRevisionInvariantService.readByKey(system, level, versionName));
+    }
+
+    @Override
+    public void invalidate() {
+        if (!myVersionService.increment(MYVERSION_KEY)) {
+            LOG.warn("Could not increase " + MYVERSION_KEY + " version. Other instances will keep their reference data cache.");
+        }
+        purge();
+    }
+
+    @Override
+    public void purge() {
+        synchronized (entries) {
+            generation.incrementAndGet();
+            entries.clear();
+        }
+        guiBundleService.purgeInvariants();
+    }
+
+    /**
+     * Drop the cache when another instance changed the reference data.
+     */
+    @Scheduled(fixedDelay = 10000, initialDelay = 10000)
+    public void checkVersion() {
+        MyVersion version = myVersionService.findMyVersionByKey(MYVERSION_KEY);
+        if (version == null) {
+            if (knownVersion != null) {
+                LOG.warn(MYVERSION_KEY + " version not found. Disabling reference data cache.");
+                knownVersion = null;
+                purge();
+            }
+            return;
+        }
+        if (knownVersion == null || knownVersion != version.getValue()) {
+            LOG.debug("Reference data version moved from {} to {}. Purging cache.", knownVersion, version.getValue());
+            purge();
+            knownVersion = version.getValue();
+        }
+    }
+
+    private <T> AnswerItem<T> readItem(String key, Supplier<AnswerItem<T>> loader) {
+        @SuppressWarnings("unchecked")
+        T cached = (T) getCached(key);
+        if (cached != null) {
+            return new AnswerItem<>(cached, new MessageEvent(MessageEventEnum.DATA_OPERATION_OK));
+        }
+        long gen = generation.get();
+        AnswerItem<T> answer = loader.get();
+        if (answer.isCodeEquals(MessageEventEnum.DATA_OPERATION_OK.getCode())) {
+            store(key, gen, answer.getItem());
+        }
+        return answer;
+    }
+
+    private <T> T read(String key, Supplier<T> loader) {
+        @SuppressWarnings("unchecked")
+        T cached = (T) getCached(key);
+        if (cached != null) {
+            return cached;
+        }
+        long gen = generation.get();
+        T value = loader.get();
+        store(key, gen, value);
+        return value;
+    }
+
+    private Object getCached(String key) {
+        return knownVersion == null ? null : entries.get(key);
+    }
+
+    private void store(String key, long gen, Object value) {
+        if (value == null || knownVersion == null) {
+            return;
+        }
+        synchronized (entries) {
+            if (gen == generation.get()) {
+                entries.put(key, value);
+            }
+        }
+    }
+
+    private static String key(String type, String... values) {
+        return type + "|" + String.join("|", values);
+    }
+
+}
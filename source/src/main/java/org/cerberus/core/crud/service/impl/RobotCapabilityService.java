@@ -26,6 +26,7 @@ import org.cerberus.core.crud.dao.IRobotCapabilityDAO;
 import org.cerberus.core.engine.entity.MessageEvent;
 import org.cerberus.core.engine.entity.MessageGeneral;
 import org.cerberus.core.crud.entity.RobotCapability;
+import org.cerberus.core.crud.service.IReferenceDataCacheService;
 import org.cerberus.core.crud.service.IRobotCapabilityService;
 import org.cerberus.core.enums.MessageEventEnum;
 import org.cerberus.core.enums.MessageGeneralEnum;
@@ -46,6 +47,8 @@ public class RobotCapabilityService implements IRobotCapabilityService {
 
     @Autowired
     private IRobotCapabilityDAO robotCapabilityDAO;
+    @Autowired
+    private IReferenceDataCacheService referenceDataCacheService;
 
     @Override
     public AnswerList<RobotCapability> readByRobot(String robot) {
@@ -66,7 +69,9 @@ public class RobotCapabilityService implements IRobotCapabilityService {
         }
 
         // Create capability
-        return robotCapabilityDAO.create(capability);
+        Answer answer = robotCapabilityDAO.create(capability);
+        referenceDataCacheService.invalidate();
+        return answer;
     }
 
     @Override
@@ -92,7 +97,9 @@ public class RobotCapabilityService implements IRobotCapabilityService {
         }
 
         // Update capability
-        return robotCapabilityDAO.update(capability);
+        Answer answer = robotCapabilityDAO.update(capability);
+        referenceDataCacheService.invalidate();
+        return answer;
     }
 
     @Override
@@ -118,7 +125,9 @@ public class RobotCapabilityService implements IRobotCapabilityService {
         }
 
         // Delete capability
-        return robotCapabilityDAO.delete(capability);
+        Answer answer = robotCapabilityDAO.delete(capability);
+        referenceDataCacheService.invalidate();
+        return answer;
     }
 
     @Override
@@ -29,10 +29,12 @@ import org.apache.logging.log4j.LogManager;
 import org.cerberus.core.crud.dao.IRobotExecutorDAO;
 import org.cerberus.core.crud.entity.Robot;
 import org.cerberus.core.crud.entity.RobotExecutor;
+import org.cerberus.core.crud.service.IReferenceDataCacheService;
 import org.cerberus.core.crud.service.IRobotExecutorService;
 import org.cerberus.core.crud.service.IRobotService;
 import org.cerberus.core.engine.entity.MessageEvent;
 import org.cerberus.core.engine.entity.MessageGeneral;
+import org.cerberus.core.engine.queuemanagement.IRobotExecutorHealthService;
 import org.cerberus.core.enums.MessageEventEnum;
 import org.cerberus.core.enums.MessageGeneralEnum;
 import org.cerberus.core.exception.CerberusException;
@@ -54,7 +56,11 @@ public class RobotExecutorService implements IRobotExecutorService {
     @Autowired
     private IRobotExecutorDAO robotExecutorDAO;
     @Autowired
+    private IReferenceDataCacheService referenceDataCacheService;
+    @Autowired
     private IRobotService robotService;
+    @Autowired
+    private IRobotExecutorHealthService robotExecutorHealthService;
 
     private static final Logger LOG = LogManager.getLogger(RobotExecutorService.class);
 
@@ -129,7 +135,8 @@ public class RobotExecutorService implements IRobotExecutorService {
                     } else {
                         rbtExecutor = robotExecutorDAO.readByVariousByCriteria(robotList2, "Y", 0, 0, "rank", "asc", null, null);
                     }
-                    robot_executors.put(myrobot, rbtExecutor.getDataList());
+                    // Executors found down by the health monitor are skipped.
+                    robot_executors.put(myrobot, robotExecutorHealthService.filterAvailable(rbtExecutor.getDataList()));
                 }
             }
         } catch (CerberusException ex) {
@@ -155,7 +162,9 @@ public class RobotExecutorService implements IRobotExecutorService {
 
     @Override
     public Answer create(RobotExecutor object) {
-        return robotExecutorDAO.create(object);
+        Answer answer = robotExecutorDAO.create(object);
+        referenceDataCacheService.invalidate();
+        return answer;
     }
 
     @Override
@@ -172,7 +181,9 @@ public class RobotExecutorService implements IRobotExecutorService {
 
     @Override
     public Answer delete(RobotExecutor object) {
-        return robotExecutorDAO.delete(object);
+        Answer answer = robotExecutorDAO.delete(object);
+        referenceDataCacheService.invalidate();
+        return answer;
     }
 
     @Override
@@ -186,7 +197,9 @@ public class RobotExecutorService implements IRobotExecutorService {
 
     @Override
     public Answer update(String service, String key, RobotExecutor object) {
-        return robotExecutorDAO.update(service, key, object);
+        Answer answer = robotExecutorDAO.update(service, key, object);
+        referenceDataCacheService.invalidate();
+        return answer;
     }
 
     @Override
@@ -27,6 +27,7 @@ import org.cerberus.core.crud.dao.IRobotDAO;
 import org.cerberus.core.crud.entity.Robot;
 import org.cerberus.core.crud.entity.RobotCapability;
 import org.cerberus.core.crud.entity.RobotExecutor;
+import org.cerberus.core.crud.service.IReferenceDataCacheService;
 import org.cerberus.core.crud.service.IRobotCapabilityService;
 import org.cerberus.core.crud.service.IRobotExecutorService;
 import org.cerberus.core.crud.service.IRobotService;
@@ -57,6 +58,8 @@ public class RobotService implements IRobotService {
     @Autowired
     private IRobotDAO robotDao;
     @Autowired
+    private IReferenceDataCacheService referenceDataCacheService;
+    @Autowired
     private IRobotCapabilityService robotCapabilityService;
     @Autowired
     private IRobotExecutorService robotExecutorService;
@@ -145,6 +148,8 @@ public class RobotService implements IRobotService {
             // We try to create as many capabilities as possible, even if an error occurred.
             finalAnswer = AnswerUtil.agregateAnswer(finalAnswer, robotExecutorAnswer);
         }
+        // Cached robots are refreshed once capabilities and executors are written.
+        referenceDataCacheService.invalidate();
         return finalAnswer;
     }
 
@@ -152,6 +157,7 @@ public class RobotService implements IRobotService {
     public Answer delete(Robot robot) {
         // First, delete the robot
         Answer finalAnswer = robotDao.delete(robot);
+        referenceDataCacheService.invalidate();
         if (!finalAnswer.isCodeEquals(MessageEventEnum.DATA_OPERATION_OK.getCode())) {
             return finalAnswer;
         }
@@ -174,6 +180,9 @@ public class RobotService implements IRobotService {
         // Then, update its executors
         finalAnswer = AnswerUtil.agregateAnswer(finalAnswer, robotExecutorService.compareListAndUpdateInsertDeleteElements(robot.getRobot(), robot.getExecutors(), usrModif));
 
+        // Cached robots are refreshed once capabilities and executors are written.
+        referenceDataCacheService.invalidate();
+
         // Finally return aggregated answer
         return finalAnswer;
     }
@@ -36,6 +36,7 @@ import org.cerberus.core.crud.entity.TestCaseExecution;
 import org.cerberus.core.crud.factory.IFactoryTag;
 import org.cerberus.core.crud.service.ICampaignService;
 import org.cerberus.core.crud.service.ITagService;
+import org.cerberus.core.crud.service.ITagStatDailyService;
 import org.cerberus.core.crud.service.ITestCaseExecutionQueueService;
 import org.cerberus.core.crud.service.ITestCaseExecutionService;
 import org.cerberus.core.engine.entity.MessageGeneral;
@@ -84,6 +85,8 @@ public class TagService implements ITagService {
     private IEventService eventService;
     @Autowired
     private ICampaignService campaignService;
+    @Autowired
+    private ITagStatDailyService tagStatDailyService;
 
     private static final Logger LOG = LogManager.getLogger("TagService");
 
@@ -214,6 +217,12 @@ public class TagService implements ITagService {
             mytag.setNbCA(jsonResponse.getInt("status_CA_nbOfExecution"));
             mytag.setNbExeUsefull(jsonResponse.getInt("TOTAL_nbOfExecution"));
 
+            Answer ans = tagDAO.updateDateEndQueue(mytag);
+
+            // Daily statistics of the tag creation day are refreshed in background with the counters of the tag.
+            tagStatDailyService.refreshDay(mytag.getDateCreated());
+
+            // Event is triggered once the end of campaign is persisted as the snapshot of the notification is read from the database.
             if (!StringUtil.isEmpty(mytag.getCampaign())) {
                 // We get the campaig here and potencially trigger the event.
                 eventService.triggerEvent(EventHook.EVENTREFERENCE_CAMPAIGN_END, mytag, null, null, null);
@@ -222,7 +231,7 @@ public class TagService implements ITagService {
                 }
             }
 
-            return tagDAO.updateDateEndQueue(mytag);
+            return ans;
 
         } catch (CerberusException ex) {
             java.util.logging.Logger.getLogger(TagService.class.getName()).log(Level.SEVERE, null, ex);
@@ -0,0 +1,142 @@
+/**
+ * Cerberus Copyright (C) 2013 - 2017 cerberustesting
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This file is part of Cerberus.
+ *
+ * Cerberus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Cerberus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Cerberus.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cerberus.core.crud.service.impl;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.cerberus.core.crud.dao.ITagStatDailyDAO;
+import org.cerberus.core.crud.entity.TagStatDaily;
+import org.cerberus.core.crud.service.ITagStatDailyService;
+import org.cerberus.core.database.DatabaseLock;
+import org.cerberus.core.enums.MessageEventEnum;
+import org.cerberus.core.util.answer.AnswerItem;
+import org.cerberus.core.util.answer.AnswerList;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+
+@Service
+public class TagStatDailyService implements ITagStatDailyService {
+
+    private static final Logger LOG = LogManager.getLogger(TagStatDailyService.class);
+
+    private static final String BACKFILL_LOCK = "cerberus_tagstatbackfill";
+
+    @Autowired
+    private ITagStatDailyDAO tagStatDailyDAO;
+    @Autowired
+    private DatabaseLock databaseLock;
+
+    // Days waiting for a refresh that did not start yet.
+    private final Set<LocalDate> pendingDays = ConcurrentHashMap.newKeySet();
+    private final Object refreshLock = new Object();
+    private final AtomicBoolean backfillRunning = new AtomicBoolean(false);
+    private volatile boolean backfillDone = false;
+
+    @Override
+    @Async
+    public void refreshDay(Timestamp tagDateCreated) {
+        LocalDate day = toDay(tagDateCreated).toLocalDate();
+        if (!pendingDays.add(day)) {
+            // A refresh of that day did not start yet, it will include this tag.
+            return;
+        }
+        refresh(day);
+    }
+
+    /**
+     * Refreshes are done one at a time. The day leaves the pending ones when
+     * its refresh starts so that a tag ended during the refresh triggers a
+     * new one.
+     */
+    private void refresh(LocalDate day) {
+        synchronized (refreshLock) {
+            pendingDays.remove(day);
+            tagStatDailyDAO.refreshDay(java.sql.Date.valueOf(day));
+        }
+    }
+
+    @Override
+    @Async
+    public void backfill() {
+        if (backfillDone || !backfillRunning.compareAndSet(false, true)) {
+            return;
+        }
+        // Only one instance of the cluster computes the missing days, the others skip this trigger.
+        try (DatabaseLock.Lock lock = databaseLock.tryLock(BACKFILL_LOCK)) {
+            if (lock == null) {
+                return;
+            }
+            AnswerItem<Timestamp> firstTag = tagStatDailyDAO.readFirstTagDateCreated();
+            if (!firstTag.isCodeEquals(MessageEventEnum.DATA_OPERATION_OK.getCode())) {
+                return;
+            }
+            if (firstTag.getItem() == null) {
+                backfillDone = true;
+                return;
+            }
+            java.sql.Date firstDay = toDay(firstTag.getItem());
+            java.sql.Date today = toDay(new Date());
+            AnswerList<java.sql.Date> existingDays = tagStatDailyDAO.readDays(firstDay, today);
+            if (!existingDays.isCodeEquals(MessageEventEnum.DATA_OPERATION_OK.getCode())) {
+                // Table not available yet (database not upgraded), will be retried.
+                return;
+            }
+            Set<LocalDate> doneDays = new HashSet<>();
+            existingDays.getDataList().forEach(day -> doneDays.add(day.toLocalDate()));
+
+            // From the most recent day so that the usual charts are available first.
+            int nbDay = 0;
+            for (LocalDate day = today.toLocalDate(); !day.isBefore(firstDay.toLocalDate()); day = day.minusDays(1)) {
+                if (!doneDays.contains(day)) {
+                    refresh(day);
+                    nbDay++;
+                }
+            }
+            backfillDone = true;
+            if (nbDay > 0) {
+                LOG.info("Tag statistics computed for {} days.", nbDay);
+            }
+        } catch (Exception ex) {
+            LOG.error("Exception when computing tag statistics of old tags.", ex);
+        } finally {
+            backfillRunning.set(false);
+        }
+    }
+
+    @Override
+    public AnswerList<TagStatDaily> readByVarious(List<String> systems, Date from, Date to) {
+        return tagStatDailyDAO.readByVarious(systems, toDay(from), toDay(to));
+    }
+
+    private java.sql.Date toDay(Date date) {
+        return java.sql.Date.valueOf(date.toInstant().atOffset(ZoneOffset.UTC).toLocalDate());
+    }
+
+}
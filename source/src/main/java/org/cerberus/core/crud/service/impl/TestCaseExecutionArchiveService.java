@@ -0,0 +1,212 @@
+/**
+ * Cerberus Copyright (C) 2013 - 2017 cerberustesting
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This file is part of Cerberus.
+ *
+ * Cerberus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Cerberus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Cerberus.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cerberus.core.crud.service.impl;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.sql.Timestamp;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.GZIPOutputStream;
+import org.apache.commons.io.FileUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.cerberus.core.crud.dao.ITestCaseExecutionArchiveDAO;
+import org.cerberus.core.crud.entity.Parameter;
+import org.cerberus.core.crud.service.IParameterService;
+import org.cerberus.core.crud.service.ITestCaseExecutionArchiveService;
+import org.cerberus.core.database.DatabaseLock;
+import org.cerberus.core.engine.execution.IRecorderService;
+import org.cerberus.core.enums.MessageEventEnum;
+import org.cerberus.core.service.artifact.IExecutionArtifactStore;
+import org.cerberus.core.util.StringUtil;
+import org.cerberus.core.util.answer.AnswerItem;
+import org.cerberus.core.util.answer.AnswerList;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+
+/**
+ * Retention of the execution history : old executions are archived to
+ * compressed files and purged from the database.
+ */
+@Service
+public class TestCaseExecutionArchiveService implements ITestCaseExecutionArchiveService {
+
+    private static final Logger LOG = LogManager.getLogger(TestCaseExecutionArchiveService.class);
+
+    private static final String ARCHIVE_FOLDER = "archive";
+    private static final String RETENTION_LOCK = "cerberus_executionretention";
+
+    @Autowired
+    private ITestCaseExecutionArchiveDAO testCaseExecutionArchiveDAO;
+    @Autowired
+    private IParameterService parameterService;
+    @Autowired
+    private IRecorderService recorderService;
+    @Autowired
+    private IExecutionArtifactStore executionArtifactStore;
+    @Autowired
+    private DatabaseLock databaseLock;
+
+    private final AtomicBoolean running = new AtomicBoolean(false);
+
+    @Override
+    @Async
+    public void archiveAndPurge() {
+        if (!running.compareAndSet(false, true)) {
+            LOG.info("Execution retention job still running from previous trigger.");
+            return;
+        }
+        // Only one instance of the cluster purges, the others skip this trigger.
+        try (DatabaseLock.Lock lock = databaseLock.tryLock(RETENTION_LOCK)) {
+            if (lock == null) {
+                LOG.info("Execution retention job running on another instance.");
+                return;
+            }
+            int batchSize = parameterService.getParameterIntegerByKey(Parameter.VALUE_cerberus_executionretention_batchsize, "", 200);
+            int pauseMs = parameterService.getParameterIntegerByKey(Parameter.VALUE_cerberus_executionretention_pausems, "", 200);
+            purgeExecutions(batchSize, pauseMs);
+            purgeLogs("logevent", parameterService.getParameterIntegerByKey(Parameter.VALUE_cerberus_logeventretention_days, "", 0), batchSize * 10, pauseMs);
+            purgeLogs("queuestat", parameterService.getParameterIntegerByKey(Parameter.VALUE_cerberus_queuestatretention_days, "", 0), batchSize * 10, pauseMs);
+            purgeLogs("queuestatbucket", parameterService.getParameterIntegerByKey(Parameter.VALUE_cerberus_queuestatretention_days, "", 0), batchSize * 10, pauseMs);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } catch (Exception ex) {
+            LOG.error("Exception when purging execution history.", ex);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private void purgeExecutions(int batchSize, int pauseMs) throws IOException, InterruptedException {
+        boolean archive = parameterService.getParameterBooleanByKey(Parameter.VALUE_cerberus_executionretention_archive_boolean, "", true);
+        String archiveFolder = getArchiveFolder();
+
+        for (String system : testCaseExecutionArchiveDAO.readDistinctSystems().getDataList()) {
+            int days = parameterService.getParameterIntegerByKey(Parameter.VALUE_cerberus_executionretention_days, system, 0);
+            if (days <= 0) {
+                continue;
+            }
+            String keepTagRegex = parameterService.getParameterStringByKey(Parameter.VALUE_cerberus_executionretention_keeptagregex, system, "");
+            Timestamp before = new Timestamp(System.currentTimeMillis() - TimeUnit.DAYS.toMillis(days));
+
+            int nbExe = 0;
+            AnswerList<Long> ids = testCaseExecutionArchiveDAO.readIdsToArchive(system, before, keepTagRegex, batchSize);
+            while (ids.isCodeEquals(MessageEventEnum.DATA_OPERATION_OK.getCode()) && !ids.getDataList().isEmpty()) {
+                List<Long> exeIds = ids.getDataList();
+                if (archive) {
+                    AnswerItem<JSONObject> rows = testCaseExecutionArchiveDAO.readRawRows(exeIds);
+                    if (!rows.isCodeEquals(MessageEventEnum.DATA_OPERATION_OK.getCode())) {
+                        LOG.error("Execution retention stopped as executions {} to {} could not be archived.", exeIds.get(0), exeIds.get(exeIds.size() - 1));
+                        return;
+                    }
+                    writeArchive(archiveFolder, exeIds, rows.getItem());
+                }
+                if (!testCaseExecutionArchiveDAO.deleteExecutions(exeIds).isCodeEquals(MessageEventEnum.DATA_OPERATION_OK.getCode())) {
+                    LOG.error("Execution retention stopped as executions {} to {} could not be deleted.", exeIds.get(0), exeIds.get(exeIds.size() - 1));
+                    return;
+                }
+                deleteMedia(exeIds);
+                nbExe += exeIds.size();
+
+                // Leave some room to the executions that are running.
+                Thread.sleep(pauseMs);
+                ids = testCaseExecutionArchiveDAO.readIdsToArchive(system, before, keepTagRegex, batchSize);
+            }
+            if (nbExe > 0) {
+                LOG.info("{} executions of system '{}' older than {} days {}.", nbExe, system, days, archive ? "archived" : "purged");
+            }
+        }
+    }
+
+    private void purgeLogs(String table, int days, int batchSize, int pauseMs) throws InterruptedException {
+        if (days <= 0) {
+            return;
+        }
+        Timestamp before = new Timestamp(System.currentTimeMillis() - TimeUnit.DAYS.toMillis(days));
+        int nbRows = 0;
+        AnswerItem<Integer> deleted = testCaseExecutionArchiveDAO.deleteLogsBefore(table, before, batchSize);
+        while (deleted.isCodeEquals(MessageEventEnum.DATA_OPERATION_OK.getCode()) && deleted.getItem() > 0) {
+            nbRows += deleted.getItem();
+            Thread.sleep(pauseMs);
+            deleted = testCaseExecutionArchiveDAO.deleteLogsBefore(table, before, batchSize);
+        }
+        if (nbRows > 0) {
+            LOG.info("{} rows of {} older than {} days purged.", nbRows, table, days);
+        }
+    }
+
+    /**
+     * One gzipped JSON file per batch :
+     * archive/yyyy/MM/executions-firstid-lastid.json.gz. The file is written
+     * under a temporary name so that a partial archive is never left.
+     */
+    private void writeArchive(String archiveFolder, List<Long> exeIds, JSONObject rows) throws IOException {
+        File folder = new File(archiveFolder + new SimpleDateFormat("yyyy" + File.separator + "MM").format(new Date()));
+        File archiveFile = new File(folder, "executions-" + exeIds.get(0) + "-" + exeIds.get(exeIds.size() - 1) + ".json.gz");
+        File tmpFile = new File(folder, archiveFile.getName() + ".tmp");
+        Files.createDirectories(folder.toPath());
+        try (OutputStream out = new GZIPOutputStream(new FileOutputStream(tmpFile));
+                Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8)) {
+            rows.write(writer);
+        } catch (JSONException ex) {
+            throw new IOException(ex);
+        }
+        Files.move(tmpFile.toPath(), archiveFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        LOG.debug("Executions archived to {}", archiveFile);
+    }
+
+    private void deleteMedia(List<Long> exeIds) {
+        String manualRootFolder = parameterService.getParameterStringByKey(Parameter.VALUE_cerberus_exemanualmedia_path, "", "");
+        for (Long exeId : exeIds) {
+            String subFolder = recorderService.getStorageSubFolderURL(exeId);
+            try {
+                executionArtifactStore.deleteFolder(subFolder);
+                if (!StringUtil.isEmpty(manualRootFolder)) {
+                    FileUtils.deleteDirectory(new File(StringUtil.addSuffixIfNotAlready(manualRootFolder, File.separator) + recorderService.getStorageSubFolder(exeId)));
+                }
+            } catch (IOException ex) {
+                LOG.warn("Unable to delete media of execution {} : {}", exeId, ex.toString());
+            }
+        }
+    }
+
+    private String getArchiveFolder() {
+        String archiveFolder = parameterService.getParameterStringByKey(Parameter.VALUE_cerberus_executionretention_archivepath, "", "");
+        if (StringUtil.isEmpty(archiveFolder)) {
+            archiveFolder = StringUtil.addSuffixIfNotAlready(parameterService.getParameterStringByKey(Parameter.VALUE_cerberus_exeautomedia_path, "", ""), File.separator) + ARCHIVE_FOLDER;
+        }
+        return StringUtil.addSuffixIfNotAlready(archiveFolder, File.separator);
+    }
+
+}
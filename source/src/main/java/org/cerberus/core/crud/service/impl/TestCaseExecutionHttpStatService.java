@@ -20,27 +20,36 @@
 package org.cerberus.core.crud.service.impl;
 
 import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
+import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
 import org.apache.logging.log4j.Logger;
 import org.apache.logging.log4j.LogManager;
 import org.cerberus.core.crud.dao.ITestCaseExecutionHttpStatDAO;
 import org.cerberus.core.crud.entity.TestCase;
 import org.cerberus.core.crud.entity.TestCaseExecution;
 import org.cerberus.core.crud.entity.TestCaseExecutionHttpStat;
+import org.cerberus.core.crud.entity.TestCaseExecutionHttpStatMetric;
 import org.cerberus.core.crud.factory.IFactoryTestCaseExecutionHttpStat;
 import org.cerberus.core.crud.service.ITestCaseExecutionHttpStatService;
+import org.cerberus.core.database.DatabaseLock;
 import org.cerberus.core.engine.entity.MessageEvent;
 import org.cerberus.core.engine.entity.MessageGeneral;
 import org.cerberus.core.enums.MessageEventEnum;
 import org.cerberus.core.enums.MessageGeneralEnum;
 import org.cerberus.core.exception.CerberusException;
+import org.cerberus.core.service.har.IHarService;
+import org.cerberus.core.service.har.entity.HarStat;
 import org.cerberus.core.util.answer.Answer;
 import org.cerberus.core.util.answer.AnswerItem;
 import org.cerberus.core.util.answer.AnswerList;
 import org.json.JSONException;
 import org.json.JSONObject;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 
 /**
@@ -54,14 +63,111 @@ public class TestCaseExecutionHttpStatService implements ITestCaseExecutionHttpS
     private ITestCaseExecutionHttpStatDAO testCaseExecutionHttpStatDAO;
     @Autowired
     private IFactoryTestCaseExecutionHttpStat factoryTestCaseExecutionHttpStat;
+    @Autowired
+    private IHarService harService;
+    @Autowired
+    private DatabaseLock databaseLock;
 
     private static final Logger LOG = LogManager.getLogger("TestCaseExecutionHttpStatService");
 
     private final String OBJECT_NAME = "TestCaseExecutionHttpStat";
+    private static final int METRIC_BACKFILL_BATCH_SIZE = 50;
+    private static final String METRIC_BACKFILL_LOCK = "cerberus_httpstat_metricbackfill";
+
+    private final AtomicBoolean metricBackfillRunning = new AtomicBoolean(false);
+    private volatile boolean metricBackfillDone = false;
 
     @Override
     public Answer create(TestCaseExecutionHttpStat object) {
-        return testCaseExecutionHttpStatDAO.create(object);
+        Answer answer = testCaseExecutionHttpStatDAO.create(object);
+        if (answer.isCodeEquals(MessageEventEnum.DATA_OPERATION_OK.getCode())) {
+            createMetrics(Collections.singletonList(object));
+        }
+        return answer;
+    }
+
+    @Override
+    @Async
+    public void backfillMetrics() {
+        if (metricBackfillDone || !metricBackfillRunning.compareAndSet(false, true)) {
+            return;
+        }
+        // Only one instance of the cluster extracts the values, the others try again at next tick.
+        try (DatabaseLock.Lock lock = databaseLock.tryLock(METRIC_BACKFILL_LOCK)) {
+            if (lock == null) {
+                return;
+            }
+            long cursor = testCaseExecutionHttpStatDAO.readMetricMinExeId();
+            if (cursor < 0) {
+                // Table not available yet (database not upgraded), will be retried.
+                return;
+            }
+            int nbStat = 0;
+            List<TestCaseExecutionHttpStat> stats = testCaseExecutionHttpStatDAO.readByIdLowerThan(cursor, METRIC_BACKFILL_BATCH_SIZE).getDataList();
+            while (!stats.isEmpty()) {
+                createMetrics(stats);
+                nbStat += stats.size();
+                cursor = stats.get(stats.size() - 1).getId();
+                stats = testCaseExecutionHttpStatDAO.readByIdLowerThan(cursor, METRIC_BACKFILL_BATCH_SIZE).getDataList();
+            }
+            metricBackfillDone = true;
+            if (nbStat > 0) {
+                LOG.info("Http stat values extracted from {} old executions.", nbStat);
+            }
+        } catch (Exception ex) {
+            LOG.error("Exception when extracting http stat values of old executions.", ex);
+        } finally {
+            metricBackfillRunning.set(false);
+        }
+    }
+
+    /**
+     * Flatten the http stats into values (party x type x unit) and add them
+     * to the rollups. Stats must have consecutive ids.
+     */
+    private void createMetrics(List<TestCaseExecutionHttpStat> stats) {
+        List<TestCaseExecutionHttpStatMetric> metrics = new ArrayList<>();
+        long fromExeId = Long.MAX_VALUE;
+        long toExeId = 0;
+        for (TestCaseExecutionHttpStat stat : stats) {
+            metrics.addAll(getMetrics(stat));
+            fromExeId = Math.min(fromExeId, stat.getId());
+            toExeId = Math.max(toExeId, stat.getId());
+        }
+        if (metrics.isEmpty()) {
+            return;
+        }
+        if (testCaseExecutionHttpStatDAO.createMetrics(metrics).isCodeEquals(MessageEventEnum.DATA_OPERATION_OK.getCode())) {
+            testCaseExecutionHttpStatDAO.createRollups(fromExeId, toExeId);
+        }
+    }
+
+    private List<TestCaseExecutionHttpStatMetric> getMetrics(TestCaseExecutionHttpStat stat) {
+        List<String> parties = new ArrayList<>();
+        for (HarStat.Parties party : HarStat.Parties.values()) {
+            parties.add(party.name().toLowerCase());
+        }
+        JSONObject thirdParties = stat.getStatDetail().optJSONObject("thirdparty");
+        if (thirdParties != null) {
+            @SuppressWarnings("unchecked")
+            Iterator<String> thirdPartyIterator = thirdParties.keys();
+            thirdPartyIterator.forEachRemaining(parties::add);
+        }
+
+        List<TestCaseExecutionHttpStatMetric> metrics = new ArrayList<>();
+        for (String party : parties) {
+            for (HarStat.Types type : HarStat.Types.values()) {
+                for (HarStat.Units unit : HarStat.Units.values()) {
+                    int value = harService.getValue(stat, party, type.name().toLowerCase(), unit.name().toLowerCase());
+                    if (value != -1) {
+                        metrics.add(TestCaseExecutionHttpStatMetric.builder()
+                                .exeId(stat.getId()).party(party).type(type.name().toLowerCase()).unit(unit.name().toLowerCase()).value(value)
+                                .build());
+                    }
+                }
+            }
+        }
+        return metrics;
     }
 
     @Override
@@ -201,6 +201,11 @@ public class TestCaseExecutionService implements ITestCaseExecutionService {
         return testCaseExecutionDao.readByCriteria(start, amount, sort, searchTerm, individualSearch, individualLike, system);
     }
 
+    @Override
+    public AnswerList<TestCaseExecution> readByCriteria(int start, int amount, String colName, String dir, String searchTerm, Map<String, List<String>> individualSearch, List<String> individualLike, List<String> system, String cursor) throws CerberusException {
+        return testCaseExecutionDao.readByCriteria(start, amount, colName, dir, searchTerm, individualSearch, individualLike, system, cursor);
+    }
+
     @Override
     public AnswerList<TestCaseExecution> readByTag(String tag) {
         return testCaseExecutionDao.readByTag(tag);
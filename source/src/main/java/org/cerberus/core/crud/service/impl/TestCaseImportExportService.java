@@ -0,0 +1,499 @@
+/**
+ * Cerberus Copyright (C) 2013 - 2017 cerberustesting
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This file is part of Cerberus.
+ *
+ * Cerberus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Cerberus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Cerberus.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cerberus.core.crud.service.impl;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.cerberus.core.crud.entity.Label;
+import org.cerberus.core.crud.entity.TestCase;
+import org.cerberus.core.crud.entity.TestCaseDep;
+import org.cerberus.core.crud.entity.TestCaseLabel;
+import org.cerberus.core.crud.service.IApplicationService;
+import org.cerberus.core.crud.service.ILabelService;
+import org.cerberus.core.crud.service.ITestCaseImportExportService;
+import org.cerberus.core.crud.service.ITestCaseScriptService;
+import org.cerberus.core.crud.service.ITestCaseService;
+import org.cerberus.core.dto.TestCaseImportReportDTO;
+import org.cerberus.core.engine.entity.MessageEvent;
+import org.cerberus.core.enums.MessageEventEnum;
+import org.cerberus.core.exception.CerberusException;
+import org.cerberus.core.util.VersionComparator;
+import org.cerberus.core.util.answer.Answer;
+import org.cerberus.core.version.Infos;
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+/**
+ * Export and import of testcases in the Cerberus json format.
+ */
+@Service
+public class TestCaseImportExportService implements ITestCaseImportExportService {
+
+    private static final Logger LOG = LogManager.getLogger(TestCaseImportExportService.class);
+
+    // Nb of imported testcases whose scripts are inserted in the same transaction.
+    private static final int IMPORT_BATCH_SIZE = 50;
+
+    @Autowired
+    private ITestCaseService testCaseService;
+    @Autowired
+    private ITestCaseScriptService testCaseScriptService;
+    @Autowired
+    private IApplicationService applicationService;
+    @Autowired
+    private ILabelService labelService;
+
+    private final ObjectMapper mapper = new ObjectMapper()
+            .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+            .disable(JsonParser.Feature.AUTO_CLOSE_SOURCE);
+
+    @Override
+    public void exportTestCases(List<TestCase> testcases, String user, OutputStream outputStream) throws IOException {
+        try (JsonGenerator generator = mapper.getFactory().createGenerator(outputStream)) {
+            generator.useDefaultPrettyPrinter();
+            generator.writeStartObject();
+
+            // Header export.
+            generator.writeStringField("version", Infos.getInstance().getProjectVersion());
+            generator.writeStringField("user", user);
+            SimpleDateFormat formatter = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSSXXX");
+            generator.writeStringField("date", formatter.format(new Date()));
+
+            // Contain the ** TestCases **, loaded and written one by one.
+            Set<String> applications = new LinkedHashSet<>();
+            generator.writeArrayFieldStart("testcases");
+            int nb = 0;
+            for (TestCase testcase : testcases) {
+                TestCase tcInfo;
+                try {
+                    tcInfo = testCaseService.findTestCaseByKeyWithDependency(testcase.getTest(), testcase.getTestcase());
+                } catch (CerberusException ex) {
+                    LOG.warn("TestCase {} - {} not exported : {}", testcase.getTest(), testcase.getTestcase(), ex.toString());
+                    continue;
+                }
+                if (tcInfo == null) {
+                    continue;
+                }
+                ObjectNode tcNode = mapper.valueToTree(tcInfo);
+                tcNode.set("bugs", mapper.readTree(tcInfo.getBugs() == null ? "[]" : tcInfo.getBugs().toString()));
+                tcNode.set("conditionOptions", mapper.readTree(tcInfo.getConditionOptions() == null ? "[]" : tcInfo.getConditionOptions().toString()));
+                generator.writeTree(tcNode);
+                applications.add(tcInfo.getApplication());
+                if (++nb % IMPORT_BATCH_SIZE == 0) {
+                    generator.flush();
+                }
+            }
+            generator.writeEndArray();
+            LOG.debug("{} testcase(s) exported.", nb);
+
+            // Contain the ** applications ** of the testcases. application is kept for files with a single testcase.
+            List<Object> apps = new ArrayList<>();
+            for (String application : applications) {
+                try {
+                    apps.add(applicationService.convert(applicationService.readByKey(application)));
+                } catch (CerberusException ex) {
+                    LOG.warn("Application {} not exported : {}", application, ex.toString());
+                }
+            }
+            if (!apps.isEmpty()) {
+                generator.writeObjectField("application", apps.get(0));
+            }
+            generator.writeObjectField("applications", apps);
+
+            // ** TODO : SYSTEMS, COUNTRIES ** invariant, Application objects, Datalib, Services and Libraries TestCases.
+            for (String field : new String[]{"invariants", "applicationsObjects", "datalibs", "services", "libraryTestcases"}) {
+                generator.writeArrayFieldStart(field);
+                generator.writeEndArray();
+            }
+
+            generator.writeEndObject();
+        }
+    }
+
+    @Override
+    public void importTestCases(InputStream inputStream, String importOption, TestCaseImportReportDTO report) {
+        ImportBatch batch = new ImportBatch();
+        try (JsonParser parser = mapper.getFactory().createParser(inputStream)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                report.addError(getNotSupportedAnswer());
+                return;
+            }
+            String version = null;
+            // Testcases read before the version (ex : exports written in hash order) are spooled to disk until the version is known.
+            File pendingTestCases = null;
+            try {
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String field = parser.getCurrentName();
+                    JsonToken token = parser.nextToken();
+                    if ("version".equals(field)) {
+                        version = parser.getValueAsString();
+
+                    } else if ("testCase".equals(field) || "testcases".equals(field)) {
+                        // Testcase moved from ROOT / "testCase" to ROOT / testcases [] in order to support multiple testcase export to a single file.
+                        if (version == null) {
+                            if (pendingTestCases == null) {
+                                pendingTestCases = File.createTempFile("cerberus-import-", ".json");
+                            }
+                            spool(parser, pendingTestCases);
+                        } else if (!isCompatible(version)) {
+                            report.addError(getNotSupportedAnswer());
+                            return;
+                        } else {
+                            importTestCases(parser, token, importOption, batch, report);
+                        }
+
+                    } else {
+                        parser.skipChildren();
+                    }
+                }
+                if (pendingTestCases != null) {
+                    if (!isCompatible(version)) {
+                        report.addError(getNotSupportedAnswer());
+                        return;
+                    }
+                    try (JsonParser pendingParser = mapper.getFactory().createParser(pendingTestCases)) {
+                        JsonToken token;
+                        while ((token = pendingParser.nextToken()) != null) {
+                            importTestCases(pendingParser, token, importOption, batch, report);
+                        }
+                    }
+                }
+            } finally {
+                if (pendingTestCases != null && !pendingTestCases.delete()) {
+                    LOG.warn("Temporary import file {} could not be deleted.", pendingTestCases);
+                }
+            }
+        } catch (IOException ex) {
+            LOG.error("Exception reading the testcases to import.", ex);
+            MessageEvent msg = new MessageEvent(MessageEventEnum.DATA_OPERATION_ERROR_EXPECTED);
+            msg.setDescription(msg.getDescription().replace("%ITEM%", "TestCase ")
+                    .replace("%OPERATION%", "Import")
+                    .replace("%REASON%", "The file could not be read : " + ex.getMessage()));
+            report.addError(new Answer(msg));
+        } finally {
+            createTestCases(batch, report);
+        }
+    }
+
+    /**
+     * Append the value at the current token of parser to file, values are
+     * separated by a new line.
+     */
+    private void spool(JsonParser parser, File file) throws IOException {
+        try (OutputStream outputStream = new FileOutputStream(file, true);
+                JsonGenerator generator = mapper.getFactory().createGenerator(outputStream)) {
+            generator.copyCurrentStructure(parser);
+            generator.writeRaw('\n');
+        }
+    }
+
+    private void importTestCases(JsonParser parser, JsonToken token, String importOption, ImportBatch batch, TestCaseImportReportDTO report) throws IOException {
+        if (token == JsonToken.START_OBJECT) {
+            importTestCase(parser.readValueAsTree(), importOption, batch, report);
+        } else if (token == JsonToken.START_ARRAY) {
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                importTestCase(parser.readValueAsTree(), importOption, batch, report);
+            }
+        }
+    }
+
+    private void importTestCase(JsonNode tcNode, String importOption, ImportBatch batch, TestCaseImportReportDTO report) {
+        TestCase tcInfo;
+        try {
+            ObjectNode tcJson = (ObjectNode) tcNode;
+            //Remove attribute not in the Object
+            JsonNode bugs = tcJson.remove("bugs");
+            JsonNode condOpts = tcJson.remove("conditionOptions");
+            tcInfo = mapper.treeToValue(tcJson, TestCase.class);
+            tcInfo.setBugs(new JSONArray(bugs == null ? "[]" : bugs.toString()));
+            tcInfo.setConditionOptions(new JSONArray(condOpts == null ? "[]" : condOpts.toString()));
+        } catch (IOException | JSONException | ClassCastException ex) {
+            LOG.error("Exception reading a testcase to import.", ex);
+            report.addFailure(getFailureAnswer("TestCase ", ex.toString()));
+            return;
+        }
+
+        if (IMPORTOPTION_NEWIDS.equalsIgnoreCase(importOption)) {
+            tcInfo.setTestcase(batch.getNextTestcaseId(tcInfo.getTest()));
+        } else if (batch.contains(tcInfo)) {
+            // The same testcase is in the file twice, the first one must be in database before the second is checked.
+            createTestCases(batch, report);
+        }
+
+        TestCase replaced = null;
+        if (IMPORTOPTION_SKIPEXISTING.equals(importOption) || IMPORTOPTION_REPLACEEXISTING.equals(importOption)) {
+            TestCase existing = testCaseService.readByKey(tcInfo.getTest(), tcInfo.getTestcase()).getItem();
+            if (existing != null) {
+                if (IMPORTOPTION_SKIPEXISTING.equals(importOption)) {
+                    report.addSkipped();
+                    return;
+                }
+                // Deleted in the same transaction as the creation of the new one.
+                replaced = existing;
+            }
+        }
+
+        resolveLabels(tcInfo, batch, report);
+        batch.add(tcInfo, replaced);
+        if (batch.size() >= IMPORT_BATCH_SIZE) {
+            createTestCases(batch, report);
+        }
+    }
+
+    /**
+     * Label ids are not the same from one Cerberus to another. Labels of the
+     * testcase are linked to the local label with the same name, type and
+     * system, the ones that do not exist are left out and reported.
+     */
+    private void resolveLabels(TestCase tcInfo, ImportBatch batch, TestCaseImportReportDTO report) {
+        if (tcInfo.getTestCaseLabels() == null) {
+            return;
+        }
+        for (Iterator<TestCaseLabel> it = tcInfo.getTestCaseLabels().iterator(); it.hasNext();) {
+            TestCaseLabel testcaseLabel = it.next();
+            Integer labelId = batch.getLabelId(testcaseLabel);
+            if (labelId == null) {
+                report.addWarning("label " + (testcaseLabel.getLabel() == null ? testcaseLabel.getLabelId() : testcaseLabel.getLabel().getLabel())
+                        + " of testcase " + tcInfo.getTest() + " - " + tcInfo.getTestcase());
+                it.remove();
+            } else {
+                testcaseLabel.setLabelId(labelId);
+            }
+        }
+    }
+
+    /**
+     * Dependencies to a testcase that is neither in database nor in the batch
+     * would make the whole batch fail, they are left out and reported.
+     */
+    private void resolveDependencies(ImportBatch batch, TestCaseImportReportDTO report) {
+        for (TestCase tcInfo : batch.getTestcases()) {
+            if (tcInfo.getDependencies() == null) {
+                continue;
+            }
+            for (Iterator<TestCaseDep> it = tcInfo.getDependencies().iterator(); it.hasNext();) {
+                TestCaseDep dependency = it.next();
+                if (dependency.getDependencyTest() == null || dependency.getDependencyTest().isEmpty()
+                        || batch.contains(dependency.getDependencyTest(), dependency.getDependencyTestcase())
+                        || testCaseService.readByKey(dependency.getDependencyTest(), dependency.getDependencyTestcase()).getItem() != null) {
+                    continue;
+                }
+                report.addWarning("dependency to " + dependency.getDependencyTest() + " - " + dependency.getDependencyTestcase()
+                        + " of testcase " + tcInfo.getTest() + " - " + tcInfo.getTestcase());
+                it.remove();
+            }
+        }
+    }
+
+    /**
+     * Create the testcases of the batch with their scripts in one
+     * transaction. If the batch fails, each testcase is retried alone so that
+     * only the faulty ones are reported and left untouched.
+     */
+    private void createTestCases(ImportBatch batch, TestCaseImportReportDTO report) {
+        if (batch.size() == 0) {
+            return;
+        }
+        resolveDependencies(batch, report);
+        Answer ans = testCaseScriptService.createTestCases(batch.getReplaced(), batch.getTestcases());
+        if (ans.isCodeEquals(MessageEventEnum.DATA_OPERATION_OK.getCode())) {
+            report.addImported(batch.size());
+        } else if (batch.size() == 1) {
+            TestCase tcInfo = batch.getTestcases().get(0);
+            report.addFailure(getFailureAnswer("TestCase " + tcInfo.getTest() + " - " + tcInfo.getTestcase(), ans.getMessageDescription()));
+        } else {
+            for (TestCase tcInfo : batch.getTestcases()) {
+                TestCase replaced = batch.getReplaced(tcInfo);
+                ans = testCaseScriptService.createTestCases(replaced == null ? Collections.emptyList() : Collections.singletonList(replaced),
+                        Collections.singletonList(tcInfo));
+                if (ans.isCodeEquals(MessageEventEnum.DATA_OPERATION_OK.getCode())) {
+                    report.addImported(1);
+                } else {
+                    report.addFailure(getFailureAnswer("TestCase " + tcInfo.getTest() + " - " + tcInfo.getTestcase(), ans.getMessageDescription()));
+                }
+            }
+        }
+        batch.clear();
+        LOG.info("Import of testcases in progress : {}.", report);
+    }
+
+    private Answer getFailureAnswer(String item, String reason) {
+        MessageEvent msg = new MessageEvent(MessageEventEnum.DATA_OPERATION_ERROR_EXPECTED);
+        msg.setDescription(msg.getDescription().replace("%ITEM%", item)
+                .replace("%OPERATION%", "Import")
+                .replace("%REASON%", reason));
+        return new Answer(msg);
+    }
+
+    private Answer getNotSupportedAnswer() {
+        return getFailureAnswer("TestCase ", "The file you're trying to import is not supported or is not in a compatible version format.");
+    }
+
+    private boolean isCompatible(String fileVersion) {
+        if (fileVersion == null) {
+            return false;
+        }
+        String projectVersion = Infos.getInstance().getProjectVersion();
+        LOG.debug("Version from import file : " + fileVersion);
+        LOG.debug("Current Version of Cerberus : " + projectVersion);
+
+        //Compatibility Matrix. To update if testcase (including dependencies) model change.
+        Map<String, String> compatibilityMatrix = new HashMap<>();
+        compatibilityMatrix.put("1.0", "4.0");
+        compatibilityMatrix.put("4.1", "100.0");
+
+        //Check fileVersion and projectVersion are in the same rank in the compatibility Matrix
+        for (Map.Entry<String, String> entry : compatibilityMatrix.entrySet()) {
+            if (VersionComparator.compare(fileVersion, entry.getKey()) * VersionComparator.compare(fileVersion, entry.getValue()) < 0) {
+                return VersionComparator.compare(projectVersion, entry.getKey()) * VersionComparator.compare(projectVersion, entry.getValue()) < 0;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Testcases read but not yet created, with the existing testcases they
+     * replace.
+     */
+    private class ImportBatch {
+
+        private final List<TestCase> testcases = new ArrayList<>();
+        private final Map<String, TestCase> replaced = new HashMap<>();
+        private final Set<String> keys = new HashSet<>();
+        // Last id given per test folder, testcases of the batch are not yet in database.
+        private final Map<String, Integer> lastIds = new HashMap<>();
+        // Local labels, loaded once per import.
+        private Map<String, Integer> labelIds;
+        private Set<Integer> existingLabelIds;
+
+        private String getKey(TestCase testcase) {
+            return getKey(testcase.getTest(), testcase.getTestcase());
+        }
+
+        private String getKey(String test, String testcase) {
+            return test + "|" + testcase;
+        }
+
+        private String getLabelKey(Label label) {
+            return label.getSystem() + "|" + label.getType() + "|" + label.getLabel();
+        }
+
+        void add(TestCase testcase, TestCase replacedTestcase) {
+            testcases.add(testcase);
+            keys.add(getKey(testcase));
+            if (replacedTestcase != null) {
+                replaced.put(getKey(testcase), replacedTestcase);
+            }
+        }
+
+        boolean contains(TestCase testcase) {
+            return keys.contains(getKey(testcase));
+        }
+
+        boolean contains(String test, String testcase) {
+            return keys.contains(getKey(test, testcase));
+        }
+
+        /**
+         * @return the id of the local label matching the label of
+         * testcaseLabel, null if there is none.
+         */
+        Integer getLabelId(TestCaseLabel testcaseLabel) {
+            if (labelIds == null) {
+                labelIds = new HashMap<>();
+                existingLabelIds = new HashSet<>();
+                for (Label label : labelService.readAll().getDataList()) {
+                    labelIds.put(getLabelKey(label), label.getId());
+                    existingLabelIds.add(label.getId());
+                }
+            }
+            if (testcaseLabel.getLabel() != null) {
+                return labelIds.get(getLabelKey(testcaseLabel.getLabel()));
+            }
+            // Older exports only have the id.
+            return existingLabelIds.contains(testcaseLabel.getLabelId()) ? testcaseLabel.getLabelId() : null;
+        }
+
+        String getNextTestcaseId(String test) {
+            Integer lastId = lastIds.get(test);
+            String id;
+            if (lastId == null) {
+                id = testCaseService.getNextAvailableTestcaseId(test);
+                try {
+                    lastIds.put(test, Integer.valueOf(id.substring(0, id.length() - 1)));
+                } catch (NumberFormatException ex) {
+                    LOG.debug("Could not convert testcase id '{}' to Integer.", id);
+                }
+            } else {
+                id = String.format("%04dA", lastId + 1);
+                lastIds.put(test, lastId + 1);
+            }
+            return id;
+        }
+
+        List<TestCase> getTestcases() {
+            return testcases;
+        }
+
+        List<TestCase> getReplaced() {
+            return new ArrayList<>(replaced.values());
+        }
+
+        TestCase getReplaced(TestCase testcase) {
+            return replaced.get(getKey(testcase));
+        }
+
+        int size() {
+            return testcases.size();
+        }
+
+        void clear() {
+            testcases.clear();
+            replaced.clear();
+            keys.clear();
+        }
+
+    }
+
+}
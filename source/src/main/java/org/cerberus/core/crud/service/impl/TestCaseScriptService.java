@@ -0,0 +1,168 @@
+/**
+ * Cerberus Copyright (C) 2013 - 2017 cerberustesting
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This file is part of Cerberus.
+ *
+ * Cerberus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Cerberus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Cerberus.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cerberus.core.crud.service.impl;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.cerberus.core.crud.dao.ITestCaseScriptDAO;
+import org.cerberus.core.crud.entity.EventHook;
+import org.cerberus.core.crud.entity.TestCase;
+import org.cerberus.core.crud.entity.TestCaseCountry;
+import org.cerberus.core.crud.entity.TestCaseCountryProperties;
+import org.cerberus.core.crud.entity.TestCaseDep;
+import org.cerberus.core.crud.entity.TestCaseLabel;
+import org.cerberus.core.crud.entity.TestCaseStep;
+import org.cerberus.core.crud.entity.TestCaseStepAction;
+import org.cerberus.core.crud.entity.TestCaseStepActionControl;
+import org.cerberus.core.crud.factory.IFactoryTest;
+import org.cerberus.core.crud.service.ITestCaseCountryPropertiesService;
+import org.cerberus.core.crud.service.ITestCaseScriptService;
+import org.cerberus.core.crud.service.ITestCaseStepActionControlService;
+import org.cerberus.core.crud.service.ITestCaseStepActionService;
+import org.cerberus.core.crud.service.ITestCaseStepService;
+import org.cerberus.core.crud.service.ITestService;
+import org.cerberus.core.enums.MessageEventEnum;
+import org.cerberus.core.event.IEventService;
+import org.cerberus.core.exception.CerberusException;
+import org.cerberus.core.util.ListDiff;
+import org.cerberus.core.util.answer.Answer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+@Service
+public class TestCaseScriptService implements ITestCaseScriptService {
+
+    private static final Logger LOG = LogManager.getLogger(TestCaseScriptService.class);
+
+    @Autowired
+    private ITestCaseScriptDAO testCaseScriptDAO;
+    @Autowired
+    private ITestCaseCountryPropertiesService testCaseCountryPropertiesService;
+    @Autowired
+    private ITestCaseStepService stepService;
+    @Autowired
+    private ITestCaseStepActionService actionService;
+    @Autowired
+    private ITestCaseStepActionControlService controlService;
+    @Autowired
+    private ITestService testService;
+    @Autowired
+    private IFactoryTest factoryTest;
+    @Autowired
+    private IEventService eventService;
+
+    @Override
+    public Answer saveScript(TestCase testcase, String initialTest, String initialTestcase, int expectedVersion, String usrModif,
+            List<TestCaseCountryProperties> properties, List<TestCaseStep> steps, List<TestCaseStepAction> actions,
+            List<TestCaseStepActionControl> controls) throws CerberusException {
+
+        ListDiff<TestCaseCountryProperties> propertiesDiff = ListDiff.compare(properties,
+                testCaseCountryPropertiesService.findListOfPropertyPerTestTestCase(initialTest, initialTestcase),
+                o -> Arrays.asList(o.getTest(), o.getTestcase(), o.getCountry(), o.getProperty()), true);
+        ListDiff<TestCaseStep> stepsDiff = ListDiff.compare(steps,
+                stepService.getListOfSteps(initialTest, initialTestcase),
+                o -> Arrays.asList(o.getTest(), o.getTestcase(), o.getStepId()), true);
+        ListDiff<TestCaseStepAction> actionsDiff = ListDiff.compare(actions,
+                actionService.readByTestTestCase(initialTest, initialTestcase).getDataList(),
+                o -> Arrays.asList(o.getTest(), o.getTestcase(), o.getStepId(), o.getActionId()), true);
+        ListDiff<TestCaseStepActionControl> controlsDiff = ListDiff.compare(controls,
+                controlService.findControlByTestTestCase(initialTest, initialTestcase),
+                o -> Arrays.asList(o.getTest(), o.getTestcase(), o.getStepId(), o.getActionId(), o.getControlId()), true);
+
+        Answer ans = testCaseScriptDAO.save(testcase.getTest(), testcase.getTestcase(), expectedVersion, usrModif,
+                propertiesDiff, stepsDiff, actionsDiff, controlsDiff);
+
+        if (ans.isCodeEquals(MessageEventEnum.DATA_OPERATION_OK.getCode())) {
+            testcase.setVersion(expectedVersion + 1);
+            testcase.setUsrModif(usrModif);
+            eventService.triggerEvent(EventHook.EVENTREFERENCE_TESTCASE_UPDATE, testcase, testcase.getTest(), testcase.getTestcase(), null);
+        } else {
+            LOG.info("Script of {}|{} not saved : {}", testcase.getTest(), testcase.getTestcase(), ans.getResultMessage().getDescription());
+        }
+        return ans;
+    }
+
+    @Override
+    public Answer createTestCases(List<TestCase> replaced, List<TestCase> testcases) {
+        for (TestCase testcase : testcases) {
+            // We first create the corresponding test if it doesn't exist.
+            if (testcase.getTest() != null && !testService.exist(testcase.getTest())) {
+                testService.create(factoryTest.create(testcase.getTest(), "", true, null, testcase.getUsrCreated(), null, "", null));
+            }
+            // Lists missing from the imported file are empty.
+            if (testcase.getTestCaseCountries() == null) {
+                testcase.setTestCaseCountries(new ArrayList<>());
+            }
+            if (testcase.getDependencies() == null) {
+                testcase.setDependencies(new ArrayList<>());
+            }
+            if (testcase.getTestCaseLabels() == null) {
+                testcase.setTestCaseLabels(new ArrayList<>());
+            }
+            if (testcase.getSteps() == null) {
+                testcase.setSteps(new ArrayList<>());
+            }
+            for (TestCaseCountry country : testcase.getTestCaseCountries()) {
+                country.setTest(testcase.getTest());
+                country.setTestcase(testcase.getTestcase());
+                for (TestCaseCountryProperties property : country.getTestCaseCountryProperty()) {
+                    property.setTest(testcase.getTest());
+                    property.setTestcase(testcase.getTestcase());
+                }
+            }
+            for (TestCaseDep dependency : testcase.getDependencies()) {
+                dependency.setTest(testcase.getTest());
+                dependency.setTestcase(testcase.getTestcase());
+            }
+            for (TestCaseLabel label : testcase.getTestCaseLabels()) {
+                label.setTest(testcase.getTest());
+                label.setTestcase(testcase.getTestcase());
+            }
+            for (TestCaseStep step : testcase.getSteps()) {
+                step.setTest(testcase.getTest());
+                step.setTestcase(testcase.getTestcase());
+                for (TestCaseStepAction action : step.getActions()) {
+                    action.setTest(testcase.getTest());
+                    action.setTestcase(testcase.getTestcase());
+                    for (TestCaseStepActionControl control : action.getControls()) {
+                        control.setTest(testcase.getTest());
+                        control.setTestcase(testcase.getTestcase());
+                    }
+                }
+            }
+        }
+
+        Answer ans = testCaseScriptDAO.create(replaced, testcases);
+
+        if (ans.isCodeEquals(MessageEventEnum.DATA_OPERATION_OK.getCode())) {
+            for (TestCase testcase : replaced) {
+                eventService.triggerEvent(EventHook.EVENTREFERENCE_TESTCASE_DELETE, testcase, null, null, null);
+            }
+            for (TestCase testcase : testcases) {
+                eventService.triggerEvent(EventHook.EVENTREFERENCE_TESTCASE_CREATE, testcase, null, null, null);
+            }
+        }
+        return ans;
+    }
+
+}
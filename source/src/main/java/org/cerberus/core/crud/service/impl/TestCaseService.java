@@ -633,14 +633,8 @@ public class TestCaseService implements ITestCaseService {
     @Override
     public void createTestcaseWithDependencies(TestCase testCase) throws CerberusException {
 
-        //insert testcase
-        Answer newTestcase = this.create(testCase);
-
-        if (!newTestcase.getResultMessage().getSource().equals(MessageEventEnum.DATA_OPERATION_OK)) {
-            MessageGeneral msg = new MessageGeneral(MessageGeneralEnum.GENERIC_ERROR);
-            msg.setDescription(newTestcase.getResultMessage().getDescription());
-            throw new CerberusException(msg);
-        }
+        //insert testcase, countries, dependencies and labels
+        createTestcaseWithoutScript(testCase);
 
         //for tcstep, insert steps
         for (TestCaseStep tcs : testCase.getSteps()) {
@@ -670,15 +664,8 @@ public class TestCaseService implements ITestCaseService {
             }
         }
 
-        //insert tccountry, insert countries
+        //insert properties
         for (TestCaseCountry tcc : testCase.getTestCaseCountries()) {
-            tcc.setTest(testCase.getTest());
-            tcc.setTestcase(testCase.getTestcase());
-            Answer newTestcaseCountry = testCaseCountryService.create(tcc);
-            if (!newTestcaseCountry.getResultMessage().getSource().equals(MessageEventEnum.DATA_OPERATION_OK)) {
-                throw new CerberusException(new MessageGeneral(newTestcaseCountry.getResultMessage().getMessage()));
-            }
-
             for (TestCaseCountryProperties tccp : tcc.getTestCaseCountryProperty()) {
                 tccp.setTest(testCase.getTest());
                 tccp.setTestcase(testCase.getTestcase());
@@ -689,6 +676,30 @@ public class TestCaseService implements ITestCaseService {
             }
         }
 
+    }
+
+    @Override
+    public void createTestcaseWithoutScript(TestCase testCase) throws CerberusException {
+
+        //insert testcase
+        Answer newTestcase = this.create(testCase);
+
+        if (!newTestcase.getResultMessage().getSource().equals(MessageEventEnum.DATA_OPERATION_OK)) {
+            MessageGeneral msg = new MessageGeneral(MessageGeneralEnum.GENERIC_ERROR);
+            msg.setDescription(newTestcase.getResultMessage().getDescription());
+            throw new CerberusException(msg);
+        }
+
+        //insert tccountry, insert countries
+        for (TestCaseCountry tcc : testCase.getTestCaseCountries()) {
+            tcc.setTest(testCase.getTest());
+            tcc.setTestcase(testCase.getTestcase());
+            Answer newTestcaseCountry = testCaseCountryService.create(tcc);
+            if (!newTestcaseCountry.getResultMessage().getSource().equals(MessageEventEnum.DATA_OPERATION_OK)) {
+                throw new CerberusException(new MessageGeneral(newTestcaseCountry.getResultMessage().getMessage()));
+            }
+        }
+
         //insert testcasedependencies
         for (TestCaseDep tcd : testCase.getDependencies()) {
             tcd.setTest(testCase.getTest());
@@ -31,6 +31,7 @@ import org.cerberus.core.crud.service.IUserSystemService;
 import org.cerberus.core.enums.MessageEventEnum;
 import org.cerberus.core.enums.MessageGeneralEnum;
 import org.cerberus.core.exception.CerberusException;
+import org.cerberus.core.service.authentification.IAPIKeyService;
 import org.cerberus.core.util.StringUtil;
 import org.cerberus.core.util.answer.Answer;
 import org.cerberus.core.util.answer.AnswerItem;
@@ -51,6 +52,8 @@ public class UserService implements IUserService {
     private IUserRoleService userGroupService;
     @Autowired
     private IUserSystemService userSystemService;
+    @Autowired
+    private IAPIKeyService apiKeyService;
 
     @Override
     public User findUserByKey(String login) throws CerberusException {
@@ -78,6 +81,7 @@ public class UserService implements IUserService {
             //TODO define message => error occur trying to find users
             throw new CerberusException(new MessageGeneral(MessageGeneralEnum.NO_DATA_FOUND));
         }
+        apiKeyService.evict(user.getApiKey());
     }
 
     @Override
@@ -86,6 +90,7 @@ public class UserService implements IUserService {
             //TODO define message => error occur trying to find users
             throw new CerberusException(new MessageGeneral(MessageGeneralEnum.NO_DATA_FOUND));
         }
+        apiKeyService.evict(user.getApiKey());
     }
 
     @Override
@@ -94,6 +99,7 @@ public class UserService implements IUserService {
             //TODO define message => error occur trying to delete user
             throw new CerberusException(new MessageGeneral(MessageGeneralEnum.NO_DATA_FOUND));
         }
+        apiKeyService.evict(user.getApiKey());
     }
 
     @Override
@@ -230,7 +236,9 @@ public class UserService implements IUserService {
 
     @Override
     public Answer create(User user) {
-        return userDAO.create(user);
+        Answer answer = userDAO.create(user);
+        apiKeyService.evict(user.getApiKey());
+        return answer;
     }
 
     @Override
@@ -242,7 +250,9 @@ public class UserService implements IUserService {
             return new Answer(msg);
 
         } else {
-            return userDAO.delete(user);
+            Answer answer = userDAO.delete(user);
+            apiKeyService.evict(user.getApiKey());
+            return answer;
 
         }
     }
@@ -256,7 +266,13 @@ public class UserService implements IUserService {
             return new Answer(msg);
 
         } else {
-            return userDAO.update(user);
+            String previousApiKey = userDAO.readAPIKey(user.getUserID());
+            Answer answer = userDAO.update(user);
+            if (previousApiKey == null || !previousApiKey.equals(user.getApiKey())) {
+                apiKeyService.evict(previousApiKey);
+                apiKeyService.evict(user.getApiKey());
+            }
+            return answer;
         }
     }
 
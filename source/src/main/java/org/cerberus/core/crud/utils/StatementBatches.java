@@ -0,0 +1,73 @@
+/**
+ * Cerberus Copyright (C) 2013 - 2017 cerberustesting
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This file is part of Cerberus.
+ *
+ * Cerberus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Cerberus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Cerberus.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cerberus.core.crud.utils;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * One batched statement per distinct query on a shared connection, executed
+ * in the order the queries were first used. DAOs add their own statements to
+ * it so that several tables can be written in the same transaction.
+ */
+public class StatementBatches implements AutoCloseable {
+
+    private static final Logger LOG = LogManager.getLogger(StatementBatches.class);
+
+    private final Connection connection;
+    private final Map<String, PreparedStatement> statements = new LinkedHashMap<>();
+
+    public StatementBatches(Connection connection) {
+        this.connection = connection;
+    }
+
+    /**
+     * @param query
+     * @return the statement of the query, prepared on the first call.
+     * @throws SQLException
+     */
+    public PreparedStatement get(String query) throws SQLException {
+        PreparedStatement preStat = statements.get(query);
+        if (preStat == null) {
+            LOG.debug("SQL : {}", query);
+            preStat = connection.prepareStatement(query);
+            statements.put(query, preStat);
+        }
+        return preStat;
+    }
+
+    public void execute() throws SQLException {
+        for (PreparedStatement preStat : statements.values()) {
+            preStat.executeBatch();
+        }
+    }
+
+    @Override
+    public void close() throws SQLException {
+        for (PreparedStatement preStat : statements.values()) {
+            preStat.close();
+        }
+    }
+}
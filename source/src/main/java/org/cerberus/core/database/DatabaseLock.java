@@ -0,0 +1,102 @@
+/**
+ * Cerberus Copyright (C) 2013 - 2017 cerberustesting
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This file is part of Cerberus.
+ *
+ * Cerberus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Cerberus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Cerberus.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cerberus.core.database;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Named locks shared by all the Cerberus instances that use the same
+ * database, so that a background job runs on a single instance at a time. A
+ * lock belongs to the connection that took it until it is released.
+ */
+@Repository
+public class DatabaseLock {
+
+    private static final Logger LOG = LogManager.getLogger(DatabaseLock.class);
+
+    @Autowired
+    private DatabaseSpring databaseSpring;
+
+    /**
+     * Take the lock without waiting.
+     *
+     * @param name
+     * @return the lock, to be closed when the job is finished, or null if it
+     * is held by another instance.
+     */
+    public Lock tryLock(String name) {
+        Connection connection = databaseSpring.connect();
+        if (connection == null) {
+            return null;
+        }
+        try (PreparedStatement preStat = connection.prepareStatement("SELECT GET_LOCK(?, 0)")) {
+            preStat.setString(1, name);
+            try (ResultSet resultSet = preStat.executeQuery()) {
+                if (resultSet.next() && resultSet.getInt(1) == 1) {
+                    LOG.debug("Database lock {} taken.", name);
+                    return new Lock(name, connection);
+                }
+            }
+        } catch (SQLException exception) {
+            LOG.warn("Unable to take database lock {} : {}", name, exception.toString());
+        }
+        try {
+            connection.close();
+        } catch (SQLException exception) {
+            LOG.warn("Unable to close connection : {}", exception.toString());
+        }
+        return null;
+    }
+
+    /**
+     * Lock held on its own connection. Closing it releases the lock before
+     * the connection goes back to the pool.
+     */
+    public static class Lock implements AutoCloseable {
+
+        private final String name;
+        private final Connection connection;
+
+        private Lock(String name, Connection connection) {
+            this.name = name;
+            this.connection = connection;
+        }
+
+        @Override
+        public void close() {
+            try (Connection c = connection;
+                    PreparedStatement preStat = c.prepareStatement("SELECT RELEASE_LOCK(?)")) {
+                preStat.setString(1, name);
+                preStat.executeQuery().close();
+                LOG.debug("Database lock {} released.", name);
+            } catch (SQLException exception) {
+                LOG.warn("Unable to release database lock {} : {}", name, exception.toString());
+            }
+        }
+    }
+
+}
@@ -23,17 +23,25 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.cerberus.core.crud.entity.MyVersion;
 import org.cerberus.core.crud.service.IMyVersionService;
+import org.cerberus.core.util.StringUtil;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
-import java.io.BufferedReader;
-import java.io.File;
-import java.io.FileReader;
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
 import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
 
 /**
  * @author vertigo
@@ -42,7 +50,11 @@ import java.util.ArrayList;
 public class DatabaseVersioningService implements IDatabaseVersioningService {
 
     private static final Logger LOG = LogManager.getLogger(DatabaseVersioningService.class);
-    private int sqlVersion;
+    private static final String SQL_FILE = "database.sql";
+    // The myversion table is only available after that version.
+    private static final int MYVERSION_MIN_VERSION = 3;
+
+    private volatile List<long[]> sqlIndex;
 
     @Autowired
     private IMyVersionService myVersionService;
@@ -64,6 +76,53 @@ public class DatabaseVersioningService implements IDatabaseVersioningService {
         return "OK";
     }
 
+    @Override
+    public List<String> exeSQL(LinkedHashMap<Integer, String> sqlStrings) {
+        List<String> result = new ArrayList<>();
+        try (Connection connection = this.databaseSpring.connect();
+             Statement preStat = connection.createStatement()) {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try {
+                for (Map.Entry<Integer, String> sqlString : sqlStrings.entrySet()) {
+                    LOG.info("Starting Execution of '{}'", sqlString.getValue());
+                    try {
+                        preStat.execute(sqlString.getValue());
+                        // Version is moved in the same transaction so that it always matches the instructions applied.
+                        if (sqlString.getKey() >= MYVERSION_MIN_VERSION) {
+                            updateVersion(connection, sqlString.getKey());
+                        }
+                        connection.commit();
+                    } catch (SQLException exception) {
+                        LOG.error(exception.toString(), exception);
+                        connection.rollback();
+                        result.add(exception.toString());
+                        continue;
+                    }
+                    result.add("OK");
+                }
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        } catch (Exception exception1) {
+            LOG.error(exception1.toString(), exception1);
+            if (result.size() < sqlStrings.size()) {
+                result.add(exception1.toString());
+            }
+        }
+        return result;
+    }
+
+    private void updateVersion(Connection connection, int version) throws SQLException {
+        try (PreparedStatement versionStat = connection.prepareStatement("UPDATE myversion SET `value` = ? WHERE `key` = 'database'");
+             PreparedStatement checksumStat = connection.prepareStatement("UPDATE myversion SET valueString = ? WHERE `key` = 'database_checksum'")) {
+            versionStat.setInt(1, version);
+            versionStat.executeUpdate();
+            checksumStat.setString(1, getSqlChecksum(version));
+            checksumStat.executeUpdate();
+        }
+    }
+
     @Override
     public boolean isDatabaseUpToDate() {
         // Get version from the database
@@ -72,6 +131,12 @@ public class DatabaseVersioningService implements IDatabaseVersioningService {
         if (myVersion != null) {
             // compare both to see if version is uptodate.
             if (getSqlVersion() == myVersion.getValue()) {
+                MyVersion checksum = myVersionService.findMyVersionByKey("database_checksum");
+                if (checksum != null && StringUtil.isNotEmpty(checksum.getValueString())
+                        && !checksum.getValueString().equals(getSqlChecksum(myVersion.getValue()))) {
+                    LOG.warn("SQL instructions already applied to the database have been modified in the script (checksum {} in database vs {} in script).",
+                            checksum.getValueString(), getSqlChecksum(myVersion.getValue()));
+                }
                 return true;
             }
             LOG.info("Database needs an upgrade - Script : {} Database : {}", getSqlVersion(), myVersion.getValue());
@@ -81,58 +146,158 @@ public class DatabaseVersioningService implements IDatabaseVersioningService {
 
     @Override
     public int getSqlVersion() {
-        if (sqlVersion == 0) {
-            getSQLScriptFromFile();
+        return getSqlIndex().size();
+    }
+
+    @Override
+    public String getSqlChecksum(int version) {
+        List<long[]> index = getSqlIndex();
+        if (version <= 0 || version > index.size()) {
+            return "";
         }
-        return sqlVersion;
+        return Long.toHexString(index.get(version - 1)[2]);
     }
 
     @Override
     public ArrayList<String> getSQLScriptFromFile() {
-        ArrayList<String> result = new ArrayList<>();
-        File file = null;
-        try {
-            ClassLoader classLoader = getClass().getClassLoader();
-            URL resource = classLoader.getResource("database.sql");
-            if (resource == null) {
-                LOG.error("file not found");
-                return result;
-            }
-
-            file = new File(resource.toURI());
+        return new ArrayList<>(getSQLScriptFromVersion(0).values());
+    }
 
-            try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
-                String line = reader.readLine();
-                StringBuilder sqlLine = new StringBuilder();
-                while (line != null) {
-                    if (!((line.startsWith("--")) || line.isEmpty())) {
-                        // Line is not empty and does not start with --
-                        if (line.startsWith(" ")) {
-                            sqlLine.append(line);
-                        } else {
-                            // This is a new SQL Instruction;
-                            if (sqlLine.length() > 0) {
-                                result.add(sqlLine.toString());
-                            }
-                            sqlLine = new StringBuilder(line);
-                        }
+    @Override
+    public LinkedHashMap<Integer, String> getSQLScriptFromVersion(int fromVersion) {
+        LinkedHashMap<Integer, String> result = new LinkedHashMap<>();
+        List<long[]> index = getSqlIndex();
+        if (fromVersion >= index.size()) {
+            return result;
+        }
+        URL resource = getClass().getClassLoader().getResource(SQL_FILE);
+        try (InputStream in = new BufferedInputStream(resource.openStream())) {
+            long position = 0;
+            for (int version = Math.max(fromVersion, 0) + 1; version <= index.size(); version++) {
+                long[] entry = index.get(version - 1);
+                position += skipFully(in, entry[0] - position);
+                byte[] content = new byte[(int) (entry[1] - entry[0])];
+                int read = 0;
+                while (read < content.length) {
+                    int n = in.read(content, read, content.length - read);
+                    if (n < 0) {
+                        break;
                     }
-                    // read next line
-                    line = reader.readLine();
+                    read += n;
                 }
-                if (sqlLine.length() > 0) {
-                    result.add(sqlLine.toString());
+                position += read;
+                // Same rule as when building the index : comment and empty lines are ignored and lines are concatenated.
+                StringBuilder sqlLine = new StringBuilder();
+                for (String line : new String(content, 0, read, StandardCharsets.UTF_8).split("\n")) {
+                    line = stripCarriageReturn(line);
+                    if (!(line.startsWith("--") || line.isEmpty())) {
+                        sqlLine.append(line);
+                    }
                 }
-            } catch (IOException e) {
-                LOG.error(e, e);
+                result.put(version, sqlLine.toString());
             }
         } catch (Exception ex) {
             LOG.error(ex, ex);
         }
-        if (!result.isEmpty()) {
-            sqlVersion = result.size();
-        }
         return result;
     }
 
+    /**
+     * Index of the SQL instructions of the resource file. Only start and end
+     * offsets and cumulative checksum of each instruction are kept in memory,
+     * instructions are read from their offset when needed.
+     *
+     * @return 1 entry per version : {start offset, end offset, checksum}
+     */
+    private List<long[]> getSqlIndex() {
+        List<long[]> index = sqlIndex;
+        if (index == null) {
+            synchronized (this) {
+                if (sqlIndex == null) {
+                    sqlIndex = buildSqlIndex();
+                }
+                index = sqlIndex;
+            }
+        }
+        return index;
+    }
+
+    private List<long[]> buildSqlIndex() {
+        List<long[]> index = new ArrayList<>();
+        URL resource = getClass().getClassLoader().getResource(SQL_FILE);
+        if (resource == null) {
+            LOG.error("file not found");
+            return index;
+        }
+        CRC32 checksum = new CRC32();
+        try (InputStream in = new BufferedInputStream(resource.openStream())) {
+            ByteArrayOutputStream lineBytes = new ByteArrayOutputStream(256);
+            StringBuilder sqlLine = new StringBuilder();
+            long position = 0;
+            long lineStart = 0;
+            long sqlStart = 0;
+            long sqlEnd = 0;
+            int c;
+            boolean eof = false;
+            while (!eof) {
+                c = in.read();
+                if (c >= 0) {
+                    position++;
+                }
+                if (c >= 0 && c != '\n') {
+                    lineBytes.write(c);
+                    continue;
+                }
+                eof = (c < 0);
+                if (eof && lineBytes.size() == 0) {
+                    break;
+                }
+                String line = stripCarriageReturn(new String(lineBytes.toByteArray(), StandardCharsets.UTF_8));
+                lineBytes.reset();
+                if (!((line.startsWith("--")) || line.isEmpty())) {
+                    // Line is not empty and does not start with --
+                    if (!line.startsWith(" ")) {
+                        // This is a new SQL Instruction;
+                        if (sqlLine.length() > 0) {
+                            index.add(indexEntry(checksum, sqlStart, sqlEnd, sqlLine));
+                        }
+                        sqlLine.setLength(0);
+                        sqlStart = lineStart;
+                    }
+                    sqlLine.append(line);
+                    sqlEnd = position;
+                }
+                lineStart = position;
+            }
+            if (sqlLine.length() > 0) {
+                index.add(indexEntry(checksum, sqlStart, sqlEnd, sqlLine));
+            }
+        } catch (IOException e) {
+            LOG.error(e, e);
+        }
+        LOG.debug("SQL script indexed : {} instructions.", index.size());
+        return index;
+    }
+
+    private static long[] indexEntry(CRC32 checksum, long start, long end, StringBuilder sqlLine) {
+        checksum.update(sqlLine.toString().getBytes(StandardCharsets.UTF_8));
+        return new long[]{start, end, checksum.getValue()};
+    }
+
+    private static String stripCarriageReturn(String line) {
+        return line.endsWith("\r") ? line.substring(0, line.length() - 1) : line;
+    }
+
+    private static long skipFully(InputStream in, long n) throws IOException {
+        long skipped = 0;
+        while (skipped < n) {
+            long s = in.skip(n - skipped);
+            if (s <= 0) {
+                break;
+            }
+            skipped += s;
+        }
+        return skipped;
+    }
+
 }
@@ -21,11 +21,18 @@ package org.cerberus.core.database;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.cerberus.core.crud.entity.MyVersion;
+import org.cerberus.core.crud.service.IMyVersionService;
+import org.cerberus.core.service.guibundle.IGuiBundleService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import javax.annotation.PostConstruct;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.sql.Connection;
+import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.ArrayList;
 
@@ -38,16 +45,128 @@ public class DocumentationDatabaseService implements IDocumentationDatabaseServi
     @Override
     @PostConstruct
     public void init() {
-        LOG.info("Starting to Refresh documentation table");
-        for (String currentRequest : this.getSqlDocumentation()) {
-            this.exeSQL(currentRequest);
-        }
+        refresh(false);
     }
 
     private static final Logger LOG = LogManager.getLogger(DocumentationDatabaseService.class);
 
+    private static final String EXE_OK = "Documentation table successfully refreshed";
+    private static final String CHECKSUM_KEY = "documentation_checksum";
+    private static final String DOCUMENTATION_INSERT = "INSERT INTO `documentation`";
+    private static final String DOCUMENTATION_DELETE = "DELETE FROM `documentation`";
+
     @Autowired
     private DatabaseSpring databaseSpring;
+    @Autowired
+    private IGuiBundleService guiBundleService;
+    @Autowired
+    private IMyVersionService myVersionService;
+
+    @Override
+    public void refresh(boolean force) {
+        ArrayList<String> script = this.getSqlDocumentation();
+        String checksum = getChecksum(script);
+        if (!force) {
+            try {
+                MyVersion currentChecksum = myVersionService.findMyVersionByKey(CHECKSUM_KEY);
+                if (currentChecksum != null && checksum.equals(currentChecksum.getValueString())) {
+                    LOG.info("Documentation table already up to date.");
+                    return;
+                }
+            } catch (Exception ex) {
+                LOG.debug("Could not read documentation checksum.", ex);
+            }
+        }
+        LOG.info("Starting to Refresh documentation table");
+        Boolean refreshed = seed(script);
+        if (refreshed == null) {
+            // Fallback on the full delete and reload of the table.
+            refreshed = true;
+            for (String currentRequest : script) {
+                refreshed &= EXE_OK.equals(this.exeSQL(currentRequest));
+            }
+        }
+        if (refreshed) {
+            try {
+                myVersionService.updateMyVersionString(CHECKSUM_KEY, checksum);
+            } catch (Exception ex) {
+                LOG.debug("Could not save documentation checksum.", ex);
+            }
+        }
+        guiBundleService.purgeDocumentation();
+    }
+
+    /**
+     * Load the documentation script into a temporary table and apply only the
+     * difference to the documentation table in a single transaction, so the
+     * table is never seen empty by the GUI.
+     *
+     * @param script
+     * @return true if refreshed, false if in error and null if the temporary
+     * table could not be used.
+     */
+    private Boolean seed(ArrayList<String> script) {
+        try (Connection connection = this.databaseSpring.connect();
+             Statement preStat = connection.createStatement()) {
+            try {
+                preStat.execute("DROP TEMPORARY TABLE IF EXISTS `documentation_seed`");
+                preStat.execute("CREATE TEMPORARY TABLE `documentation_seed` LIKE `documentation`");
+            } catch (SQLException ex) {
+                LOG.debug("Could not create documentation seed table.", ex);
+                return null;
+            }
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try {
+                for (String currentRequest : script) {
+                    if (currentRequest.startsWith(DOCUMENTATION_DELETE)) {
+                        continue;
+                    }
+                    if (currentRequest.startsWith(DOCUMENTATION_INSERT)) {
+                        currentRequest = "INSERT INTO `documentation_seed`" + currentRequest.substring(DOCUMENTATION_INSERT.length());
+                    }
+                    preStat.execute(currentRequest);
+                }
+                int deleted = preStat.executeUpdate("DELETE d FROM `documentation` d LEFT JOIN `documentation_seed` s "
+                        + "ON s.DocTable = d.DocTable AND s.DocField = d.DocField AND s.DocValue = d.DocValue AND s.Lang = d.Lang "
+                        + "WHERE s.DocTable IS NULL");
+                int upserted = preStat.executeUpdate("INSERT INTO `documentation` (`DocTable`, `DocField`, `DocValue`, `Lang`, `DocLabel`, `DocDesc`, `DocAnchor`) "
+                        + "SELECT `DocTable`, `DocField`, `DocValue`, `Lang`, `DocLabel`, `DocDesc`, `DocAnchor` FROM `documentation_seed` "
+                        + "ON DUPLICATE KEY UPDATE `DocLabel` = VALUES(`DocLabel`), `DocDesc` = VALUES(`DocDesc`), `DocAnchor` = VALUES(`DocAnchor`)");
+                connection.commit();
+                LOG.info("Documentation table successfully refreshed ({} deleted, {} inserted or updated).", deleted, upserted);
+                return true;
+            } catch (SQLException ex) {
+                connection.rollback();
+                LOG.warn("Could not refresh Documentation tables. Maybe database is not yet initialized ?");
+                LOG.debug(ex.toString(), ex);
+            } finally {
+                connection.setAutoCommit(autoCommit);
+                preStat.execute("DROP TEMPORARY TABLE IF EXISTS `documentation_seed`");
+            }
+        } catch (Exception exception1) {
+            LOG.warn("Could not refresh Documentation tables. Maybe database is not yet initialized ?");
+            LOG.debug(exception1.toString(), exception1);
+        }
+        return false;
+    }
+
+    private static String getChecksum(ArrayList<String> script) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (String currentRequest : script) {
+                digest.update(currentRequest.getBytes(StandardCharsets.UTF_8));
+            }
+            StringBuilder result = new StringBuilder();
+            for (byte b : digest.digest()) {
+                result.append(String.format("%02x", b));
+            }
+            return result.toString();
+        } catch (NoSuchAlgorithmException ex) {
+            LOG.error(ex, ex);
+            return "";
+        }
+    }
 
     @Override
     public String exeSQL(String sqlString) {
@@ -69,7 +188,7 @@ public class DocumentationDatabaseService implements IDocumentationDatabaseServi
             LOG.debug(exception1.toString(), exception1);
             return exception1.toString();
         }
-        return "Documentation table successfully refreshed";
+        return EXE_OK;
     }
 
     @Override
@@ -20,6 +20,8 @@
 package org.cerberus.core.database;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
 
 /**
  * @author vertigo
@@ -34,6 +36,21 @@ public interface IDatabaseVersioningService {
      */
     String exeSQL(String sqlString);
 
+    /**
+     * Execute SQL instructions on a single connection. Each instruction is
+     * committed together with the update of the database version and
+     * checksum in myversion, so the version never falls behind the
+     * instructions applied. An instruction in error is rolled back and
+     * reported, the next ones are still executed and move the version
+     * further. Note that MySQL commits DDL instructions implicitly.
+     *
+     * @param sqlStrings SQL instructions to execute in that order, indexed by
+     * their version.
+     * @return "OK" or the error of each executed instruction. The list is
+     * shorter than sqlStrings only when the connection failed.
+     */
+    List<String> exeSQL(LinkedHashMap<Integer, String> sqlStrings);
+
     /**
      * @return true if the database is up to date and false if the database
      * needs to be upgraded.
@@ -48,9 +65,23 @@ public interface IDatabaseVersioningService {
     ArrayList<String> getSQLScriptFromFile();
 
     /**
-     * @return
+     * @param fromVersion current version of the database.
+     * @return the SQL instructions still to be executed indexed by their
+     * version. Only the pending instructions are read from the resource file.
+     */
+    LinkedHashMap<Integer, String> getSQLScriptFromVersion(int fromVersion);
+
+    /**
+     * @return the number of SQL instructions of the resource file.
      */
     public int getSqlVersion();
 
+    /**
+     * @param version
+     * @return cumulative checksum of the SQL instructions from 1 to version,
+     * empty if version does not exist.
+     */
+    String getSqlChecksum(int version);
+
 
 }
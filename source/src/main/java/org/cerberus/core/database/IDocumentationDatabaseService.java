@@ -40,6 +40,15 @@ public interface IDocumentationDatabaseService {
      */
     void init();
 
+    /**
+     * Refresh the documentation table from the documentation script. Only the
+     * difference is applied to the table. When force is false, nothing is done
+     * if the script did not change since the last refresh.
+     *
+     * @param force
+     */
+    void refresh(boolean force);
+
     /**
      * @return an array of string that contain all the SQL instructions to
      * refresh documentation table
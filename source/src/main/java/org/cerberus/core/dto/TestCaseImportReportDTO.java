@@ -0,0 +1,115 @@
+/**
+ * Cerberus Copyright (C) 2013 - 2017 cerberustesting
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This file is part of Cerberus.
+ *
+ * Cerberus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Cerberus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Cerberus.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cerberus.core.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.cerberus.core.engine.entity.MessageEvent;
+import org.cerberus.core.enums.MessageEventEnum;
+import org.cerberus.core.util.answer.Answer;
+import org.cerberus.core.util.answer.AnswerUtil;
+
+/**
+ * Progress of a testcase import that can span several files. Only the
+ * failures are kept in detail, successes are counted.
+ */
+public class TestCaseImportReportDTO {
+
+    private int imported;
+    private int skipped;
+    private int failed;
+    private final List<String> warnings = new ArrayList<>();
+    private Answer answer;
+
+    public TestCaseImportReportDTO() {
+        this.answer = new Answer(new MessageEvent(MessageEventEnum.GENERIC_OK));
+    }
+
+    public int getImported() {
+        return imported;
+    }
+
+    public int getSkipped() {
+        return skipped;
+    }
+
+    public int getFailed() {
+        return failed;
+    }
+
+    public void addImported(int nb) {
+        this.imported += nb;
+    }
+
+    public void addSkipped() {
+        this.skipped++;
+    }
+
+    public void addFailure(Answer failure) {
+        this.failed++;
+        this.answer = AnswerUtil.agregateAnswer(this.answer, failure);
+    }
+
+    /**
+     * Add a part of an imported testcase that was left out (ex : unknown
+     * label).
+     *
+     * @param warning
+     */
+    public void addWarning(String warning) {
+        this.warnings.add(warning);
+    }
+
+    public List<String> getWarnings() {
+        return warnings;
+    }
+
+    /**
+     * Add an error that is not linked to a testcase (ex : unsupported file).
+     *
+     * @param error
+     */
+    public void addError(Answer error) {
+        this.answer = AnswerUtil.agregateAnswer(this.answer, error);
+    }
+
+    /**
+     * @return the aggregated answer of the import, with the counters when
+     * everything went fine.
+     */
+    public Answer getAnswer() {
+        if (answer.isCodeStringEquals(MessageEventEnum.GENERIC_OK.getCodeString())) {
+            MessageEvent msg = new MessageEvent(MessageEventEnum.GENERIC_OK);
+            String description = imported + " testcase(s) imported and " + skipped + " already existing testcase(s) skipped.";
+            if (!warnings.isEmpty()) {
+                description += " Not imported : " + String.join(", ", warnings) + ".";
+            }
+            msg.setDescription(description);
+            return new Answer(msg);
+        }
+        return answer;
+    }
+
+    @Override
+    public String toString() {
+        return imported + " imported, " + skipped + " skipped, " + failed + " failed, " + warnings.size() + " warning(s)";
+    }
+
+}
@@ -42,12 +42,37 @@ public class ExecutionUUID {
         return executionHashMap;
     }
 
-    public void setExecutionUUID(String UUID, TestCaseExecution execution) {
+    public synchronized void setExecutionUUID(String UUID, TestCaseExecution execution) {
         executionHashMap.put(UUID, execution);
     }
 
-    public void removeExecutionUUID(String uuid) {
+    public synchronized void removeExecutionUUID(String uuid) {
         executionHashMap.remove(uuid);
+        if (executionHashMap.isEmpty()) {
+            notifyAll();
+        }
+    }
+
+    /**
+     * Wait until no more execution is running on the instance. The wait is
+     * woken up by the end of the last execution instead of polling.
+     *
+     * @param notBefore timestamp (ms) before which the instance is not
+     * considered as drained even if empty, so that executions already
+     * submitted get time to register.
+     * @param deadline timestamp (ms) after which we stop waiting.
+     * @return true if no more execution is running.
+     * @throws InterruptedException
+     */
+    public synchronized boolean waitUntilEmpty(long notBefore, long deadline) throws InterruptedException {
+        long now = System.currentTimeMillis();
+        while (now < deadline && (!executionHashMap.isEmpty() || now < notBefore)) {
+            // An execution can still register during the grace period so we wake up at its end to check again.
+            long wakeUp = executionHashMap.isEmpty() ? Math.min(notBefore, deadline) : deadline;
+            wait(Math.max(1, wakeUp - now));
+            now = System.currentTimeMillis();
+        }
+        return executionHashMap.isEmpty();
     }
 
     public long getExecutionID(String uuid) {
@@ -59,7 +84,7 @@ public class ExecutionUUID {
         return executionHashMap.get(uuid);
     }
 
-    public int size() {
+    public synchronized int size() {
         return executionHashMap.size();
     }
 }
@@ -80,6 +80,8 @@ public class Session {
 
     private JSONArray consoleLogs;
 
+    private String poolKey; // Key of the session pool when the driver can be given back to it.
+
     public boolean isSikuliAvailable() {
         return sikuliAvailable;
     }
@@ -176,6 +178,14 @@ public class Session {
         this.nodePort = nodePort;
     }
 
+    public String getPoolKey() {
+        return poolKey;
+    }
+
+    public void setPoolKey(String poolKey) {
+        this.poolKey = poolKey;
+    }
+
     public JSONArray getConsoleLogs() {
         return consoleLogs;
     }
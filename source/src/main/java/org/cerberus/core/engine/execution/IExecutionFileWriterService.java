@@ -0,0 +1,52 @@
+/**
+ * Cerberus Copyright (C) 2013 - 2017 cerberustesting
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This file is part of Cerberus.
+ *
+ * Cerberus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Cerberus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Cerberus.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cerberus.core.engine.execution;
+
+import org.cerberus.core.crud.entity.TestCaseExecutionFile;
+
+/**
+ * Write execution files to the storage folder and index them in database
+ * outside of the execution thread.
+ */
+public interface IExecutionFileWriterService {
+
+    /**
+     * Queue the write of a screenshot and the save of its index, once the
+     * file is written. When the queue is full, the write is done by the
+     * calling thread.
+     *
+     * @param executionId
+     * @param image png content
+     * @param fileIndex index entry to save once the file is written. Its
+     * FileName is the name of the screenshot in the artifact store.
+     * @param fileDescTooBig description to use when the image exceed the
+     * maximum size (file is not written in that case)
+     */
+    void writeScreenshot(long executionId, byte[] image, TestCaseExecutionFile fileIndex, String fileDescTooBig);
+
+    /**
+     * Wait until all the files queued for the execution are written. Writes
+     * that are finished are forgotten even if this is never called.
+     *
+     * @param executionId
+     */
+    void waitForPendingWrites(long executionId);
+
+}
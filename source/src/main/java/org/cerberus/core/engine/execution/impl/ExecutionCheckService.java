@@ -22,23 +22,17 @@ package org.cerberus.core.engine.execution.impl;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.cerberus.core.crud.service.IBuildRevisionInvariantService;
+import org.cerberus.core.crud.service.IReferenceDataCacheService;
 import org.cerberus.core.crud.service.ITestCaseCountryService;
 import org.cerberus.core.engine.entity.MessageGeneral;
 import org.cerberus.core.engine.execution.IExecutionCheckService;
+import org.cerberus.core.engine.queuemanagement.IRobotExecutorHealthService;
 import org.cerberus.core.enums.MessageGeneralEnum;
 import org.cerberus.core.exception.CerberusException;
 import org.cerberus.core.util.ParameterParserUtil;
-import org.json.JSONObject;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
-import java.io.BufferedReader;
-import java.io.IOException;
-import java.io.InputStream;
-import java.io.InputStreamReader;
-import java.net.URL;
-import java.net.URLConnection;
-import java.nio.charset.StandardCharsets;
 import java.text.SimpleDateFormat;
 import java.util.Date;
 import org.cerberus.core.crud.entity.BuildRevisionInvariant;
@@ -61,6 +55,10 @@ public class ExecutionCheckService implements IExecutionCheckService {
     private ITestCaseCountryService testCaseCountryService;
     @Autowired
     private IBuildRevisionInvariantService buildRevisionInvariantService;
+    @Autowired
+    private IReferenceDataCacheService referenceDataCacheService;
+    @Autowired
+    private IRobotExecutorHealthService robotExecutorHealthService;
 
     private MessageGeneral message;
 
@@ -299,8 +297,8 @@ public class ExecutionCheckService implements IExecutionCheckService {
         BuildRevisionInvariant b2;
 
         try {
-            b1 = buildRevisionInvariantService.convert(buildRevisionInvariantService.readByKey(system, 1, build1));
-            b2 = buildRevisionInvariantService.convert(buildRevisionInvariantService.readByKey(system, 1, build2));
+            b1 = buildRevisionInvariantService.convert(referenceDataCacheService.readBuildRevisionInvariant(system, 1, build1));
+            b2 = buildRevisionInvariantService.convert(referenceDataCacheService.readBuildRevisionInvariant(system, 1, build2));
         } catch (CerberusException e) {
             throw new NumberFormatException();
         }
@@ -315,8 +313,8 @@ public class ExecutionCheckService implements IExecutionCheckService {
 
     private int compareRevision(String rev1, String rev2, String system) {
         try {
-            BuildRevisionInvariant r1 = buildRevisionInvariantService.convert(buildRevisionInvariantService.readByKey(system, 2, rev1));
-            BuildRevisionInvariant r2 = buildRevisionInvariantService.convert(buildRevisionInvariantService.readByKey(system, 2, rev2));
+            BuildRevisionInvariant r1 = buildRevisionInvariantService.convert(referenceDataCacheService.readBuildRevisionInvariant(system, 2, rev1));
+            BuildRevisionInvariant r2 = buildRevisionInvariantService.convert(referenceDataCacheService.readBuildRevisionInvariant(system, 2, rev2));
 
             return r1.getSeq().compareTo(r2.getSeq());
         } catch (CerberusException e) {
@@ -373,36 +371,9 @@ public class ExecutionCheckService implements IExecutionCheckService {
                 tce.getRobotExecutorObj().setExecutorExtensionHost(tce.getRobotExecutorObj().getHost());
             }
 
-            String urlString = "http://" + tce.getRobotExecutorObj().getExecutorExtensionHost() + ":" + tce.getRobotExecutorObj().getExecutorExtensionPort() + "/check";
-            LOG.debug("Url to check Proxy Executor : {}", urlString);
-
-            URL url;
-            try {
-                url = new URL(urlString);
-                URLConnection urlConn = url.openConnection();
-                urlConn.setConnectTimeout(15000);
-                urlConn.setReadTimeout(15000);
-
-                try (InputStream is = urlConn.getInputStream()) {
-                    BufferedReader rd = new BufferedReader(new InputStreamReader(is, StandardCharsets.UTF_8));
-                    StringBuilder sb = new StringBuilder();
-                    int cp;
-                    while ((cp = rd.read()) != -1) {
-                        sb.append((char) cp);
-                    }
-                    String jsonText = sb.toString();
-
-                    JSONObject json = new JSONObject(jsonText);
-
-                    if ("OK".equals(json.getString("message"))) {
-                        return true;
-                    }
-                } catch (Exception ex) {
-                    LOG.warn("Exception Reaching Cerberus Extension {}:{} Exception: {}", tce.getRobotExecutorObj().getExecutorExtensionHost(), tce.getRobotExecutorObj().getExecutorExtensionPort(), ex.toString());
-                }
-
-            } catch (IOException ex) {
-                LOG.warn("Exception Reaching Cerberus Extension {}:{} Exception: {}", tce.getRobotExecutorObj().getExecutorExtensionHost(), tce.getRobotExecutorObj().getExecutorExtensionPort(), ex.toString());
+            // State is maintained in background so that a down extension does not block the execution until the timeout.
+            if (robotExecutorHealthService.isExtensionAvailable(tce.getRobotExecutorObj())) {
+                return true;
             }
 
             message = new MessageGeneral(MessageGeneralEnum.VALIDATION_FAILED_CERBERUSEXECUTORNOTAVAILABLE);
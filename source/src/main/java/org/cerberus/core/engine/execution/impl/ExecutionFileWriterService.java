@@ -0,0 +1,206 @@
+/**
+ * Cerberus Copyright (C) 2013 - 2017 cerberustesting
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This file is part of Cerberus.
+ *
+ * Cerberus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Cerberus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Cerberus.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cerberus.core.engine.execution.impl;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import javax.annotation.PreDestroy;
+import javax.imageio.ImageIO;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.cerberus.core.crud.entity.TestCaseExecutionFile;
+import org.cerberus.core.crud.service.IParameterService;
+import org.cerberus.core.crud.service.ITestCaseExecutionFileService;
+import org.cerberus.core.engine.execution.IExecutionFileWriterService;
+import org.cerberus.core.service.artifact.IExecutionArtifactStore;
+import org.cerberus.core.service.thumbnail.IThumbnailService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+@Service
+public class ExecutionFileWriterService implements IExecutionFileWriterService {
+
+    private static final Logger LOG = LogManager.getLogger(ExecutionFileWriterService.class);
+
+    private static final int WAIT_TIMEOUT_S = 120;
+
+    @Autowired
+    private IParameterService parameterService;
+    @Autowired
+    private ITestCaseExecutionFileService testCaseExecutionFileService;
+    @Autowired
+    private IThumbnailService thumbnailService;
+    @Autowired
+    private IExecutionArtifactStore executionArtifactStore;
+
+    private ThreadPoolExecutor executor;
+    private final Map<Long, List<Future<?>>> pendingWrites = new ConcurrentHashMap<>();
+
+    @Override
+    public void writeScreenshot(long executionId, byte[] image, TestCaseExecutionFile fileIndex, String fileDescTooBig) {
+        long maxSize = parameterService.getParameterIntegerByKey("cerberus_screenshot_max_size", "", 1048576);
+        boolean recompress = parameterService.getParameterBooleanByKey("cerberus_screenshot_recompress_boolean", "", false);
+
+        String relativeFilename = fileIndex.getFileName();
+        FutureTask<Void> write = new FutureTask<Void>(() -> {
+            byte[] content = image;
+            if (recompress || content.length > maxSize) {
+                content = recompress(content);
+            }
+            boolean written = false;
+            if (content.length > maxSize) {
+                LOG.warn("Screenshot size exceeds the maximum defined in configurations ({}>={}) destination: {}", content.length, maxSize, relativeFilename);
+                fileIndex.setFileDesc(fileDescTooBig);
+            } else {
+                try {
+                    executionArtifactStore.write(relativeFilename, content);
+                    written = true;
+                    LOG.info("File saved : {}", relativeFilename);
+                } catch (Exception ex) {
+                    // No index entry pointing to a file that does not exist.
+                    LOG.error("Exception when writing screenshot : {}", relativeFilename, ex);
+                    return;
+                }
+            }
+            // The index is only saved once the file is stored so that the report never links a missing file.
+            try {
+                testCaseExecutionFileService.save(fileIndex);
+            } catch (Exception ex) {
+                LOG.error("Exception when indexing screenshot : {}", relativeFilename, ex);
+            }
+            if (written) {
+                thumbnailService.generateThumbnailsAsync(relativeFilename);
+            }
+        }, null) {
+            @Override
+            protected void done() {
+                // Finished writes leave the pending ones whatever the way the execution ends.
+                Future<?> finished = this;
+                pendingWrites.computeIfPresent(executionId, (id, writes) -> {
+                    writes.remove(finished);
+                    return writes.isEmpty() ? null : writes;
+                });
+            }
+        };
+        // Registered before being run as the execution thread runs it itself when the queue is full.
+        pendingWrites.compute(executionId, (id, writes) -> {
+            List<Future<?>> pending = writes == null ? new CopyOnWriteArrayList<>() : writes;
+            pending.add(write);
+            return pending;
+        });
+        getExecutor().execute(write);
+    }
+
+    @Override
+    public void waitForPendingWrites(long executionId) {
+        List<Future<?>> writes = pendingWrites.remove(executionId);
+        if (writes == null) {
+            return;
+        }
+        long timeout = System.currentTimeMillis() + (WAIT_TIMEOUT_S * 1000);
+        for (Future<?> write : writes) {
+            try {
+                write.get(Math.max(1, timeout - System.currentTimeMillis()), TimeUnit.MILLISECONDS);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (ExecutionException | TimeoutException ex) {
+                LOG.warn("Execution {} : screenshot write not finished after {}s.", executionId, WAIT_TIMEOUT_S, ex);
+            }
+        }
+    }
+
+    /**
+     * Lossless recompression of a png. Alpha channel is removed when the
+     * image is fully opaque. Original content is kept if it is already
+     * smaller.
+     */
+    private byte[] recompress(byte[] image) {
+        try {
+            BufferedImage bufferedImage = ImageIO.read(new ByteArrayInputStream(image));
+            if (bufferedImage == null) {
+                return image;
+            }
+            if (bufferedImage.getColorModel().hasAlpha() && isOpaque(bufferedImage)) {
+                BufferedImage rgbImage = new BufferedImage(bufferedImage.getWidth(), bufferedImage.getHeight(), BufferedImage.TYPE_INT_RGB);
+                rgbImage.createGraphics().drawImage(bufferedImage, 0, 0, null);
+                bufferedImage = rgbImage;
+            }
+            ByteArrayOutputStream out = new ByteArrayOutputStream(image.length);
+            ImageIO.write(bufferedImage, "png", out);
+            if (out.size() < image.length) {
+                LOG.debug("Screenshot recompressed from {} to {} bytes.", image.length, out.size());
+                return out.toByteArray();
+            }
+        } catch (IOException ex) {
+            LOG.warn("Could not recompress screenshot.", ex);
+        }
+        return image;
+    }
+
+    private boolean isOpaque(BufferedImage image) {
+        for (int y = 0; y < image.getHeight(); y++) {
+            for (int x = 0; x < image.getWidth(); x++) {
+                if ((image.getRGB(x, y) >>> 24) != 0xFF) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private synchronized ThreadPoolExecutor getExecutor() {
+        int poolSize = Math.max(1, parameterService.getParameterIntegerByKey("cerberus_screenshot_writer_threadpoolsize", "", 2));
+        if (executor == null) {
+            int queueSize = Math.max(1, parameterService.getParameterIntegerByKey("cerberus_screenshot_writer_queuesize", "", 200));
+            // When the queue is full, the execution thread writes the file itself.
+            executor = new ThreadPoolExecutor(poolSize, poolSize, 60, TimeUnit.SECONDS, new ArrayBlockingQueue<>(queueSize), new ThreadPoolExecutor.CallerRunsPolicy());
+            executor.allowCoreThreadTimeOut(true);
+        } else if (poolSize > executor.getMaximumPoolSize()) {
+            executor.setMaximumPoolSize(poolSize);
+            executor.setCorePoolSize(poolSize);
+        } else if (poolSize < executor.getMaximumPoolSize()) {
+            executor.setCorePoolSize(poolSize);
+            executor.setMaximumPoolSize(poolSize);
+        }
+        return executor;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+
+}
@@ -26,6 +26,7 @@ import org.cerberus.core.crud.entity.Application;
 import org.cerberus.core.crud.entity.CountryEnvLink;
 import org.cerberus.core.crud.entity.CountryEnvParam;
 import org.cerberus.core.crud.entity.EventHook;
+import org.cerberus.core.crud.entity.Parameter;
 import org.cerberus.core.crud.entity.RobotCapability;
 import org.cerberus.core.crud.entity.Tag;
 import org.cerberus.core.crud.entity.Test;
@@ -64,6 +65,7 @@ import org.cerberus.core.engine.entity.ExecutionUUID;
 import org.cerberus.core.engine.entity.MessageEvent;
 import org.cerberus.core.engine.entity.MessageGeneral;
 import org.cerberus.core.engine.execution.IConditionService;
+import org.cerberus.core.engine.execution.IExecutionFileWriterService;
 import org.cerberus.core.engine.execution.IExecutionRunService;
 import org.cerberus.core.engine.execution.IRecorderService;
 import org.cerberus.core.engine.execution.IRetriesService;
@@ -72,6 +74,7 @@ import org.cerberus.core.engine.execution.enums.ConditionOperatorEnum;
 import org.cerberus.core.engine.execution.video.VideoRecorder;
 import org.cerberus.core.engine.gwt.IActionService;
 import org.cerberus.core.engine.gwt.IControlService;
+import org.cerberus.core.engine.gwt.IPropertyService;
 import org.cerberus.core.engine.gwt.IVariableService;
 import org.cerberus.core.engine.queuemanagement.IExecutionThreadPoolService;
 import org.cerberus.core.enums.MessageEventEnum;
@@ -100,8 +103,16 @@ import java.math.BigDecimal;
 import java.text.DateFormat;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Date;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import org.cerberus.core.service.xray.IXRayService;
 import org.cerberus.core.service.robotproxy.IRobotProxyService;
 
@@ -115,6 +126,16 @@ public class ExecutionRunService implements IExecutionRunService {
 
     private static final Logger LOG = LogManager.getLogger(ExecutionRunService.class);
 
+    // Actions that can be executed by steps running concurrently. Other actions rely on the robot session.
+    private static final Set<String> PARALLEL_STEP_ACTIONS = new HashSet<>(Arrays.asList(
+            TestCaseStepAction.ACTION_CALLSERVICE, TestCaseStepAction.ACTION_EXECUTESQLUPDATE, TestCaseStepAction.ACTION_EXECUTESQLSTOREPROCEDURE,
+            TestCaseStepAction.ACTION_CALCULATEPROPERTY, TestCaseStepAction.ACTION_SETSERVICECALLCONTENT, TestCaseStepAction.ACTION_DONOTHING));
+    // Controls that rely on the robot session.
+    private static final Set<String> SESSION_CONTROLS = new HashSet<>(Arrays.asList(
+            TestCaseStepActionControl.CONTROL_VERIFYTEXTINPAGE, TestCaseStepActionControl.CONTROL_VERIFYTEXTNOTINPAGE, TestCaseStepActionControl.CONTROL_VERIFYTITLE,
+            TestCaseStepActionControl.CONTROL_VERIFYURL, TestCaseStepActionControl.CONTROL_VERIFYTEXTINDIALOG, TestCaseStepActionControl.CONTROL_TAKESCREENSHOT,
+            TestCaseStepActionControl.CONTROL_GETPAGESOURCE));
+
     private ISikuliService sikuliService;
     private IRobotServerService robotServerService;
     private IActionService actionService;
@@ -139,6 +160,7 @@ public class ExecutionRunService implements IExecutionRunService {
     private ExecutionUUID executionUUID;
     private SessionCounter sessionCounter;
     private IRecorderService recorderService;
+    private IExecutionFileWriterService executionFileWriterService;
     private IVariableService variableService;
     private IParameterService parameterService;
     private ITagService tagService;
@@ -153,6 +175,7 @@ public class ExecutionRunService implements IExecutionRunService {
     private IRobotProxyService executorService;
     private IEventService eventService;
     private IXRayService xRayService;
+    private IPropertyService propertyService;
 
     @Override
     public TestCaseExecution executeTestCase(TestCaseExecution execution) throws CerberusException {
@@ -490,7 +513,26 @@ public class ExecutionRunService implements IExecutionRunService {
                 if (doExecuteTestCase || execution.getManualExecution().equals("Y")) {
 
                     boolean doStepStopExecution = false;
+                    int parallelStepPoolSize = getParallelStepPoolSize(execution);
+                    int stepPosition = -1;
+                    int parallelExecutedUntil = -1;
                     for (TestCaseStep step : mainExecutionTestCaseStepList) {
+                        stepPosition++;
+
+                        // Step already executed together with the previous independent steps.
+                        if (stepPosition <= parallelExecutedUntil) {
+                            continue;
+                        }
+
+                        // Consecutive independent steps are executed concurrently.
+                        if ((parallelStepPoolSize > 1) && !doStepStopExecution) {
+                            List<TestCaseStep> independentSteps = getIndependentSteps(mainExecutionTestCaseStepList, stepPosition, execution);
+                            if (independentSteps.size() > 1) {
+                                parallelExecutedUntil = stepPosition + independentSteps.size() - 1;
+                                doStepStopExecution = executeIndependentSteps(independentSteps, parallelStepPoolSize, execution);
+                                continue;
+                            }
+                        }
 
                         ConditionOperatorEnum testcaseStepConditionEnum = ConditionOperatorEnum.getConditionOperatorEnumFromString(step.getConditionOperator());
 
@@ -508,25 +550,7 @@ public class ExecutionRunService implements IExecutionRunService {
 
                                 // Start Execution of TestCaseStep
                                 LOG.debug("{}Start execution of testcasestep", logPrefix);
-                                long startStep = new Date().getTime();
-
-                                //Create and Register TestCaseStepExecution
-                                MessageEvent stepMess = new MessageEvent(MessageEventEnum.STEP_PENDING)
-                                        .resolveDescription("STEP", String.valueOf(step.getSort()))
-                                        .resolveDescription("STEPINDEX", String.valueOf(stepIndex));
-                                stepExecution = factoryTestCaseStepExecution.create(
-                                        runID, step.getTest(), step.getTestcase(),
-                                        step.getStepId(), stepIndex, step.getSort(), step.getLoop(), step.getConditionOperator(), step.getConditionValue1(), step.getConditionValue2(), step.getConditionValue3(), step.getConditionValue1(), step.getConditionValue2(), step.getConditionValue3(), null,
-                                        startStep, startStep, startStep, startStep, new BigDecimal("0"), null, stepMess, step, execution,
-                                        step.isUsingLibraryStep(), step.getLibraryStepTest(), step.getLibraryStepTestcase(), step.getLibraryStepStepId(), step.getDescription());
-                                stepExecution.setLoop(step.getLoop());
-                                stepExecution.setConditionOptions(step.getConditionOptionsActive());
-
-                                testCaseStepExecutionService.insertTestCaseStepExecution(stepExecution, execution.getSecrets());
-                                stepExecution.setExecutionResultMessage(new MessageGeneral(MessageGeneralEnum.EXECUTION_PE_TESTSTARTED));
-
-                                // We populate the TestCaseStep inside the execution List
-                                execution.addStepExecutionList(stepExecution);
+                                stepExecution = registerStepExecution(step, stepIndex, execution);
 
                                 // determine if step is executed (doExecuteStep) and if we trigger a new step execution after (doExecuteNextStep)
                                 boolean doExecuteStep = true;
@@ -836,11 +860,16 @@ public class ExecutionRunService implements IExecutionRunService {
             LOG.error("{}Exception found Executing Test {}", logPrefix, execution.getId(), ex);
         } finally {
 
-            //  We stop the server session here (selenium for ex.).
             try {
                 if (videoRecorder != null) {
                     videoRecorder.endRecordVideo();
                 }
+            } catch (Exception ex) {
+                LOG.error("{}Exception Stopping video record {} Exception: {}", logPrefix, execution.getId(), ex.toString(), ex);
+            }
+
+            //  We stop the server session here (selenium for ex.). Pending screenshot writes are waited for there.
+            try {
                 execution = this.stopTestCase(execution);
             } catch (Exception ex) {
                 LOG.error("{}Exception Stopping Test {} Exception: {}", logPrefix, execution.getId(), ex.toString(), ex);
@@ -940,7 +969,8 @@ public class ExecutionRunService implements IExecutionRunService {
 
     private void updateExecutionWebSocketOnly(TestCaseExecution execution, boolean forcePush) {
         // Websocket --> we refresh the corresponding Detail Execution pages attached to this execution.
-        if (execution.isCerberus_featureflipping_activatewebsocketpush()) {
+        // Steps executed concurrently do not push, the execution is pushed once all of them are finished.
+        if (execution.isCerberus_featureflipping_activatewebsocketpush() && !execution.isStepContextOpened()) {
             TestCaseExecutionEndPoint.getInstance().send(execution, forcePush);
         }
 
@@ -960,6 +990,9 @@ public class ExecutionRunService implements IExecutionRunService {
         // Saving TestCaseExecution object.
         execution.setEnd(new Date().getTime());
 
+        // Screenshots are written in background. They must all be stored before execution is reported as finished.
+        executionFileWriterService.waitForPendingWrites(execution.getId());
+
         try {
             testCaseExecutionService.updateTCExecution(execution);
         } catch (CerberusException ex) {
@@ -975,6 +1008,307 @@ public class ExecutionRunService implements IExecutionRunService {
         return execution;
     }
 
+    /**
+     * Create the execution of the step, register it in database and add it to
+     * the execution.
+     *
+     * @param step
+     * @param stepIndex
+     * @param execution
+     * @return
+     */
+    private TestCaseStepExecution registerStepExecution(TestCaseStep step, int stepIndex, TestCaseExecution execution) {
+        long startStep = new Date().getTime();
+
+        //Create and Register TestCaseStepExecution
+        MessageEvent stepMess = new MessageEvent(MessageEventEnum.STEP_PENDING)
+                .resolveDescription("STEP", String.valueOf(step.getSort()))
+                .resolveDescription("STEPINDEX", String.valueOf(stepIndex));
+        TestCaseStepExecution stepExecution = factoryTestCaseStepExecution.create(
+                execution.getId(), step.getTest(), step.getTestcase(),
+                step.getStepId(), stepIndex, step.getSort(), step.getLoop(), step.getConditionOperator(), step.getConditionValue1(), step.getConditionValue2(), step.getConditionValue3(), step.getConditionValue1(), step.getConditionValue2(), step.getConditionValue3(), null,
+                startStep, startStep, startStep, startStep, new BigDecimal("0"), null, stepMess, step, execution,
+                step.isUsingLibraryStep(), step.getLibraryStepTest(), step.getLibraryStepTestcase(), step.getLibraryStepStepId(), step.getDescription());
+        stepExecution.setLoop(step.getLoop());
+        stepExecution.setConditionOptions(step.getConditionOptionsActive());
+
+        testCaseStepExecutionService.insertTestCaseStepExecution(stepExecution, execution.getSecrets());
+        stepExecution.setExecutionResultMessage(new MessageGeneral(MessageGeneralEnum.EXECUTION_PE_TESTSTARTED));
+
+        // We populate the TestCaseStep inside the execution List
+        execution.addStepExecutionList(stepExecution);
+        return stepExecution;
+    }
+
+    /**
+     * Get the number of steps that can be executed concurrently. Only
+     * testcases that activate the option parallelSteps (with value Y) on
+     * applications that do not rely on a robot session can execute steps
+     * concurrently.
+     *
+     * @param execution
+     * @return
+     */
+    private int getParallelStepPoolSize(TestCaseExecution execution) {
+        if (execution.getManualExecution().equals("Y")
+                || !(Application.TYPE_SRV.equals(execution.getApplicationObj().getType()) || Application.TYPE_NONE.equals(execution.getApplicationObj().getType()))
+                || (execution.getConditionOptions() == null)
+                || !"Y".equalsIgnoreCase(robotServerService.getMapFromOptions(execution.getConditionOptions()).get(RobotServerService.OPTIONS_PARALLELSTEPS_SYNTAX))) {
+            return 0;
+        }
+        return parameterService.getParameterIntegerByKey(Parameter.VALUE_cerberus_execution_parallelstep_poolsize, "", 0);
+    }
+
+    /**
+     * Get the consecutive steps starting at index start that can be executed
+     * concurrently. Steps are taken until one cannot be executed concurrently,
+     * reads the return code of a step or uses a property already used by a
+     * step of the group.
+     *
+     * @param steps
+     * @param start
+     * @param execution
+     * @return
+     */
+    private List<TestCaseStep> getIndependentSteps(List<TestCaseStep> steps, int start, TestCaseExecution execution) {
+        List<TestCaseStep> result = new ArrayList<>();
+        Set<String> groupProperties = new HashSet<>();
+        for (int i = start; i < steps.size(); i++) {
+            TestCaseStep step = steps.get(i);
+            if (!isParallelizable(step)) {
+                break;
+            }
+            List<String> stepValues = getStepValues(step);
+            Set<String> stepProperties = new HashSet<>();
+            for (String value : stepValues) {
+                stepProperties.addAll(propertyService.getLinkedPropertyNames(value, execution));
+            }
+            if (!Collections.disjoint(groupProperties, stepProperties) || readsStepReturnCode(stepValues, stepProperties, execution)) {
+                break;
+            }
+            groupProperties.addAll(stepProperties);
+            result.add(step);
+        }
+        return result;
+    }
+
+    /**
+     * A step can be executed concurrently when it is executed only once, has
+     * no condition, does not use a library step and only calls services or
+     * executes sql. A step that does not start by calling a service must not
+     * read the service called by a previous step.
+     *
+     * @param step
+     * @return
+     */
+    private static boolean isParallelizable(TestCaseStep step) {
+        if (step.isUsingLibraryStep()
+                || !ConditionOperatorEnum.CONDITIONOPERATOR_ALWAYS.getCondition().equals(step.getConditionOperator())
+                || !(StringUtil.isEmpty(step.getLoop()) || TestCaseStep.LOOP_ONCEIFCONDITIONTRUE.equals(step.getLoop()))
+                || (step.getActions() == null) || step.getActions().isEmpty()) {
+            return false;
+        }
+        boolean readsPreviousService = !TestCaseStepAction.ACTION_CALLSERVICE.equals(step.getActions().get(0).getAction());
+        for (TestCaseStepAction action : step.getActions()) {
+            if (!PARALLEL_STEP_ACTIONS.contains(action.getAction())
+                    || (readsPreviousService && (TestCaseStepAction.ACTION_SETSERVICECALLCONTENT.equals(action.getAction()) || isElementCondition(action.getConditionOperator())))) {
+                return false;
+            }
+            if (action.getControls() != null) {
+                for (TestCaseStepActionControl control : action.getControls()) {
+                    if (SESSION_CONTROLS.contains(control.getControl())
+                            || (readsPreviousService && (control.getControl().startsWith("verifyElement") || TestCaseStepActionControl.CONTROL_VERIFYXMLTREESTRUCTURE.equals(control.getControl())
+                            || isElementCondition(control.getConditionOperator())))) {
+                        return false;
+                    }
+                }
+            }
+        }
+        return true;
+    }
+
+    private static boolean isElementCondition(String conditionOperator) {
+        ConditionOperatorEnum conditionOperatorEnum = ConditionOperatorEnum.getConditionOperatorEnumFromString(conditionOperator);
+        return (conditionOperatorEnum != null) && conditionOperatorEnum.isOperatorEvaluationRequired();
+    }
+
+    /**
+     * Get all the values of the step, its actions and its controls that can
+     * reference properties or variables.
+     *
+     * @param step
+     * @return
+     */
+    private static List<String> getStepValues(TestCaseStep step) {
+        List<String> values = new ArrayList<>(Arrays.asList(step.getDescription(), step.getConditionValue1(), step.getConditionValue2(), step.getConditionValue3()));
+        for (TestCaseStepAction action : step.getActions()) {
+            values.addAll(Arrays.asList(action.getDescription(), action.getConditionValue1(), action.getConditionValue2(), action.getConditionValue3(),
+                    action.getValue1(), action.getValue2(), action.getValue3()));
+            if (TestCaseStepAction.ACTION_CALCULATEPROPERTY.equals(action.getAction())) {
+                values.add("%" + action.getValue1() + "%");
+                values.add("%" + action.getValue2() + "%");
+            }
+            if (action.getControls() != null) {
+                for (TestCaseStepActionControl control : action.getControls()) {
+                    values.addAll(Arrays.asList(control.getDescription(), control.getConditionValue1(), control.getConditionValue2(), control.getConditionValue3(),
+                            control.getValue1(), control.getValue2(), control.getValue3()));
+                }
+            }
+        }
+        return values;
+    }
+
+    /**
+     * Return codes of steps are only known once the previous steps are
+     * finished, so a step reading them (directly or through its properties)
+     * cannot be executed concurrently.
+     *
+     * @param stepValues
+     * @param stepProperties
+     * @param execution
+     * @return
+     */
+    private static boolean readsStepReturnCode(List<String> stepValues, Set<String> stepProperties, TestCaseExecution execution) {
+        List<String> values = new ArrayList<>(stepValues);
+        if (execution.getTestCaseCountryPropertyList() != null) {
+            for (TestCaseCountryProperties property : execution.getTestCaseCountryPropertyList()) {
+                if (stepProperties.contains(property.getProperty())) {
+                    values.addAll(Arrays.asList(property.getValue1(), property.getValue2(), property.getLength()));
+                }
+            }
+        }
+        for (String value : values) {
+            if ((value != null) && (value.contains("%SYS_STEP.") || value.contains("%system.STEP."))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Execute concurrently a group of independent steps. Step executions are
+     * registered, and their results applied to the execution, in the sort
+     * order of the steps.
+     *
+     * @param steps
+     * @param poolSize
+     * @param execution
+     * @return true if one of the steps asked to stop the execution.
+     */
+    private boolean executeIndependentSteps(List<TestCaseStep> steps, int poolSize, TestCaseExecution execution) {
+        String logPrefix = execution.getId() + " - ";
+        LOG.debug("{}Executing {} independent steps concurrently.", logPrefix, steps.size());
+
+        List<TestCaseStepExecution> stepExecutions = new ArrayList<>();
+        for (TestCaseStep step : steps) {
+            stepExecutions.add(registerStepExecution(step, 1, execution));
+        }
+
+        boolean stopExecution = false;
+        ExecutorService stepPool = Executors.newFixedThreadPool(Math.min(poolSize, steps.size()));
+        try {
+            List<Future<TestCaseExecution.StepContext>> stepResults = new ArrayList<>();
+            for (TestCaseStepExecution stepExecution : stepExecutions) {
+                stepResults.add(stepPool.submit(() -> executeIndependentStep(stepExecution, execution)));
+            }
+
+            for (int i = 0; i < stepExecutions.size(); i++) {
+                TestCaseStepExecution stepExecution = stepExecutions.get(i);
+                try {
+                    // Following steps see the last service called as if steps were executed sequentially.
+                    execution.applyStepContext(stepResults.get(i).get());
+                } catch (InterruptedException ex) {
+                    LOG.warn("{}Interrupted while waiting for step {}.", logPrefix, stepExecution.getStepId());
+                    Thread.currentThread().interrupt();
+                    stepPool.shutdownNow();
+                    return true;
+                } catch (ExecutionException ex) {
+                    LOG.error("{}Exception executing step {}.", logPrefix, stepExecution.getStepId(), ex.getCause());
+                    stepExecution.setExecutionResultMessage(new MessageGeneral(MessageGeneralEnum.EXECUTION_FA_CERBERUS).resolveDescription("MES", String.valueOf(ex.getCause())));
+                    stepExecution.setStopExecution(true);
+                    stepExecution.setEnd(new Date().getTime());
+                    testCaseStepExecutionService.updateTestCaseStepExecution(stepExecution, execution.getSecrets());
+                }
+
+                /*
+                 * Updating Execution Result Message only if execution result
+                 * message of the step is not PE or OK.
+                 */
+                if ((!(stepExecution.getExecutionResultMessage().equals(new MessageGeneral(MessageGeneralEnum.EXECUTION_PE_TESTSTARTED))))
+                        && (!(stepExecution.getExecutionResultMessage().equals(new MessageGeneral(MessageGeneralEnum.EXECUTION_OK))))) {
+                    execution.setResultMessage(stepExecution.getExecutionResultMessage());
+                }
+
+                // Log TestCaseStepExecution
+                if ((execution.getVerbose() > 0) && parameterService.getParameterBooleanByKey("cerberus_executionlog_enable", execution.getSystem(), false)) {
+                    LOG.info(stepExecution.toJson(false, true, execution.getSecrets()));
+                }
+
+                stopExecution = stopExecution || stepExecution.isStopExecution();
+            }
+        } finally {
+            stepPool.shutdown();
+        }
+
+        // Websocket --> we refresh the corresponding Detail Execution pages attached to this execution.
+        updateExecutionWebSocketOnly(execution, false);
+        return stopExecution;
+    }
+
+    /**
+     * Execute a step of a group of independent steps. Runs on a thread of the
+     * step pool with its own step context.
+     *
+     * @param stepExecution
+     * @param execution
+     * @return the step context, once closed.
+     */
+    private TestCaseExecution.StepContext executeIndependentStep(TestCaseStepExecution stepExecution, TestCaseExecution execution) {
+        String logPrefix = execution.getId() + " - ";
+        execution.openStepContext(stepExecution);
+        try {
+            // Values are decoded as in sequential execution, even if the condition is always true.
+            String[] fields = {"Step Condition Value1", "Step Condition Value2", "Step Condition Value3", "Step Description"};
+            String[] values = {stepExecution.getConditionValue1(), stepExecution.getConditionValue2(), stepExecution.getConditionValue3(), stepExecution.getDescription()};
+            for (int i = 0; i < fields.length; i++) {
+                try {
+                    AnswerItem<String> answerDecode = variableService.decodeStringCompletly(values[i], execution, null, false);
+                    values[i] = answerDecode.getItem();
+                    if (!(answerDecode.isCodeStringEquals("OK"))) {
+                        stepExecution.setExecutionResultMessage(new MessageGeneral(MessageGeneralEnum.EXECUTION_FA_DECODE)
+                                .resolveDescription("AREA", "Step")
+                                .resolveDescription("MES", answerDecode.getMessageDescription()));
+                        stepExecution.setStepResultMessage(answerDecode.getResultMessage().resolveDescription("FIELD", fields[i]));
+                        stepExecution.setReturnMessage(answerDecode.getResultMessage().resolveDescription("FIELD", fields[i]).getDescription());
+                        stepExecution.setReturnCode(answerDecode.getResultMessage().getCodeString());
+                        stepExecution.setStopExecution(true);
+                        stepExecution.setEnd(new Date().getTime());
+                        testCaseStepExecutionService.updateTestCaseStepExecution(stepExecution, execution.getSecrets());
+                        LOG.debug("{}Step interrupted due to decode '{}' Error.", logPrefix, fields[i]);
+                        return execution.closeStepContext();
+                    }
+                } catch (CerberusEventException cex) {
+                    LOG.warn(cex);
+                }
+            }
+            stepExecution.setConditionValue1(values[0]);
+            stepExecution.setConditionValue2(values[1]);
+            stepExecution.setConditionValue3(values[2]);
+            stepExecution.setDescription(values[3]);
+
+            LOG.debug("{}Executing step : {} - {} - Step {}", logPrefix, stepExecution.getTest(), stepExecution.getTestCase(), stepExecution.getStepId());
+            this.executeStep(stepExecution, execution);
+            if (stepExecution.getStepResultMessage().equals(new MessageEvent(MessageEventEnum.STEP_PENDING))) {
+                stepExecution.setStepResultMessage(new MessageEvent(MessageEventEnum.STEP_SUCCESS));
+            }
+            testCaseStepExecutionService.updateTestCaseStepExecution(stepExecution, execution.getSecrets());
+            return execution.closeStepContext();
+        } finally {
+            // Context is already closed when the step ended normally.
+            execution.closeStepContext();
+        }
+    }
+
     private TestCaseStepExecution executeStep(TestCaseStepExecution stepExecution, TestCaseExecution execution) {
 
         long runID = stepExecution.getId();
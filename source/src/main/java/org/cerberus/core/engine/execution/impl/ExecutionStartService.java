@@ -52,7 +52,7 @@ import org.cerberus.core.crud.service.ICountryEnvironmentParametersService;
 import org.cerberus.core.crud.service.IInvariantService;
 import org.cerberus.core.crud.service.IParameterService;
 import org.cerberus.core.crud.service.IRobotExecutorService;
-import org.cerberus.core.crud.service.IRobotService;
+import org.cerberus.core.crud.service.IReferenceDataCacheService;
 import org.cerberus.core.crud.service.ITestCaseExecutionQueueService;
 import org.cerberus.core.crud.service.ITestCaseExecutionService;
 import org.cerberus.core.crud.service.ITestCaseService;
@@ -91,13 +91,13 @@ public class ExecutionStartService implements IExecutionStartService {
     @Autowired
     private ITestCaseExecutionQueueService inQueueService;
     @Autowired
-    private IRobotService robotService;
-    @Autowired
     private IRobotExecutorService robotExecutorService;
     @Autowired
     private IExecutionThreadPoolService executionThreadPoolService;
     @Autowired
     private IEventService eventService;
+    @Autowired
+    private IReferenceDataCacheService referenceDataCacheService;
 
     private static final Logger LOG = LogManager.getLogger(ExecutionStartService.class);
 
@@ -119,7 +119,7 @@ public class ExecutionStartService implements IExecutionStartService {
         LOG.debug("Checking the parameters.");
         Invariant myInvariant;
         try {
-            myInvariant = invariantService.convert(invariantService.readByKey("OUTPUTFORMAT", execution.getOutputFormat()));
+            myInvariant = invariantService.convert(referenceDataCacheService.readInvariant("OUTPUTFORMAT", execution.getOutputFormat()));
         } catch (CerberusException ex) {
             MessageGeneral mes = new MessageGeneral(MessageGeneralEnum.VALIDATION_FAILED_OUTPUTFORMAT_INVALID);
             mes.setDescription(mes.getDescription().replace("%PARAM%", execution.getOutputFormat()));
@@ -127,7 +127,7 @@ public class ExecutionStartService implements IExecutionStartService {
             throw new CerberusException(mes);
         }
         try {
-            myInvariant = invariantService.convert(invariantService.readByKey("VERBOSE", String.valueOf(execution.getVerbose())));
+            myInvariant = invariantService.convert(referenceDataCacheService.readInvariant("VERBOSE", String.valueOf(execution.getVerbose())));
         } catch (CerberusException ex) {
             MessageGeneral mes = new MessageGeneral(MessageGeneralEnum.VALIDATION_FAILED_VERBOSE_INVALID);
             mes.setDescription(mes.getDescription().replace("%PARAM%", String.valueOf(execution.getVerbose())));
@@ -135,7 +135,7 @@ public class ExecutionStartService implements IExecutionStartService {
             throw new CerberusException(mes);
         }
         try {
-            myInvariant = invariantService.convert(invariantService.readByKey("SCREENSHOT", String.valueOf(execution.getScreenshot())));
+            myInvariant = invariantService.convert(referenceDataCacheService.readInvariant("SCREENSHOT", String.valueOf(execution.getScreenshot())));
         } catch (CerberusException ex) {
             MessageGeneral mes = new MessageGeneral(MessageGeneralEnum.VALIDATION_FAILED_SCREENSHOT_INVALID);
             mes.setDescription(mes.getDescription().replace("%PARAM%", String.valueOf(execution.getScreenshot())));
@@ -198,7 +198,7 @@ public class ExecutionStartService implements IExecutionStartService {
         LOG.debug("Loading Application Information");
         try {
             execution.setApplication(execution.getTestCaseObj().getApplication());
-            execution.setApplicationObj(applicationService.convert(this.applicationService.readByKey(execution.getTestCaseObj().getApplication())));
+            execution.setApplicationObj(applicationService.convert(referenceDataCacheService.readApplication(execution.getTestCaseObj().getApplication())));
             // Setting Application Type to value coming from Application.
             execution.setAppTypeEngine(execution.getApplicationObj().getType());
             // Setting System from queue.
@@ -217,7 +217,7 @@ public class ExecutionStartService implements IExecutionStartService {
         // Load Country information and Set it to the TestCaseExecution object.
         LOG.debug("Loading Country Information");
         try {
-            execution.setCountryObj(invariantService.convert(invariantService.readByKey("COUNTRY", execution.getCountry())));
+            execution.setCountryObj(invariantService.convert(referenceDataCacheService.readInvariant("COUNTRY", execution.getCountry())));
             if (execution.getCountryObj() != null) {
                 LOG.debug("Country Information Loaded - {} - {}", execution.getCountryObj().getValue(), execution.getCountryObj().getDescription());
             } else {
@@ -280,7 +280,7 @@ public class ExecutionStartService implements IExecutionStartService {
             LOG.debug("Loading Country/Environment/Application Information. {}-{}-{}", execution.getCountry(), execution.getEnvironment(), execution.getApplicationObj().getApplication());
             CountryEnvironmentParameters cea;
             try {
-                cea = this.countryEnvironmentParametersService.convert(this.countryEnvironmentParametersService.readByKey(
+                cea = this.countryEnvironmentParametersService.convert(referenceDataCacheService.readCountryEnvironmentParameters(
                         execution.getApplicationObj().getSystem(), execution.getCountry(), execution.getEnvironment(), execution.getApplicationObj().getApplication()));
                 if (cea != null) {
                     if (execution.getManualURL() == 2) {
@@ -330,7 +330,7 @@ public class ExecutionStartService implements IExecutionStartService {
         // Load Environment object from invariant table.
         LOG.debug("Loading Environment Information. {}", execution.getEnvironmentData());
         try {
-            execution.setEnvironmentDataObj(invariantService.convert(invariantService.readByKey("ENVIRONMENT", execution.getEnvironmentData())));
+            execution.setEnvironmentDataObj(invariantService.convert(referenceDataCacheService.readInvariant("ENVIRONMENT", execution.getEnvironmentData())));
         } catch (CerberusException ex) {
             if (execution.getManualURL() >= 1) {
                 MessageGeneral mes = new MessageGeneral(MessageGeneralEnum.VALIDATION_FAILED_ENVIRONMENT_DOESNOTEXIST_MAN);
@@ -349,7 +349,7 @@ public class ExecutionStartService implements IExecutionStartService {
         // Load Environment object from invariant table.
         LOG.debug("Loading Environment Information. {}", execution.getEnvironment());
         try {
-            execution.setEnvironmentObj(invariantService.convert(invariantService.readByKey("ENVIRONMENT", execution.getEnvironment())));
+            execution.setEnvironmentObj(invariantService.convert(referenceDataCacheService.readInvariant("ENVIRONMENT", execution.getEnvironment())));
         } catch (CerberusException ex) {
             if (execution.getManualURL() >= 1) {
                 MessageGeneral mes = new MessageGeneral(MessageGeneralEnum.VALIDATION_FAILED_ENVIRONMENT_DOESNOTEXIST_MAN);
@@ -368,7 +368,7 @@ public class ExecutionStartService implements IExecutionStartService {
         // Load Priority object from invariant table.
         LOG.debug("Loading Priority Information. {}", execution.getTestCaseObj().getPriority());
         try {
-            execution.setPriorityObj(invariantService.convert(invariantService.readByKey("PRIORITY", String.valueOf(execution.getTestCaseObj().getPriority()))));
+            execution.setPriorityObj(invariantService.convert(referenceDataCacheService.readInvariant("PRIORITY", String.valueOf(execution.getTestCaseObj().getPriority()))));
         } catch (CerberusException ex) {
             MessageGeneral mes = new MessageGeneral(MessageGeneralEnum.VALIDATION_FAILED_PRIORITY_DOESNOTEXIST);
             mes.setDescription(mes.getDescription().replace("%PRIO%", String.valueOf(execution.getTestCaseObj().getPriority())));
@@ -385,7 +385,7 @@ public class ExecutionStartService implements IExecutionStartService {
         LOG.debug("Loading Country/Environment Information. {} - {}", execution.getCountry(), execution.getEnvironmentData());
         CountryEnvParam countEnvParam;
         try {
-            countEnvParam = this.countryEnvParamService.convert(this.countryEnvParamService.readByKey(execution.getApplicationObj().getSystem(), execution.getCountry(), execution.getEnvironmentData()));
+            countEnvParam = this.countryEnvParamService.convert(referenceDataCacheService.readCountryEnvParam(execution.getApplicationObj().getSystem(), execution.getCountry(), execution.getEnvironmentData()));
             execution.setCountryEnvParam(countEnvParam);
             /*
              * Copy the Build/Revision of the environment to the Execution. This
@@ -414,7 +414,7 @@ public class ExecutionStartService implements IExecutionStartService {
         String version = "";
         String platform = "";
         if (!StringUtil.isEmpty(execution.getRobot())) {
-            robObj = robotService.readByKey(execution.getRobot());
+            robObj = referenceDataCacheService.readRobot(execution.getRobot());
 
             if (robObj == null) {
                 throw new CerberusException(new MessageGeneral(MessageGeneralEnum.EXECUTION_FA_ROBOTNOTEXIST)
@@ -460,7 +460,7 @@ public class ExecutionStartService implements IExecutionStartService {
                 LOG.debug(" Executor retreived : {}", robExeObj.getExecutor());
             } else {
                 LOG.debug(" Getting Requested Robot / Executor : {} / {}", execution.getRobot(), execution.getRobotExecutor());
-                robExeObj = robotExecutorService.convert(robotExecutorService.readByKey(execution.getRobot(), execution.getRobotExecutor()));
+                robExeObj = robotExecutorService.convert(referenceDataCacheService.readRobotExecutor(execution.getRobot(), execution.getRobotExecutor()));
                 execution.setRobotExecutorObj(robExeObj);
                 if (robExeObj == null) {
                     throw new CerberusException(new MessageGeneral(MessageGeneralEnum.EXECUTION_FA_ROBOTEXECUTORNOTEXIST)
@@ -533,7 +533,7 @@ public class ExecutionStartService implements IExecutionStartService {
         // For GUI application, check if Browser is supported.
         if (!execution.getManualExecution().equals("Y") && execution.getAppTypeEngine().equalsIgnoreCase(Application.TYPE_GUI)) {
             try {
-                myInvariant = invariantService.convert(invariantService.readByKey("BROWSER", execution.getBrowser()));
+                myInvariant = invariantService.convert(referenceDataCacheService.readInvariant("BROWSER", execution.getBrowser()));
             } catch (CerberusException ex) {
                 MessageGeneral mes = new MessageGeneral(MessageGeneralEnum.VALIDATION_FAILED_BROWSER_NOT_SUPPORTED);
                 mes.setDescription(mes.getDescription().replace("%BROWSER%", execution.getBrowser()));
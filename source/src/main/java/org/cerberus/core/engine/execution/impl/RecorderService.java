@@ -20,7 +20,6 @@
 package org.cerberus.core.engine.execution.impl;
 
 import org.apache.commons.fileupload.FileItem;
-import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.IOUtils;
 import org.cerberus.core.crud.entity.AppService;
 import org.cerberus.core.crud.entity.Application;
@@ -34,10 +33,12 @@ import org.cerberus.core.crud.service.IParameterService;
 import org.cerberus.core.crud.service.ITestCaseExecutionFileService;
 import org.cerberus.core.engine.entity.MessageEvent;
 import org.cerberus.core.engine.entity.Recorder;
+import org.cerberus.core.engine.execution.IExecutionFileWriterService;
 import org.cerberus.core.engine.execution.IRecorderService;
 import org.cerberus.core.enums.MessageEventEnum;
 import org.cerberus.core.enums.Screenshot;
 import org.cerberus.core.exception.CerberusException;
+import org.cerberus.core.service.artifact.IExecutionArtifactStore;
 import org.cerberus.core.service.datalib.IDataLibService;
 import org.cerberus.core.service.robotextension.ISikuliService;
 import org.cerberus.core.service.webdriver.IWebDriverService;
@@ -52,17 +53,11 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.io.BufferedInputStream;
-import java.io.BufferedOutputStream;
-import java.io.BufferedWriter;
-import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.DataOutputStream;
 import java.io.File;
-import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.OutputStream;
-import java.io.OutputStreamWriter;
 import java.net.URL;
 import java.net.URLConnection;
 import java.nio.charset.StandardCharsets;
@@ -88,6 +83,10 @@ public class RecorderService implements IRecorderService {
     IDataLibService dataLibService;
     @Autowired
     private IFactoryTestCaseExecutionFile testCaseExecutionFileFactory;
+    @Autowired
+    private IExecutionFileWriterService executionFileWriterService;
+    @Autowired
+    private IExecutionArtifactStore executionArtifactStore;
 
     private static final org.apache.logging.log4j.Logger LOG = org.apache.logging.log4j.LogManager.getLogger(RecorderService.class);
 
@@ -323,83 +322,45 @@ public class RecorderService implements IRecorderService {
         LOG.debug("{}Doing screenshot.", logPrefix);
 
         // Take Screenshot and write it
-        File newImage = null;
-        File newImageDesktop = null;
+        byte[] newImage = null;
+        byte[] newImageDesktop = null;
         if (applicationType.equals(Application.TYPE_GUI)
                 || applicationType.equals(Application.TYPE_APK)
                 || applicationType.equals(Application.TYPE_IPA)) {
 
-            newImage = this.webdriverService.takeScreenShotFile(execution.getSession(), cropValues);
+            newImage = this.webdriverService.takeScreenShotBytes(execution.getSession(), cropValues);
             // If Sikuli is available we also take a full desktop screenshot
             if (execution.getSession().isSikuliAvailable()) {
-                newImageDesktop = this.sikuliService.takeScreenShotFile(execution.getSession());
+                newImageDesktop = this.sikuliService.takeScreenShotBytes(execution.getSession());
             }
         } else if (applicationType.equals(Application.TYPE_FAT)) {
 
-            newImage = this.sikuliService.takeScreenShotFile(execution.getSession());
+            newImage = this.sikuliService.takeScreenShotBytes(execution.getSession());
         }
 
         if (newImage != null) {
             try {
-                long maxSizeParam = parameterService.getParameterIntegerByKey("cerberus_screenshot_max_size", "", 1048576);
-
                 Recorder recorder = this.initFilenames(runId, test, testCase, step, index, sequence, controlString, null, 0, "screenshot", "png", false);
                 LOG.debug("{}FullPath {}", logPrefix, recorder.getFullPath());
 
-                File dir = new File(recorder.getFullPath());
-                if (!dir.exists()) {
-                    LOG.debug("{}Create directory for execution {}", logPrefix, recorder.getFullPath());
-                    dir.mkdirs();
-                }
-                // Getting the max size of the screenshot.
-                String fileDesc = "Screenshot";
-                if (maxSizeParam < newImage.length()) {
-                    LOG.warn("{}Screenshot size exceeds the maximum defined in configurations ({}>={}) {} destination: {}", logPrefix, newImage.length(), maxSizeParam, newImage.getName(), recorder.getRelativeFilenameURL());
-                    fileDesc = "Screenshot Too Big !!";
-                } else {
-                    // Copies the temp file to the execution file
-                    FileUtils.copyFile(newImage, new File(recorder.getFullFilename()));
-                    LOG.debug("{}Copy file finished with success - source: {} destination: {}", logPrefix, newImage.getName(), recorder.getRelativeFilenameURL());
-                    LOG.info("File saved : {}", recorder.getFullFilename());
-                }
-
                 // Index file created to database.
-                object = testCaseExecutionFileFactory.create(0, execution.getId(), recorder.getLevel(), fileDesc, recorder.getRelativeFilenameURL(), "PNG", "", null, "", null);
+                object = testCaseExecutionFileFactory.create(0, execution.getId(), recorder.getLevel(), "Screenshot", recorder.getRelativeFilenameURL(), "PNG", "", null, "", null);
                 objectList.add(object);
-                testCaseExecutionFileService.save(object);
-
-                //deletes the temporary file
-                FileUtils.forceDelete(newImage);
-                LOG.debug("{}Temp file deleted with success {}", logPrefix, newImage.getName());
+                // File and index are written in background so that next action can start immediately.
+                executionFileWriterService.writeScreenshot(execution.getId(), newImage, object, "Screenshot Too Big !!");
                 LOG.debug("{}Screenshot done in : {}", logPrefix, recorder.getRelativeFilenameURL());
 
                 if (newImageDesktop != null) {
                     Recorder recorderDestop = this.initFilenames(runId, test, testCase, step, index, sequence, controlString, null, 0, "screenshot-desktop", "png", false);
                     LOG.debug("{}FullPath {}", logPrefix, recorderDestop.getFullPath());
 
-                    // Getting the max size of the screenshot.
-                    fileDesc = "Desktop Screenshot";
-                    if (maxSizeParam < newImageDesktop.length()) {
-                        LOG.warn("{}Screenshot size exceeds the maximum defined in configurations ({}>={}) {} destination: {}", logPrefix, newImageDesktop.length(), maxSizeParam, newImageDesktop.getName(), recorderDestop.getRelativeFilenameURL());
-                        fileDesc = "Desktop Screenshot Too Big !!";
-                    } else {
-                        // Copies the temp file to the execution file
-                        FileUtils.copyFile(newImageDesktop, new File(recorderDestop.getFullFilename()));
-                        LOG.debug("{}Copy file finished with success - source: {} destination: {}", logPrefix, newImageDesktop.getName(), recorderDestop.getRelativeFilenameURL());
-                        LOG.info("File saved : {}", recorderDestop.getFullFilename());
-                    }
-
                     // Index file created to database.
-                    object = testCaseExecutionFileFactory.create(0, execution.getId(), recorderDestop.getLevel(), fileDesc, recorderDestop.getRelativeFilenameURL(), "PNG", "", null, "", null);
+                    object = testCaseExecutionFileFactory.create(0, execution.getId(), recorderDestop.getLevel(), "Desktop Screenshot", recorderDestop.getRelativeFilenameURL(), "PNG", "", null, "", null);
                     objectList.add(object);
-                    testCaseExecutionFileService.save(object);
-
-                    //deletes the temporary file
-                    FileUtils.forceDelete(newImageDesktop);
-                    LOG.debug("{}Temp file deleted with success {}", logPrefix, newImageDesktop.getName());
+                    executionFileWriterService.writeScreenshot(execution.getId(), newImageDesktop, object, "Desktop Screenshot Too Big !!");
                     LOG.debug("{}Desktop Screenshot done in : {}", logPrefix, recorderDestop.getRelativeFilenameURL());
                 }
-            } catch (IOException | CerberusException ex) {
+            } catch (CerberusException ex) {
                 LOG.error("{}{}", logPrefix, ex.toString(), ex);
             }
         } else {
@@ -441,15 +402,7 @@ public class RecorderService implements IRecorderService {
 
             LOG.debug("Picture FullPath {}", recorder.getFullPath());
 
-            File dir = new File(recorder.getFullPath());
-            if (!dir.exists()) {
-                LOG.debug("Create directory for execution {}", recorder.getFullPath());
-                dir.mkdirs();
-            }
-            File newImage = new File(recorder.getFullFilename());
-            OutputStream outStream = new FileOutputStream(newImage);
-            outStream.write(bytes);
-            IOUtils.close(outStream);
+            executionArtifactStore.write(recorder.getRelativeFilenameURL(), bytes);
 
             // Index file created to database.
             object = testCaseExecutionFileFactory.create(0, runId, recorder.getLevel(), "Picture " + valueFieldName, recorder.getRelativeFilenameURL(), "PNG", "", null, "", null);
@@ -478,15 +431,11 @@ public class RecorderService implements IRecorderService {
 
         try {
             Recorder recorder = this.initFilenames(actionExecution.getTestCaseStepExecution().gettCExecution().getId(), test, testCase, step, index, sequence, controlString, null, 0, "pagesource", "html", false);
-            File dir = new File(recorder.getFullPath());
-            dir.mkdirs();
-
-            File file = new File(recorder.getFullFilename());
 
-            try (FileOutputStream fileOutputStream = new FileOutputStream(file);) {
-                fileOutputStream.write(StringUtil.secureFromSecrets(this.webdriverService.getPageSource(execution.getSession()), execution.getSecrets()).getBytes());
+            try {
+                executionArtifactStore.write(recorder.getRelativeFilenameURL(), StringUtil.secureFromSecrets(this.webdriverService.getPageSource(execution.getSession()), execution.getSecrets()).getBytes());
 
-                LOG.info("File saved : {}", recorder.getFullFilename());
+                LOG.info("File saved : {}", recorder.getRelativeFilenameURL());
 
                 // Index file created to database.
                 object = testCaseExecutionFileFactory.create(0, execution.getId(), recorder.getLevel(), "Page Source", recorder.getRelativeFilenameURL(), "HTML", "", null, "", null);
@@ -539,7 +488,7 @@ public class RecorderService implements IRecorderService {
             // Service Call META data information.
             Recorder recorderRequest = this.initFilenames(runId, test, testCase, step, index, sequence, controlString, property, propertyIndex, "call", "json", false);
 
-            recordFile(recorderRequest.getFullPath(), recorderRequest.getFileName(), service.toJSONOnExecution().toString(), execution.getSecrets());
+            recordFile(recorderRequest, service.toJSONOnExecution().toString(), execution.getSecrets());
 
             // Index file created to database.
             object = testCaseExecutionFileFactory.create(0, runId, recorderRequest.getLevel(), "Service Call", recorderRequest.getRelativeFilenameURL(), "JSON", "", null, "", null);
@@ -558,14 +507,24 @@ public class RecorderService implements IRecorderService {
                     messageFormat = TestCaseExecutionFile.FILETYPE_XML;
                 }
                 recorderRequest = this.initFilenames(runId, test, testCase, step, index, sequence, controlString, property, propertyIndex, "request", messageFormatExt, false);
-                recordFile(recorderRequest.getFullPath(), recorderRequest.getFileName(), service.getServiceRequest(), execution.getSecrets());
+                recordFile(recorderRequest, service.getServiceRequest(), execution.getSecrets());
                 // Index file created to database.
                 object = testCaseExecutionFileFactory.create(0, runId, recorderRequest.getLevel(), "Request", recorderRequest.getRelativeFilenameURL(), messageFormat, "", null, "", null);
                 testCaseExecutionFileService.save(object);
                 objectFileList.add(object);
             }
             // RESPONSE if exists.
-            if (!(StringUtil.isEmpty(service.getResponseHTTPBody()))) {
+            if (service.getResponseFile() != null) {
+                // Big download spooled to disk : the body only holds a preview so the full file is stored.
+                Recorder recorderResponse = this.initFilenames(runId, test, testCase, step, index, sequence, controlString, property, propertyIndex, "response", service.getResponseHTTPBodyContentType().toLowerCase(), false);
+                executionArtifactStore.write(recorderResponse.getRelativeFilenameURL(), service.getResponseFile());
+                service.setResponseFile(null);
+                // Index file created to database.
+                object = testCaseExecutionFileFactory.create(0, runId, recorderResponse.getLevel(), "Response", recorderResponse.getRelativeFilenameURL(), service.getResponseHTTPBodyContentType(), "", null, "", null);
+                testCaseExecutionFileService.save(object);
+                objectFileList.add(object);
+
+            } else if (!(StringUtil.isEmpty(service.getResponseHTTPBody()))) {
                 String messageFormatExt = "txt";
                 String messageFormat = TestCaseExecutionFile.FILETYPE_TXT;
                 switch (service.getResponseHTTPBodyContentType()) {
@@ -583,7 +542,7 @@ public class RecorderService implements IRecorderService {
                         break;
                 }
                 Recorder recorderResponse = this.initFilenames(runId, test, testCase, step, index, sequence, controlString, property, propertyIndex, "response", messageFormatExt, false);
-                recordFile(recorderResponse.getFullPath(), recorderResponse.getFileName(), service.getResponseHTTPBody(), execution.getSecrets());
+                recordFile(recorderResponse, service.getResponseHTTPBody(), execution.getSecrets());
 
                 // Index file created to database.
                 object = testCaseExecutionFileFactory.create(0, runId, recorderResponse.getLevel(), "Response", recorderResponse.getRelativeFilenameURL(), messageFormat, "", null, "", null);
@@ -592,12 +551,7 @@ public class RecorderService implements IRecorderService {
 
             } else if (service.getFile() != null) {
                 Recorder recorderResponse = this.initFilenames(runId, test, testCase, step, index, sequence, controlString, property, propertyIndex, "response", service.getResponseHTTPBodyContentType().toLowerCase(), false);
-                File file = new File(recorderResponse.getFullPath());
-                OutputStream outputStream = new BufferedOutputStream(new FileOutputStream(new File(file.getAbsolutePath() + File.separator + recorderResponse.getFileName())));
-                InputStream ftpFile = new ByteArrayInputStream(service.getFile());
-                IOUtils.copy(ftpFile, outputStream);
-                outputStream.close();
-                ftpFile.close();
+                executionArtifactStore.write(recorderResponse.getRelativeFilenameURL(), service.getFile());
                 service.setFile(null);
                 // Index file created to database.
                 object = testCaseExecutionFileFactory.create(0, runId, recorderResponse.getLevel(), "Response", recorderResponse.getRelativeFilenameURL(), service.getResponseHTTPBodyContentType(), "", null, "", null);
@@ -640,7 +594,7 @@ public class RecorderService implements IRecorderService {
             // Service Call META data information.
             Recorder recorderRequest = this.initFilenames(runId, test, testCase, step, index, sequence, null, null, 0, "call", "json", false);
 
-            recordFile(recorderRequest.getFullPath(), recorderRequest.getFileName(), service.toJSONOnExecution().toString(), execution.getSecrets());
+            recordFile(recorderRequest, service.toJSONOnExecution().toString(), execution.getSecrets());
 
             // Index file created to database.
             object = testCaseExecutionFileFactory.create(0, runId, recorderRequest.getLevel(), "Service Call", recorderRequest.getRelativeFilenameURL(), "JSON", "", null, "", null);
@@ -681,7 +635,7 @@ public class RecorderService implements IRecorderService {
             if (withDetail) {
                 if (!(StringUtil.isEmpty(se.getResponseHTTPBody()))) {
                     Recorder recorderResponse = this.initFilenames(runId, test, testCase, step, index, sequence, controlString, property, propertyIndex, "networktraffic_content", "json", false);
-                    recordFile(recorderResponse.getFullPath(), recorderResponse.getFileName(), se.getResponseHTTPBody(), execution.getSecrets());
+                    recordFile(recorderResponse, se.getResponseHTTPBody(), execution.getSecrets());
 
                     // Index file created to database.
                     object = testCaseExecutionFileFactory.create(0, runId, recorderResponse.getLevel(), "Network Content", recorderResponse.getRelativeFilenameURL(), TestCaseExecutionFile.FILETYPE_JSON, "", null, "", null);
@@ -701,7 +655,7 @@ public class RecorderService implements IRecorderService {
                     if (stat.has("log")) {
                         stat.remove("log");
                     }
-                    recordFile(recorderResponse.getFullPath(), recorderResponse.getFileName(), stat.toString(1), execution.getSecrets());
+                    recordFile(recorderResponse, stat.toString(1), execution.getSecrets());
 
                     // Index file created to database.
                     object = testCaseExecutionFileFactory.create(0, runId, recorderResponse.getLevel(), "Stat Only", recorderResponse.getRelativeFilenameURL(), TestCaseExecutionFile.FILETYPE_JSON, "", null, "", null);
@@ -746,7 +700,7 @@ public class RecorderService implements IRecorderService {
             // Full Network Traffic.
             if (withDetail) {
                 Recorder recorderResponse = this.initFilenames(runId, test, testCase, step, index, sequence, controlString, property, propertyIndex, "console_content", "json", false);
-                recordFile(recorderResponse.getFullPath(), recorderResponse.getFileName(), consoleContent.toString(1), execution.getSecrets());
+                recordFile(recorderResponse, consoleContent.toString(1), execution.getSecrets());
 
                 // Index file created to database.
                 object = testCaseExecutionFileFactory.create(0, runId, recorderResponse.getLevel(), "Console", recorderResponse.getRelativeFilenameURL(), TestCaseExecutionFile.FILETYPE_JSON, "", null, "", null);
@@ -786,7 +740,7 @@ public class RecorderService implements IRecorderService {
         try {
 
             Recorder recorderResponse = this.initFilenames(runId, test, testCase, step, index, sequence, controlString, property, propertyIndex, "content", contentType.toLowerCase(), false);
-            recordFile(recorderResponse.getFullPath(), recorderResponse.getFileName(), content, execution.getSecrets());
+            recordFile(recorderResponse, content, execution.getSecrets());
 
             // Index file created to database.
             object = testCaseExecutionFileFactory.create(0, runId, recorderResponse.getLevel(), "Content", recorderResponse.getRelativeFilenameURL(), contentType, "", null, "", null);
@@ -811,7 +765,7 @@ public class RecorderService implements IRecorderService {
 
             // RESULT.
             Recorder recorder = this.initFilenames(runId, null, null, null, null, null, null, property, propertyIndex, "result", "json", false);
-            recordFile(recorder.getFullPath(), recorder.getFileName(), jsonResult.toString(), secrets);
+            recordFile(recorder, jsonResult.toString(), secrets);
 
             // Index file created to database.
             object = testCaseExecutionFileFactory.create(0, runId, recorder.getLevel(), "Result", recorder.getRelativeFilenameURL(), "JSON", "", null, "", null);
@@ -832,7 +786,7 @@ public class RecorderService implements IRecorderService {
         try {
             // RESULT.
             Recorder recorder = this.initFilenames(runId, null, null, null, null, null, null, property, propertyIndex, "result", "json", false);
-            recordFile(recorder.getFullPath(), recorder.getFileName(), content, secrets);
+            recordFile(recorder, content, secrets);
 
             // Index file created to database.
             object = testCaseExecutionFileFactory.create(0, runId, recorder.getLevel(), "Content", recorder.getRelativeFilenameURL(), "JSON", "", null, "", null);
@@ -877,7 +831,7 @@ public class RecorderService implements IRecorderService {
 
             // RESULT.
             Recorder recorder = this.initFilenames(execution.getId(), null, null, null, null, null, null, null, 0, "robot_caps", "json", false);
-            recordFile(recorder.getFullPath(), recorder.getFileName(), outputMessage.toString(4), execution.getSecrets());
+            recordFile(recorder, outputMessage.toString(4), execution.getSecrets());
 
             // Index file created to database.
             object = testCaseExecutionFileFactory.create(0, execution.getId(), recorder.getLevel(), "Robot Caps", recorder.getRelativeFilenameURL(), "JSON", "", null, "", null);
@@ -915,7 +869,7 @@ public class RecorderService implements IRecorderService {
 
             // RESULT.
             Recorder recorder = this.initFilenames(execution.getId(), null, null, null, null, null, null, null, 0, "robot_server_caps", "json", false);
-            recordFile(recorder.getFullPath(), recorder.getFileName(), outputMessage.toString(4), execution.getSecrets());
+            recordFile(recorder, outputMessage.toString(4), execution.getSecrets());
 
             // Index file created to database.
             object = testCaseExecutionFileFactory.create(0, execution.getId(), recorder.getLevel(), "Robot Server Caps", recorder.getRelativeFilenameURL(), "JSON", "", null, "", null);
@@ -940,24 +894,16 @@ public class RecorderService implements IRecorderService {
                 try {
                     Recorder recorder = this.initFilenames(execution.getId(), null, null, null, null, null, null, null, 0, "selenium_log", "txt", false);
 
-                    File dir = new File(recorder.getFullPath());
-                    dir.mkdirs();
-
-                    File file = new File(recorder.getFullFilename());
-
-                    try (FileOutputStream fileOutputStream = new FileOutputStream(file);) {
+                    try {
                         ByteArrayOutputStream baos = new ByteArrayOutputStream();
                         DataOutputStream out = new DataOutputStream(baos);
                         for (String element : this.webdriverService.getSeleniumLog(execution.getSession())) {
                             out.writeBytes(StringUtil.secureFromSecrets(element, execution.getSecrets()));
                         }
-                        byte[] bytes = baos.toByteArray();
-                        fileOutputStream.write(bytes);
                         out.close();
-                        baos.close();
-                        fileOutputStream.close();
+                        executionArtifactStore.write(recorder.getRelativeFilenameURL(), baos.toByteArray());
 
-                        LOG.info("File saved : {}", recorder.getFullFilename());
+                        LOG.info("File saved : {}", recorder.getRelativeFilenameURL());
 
                         // Index file created to database.
                         object = testCaseExecutionFileFactory.create(0, execution.getId(), recorder.getLevel(), "Selenium Log", recorder.getRelativeFilenameURL(), "TXT", "", null, "", null);
@@ -997,24 +943,16 @@ public class RecorderService implements IRecorderService {
                 try {
                     Recorder recorder = this.initFilenames(execution.getId(), null, null, null, null, null, null, null, 0, "console_log", "txt", false);
 
-                    File dir = new File(recorder.getFullPath());
-                    dir.mkdirs();
-
-                    File file = new File(recorder.getFullFilename());
-
-                    try (FileOutputStream fileOutputStream = new FileOutputStream(file);) {
+                    try {
                         ByteArrayOutputStream baos = new ByteArrayOutputStream();
                         DataOutputStream out = new DataOutputStream(baos);
                         for (String element : this.webdriverService.getConsoleLog(execution.getSession())) {
                             out.writeBytes(StringUtil.secureFromSecrets(element, execution.getSecrets()));
                         }
-                        byte[] bytes = baos.toByteArray();
-                        fileOutputStream.write(bytes);
                         out.close();
-                        baos.close();
-                        fileOutputStream.close();
+                        executionArtifactStore.write(recorder.getRelativeFilenameURL(), baos.toByteArray());
 
-                        LOG.info("File saved : {}", recorder.getFullFilename());
+                        LOG.info("File saved : {}", recorder.getRelativeFilenameURL());
 
                         // Index file created to database.
                         object = testCaseExecutionFileFactory.create(0, execution.getId(), recorder.getLevel(), "Console Log", recorder.getRelativeFilenameURL(), "TXT", "", null, "", null);
@@ -1051,24 +989,17 @@ public class RecorderService implements IRecorderService {
     /**
      * Auxiliary method that saves a file
      *
-     * @param path - directory path
-     * @param fileName - name of the file
+     * @param recorder - recorder of the file
      * @param content -content of the file
      */
-    private void recordFile(String path, String fileName, String content, HashMap<String, String> secrets) {
-        LOG.debug("Starting to save File (recordFile) : {} {}", path, fileName);
-
-        File dir = new File(path);
-        if (!dir.exists()) {
-            dir.mkdirs();
-        }
+    private void recordFile(Recorder recorder, String content, HashMap<String, String> secrets) {
+        LOG.debug("Starting to save File (recordFile) : {}", recorder.getRelativeFilenameURL());
 
-        try (BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(dir.getAbsolutePath() + File.separator + fileName), StandardCharsets.UTF_8));) {
-            writer.write(StringUtil.secureFromSecrets(content, secrets));
-            writer.close();
-            LOG.info("File saved : {}{}{}", path, File.separator, fileName);
+        try {
+            executionArtifactStore.write(recorder.getRelativeFilenameURL(), StringUtil.secureFromSecrets(content, secrets).getBytes(StandardCharsets.UTF_8));
+            LOG.info("File saved : {}", recorder.getRelativeFilenameURL());
         } catch (IOException ex) {
-            LOG.error("Unable to save : {}{}{} ex: {}", path, File.separator, fileName, ex, ex);
+            LOG.error("Unable to save : {} ex: {}", recorder.getRelativeFilenameURL(), ex, ex);
         }
     }
 
@@ -36,6 +36,7 @@ import org.cerberus.core.crud.factory.IFactoryRobotCapability;
 import org.cerberus.core.crud.service.IInvariantService;
 import org.cerberus.core.crud.service.IParameterService;
 import org.cerberus.core.crud.service.ITestCaseExecutionHttpStatService;
+import org.cerberus.core.crud.service.ITestCaseLabelService;
 import org.cerberus.core.engine.entity.MessageGeneral;
 import org.cerberus.core.engine.entity.Session;
 import org.cerberus.core.engine.execution.IRecorderService;
@@ -80,6 +81,8 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 import org.cerberus.core.crud.entity.Application;
@@ -88,6 +91,7 @@ import org.cerberus.core.crud.entity.Parameter;
 import org.cerberus.core.crud.entity.RobotCapability;
 import org.cerberus.core.crud.entity.TestCaseExecution;
 import org.cerberus.core.crud.entity.TestCaseExecutionHttpStat;
+import org.cerberus.core.crud.entity.TestCaseLabel;
 import org.cerberus.core.service.robotproxy.IRobotProxyService;
 
 /**
@@ -120,8 +124,18 @@ public class RobotServerService implements IRobotServerService {
     private ILambdaTestService lambdaTestService;
     @Autowired
     private IRobotProxyService executorService;
+    @Autowired
+    private RobotSessionPool robotSessionPool;
+    @Autowired
+    private ITestCaseLabelService testCaseLabelService;
 
-    private static Map<String, Boolean> apkAlreadyPrepare = new HashMap<>();
+    /**
+     * Preparation of the apps per executor, app and version. Appium has to
+     * prepare (transform) an app on its first install and cannot prepare the
+     * same app twice simultaneously (see
+     * https://discuss.appium.io/t/execute-2-android-test-simultaneously-problem-during-install-apk/22030).
+     */
+    private static final Map<String, AppPreparation> appPreparations = new ConcurrentHashMap<>();
     private static int totocpt = 0;
 
     private static final Logger LOG = LogManager.getLogger(RobotServerService.class);
@@ -133,10 +147,18 @@ public class RobotServerService implements IRobotServerService {
     private static final String DEFAULT_PROXYAUTHENT_USER = "squid";
     private static final String DEFAULT_PROXYAUTHENT_PASSWORD = "squid";
 
+    /**
+     * Max time to wait for the executor proxy to finish recording the HAR
+     * when the robot session stops.
+     */
+    private static final long HAR_READY_TIMEOUT_MS = 2000;
+
     public static final String OPTIONS_TIMEOUT_SYNTAX = "timeout";
     public static final String OPTIONS_HIGHLIGHTELEMENT_SYNTAX = "highlightElement";
     public static final String OPTIONS_MINSIMILARITY_SYNTAX = "minSimilarity";
     public static final String OPTIONS_TYPEDELAY_SYNTAX = "typeDelay";
+    // Testcase option allowing its independent steps to be executed concurrently.
+    public static final String OPTIONS_PARALLELSTEPS_SYNTAX = "parallelSteps";
 
     @Override
     public void startServer(TestCaseExecution execution) throws CerberusException {
@@ -336,42 +358,31 @@ public class RobotServerService implements IRobotServerService {
                     } else if (caps.getPlatform() != null && (caps.getPlatform().is(Platform.IOS) || caps.getPlatform().is(Platform.MAC))) {
                         appiumDriver = new IOSDriver(url, caps);
                     }
-                    driver = appiumDriver == null ? new RemoteWebDriver(executor, caps) : appiumDriver;
-
-                    execution.setRobotProviderSessionID(getSession(driver, execution.getRobotProvider()));
-                    execution.setRobotSessionID(getSession(driver));
-                    break;
-
-                case Application.TYPE_APK:
-                    // add a lock on app path this part of code, because we can't install 2 apk with the same name simultaneously
-                    String appUrl = null;
-                    if (caps.getCapability("app") != null) {
-                        appUrl = caps.getCapability("app").toString();
-                    }
-
-                    if (appUrl != null) { // FIX : appium can't install 2 apk simultaneously, so implement a litle latency between execution
-                        synchronized (this) {
-                            // with appium 1.7.2, we can't install 2 fresh apk simultaneously. Appium have to prepare the apk (transformation) on the first execution before (see this topic https://discuss.appium.io/t/execute-2-android-test-simultaneously-problem-during-install-apk/22030)
-                            // provoque a latency if first test is already running and apk don't finish to be prepared
-                            if (apkAlreadyPrepare.containsKey(appUrl) && Boolean.TRUE.equals(!apkAlreadyPrepare.get(appUrl))) {
-                                Thread.sleep(10000);
-                            } else {
-                                apkAlreadyPrepare.put(appUrl, false);
+                    if (appiumDriver == null) {
+                        if (isPoolable(execution)) {
+                            // Warm standby session of the same hub and capabilities.
+                            String poolKey = robotSessionPool.getKey(url, caps);
+                            session.setPoolKey(poolKey);
+                            driver = robotSessionPool.borrow(poolKey, url, factory, caps);
+                            LOG.debug("Robot session from pool : {}", driver != null);
+                        }
+                        if (driver == null) {
+                            driver = new RemoteWebDriver(executor, caps);
+                            if (session.getPoolKey() != null) {
+                                robotSessionPool.register((RemoteWebDriver) driver);
                             }
                         }
-                    }
-                    appiumDriver = new AndroidDriver(url, caps);
-                    if (apkAlreadyPrepare.containsKey(appUrl)) {
-                        apkAlreadyPrepare.put(appUrl, true);
+                    } else {
+                        driver = appiumDriver;
                     }
 
-                    driver = appiumDriver;
                     execution.setRobotProviderSessionID(getSession(driver, execution.getRobotProvider()));
                     execution.setRobotSessionID(getSession(driver));
                     break;
 
+                case Application.TYPE_APK:
                 case Application.TYPE_IPA:
-                    appiumDriver = new IOSDriver(url, caps);
+                    appiumDriver = startMobileDriver(execution, url, caps, robotTimeout);
                     driver = appiumDriver;
                     execution.setRobotProviderSessionID(getSession(driver, execution.getRobotProvider()));
                     execution.setRobotSessionID(getSession(driver));
@@ -500,6 +511,95 @@ public class RobotServerService implements IRobotServerService {
         }
     }
 
+    private static class AppPreparation {
+
+        private final CountDownLatch latch = new CountDownLatch(1);
+        private volatile boolean ready;
+    }
+
+    /**
+     * Start the Appium session of an APK or IPA application. The first
+     * execution of an app on an executor performs and verifies the install
+     * while the other executions of the same app wait for it. Executions of
+     * other apps or other executors are not blocked.
+     *
+     * @param execution
+     * @param url
+     * @param caps
+     * @param timeout max time to wait for the app to be prepared by another
+     * execution.
+     * @return the started driver.
+     * @throws InterruptedException
+     */
+    private AppiumDriver startMobileDriver(TestCaseExecution execution, URL url, MutableCapabilities caps, int timeout) throws InterruptedException {
+        boolean isIOS = Application.TYPE_IPA.equals(execution.getApplicationObj().getType());
+        if (caps.getCapability("app") == null) {
+            return isIOS ? new IOSDriver(url, caps) : new AndroidDriver(url, caps);
+        }
+        String key = url.getHost() + ":" + url.getPort() + "|" + caps.getCapability("app") + "|" + execution.getBuild() + "|" + execution.getRevision();
+        AppPreparation preparation = new AppPreparation();
+        AppPreparation existing;
+        while ((existing = appPreparations.putIfAbsent(key, preparation)) != null) {
+            if (!existing.ready) {
+                LOG.debug("Waiting for app to be prepared : {}", key);
+                if (!existing.latch.await(timeout, TimeUnit.MILLISECONDS)) {
+                    LOG.warn("App still not prepared after {} ms, starting anyway : {}", timeout, key);
+                } else if (!existing.ready) {
+                    // Preparation failed, this execution tries to prepare the app.
+                    continue;
+                }
+            }
+            return isIOS ? new IOSDriver(url, caps) : new AndroidDriver(url, caps);
+        }
+        try {
+            AppiumDriver appiumDriver = isIOS ? new IOSDriver(url, caps) : new AndroidDriver(url, caps);
+            String mobilePackage = execution.getCountryEnvironmentParameters() == null ? null : execution.getCountryEnvironmentParameters().getMobilePackage();
+            try {
+                preparation.ready = StringUtil.isEmpty(mobilePackage) || appiumDriver.isAppInstalled(mobilePackage);
+            } catch (Exception ex) {
+                LOG.warn("Could not check that app {} is installed : {}", mobilePackage, ex.toString());
+            }
+            return appiumDriver;
+        } finally {
+            if (!preparation.ready) {
+                // Next execution will prepare the app again.
+                appPreparations.remove(key, preparation);
+            }
+            preparation.latch.countDown();
+        }
+    }
+
+    /**
+     * Sessions are only pooled for desktop browsers started directly on the
+     * robot (no cloud provider, no executor proxy) and when the test case
+     * does not have the label that asks for a fresh browser.
+     *
+     * @param execution
+     * @return true if the session can be taken from and given back to the
+     * session pool.
+     */
+    private boolean isPoolable(TestCaseExecution execution) {
+        if (!robotSessionPool.isActive()
+                || !TestCaseExecution.ROBOTPROVIDER_NONE.equals(execution.getRobotProvider())
+                || (execution.getRobotExecutorObj() != null && "Y".equals(execution.getRobotExecutorObj().getExecutorProxyActive()))) {
+            return false;
+        }
+        String freshBrowserLabel = parameterService.getParameterStringByKey(Parameter.VALUE_cerberus_robot_sessionpool_freshbrowserlabel, "", "");
+        if (StringUtil.isEmpty(freshBrowserLabel)) {
+            return true;
+        }
+        List<TestCaseLabel> testCaseLabels = testCaseLabelService.readByTestTestCase(execution.getTest(), execution.getTestCase(), null).getDataList();
+        if (testCaseLabels == null) {
+            return false;
+        }
+        for (TestCaseLabel testCaseLabel : testCaseLabels) {
+            if (testCaseLabel.getLabel() != null && freshBrowserLabel.equals(testCaseLabel.getLabel().getLabel())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     private String getSession(WebDriver driver, String robotProvider) {
         String session = "";
         switch (robotProvider) {
@@ -1029,11 +1129,9 @@ public class RobotServerService implements IRobotServerService {
     public boolean stopServer(TestCaseExecution tce) {
         Session session = tce.getSession();
         if (session != null && session.isStarted()) {
-            try {
-                // Wait 2 sec till HAR is exported
-                Thread.sleep(2000);
-            } catch (InterruptedException ex) {
-                LOG.error(ex.toString(), ex);
+            // Wait till HAR is exported (only when the executor proxy records it).
+            if (tce.isRemoteProxyStarted() && tce.getRobotExecutorObj() != null && "Y".equals(tce.getRobotExecutorObj().getExecutorProxyActive())) {
+                executorService.waitForHarReady(tce.getRobotExecutorObj().getExecutorExtensionHost(), tce.getRobotExecutorObj().getExecutorExtensionPort(), tce.getRemoteProxyUUID(), HAR_READY_TIMEOUT_MS);
             }
 
             //  We remove manually the package if it is defined.
@@ -1129,6 +1227,9 @@ public class RobotServerService implements IRobotServerService {
                 if (session.getDriver() != null) {
                     session.getDriver().quit();
                 }
+            } else if (session.getPoolKey() != null) {
+                // Session is not reused after a technical failure as the browser may be in an unknown state.
+                robotSessionPool.release(session.getPoolKey(), session.getDriver(), !TestCaseExecution.CONTROLSTATUS_FA.equals(tce.getControlStatus()));
             } else {
                 session.quit();
             }
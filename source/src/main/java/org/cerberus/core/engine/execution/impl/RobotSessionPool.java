@@ -0,0 +1,509 @@
+/**
+ * Cerberus Copyright (C) 2013 - 2017 cerberustesting
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This file is part of Cerberus.
+ *
+ * Cerberus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Cerberus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Cerberus.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cerberus.core.engine.execution.impl;
+
+import java.io.IOException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.annotation.PreDestroy;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.cerberus.core.crud.entity.Parameter;
+import org.cerberus.core.crud.service.IParameterService;
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.openqa.selenium.Dimension;
+import org.openqa.selenium.MutableCapabilities;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.remote.BrowserType;
+import org.openqa.selenium.remote.HttpCommandExecutor;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import org.openqa.selenium.remote.SessionId;
+import org.openqa.selenium.remote.http.HttpClient;
+import org.openqa.selenium.remote.http.HttpClient.Factory;
+import org.openqa.selenium.remote.http.HttpMethod;
+import org.openqa.selenium.remote.http.HttpRequest;
+import org.openqa.selenium.remote.http.HttpResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Pool of warm standby browser sessions, keyed by hub and capabilities. Each
+ * key that was used in the last cerberus_robot_sessionpool_idletimeout
+ * seconds is kept with cerberus_robot_sessionpool_size sessions ready to be
+ * handed to an execution, with at most
+ * cerberus_robot_sessionpool_maxidleperhost idle sessions per robot host.
+ * Only Chromium sessions are given back to the pool. Each session of the
+ * pool is handed to an execution with a single tab in a new browser context
+ * created with the devtools protocol, that shares no cookie, cache or
+ * storage with the previous executions. The context is disposed when the
+ * session is given back. Other sessions, and sessions that cannot be
+ * isolated that way, are quit. The pool is disabled when
+ * cerberus_robot_sessionpool_size is 0.
+ */
+@Component
+public class RobotSessionPool {
+
+    private static final Logger LOG = LogManager.getLogger(RobotSessionPool.class);
+
+    private static final int NB_STARTER_THREADS = 4;
+
+    private static final List<String> CHROMIUM_BROWSERS = Arrays.asList(BrowserType.CHROME, BrowserType.EDGE, "msedge");
+
+    @Autowired
+    private IParameterService parameterService;
+
+    private final Map<String, Deque<PooledSession>> idleSessions = new HashMap<>();
+    private final Map<String, SessionTemplate> templates = new HashMap<>();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong created = new AtomicLong();
+    private final AtomicLong discarded = new AtomicLong();
+
+    private final ExecutorService starter = Executors.newFixedThreadPool(NB_STARTER_THREADS, r -> {
+        Thread t = new Thread(r, "RobotSessionPool");
+        t.setDaemon(true);
+        return t;
+    });
+
+    // Window size of the sessions when they were created, restored on reset.
+    private final Map<SessionId, Dimension> initialSizes = new ConcurrentHashMap<>();
+    // Browser context of the tab of the pooled sessions, disposed on reset.
+    private final Map<SessionId, String> browserContexts = new ConcurrentHashMap<>();
+
+    private static class PooledSession {
+
+        private final RemoteWebDriver driver;
+        private final long releaseTime;
+
+        private PooledSession(RemoteWebDriver driver) {
+            this.driver = driver;
+            this.releaseTime = System.currentTimeMillis();
+        }
+    }
+
+    /**
+     * What is needed to start a new session of the key in background.
+     */
+    private static class SessionTemplate {
+
+        private final String label;
+        private final String host;
+        private final URL url;
+        private final Factory factory;
+        private final MutableCapabilities caps;
+        private final AtomicInteger starting = new AtomicInteger();
+        private volatile long lastUsed;
+        private HttpClient client;
+
+        private SessionTemplate(String label, URL url, Factory factory, MutableCapabilities caps) {
+            this.label = label;
+            this.host = url.getHost() + ":" + url.getPort();
+            this.url = url;
+            this.factory = factory;
+            this.caps = caps;
+            this.lastUsed = System.currentTimeMillis();
+        }
+
+        private boolean isChromium() {
+            return CHROMIUM_BROWSERS.contains(caps.getBrowserName());
+        }
+
+        private synchronized HttpClient getClient() {
+            if (client == null) {
+                client = factory.createClient(url);
+            }
+            return client;
+        }
+    }
+
+    /**
+     * @return true if sessions are pooled.
+     */
+    public boolean isActive() {
+        return getSize() > 0;
+    }
+
+    /**
+     * @param url hub url
+     * @param caps capabilities of the session
+     * @return the key of the pool that can serve sessions of the hub with
+     * those capabilities.
+     */
+    public String getKey(URL url, MutableCapabilities caps) {
+        // Sorted so that the key does not depend on the order capabilities were set.
+        String raw = url.toString() + new TreeMap<>(caps.asMap()).toString();
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            StringBuilder key = new StringBuilder();
+            for (byte b : digest.digest(raw.getBytes(StandardCharsets.UTF_8))) {
+                key.append(String.format("%02x", b));
+            }
+            return key.toString();
+        } catch (NoSuchAlgorithmException ex) {
+            return raw;
+        }
+    }
+
+    /**
+     * Get a warm session of the key. The key is registered so that the pool
+     * keeps sessions ready for the next executions.
+     *
+     * @param key
+     * @param url
+     * @param factory
+     * @param caps
+     * @return a started session, null if none was ready.
+     */
+    public RemoteWebDriver borrow(String key, URL url, Factory factory, MutableCapabilities caps) {
+        synchronized (idleSessions) {
+            SessionTemplate template = templates.get(key);
+            if (template == null) {
+                templates.put(key, new SessionTemplate(url.getHost() + " " + caps.getBrowserName(), url, factory, caps));
+            } else {
+                template.lastUsed = System.currentTimeMillis();
+            }
+        }
+        while (true) {
+            PooledSession pooled;
+            synchronized (idleSessions) {
+                Deque<PooledSession> sessions = idleSessions.get(key);
+                pooled = sessions == null ? null : sessions.pollFirst();
+            }
+            if (pooled == null) {
+                misses.incrementAndGet();
+                refill();
+                return null;
+            }
+            if (isValid(pooled)) {
+                hits.incrementAndGet();
+                refill();
+                return pooled.driver;
+            }
+            quit(pooled.driver);
+        }
+    }
+
+    /**
+     * Register a session started outside the pool so that it can be given
+     * back at the end of the execution.
+     *
+     * @param driver
+     */
+    public void register(RemoteWebDriver driver) {
+        try {
+            initialSizes.put(driver.getSessionId(), driver.manage().window().getSize());
+        } catch (Exception ex) {
+            LOG.debug("Could not get window size of robot session : {}", ex.toString());
+        }
+    }
+
+    /**
+     * Give back a session at the end of the execution. The session is reset
+     * and kept if neither the pool of the key nor the robot host are full.
+     * Otherwise, or if it cannot be isolated in a new browser context, it is
+     * quit.
+     *
+     * @param key
+     * @param driver
+     * @param reusable false if the execution requires the session not to be
+     * reused.
+     */
+    public void release(String key, WebDriver driver, boolean reusable) {
+        if (reusable && driver instanceof RemoteWebDriver && getSize() > 0) {
+            SessionTemplate template;
+            synchronized (idleSessions) {
+                Deque<PooledSession> sessions = idleSessions.get(key);
+                template = templates.get(key);
+                reusable = template != null && template.isChromium()
+                        && (sessions == null || sessions.size() < getSize())
+                        && getHostSessions(template.host) < getMaxIdlePerHost();
+            }
+            if (reusable) {
+                if (reset(template, (RemoteWebDriver) driver)) {
+                    synchronized (idleSessions) {
+                        idleSessions.computeIfAbsent(key, k -> new ArrayDeque<>()).addFirst(new PooledSession((RemoteWebDriver) driver));
+                    }
+                    return;
+                }
+            }
+        }
+        quit(driver);
+    }
+
+    /**
+     * Start in background the sessions missing to reach the pool size of
+     * every key in use, within the limit of idle sessions per robot host.
+     */
+    @Scheduled(fixedDelay = 10000, initialDelay = 30000)
+    public void refill() {
+        int size = getSize();
+        if (size <= 0) {
+            return;
+        }
+        int maxIdlePerHost = getMaxIdlePerHost();
+        synchronized (idleSessions) {
+            for (Map.Entry<String, SessionTemplate> entry : templates.entrySet()) {
+                Deque<PooledSession> sessions = idleSessions.get(entry.getKey());
+                SessionTemplate template = entry.getValue();
+                int missing = Math.min(size - (sessions == null ? 0 : sessions.size()) - template.starting.get(),
+                        maxIdlePerHost - getHostSessions(template.host));
+                for (int i = 0; i < missing; i++) {
+                    template.starting.incrementAndGet();
+                    starter.submit(() -> start(entry.getKey(), template));
+                }
+            }
+        }
+    }
+
+    /**
+     * Quit the sessions idle for more than
+     * cerberus_robot_sessionpool_idletimeout seconds and forget the keys not
+     * used since then.
+     */
+    @Scheduled(fixedDelay = 30000, initialDelay = 30000)
+    public void evictIdleSessions() {
+        long idleTimeoutMs = parameterService.getParameterIntegerByKey(Parameter.VALUE_cerberus_robot_sessionpool_idletimeout, "", 240) * 1000L;
+        boolean active = isActive();
+        long now = System.currentTimeMillis();
+        List<RemoteWebDriver> evicted = new ArrayList<>();
+        synchronized (idleSessions) {
+            templates.entrySet().removeIf(entry -> !active || now - entry.getValue().lastUsed > idleTimeoutMs);
+            Iterator<Map.Entry<String, Deque<PooledSession>>> entries = idleSessions.entrySet().iterator();
+            while (entries.hasNext()) {
+                Map.Entry<String, Deque<PooledSession>> entry = entries.next();
+                boolean keyInUse = templates.containsKey(entry.getKey());
+                entry.getValue().removeIf(pooled -> {
+                    if (!keyInUse || now - pooled.releaseTime > idleTimeoutMs) {
+                        evicted.add(pooled.driver);
+                        return true;
+                    }
+                    return false;
+                });
+                if (entry.getValue().isEmpty()) {
+                    entries.remove();
+                }
+            }
+        }
+        evicted.forEach(this::quit);
+        if (!evicted.isEmpty()) {
+            LOG.debug("{} idle robot sessions closed.", evicted.size());
+        }
+    }
+
+    /**
+     * @return hit and miss counters and the number of idle sessions per key.
+     * @throws JSONException
+     */
+    public JSONObject getStatus() throws JSONException {
+        JSONObject status = new JSONObject();
+        status.put("active", isActive());
+        status.put("hits", hits.get());
+        status.put("misses", misses.get());
+        status.put("created", created.get());
+        status.put("discarded", discarded.get());
+        JSONArray pools = new JSONArray();
+        synchronized (idleSessions) {
+            for (Map.Entry<String, SessionTemplate> entry : templates.entrySet()) {
+                Deque<PooledSession> sessions = idleSessions.get(entry.getKey());
+                JSONObject pool = new JSONObject();
+                pool.put("robot", entry.getValue().label);
+                pool.put("idle", sessions == null ? 0 : sessions.size());
+                pool.put("starting", entry.getValue().starting.get());
+                pools.put(pool);
+            }
+        }
+        status.put("pools", pools);
+        return status;
+    }
+
+    @PreDestroy
+    public void closeAll() {
+        starter.shutdownNow();
+        List<RemoteWebDriver> drivers = new ArrayList<>();
+        synchronized (idleSessions) {
+            idleSessions.values().forEach(deque -> deque.forEach(pooled -> drivers.add(pooled.driver)));
+            idleSessions.clear();
+            templates.clear();
+        }
+        drivers.forEach(this::quit);
+    }
+
+    private int getSize() {
+        return parameterService.getParameterIntegerByKey(Parameter.VALUE_cerberus_robot_sessionpool_size, "", 0);
+    }
+
+    private int getMaxIdlePerHost() {
+        return parameterService.getParameterIntegerByKey(Parameter.VALUE_cerberus_robot_sessionpool_maxidleperhost, "", 10);
+    }
+
+    /**
+     * Must be called holding the idleSessions lock.
+     *
+     * @param host
+     * @return the number of idle and starting sessions of the robot host.
+     */
+    private int getHostSessions(String host) {
+        int nb = 0;
+        for (Map.Entry<String, SessionTemplate> entry : templates.entrySet()) {
+            if (entry.getValue().host.equals(host)) {
+                Deque<PooledSession> sessions = idleSessions.get(entry.getKey());
+                nb += (sessions == null ? 0 : sessions.size()) + entry.getValue().starting.get();
+            }
+        }
+        return nb;
+    }
+
+    private void start(String key, SessionTemplate template) {
+        try {
+            RemoteWebDriver driver = new RemoteWebDriver(new HttpCommandExecutor(new HashMap<>(), template.url, template.factory), template.caps);
+            created.incrementAndGet();
+            register(driver);
+            if (!reset(template, driver)) {
+                quit(driver);
+                return;
+            }
+            synchronized (idleSessions) {
+                if (templates.get(key) == template) {
+                    idleSessions.computeIfAbsent(key, k -> new ArrayDeque<>()).addLast(new PooledSession(driver));
+                    return;
+                }
+            }
+            // Key no longer in use while the session was starting.
+            quit(driver);
+        } catch (Exception ex) {
+            LOG.warn("Could not start standby robot session on {} : {}", template.label, ex.toString());
+        } finally {
+            template.starting.decrementAndGet();
+        }
+    }
+
+    private boolean isValid(PooledSession pooled) {
+        try {
+            return pooled.driver.getSessionId() != null && !pooled.driver.getWindowHandles().isEmpty();
+        } catch (Exception ex) {
+            LOG.debug("Pooled robot session no longer valid : {}", ex.toString());
+            return false;
+        }
+    }
+
+    /**
+     * Bring the session back to the state of a new browser : a single tab in
+     * a new browser context, which has its own cookies, cache and storage.
+     * All the other tabs are closed and the browser context of the previous
+     * execution is disposed with all its data.
+     *
+     * @param template
+     * @param driver
+     * @return false if the session could not be isolated.
+     */
+    private boolean reset(SessionTemplate template, RemoteWebDriver driver) {
+        try {
+            List<String> handles = new ArrayList<>(driver.getWindowHandles());
+            // Devtools commands are sent through the current tab, that the execution may have closed.
+            driver.switchTo().window(handles.get(0));
+            String browserContextId = executeCdp(template, driver, "Target.createBrowserContext").getString("browserContextId");
+            JSONObject params = new JSONObject();
+            params.put("url", "about:blank");
+            params.put("browserContextId", browserContextId);
+            String targetId = executeCdp(template, driver, "Target.createTarget", params).getString("targetId");
+            // The tab must be reachable by the driver, else the execution would run in the previous context.
+            String tab = null;
+            for (String handle : driver.getWindowHandles()) {
+                if (handle.equals(targetId) || handle.endsWith("-" + targetId)) {
+                    tab = handle;
+                }
+            }
+            if (tab == null) {
+                LOG.debug("Tab {} of the new browser context not found in the robot session.", targetId);
+                return false;
+            }
+            for (String handle : handles) {
+                driver.switchTo().window(handle).close();
+            }
+            driver.switchTo().window(tab);
+            String previous = browserContexts.put(driver.getSessionId(), browserContextId);
+            if (previous != null) {
+                executeCdp(template, driver, "Target.disposeBrowserContext", new JSONObject().put("browserContextId", previous));
+            }
+            Dimension initialSize = initialSizes.get(driver.getSessionId());
+            if (initialSize != null) {
+                driver.manage().window().setSize(initialSize);
+            }
+            return true;
+        } catch (Exception ex) {
+            LOG.debug("Could not reset robot session : {}", ex.toString());
+            return false;
+        }
+    }
+
+    private JSONObject executeCdp(SessionTemplate template, RemoteWebDriver driver, String cmd) throws IOException, JSONException {
+        return executeCdp(template, driver, cmd, new JSONObject());
+    }
+
+    /**
+     * Execute a devtools protocol command on the current tab of the session,
+     * through the chromedriver endpoint that the hub forwards.
+     */
+    private JSONObject executeCdp(SessionTemplate template, RemoteWebDriver driver, String cmd, JSONObject params) throws IOException, JSONException {
+        HttpRequest request = new HttpRequest(HttpMethod.POST, "/session/" + driver.getSessionId() + "/goog/cdp/execute");
+        request.setHeader("Content-Type", "application/json; charset=utf-8");
+        request.setContent(new JSONObject().put("cmd", cmd).put("params", params).toString().getBytes(StandardCharsets.UTF_8));
+        HttpResponse response = template.getClient().execute(request);
+        if (response.getStatus() != 200) {
+            throw new IOException(cmd + " failed with HTTP status " + response.getStatus() + " : " + response.getContentString());
+        }
+        JSONObject value = new JSONObject(response.getContentString()).optJSONObject("value");
+        return value == null ? new JSONObject() : value;
+    }
+
+    private void quit(WebDriver driver) {
+        discarded.incrementAndGet();
+        if (driver instanceof RemoteWebDriver && ((RemoteWebDriver) driver).getSessionId() != null) {
+            initialSizes.remove(((RemoteWebDriver) driver).getSessionId());
+            browserContexts.remove(((RemoteWebDriver) driver).getSessionId());
+        }
+        try {
+            driver.quit();
+        } catch (Exception ex) {
+            LOG.debug("Could not quit robot session : {}", ex.toString());
+        }
+    }
+
+}
@@ -26,6 +26,8 @@ import org.cerberus.core.crud.entity.TestCaseStepActionExecution;
 import org.cerberus.core.exception.CerberusEventException;
 import org.cerberus.core.util.answer.AnswerItem;
 
+import java.util.Set;
+
 /**
  * {Insert class description here}
  *
@@ -57,4 +59,14 @@ public interface IPropertyService {
      */
     void calculateProperty(TestCaseExecutionData testCaseExecutionData, TestCaseExecution tCExecution, TestCaseStepActionExecution testCaseStepActionExecution,
             TestCaseCountryProperties testCaseCountryProperty, boolean forceRecalculation);
+
+    /**
+     * Get the names of the properties used inside the given string, including
+     * the properties they depend on.
+     *
+     * @param str
+     * @param execution
+     * @return
+     */
+    Set<String> getLinkedPropertyNames(String str, TestCaseExecution execution);
 }
@@ -1858,7 +1858,9 @@ public class ActionService implements IActionService {
                     try {
                         testCaseExecutionDataService.save(tcExeData, tCExecution.getSecrets());
                         LOG.debug("Adding into Execution data list. Property : '" + tcExeData.getProperty() + "' Index : '" + tcExeData.getIndex() + "' Value : '" + tcExeData.getValue() + "'");
-                        tCExecution.getTestCaseExecutionDataMap().put(tcExeData.getProperty(), tcExeData);
+                        synchronized (tCExecution) {
+                            tCExecution.getTestCaseExecutionDataMap().put(tcExeData.getProperty(), tcExeData);
+                        }
                         if (tcExeData.getDataLibRawData() != null) { // If the property is a TestDataLib, we same all rows retreived in order to support nature such as NOTINUSe or RANDOMNEW.
                             for (int i = 1; i < (tcExeData.getDataLibRawData().size()); i++) {
                                 now = new Date().getTime();
@@ -25,17 +25,20 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.cerberus.core.crud.entity.AppService;
 import org.cerberus.core.crud.entity.Application;
+import org.cerberus.core.crud.entity.Parameter;
 import org.cerberus.core.crud.entity.TestCaseCountryProperties;
 import org.cerberus.core.crud.entity.TestCaseExecution;
 import org.cerberus.core.crud.entity.TestCaseExecutionData;
 import org.cerberus.core.crud.entity.TestCaseStepActionExecution;
 import org.cerberus.core.crud.entity.TestDataLib;
+import org.cerberus.core.crud.entity.TestDataLibData;
 import org.cerberus.core.crud.factory.IFactoryTestCaseExecutionData;
 import org.cerberus.core.crud.service.IAppServiceService;
 import org.cerberus.core.crud.service.ILogEventService;
 import org.cerberus.core.crud.service.IParameterService;
 import org.cerberus.core.crud.service.ISqlLibraryService;
 import org.cerberus.core.crud.service.ITestCaseExecutionDataService;
+import org.cerberus.core.crud.service.ITestDataLibDataService;
 import org.cerberus.core.crud.service.ITestDataLibService;
 import org.cerberus.core.engine.entity.Identifier;
 import org.cerberus.core.engine.entity.MessageEvent;
@@ -73,7 +76,15 @@ import java.net.MalformedURLException;
 import java.text.DateFormat;
 import java.text.SimpleDateFormat;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
+import javax.annotation.PreDestroy;
 import org.cerberus.core.service.robotproxy.IRobotProxyService;
 
 /**
@@ -89,6 +100,12 @@ public class PropertyService implements IPropertyService {
     private static final String MESSAGE_DEPRECATED = "[DEPRECATED]";
     public static final String VALUE_NULL = "<NULL>";
 
+    // Set on the threads of the property pool so that nested decodes stay sequential.
+    private static final ThreadLocal<Boolean> IN_PROPERTY_POOL = new ThreadLocal<>();
+
+    private ThreadPoolExecutor propertyPool;
+    private ScheduledExecutorService retryScheduler;
+
     @Autowired
     private IWebDriverService webdriverService;
     @Autowired
@@ -104,6 +121,8 @@ public class PropertyService implements IPropertyService {
     @Autowired
     private ITestDataLibService testDataLibService;
     @Autowired
+    private ITestDataLibDataService testDataLibDataService;
+    @Autowired
     private IFactoryTestCaseExecutionData factoryTestCaseExecutionData;
     @Autowired
     private ITestCaseExecutionDataService testCaseExecutionDataService;
@@ -187,78 +206,81 @@ public class PropertyService implements IPropertyService {
         }
 
         /**
-         * For all linked properties, calculate it if needed.
+         * For all linked properties, calculate it if needed. Consecutive
+         * independent properties are calculated concurrently when
+         * cerberus_property_parallelcalculation_poolsize is activated.
          */
-        for (TestCaseCountryProperties eachTccp : linkedProperties) {
-            TestCaseExecutionData tcExeData;
-            /**
-             * First create testCaseExecutionData object
-             */
-            now = new Date().getTime();
-            tcExeData = factoryTestCaseExecutionData.create(execution.getId(), eachTccp.getProperty(), 1, eachTccp.getDescription(), null, eachTccp.getType(), eachTccp.getRank(),
-                    eachTccp.getValue1(), eachTccp.getValue2(), null, null, now, now, now, now, new MessageEvent(MessageEventEnum.PROPERTY_PENDING),
-                    eachTccp.getRetryNb(), eachTccp.getRetryPeriod(), eachTccp.getDatabase(), eachTccp.getValue1(), eachTccp.getValue2(), eachTccp.getLength(),
-                    eachTccp.getLength(), eachTccp.getRowLimit(), eachTccp.getNature(), execution.getApplicationObj().getSystem(), execution.getEnvironment(), execution.getCountry(), "", null, "N");
-            tcExeData.setTestCaseCountryProperties(eachTccp);
-            tcExeData.settCExecution(execution);
-            if (LOG.isDebugEnabled()) {
-                LOG.debug("Trying to calculate Property : '" + tcExeData.getProperty() + "' " + tcExeData);
+        int parallelPoolSize = (Boolean.TRUE.equals(IN_PROPERTY_POOL.get()) || Thread.holdsLock(execution)) ? 0
+                : parameterService.getParameterIntegerByKey(Parameter.VALUE_cerberus_property_parallelcalculation_poolsize, "", 0);
+        int i = 0;
+        while (i < linkedProperties.size()) {
+            List<TestCaseCountryProperties> group = parallelPoolSize > 0
+                    ? getIndependentProperties(linkedProperties, i, execution, forceCalculation)
+                    : Collections.singletonList(linkedProperties.get(i));
+            i += group.size();
+
+            List<TestCaseExecutionData> groupData = new ArrayList<>();
+            List<Boolean> groupToCalculate = new ArrayList<>();
+            for (TestCaseCountryProperties eachTccp : group) {
+                TestCaseExecutionData tcExeData = getExecutionDataToCalculate(eachTccp, execution, forceCalculation);
+                groupData.add(tcExeData);
+                groupToCalculate.add(MessageEventEnum.PROPERTY_PENDING.equals(tcExeData.getPropertyResultMessage().getSource()));
             }
 
-            /*  First check if property has already been calculated
-             *  if action is calculateProperty, then set isKnownData to false.
-             */
-            tcExeData = getExecutionDataFromList(execution.getTestCaseExecutionDataMap(), eachTccp, forceCalculation, tcExeData);
-
-            /**
-             * If testcasecountryproperty not defined, set ExecutionData with
-             * the same resultMessage
-             */
-            if (eachTccp.getResult() != null) {
-                tcExeData.setPropertyResultMessage(eachTccp.getResult());
-            }
             /*
-             * If not already calculated, or calculateProperty, then calculate it and insert or update it.
+             * If not already calculated, or calculateProperty, then calculate it.
              */
-            if (MessageEventEnum.PROPERTY_PENDING.equals(tcExeData.getPropertyResultMessage().getSource())) {
-                calculateProperty(tcExeData, execution, testCaseStepActionExecution, eachTccp, forceCalculation);
-                msg = tcExeData.getPropertyResultMessage();
-                //saves the result
+            if (group.size() == 1) {
+                if (groupToCalculate.get(0)) {
+                    calculateProperty(groupData.get(0), execution, testCaseStepActionExecution, group.get(0), forceCalculation);
+                }
+            } else {
+                LOG.debug("Calculating {} independent properties concurrently.", group.size());
+                List<CompletableFuture<Void>> calculations = new ArrayList<>();
+                for (int j = 0; j < group.size(); j++) {
+                    if (groupToCalculate.get(j)) {
+                        calculations.add(calculatePropertyAsync(groupData.get(j), execution, testCaseStepActionExecution, group.get(j), forceCalculation));
+                    }
+                }
                 try {
-                    testCaseExecutionDataService.save(tcExeData, execution.getSecrets());
-                    /**
-                     * Add TestCaseExecutionData in TestCaseExecutionData List
-                     * of the TestCaseExecution
-                     */
-                    LOG.debug("Adding into Execution data list. Property : '" + tcExeData.getProperty() + "' Index : '" + String.valueOf(tcExeData.getIndex()) + "' Value : '" + tcExeData.getValue() + "'");
-                    execution.getTestCaseExecutionDataMap().put(tcExeData.getProperty(), tcExeData);
-                    if (tcExeData.getDataLibRawData() != null) { // If the property is a TestDataLib, we same all rows retreived in order to support nature such as NOTINUSe or RANDOMNEW.
-                        for (int i = 1; i < (tcExeData.getDataLibRawData().size()); i++) {
-                            now = new Date().getTime();
-                            TestCaseExecutionData tcedS = factoryTestCaseExecutionData.create(tcExeData.getId(), tcExeData.getProperty(), (i + 1),
-                                    tcExeData.getDescription(), tcExeData.getDataLibRawData().get(i).get(""), tcExeData.getType(), tcExeData.getRank(), "", "",
-                                    tcExeData.getRC(), "", now, now, now, now, null, 0, 0, "", "", "", "", "", 0, "", tcExeData.getSystem(), tcExeData.getEnvironment(), tcExeData.getCountry(), tcExeData.getDataLib(), null, "N");
-                            testCaseExecutionDataService.save(tcedS, execution.getSecrets());
-                        }
+                    CompletableFuture.allOf(calculations.toArray(new CompletableFuture<?>[0])).join();
+                } catch (CompletionException ex) {
+                    if (ex.getCause() instanceof RuntimeException) {
+                        throw (RuntimeException) ex.getCause();
+                    }
+                    throw ex;
+                }
+                for (int j = 0; j < group.size(); j++) {
+                    if (groupToCalculate.get(j)) {
+                        // Secrets are only updated from the execution thread.
+                        addPropertyASecret(groupData.get(j), execution);
                     }
-                } catch (CerberusException cex) {
-                    LOG.error(cex.getMessage(), cex);
                 }
             }
 
-            /**
-             * After calculation, replace properties by value calculated
-             */
-            stringToDecode = decodeStringWithAlreadyCalculatedProperties(stringToDecode, execution);
+            // Results are saved in the same order as the sequential calculation.
+            for (int j = 0; j < group.size(); j++) {
+                TestCaseCountryProperties eachTccp = group.get(j);
+                TestCaseExecutionData tcExeData = groupData.get(j);
+                if (groupToCalculate.get(j)) {
+                    msg = tcExeData.getPropertyResultMessage();
+                    saveExecutionData(tcExeData, execution);
+                }
 
-            if (LOG.isDebugEnabled()) {
-                LOG.debug("Property " + eachTccp.getProperty() + " calculated with Value = " + tcExeData.getValue() + ", Value1 = " + tcExeData.getValue1() + ", Value2 = " + tcExeData.getValue2());
-            }
-            /**
-             * Log TestCaseExecutionData
-             */
-            if ((execution.getVerbose() > 0) && parameterService.getParameterBooleanByKey("cerberus_executionlog_enable", execution.getSystem(), false)) {
-                LOG.info(tcExeData.toJson(false, true, execution.getSecrets()));
+                /**
+                 * After calculation, replace properties by value calculated
+                 */
+                stringToDecode = decodeStringWithAlreadyCalculatedProperties(stringToDecode, execution);
+
+                if (LOG.isDebugEnabled()) {
+                    LOG.debug("Property " + eachTccp.getProperty() + " calculated with Value = " + tcExeData.getValue() + ", Value1 = " + tcExeData.getValue1() + ", Value2 = " + tcExeData.getValue2());
+                }
+                /**
+                 * Log TestCaseExecutionData
+                 */
+                if ((execution.getVerbose() > 0) && parameterService.getParameterBooleanByKey("cerberus_executionlog_enable", execution.getSystem(), false)) {
+                    LOG.info(tcExeData.toJson(false, true, execution.getSecrets()));
+                }
             }
         }
 
@@ -271,6 +293,206 @@ public class PropertyService implements IPropertyService {
         return answer;
     }
 
+    /**
+     * Create the execution data of the property, or get it if already
+     * calculated.
+     *
+     * @param eachTccp
+     * @param execution
+     * @param forceCalculation
+     * @return execution data, with a PROPERTY_PENDING result if it has to be
+     * calculated.
+     */
+    private TestCaseExecutionData getExecutionDataToCalculate(TestCaseCountryProperties eachTccp, TestCaseExecution execution, boolean forceCalculation) {
+        /**
+         * First create testCaseExecutionData object
+         */
+        long now = new Date().getTime();
+        TestCaseExecutionData tcExeData = factoryTestCaseExecutionData.create(execution.getId(), eachTccp.getProperty(), 1, eachTccp.getDescription(), null, eachTccp.getType(), eachTccp.getRank(),
+                eachTccp.getValue1(), eachTccp.getValue2(), null, null, now, now, now, now, new MessageEvent(MessageEventEnum.PROPERTY_PENDING),
+                eachTccp.getRetryNb(), eachTccp.getRetryPeriod(), eachTccp.getDatabase(), eachTccp.getValue1(), eachTccp.getValue2(), eachTccp.getLength(),
+                eachTccp.getLength(), eachTccp.getRowLimit(), eachTccp.getNature(), execution.getApplicationObj().getSystem(), execution.getEnvironment(), execution.getCountry(), "", null, "N");
+        tcExeData.setTestCaseCountryProperties(eachTccp);
+        tcExeData.settCExecution(execution);
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("Trying to calculate Property : '" + tcExeData.getProperty() + "' " + tcExeData);
+        }
+
+        /*  First check if property has already been calculated
+         *  if action is calculateProperty, then set isKnownData to false.
+         */
+        synchronized (execution) {
+            tcExeData = getExecutionDataFromList(execution.getTestCaseExecutionDataMap(), eachTccp, forceCalculation, tcExeData);
+        }
+
+        /**
+         * If testcasecountryproperty not defined, set ExecutionData with the
+         * same resultMessage
+         */
+        if (eachTccp.getResult() != null) {
+            tcExeData.setPropertyResultMessage(eachTccp.getResult());
+        }
+        return tcExeData;
+    }
+
+    /**
+     * Save the calculated property and add it to the execution data list of
+     * the execution.
+     *
+     * @param tcExeData
+     * @param execution
+     */
+    private void saveExecutionData(TestCaseExecutionData tcExeData, TestCaseExecution execution) {
+        try {
+            testCaseExecutionDataService.save(tcExeData, execution.getSecrets());
+            /**
+             * Add TestCaseExecutionData in TestCaseExecutionData List of the
+             * TestCaseExecution
+             */
+            LOG.debug("Adding into Execution data list. Property : '" + tcExeData.getProperty() + "' Index : '" + String.valueOf(tcExeData.getIndex()) + "' Value : '" + tcExeData.getValue() + "'");
+            synchronized (execution) {
+                execution.getTestCaseExecutionDataMap().put(tcExeData.getProperty(), tcExeData);
+            }
+            if (tcExeData.getDataLibRawData() != null) { // If the property is a TestDataLib, we same all rows retreived in order to support nature such as NOTINUSe or RANDOMNEW.
+                for (int i = 1; i < (tcExeData.getDataLibRawData().size()); i++) {
+                    long now = new Date().getTime();
+                    TestCaseExecutionData tcedS = factoryTestCaseExecutionData.create(tcExeData.getId(), tcExeData.getProperty(), (i + 1),
+                            tcExeData.getDescription(), tcExeData.getDataLibRawData().get(i).get(""), tcExeData.getType(), tcExeData.getRank(), "", "",
+                            tcExeData.getRC(), "", now, now, now, now, null, 0, 0, "", "", "", "", "", 0, "", tcExeData.getSystem(), tcExeData.getEnvironment(), tcExeData.getCountry(), tcExeData.getDataLib(), null, "N");
+                    testCaseExecutionDataService.save(tcedS, execution.getSecrets());
+                }
+            }
+        } catch (CerberusException cex) {
+            LOG.error(cex.getMessage(), cex);
+        }
+    }
+
+    /**
+     * Get the consecutive properties starting at index start that can be
+     * calculated concurrently. Properties are taken until one is not a remote
+     * data lookup (SQL, datalib or json from an url), is already in the group
+     * or depends on a property of the group. Dependencies are guessed from
+     * Value1 and Value2, which are calculated before.
+     *
+     * @param linkedProperties properties ordered so that dependencies come
+     * first.
+     * @param start
+     * @param execution
+     * @param forceCalculation
+     * @return at least the property at index start.
+     */
+    private List<TestCaseCountryProperties> getIndependentProperties(List<TestCaseCountryProperties> linkedProperties, int start, TestCaseExecution execution, boolean forceCalculation) {
+        List<TestCaseCountryProperties> group = new ArrayList<>();
+        List<String> groupProperties = new ArrayList<>();
+        for (int j = start; j < linkedProperties.size(); j++) {
+            TestCaseCountryProperties eachTccp = linkedProperties.get(j);
+            if (!forceCalculation && isAlreadyCalculated(eachTccp, execution)) {
+                // Nothing to calculate, its value is simply decoded with the group.
+                group.add(eachTccp);
+                continue;
+            }
+            if (groupProperties.contains(eachTccp.getProperty()) || !isParallelizable(eachTccp, execution)) {
+                break;
+            }
+            List<String> dependencies = getPropertiesListFromString(eachTccp.getValue1());
+            dependencies.addAll(getPropertiesListFromString(eachTccp.getValue2()));
+            if (dependencies.stream().anyMatch(groupProperties::contains)) {
+                break;
+            }
+            group.add(eachTccp);
+            groupProperties.add(eachTccp.getProperty());
+        }
+        if (group.isEmpty()) {
+            group.add(linkedProperties.get(start));
+        }
+        return group;
+    }
+
+    private boolean isAlreadyCalculated(TestCaseCountryProperties tccp, TestCaseExecution execution) {
+        synchronized (execution) {
+            return execution.getTestCaseExecutionDataMap().containsKey(tccp.getProperty());
+        }
+    }
+
+    /**
+     * Only properties that do not use the robot session or the last service
+     * called can be calculated outside the execution thread. Properties
+     * referenced from the length or from the datalib definition are not
+     * calculated before, so a property using them stays on the execution
+     * thread where they are calculated during the decode.
+     */
+    private boolean isParallelizable(TestCaseCountryProperties tccp, TestCaseExecution execution) {
+        if (tccp.getResult() != null || tccp.getType() == null) {
+            return false;
+        }
+        if (hasPropertyReference(tccp.getLength(), execution)) {
+            return false;
+        }
+        switch (tccp.getType()) {
+            case TestCaseCountryProperties.TYPE_GETFROMSQL:
+                return true;
+            case TestCaseCountryProperties.TYPE_GETFROMDATALIB:
+                return isDataLibParallelizable(tccp, execution);
+            case TestCaseCountryProperties.TYPE_GETFROMJSON:
+                return !StringUtil.isEmpty(tccp.getValue2());
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * SQL and CSV datalibs can be calculated concurrently when neither their
+     * definition nor their subdata reference a property. Service datalibs
+     * decode the service with the execution and are always sequential. The
+     * result is kept on the execution for the next decodes.
+     */
+    private boolean isDataLibParallelizable(TestCaseCountryProperties tccp, TestCaseExecution execution) {
+        if (tccp.getValue1() == null) {
+            return false;
+        }
+        Boolean parallelizable = execution.getParallelizableDataLibs().get(tccp.getValue1());
+        if (parallelizable == null) {
+            parallelizable = readDataLibParallelizable(tccp, execution);
+            execution.getParallelizableDataLibs().put(tccp.getValue1(), parallelizable);
+        }
+        return parallelizable;
+    }
+
+    private boolean readDataLibParallelizable(TestCaseCountryProperties tccp, TestCaseExecution execution) {
+        AnswerItem<TestDataLib> answer = testDataLibService.readByNameBySystemByEnvironmentByCountry(tccp.getValue1(),
+                execution.getApplicationObj().getSystem(), execution.getEnvironmentData(), execution.getCountry());
+        TestDataLib testDataLib = answer.getItem();
+        if (testDataLib == null || !(TestDataLib.TYPE_SQL.equals(testDataLib.getType()) || TestDataLib.TYPE_CSV.equals(testDataLib.getType()))) {
+            return false;
+        }
+        if (hasPropertyReference(testDataLib.getScript(), execution) || hasPropertyReference(testDataLib.getCsvUrl(), execution)) {
+            return false;
+        }
+        AnswerList<TestDataLibData> subData = testDataLibDataService.readByVarious(testDataLib.getTestDataLibID(), null, null, null);
+        if (subData.getDataList() == null) {
+            return false;
+        }
+        for (TestDataLibData data : subData.getDataList()) {
+            if (hasPropertyReference(data.getValue(), execution) || hasPropertyReference(data.getColumn(), execution)
+                    || hasPropertyReference(data.getParsingAnswer(), execution) || hasPropertyReference(data.getColumnPosition(), execution)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return true if str references a property of the testcase.
+     */
+    private boolean hasPropertyReference(String str, TestCaseExecution execution) {
+        if (StringUtil.isEmpty(str) || !str.contains("%")) {
+            return false;
+        }
+        List<String> references = getPropertiesListFromString(str);
+        return execution.getTestCaseCountryPropertyList().stream()
+                .anyMatch(tccp -> references.contains(tccp.getProperty()));
+    }
+
     /**
      * Auxiliary method that returns the execution data for a property.
      *
@@ -319,6 +541,18 @@ public class PropertyService implements IPropertyService {
      * @return list of TestCaseCountryProperties that are included inside the
      * definition of the @param property
      */
+    @Override
+    public Set<String> getLinkedPropertyNames(String str, TestCaseExecution execution) {
+        Set<String> result = new HashSet<>();
+        for (String property : getPropertiesListFromString(str)) {
+            result.add(property);
+            for (TestCaseCountryProperties linkedProperty : getListOfPropertiesLinkedToProperty(execution.getCountry(), property, new ArrayList<>(), execution.getTestCaseCountryPropertyList())) {
+                result.add(linkedProperty.getProperty());
+            }
+        }
+        return result;
+    }
+
     private List<TestCaseCountryProperties> getListOfPropertiesLinkedToProperty(String country, String property, List<String> crossedProperties,
             List<TestCaseCountryProperties> propertiesOfTestcase) {
         List<TestCaseCountryProperties> result = new ArrayList<>();
@@ -384,9 +618,12 @@ public class PropertyService implements IPropertyService {
         String variableValue = "";
         String variableString1 = "";
         String variableString2 = "";
-        TestCaseExecutionData tced;
-        for (String key1 : tCExecution.getTestCaseExecutionDataMap().keySet()) {
-            tced = tCExecution.getTestCaseExecutionDataMap().get(key1);
+        // Steps and properties can be calculated concurrently, so we work on a copy of the execution data.
+        List<TestCaseExecutionData> calculatedDataList;
+        synchronized (tCExecution) {
+            calculatedDataList = new ArrayList<>(tCExecution.getTestCaseExecutionDataMap().values());
+        }
+        for (TestCaseExecutionData tced : calculatedDataList) {
             if ((tced.getType() != null) && (tced.getType().equals(TestCaseCountryProperties.TYPE_GETFROMDATALIB))) { // Type could be null in case property do not exist.
                 /* Replacement in case of TestDataLib */
 
@@ -551,214 +788,434 @@ public class PropertyService implements IPropertyService {
     @Override
     public void calculateProperty(TestCaseExecutionData testCaseExecutionData, TestCaseExecution execution, TestCaseStepActionExecution testCaseStepActionExecution,
             TestCaseCountryProperties testCaseCountryProperty, boolean forceRecalculation) {
+
+        try {
+
+            PropertyRetry retry = startCalculation(testCaseExecutionData, execution, testCaseCountryProperty, true);
+
+            if (retry != null) {
+                /**
+                 * Looping on calculating the action until result is OK or
+                 * reach the max retry.
+                 */
+                while (retry.hasNextAttempt(testCaseExecutionData)) {
+                    if (retry.executionCount >= 1) { // We only wait the period if not on the very first calculation.
+                        try {
+                            Thread.sleep(retry.periodms);
+                            LOG.debug("Attempt #" + retry.executionCount + " " + testCaseCountryProperty.getProperty() + " " + testCaseCountryProperty.getValue1() + " Waiting " + retry.periodms + " ms");
+                        } catch (InterruptedException ex) {
+                            LOG.error(ex.toString(), ex);
+                        }
+                    }
+                    calculateAttempt(testCaseExecutionData, execution, testCaseStepActionExecution, testCaseCountryProperty, forceRecalculation, retry);
+
+                    // Adding secrets if property looks like a password
+                    addPropertyASecret(testCaseExecutionData, execution);
+                }
+                endCalculation(testCaseExecutionData, retry);
+            }
+
+        } catch (CerberusEventException ex) {
+            LOG.error(ex.toString(), ex);
+            testCaseExecutionData.setEnd(new Date().getTime());
+            testCaseExecutionData.setPropertyResultMessage(ex.getMessageError());
+        }
+
+        testCaseExecutionData.setEnd(new Date().getTime());
+
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("Finished to calculate Property : '" + testCaseCountryProperty.getProperty() + "'");
+        }
+
+    }
+
+    /**
+     * Calculate the property on the property pool. Instead of sleeping
+     * between 2 attempts, the next attempt is scheduled after the retry
+     * period so that the pool threads stay available.
+     *
+     * @return a future completed once the property is calculated.
+     */
+    private CompletableFuture<Void> calculatePropertyAsync(TestCaseExecutionData testCaseExecutionData, TestCaseExecution execution, TestCaseStepActionExecution testCaseStepActionExecution,
+            TestCaseCountryProperties testCaseCountryProperty, boolean forceRecalculation) {
+        CompletableFuture<Void> result = new CompletableFuture<>();
+        getPropertyPool().execute(() -> {
+            try {
+                PropertyRetry retry = startCalculation(testCaseExecutionData, execution, testCaseCountryProperty, false);
+                if (retry != null) {
+                    attemptAsync(testCaseExecutionData, execution, testCaseStepActionExecution, testCaseCountryProperty, forceRecalculation, retry, result);
+                    return;
+                }
+            } catch (CerberusEventException ex) {
+                LOG.error(ex.toString(), ex);
+                testCaseExecutionData.setPropertyResultMessage(ex.getMessageError());
+            } catch (RuntimeException ex) {
+                result.completeExceptionally(ex);
+                return;
+            }
+            testCaseExecutionData.setEnd(new Date().getTime());
+            result.complete(null);
+        });
+        return result;
+    }
+
+    private void attemptAsync(TestCaseExecutionData testCaseExecutionData, TestCaseExecution execution, TestCaseStepActionExecution testCaseStepActionExecution,
+            TestCaseCountryProperties testCaseCountryProperty, boolean forceRecalculation, PropertyRetry retry, CompletableFuture<Void> result) {
+        try {
+            calculateAttempt(testCaseExecutionData, execution, testCaseStepActionExecution, testCaseCountryProperty, forceRecalculation, retry);
+            if (retry.hasNextAttempt(testCaseExecutionData)) {
+                LOG.debug("Attempt #" + retry.executionCount + " " + testCaseCountryProperty.getProperty() + " " + testCaseCountryProperty.getValue1() + " Scheduled in " + retry.periodms + " ms");
+                getRetryScheduler().schedule(() -> getPropertyPool().execute(()
+                        -> attemptAsync(testCaseExecutionData, execution, testCaseStepActionExecution, testCaseCountryProperty, forceRecalculation, retry, result)),
+                        retry.periodms, TimeUnit.MILLISECONDS);
+                return;
+            }
+            endCalculation(testCaseExecutionData, retry);
+        } catch (CerberusEventException ex) {
+            LOG.error(ex.toString(), ex);
+            testCaseExecutionData.setPropertyResultMessage(ex.getMessageError());
+        } catch (RuntimeException ex) {
+            result.completeExceptionally(ex);
+            return;
+        }
+        testCaseExecutionData.setEnd(new Date().getTime());
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("Finished to calculate Property : '" + testCaseCountryProperty.getProperty() + "'");
+        }
+        result.complete(null);
+    }
+
+    /**
+     * @return the pool used to calculate independent properties, sized from
+     * cerberus_property_parallelcalculation_poolsize.
+     */
+    private synchronized ThreadPoolExecutor getPropertyPool() {
+        int poolSize = Math.max(1, parameterService.getParameterIntegerByKey(Parameter.VALUE_cerberus_property_parallelcalculation_poolsize, "", 0));
+        if (propertyPool == null) {
+            propertyPool = new ThreadPoolExecutor(poolSize, poolSize, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), r -> {
+                Thread t = new Thread(() -> {
+                    IN_PROPERTY_POOL.set(true);
+                    r.run();
+                }, "PropertyCalculation");
+                t.setDaemon(true);
+                return t;
+            });
+            propertyPool.allowCoreThreadTimeOut(true);
+        } else if (propertyPool.getMaximumPoolSize() != poolSize) {
+            if (poolSize > propertyPool.getMaximumPoolSize()) {
+                propertyPool.setMaximumPoolSize(poolSize);
+                propertyPool.setCorePoolSize(poolSize);
+            } else {
+                propertyPool.setCorePoolSize(poolSize);
+                propertyPool.setMaximumPoolSize(poolSize);
+            }
+        }
+        return propertyPool;
+    }
+
+    private synchronized ScheduledExecutorService getRetryScheduler() {
+        if (retryScheduler == null) {
+            retryScheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread t = new Thread(r, "PropertyRetry");
+                t.setDaemon(true);
+                return t;
+            });
+        }
+        return retryScheduler;
+    }
+
+    @PreDestroy
+    public synchronized void shutdownPools() {
+        if (retryScheduler != null) {
+            retryScheduler.shutdownNow();
+        }
+        if (propertyPool != null) {
+            propertyPool.shutdownNow();
+        }
+    }
+
+    /**
+     * Retries of a property calculation.
+     */
+    private static class PropertyRetry {
+
+        private final int retries;
+        private final int periodms;
+        private final String forcedRetryMessage;
+        private int executionCount;
+
+        private PropertyRetry(int retries, int periodms, String forcedRetryMessage) {
+            this.retries = retries;
+            this.periodms = periodms;
+            this.forcedRetryMessage = forcedRetryMessage;
+        }
+
+        private boolean hasNextAttempt(TestCaseExecutionData testCaseExecutionData) {
+            return executionCount <= retries && !(testCaseExecutionData.getPropertyResultMessage().getCodeString().equals("OK"));
+        }
+    }
+
+    /**
+     * Check recursion, get the value from cache if activated and decode
+     * Value1 and Value2.
+     *
+     * @param addSecret false when not called from the execution thread.
+     * @return the retries to perform, null if the calculation is already
+     * finished (recursion, decode error or value from cache).
+     * @throws CerberusEventException
+     */
+    private PropertyRetry startCalculation(TestCaseExecutionData testCaseExecutionData, TestCaseExecution execution,
+            TestCaseCountryProperties testCaseCountryProperty, boolean addSecret) throws CerberusEventException {
         testCaseExecutionData.setStart(new Date().getTime());
         MessageEvent res;
-        String test = execution.getTest();
-        String testCase = execution.getTestCase();
         AnswerItem<String> answerDecode = new AnswerItem<>();
 
         if (LOG.isDebugEnabled()) {
             LOG.debug("Starting to calculate Property : '" + testCaseCountryProperty.getProperty() + "'");
         }
 
-        // Checking recursive decode.
-        if ((execution.getRecursiveAlreadyCalculatedPropertiesList() != null) && (execution.getRecursiveAlreadyCalculatedPropertiesList().contains(testCaseCountryProperty.getProperty()))) {
-            res = new MessageEvent(MessageEventEnum.PROPERTY_FAILED_RECURSIVE);
-            res.setDescription(res.getDescription().replace("%PROPERTY%", testCaseCountryProperty.getProperty())
-                    .replace("%HISTO%", execution.getRecursiveAlreadyCalculatedPropertiesList().toString()));
-            testCaseExecutionData.setPropertyResultMessage(res);
-            testCaseExecutionData.setEnd(new Date().getTime());
-            LOG.debug("Finished to calculate Property (interupted) : '" + testCaseCountryProperty.getProperty() + "' : " + testCaseExecutionData.getPropertyResultMessage().getDescription());
-            return;
+        // Execution data is shared with the properties calculated concurrently.
+        synchronized (execution) {
+            // Checking recursive decode.
+            if ((execution.getRecursiveAlreadyCalculatedPropertiesList() != null) && (execution.getRecursiveAlreadyCalculatedPropertiesList().contains(testCaseCountryProperty.getProperty()))) {
+                res = new MessageEvent(MessageEventEnum.PROPERTY_FAILED_RECURSIVE);
+                res.setDescription(res.getDescription().replace("%PROPERTY%", testCaseCountryProperty.getProperty())
+                        .replace("%HISTO%", execution.getRecursiveAlreadyCalculatedPropertiesList().toString()));
+                testCaseExecutionData.setPropertyResultMessage(res);
+                testCaseExecutionData.setEnd(new Date().getTime());
+                LOG.debug("Finished to calculate Property (interupted) : '" + testCaseCountryProperty.getProperty() + "' : " + testCaseExecutionData.getPropertyResultMessage().getDescription());
+                return null;
+            }
+            if (execution.getRecursiveAlreadyCalculatedPropertiesList() != null) {
+                execution.getRecursiveAlreadyCalculatedPropertiesList().add(testCaseCountryProperty.getProperty());
+            }
         }
-        if (execution.getRecursiveAlreadyCalculatedPropertiesList() != null) {
-            execution.getRecursiveAlreadyCalculatedPropertiesList().add(testCaseCountryProperty.getProperty());
+
+        // Check if cache activated and cache entry exist.
+        int cacheValue = testCaseCountryProperty.getCacheExpire();
+        boolean useCache = false;
+        TestCaseExecutionData data = null;
+
+        if (cacheValue > 0) {
+            try {
+                data = testCaseExecutionDataService.readLastCacheEntry(execution.getApplicationObj().getSystem(), execution.getEnvironment(), execution.getCountry(), testCaseCountryProperty.getProperty(), cacheValue);
+                if (data != null) {
+                    useCache = true;
+                }
+            } catch (CerberusException e) {
+                // do nothing, useCache will be false
+            }
         }
 
-        try {
+        if (useCache) {
+            // cache activated and entry exist. We set the current value with cache entry data and notify the result from the messsage.
+            TestCaseExecutionData testCaseExecutionDataFromCache = data;
+            testCaseExecutionData.setFromCache("Y");
+            testCaseExecutionData.setDataLib(testCaseExecutionDataFromCache.getDataLib());
+            testCaseExecutionData.setValue(testCaseExecutionDataFromCache.getValue());
+            testCaseExecutionData.setJsonResult(testCaseExecutionDataFromCache.getJsonResult());
+
+            DateFormat df = new SimpleDateFormat(DateUtil.DATE_FORMAT_DISPLAY);
+            res = new MessageEvent(MessageEventEnum.PROPERTY_SUCCESS_FROMCACHE).resolveDescription("ID", String.valueOf(testCaseExecutionDataFromCache.getId())).resolveDescription("DATE", df.format(testCaseExecutionDataFromCache.getStart()));
+            testCaseExecutionData.setPropertyResultMessage(res);
 
-            // Check if cache activated and cache entry exist.
-            int cacheValue = testCaseCountryProperty.getCacheExpire();
-            boolean useCache = false;
-            TestCaseExecutionData data = null;
+            if (!StringUtil.isEmpty(testCaseExecutionDataFromCache.getJsonResult())) {
 
-            if (cacheValue > 0) {
+                // Convert json to HashMap.
+                List<HashMap<String, String>> result = null;
+                result = new ArrayList<>();
                 try {
-                    data = testCaseExecutionDataService.readLastCacheEntry(execution.getApplicationObj().getSystem(), execution.getEnvironment(), execution.getCountry(), testCaseCountryProperty.getProperty(), cacheValue);
-                    if (data != null) {
-                        useCache = true;
+                    LOG.debug("Converting Json : " + testCaseExecutionDataFromCache.getJsonResult());
+
+                    JSONArray json = new JSONArray(testCaseExecutionDataFromCache.getJsonResult());
+                    for (int i = 0; i < json.length(); i++) {
+                        JSONObject explrObject = json.getJSONObject(i);
+                        LOG.debug(explrObject.toString());
+                        HashMap<String, String> resultHash = new HashMap<>();
+                        Iterator<?> nameItr = explrObject.keys();
+                        while (nameItr.hasNext()) {
+                            String name = (String) nameItr.next();
+                            if (name.equals("KEY")) {
+                                resultHash.put("", explrObject.getString(name));
+                            } else {
+                                resultHash.put(name, explrObject.getString(name));
+                            }
+                        }
+                        result.add(resultHash);
                     }
-                } catch (CerberusException e) {
-                    // do nothing, useCache will be false
+                } catch (JSONException ex) {
+                    java.util.logging.Logger.getLogger(PropertyService.class.getName()).log(Level.SEVERE, null, ex);
+                    LOG.error(ex, ex);
                 }
-            }
+                testCaseExecutionData.setDataLibRawData(result);
 
-            if (!useCache) {
+                // Adding secrets if property looks like a password
+                if (addSecret) {
+                    addPropertyASecret(testCaseExecutionData, execution);
+                }
 
-                /**
-                 * Decode Property replacing properties encapsulated with %
-                 */
-                if (testCaseCountryProperty.getValue1().contains("%")) {
+                //Record result in filessytem.
+                recorderService.recordTestDataLibProperty(execution.getId(), testCaseCountryProperty.getProperty(), 1, result, execution.getSecrets());
 
-                    answerDecode = variableService.decodeStringCompletly(testCaseCountryProperty.getValue1(), execution, null, false);
-                    testCaseExecutionData.setValue1(answerDecode.getItem());
-                    if (!(answerDecode.isCodeStringEquals("OK"))) {
-                        // If anything wrong with the decode --> we stop here with decode message in the property result.
-                        testCaseExecutionData.setPropertyResultMessage(answerDecode.getResultMessage().resolveDescription("FIELD", "Property Value1"));
-                        testCaseExecutionData.setEnd(new Date().getTime());
-                        testCaseExecutionData.setStopExecution(answerDecode.getResultMessage().isStopTest());
-                        LOG.debug("Finished to calculate Property (interupted) : '" + testCaseCountryProperty.getProperty() + "' : " + testCaseExecutionData.getPropertyResultMessage().getDescription());
-                        return;
-                    }
+            }
+            return null;
+        }
 
+        /**
+         * Decode Property replacing properties encapsulated with %
+         */
+        synchronized (execution) {
+            if (testCaseCountryProperty.getValue1().contains("%")) {
+
+                answerDecode = variableService.decodeStringCompletly(testCaseCountryProperty.getValue1(), execution, null, false);
+                testCaseExecutionData.setValue1(answerDecode.getItem());
+                if (!(answerDecode.isCodeStringEquals("OK"))) {
+                    // If anything wrong with the decode --> we stop here with decode message in the property result.
+                    testCaseExecutionData.setPropertyResultMessage(answerDecode.getResultMessage().resolveDescription("FIELD", "Property Value1"));
+                    testCaseExecutionData.setEnd(new Date().getTime());
+                    testCaseExecutionData.setStopExecution(answerDecode.getResultMessage().isStopTest());
+                    LOG.debug("Finished to calculate Property (interupted) : '" + testCaseCountryProperty.getProperty() + "' : " + testCaseExecutionData.getPropertyResultMessage().getDescription());
+                    return null;
                 }
 
-                if (testCaseCountryProperty.getValue2() != null && testCaseCountryProperty.getValue2().contains("%")) {
+            }
 
-                    answerDecode = variableService.decodeStringCompletly(testCaseCountryProperty.getValue2(), execution, null, false);
-                    testCaseExecutionData.setValue2(answerDecode.getItem());
-                    if (!(answerDecode.isCodeStringEquals("OK"))) {
-                        // If anything wrong with the decode --> we stop here with decode message in the property result.
-                        testCaseExecutionData.setPropertyResultMessage(answerDecode.getResultMessage().resolveDescription("FIELD", "Property Value2"));
-                        testCaseExecutionData.setEnd(new Date().getTime());
-                        testCaseExecutionData.setStopExecution(answerDecode.getResultMessage().isStopTest());
-                        LOG.debug("Finished to calculate Property (interupted) : '" + testCaseCountryProperty.getProperty() + "' : " + testCaseExecutionData.getPropertyResultMessage().getDescription());
-                        return;
-                    }
+            if (testCaseCountryProperty.getValue2() != null && testCaseCountryProperty.getValue2().contains("%")) {
 
+                answerDecode = variableService.decodeStringCompletly(testCaseCountryProperty.getValue2(), execution, null, false);
+                testCaseExecutionData.setValue2(answerDecode.getItem());
+                if (!(answerDecode.isCodeStringEquals("OK"))) {
+                    // If anything wrong with the decode --> we stop here with decode message in the property result.
+                    testCaseExecutionData.setPropertyResultMessage(answerDecode.getResultMessage().resolveDescription("FIELD", "Property Value2"));
+                    testCaseExecutionData.setEnd(new Date().getTime());
+                    testCaseExecutionData.setStopExecution(answerDecode.getResultMessage().isStopTest());
+                    LOG.debug("Finished to calculate Property (interupted) : '" + testCaseCountryProperty.getProperty() + "' : " + testCaseExecutionData.getPropertyResultMessage().getDescription());
+                    return null;
                 }
 
-                // cache not activated or no entry exist.
-                int execution_count = 0;
-                int retries = testCaseCountryProperty.getRetryNb();
-                int periodms = testCaseCountryProperty.getRetryPeriod();
-                LOG.debug("Init Retries : " + retries + " Period : " + periodms);
+            }
+        }
 
-                /**
-                 * Controling that retrynb and retryperiod are correctly feeded.
-                 * <br>
-                 * This is to avoid that <br>
-                 * 1/ retry is greater than cerberus_property_maxretry <br>
-                 * 2/ total duration of property calculation is longuer than
-                 * cerberus_property_maxretrytotalduration
-                 */
-                boolean forced_retry = false;
-                String forced_retry_message = "";
-                if (!(retries == 0)) {
-                    int maxretry = parameterService.getParameterIntegerByKey("cerberus_property_maxretry", "", 50);
-                    if (retries > maxretry) {
-                        retries = maxretry;
-                        forced_retry = true;
-                    }
-                    int maxtotalduration = parameterService.getParameterIntegerByKey("cerberus_property_maxretrytotalduration", "", 1800000);
-                    if (periodms > maxtotalduration) {
-                        periodms = maxtotalduration;
-                        forced_retry = true;
-                    }
-                    if (retries * periodms > maxtotalduration) {
-                        retries = maxtotalduration / periodms;
-                        forced_retry = true;
-                    }
-                    if (forced_retry) {
-                        forced_retry_message = "WARNING : Forced Retries : " + testCaseCountryProperty.getRetryNb() + "-->" + retries + " and Period : " + testCaseCountryProperty.getRetryPeriod() + "-->" + periodms + " (in order to respect the constrains cerberus_property_maxretry " + maxretry + " & cerberus_property_maxtotalduration " + maxtotalduration + ")";
-                        LOG.debug("Forced Retries : " + retries + " Period : " + periodms + " in order to respect the constrains cerberus_property_maxretry " + maxretry + " & cerberus_property_maxtotalduration " + maxtotalduration);
-                    }
+        // cache not activated or no entry exist.
+        int retries = testCaseCountryProperty.getRetryNb();
+        int periodms = testCaseCountryProperty.getRetryPeriod();
+        LOG.debug("Init Retries : " + retries + " Period : " + periodms);
 
-                }
+        /**
+         * Controling that retrynb and retryperiod are correctly feeded. <br>
+         * This is to avoid that <br>
+         * 1/ retry is greater than cerberus_property_maxretry <br>
+         * 2/ total duration of property calculation is longuer than
+         * cerberus_property_maxretrytotalduration
+         */
+        String forced_retry_message = null;
+        if (!(retries == 0)) {
+            boolean forced_retry = false;
+            int maxretry = parameterService.getParameterIntegerByKey("cerberus_property_maxretry", "", 50);
+            if (retries > maxretry) {
+                retries = maxretry;
+                forced_retry = true;
+            }
+            int maxtotalduration = parameterService.getParameterIntegerByKey("cerberus_property_maxretrytotalduration", "", 1800000);
+            if (periodms > maxtotalduration) {
+                periodms = maxtotalduration;
+                forced_retry = true;
+            }
+            if (retries * periodms > maxtotalduration) {
+                retries = maxtotalduration / periodms;
+                forced_retry = true;
+            }
+            if (forced_retry) {
+                forced_retry_message = "WARNING : Forced Retries : " + testCaseCountryProperty.getRetryNb() + "-->" + retries + " and Period : " + testCaseCountryProperty.getRetryPeriod() + "-->" + periodms + " (in order to respect the constrains cerberus_property_maxretry " + maxretry + " & cerberus_property_maxtotalduration " + maxtotalduration + ")";
+                LOG.debug("Forced Retries : " + retries + " Period : " + periodms + " in order to respect the constrains cerberus_property_maxretry " + maxretry + " & cerberus_property_maxtotalduration " + maxtotalduration);
+            }
 
-                /**
-                 * Looping on calculating the action until result is OK or reach
-                 * the max retry.
-                 */
-                while (execution_count <= retries && !(testCaseExecutionData.getPropertyResultMessage().getCodeString().equals("OK"))) {
-                    LOG.debug("Attempt #" + execution_count + " " + testCaseCountryProperty.getProperty() + " " + testCaseCountryProperty.getValue1());
+        }
+        return new PropertyRetry(retries, periodms, forced_retry_message);
+    }
 
-                    if (execution_count >= 1) { // We only wait the period if not on the very first calculation.
-                        try {
-                            Thread.sleep(periodms);
-                            LOG.debug("Attempt #" + execution_count + " " + testCaseCountryProperty.getProperty() + " " + testCaseCountryProperty.getValue1() + " Waiting " + periodms + " ms");
-                        } catch (InterruptedException ex) {
-                            LOG.error(ex.toString(), ex);
-                        }
-                    }
+    /**
+     * Calculate Property regarding the type
+     */
+    private void calculateAttempt(TestCaseExecutionData testCaseExecutionData, TestCaseExecution execution, TestCaseStepActionExecution testCaseStepActionExecution,
+            TestCaseCountryProperties testCaseCountryProperty, boolean forceRecalculation, PropertyRetry retry) throws CerberusEventException {
+        MessageEvent res;
+        LOG.debug("Attempt #" + retry.executionCount + " " + testCaseCountryProperty.getProperty() + " " + testCaseCountryProperty.getValue1());
 
-                    /**
-                     * Calculate Property regarding the type
-                     */
-                    switch (testCaseCountryProperty.getType()) {
-                        case TestCaseCountryProperties.TYPE_TEXT:
-                            testCaseExecutionData = this.property_calculateText(testCaseExecutionData, testCaseCountryProperty, forceRecalculation);
-                            break;
+        switch (testCaseCountryProperty.getType()) {
+            case TestCaseCountryProperties.TYPE_TEXT:
+                testCaseExecutionData = this.property_calculateText(testCaseExecutionData, testCaseCountryProperty, forceRecalculation);
+                break;
 
-                        case TestCaseCountryProperties.TYPE_GETFROMDATALIB:
-                            testCaseExecutionData = this.property_getFromDataLib(testCaseExecutionData, execution, testCaseStepActionExecution, testCaseCountryProperty, forceRecalculation);
-                            break;
+            case TestCaseCountryProperties.TYPE_GETFROMDATALIB:
+                testCaseExecutionData = this.property_getFromDataLib(testCaseExecutionData, execution, testCaseStepActionExecution, testCaseCountryProperty, forceRecalculation);
+                break;
 
-                        case TestCaseCountryProperties.TYPE_GETFROMSQL:
-                            testCaseExecutionData = this.property_getFromSql(testCaseExecutionData, execution, testCaseCountryProperty, forceRecalculation);
-                            break;
+            case TestCaseCountryProperties.TYPE_GETFROMSQL:
+                testCaseExecutionData = this.property_getFromSql(testCaseExecutionData, execution, testCaseCountryProperty, forceRecalculation);
+                break;
 
-                        case TestCaseCountryProperties.TYPE_GETFROMHTML:
-                            testCaseExecutionData = this.property_getFromHtml(testCaseExecutionData, execution, testCaseCountryProperty, forceRecalculation);
-                            break;
+            case TestCaseCountryProperties.TYPE_GETFROMHTML:
+                testCaseExecutionData = this.property_getFromHtml(testCaseExecutionData, execution, testCaseCountryProperty, forceRecalculation);
+                break;
 
-                        case TestCaseCountryProperties.TYPE_GETFROMHTMLVISIBLE:
-                            testCaseExecutionData = this.property_getFromHtmlVisible(testCaseExecutionData, execution, testCaseCountryProperty, forceRecalculation);
-                            break;
+            case TestCaseCountryProperties.TYPE_GETFROMHTMLVISIBLE:
+                testCaseExecutionData = this.property_getFromHtmlVisible(testCaseExecutionData, execution, testCaseCountryProperty, forceRecalculation);
+                break;
 
-                        case TestCaseCountryProperties.TYPE_GETFROMJS:
-                            testCaseExecutionData = this.property_getFromJS(testCaseExecutionData, execution, testCaseCountryProperty, forceRecalculation);
-                            break;
+            case TestCaseCountryProperties.TYPE_GETFROMJS:
+                testCaseExecutionData = this.property_getFromJS(testCaseExecutionData, execution, testCaseCountryProperty, forceRecalculation);
+                break;
 
-                        case TestCaseCountryProperties.TYPE_GETATTRIBUTEFROMHTML:
-                            testCaseExecutionData = this.property_getAttributeFromHtml(testCaseExecutionData, execution, testCaseCountryProperty, forceRecalculation);
-                            break;
+            case TestCaseCountryProperties.TYPE_GETATTRIBUTEFROMHTML:
+                testCaseExecutionData = this.property_getAttributeFromHtml(testCaseExecutionData, execution, testCaseCountryProperty, forceRecalculation);
+                break;
 
-                        case TestCaseCountryProperties.TYPE_GETFROMCOOKIE:
-                            testCaseExecutionData = this.property_getFromCookie(testCaseExecutionData, execution, testCaseCountryProperty, forceRecalculation);
-                            break;
+            case TestCaseCountryProperties.TYPE_GETFROMCOOKIE:
+                testCaseExecutionData = this.property_getFromCookie(testCaseExecutionData, execution, testCaseCountryProperty, forceRecalculation);
+                break;
 
-                        case TestCaseCountryProperties.TYPE_GETFROMXML:
-                            testCaseExecutionData = this.property_getFromXml(testCaseExecutionData, execution, testCaseCountryProperty, forceRecalculation);
-                            break;
+            case TestCaseCountryProperties.TYPE_GETFROMXML:
+                testCaseExecutionData = this.property_getFromXml(testCaseExecutionData, execution, testCaseCountryProperty, forceRecalculation);
+                break;
 
-                        case TestCaseCountryProperties.TYPE_GETRAWFROMXML:
-                            testCaseExecutionData = this.property_getRawFromXml(testCaseExecutionData, execution, testCaseCountryProperty, forceRecalculation);
-                            break;
+            case TestCaseCountryProperties.TYPE_GETRAWFROMXML:
+                testCaseExecutionData = this.property_getRawFromXml(testCaseExecutionData, execution, testCaseCountryProperty, forceRecalculation);
+                break;
 
-                        case TestCaseCountryProperties.TYPE_GETDIFFERENCESFROMXML:
-                            testCaseExecutionData = this.property_getDifferencesFromXml(testCaseExecutionData, execution, testCaseCountryProperty, forceRecalculation);
-                            break;
+            case TestCaseCountryProperties.TYPE_GETDIFFERENCESFROMXML:
+                testCaseExecutionData = this.property_getDifferencesFromXml(testCaseExecutionData, execution, testCaseCountryProperty, forceRecalculation);
+                break;
 
-                        case TestCaseCountryProperties.TYPE_GETFROMJSON:
-                            testCaseExecutionData = this.property_getFromJson(testCaseExecutionData, execution, forceRecalculation);
-                            break;
+            case TestCaseCountryProperties.TYPE_GETFROMJSON:
+                testCaseExecutionData = this.property_getFromJson(testCaseExecutionData, execution, forceRecalculation);
+                break;
 
-                        case TestCaseCountryProperties.TYPE_GETRAWFROMJSON:
-                            testCaseExecutionData = this.property_getRawFromJson(testCaseExecutionData, execution);
-                            break;
+            case TestCaseCountryProperties.TYPE_GETRAWFROMJSON:
+                testCaseExecutionData = this.property_getRawFromJson(testCaseExecutionData, execution);
+                break;
 
-                        case TestCaseCountryProperties.TYPE_GETFROMGROOVY:
-                            testCaseExecutionData = this.property_getFromGroovy(testCaseExecutionData, execution, testCaseCountryProperty, forceRecalculation);
-                            break;
+            case TestCaseCountryProperties.TYPE_GETFROMGROOVY:
+                testCaseExecutionData = this.property_getFromGroovy(testCaseExecutionData, execution, testCaseCountryProperty, forceRecalculation);
+                break;
 
-                        case TestCaseCountryProperties.TYPE_GETFROMCOMMAND:
-                            testCaseExecutionData = this.property_getFromCommand(testCaseExecutionData, execution, testCaseCountryProperty, forceRecalculation);
-                            break;
+            case TestCaseCountryProperties.TYPE_GETFROMCOMMAND:
+                testCaseExecutionData = this.property_getFromCommand(testCaseExecutionData, execution, testCaseCountryProperty, forceRecalculation);
+                break;
 
-                        case TestCaseCountryProperties.TYPE_GETELEMENTPOSITION:
-                            testCaseExecutionData = this.property_getElementPosition(testCaseExecutionData, execution, testCaseCountryProperty, forceRecalculation);
-                            break;
+            case TestCaseCountryProperties.TYPE_GETELEMENTPOSITION:
+                testCaseExecutionData = this.property_getElementPosition(testCaseExecutionData, execution, testCaseCountryProperty, forceRecalculation);
+                break;
 
-                        case TestCaseCountryProperties.TYPE_GETFROMNETWORKTRAFFIC:
-                            testCaseExecutionData = this.property_getFromNetworkTraffic(testCaseExecutionData, testCaseCountryProperty, execution, forceRecalculation);
-                            break;
+            case TestCaseCountryProperties.TYPE_GETFROMNETWORKTRAFFIC:
+                testCaseExecutionData = this.property_getFromNetworkTraffic(testCaseExecutionData, testCaseCountryProperty, execution, forceRecalculation);
+                break;
 
-                        case TestCaseCountryProperties.TYPE_GETOTP:
-                            testCaseExecutionData = this.property_getOTP(testCaseExecutionData, testCaseCountryProperty, execution, forceRecalculation);
-                            break;
+            case TestCaseCountryProperties.TYPE_GETOTP:
+                testCaseExecutionData = this.property_getOTP(testCaseExecutionData, testCaseCountryProperty, execution, forceRecalculation);
+                break;
 
-                        // DEPRECATED Property types.
+            // DEPRECATED Property types.
 //                        case TestCaseCountryProperties.TYPE_EXECUTESOAPFROMLIB: // DEPRECATED
 //                            testCaseExecutionData = this.property_executeSoapFromLib(testCaseExecutionData, execution, testCaseStepActionExecution, testCaseCountryProperty, forceRecalculation);
 //                            res = testCaseExecutionData.getPropertyResultMessage();
@@ -777,93 +1234,26 @@ public class PropertyService implements IPropertyService {
 //                            LOG.warn(MESSAGE_DEPRECATED + " Deprecated Property " + TestCaseCountryProperties.TYPE_EXECUTESQLFROMLIB + " triggered by TestCase : ['" + test + "'|'" + testCase + "']");
 //                            break;
 
-                        default:
-                            res = new MessageEvent(MessageEventEnum.PROPERTY_FAILED_UNKNOWNPROPERTY);
-                            res.setDescription(res.getDescription().replace("%PROPERTY%", testCaseCountryProperty.getType()));
-                            testCaseExecutionData.setPropertyResultMessage(res);
-                    }
-                    execution_count++;
-
-                    // Adding secrets if property looks like a password
-                    addPropertyASecret(testCaseExecutionData, execution);
-
-                }
-
-                if (execution_count >= 2) { // If there were at least 1 retry, we notify it in the result message.
-                    res = testCaseExecutionData.getPropertyResultMessage();
-                    res.setDescription("Retried " + (execution_count - 1) + " time(s) with " + periodms + "ms period - " + res.getDescription());
-                    testCaseExecutionData.setPropertyResultMessage(res);
-                }
-                if (forced_retry) { // If the retry and period parameter was changed, we notify it in the result message.
-                    res = testCaseExecutionData.getPropertyResultMessage();
-                    res.setDescription(forced_retry_message + " - " + res.getDescription());
-                    testCaseExecutionData.setPropertyResultMessage(res);
-                }
-
-            } else {
-                // cache activated and entry exist. We set the current value with cache entry data and notify the result from the messsage.
-                TestCaseExecutionData testCaseExecutionDataFromCache = data;
-                testCaseExecutionData.setFromCache("Y");
-                testCaseExecutionData.setDataLib(testCaseExecutionDataFromCache.getDataLib());
-                testCaseExecutionData.setValue(testCaseExecutionDataFromCache.getValue());
-                testCaseExecutionData.setJsonResult(testCaseExecutionDataFromCache.getJsonResult());
-
-                DateFormat df = new SimpleDateFormat(DateUtil.DATE_FORMAT_DISPLAY);
-                res = new MessageEvent(MessageEventEnum.PROPERTY_SUCCESS_FROMCACHE).resolveDescription("ID", String.valueOf(testCaseExecutionDataFromCache.getId())).resolveDescription("DATE", df.format(testCaseExecutionDataFromCache.getStart()));
+            default:
+                res = new MessageEvent(MessageEventEnum.PROPERTY_FAILED_UNKNOWNPROPERTY);
+                res.setDescription(res.getDescription().replace("%PROPERTY%", testCaseCountryProperty.getType()));
                 testCaseExecutionData.setPropertyResultMessage(res);
-
-                if (!StringUtil.isEmpty(testCaseExecutionDataFromCache.getJsonResult())) {
-
-                    // Convert json to HashMap.
-                    List<HashMap<String, String>> result = null;
-                    result = new ArrayList<>();
-                    try {
-                        LOG.debug("Converting Json : " + testCaseExecutionDataFromCache.getJsonResult());
-
-                        JSONArray json = new JSONArray(testCaseExecutionDataFromCache.getJsonResult());
-                        for (int i = 0; i < json.length(); i++) {
-                            JSONObject explrObject = json.getJSONObject(i);
-                            LOG.debug(explrObject.toString());
-                            HashMap<String, String> resultHash = new HashMap<>();
-                            Iterator<?> nameItr = explrObject.keys();
-                            while (nameItr.hasNext()) {
-                                String name = (String) nameItr.next();
-                                if (name.equals("KEY")) {
-                                    resultHash.put("", explrObject.getString(name));
-                                } else {
-                                    resultHash.put(name, explrObject.getString(name));
-                                }
-                            }
-                            result.add(resultHash);
-                        }
-                    } catch (JSONException ex) {
-                        java.util.logging.Logger.getLogger(PropertyService.class.getName()).log(Level.SEVERE, null, ex);
-                        LOG.error(ex, ex);
-                    }
-                    testCaseExecutionData.setDataLibRawData(result);
-
-                    // Adding secrets if property looks like a password
-                    addPropertyASecret(testCaseExecutionData, execution);
-
-                    //Record result in filessytem.
-                    recorderService.recordTestDataLibProperty(execution.getId(), testCaseCountryProperty.getProperty(), 1, result, execution.getSecrets());
-
-                }
-
-            }
-
-        } catch (CerberusEventException ex) {
-            LOG.error(ex.toString(), ex);
-            testCaseExecutionData.setEnd(new Date().getTime());
-            testCaseExecutionData.setPropertyResultMessage(ex.getMessageError());
         }
+        retry.executionCount++;
+    }
 
-        testCaseExecutionData.setEnd(new Date().getTime());
-
-        if (LOG.isDebugEnabled()) {
-            LOG.debug("Finished to calculate Property : '" + testCaseCountryProperty.getProperty() + "'");
+    private void endCalculation(TestCaseExecutionData testCaseExecutionData, PropertyRetry retry) {
+        MessageEvent res;
+        if (retry.executionCount >= 2) { // If there were at least 1 retry, we notify it in the result message.
+            res = testCaseExecutionData.getPropertyResultMessage();
+            res.setDescription("Retried " + (retry.executionCount - 1) + " time(s) with " + retry.periodms + "ms period - " + res.getDescription());
+            testCaseExecutionData.setPropertyResultMessage(res);
+        }
+        if (retry.forcedRetryMessage != null) { // If the retry and period parameter was changed, we notify it in the result message.
+            res = testCaseExecutionData.getPropertyResultMessage();
+            res.setDescription(retry.forcedRetryMessage + " - " + res.getDescription());
+            testCaseExecutionData.setPropertyResultMessage(res);
         }
-
     }
 
     private void addPropertyASecret(TestCaseExecutionData executionData, TestCaseExecution execution) {
@@ -1628,7 +2018,9 @@ public class PropertyService implements IPropertyService {
             try {
                 if (testDataLib.getType().equals(TestDataLib.TYPE_SQL)) {
                     //check if the script contains properties that neeed to be calculated
-                    answerDecode = variableService.decodeStringCompletly(testDataLib.getScript(), execution, testCaseStepActionExecution, false);
+                    synchronized (execution) {
+                        answerDecode = variableService.decodeStringCompletly(testDataLib.getScript(), execution, testCaseStepActionExecution, false);
+                    }
                     String decodedScript = answerDecode.getItem();
                     testDataLib.setScript(decodedScript);
                     if (!(answerDecode.isCodeStringEquals("OK"))) {
@@ -1647,7 +2039,9 @@ public class PropertyService implements IPropertyService {
 
             // Here, we try to decode testCaseCountryProperty field `length` to get the value of property if needed
             try {
-                answerDecode = variableService.decodeStringCompletly(testCaseCountryProperty.getLength(), execution, testCaseStepActionExecution, false);
+                synchronized (execution) {
+                    answerDecode = variableService.decodeStringCompletly(testCaseCountryProperty.getLength(), execution, testCaseStepActionExecution, false);
+                }
                 decodedLength = answerDecode.getItem();
                 if (!(answerDecode.isCodeStringEquals("OK"))) {
                     testCaseExecutionData.setPropertyResultMessage(answerDecode.getResultMessage().resolveDescription("FIELD", "length"));
@@ -304,13 +304,14 @@ public class VariableService implements IVariableService {
              */
             if (execution.getTestCaseStepExecutionList() != null) {
 
-                if (execution.getTestCaseStepExecutionList().size() > 0) {
-                    stringToDecode = stringToDecode.replace("%system.CURRENTSTEP_SORT%", String.valueOf(execution.getTestCaseStepExecutionList().get(execution.getTestCaseStepExecutionList().size() - 1).getSort()));
-                    stringToDecode = stringToDecode.replace("%SYS_CURRENTSTEP_SORT%", String.valueOf(execution.getTestCaseStepExecutionList().get(execution.getTestCaseStepExecutionList().size() - 1).getSort()));
+                // Current step is the one of the thread when steps are executed concurrently.
+                TestCaseStepExecution currentStep = execution.getCurrentStepExecution();
+                if (currentStep != null) {
+                    stringToDecode = stringToDecode.replace("%system.CURRENTSTEP_SORT%", String.valueOf(currentStep.getSort()));
+                    stringToDecode = stringToDecode.replace("%SYS_CURRENTSTEP_SORT%", String.valueOf(currentStep.getSort()));
 
                     // %SYS_CURRENTSTEP_INDEX%
                     if (stringToDecode.contains("%SYS_CURRENTSTEP_")) {
-                        TestCaseStepExecution currentStep = execution.getTestCaseStepExecutionList().get(execution.getTestCaseStepExecutionList().size() - 1);
                         stringToDecode = stringToDecode.replace("%SYS_CURRENTSTEP_INDEX%", String.valueOf(currentStep.getIndex()));
                         stringToDecode = stringToDecode.replace("%SYS_CURRENTSTEP_STARTISO%", new Timestamp(currentStep.getStart()).toString());
                         nowInMS = new Date().getTime();
@@ -318,7 +319,6 @@ public class VariableService implements IVariableService {
 
                     }
                     if (stringToDecode.contains("%system.CURRENTSTEP_")) {
-                        TestCaseStepExecution currentStep = execution.getTestCaseStepExecutionList().get(execution.getTestCaseStepExecutionList().size() - 1);
                         stringToDecode = stringToDecode.replace("%system.CURRENTSTEP_INDEX%", String.valueOf(currentStep.getIndex()));
                         stringToDecode = stringToDecode.replace("%system.CURRENTSTEP_STARTISO%", new Timestamp(currentStep.getStart()).toString());
                         nowInMS = new Date().getTime();
@@ -0,0 +1,62 @@
+/**
+ * Cerberus Copyright (C) 2013 - 2017 cerberustesting
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This file is part of Cerberus.
+ *
+ * Cerberus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Cerberus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Cerberus.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cerberus.core.engine.queuemanagement;
+
+import java.util.List;
+import org.cerberus.core.crud.entity.RobotExecutor;
+
+/**
+ * Keep in memory the availability of the robot executors (Selenium/Appium
+ * hub and Cerberus executor extension). Endpoints are probed in background so
+ * that the queue and the execution checks do not have to wait for a down
+ * host.
+ */
+public interface IRobotExecutorHealthService {
+
+    /**
+     * @param robotExecutor
+     * @return false only if the hub or the extension of the executor was
+     * found down by the last probe. Executors that were not probed yet are
+     * considered available.
+     */
+    boolean isAvailable(RobotExecutor robotExecutor);
+
+    /**
+     * Check that the executor extension answers OK. The last probe result is
+     * used if it is recent enough, else the extension is probed now.
+     *
+     * @param robotExecutor
+     * @return true if the extension is available.
+     */
+    boolean isExtensionAvailable(RobotExecutor robotExecutor);
+
+    /**
+     * @param robotExecutors
+     * @return the executors that are available, keeping their order. If none
+     * of them is available, the list is returned unchanged.
+     */
+    List<RobotExecutor> filterAvailable(List<RobotExecutor> robotExecutors);
+
+    /**
+     * Probe all the active robot executors.
+     */
+    void checkAll();
+
+}
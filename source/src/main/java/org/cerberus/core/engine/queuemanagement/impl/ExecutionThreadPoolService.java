@@ -30,20 +30,20 @@ import org.apache.logging.log4j.LogManager;
 import org.cerberus.core.crud.entity.Application;
 import org.cerberus.core.crud.entity.Robot;
 import org.cerberus.core.crud.entity.RobotExecutor;
-import org.cerberus.core.crud.factory.IFactoryQueueStat;
 import org.cerberus.core.crud.factory.IFactoryRobotExecutor;
-import org.cerberus.core.crud.service.IInvariantService;
 import org.cerberus.core.engine.execution.IRetriesService;
 import org.cerberus.core.engine.queuemanagement.entity.TestCaseExecutionQueueToTreat;
 import org.cerberus.core.crud.service.IMyVersionService;
 import org.cerberus.core.crud.service.IParameterService;
 import org.cerberus.core.crud.service.IQueueStatService;
+import org.cerberus.core.crud.service.IReferenceDataCacheService;
 import org.cerberus.core.crud.service.IRobotExecutorService;
 import org.cerberus.core.crud.service.IRobotService;
 import org.cerberus.core.crud.service.ITagService;
 import org.cerberus.core.crud.service.ITestCaseExecutionQueueDepService;
 import org.cerberus.core.crud.service.ITestCaseExecutionQueueService;
 import org.cerberus.core.engine.queuemanagement.IExecutionThreadPoolService;
+import org.cerberus.core.engine.queuemanagement.IRobotExecutorHealthService;
 import org.cerberus.core.exception.CerberusException;
 import org.cerberus.core.service.authentification.impl.APIKeyService;
 import org.cerberus.core.servlet.zzpublic.ManageV001;
@@ -78,10 +78,12 @@ public class ExecutionThreadPoolService implements IExecutionThreadPoolService {
     @Autowired
     private SessionCounter sessionCounter;
     @Autowired
-    private IInvariantService invariantService;
-    @Autowired
     private IMyVersionService myVersionService;
     @Autowired
+    private IReferenceDataCacheService referenceDataCacheService;
+    @Autowired
+    private IRobotExecutorHealthService robotExecutorHealthService;
+    @Autowired
     ExecutionQueueThreadPool threadQueuePool;
     @Autowired
     private ITestCaseExecutionQueueService queueService;
@@ -100,8 +102,6 @@ public class ExecutionThreadPoolService implements IExecutionThreadPoolService {
     @Autowired
     private IFactoryRobotExecutor factoryRobotExecutor;
     @Autowired
-    private IFactoryQueueStat factoryQueueStat;
-    @Autowired
     private IQueueStatService queueStatService;
 
     @Override
@@ -183,9 +183,9 @@ public class ExecutionThreadPoolService implements IExecutionThreadPoolService {
 
         // Getting RobotHost PoolSize
         HashMap<String, Integer> robot_poolsize = new HashMap<>();
-        robot_poolsize = invariantService.readToHashMapGp1IntegerByIdname("ROBOTHOST", poolSizeRobot);
+        robot_poolsize = referenceDataCacheService.readInvariantGp1Integer("ROBOTHOST", poolSizeRobot);
         HashMap<String, Integer> robotext_poolsize = new HashMap<>();
-        robotext_poolsize = invariantService.readToHashMapGp1IntegerByIdname("ROBOTPROXYHOST", poolSizeExecutorExt);
+        robotext_poolsize = referenceDataCacheService.readInvariantGp1Integer("ROBOTPROXYHOST", poolSizeExecutorExt);
 
         // Getting all executions to be treated.
         answer = tceiqService.readQueueToTreatOrRunning();
@@ -356,10 +356,10 @@ public class ExecutionThreadPoolService implements IExecutionThreadPoolService {
                     const05_current = 0;
 
                     // Getting RobotHost PoolSize
-                    robothost_poolsize = invariantService.readToHashMapGp1IntegerByIdname("ROBOTHOST", poolSizeRobot);
+                    robothost_poolsize = referenceDataCacheService.readInvariantGp1Integer("ROBOTHOST", poolSizeRobot);
 
                     // Getting CerberusExecutorHost PoolSize
-                    executorexthost_poolsize = invariantService.readToHashMapGp1IntegerByIdname("ROBOTPROXYHOST", poolSizeExecutorExt);
+                    executorexthost_poolsize = referenceDataCacheService.readInvariantGp1Integer("ROBOTPROXYHOST", poolSizeExecutorExt);
 
                     // Getting the list of robot in scope of the queue entries. This is to avoid getting all robots from database.
                     LOG.debug("Getting List of Robot Executor.");
@@ -425,6 +425,13 @@ public class ExecutionThreadPoolService implements IExecutionThreadPoolService {
                     // Looping other every potential executor on the corresponding robot.
                     for (RobotExecutor robotExecutor1 : robotExelist) {
 
+                        if (!robotExecutorHealthService.isAvailable(robotExecutor1)) {
+                            // Execution stays in queue until the executor is back.
+                            notTriggeredExeMessage += "Robot Executor '" + robotExecutor1.getRobot() + "/" + robotExecutor1.getExecutor() + "' is not available. ";
+                            LOG.debug("RESULT : Execution not triggered on unavailable executor : " + robotExecutor1.getRobot() + "/" + robotExecutor1.getExecutor());
+                            continue;
+                        }
+
                         if ("Y".equalsIgnoreCase(robotExecutor1.getExecutorProxyActive())) {
                             robotExtHost = robotExecutor1.getExecutorExtensionHost();
                             if (StringUtil.isEmpty(robotExtHost)) {
@@ -662,7 +669,8 @@ public class ExecutionThreadPoolService implements IExecutionThreadPoolService {
                 }
                 LOG.debug("Stats : GlobalContrain=" + poolSizeGeneral + " - nbRunning=" + const01_current + " - NbQueued=" + executionsInQueue.size());
 
-                queueStatService.create(factoryQueueStat.create(0, poolSizeGeneral, const01_current, executionsInQueue.size(), "", null, null, null));
+                // Only kept in memory, queue stats are sampled and written every minute by the scheduled task runner.
+                queueStatService.record(poolSizeGeneral, const01_current, executionsInQueue.size());
 
             } while (nbqueuedexe > 0);
 
@@ -0,0 +1,258 @@
+/**
+ * Cerberus Copyright (C) 2013 - 2017 cerberustesting
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This file is part of Cerberus.
+ *
+ * Cerberus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Cerberus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Cerberus.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cerberus.core.engine.queuemanagement.impl;
+
+import java.io.BufferedReader;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import javax.annotation.PreDestroy;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.cerberus.core.crud.entity.Parameter;
+import org.cerberus.core.crud.entity.RobotExecutor;
+import org.cerberus.core.crud.service.IParameterService;
+import org.cerberus.core.crud.service.IRobotExecutorService;
+import org.cerberus.core.engine.queuemanagement.IRobotExecutorHealthService;
+import org.cerberus.core.util.StringUtil;
+import org.json.JSONObject;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Hubs are considered up as soon as they answer an HTTP response (cloud
+ * providers may answer 401 without credentials). Extensions must answer OK on
+ * their /check endpoint.
+ */
+@Service
+public class RobotExecutorHealthService implements IRobotExecutorHealthService {
+
+    private static final Logger LOG = LogManager.getLogger(RobotExecutorHealthService.class);
+
+    private static final int PROBE_THREADS = 4;
+
+    @Autowired
+    private IParameterService parameterService;
+    @Autowired
+    private IRobotExecutorService robotExecutorService;
+
+    private final Map<String, EndpointState> states = new ConcurrentHashMap<>();
+    private final ExecutorService probeExecutor = Executors.newFixedThreadPool(PROBE_THREADS, r -> {
+        Thread thread = new Thread(r, "robotexecutor-health");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private volatile long lastCheckAll = 0;
+
+    private static class EndpointState {
+
+        private final boolean up;
+        private final long latencyMs;
+        private final long checkTime;
+        private final String error;
+
+        private EndpointState(boolean up, long latencyMs, String error) {
+            this.up = up;
+            this.latencyMs = latencyMs;
+            this.checkTime = System.currentTimeMillis();
+            this.error = error;
+        }
+    }
+
+    @Override
+    public boolean isAvailable(RobotExecutor robotExecutor) {
+        EndpointState hub = states.get(getHubUrl(robotExecutor));
+        if (hub != null && !hub.up) {
+            return false;
+        }
+        String extensionUrl = getExtensionUrl(robotExecutor);
+        if (extensionUrl != null) {
+            EndpointState extension = states.get(extensionUrl);
+            return extension == null || extension.up;
+        }
+        return true;
+    }
+
+    @Override
+    public boolean isExtensionAvailable(RobotExecutor robotExecutor) {
+        String extensionUrl = getExtensionUrl(robotExecutor);
+        if (extensionUrl == null) {
+            return true;
+        }
+        long periodMs = getPeriodMs();
+        EndpointState state = states.get(extensionUrl);
+        if (periodMs > 0 && state != null && System.currentTimeMillis() - state.checkTime < 2 * periodMs) {
+            return state.up;
+        }
+        return probeExtension(extensionUrl).up;
+    }
+
+    @Override
+    public List<RobotExecutor> filterAvailable(List<RobotExecutor> robotExecutors) {
+        if (robotExecutors == null || robotExecutors.isEmpty()) {
+            return robotExecutors;
+        }
+        List<RobotExecutor> result = robotExecutors.stream().filter(this::isAvailable).collect(Collectors.toList());
+        return result.isEmpty() ? robotExecutors : result;
+    }
+
+    @Scheduled(fixedDelay = 5000, initialDelay = 30000)
+    public void scheduledCheck() {
+        long periodMs = getPeriodMs();
+        if (periodMs > 0 && System.currentTimeMillis() - lastCheckAll >= periodMs) {
+            checkAll();
+        }
+    }
+
+    @Override
+    public void checkAll() {
+        lastCheckAll = System.currentTimeMillis();
+        List<RobotExecutor> executors = robotExecutorService.readByVarious(null, "Y").getDataList();
+        if (executors == null) {
+            return;
+        }
+
+        // Same hub or extension can be shared by several executors.
+        Map<String, Callable<EndpointState>> probes = new LinkedHashMap<>();
+        for (RobotExecutor executor : executors) {
+            String hubUrl = getHubUrl(executor);
+            if (hubUrl != null) {
+                probes.putIfAbsent(hubUrl, () -> probeHub(hubUrl));
+            }
+            String extensionUrl = getExtensionUrl(executor);
+            if (extensionUrl != null) {
+                probes.putIfAbsent(extensionUrl, () -> probeExtension(extensionUrl));
+            }
+        }
+        // Forget endpoints that are no longer used.
+        states.keySet().retainAll(probes.keySet());
+
+        try {
+            // Each probe is bounded by the timeout so a round cannot last much more than that.
+            long maxWaitMs = (2L * getTimeoutMs()) * ((probes.size() / PROBE_THREADS) + 1);
+            probeExecutor.invokeAll(new ArrayList<>(probes.values()), maxWaitMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        LOG.debug("Robot executor health checked on {} endpoint(s).", probes.size());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        probeExecutor.shutdownNow();
+    }
+
+    private EndpointState probeHub(String hubUrl) {
+        long start = System.currentTimeMillis();
+        String error = null;
+        try {
+            HttpURLConnection connection = (HttpURLConnection) new URL(hubUrl + "/wd/hub/status").openConnection();
+            connection.setConnectTimeout(getTimeoutMs());
+            connection.setReadTimeout(getTimeoutMs());
+            try {
+                connection.getResponseCode();
+            } finally {
+                connection.disconnect();
+            }
+        } catch (Exception ex) {
+            error = ex.toString();
+        }
+        return record(hubUrl, error == null, System.currentTimeMillis() - start, error);
+    }
+
+    private EndpointState probeExtension(String extensionUrl) {
+        long start = System.currentTimeMillis();
+        String error = null;
+        try {
+            HttpURLConnection connection = (HttpURLConnection) new URL(extensionUrl + "/check").openConnection();
+            connection.setConnectTimeout(getTimeoutMs());
+            connection.setReadTimeout(getTimeoutMs());
+            try (InputStream is = connection.getInputStream();
+                    BufferedReader rd = new BufferedReader(new InputStreamReader(is, StandardCharsets.UTF_8))) {
+                String jsonText = rd.lines().collect(Collectors.joining("\n"));
+                if (!"OK".equals(new JSONObject(jsonText).getString("message"))) {
+                    error = "Answered : " + jsonText;
+                }
+            } finally {
+                connection.disconnect();
+            }
+        } catch (Exception ex) {
+            error = ex.toString();
+        }
+        return record(extensionUrl, error == null, System.currentTimeMillis() - start, error);
+    }
+
+    private EndpointState record(String url, boolean up, long latencyMs, String error) {
+        EndpointState state = new EndpointState(up, latencyMs, error);
+        EndpointState previous = states.put(url, state);
+        if (!up && (previous == null || previous.up)) {
+            LOG.warn("Robot executor endpoint {} is down : {}", url, error);
+        } else if (up && previous != null && !previous.up) {
+            LOG.info("Robot executor endpoint {} is back up ({} ms).", url, latencyMs);
+        }
+        return state;
+    }
+
+    private String getHubUrl(RobotExecutor robotExecutor) {
+        String host = robotExecutor.getHost();
+        if (StringUtil.isEmpty(host)) {
+            return null;
+        }
+        String url = (host.contains("https://") || host.contains("http://")) ? host : "http://" + host;
+        String port = robotExecutor.getPort();
+        if (!StringUtil.isEmpty(port) && StringUtil.isInteger(port) && Integer.valueOf(port) > 0) {
+            url += ":" + port;
+        }
+        return StringUtil.cleanHostURL(url);
+    }
+
+    private String getExtensionUrl(RobotExecutor robotExecutor) {
+        if (!"Y".equals(robotExecutor.getExecutorProxyActive())) {
+            return null;
+        }
+        String host = StringUtil.isEmpty(robotExecutor.getExecutorExtensionHost()) ? robotExecutor.getHost() : robotExecutor.getExecutorExtensionHost();
+        if (StringUtil.isEmpty(host)) {
+            return null;
+        }
+        return "http://" + host + ":" + robotExecutor.getExecutorExtensionPort();
+    }
+
+    private long getPeriodMs() {
+        return parameterService.getParameterIntegerByKey(Parameter.VALUE_cerberus_robotexecutor_healthcheck_period, "", 30) * 1000L;
+    }
+
+    private int getTimeoutMs() {
+        return parameterService.getParameterIntegerByKey(Parameter.VALUE_cerberus_robotexecutor_healthcheck_timeout, "", 5000);
+    }
+
+}
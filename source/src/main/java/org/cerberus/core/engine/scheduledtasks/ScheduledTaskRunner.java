@@ -19,11 +19,17 @@
  */
 package org.cerberus.core.engine.scheduledtasks;
 
+import org.cerberus.core.crud.entity.Parameter;
 import org.cerberus.core.crud.service.IParameterService;
+import org.cerberus.core.crud.service.IQueueStatService;
+import org.cerberus.core.crud.service.ITagStatDailyService;
+import org.cerberus.core.crud.service.ITestCaseExecutionArchiveService;
+import org.cerberus.core.crud.service.ITestCaseExecutionHttpStatService;
 import org.cerberus.core.crud.service.ITestCaseExecutionQueueService;
 import org.cerberus.core.engine.queuemanagement.IExecutionThreadPoolService;
 import org.cerberus.core.engine.scheduler.SchedulerInit;
 import org.cerberus.core.exception.CerberusException;
+import org.cerberus.core.service.artifact.IExecutionArtifactStore;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
@@ -44,6 +50,16 @@ public class ScheduledTaskRunner {
     private IExecutionThreadPoolService executionThreadPoolService;
     @Autowired
     private SchedulerInit schedulerInit;
+    @Autowired
+    private ITestCaseExecutionHttpStatService testCaseExecutionHttpStatService;
+    @Autowired
+    private ITestCaseExecutionArchiveService testCaseExecutionArchiveService;
+    @Autowired
+    private ITagStatDailyService tagStatDailyService;
+    @Autowired
+    private IQueueStatService queueStatService;
+    @Autowired
+    private IExecutionArtifactStore executionArtifactStore;
 
     private int b1TickNumberTarget = 60;
     private int b1TickNumber = 1;
@@ -51,6 +67,10 @@ public class ScheduledTaskRunner {
     private int b2TickNumber = 1;
     private int b3TickNumberTarget = 1;
     private int b3TickNumber = 1;
+    private int b4TickNumberTarget = 60;
+    private int b4TickNumber = 1;
+    private int b5TickNumberTarget = 60;
+    private int b5TickNumber = 1;
 
     private static final org.apache.logging.log4j.Logger LOG = org.apache.logging.log4j.LogManager.getLogger(ScheduledTaskRunner.class);
 
@@ -61,6 +81,11 @@ public class ScheduledTaskRunner {
         // We get the new period from parameter and trigger the Queue automatic cancellation job.
         b1TickNumberTarget = parameterService.getParameterIntegerByKey("cerberus_automaticqueuecancellationjob_period", "", 60);
         b2TickNumberTarget = parameterService.getParameterIntegerByKey("cerberus_automaticqueueprocessingjob_period", "", 30);
+        b4TickNumberTarget = parameterService.getParameterIntegerByKey(Parameter.VALUE_cerberus_executionretentionjob_period, "", 60);
+        b5TickNumberTarget = parameterService.getParameterIntegerByKey(Parameter.VALUE_cerberus_queuestatcompactionjob_period, "", 60);
+
+        // Queue stats are sampled at every tick (every minute) and written by batches.
+        queueStatService.sample();
 
         if (b1TickNumber < b1TickNumberTarget) {
             b1TickNumber++;
@@ -85,6 +110,27 @@ public class ScheduledTaskRunner {
             performBatch3_SchedulerInit();
         }
 
+        if (b4TickNumber < b4TickNumberTarget) {
+            b4TickNumber++;
+        } else {
+            b4TickNumber = 1;
+            // We trigger the execution history retention job.
+            performBatch4_ExecutionRetention();
+        }
+
+        if (b5TickNumber < b5TickNumberTarget) {
+            b5TickNumber++;
+        } else {
+            b5TickNumber = 1;
+            // We trigger the queue stat compaction job (runs in background).
+            queueStatService.compact();
+        }
+
+        // Http stat values of old executions are extracted in background (nothing is done once finished).
+        testCaseExecutionHttpStatService.backfillMetrics();
+        // Daily tag statistics of the days never computed (nothing is done once finished).
+        tagStatDailyService.backfill();
+
         LOG.debug("Schedule Stop. " + b1TickNumber + "/" + b1TickNumberTarget + " - " + b2TickNumber + "/" + b2TickNumberTarget);
     }
 
@@ -112,6 +158,18 @@ public class ScheduledTaskRunner {
         LOG.info("automaticqueueprocessingjob Task ended.");
     }
 
+    private void performBatch4_ExecutionRetention() {
+        LOG.info("executionretentionjob Task triggered.");
+        if (parameterService.getParameterBooleanByKey(Parameter.VALUE_cerberus_executionretentionjob_active, "", true)) {
+            // Archive and purge run in background in order not to delay the queue jobs.
+            testCaseExecutionArchiveService.archiveAndPurge();
+            // Blobs no longer used by the remaining executions are removed (in background, once a day).
+            executionArtifactStore.sweep();
+        } else {
+            LOG.info("executionretentionjob Task disabled by config (cerberus_executionretentionjob_active).");
+        }
+    }
+
     private void performBatch3_SchedulerInit() {
         try {
             LOG.info("SchedulerInit Task triggered.");
@@ -19,6 +19,9 @@
  */
 package org.cerberus.core.event;
 
+import java.util.List;
+import org.cerberus.core.crud.entity.EventHook;
+import org.cerberus.core.crud.entity.EventOutbox;
 import org.cerberus.core.engine.entity.MessageEvent;
 
 /**
@@ -28,6 +31,9 @@ import org.cerberus.core.engine.entity.MessageEvent;
 public interface IEventService {
 
     /**
+     * Record the notifications of all active hooks matching the event in the
+     * event outbox. Notifications are delivered later by the event dispatcher
+     * so the calling thread is never slowed down by the hook targets.
      *
      * @param eventReference
      * @param object1
@@ -38,4 +44,33 @@ public interface IEventService {
      */
     public MessageEvent triggerEvent(String eventReference, Object object1, Object object2, Object object3, Object object4);
 
+    /**
+     * Deliver a single outbox entry to its hook target.
+     *
+     * @param eventHook
+     * @param entry
+     * @throws Exception when the target could not be reached. Entry will be
+     * retried.
+     */
+    public void deliverEvent(EventHook eventHook, EventOutbox entry) throws Exception;
+
+    /**
+     * Deliver several outbox entries of the same hook as a single summary
+     * message.
+     *
+     * @param eventHook
+     * @param entryList
+     * @throws Exception when the target could not be reached. Entries will be
+     * retried.
+     */
+    public void deliverEventSummary(EventHook eventHook, List<EventOutbox> entryList) throws Exception;
+
+    /**
+     *
+     * @param eventHook
+     * @return true if notifications of that hook can be grouped into a single
+     * summary message.
+     */
+    public boolean isSummaryAllowed(EventHook eventHook);
+
 }
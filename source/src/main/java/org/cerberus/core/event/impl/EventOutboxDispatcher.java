@@ -0,0 +1,239 @@
+/**
+ * Cerberus Copyright (C) 2013 - 2017 cerberustesting
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This file is part of Cerberus.
+ *
+ * Cerberus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Cerberus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Cerberus.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cerberus.core.event.impl;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import org.cerberus.core.crud.entity.EventHook;
+import org.cerberus.core.crud.entity.EventOutbox;
+import org.cerberus.core.crud.service.IEventHookService;
+import org.cerberus.core.crud.service.IEventOutboxService;
+import org.cerberus.core.crud.service.IParameterService;
+import org.cerberus.core.event.IEventService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Deliver the event hook notifications recorded in the event outbox.
+ * <p>
+ * Database is only polled when new entries were recorded by the current
+ * instance, when a retry or a summary window is due or every
+ * POLL_PERIOD_MS (for entries recorded by other instances). Entries are
+ * claimed one by one so that several instances can share the same outbox.
+ * Executions end notifications sent to chat connectors (Slack, Teams, Google
+ * Chat) are grouped during cerberus_eventoutbox_coalescewindow seconds and
+ * sent as a single summary message.
+ */
+@Component
+public class EventOutboxDispatcher {
+
+    private static final org.apache.logging.log4j.Logger LOG = org.apache.logging.log4j.LogManager.getLogger(EventOutboxDispatcher.class);
+
+    private static final int MAX_ENTRY_PER_DRAIN = 500;
+    private static final long POLL_PERIOD_MS = 30000;
+    private static final long HOUSEKEEPING_PERIOD_MS = 600000;
+    private static final int SENDING_TIMEOUT_S = 600;
+
+    @Autowired
+    private IEventOutboxService eventOutboxService;
+    @Autowired
+    private IEventHookService eventHookService;
+    @Autowired
+    private IEventService eventService;
+    @Autowired
+    private IParameterService parameterService;
+
+    private ExecutorService drainExecutor;
+    private ThreadPoolExecutor deliveryExecutor;
+    private final AtomicBoolean draining = new AtomicBoolean(false);
+    private volatile long nextPollTime = 0;
+    private long nextHousekeepingTime = 0;
+
+    @PostConstruct
+    public void init() {
+        drainExecutor = Executors.newSingleThreadExecutor();
+        deliveryExecutor = new ThreadPoolExecutor(4, 4, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>());
+        deliveryExecutor.allowCoreThreadTimeOut(true);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        drainExecutor.shutdownNow();
+        deliveryExecutor.shutdownNow();
+    }
+
+    @Scheduled(fixedDelay = 1000, initialDelay = 30000)
+    public void nextStep() {
+        if (draining.get()) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        if (!eventOutboxService.consumeNewEntrySignal() && now < nextPollTime) {
+            return;
+        }
+        // Drain is performed outside the Spring scheduler thread so that other scheduled tasks are never delayed by hook targets.
+        if (draining.compareAndSet(false, true)) {
+            drainExecutor.submit(() -> {
+                try {
+                    drain();
+                } catch (Exception ex) {
+                    LOG.error("Exception when dispatching event outbox.", ex);
+                    nextPollTime = System.currentTimeMillis() + POLL_PERIOD_MS;
+                } finally {
+                    draining.set(false);
+                }
+            });
+        }
+    }
+
+    private void drain() throws InterruptedException {
+        long now = System.currentTimeMillis();
+
+        if (now >= nextHousekeepingTime) {
+            nextHousekeepingTime = now + HOUSEKEEPING_PERIOD_MS;
+            int nbRequeued = eventOutboxService.updateToQueuedOldSending(SENDING_TIMEOUT_S);
+            if (nbRequeued > 0) {
+                LOG.warn(nbRequeued + " event outbox entries were stuck in " + EventOutbox.STATUS_SENDING + " status and moved back to " + EventOutbox.STATUS_QUEUED + ".");
+            }
+            eventOutboxService.deleteDoneOlderThan(parameterService.getParameterIntegerByKey("cerberus_eventoutbox_retention", "", 7));
+        }
+
+        int poolSize = Math.max(1, parameterService.getParameterIntegerByKey("cerberus_eventoutbox_threadpoolsize", "", 4));
+        if (poolSize != deliveryExecutor.getMaximumPoolSize()) {
+            if (poolSize > deliveryExecutor.getMaximumPoolSize()) {
+                deliveryExecutor.setMaximumPoolSize(poolSize);
+                deliveryExecutor.setCorePoolSize(poolSize);
+            } else {
+                deliveryExecutor.setCorePoolSize(poolSize);
+                deliveryExecutor.setMaximumPoolSize(poolSize);
+            }
+        }
+        long coalesceWindowMs = parameterService.getParameterIntegerByKey("cerberus_eventoutbox_coalescewindow", "", 30) * 1000L;
+
+        List<EventOutbox> entries = eventOutboxService.readToTreat(MAX_ENTRY_PER_DRAIN).getDataList();
+        long nextPoll = now + POLL_PERIOD_MS;
+        if (entries == null || entries.isEmpty()) {
+            nextPollTime = nextPoll;
+            return;
+        }
+        LOG.debug("Dispatching " + entries.size() + " event outbox entries.");
+
+        Map<Integer, List<EventOutbox>> entriesPerHook = new LinkedHashMap<>();
+        for (EventOutbox entry : entries) {
+            entriesPerHook.computeIfAbsent(entry.getEventHookId(), k -> new ArrayList<>()).add(entry);
+        }
+
+        List<Callable<Void>> tasks = new ArrayList<>();
+        for (Map.Entry<Integer, List<EventOutbox>> hookEntries : entriesPerHook.entrySet()) {
+            EventHook eventHook = eventHookService.readByKeyFromCache(hookEntries.getKey());
+            if (eventHook == null || !eventHook.isActive()) {
+                for (EventOutbox entry : hookEntries.getValue()) {
+                    eventOutboxService.updateToDone(entry.getId(), "Hook no longer exist or is disabled. Notification not sent.");
+                }
+                continue;
+            }
+
+            if (coalesceWindowMs > 0 && eventService.isSummaryAllowed(eventHook)) {
+                long windowEnd = hookEntries.getValue().get(0).getDateCreated().getTime() + coalesceWindowMs;
+                if (windowEnd > now) {
+                    // Window still open, we wait for more executions to end.
+                    nextPoll = Math.min(nextPoll, windowEnd);
+                    continue;
+                }
+                List<EventOutbox> claimedEntries = claim(hookEntries.getValue());
+                if (claimedEntries.size() > 1) {
+                    tasks.add(() -> {
+                        deliverSummary(eventHook, claimedEntries);
+                        return null;
+                    });
+                    continue;
+                }
+                for (EventOutbox entry : claimedEntries) {
+                    tasks.add(() -> {
+                        deliver(eventHook, entry);
+                        return null;
+                    });
+                }
+            } else {
+                for (EventOutbox entry : claim(hookEntries.getValue())) {
+                    tasks.add(() -> {
+                        deliver(eventHook, entry);
+                        return null;
+                    });
+                }
+            }
+        }
+
+        deliveryExecutor.invokeAll(tasks);
+
+        if (entries.size() >= MAX_ENTRY_PER_DRAIN) {
+            // More entries are probably waiting.
+            nextPoll = 0;
+        }
+        nextPollTime = nextPoll;
+    }
+
+    private List<EventOutbox> claim(List<EventOutbox> entries) {
+        List<EventOutbox> claimedEntries = new ArrayList<>();
+        for (EventOutbox entry : entries) {
+            if (eventOutboxService.updateToSending(entry.getId())) {
+                claimedEntries.add(entry);
+            }
+        }
+        return claimedEntries;
+    }
+
+    private void deliver(EventHook eventHook, EventOutbox entry) {
+        try {
+            eventService.deliverEvent(eventHook, entry);
+            eventOutboxService.updateToDone(entry.getId(), "Sent.");
+        } catch (Exception ex) {
+            LOG.warn("Exception when sending notification for '" + entry.getEventReference() + "' (" + entry.getId() + ") with connector '" + eventHook.getHookConnector() + "'", ex);
+            eventOutboxService.updateToRetryOrError(entry, ex.toString());
+        }
+    }
+
+    private void deliverSummary(EventHook eventHook, List<EventOutbox> entries) {
+        try {
+            eventService.deliverEventSummary(eventHook, entries);
+            for (EventOutbox entry : entries) {
+                eventOutboxService.updateToDone(entry.getId(), "Sent in a summary of " + entries.size() + " notifications.");
+            }
+        } catch (Exception ex) {
+            LOG.warn("Exception when sending summary notification for '" + eventHook.getEventReference() + "' with connector '" + eventHook.getHookConnector() + "'", ex);
+            for (EventOutbox entry : entries) {
+                eventOutboxService.updateToRetryOrError(entry, ex.toString());
+            }
+        }
+    }
+
+}
@@ -0,0 +1,158 @@
+/**
+ * Cerberus Copyright (C) 2013 - 2017 cerberustesting
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This file is part of Cerberus.
+ *
+ * Cerberus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Cerberus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Cerberus.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cerberus.core.event.impl;
+
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.PropertyAccessor;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.DeserializationConfig;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.deser.BeanDeserializerModifier;
+import com.fasterxml.jackson.databind.introspect.BeanPropertyDefinition;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.ser.BeanPropertyWriter;
+import com.fasterxml.jackson.databind.ser.BeanSerializerModifier;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import org.cerberus.core.crud.entity.Tag;
+import org.cerberus.core.crud.entity.TestCase;
+import org.cerberus.core.crud.entity.TestCaseExecution;
+import org.cerberus.core.util.StringUtil;
+
+/**
+ * Snapshot of the object of an event, recorded in the event outbox when the
+ * event is triggered so that the notification describes the object as it was
+ * at that time, even if it changed or was purged before delivery. Only the
+ * simple fields (texts, numbers, booleans and dates) are kept.
+ */
+final class EventPayload {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper()
+            .setVisibility(PropertyAccessor.ALL, JsonAutoDetect.Visibility.NONE)
+            .setVisibility(PropertyAccessor.FIELD, JsonAutoDetect.Visibility.ANY)
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
+            .registerModule(new SimpleModule()
+                    .setSerializerModifier(new BeanSerializerModifier() {
+                        @Override
+                        public List<BeanPropertyWriter> changeProperties(SerializationConfig config, BeanDescription beanDesc, List<BeanPropertyWriter> beanProperties) {
+                            beanProperties.removeIf(property -> !isSimpleType(property.getType().getRawClass()));
+                            return beanProperties;
+                        }
+                    })
+                    .setDeserializerModifier(new BeanDeserializerModifier() {
+                        @Override
+                        public List<BeanPropertyDefinition> updateProperties(DeserializationConfig config, BeanDescription beanDesc, List<BeanPropertyDefinition> propDefs) {
+                            propDefs.removeIf(property -> !isSimpleType(property.getRawPrimaryType()));
+                            return propDefs;
+                        }
+                    }));
+
+    private static final String EXECUTION = "execution";
+    private static final String EXECUTIONS = "executions";
+    private static final String TAG = "tag";
+    private static final String TESTCASE = "testcase";
+
+    private EventPayload() {
+    }
+
+    private static boolean isSimpleType(Class<?> type) {
+        return type.isPrimitive() || String.class.equals(type) || Number.class.isAssignableFrom(type)
+                || Boolean.class.equals(type) || Character.class.equals(type) || Date.class.isAssignableFrom(type);
+    }
+
+    static String ofExecution(TestCaseExecution exe) {
+        return getExecutionNode(exe).toString();
+    }
+
+    static String ofTag(Tag tag, List<TestCaseExecution> executions) {
+        ObjectNode payload = MAPPER.createObjectNode();
+        payload.set(TAG, MAPPER.valueToTree(tag));
+        if (executions != null) {
+            ArrayNode executionNodes = payload.putArray(EXECUTIONS);
+            for (TestCaseExecution exe : executions) {
+                executionNodes.add(getExecutionNode(exe));
+            }
+        }
+        return payload.toString();
+    }
+
+    static String ofTestCase(TestCase testCase) {
+        ObjectNode payload = MAPPER.createObjectNode();
+        payload.set(TESTCASE, MAPPER.valueToTree(testCase));
+        return payload.toString();
+    }
+
+    static TestCaseExecution toExecution(String payload) throws IOException {
+        return toExecution(MAPPER.readTree(payload));
+    }
+
+    static Tag toTag(String payload) throws IOException {
+        JsonNode node = MAPPER.readTree(payload);
+        Tag tag = MAPPER.treeToValue(node.get(TAG), Tag.class);
+        if (node.has(EXECUTIONS)) {
+            List<TestCaseExecution> executions = new ArrayList<>();
+            for (JsonNode executionNode : node.get(EXECUTIONS)) {
+                executions.add(toExecution(executionNode));
+            }
+            tag.setExecutionsNew(executions);
+        }
+        return tag;
+    }
+
+    static TestCase toTestCase(String payload) throws IOException {
+        return MAPPER.treeToValue(MAPPER.readTree(payload).get(TESTCASE), TestCase.class);
+    }
+
+    private static ObjectNode getExecutionNode(TestCaseExecution exe) {
+        ObjectNode executionNode = MAPPER.valueToTree(exe);
+        // Secrets of the execution are not stored.
+        Iterator<Map.Entry<String, JsonNode>> fields = executionNode.fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            if (field.getValue().isTextual()) {
+                field.setValue(MAPPER.getNodeFactory().textNode(StringUtil.secureFromSecrets(field.getValue().asText(), exe.getSecrets())));
+            }
+        }
+        ObjectNode payload = MAPPER.createObjectNode();
+        payload.set(EXECUTION, executionNode);
+        if (exe.getTestCaseObj() != null) {
+            payload.set(TESTCASE, MAPPER.valueToTree(exe.getTestCaseObj()));
+        }
+        return payload;
+    }
+
+    private static TestCaseExecution toExecution(JsonNode node) throws IOException {
+        TestCaseExecution exe = MAPPER.treeToValue(node.get(EXECUTION), TestCaseExecution.class);
+        if (node.has(TESTCASE)) {
+            exe.setTestCaseObj(MAPPER.treeToValue(node.get(TESTCASE), TestCase.class));
+        }
+        return exe;
+    }
+
+}
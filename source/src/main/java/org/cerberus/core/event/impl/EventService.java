@@ -19,19 +19,22 @@
  */
 package org.cerberus.core.event.impl;
 
+import java.io.IOException;
 import java.sql.Timestamp;
-import java.text.ParseException;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.Date;
 import java.util.List;
 import org.cerberus.core.crud.entity.EventHook;
+import org.cerberus.core.crud.entity.EventOutbox;
 import org.cerberus.core.crud.entity.Invariant;
 import org.cerberus.core.crud.entity.Tag;
 import org.cerberus.core.crud.entity.TestCase;
 import org.cerberus.core.crud.entity.TestCaseExecution;
 import org.cerberus.core.crud.service.IEventHookService;
+import org.cerberus.core.crud.service.IEventOutboxService;
+import org.cerberus.core.crud.service.ITagService;
 import org.cerberus.core.crud.service.ITestCaseExecutionService;
+import org.cerberus.core.crud.service.ITestCaseService;
 import org.cerberus.core.engine.entity.MessageEvent;
 import org.cerberus.core.enums.MessageEventEnum;
 import org.cerberus.core.event.IEventService;
@@ -48,10 +51,10 @@ import org.cerberus.core.service.notifications.teams.ITeamsService;
 import org.cerberus.core.service.notifications.webcall.IWebcallGenerationService;
 import org.cerberus.core.service.notifications.webcall.IWebcallService;
 import org.cerberus.core.util.StringUtil;
+import org.cerberus.core.util.answer.Answer;
 import org.json.JSONException;
 import org.json.JSONObject;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 
 /**
@@ -70,6 +73,12 @@ public class EventService implements IEventService {
     @Autowired
     private IEventHookService eventHookService;
     @Autowired
+    private IEventOutboxService eventOutboxService;
+    @Autowired
+    private ITagService tagService;
+    @Autowired
+    private ITestCaseService testCaseService;
+    @Autowired
     private IEmailGenerationService emailGenerationService;
     @Autowired
     private IEmailService emailService;
@@ -93,104 +102,248 @@ public class EventService implements IEventService {
     /**
      * This Method gets all Hooks attached to the event triggered and filter
      * them if active and apply to the correct element (tag, testcase,
-     * execution)
+     * execution). Matching hooks are recorded in the event outbox right after
+     * the state change so that no notification is lost if the instance stops
+     * before delivery. Each outbox entry holds a snapshot of the object so
+     * that the notification describes it as it was when the event was
+     * triggered. Campaign end entries only hold the tag, which no longer
+     * changes, and its executions are read when the event is delivered so
+     * that the execution thread that ends the campaign is not slowed down.
+     * Hooks definition is taken from cache so that events with no
+     * hook do not generate any database access.
      *
      * @param eventReference
      * @param object1
      * @return
      */
     @Override
-    @Async
     public MessageEvent triggerEvent(String eventReference, Object object1, Object object2, Object object3, Object object4) {
 
         LOG.debug("Event '" + eventReference + "' triggered.");
 
-        try {
+        List<EventHook> eventHooks = eventHookService.readActiveByEventReferenceFromCache(eventReference);
+
+        LOG.debug("EventHooks : " + eventHooks.size());
+
+        List<EventOutbox> outboxList = new ArrayList<>();
+        // Snapshot is done once for all the hooks of the event.
+        String payload = null;
+
+        for (EventHook eventHook : eventHooks) {
 
-            JSONObject ceberusEventMessage = getCerberusEventMessage(eventReference);
-            List<TestCaseExecution> executionList = new ArrayList<>();
-            List<Invariant> prioritiesList = new ArrayList<>();
-            List<Invariant> countriesList = new ArrayList<>();
-            List<Invariant> environmentsList = new ArrayList<>();
-
-            List<String> evtList = new ArrayList<>(Arrays.asList(eventReference));
-            List<EventHook> eventHooks = eventHookService.convert(eventHookService.readByEventReference(evtList));
-
-            LOG.debug("EventHooks : " + eventHooks.size());
-
-            for (EventHook eventHook : eventHooks) {
-
-                LOG.debug("EventHook '" + eventHook.toString() + "' analysing.");
-
-                if (eventHook.isActive()) {
-
-                    switch (eventReference) {
-
-                        case EventHook.EVENTREFERENCE_EXECUTION_START:
-                            TestCaseExecution exe1 = (TestCaseExecution) object1;
-                            if (eval_NoFilter(eventHook.getObjectKey1(), eventHook.getObjectKey2())
-                                    || eval_TestFolder_Filter(eventHook.getObjectKey1(), eventHook.getObjectKey2(), exe1.getTest())
-                                    || eval_Testcase_Filter(eventHook.getObjectKey1(), eventHook.getObjectKey2(), exe1.getTest(), exe1.getTestCase())) {
-                                processEvent_EXECUTION_START(eventHook, exe1, ceberusEventMessage);
-                            }
-                            break;
-                        case EventHook.EVENTREFERENCE_EXECUTION_END:
-                        case EventHook.EVENTREFERENCE_EXECUTION_END_LASTRETRY:
-                            TestCaseExecution exe2 = (TestCaseExecution) object1;
-                            if (eval_NoFilter(eventHook.getObjectKey1(), eventHook.getObjectKey2())
-                                    || eval_TestFolder_Filter(eventHook.getObjectKey1(), eventHook.getObjectKey2(), exe2.getTest())
-                                    || eval_Testcase_Filter(eventHook.getObjectKey1(), eventHook.getObjectKey2(), exe2.getTest(), exe2.getTestCase())) {
-                                processEvent_EXECUTION_END(eventHook, exe2, ceberusEventMessage);
-                            }
-                            break;
-
-                        case EventHook.EVENTREFERENCE_CAMPAIGN_START:
-                            Tag tag1 = (Tag) object1;
-                            if (eval_NoFilter(eventHook.getObjectKey1(), eventHook.getObjectKey2())
-                                    || eval_Campaign_Filter(eventHook.getObjectKey1(), eventHook.getObjectKey2(), tag1.getCampaign())) {
-                                processEvent_CAMPAIGN_START(eventHook, tag1, ceberusEventMessage);
-                            }
-                            break;
-                        case EventHook.EVENTREFERENCE_CAMPAIGN_END:
-                        case EventHook.EVENTREFERENCE_CAMPAIGN_END_CIKO:
-                            Tag tag2 = (Tag) object1;
-                            if (eval_NoFilter(eventHook.getObjectKey1(), eventHook.getObjectKey2())
-                                    || eval_Campaign_Filter(eventHook.getObjectKey1(), eventHook.getObjectKey2(), tag2.getCampaign())) {
-                                // We load the execution list here so that in case of multiple hook, this is done only once.
-                                if (executionList.size() < 1) {
-                                    executionList = testCaseExecutionService.readLastExecutionAndExecutionInQueueByTag(tag2.getTag());
-                                    tag2.setExecutionsNew(executionList);
-                                }
-                                // We load the invariant lists that will be used when converting execution to JSON. This is also done only once per event triggered.
-//                                prioritiesList = invariantService.readByIdName("PRIORITY");
-//                                countriesList = invariantService.readByIdName("COUNTRY");
-//                                environmentsList = invariantService.readByIdName("ENVIRONMENT");
-                                processEvent_CAMPAIGN_END(eventHook, tag2, ceberusEventMessage, prioritiesList, countriesList, environmentsList);
-                            }
-                            break;
-
-                        case EventHook.EVENTREFERENCE_TESTCASE_CREATE:
-                        case EventHook.EVENTREFERENCE_TESTCASE_DELETE:
-                        case EventHook.EVENTREFERENCE_TESTCASE_UPDATE:
-                            TestCase testCase1 = (TestCase) object1;
-                            String originalTest = (String) object2;
-                            String originalTestcase = (String) object3;
-                            if (eval_NoFilter(eventHook.getObjectKey1(), eventHook.getObjectKey2())
-                                    || eval_TestFolder_Filter(eventHook.getObjectKey1(), eventHook.getObjectKey2(), testCase1.getTest())
-                                    || eval_Testcase_Filter(eventHook.getObjectKey1(), eventHook.getObjectKey2(), testCase1.getTest(), testCase1.getTestcase())) {
-                                processEvent_TESTCASE(eventHook, testCase1, originalTest, originalTestcase, ceberusEventMessage);
-                            }
-                            break;
+            LOG.debug("EventHook '" + eventHook.toString() + "' analysing.");
 
+            switch (eventReference) {
+
+                case EventHook.EVENTREFERENCE_EXECUTION_START:
+                case EventHook.EVENTREFERENCE_EXECUTION_END:
+                case EventHook.EVENTREFERENCE_EXECUTION_END_LASTRETRY:
+                    TestCaseExecution exe = (TestCaseExecution) object1;
+                    if (eval_NoFilter(eventHook.getObjectKey1(), eventHook.getObjectKey2())
+                            || eval_TestFolder_Filter(eventHook.getObjectKey1(), eventHook.getObjectKey2(), exe.getTest())
+                            || eval_Testcase_Filter(eventHook.getObjectKey1(), eventHook.getObjectKey2(), exe.getTest(), exe.getTestCase())) {
+                        if (payload == null) {
+                            payload = getExecutionPayload(exe);
+                        }
+                        outboxList.add(EventOutbox.builder().eventReference(eventReference).eventHookId(eventHook.getId())
+                                .objectKey1(String.valueOf(exe.getId())).payload(payload).usrCreated(exe.getExecutor()).build());
                     }
-                }
+                    break;
+
+                case EventHook.EVENTREFERENCE_CAMPAIGN_START:
+                case EventHook.EVENTREFERENCE_CAMPAIGN_END:
+                case EventHook.EVENTREFERENCE_CAMPAIGN_END_CIKO:
+                    Tag tag = (Tag) object1;
+                    if (eval_NoFilter(eventHook.getObjectKey1(), eventHook.getObjectKey2())
+                            || eval_Campaign_Filter(eventHook.getObjectKey1(), eventHook.getObjectKey2(), tag.getCampaign())) {
+                        if (payload == null && EventHook.EVENTREFERENCE_CAMPAIGN_START.equals(eventReference)) {
+                            payload = getTagPayload(tag);
+                        }
+                        outboxList.add(EventOutbox.builder().eventReference(eventReference).eventHookId(eventHook.getId())
+                                .objectKey1(tag.getTag()).payload(payload).usrCreated(tag.getUsrCreated()).build());
+                    }
+                    break;
+
+                case EventHook.EVENTREFERENCE_TESTCASE_CREATE:
+                case EventHook.EVENTREFERENCE_TESTCASE_DELETE:
+                case EventHook.EVENTREFERENCE_TESTCASE_UPDATE:
+                    TestCase testCase = (TestCase) object1;
+                    if (eval_NoFilter(eventHook.getObjectKey1(), eventHook.getObjectKey2())
+                            || eval_TestFolder_Filter(eventHook.getObjectKey1(), eventHook.getObjectKey2(), testCase.getTest())
+                            || eval_Testcase_Filter(eventHook.getObjectKey1(), eventHook.getObjectKey2(), testCase.getTest(), testCase.getTestcase())) {
+                        if (payload == null) {
+                            payload = getTestCasePayload(testCase);
+                        }
+                        outboxList.add(EventOutbox.builder().eventReference(eventReference).eventHookId(eventHook.getId())
+                                .objectKey1(testCase.getTest()).objectKey2(testCase.getTestcase())
+                                .objectKey3((String) object2).objectKey4((String) object3).payload(payload)
+                                .usrCreated(testCase.getUsrModif()).build());
+                    }
+                    break;
+
             }
+        }
+
+        if (outboxList.isEmpty()) {
+            return new MessageEvent(MessageEventEnum.GENERIC_OK);
+        }
+        Answer ans = eventOutboxService.createList(outboxList);
+        return ans.getResultMessage();
+    }
+
+    @Override
+    public void deliverEvent(EventHook eventHook, EventOutbox entry) throws Exception {
+
+        LOG.debug("Delivering Event '" + entry.getEventReference() + "' (" + entry.getId() + ") to hook " + eventHook.getId());
+
+        JSONObject ceberusEventMessage = getCerberusEventMessage(entry.getEventReference());
+
+        switch (entry.getEventReference()) {
+
+            case EventHook.EVENTREFERENCE_EXECUTION_START:
+                processEvent_EXECUTION_START(eventHook, loadExecution(entry), ceberusEventMessage);
+                break;
+            case EventHook.EVENTREFERENCE_EXECUTION_END:
+            case EventHook.EVENTREFERENCE_EXECUTION_END_LASTRETRY:
+                processEvent_EXECUTION_END(eventHook, loadExecution(entry), ceberusEventMessage);
+                break;
+
+            case EventHook.EVENTREFERENCE_CAMPAIGN_START:
+                Tag startedTag;
+                if (StringUtil.isEmpty(entry.getPayload())) {
+                    startedTag = tagService.convert(tagService.readByKey(entry.getObjectKey1()));
+                } else {
+                    startedTag = EventPayload.toTag(entry.getPayload());
+                }
+                processEvent_CAMPAIGN_START(eventHook, startedTag, ceberusEventMessage);
+                break;
+            case EventHook.EVENTREFERENCE_CAMPAIGN_END:
+            case EventHook.EVENTREFERENCE_CAMPAIGN_END_CIKO:
+                Tag tag;
+                if (StringUtil.isEmpty(entry.getPayload())) {
+                    tag = tagService.convert(tagService.readByKey(entry.getObjectKey1()));
+                    tag.setExecutionsNew(testCaseExecutionService.readLastExecutionAndExecutionInQueueByTag(tag.getTag()));
+                } else {
+                    tag = EventPayload.toTag(entry.getPayload());
+                }
+                processEvent_CAMPAIGN_END(eventHook, tag, ceberusEventMessage, new ArrayList<>(), new ArrayList<>(), new ArrayList<>());
+                break;
+
+            case EventHook.EVENTREFERENCE_TESTCASE_CREATE:
+            case EventHook.EVENTREFERENCE_TESTCASE_DELETE:
+            case EventHook.EVENTREFERENCE_TESTCASE_UPDATE:
+                TestCase testCase;
+                if (StringUtil.isEmpty(entry.getPayload())) {
+                    testCase = testCaseService.readByKey(entry.getObjectKey1(), entry.getObjectKey2()).getItem();
+                } else {
+                    testCase = EventPayload.toTestCase(entry.getPayload());
+                }
+                if (testCase == null) {
+                    // Testcase no longer exist (deleted or renamed since the event was recorded).
+                    testCase = TestCase.builder().test(entry.getObjectKey1()).testcase(entry.getObjectKey2()).description("").build();
+                }
+                processEvent_TESTCASE(eventHook, testCase, entry.getObjectKey3(), entry.getObjectKey4(), ceberusEventMessage);
+                break;
+
+            default:
+                LOG.warn("Event '" + entry.getEventReference() + "' Not implemented.");
+                break;
+
+        }
+    }
+
+    @Override
+    public void deliverEventSummary(EventHook eventHook, List<EventOutbox> entryList) throws Exception {
+
+        LOG.debug("Delivering " + entryList.size() + " Event(s) '" + eventHook.getEventReference() + "' as a summary to hook " + eventHook.getId());
+
+        List<TestCaseExecution> exeList = new ArrayList<>();
+        for (EventOutbox entry : entryList) {
+            exeList.add(loadExecution(entry));
+        }
+
+        switch (eventHook.getHookConnector()) {
+            case EventHook.HOOKCONNECTOR_SLACK:
+                slackService.sendSlackMessage(slackGenerationService.generateNotifyEndExecutionSummary(exeList, eventHook.getHookChannel()), eventHook.getHookRecipient());
+                break;
+            case EventHook.HOOKCONNECTOR_TEAMS:
+                teamsService.sendTeamsMessage(teamsGenerationService.generateNotifyEndExecutionSummary(exeList), eventHook.getHookRecipient());
+                break;
+            case EventHook.HOOKCONNECTOR_GOOGLECHAT:
+                chatService.sendGoogleChatMessage(chatGenerationService.generateNotifyEndExecutionSummary(exeList), eventHook.getHookRecipient(), null);
+                break;
+            default:
+                LOG.warn("Event Hook Connector '" + eventHook.getHookConnector() + "' does not support summary for Event '" + eventHook.getEventReference() + "'");
+                break;
+        }
+    }
 
-        } catch (CerberusException | JSONException | ParseException ex) {
-            LOG.error(ex, ex);
+    @Override
+    public boolean isSummaryAllowed(EventHook eventHook) {
+        switch (eventHook.getEventReference()) {
+            case EventHook.EVENTREFERENCE_EXECUTION_END:
+            case EventHook.EVENTREFERENCE_EXECUTION_END_LASTRETRY:
+                break;
+            default:
+                return false;
+        }
+        switch (eventHook.getHookConnector()) {
+            case EventHook.HOOKCONNECTOR_SLACK:
+            case EventHook.HOOKCONNECTOR_TEAMS:
+            case EventHook.HOOKCONNECTOR_GOOGLECHAT:
+                return !StringUtil.isEmpty(eventHook.getHookRecipient());
+            default:
+                return false;
         }
+    }
 
-        return new MessageEvent(MessageEventEnum.GENERIC_OK);
+    private String getExecutionPayload(TestCaseExecution exe) {
+        try {
+            return EventPayload.ofExecution(exe);
+        } catch (RuntimeException ex) {
+            LOG.warn("Unable to snapshot execution " + exe.getId() + ", it will be read again when the event is delivered.", ex);
+            return null;
+        }
+    }
+
+    private String getTagPayload(Tag tag) {
+        try {
+            return EventPayload.ofTag(tag, null);
+        } catch (RuntimeException ex) {
+            LOG.warn("Unable to snapshot tag " + tag.getTag() + ", it will be read again when the event is delivered.", ex);
+            return null;
+        }
+    }
+
+    private String getTestCasePayload(TestCase testCase) {
+        try {
+            return EventPayload.ofTestCase(testCase);
+        } catch (RuntimeException ex) {
+            LOG.warn("Unable to snapshot testcase " + testCase.getTest() + " - " + testCase.getTestcase() + ", it will be read again when the event is delivered.", ex);
+            return null;
+        }
+    }
+
+    /**
+     * Get the execution of the entry from its snapshot. Entries recorded
+     * without snapshot are read from the database.
+     */
+    private TestCaseExecution loadExecution(EventOutbox entry) throws CerberusException, IOException {
+        TestCaseExecution exe;
+        if (StringUtil.isEmpty(entry.getPayload())) {
+            exe = testCaseExecutionService.convert(testCaseExecutionService.readByKey(Long.parseLong(entry.getObjectKey1())));
+        } else {
+            exe = EventPayload.toExecution(entry.getPayload());
+            if (exe.getTestCaseObj() != null) {
+                return exe;
+            }
+        }
+        TestCase tc = testCaseService.readByKey(exe.getTest(), exe.getTestCase()).getItem();
+        if (tc == null) {
+            tc = TestCase.builder().test(exe.getTest()).testcase(exe.getTestCase()).description(exe.getDescription()).build();
+        }
+        exe.setTestCaseObj(tc);
+        return exe;
     }
 
     private boolean eval_NoFilter(String obj1, String obj2) {
@@ -230,68 +383,47 @@ public class EventService implements IEventService {
         return false;
     }
 
-    private void processEvent_CAMPAIGN_START(EventHook eventHook, Tag tag, JSONObject ceberusEventMessage) {
+    private void processEvent_CAMPAIGN_START(EventHook eventHook, Tag tag, JSONObject ceberusEventMessage) throws Exception {
         LOG.debug("EventHook Processing '" + eventHook.getEventReference() + "' with connector '" + eventHook.getHookConnector() + "' to '" + eventHook.getHookRecipient() + "'");
         switch (eventHook.getHookConnector()) {
 
             case EventHook.HOOKCONNECTOR_EMAIL:
                 if (!StringUtil.isEmpty(eventHook.getHookRecipient())) {
                     LOG.debug("Generating and Sending an EMail Notification to : " + eventHook.getHookRecipient());
-                    Email email = null;
-                    try {
-                        email = emailGenerationService.generateNotifyStartTagExecution(tag, eventHook.getHookRecipient());
-                        emailService.sendHtmlMail(email);
-                    } catch (Exception ex) {
-                        LOG.warn("Exception generating email for '" + eventHook.getEventReference() + "'", ex);
-                    }
+                    Email email = emailGenerationService.generateNotifyStartTagExecution(tag, eventHook.getHookRecipient());
+                    emailService.sendHtmlMail(email);
                 }
                 break;
 
             case EventHook.HOOKCONNECTOR_SLACK:
                 if (!StringUtil.isEmpty(eventHook.getHookRecipient())) {
                     LOG.debug("Generating and Sending a Slack Notification to : '" + eventHook.getHookRecipient() + "'");
-                    try {
-                        JSONObject slackMessage = slackGenerationService.generateNotifyStartTagExecution(tag, eventHook.getHookChannel());
-                        slackService.sendSlackMessage(slackMessage, eventHook.getHookRecipient());
-                    } catch (Exception ex) {
-                        LOG.warn("Exception generating slack notification for '" + eventHook.getEventReference() + "'", ex);
-                    }
+                    JSONObject slackMessage = slackGenerationService.generateNotifyStartTagExecution(tag, eventHook.getHookChannel());
+                    slackService.sendSlackMessage(slackMessage, eventHook.getHookRecipient());
                 }
                 break;
 
             case EventHook.HOOKCONNECTOR_GENERIC:
                 if (!StringUtil.isEmpty(eventHook.getHookRecipient())) {
                     LOG.debug("Generating and Sending a Generic Notification to : '" + eventHook.getHookRecipient() + "'");
-                    try {
-                        JSONObject message = webCallGenerationService.generateNotifyStartTagExecution(tag, ceberusEventMessage);
-                        webcallService.sendWebcallMessage(message, eventHook.getHookRecipient());
-                    } catch (Exception ex) {
-                        LOG.warn("Exception Generic notification for '" + eventHook.getEventReference() + "'", ex);
-                    }
+                    JSONObject message = webCallGenerationService.generateNotifyStartTagExecution(tag, ceberusEventMessage);
+                    webcallService.sendWebcallMessage(message, eventHook.getHookRecipient());
                 }
                 break;
 
             case EventHook.HOOKCONNECTOR_TEAMS:
                 if (!StringUtil.isEmpty(eventHook.getHookRecipient())) {
                     LOG.debug("Generating and Sending a Teams Notification to : '" + eventHook.getHookRecipient() + "'");
-                    try {
-                        JSONObject message = teamsGenerationService.generateNotifyStartTagExecution(tag);
-                        teamsService.sendTeamsMessage(message, eventHook.getHookRecipient());
-                    } catch (Exception ex) {
-                        LOG.warn("Exception generating slack notification for '" + eventHook.getEventReference() + "'", ex);
-                    }
+                    JSONObject message = teamsGenerationService.generateNotifyStartTagExecution(tag);
+                    teamsService.sendTeamsMessage(message, eventHook.getHookRecipient());
                 }
                 break;
 
             case EventHook.HOOKCONNECTOR_GOOGLECHAT:
                 if (!StringUtil.isEmpty(eventHook.getHookRecipient())) {
                     LOG.debug("Generating and Sending a Google Chat Notification to : '" + eventHook.getHookRecipient() + "'");
-                    try {
-                        JSONObject message = chatGenerationService.generateNotifyStartTagExecution(tag);
-                        chatService.sendGoogleChatMessage(message, eventHook.getHookRecipient(), tag.getTag());
-                    } catch (Exception ex) {
-                        LOG.warn("Exception generating Google Chat notification for '" + eventHook.getEventReference() + "'", ex);
-                    }
+                    JSONObject message = chatGenerationService.generateNotifyStartTagExecution(tag);
+                    chatService.sendGoogleChatMessage(message, eventHook.getHookRecipient(), tag.getTag());
                 }
                 break;
 
@@ -303,68 +435,47 @@ public class EventService implements IEventService {
 
     }
 
-    private void processEvent_CAMPAIGN_END(EventHook eventHook, Tag tag, JSONObject ceberusEventMessage, List<Invariant> prioritiesList, List<Invariant> countriesList, List<Invariant> environmentsList) {
+    private void processEvent_CAMPAIGN_END(EventHook eventHook, Tag tag, JSONObject ceberusEventMessage, List<Invariant> prioritiesList, List<Invariant> countriesList, List<Invariant> environmentsList) throws Exception {
         LOG.debug("EventHook Processing '" + eventHook.getEventReference() + "' with connector '" + eventHook.getHookConnector() + "' to '" + eventHook.getHookRecipient() + "'");
         switch (eventHook.getHookConnector()) {
 
             case EventHook.HOOKCONNECTOR_EMAIL:
                 if (!StringUtil.isEmpty(eventHook.getHookRecipient())) {
                     LOG.debug("Generating and Sending an EMail Notification to : " + eventHook.getHookRecipient());
-                    Email email = null;
-                    try {
-                        email = emailGenerationService.generateNotifyEndTagExecution(tag, eventHook.getHookRecipient());
-                        emailService.sendHtmlMail(email);
-                    } catch (Exception ex) {
-                        LOG.warn("Exception generating email for '" + eventHook.getEventReference() + "'", ex);
-                    }
+                    Email email = emailGenerationService.generateNotifyEndTagExecution(tag, eventHook.getHookRecipient());
+                    emailService.sendHtmlMail(email);
                 }
                 break;
 
             case EventHook.HOOKCONNECTOR_SLACK:
                 if (!StringUtil.isEmpty(eventHook.getHookRecipient())) {
                     LOG.debug("Generating and Sending a Slack Notification to : '" + eventHook.getHookRecipient() + "'");
-                    try {
-                        JSONObject slackMessage = slackGenerationService.generateNotifyEndTagExecution(tag, eventHook.getHookChannel());
-                        slackService.sendSlackMessage(slackMessage, eventHook.getHookRecipient());
-                    } catch (Exception ex) {
-                        LOG.warn("Exception slack notification for '" + eventHook.getEventReference() + "'", ex);
-                    }
+                    JSONObject slackMessage = slackGenerationService.generateNotifyEndTagExecution(tag, eventHook.getHookChannel());
+                    slackService.sendSlackMessage(slackMessage, eventHook.getHookRecipient());
                 }
                 break;
 
             case EventHook.HOOKCONNECTOR_GENERIC:
                 if (!StringUtil.isEmpty(eventHook.getHookRecipient())) {
                     LOG.debug("Generating and Sending a Generic Notification to : '" + eventHook.getHookRecipient() + "'");
-                    try {
-                        JSONObject message = webCallGenerationService.generateNotifyEndTagExecution(tag, ceberusEventMessage, prioritiesList, countriesList, environmentsList);
-                        webcallService.sendWebcallMessage(message, eventHook.getHookRecipient());
-                    } catch (Exception ex) {
-                        LOG.warn("Exception Generic notification for '" + eventHook.getEventReference() + "'", ex);
-                    }
+                    JSONObject message = webCallGenerationService.generateNotifyEndTagExecution(tag, ceberusEventMessage, prioritiesList, countriesList, environmentsList);
+                    webcallService.sendWebcallMessage(message, eventHook.getHookRecipient());
                 }
                 break;
 
             case EventHook.HOOKCONNECTOR_TEAMS:
                 if (!StringUtil.isEmpty(eventHook.getHookRecipient())) {
                     LOG.debug("Generating and Sending a Teams Notification to : '" + eventHook.getHookRecipient() + "'");
-                    try {
-                        JSONObject message = teamsGenerationService.generateNotifyEndTagExecution(tag);
-                        teamsService.sendTeamsMessage(message, eventHook.getHookRecipient());
-                    } catch (Exception ex) {
-                        LOG.warn("Exception Teams notification for '" + eventHook.getEventReference() + "'", ex);
-                    }
+                    JSONObject message = teamsGenerationService.generateNotifyEndTagExecution(tag);
+                    teamsService.sendTeamsMessage(message, eventHook.getHookRecipient());
                 }
                 break;
 
             case EventHook.HOOKCONNECTOR_GOOGLECHAT:
                 if (!StringUtil.isEmpty(eventHook.getHookRecipient())) {
                     LOG.debug("Generating and Sending a Google Chat Notification to : '" + eventHook.getHookRecipient() + "'");
-                    try {
-                        JSONObject message = chatGenerationService.generateNotifyEndTagExecution(tag);
-                        chatService.sendGoogleChatMessage(message, eventHook.getHookRecipient(), tag.getTag());
-                    } catch (Exception ex) {
-                        LOG.warn("Exception Google Chat notification for '" + eventHook.getEventReference() + "'", ex);
-                    }
+                    JSONObject message = chatGenerationService.generateNotifyEndTagExecution(tag);
+                    chatService.sendGoogleChatMessage(message, eventHook.getHookRecipient(), tag.getTag());
                 }
                 break;
 
@@ -375,68 +486,47 @@ public class EventService implements IEventService {
         }
     }
 
-    private void processEvent_EXECUTION_START(EventHook eventHook, TestCaseExecution exe, JSONObject ceberusEventMessage) {
+    private void processEvent_EXECUTION_START(EventHook eventHook, TestCaseExecution exe, JSONObject ceberusEventMessage) throws Exception {
         LOG.debug("EventHook Processing '" + eventHook.getEventReference() + "' with connector '" + eventHook.getHookConnector() + "' to '" + eventHook.getHookRecipient() + "'");
         switch (eventHook.getHookConnector()) {
 
             case EventHook.HOOKCONNECTOR_EMAIL:
                 if (!StringUtil.isEmpty(eventHook.getHookRecipient())) {
                     LOG.debug("Generating and Sending an EMail Notification to : " + eventHook.getHookRecipient());
-                    Email email = null;
-                    try {
-                        email = emailGenerationService.generateNotifyStartExecution(exe, eventHook.getHookRecipient());
-                        emailService.sendHtmlMail(email);
-                    } catch (Exception ex) {
-                        LOG.warn("Exception generating email for '" + eventHook.getEventReference() + "'", ex);
-                    }
+                    Email email = emailGenerationService.generateNotifyStartExecution(exe, eventHook.getHookRecipient());
+                    emailService.sendHtmlMail(email);
                 }
                 break;
 
             case EventHook.HOOKCONNECTOR_SLACK:
                 if (!StringUtil.isEmpty(eventHook.getHookRecipient())) {
                     LOG.debug("Generating and Sending a Slack Notification to : '" + eventHook.getHookRecipient() + "'");
-                    try {
-                        JSONObject slackMessage = slackGenerationService.generateNotifyStartExecution(exe, eventHook.getHookChannel());
-                        slackService.sendSlackMessage(slackMessage, eventHook.getHookRecipient());
-                    } catch (Exception ex) {
-                        LOG.warn("Exception slack notification for '" + eventHook.getEventReference() + "'", ex);
-                    }
+                    JSONObject slackMessage = slackGenerationService.generateNotifyStartExecution(exe, eventHook.getHookChannel());
+                    slackService.sendSlackMessage(slackMessage, eventHook.getHookRecipient());
                 }
                 break;
 
             case EventHook.HOOKCONNECTOR_GENERIC:
                 if (!StringUtil.isEmpty(eventHook.getHookRecipient())) {
                     LOG.debug("Generating and Sending a Generic Notification to : '" + eventHook.getHookRecipient() + "'");
-                    try {
-                        JSONObject message = webCallGenerationService.generateNotifyStartExecution(exe, ceberusEventMessage);
-                        webcallService.sendWebcallMessage(message, eventHook.getHookRecipient());
-                    } catch (Exception ex) {
-                        LOG.warn("Exception Generic notification for '" + eventHook.getEventReference() + "'", ex);
-                    }
+                    JSONObject message = webCallGenerationService.generateNotifyStartExecution(exe, ceberusEventMessage);
+                    webcallService.sendWebcallMessage(message, eventHook.getHookRecipient());
                 }
                 break;
 
             case EventHook.HOOKCONNECTOR_TEAMS:
                 if (!StringUtil.isEmpty(eventHook.getHookRecipient())) {
                     LOG.debug("Generating and Sending a Teams Notification to : '" + eventHook.getHookRecipient() + "'");
-                    try {
-                        JSONObject message = teamsGenerationService.generateNotifyStartExecution(exe);
-                        teamsService.sendTeamsMessage(message, eventHook.getHookRecipient());
-                    } catch (Exception ex) {
-                        LOG.warn("Exception Teams notification for '" + eventHook.getEventReference() + "'", ex);
-                    }
+                    JSONObject message = teamsGenerationService.generateNotifyStartExecution(exe);
+                    teamsService.sendTeamsMessage(message, eventHook.getHookRecipient());
                 }
                 break;
 
             case EventHook.HOOKCONNECTOR_GOOGLECHAT:
                 if (!StringUtil.isEmpty(eventHook.getHookRecipient())) {
                     LOG.debug("Generating and Sending a Google Chat Notification to : '" + eventHook.getHookRecipient() + "'");
-                    try {
-                        JSONObject message = chatGenerationService.generateNotifyStartExecution(exe);
-                        chatService.sendGoogleChatMessage(message, eventHook.getHookRecipient(), String.valueOf(exe.getId()));
-                    } catch (Exception ex) {
-                        LOG.warn("Exception Google Chat notification for '" + eventHook.getEventReference() + "'", ex);
-                    }
+                    JSONObject message = chatGenerationService.generateNotifyStartExecution(exe);
+                    chatService.sendGoogleChatMessage(message, eventHook.getHookRecipient(), String.valueOf(exe.getId()));
                 }
                 break;
 
@@ -448,68 +538,47 @@ public class EventService implements IEventService {
 
     }
 
-    private void processEvent_EXECUTION_END(EventHook eventHook, TestCaseExecution exe, JSONObject ceberusEventMessage) {
+    private void processEvent_EXECUTION_END(EventHook eventHook, TestCaseExecution exe, JSONObject ceberusEventMessage) throws Exception {
         LOG.debug("EventHook Processing '" + eventHook.getEventReference() + "' with connector '" + eventHook.getHookConnector() + "' to '" + eventHook.getHookRecipient() + "'");
         switch (eventHook.getHookConnector()) {
 
             case EventHook.HOOKCONNECTOR_EMAIL:
                 if (!StringUtil.isEmpty(eventHook.getHookRecipient())) {
                     LOG.debug("Generating and Sending an EMail Notification to : " + eventHook.getHookRecipient());
-                    Email email = null;
-                    try {
-                        email = emailGenerationService.generateNotifyEndExecution(exe, eventHook.getHookRecipient());
-                        emailService.sendHtmlMail(email);
-                    } catch (Exception ex) {
-                        LOG.warn("Exception generating email for '" + eventHook.getEventReference() + "'", ex);
-                    }
+                    Email email = emailGenerationService.generateNotifyEndExecution(exe, eventHook.getHookRecipient());
+                    emailService.sendHtmlMail(email);
                 }
                 break;
 
             case EventHook.HOOKCONNECTOR_SLACK:
                 if (!StringUtil.isEmpty(eventHook.getHookRecipient())) {
                     LOG.debug("Generating and Sending a Slack Notification to : '" + eventHook.getHookRecipient() + "'");
-                    try {
-                        JSONObject slackMessage = slackGenerationService.generateNotifyEndExecution(exe, eventHook.getHookChannel());
-                        slackService.sendSlackMessage(slackMessage, eventHook.getHookRecipient());
-                    } catch (Exception ex) {
-                        LOG.warn("Exception slack notification for '" + eventHook.getEventReference() + "'", ex);
-                    }
+                    JSONObject slackMessage = slackGenerationService.generateNotifyEndExecution(exe, eventHook.getHookChannel());
+                    slackService.sendSlackMessage(slackMessage, eventHook.getHookRecipient());
                 }
                 break;
 
             case EventHook.HOOKCONNECTOR_GENERIC:
                 if (!StringUtil.isEmpty(eventHook.getHookRecipient())) {
                     LOG.debug("Generating and Sending a Generic Notification to : '" + eventHook.getHookRecipient() + "'");
-                    try {
-                        JSONObject message = webCallGenerationService.generateNotifyEndExecution(exe, ceberusEventMessage);
-                        webcallService.sendWebcallMessage(message, eventHook.getHookRecipient());
-                    } catch (Exception ex) {
-                        LOG.warn("Exception Generic notification for '" + eventHook.getEventReference() + "'", ex);
-                    }
+                    JSONObject message = webCallGenerationService.generateNotifyEndExecution(exe, ceberusEventMessage);
+                    webcallService.sendWebcallMessage(message, eventHook.getHookRecipient());
                 }
                 break;
 
             case EventHook.HOOKCONNECTOR_TEAMS:
                 if (!StringUtil.isEmpty(eventHook.getHookRecipient())) {
                     LOG.debug("Generating and Sending a Teams Notification to : '" + eventHook.getHookRecipient() + "'");
-                    try {
-                        JSONObject message = teamsGenerationService.generateNotifyEndExecution(exe);
-                        teamsService.sendTeamsMessage(message, eventHook.getHookRecipient());
-                    } catch (Exception ex) {
-                        LOG.warn("Exception Teams notification for '" + eventHook.getEventReference() + "'", ex);
-                    }
+                    JSONObject message = teamsGenerationService.generateNotifyEndExecution(exe);
+                    teamsService.sendTeamsMessage(message, eventHook.getHookRecipient());
                 }
                 break;
 
             case EventHook.HOOKCONNECTOR_GOOGLECHAT:
                 if (!StringUtil.isEmpty(eventHook.getHookRecipient())) {
                     LOG.debug("Generating and Sending a Google chat Notification to : '" + eventHook.getHookRecipient() + "'");
-                    try {
-                        JSONObject message = chatGenerationService.generateNotifyEndExecution(exe);
-                        chatService.sendGoogleChatMessage(message, eventHook.getHookRecipient(), String.valueOf(exe.getId()));
-                    } catch (Exception ex) {
-                        LOG.warn("Exception Google Chat notification for '" + eventHook.getEventReference() + "'", ex);
-                    }
+                    JSONObject message = chatGenerationService.generateNotifyEndExecution(exe);
+                    chatService.sendGoogleChatMessage(message, eventHook.getHookRecipient(), String.valueOf(exe.getId()));
                 }
                 break;
 
@@ -520,68 +589,47 @@ public class EventService implements IEventService {
         }
     }
 
-    private void processEvent_TESTCASE(EventHook eventHook, TestCase testCase, String originalTest, String originalTestcase, JSONObject ceberusEventMessage) {
+    private void processEvent_TESTCASE(EventHook eventHook, TestCase testCase, String originalTest, String originalTestcase, JSONObject ceberusEventMessage) throws Exception {
         LOG.debug("EventHook Processing '" + eventHook.getEventReference() + "' with connector '" + eventHook.getHookConnector() + "' to '" + eventHook.getHookRecipient() + "'");
         switch (eventHook.getHookConnector()) {
 
             case EventHook.HOOKCONNECTOR_EMAIL:
                 if (!StringUtil.isEmpty(eventHook.getHookRecipient())) {
                     LOG.debug("Generating and Sending an EMail Notification to : " + eventHook.getHookRecipient());
-                    Email email = null;
-                    try {
-                        email = emailGenerationService.generateNotifyTestCaseChange(testCase, eventHook.getHookRecipient(), eventHook.getEventReference());
-                        emailService.sendHtmlMail(email);
-                    } catch (Exception ex) {
-                        LOG.warn("Exception generating email for '" + eventHook.getEventReference() + "'", ex);
-                    }
+                    Email email = emailGenerationService.generateNotifyTestCaseChange(testCase, eventHook.getHookRecipient(), eventHook.getEventReference());
+                    emailService.sendHtmlMail(email);
                 }
                 break;
 
             case EventHook.HOOKCONNECTOR_SLACK:
                 if (!StringUtil.isEmpty(eventHook.getHookRecipient())) {
                     LOG.debug("Generating and Sending a Slack Notification to : '" + eventHook.getHookRecipient() + "'");
-                    try {
-                        JSONObject slackMessage = slackGenerationService.generateNotifyTestCaseChange(testCase, eventHook.getHookChannel(), eventHook.getEventReference());
-                        slackService.sendSlackMessage(slackMessage, eventHook.getHookRecipient());
-                    } catch (Exception ex) {
-                        LOG.warn("Exception slack notification for '" + eventHook.getEventReference() + "'", ex);
-                    }
+                    JSONObject slackMessage = slackGenerationService.generateNotifyTestCaseChange(testCase, eventHook.getHookChannel(), eventHook.getEventReference());
+                    slackService.sendSlackMessage(slackMessage, eventHook.getHookRecipient());
                 }
                 break;
 
             case EventHook.HOOKCONNECTOR_GENERIC:
                 if (!StringUtil.isEmpty(eventHook.getHookRecipient())) {
                     LOG.debug("Generating and Sending a Generic Notification to : '" + eventHook.getHookRecipient() + "'");
-                    try {
-                        JSONObject message = webCallGenerationService.generateNotifyTestCaseChange(testCase, originalTest, originalTestcase, eventHook.getEventReference(), ceberusEventMessage);
-                        webcallService.sendWebcallMessage(message, eventHook.getHookRecipient());
-                    } catch (Exception ex) {
-                        LOG.warn("Exception Generic notification for '" + eventHook.getEventReference() + "'", ex);
-                    }
+                    JSONObject message = webCallGenerationService.generateNotifyTestCaseChange(testCase, originalTest, originalTestcase, eventHook.getEventReference(), ceberusEventMessage);
+                    webcallService.sendWebcallMessage(message, eventHook.getHookRecipient());
                 }
                 break;
 
             case EventHook.HOOKCONNECTOR_TEAMS:
                 if (!StringUtil.isEmpty(eventHook.getHookRecipient())) {
                     LOG.debug("Generating and Sending a Teams Notification to : '" + eventHook.getHookRecipient() + "'");
-                    try {
-                        JSONObject message = teamsGenerationService.generateNotifyTestCaseChange(testCase, eventHook.getEventReference());
-                        teamsService.sendTeamsMessage(message, eventHook.getHookRecipient());
-                    } catch (Exception ex) {
-                        LOG.warn("Exception Teams notification for '" + eventHook.getEventReference() + "'", ex);
-                    }
+                    JSONObject message = teamsGenerationService.generateNotifyTestCaseChange(testCase, eventHook.getEventReference());
+                    teamsService.sendTeamsMessage(message, eventHook.getHookRecipient());
                 }
                 break;
 
             case EventHook.HOOKCONNECTOR_GOOGLECHAT:
                 if (!StringUtil.isEmpty(eventHook.getHookRecipient())) {
                     LOG.debug("Generating and Sending a Google Chat Notification to : '" + eventHook.getHookRecipient() + "'");
-                    try {
-                        JSONObject message = chatGenerationService.generateNotifyTestCaseChange(testCase, eventHook.getEventReference());
-                        chatService.sendGoogleChatMessage(message, eventHook.getHookRecipient(), null);
-                    } catch (Exception ex) {
-                        LOG.warn("Exception Google Chat notification for '" + eventHook.getEventReference() + "'", ex);
-                    }
+                    JSONObject message = chatGenerationService.generateNotifyTestCaseChange(testCase, eventHook.getEventReference());
+                    chatService.sendGoogleChatMessage(message, eventHook.getHookRecipient(), null);
                 }
                 break;
 
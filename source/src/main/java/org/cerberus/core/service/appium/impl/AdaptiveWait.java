@@ -0,0 +1,83 @@
+/**
+ * Cerberus Copyright (C) 2013 - 2017 cerberustesting
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This file is part of Cerberus.
+ *
+ * Cerberus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Cerberus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Cerberus.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cerberus.core.service.appium.impl;
+
+import java.util.function.Function;
+import org.openqa.selenium.NotFoundException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+
+/**
+ * Wait on a condition of a driver with an adaptive polling interval : the
+ * condition is first checked immediately then polling interval starts short
+ * and doubles until {@link #MAX_POLLING_MS}. Elements that are already there
+ * are returned without delay while long waits do not flood the device with
+ * requests.
+ * <p>
+ * No state is kept between waits, the driver is given on every call so that
+ * nothing holds a reference to it once the session is closed.
+ */
+public final class AdaptiveWait {
+
+    private static final long FIRST_POLLING_MS = 50;
+    private static final long MAX_POLLING_MS = 500;
+
+    private AdaptiveWait() {
+    }
+
+    /**
+     * @param <T>
+     * @param driver driver given to the condition.
+     * @param condition condition to check. It is met when it returns neither
+     * null nor false.
+     * @param timeoutMs
+     * @return the value returned by the condition.
+     * @throws TimeoutException if the condition is not met in time.
+     */
+    public static <T> T until(final WebDriver driver, final Function<? super WebDriver, T> condition, final long timeoutMs) {
+        long end = System.currentTimeMillis() + timeoutMs;
+        long polling = FIRST_POLLING_MS;
+        RuntimeException lastException = null;
+        while (true) {
+            try {
+                T value = condition.apply(driver);
+                if (value != null && !Boolean.FALSE.equals(value)) {
+                    return value;
+                }
+            } catch (NotFoundException | StaleElementReferenceException exception) {
+                lastException = exception;
+            }
+            long remaining = end - System.currentTimeMillis();
+            if (remaining <= 0) {
+                throw new TimeoutException("Expected condition failed : " + condition + " (tried for " + timeoutMs + " ms)", lastException);
+            }
+            try {
+                Thread.sleep(Math.min(polling, remaining));
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+                throw new WebDriverException(exception);
+            }
+            polling = Math.min(polling * 2, MAX_POLLING_MS);
+        }
+    }
+
+}
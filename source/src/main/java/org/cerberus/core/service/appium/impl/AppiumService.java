@@ -39,13 +39,12 @@ import org.cerberus.core.util.StringUtil;
 import org.json.JSONException;
 import org.openqa.selenium.*;
 import org.openqa.selenium.support.ui.ExpectedConditions;
-import org.openqa.selenium.support.ui.WebDriverWait;
 import org.springframework.beans.factory.annotation.Autowired;
 
 import java.awt.geom.Line2D;
 import java.time.Duration;
 import java.util.Set;
-import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 import java.util.regex.Matcher;
 
 /**
@@ -68,6 +67,12 @@ public abstract class AppiumService implements IAppiumService {
      */
     private static final int DEFAULT_CERBERUS_APPIUM_SWIPE_DURATION = 2000;
 
+    /**
+     * Maximum time to wait for the keyboard or the focus once a field has
+     * been pressed before typing.
+     */
+    private static final long TYPE_READINESS_TIMEOUT_MS = 3000;
+
     @Autowired
     private ParameterService parameters;
 
@@ -122,7 +127,7 @@ public abstract class AppiumService implements IAppiumService {
     public MessageEvent wait(Session session, Identifier identifier) {
         MessageEvent message;
         try {
-            WebElement elmt = this.getElement(session, identifier, false, false);
+            this.getElement(session, identifier, false, false);
             message = new MessageEvent(MessageEventEnum.ACTION_SUCCESS_WAIT_ELEMENT);
             message.setDescription(message.getDescription().replace("%ELEMENT%", identifier.getIdentifier() + "=" + identifier.getLocator()));
             return message;
@@ -144,17 +149,12 @@ public abstract class AppiumService implements IAppiumService {
         MessageEvent message;
         try {
             if (!StringUtil.isEmptyOrNullValue(valueToType)) {
-                WebElement elmt = this.getElement(session, identifier, false, false);
-                if (elmt instanceof MobileElement) {
-                    ((MobileElement) this.getElement(session, identifier, false, false)).setValue(valueToType);
+                ElementHandle element = new ElementHandle(session, identifier);
+                if (element.get() instanceof MobileElement) {
+                    element.perform(elmt -> ((MobileElement) elmt).setValue(valueToType));
                 } else { // FIXME See if we can delete it ??
-                    TouchAction action = new TouchAction(session.getAppiumDriver());
-                    action.press(ElementOption.element(this.getElement(session, identifier, false, false))).release().perform();
-                    try {
-                        Thread.sleep(3000);
-                    } catch (InterruptedException e) {
-                        LOG.error("Exception during Appium Type action.", e);
-                    }
+                    element.perform(elmt -> new TouchAction(session.getAppiumDriver()).press(ElementOption.element(elmt)).release().perform());
+                    waitForInputReady(session, element.get());
                     session.getAppiumDriver().getKeyboard().sendKeys(valueToType);
                 }
             }
@@ -185,7 +185,7 @@ public abstract class AppiumService implements IAppiumService {
                 final Coordinates coordinates = getCoordinates(identifier);
                 action.tap(PointOption.point(coordinates.getX(), coordinates.getY())).perform();
             } else {
-                action.tap(ElementOption.element(getElement(session, identifier, false, false))).perform();
+                new ElementHandle(session, identifier).perform(elmt -> action.tap(ElementOption.element(elmt)).perform());
             }
             return new MessageEvent(MessageEventEnum.ACTION_SUCCESS_CLICK).resolveDescription("ELEMENT", identifier.toString());
         } catch (NoSuchElementException e) {
@@ -275,27 +275,82 @@ public abstract class AppiumService implements IAppiumService {
     }
 
     private WebElement getElement(Session session, Identifier identifier, boolean visible, boolean clickable) {
-        AppiumDriver driver = session.getAppiumDriver();
         By locator = this.getBy(identifier);
 
         LOG.debug("Waiting for Element : " + identifier.getIdentifier() + "=" + identifier.getLocator());
         try {
-            WebDriverWait wait = new WebDriverWait(driver, TimeUnit.MILLISECONDS.toSeconds(session.getCerberus_appium_wait_element()));
+            // The element returned by the condition is used directly, there is no need to look for it again.
+            AppiumDriver driver = session.getAppiumDriver();
+            long timeoutMs = session.getCerberus_appium_wait_element();
             if (visible) {
                 if (clickable) {
-                    wait.until(ExpectedConditions.elementToBeClickable(locator));
+                    return AdaptiveWait.until(driver, ExpectedConditions.elementToBeClickable(locator), timeoutMs);
                 } else {
-                    wait.until(ExpectedConditions.visibilityOfElementLocated(locator));
+                    return AdaptiveWait.until(driver, ExpectedConditions.visibilityOfElementLocated(locator), timeoutMs);
                 }
             } else {
-                wait.until(ExpectedConditions.presenceOfElementLocated(locator));
+                return AdaptiveWait.until(driver, ExpectedConditions.presenceOfElementLocated(locator), timeoutMs);
             }
         } catch (TimeoutException exception) {
             LOG.fatal("Exception waiting for element :" + exception.toString());
             throw new NoSuchElementException(identifier.getIdentifier() + "=" + identifier.getLocator());
         }
-        LOG.debug("Finding Element : " + identifier.getIdentifier() + "=" + identifier.getLocator());
-        return driver.findElement(locator);
+    }
+
+    /**
+     * Wait until the field that has just been pressed can receive keys :
+     * keyboard is shown or the element has the focus. Typing is done anyway
+     * after {@link #TYPE_READINESS_TIMEOUT_MS}.
+     */
+    private void waitForInputReady(Session session, WebElement element) {
+        AppiumDriver driver = session.getAppiumDriver();
+        try {
+            AdaptiveWait.until(driver, d -> {
+                if (driver instanceof HasOnScreenKeyboard && ((HasOnScreenKeyboard) driver).isKeyboardShown()) {
+                    return true;
+                }
+                return "true".equalsIgnoreCase(element.getAttribute("focused"));
+            }, TYPE_READINESS_TIMEOUT_MS);
+        } catch (TimeoutException exception) {
+            LOG.debug("Field not reported as ready after " + TYPE_READINESS_TIMEOUT_MS + " ms, typing anyway.");
+        } catch (WebDriverException exception) {
+            // Keyboard and focus status are not supported by every driver.
+            LOG.debug("Unable to check if field is ready : " + exception.getMessage());
+        }
+    }
+
+    /**
+     * Element handle of an action. The element is looked for once and reused
+     * by all the operations of the action. When the device reports it as
+     * stale, it is looked for again and the operation is retried once.
+     */
+    private class ElementHandle {
+
+        private final Session session;
+        private final Identifier identifier;
+        private WebElement element;
+
+        ElementHandle(Session session, Identifier identifier) {
+            this.session = session;
+            this.identifier = identifier;
+        }
+
+        WebElement get() {
+            if (element == null) {
+                element = getElement(session, identifier, false, false);
+            }
+            return element;
+        }
+
+        void perform(Consumer<WebElement> operation) {
+            try {
+                operation.accept(get());
+            } catch (StaleElementReferenceException exception) {
+                LOG.debug("Stale element, looking for it again : " + identifier.getIdentifier() + "=" + identifier.getLocator());
+                element = null;
+                operation.accept(get());
+            }
+        }
     }
 
     /**
@@ -451,7 +506,7 @@ public abstract class AppiumService implements IAppiumService {
                 final Coordinates coordinates = getCoordinates(identifier);
                 action.press(PointOption.point(coordinates.getX(), coordinates.getY())).waitAction(WaitOptions.waitOptions(Duration.ofMillis(timeDuration))).release().perform();
             } else {
-                action.press(ElementOption.element(getElement(session, identifier, false, false))).waitAction(WaitOptions.waitOptions(Duration.ofMillis(timeDuration))).release().perform();
+                new ElementHandle(session, identifier).perform(elmt -> action.press(ElementOption.element(elmt)).waitAction(WaitOptions.waitOptions(Duration.ofMillis(timeDuration))).release().perform());
             }
             return new MessageEvent(MessageEventEnum.ACTION_SUCCESS_LONG_CLICK).resolveDescription("ELEMENT", identifier.toString());
         } catch (NoSuchElementException e) {
@@ -469,18 +524,13 @@ public abstract class AppiumService implements IAppiumService {
     @Override
     public MessageEvent clearField(final Session session, final Identifier identifier) {
         try {
-            final TouchAction action = new TouchAction(session.getAppiumDriver());
             if (identifier.isSameIdentifier(Identifier.Identifiers.COORDINATE)) {
-                final Coordinates coordinates = getCoordinates(identifier);
                 click(session, identifier);
             } else {
-                click(session, identifier);
-                //action.press(ElementOption.element(getElement(session, identifier, false, false))).waitAction(WaitOptions.waitOptions(Duration.ofMillis(8000))).release().perform();
-                //MobileElement element = (MobileElement) session.getAppiumDriver().findElementByAccessibilityId("SomeAccessibilityID");
-                //element.clear();
-                // WebElement elmt = this.getElement(session, identifier, false, false);
-                this.getElement(session, identifier, false, false).clear();
-
+                // Same element is tapped then cleared without being looked for twice.
+                ElementHandle element = new ElementHandle(session, identifier);
+                element.perform(elmt -> new TouchAction(session.getAppiumDriver()).tap(ElementOption.element(elmt)).perform());
+                element.perform(WebElement::clear);
             }
             return new MessageEvent(MessageEventEnum.ACTION_SUCCESS_CLEAR).resolveDescription("ELEMENT", identifier.toString());
         } catch (NoSuchElementException e) {
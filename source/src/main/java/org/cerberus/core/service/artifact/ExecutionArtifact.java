@@ -0,0 +1,125 @@
+/**
+ * Cerberus Copyright (C) 2013 - 2017 cerberustesting
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This file is part of Cerberus.
+ *
+ * Cerberus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Cerberus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Cerberus.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cerberus.core.service.artifact;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.StandardOpenOption;
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.io.input.BoundedInputStream;
+
+/**
+ * Location of an execution artifact inside the store. Content is a slice
+ * (offset / length) of a physical file that can be a legacy loose file, a
+ * content addressed blob or a per execution segment file.
+ */
+public class ExecutionArtifact {
+
+    private final String name;
+    private final File file;
+    private final long offset;
+    private final long length;
+    private final long lastModified;
+    private final String hash;
+
+    public ExecutionArtifact(String name, File file, long offset, long length, long lastModified, String hash) {
+        this.name = name;
+        this.file = file;
+        this.offset = offset;
+        this.length = length;
+        this.lastModified = lastModified;
+        this.hash = hash;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public File getFile() {
+        return file;
+    }
+
+    public long getOffset() {
+        return offset;
+    }
+
+    public long getLength() {
+        return length;
+    }
+
+    public long getLastModified() {
+        return lastModified;
+    }
+
+    /**
+     * @return sha-256 of the content or null for legacy loose files.
+     */
+    public String getHash() {
+        return hash;
+    }
+
+    /**
+     * @return true if the artifact is the whole physical file (legacy loose
+     * file or content addressed blob).
+     */
+    public boolean isStandalone() {
+        return offset == 0 && length == file.length();
+    }
+
+    public InputStream openStream() throws IOException {
+        FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+        channel.position(offset);
+        return new BoundedInputStream(Channels.newInputStream(channel), length);
+    }
+
+    public byte[] getContent() throws IOException {
+        try (InputStream in = openStream()) {
+            return IOUtils.toByteArray(in, length);
+        }
+    }
+
+    /**
+     * Copy a part of the artifact to the target channel using the zero copy
+     * file transfer when available.
+     *
+     * @param position position inside the artifact
+     * @param count number of bytes to transfer
+     * @param target
+     * @throws IOException
+     */
+    public void transferTo(long position, long count, WritableByteChannel target) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            long current = offset + position;
+            long end = current + Math.min(count, length - position);
+            while (current < end) {
+                long nbTransfered = channel.transferTo(current, end - current, target);
+                if (nbTransfered <= 0) {
+                    break;
+                }
+                current += nbTransfered;
+            }
+        }
+    }
+
+}
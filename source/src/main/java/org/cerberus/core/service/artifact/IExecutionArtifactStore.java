@@ -0,0 +1,80 @@
+/**
+ * Cerberus Copyright (C) 2013 - 2017 cerberustesting
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This file is part of Cerberus.
+ *
+ * Cerberus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Cerberus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Cerberus.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cerberus.core.service.artifact;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * Storage of the files produced by the automatic executions (screenshots,
+ * page sources, service calls, logs,...). Artifacts are identified by their
+ * relative name as stored in testcaseexecutionfile.FileName
+ * (ex : 12/34/3412/test-testcase-S1-I0-A1-screenshot.png).
+ */
+public interface IExecutionArtifactStore {
+
+    /**
+     * Store the artifact. Writing an artifact that already exists replaces
+     * it.
+     *
+     * @param relativeFilename
+     * @param content
+     * @throws IOException
+     */
+    void write(String relativeFilename, byte[] content) throws IOException;
+
+    /**
+     * Store the content of a file without loading it in memory. The source
+     * file is moved into the store (or deleted when its content is already
+     * stored).
+     *
+     * @param relativeFilename
+     * @param source
+     * @throws IOException
+     */
+    void write(String relativeFilename, File source) throws IOException;
+
+    /**
+     * Get the artifact location. Artifacts written before the store was
+     * introduced are read from the loose files.
+     *
+     * @param relativeFilename
+     * @return the artifact or null if it does not exist.
+     * @throws IOException
+     */
+    ExecutionArtifact read(String relativeFilename) throws IOException;
+
+    /**
+     * Remove all the artifacts of a folder (ex : 12/34/3412 for all the
+     * artifacts of execution 3412). Content shared with other executions is
+     * kept.
+     *
+     * @param relativeFolder
+     * @throws IOException
+     */
+    void deleteFolder(String relativeFolder) throws IOException;
+
+    /**
+     * Remove the shared content that is no longer used by any artifact.
+     * Done in background and at most once a day.
+     */
+    void sweep();
+
+}
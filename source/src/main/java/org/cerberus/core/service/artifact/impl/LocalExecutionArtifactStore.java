@@ -0,0 +1,495 @@
+/**
+ * Cerberus Copyright (C) 2013 - 2017 cerberustesting
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This file is part of Cerberus.
+ *
+ * Cerberus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Cerberus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Cerberus.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cerberus.core.service.artifact.impl;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.apache.commons.io.FileUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.cerberus.core.crud.entity.Parameter;
+import org.cerberus.core.crud.service.IParameterService;
+import org.cerberus.core.database.DatabaseLock;
+import org.cerberus.core.service.artifact.ExecutionArtifact;
+import org.cerberus.core.service.artifact.IExecutionArtifactStore;
+import org.cerberus.core.util.StringUtil;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+
+/**
+ * Local filesystem implementation of the artifact store, rooted on
+ * cerberus_exeautomedia_path.
+ * <p>
+ * Small artifacts are appended to a single segment file per execution
+ * folder (artifacts.seg) instead of one file each. Bigger ones are stored
+ * once per content in cas/xx/yy/&lt;sha256&gt; so that identical page
+ * sources or screenshots of different executions share the same file. Each
+ * execution folder has an append only index (artifacts.idx) with one line
+ * per artifact : name, storage, offset, length, sha256 and timestamp. The
+ * last line of a name wins. Names that are not in the index are read from
+ * the loose files written before the store existed.
+ * <p>
+ * Blobs are shared and not removed with the execution folders. They are
+ * reclaimed by a mark and sweep : blobs older than a day that no index
+ * references are deleted. A blob that is reused gets a new modification
+ * date so that it is not swept before its index line is written.
+ */
+@Service
+public class LocalExecutionArtifactStore implements IExecutionArtifactStore {
+
+    private static final Logger LOG = LogManager.getLogger(LocalExecutionArtifactStore.class);
+
+    private static final String SEGMENT_FILENAME = "artifacts.seg";
+    private static final String INDEX_FILENAME = "artifacts.idx";
+    private static final String CAS_FOLDER = "cas";
+
+    private static final char STORAGE_SEGMENT = 'S';
+    private static final char STORAGE_CAS = 'C';
+    private static final char STORAGE_FILE = 'F';
+
+    private static final int MAX_CACHED_FOLDERS = 500;
+
+    private static final long SWEEP_PERIOD_MS = 24L * 3600 * 1000;
+    private static final long BLOB_GRACE_PERIOD_MS = 24L * 3600 * 1000;
+    private static final String SWEEP_LOCK = "cerberus_artifact_sweep";
+
+    @Autowired
+    private IParameterService parameterService;
+    @Autowired
+    private DatabaseLock databaseLock;
+
+    private final AtomicBoolean sweepRunning = new AtomicBoolean(false);
+    private volatile long lastSweep = 0;
+
+    private final Map<String, ArtifactFolder> folders = new LinkedHashMap<String, ArtifactFolder>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, ArtifactFolder> eldest) {
+            return size() > MAX_CACHED_FOLDERS;
+        }
+    };
+
+    @Override
+    public void write(String relativeFilename, byte[] content) throws IOException {
+        String rootFolder = getRootFolder();
+        int packThreshold = parameterService.getParameterIntegerByKey(Parameter.VALUE_cerberus_exeautomedia_packthreshold, "", 65536);
+        boolean dedup = parameterService.getParameterBooleanByKey(Parameter.VALUE_cerberus_exeautomedia_dedup_boolean, "", true);
+
+        int separatorIndex = relativeFilename.lastIndexOf('/');
+        String name = relativeFilename.substring(separatorIndex + 1);
+        if ((packThreshold <= 0 && !dedup) || separatorIndex < 0 || name.indexOf('\t') >= 0 || name.indexOf('\n') >= 0) {
+            // Store disabled or name that cannot be indexed : legacy loose file.
+            FileUtils.writeByteArrayToFile(getLooseFile(rootFolder, relativeFilename), content);
+            return;
+        }
+
+        ArtifactFolder folder = getFolder(rootFolder, relativeFilename.substring(0, separatorIndex), true);
+        char storage;
+        if (content.length < packThreshold) {
+            storage = STORAGE_SEGMENT;
+        } else if (dedup) {
+            storage = STORAGE_CAS;
+        } else {
+            storage = STORAGE_FILE;
+        }
+        folder.write(rootFolder, name, content, sha256(content), storage, dedup);
+        LOG.debug("Artifact stored ({}) : {}", storage, relativeFilename);
+    }
+
+    @Override
+    public void write(String relativeFilename, File source) throws IOException {
+        String rootFolder = getRootFolder();
+        int packThreshold = parameterService.getParameterIntegerByKey(Parameter.VALUE_cerberus_exeautomedia_packthreshold, "", 65536);
+        boolean dedup = parameterService.getParameterBooleanByKey(Parameter.VALUE_cerberus_exeautomedia_dedup_boolean, "", true);
+
+        long length = source.length();
+        if (length < packThreshold) {
+            // Small enough to be packed in the segment.
+            write(relativeFilename, Files.readAllBytes(source.toPath()));
+            Files.deleteIfExists(source.toPath());
+            return;
+        }
+
+        int separatorIndex = relativeFilename.lastIndexOf('/');
+        String name = relativeFilename.substring(separatorIndex + 1);
+        if ((packThreshold <= 0 && !dedup) || separatorIndex < 0 || name.indexOf('\t') >= 0 || name.indexOf('\n') >= 0) {
+            File target = getLooseFile(rootFolder, relativeFilename);
+            target.getParentFile().mkdirs();
+            Files.move(source.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            return;
+        }
+
+        ArtifactFolder folder = getFolder(rootFolder, relativeFilename.substring(0, separatorIndex), true);
+        char storage = dedup ? STORAGE_CAS : STORAGE_FILE;
+        folder.write(rootFolder, name, source, length, sha256(source), storage);
+        LOG.debug("Artifact stored ({}) : {}", storage, relativeFilename);
+    }
+
+    @Override
+    public ExecutionArtifact read(String relativeFilename) throws IOException {
+        String rootFolder = getRootFolder();
+        int separatorIndex = relativeFilename.lastIndexOf('/');
+        if (separatorIndex >= 0) {
+            ArtifactFolder folder = getFolder(rootFolder, relativeFilename.substring(0, separatorIndex), false);
+            if (folder != null) {
+                IndexEntry entry = folder.get(relativeFilename.substring(separatorIndex + 1));
+                if (entry != null) {
+                    switch (entry.storage) {
+                        case STORAGE_SEGMENT:
+                            return new ExecutionArtifact(relativeFilename, folder.segmentFile, entry.offset, entry.length, entry.timestamp, entry.hash);
+                        case STORAGE_CAS:
+                            return new ExecutionArtifact(relativeFilename, getBlobFile(rootFolder, entry.hash), 0, entry.length, entry.timestamp, entry.hash);
+                        default:
+                            return new ExecutionArtifact(relativeFilename, getLooseFile(rootFolder, relativeFilename), 0, entry.length, entry.timestamp, entry.hash);
+                    }
+                }
+            }
+        }
+        File file = getLooseFile(rootFolder, relativeFilename);
+        if (file.isFile()) {
+            return new ExecutionArtifact(relativeFilename, file, 0, file.length(), file.lastModified(), null);
+        }
+        return null;
+    }
+
+    @Override
+    public void deleteFolder(String relativeFolder) throws IOException {
+        File path = new File(getRootFolder() + relativeFolder.replace('/', File.separatorChar));
+        synchronized (folders) {
+            folders.remove(path.getPath());
+        }
+        FileUtils.deleteDirectory(path);
+        LOG.debug("Artifact folder deleted : {}", relativeFolder);
+    }
+
+    @Override
+    @Async
+    public void sweep() {
+        long now = System.currentTimeMillis();
+        if (now - lastSweep < SWEEP_PERIOD_MS || !sweepRunning.compareAndSet(false, true)) {
+            return;
+        }
+        // Only one instance sweeps a volume shared by the cluster.
+        try (DatabaseLock.Lock lock = databaseLock.tryLock(SWEEP_LOCK)) {
+            if (lock == null) {
+                return;
+            }
+            lastSweep = now;
+            Path rootPath = Paths.get(getRootFolder());
+            Path casPath = rootPath.resolve(CAS_FOLDER);
+            if (!Files.isDirectory(casPath)) {
+                return;
+            }
+            long limit = now - BLOB_GRACE_PERIOD_MS;
+
+            // Candidates are listed before the indexes are read : a blob written in between is recent and not a candidate.
+            List<Path> candidates = new ArrayList<>();
+            Files.walkFileTree(casPath, new SimpleFileVisitor<Path>() {
+                @Override
+                public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                    if (attrs.lastModifiedTime().toMillis() < limit) {
+                        candidates.add(file);
+                    }
+                    return FileVisitResult.CONTINUE;
+                }
+            });
+            if (candidates.isEmpty()) {
+                return;
+            }
+
+            // Mark.
+            Set<String> referenced = new HashSet<>();
+            Files.walkFileTree(rootPath, new SimpleFileVisitor<Path>() {
+                @Override
+                public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) {
+                    return dir.equals(casPath) ? FileVisitResult.SKIP_SUBTREE : FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                    if (INDEX_FILENAME.equals(file.getFileName().toString())) {
+                        addReferencedBlobs(file, referenced);
+                    }
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult visitFileFailed(Path file, IOException exc) {
+                    // Execution folder removed during the walk.
+                    return FileVisitResult.CONTINUE;
+                }
+            });
+
+            // Sweep.
+            int nbDeleted = 0;
+            for (Path blob : candidates) {
+                if (!referenced.contains(blob.getFileName().toString()) && blob.toFile().lastModified() < limit
+                        && Files.deleteIfExists(blob)) {
+                    nbDeleted++;
+                }
+            }
+            LOG.info("Artifact sweep : {} unreferenced blob(s) deleted.", nbDeleted);
+        } catch (IOException ex) {
+            LOG.error("Exception when sweeping the artifact blobs.", ex);
+        } finally {
+            sweepRunning.set(false);
+        }
+    }
+
+    private static void addReferencedBlobs(Path indexFile, Set<String> referenced) throws IOException {
+        for (String line : Files.readAllLines(indexFile, StandardCharsets.UTF_8)) {
+            String[] fields = line.split("\t");
+            if (fields.length == 6 && fields[1].length() == 1 && fields[1].charAt(0) == STORAGE_CAS) {
+                referenced.add(fields[4]);
+            }
+        }
+    }
+
+    private String getRootFolder() {
+        return StringUtil.addSuffixIfNotAlready(parameterService.getParameterStringByKey(Parameter.VALUE_cerberus_exeautomedia_path, "", ""), File.separator);
+    }
+
+    private ArtifactFolder getFolder(String rootFolder, String relativeFolder, boolean create) {
+        File path = new File(rootFolder + relativeFolder.replace('/', File.separatorChar));
+        String key = path.getPath();
+        synchronized (folders) {
+            ArtifactFolder folder = folders.get(key);
+            if (folder == null) {
+                if (!create && !new File(path, INDEX_FILENAME).exists()) {
+                    // Execution from before the store, nothing to cache.
+                    return null;
+                }
+                folder = new ArtifactFolder(path);
+                folders.put(key, folder);
+            }
+            return folder;
+        }
+    }
+
+    private static File getLooseFile(String rootFolder, String relativeFilename) {
+        return new File(rootFolder + relativeFilename.replace('/', File.separatorChar));
+    }
+
+    private static File getBlobFile(String rootFolder, String hash) {
+        return new File(rootFolder + CAS_FOLDER + File.separator + hash.substring(0, 2) + File.separator + hash.substring(2, 4) + File.separator + hash);
+    }
+
+    private static String sha256(File file) throws IOException {
+        try (InputStream input = new FileInputStream(file)) {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] buffer = new byte[65536];
+            int n;
+            while ((n = input.read(buffer)) >= 0) {
+                digest.update(buffer, 0, n);
+            }
+            return toHex(digest.digest());
+        } catch (NoSuchAlgorithmException ex) {
+            // Every JVM has to provide SHA-256.
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private static String toHex(byte[] digest) {
+        StringBuilder hash = new StringBuilder(digest.length * 2);
+        for (byte b : digest) {
+            hash.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return hash.toString();
+    }
+
+    private static String sha256(byte[] content) {
+        try {
+            return toHex(MessageDigest.getInstance("SHA-256").digest(content));
+        } catch (NoSuchAlgorithmException ex) {
+            // Every JVM has to provide SHA-256.
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private static class IndexEntry {
+
+        private final char storage;
+        private final long offset;
+        private final long length;
+        private final String hash;
+        private final long timestamp;
+
+        private IndexEntry(char storage, long offset, long length, String hash, long timestamp) {
+            this.storage = storage;
+            this.offset = offset;
+            this.length = length;
+            this.hash = hash;
+            this.timestamp = timestamp;
+        }
+    }
+
+    /**
+     * Index of an execution folder. The index file is reloaded when its size
+     * changed so that an other Cerberus instance sharing the volume sees the
+     * new artifacts.
+     */
+    private static class ArtifactFolder {
+
+        private final File folder;
+        private final File segmentFile;
+        private final File indexFile;
+        private final Map<String, IndexEntry> entries = new HashMap<>();
+        private final Map<String, IndexEntry> segmentEntriesByHash = new HashMap<>();
+        private long loadedIndexLength = 0;
+
+        private ArtifactFolder(File folder) {
+            this.folder = folder;
+            this.segmentFile = new File(folder, SEGMENT_FILENAME);
+            this.indexFile = new File(folder, INDEX_FILENAME);
+        }
+
+        private synchronized IndexEntry get(String name) throws IOException {
+            reloadIfChanged();
+            return entries.get(name);
+        }
+
+        private synchronized void write(String rootFolder, String name, byte[] content, String hash, char storage, boolean dedup) throws IOException {
+            reloadIfChanged();
+            long offset = 0;
+            switch (storage) {
+                case STORAGE_SEGMENT:
+                    IndexEntry sameContent = dedup ? segmentEntriesByHash.get(hash) : null;
+                    if (sameContent != null) {
+                        offset = sameContent.offset;
+                    } else {
+                        folder.mkdirs();
+                        try (FileChannel channel = FileChannel.open(segmentFile.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+                            offset = channel.size();
+                            ByteBuffer buffer = ByteBuffer.wrap(content);
+                            while (buffer.hasRemaining()) {
+                                channel.write(buffer);
+                            }
+                        }
+                    }
+                    break;
+                case STORAGE_CAS:
+                    File blob = getBlobFile(rootFolder, hash);
+                    if (blob.isFile()) {
+                        // Reused blob is no longer a candidate of the sweep.
+                        blob.setLastModified(System.currentTimeMillis());
+                    } else {
+                        // Written in a temporary file first so that a partially written blob is never shared.
+                        blob.getParentFile().mkdirs();
+                        File tmpFile = new File(blob.getPath() + ".tmp" + Thread.currentThread().getId());
+                        FileUtils.writeByteArrayToFile(tmpFile, content);
+                        Files.move(tmpFile.toPath(), blob.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                    }
+                    break;
+                default:
+                    FileUtils.writeByteArrayToFile(new File(folder, name), content);
+                    break;
+            }
+
+            index(name, new IndexEntry(storage, offset, content.length, hash, System.currentTimeMillis()));
+        }
+
+        private synchronized void write(String rootFolder, String name, File source, long length, String hash, char storage) throws IOException {
+            reloadIfChanged();
+            if (storage == STORAGE_CAS) {
+                File blob = getBlobFile(rootFolder, hash);
+                if (blob.isFile()) {
+                    // Reused blob is no longer a candidate of the sweep.
+                    blob.setLastModified(System.currentTimeMillis());
+                    Files.deleteIfExists(source.toPath());
+                } else {
+                    blob.getParentFile().mkdirs();
+                    Files.move(source.toPath(), blob.toPath(), StandardCopyOption.REPLACE_EXISTING);
+                }
+            } else {
+                folder.mkdirs();
+                Files.move(source.toPath(), new File(folder, name).toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+            index(name, new IndexEntry(storage, 0, length, hash, System.currentTimeMillis()));
+        }
+
+        private void index(String name, IndexEntry entry) throws IOException {
+            String line = name + "\t" + entry.storage + "\t" + entry.offset + "\t" + entry.length + "\t" + entry.hash + "\t" + entry.timestamp + "\n";
+            byte[] lineBytes = line.getBytes(StandardCharsets.UTF_8);
+            folder.mkdirs();
+            Files.write(indexFile.toPath(), lineBytes, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+            loadedIndexLength += lineBytes.length;
+            add(name, entry);
+        }
+
+        private void reloadIfChanged() throws IOException {
+            long indexLength = indexFile.length();
+            if (indexLength == loadedIndexLength) {
+                return;
+            }
+            entries.clear();
+            segmentEntriesByHash.clear();
+            byte[] index = indexLength > 0 ? Files.readAllBytes(indexFile.toPath()) : new byte[0];
+            String content = new String(index, StandardCharsets.UTF_8);
+            int lineStart = 0;
+            int lineEnd;
+            // A line is only taken into account once fully written.
+            while ((lineEnd = content.indexOf('\n', lineStart)) >= 0) {
+                String[] fields = content.substring(lineStart, lineEnd).split("\t");
+                lineStart = lineEnd + 1;
+                if (fields.length != 6 || fields[1].length() != 1) {
+                    LOG.warn("Invalid artifact index line ignored in : {}", indexFile.getPath());
+                    continue;
+                }
+                try {
+                    add(fields[0], new IndexEntry(fields[1].charAt(0), Long.parseLong(fields[2]), Long.parseLong(fields[3]), fields[4], Long.parseLong(fields[5])));
+                } catch (NumberFormatException ex) {
+                    LOG.warn("Invalid artifact index line ignored in : {}", indexFile.getPath());
+                }
+            }
+            loadedIndexLength = index.length;
+        }
+
+        private void add(String name, IndexEntry entry) {
+            entries.put(name, entry);
+            if (entry.storage == STORAGE_SEGMENT) {
+                segmentEntriesByHash.put(entry.hash, entry);
+            }
+        }
+    }
+
+}
@@ -60,4 +60,17 @@ public interface IAPIKeyService {
      */
     public boolean authenticate(String apiKey);
 
+    /**
+     * Forget all verified and rejected API keys.
+     */
+    public void purgeCache();
+
+    /**
+     * Forget the verification of an API key. To be called when the key is
+     * given to a user, removed from a user or when its user is deleted.
+     *
+     * @param apiKey
+     */
+    public void evict(String apiKey);
+
 }
@@ -21,6 +21,12 @@ package org.cerberus.core.service.authentification.impl;
 
 import java.io.IOException;
 import java.security.Principal;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import org.cerberus.core.crud.entity.Parameter;
@@ -33,6 +39,7 @@ import org.cerberus.core.util.StringUtil;
 import org.json.JSONException;
 import org.json.JSONObject;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
 /**
@@ -52,6 +59,16 @@ public class APIKeyService implements IAPIKeyService {
     @Autowired
     private IUserService userService;
 
+    private static final int MAX_CACHED_KEYS = 10000;
+    private static final long FAILURE_WINDOW_MS = 60000;
+
+    // API Key to expiry time of the verification.
+    private final Map<String, Long> validKeys = new ConcurrentHashMap<>();
+    private final Map<String, Long> invalidKeys = new ConcurrentHashMap<>();
+    private final Map<String, FailureWindow> failuresByClient = new ConcurrentHashMap<>();
+    // Incremented on every eviction so that a verification started before it is not cached.
+    private final AtomicLong evictions = new AtomicLong();
+
     @Override
     public boolean authenticate(HttpServletRequest request, HttpServletResponse response) {
         try {
@@ -68,8 +85,19 @@ public class APIKeyService implements IAPIKeyService {
 
                 String apiKey = request.getHeader("apikey");
 
+                // Valid keys are cached, only the invalid attempts are counted and throttled.
                 if (isApiKeyValid(apiKey)) {
                     return true;
+                }
+                String client = getClient(request);
+                recordFailure(client);
+                if (isClientBlocked(client)) {
+                    JSONObject data = new JSONObject();
+                    data.put("message", "Too many invalid API Key attempts. Please retry later !!");
+                    data.put("returnCode", "KO");
+                    response.getWriter().print(data.toString(1));
+                    response.setStatus(429);
+                    return false;
                 } else {
                     JSONObject data = new JSONObject();
                     data.put("message", "Invalid API Key (please feed a valid apikey value inside HTTP Headers) !!");
@@ -114,9 +142,126 @@ public class APIKeyService implements IAPIKeyService {
         return null;
     }
 
+    @Override
+    public void purgeCache() {
+        evictions.incrementAndGet();
+        validKeys.clear();
+        invalidKeys.clear();
+    }
+
+    @Override
+    public void evict(String apiKey) {
+        if (StringUtil.isEmpty(apiKey)) {
+            return;
+        }
+        evictions.incrementAndGet();
+        validKeys.remove(apiKey);
+        invalidKeys.remove(apiKey);
+    }
+
+    @Scheduled(fixedDelay = 60000, initialDelay = 60000)
+    public void purgeExpiredEntries() {
+        long now = System.currentTimeMillis();
+        validKeys.values().removeIf(expiry -> expiry <= now);
+        invalidKeys.values().removeIf(expiry -> expiry <= now);
+        failuresByClient.values().removeIf(failures -> now - failures.windowStart > FAILURE_WINDOW_MS);
+    }
+
     private boolean isApiKeyValid(String apiKey) {
-        return (!StringUtil.isEmpty(apiKey))
-                && (userService.verifyAPIKey(apiKey));
+        if (StringUtil.isEmpty(apiKey)) {
+            return false;
+        }
+        long now = System.currentTimeMillis();
+        Long expiry = validKeys.get(apiKey);
+        if (expiry != null && expiry > now) {
+            return true;
+        }
+        expiry = invalidKeys.get(apiKey);
+        if (expiry != null && expiry > now) {
+            return false;
+        }
+
+        long generation = evictions.get();
+        boolean valid = userService.verifyAPIKey(apiKey);
+
+        long ttlMs = parameterService.getParameterIntegerByKey(Parameter.VALUE_cerberus_apikey_cachettl, "", 60) * 1000L;
+        if (ttlMs > 0) {
+            Map<String, Long> cache = valid ? validKeys : invalidKeys;
+            if (cache.size() >= MAX_CACHED_KEYS) {
+                // Random keys should not make the cache grow forever.
+                cache.clear();
+            }
+            cache.put(apiKey, now + ttlMs);
+            if (evictions.get() != generation) {
+                // The key may have changed during the verification.
+                cache.remove(apiKey);
+            }
+        }
+        return valid;
+    }
+
+    /**
+     * @param request
+     * @return the address of the client. When the call comes from one of the
+     * trusted proxies, the client is the last address of X-Forwarded-For that
+     * is not a trusted proxy, so that clients behind the same proxy are
+     * counted separately.
+     */
+    private String getClient(HttpServletRequest request) {
+        String client = request.getRemoteAddr();
+        String forwardedFor = request.getHeader("X-Forwarded-For");
+        if (StringUtil.isEmpty(forwardedFor)) {
+            return client;
+        }
+        Set<String> trustedProxies = new HashSet<>(Arrays.asList(
+                parameterService.getParameterStringByKey(Parameter.VALUE_cerberus_apikey_trustedproxies, "", "").trim().split("\\s*,\\s*")));
+        String[] forwarded = forwardedFor.split(",");
+        for (int i = forwarded.length - 1; i >= 0 && trustedProxies.contains(client); i--) {
+            client = forwarded[i].trim();
+        }
+        return client;
+    }
+
+    private boolean isClientBlocked(String client) {
+        int maxFailures = parameterService.getParameterIntegerByKey(Parameter.VALUE_cerberus_apikey_maxfailures, "", 20);
+        if (maxFailures <= 0 || client == null) {
+            return false;
+        }
+        FailureWindow failures = failuresByClient.get(client);
+        return failures != null && failures.isOver(maxFailures);
+    }
+
+    private void recordFailure(String client) {
+        if (client == null) {
+            return;
+        }
+        if (failuresByClient.size() >= MAX_CACHED_KEYS) {
+            failuresByClient.clear();
+        }
+        failuresByClient.computeIfAbsent(client, c -> new FailureWindow()).add();
+    }
+
+    /**
+     * Number of invalid API Key received from a client during the last
+     * {@link #FAILURE_WINDOW_MS}.
+     */
+    private static class FailureWindow {
+
+        private long windowStart = System.currentTimeMillis();
+        private int count = 0;
+
+        private synchronized void add() {
+            long now = System.currentTimeMillis();
+            if (now - windowStart > FAILURE_WINDOW_MS) {
+                windowStart = now;
+                count = 0;
+            }
+            count++;
+        }
+
+        private synchronized boolean isOver(int maxFailures) {
+            return (System.currentTimeMillis() - windowStart <= FAILURE_WINDOW_MS) && (count >= maxFailures);
+        }
     }
 
 }
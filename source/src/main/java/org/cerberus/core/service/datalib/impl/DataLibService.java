@@ -138,7 +138,10 @@ public class DataLibService implements IDataLibService {
                     String eKey = entry.getKey(); // SubData
                     String eValue = entry.getValue(); // Parsing Answer
                     try {
-                        answerDecode = variableService.decodeStringCompletly(eValue, execution, null, false);
+                        // Execution data is shared with the properties calculated concurrently.
+                        synchronized (execution) {
+                            answerDecode = variableService.decodeStringCompletly(eValue, execution, null, false);
+                        }
                         columnList.put(eKey, (String) answerDecode.getItem());
 
                         if (!(answerDecode.isCodeStringEquals("OK"))) {
@@ -0,0 +1,224 @@
+/**
+ * Cerberus Copyright (C) 2013 - 2017 cerberustesting
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This file is part of Cerberus.
+ *
+ * Cerberus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Cerberus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Cerberus.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cerberus.core.service.ftp.impl;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.InvalidKeyException;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import javax.annotation.PreDestroy;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import org.apache.commons.net.ftp.FTPClient;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.cerberus.core.crud.entity.Parameter;
+import org.cerberus.core.crud.service.IParameterService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Pool of connected and authenticated FTP(S) clients, keyed by server, user
+ * and proxy. A client that stayed idle more than
+ * {@link #VALIDATION_IDLE_MS} is checked with a NOOP before being reused.
+ * Clients idle for more than cerberus_ftp_pool_idletimeout seconds are
+ * disconnected.
+ */
+@Component
+public class FtpClientPool {
+
+    private static final Logger LOG = LogManager.getLogger(FtpClientPool.class);
+
+    private static final long VALIDATION_IDLE_MS = 5000;
+
+    @Autowired
+    private IParameterService parameterService;
+
+    private final Map<String, Deque<PooledClient>> idleClients = new HashMap<>();
+    // Random secret of this JVM so that the credentials hash of a key cannot be reversed by brute force.
+    private final byte[] keySecret = new byte[32];
+
+    public FtpClientPool() {
+        new SecureRandom().nextBytes(keySecret);
+    }
+
+    private static class PooledClient {
+
+        private final FTPClient client;
+        private final long releaseTime;
+
+        private PooledClient(FTPClient client) {
+            this.client = client;
+            this.releaseTime = System.currentTimeMillis();
+        }
+    }
+
+    /**
+     * @param protocol
+     * @param host
+     * @param port
+     * @param user
+     * @param password
+     * @param proxy proxy host and port, empty if no proxy is used.
+     * @return the key of the pool of the server, account and proxy. The
+     * password only appears in the key through a keyed hash of the
+     * credentials.
+     */
+    public String getKey(String protocol, String host, String port, String user, String password, String proxy) {
+        String credentials;
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(keySecret, "HmacSHA256"));
+            byte[] hash = mac.doFinal((user + "\n" + password).getBytes(StandardCharsets.UTF_8));
+            StringBuilder hex = new StringBuilder();
+            for (byte b : hash) {
+                hex.append(String.format("%02x", b));
+            }
+            credentials = hex.toString();
+        } catch (NoSuchAlgorithmException | InvalidKeyException ex) {
+            // HmacSHA256 is always available on the JVM.
+            throw new IllegalStateException(ex);
+        }
+        return protocol + "|" + host + ":" + port + "|" + user + "|" + credentials + "|" + proxy;
+    }
+
+    /**
+     * @param key
+     * @return an idle client of the key that is still connected, null if
+     * there is none.
+     */
+    public FTPClient borrow(String key) {
+        while (true) {
+            PooledClient pooled;
+            synchronized (idleClients) {
+                Deque<PooledClient> clients = idleClients.get(key);
+                pooled = clients == null ? null : clients.pollFirst();
+            }
+            if (pooled == null) {
+                return null;
+            }
+            if (isValid(pooled)) {
+                return pooled.client;
+            }
+            disconnect(pooled.client);
+        }
+    }
+
+    /**
+     * Give back a client once the call is finished. Clients that are not
+     * reusable (error during the call) or over the max number of idle clients
+     * per key are disconnected.
+     *
+     * @param key
+     * @param client
+     * @param reusable
+     */
+    public void release(String key, FTPClient client, boolean reusable) {
+        int maxIdle = parameterService.getParameterIntegerByKey(Parameter.VALUE_cerberus_ftp_pool_maxidle, "", 4);
+        if (reusable && maxIdle > 0 && client.isConnected()) {
+            synchronized (idleClients) {
+                Deque<PooledClient> clients = idleClients.computeIfAbsent(key, k -> new ArrayDeque<>());
+                if (clients.size() < maxIdle) {
+                    // Most recently used first so that the other ones get evicted.
+                    clients.addFirst(new PooledClient(client));
+                    return;
+                }
+            }
+        }
+        disconnect(client);
+    }
+
+    @Scheduled(fixedDelay = 30000, initialDelay = 30000)
+    public void evictIdleClients() {
+        long idleTimeoutMs = parameterService.getParameterIntegerByKey(Parameter.VALUE_cerberus_ftp_pool_idletimeout, "", 60) * 1000L;
+        long now = System.currentTimeMillis();
+        List<FTPClient> evicted = new ArrayList<>();
+        synchronized (idleClients) {
+            Iterator<Map.Entry<String, Deque<PooledClient>>> entries = idleClients.entrySet().iterator();
+            while (entries.hasNext()) {
+                Deque<PooledClient> clients = entries.next().getValue();
+                clients.removeIf(pooled -> {
+                    if (now - pooled.releaseTime > idleTimeoutMs) {
+                        evicted.add(pooled.client);
+                        return true;
+                    }
+                    return false;
+                });
+                if (clients.isEmpty()) {
+                    entries.remove();
+                }
+            }
+        }
+        evicted.forEach(this::disconnect);
+        if (!evicted.isEmpty()) {
+            LOG.debug("{} idle ftp connections closed.", evicted.size());
+        }
+    }
+
+    @PreDestroy
+    public void closeAll() {
+        List<FTPClient> clients = new ArrayList<>();
+        synchronized (idleClients) {
+            idleClients.values().forEach(deque -> deque.forEach(pooled -> clients.add(pooled.client)));
+            idleClients.clear();
+        }
+        clients.forEach(this::disconnect);
+    }
+
+    private boolean isValid(PooledClient pooled) {
+        if (!pooled.client.isConnected()) {
+            return false;
+        }
+        if (System.currentTimeMillis() - pooled.releaseTime < VALIDATION_IDLE_MS) {
+            return true;
+        }
+        try {
+            return pooled.client.sendNoOp();
+        } catch (IOException ex) {
+            LOG.debug("Pooled ftp connection no longer valid : {}", ex.toString());
+            return false;
+        }
+    }
+
+    private void disconnect(FTPClient client) {
+        if (client.isConnected()) {
+            try {
+                client.logout();
+            } catch (IOException ex) {
+                LOG.debug(ex.toString());
+            }
+            try {
+                client.disconnect();
+            } catch (IOException ex) {
+                LOG.warn(ex.toString());
+            }
+        }
+    }
+
+}
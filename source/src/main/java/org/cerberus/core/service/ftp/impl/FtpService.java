@@ -19,11 +19,14 @@
  */
 package org.cerberus.core.service.ftp.impl;
 
+import java.io.BufferedOutputStream;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.File;
+import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.net.InetSocketAddress;
 import java.net.PasswordAuthentication;
 import java.net.Proxy;
@@ -31,6 +34,7 @@ import java.net.SocketAddress;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -39,6 +43,7 @@ import org.apache.commons.net.ftp.FTP;
 import org.apache.commons.net.ftp.FTPClient;
 import org.apache.commons.net.ftp.FTPFile;
 import org.apache.commons.net.ftp.FTPReply;
+import org.apache.commons.net.ftp.FTPSClient;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.cerberus.core.crud.entity.AppService;
@@ -76,6 +81,8 @@ public class FtpService implements IFtpService {
     IParameterService parameterService;
     @Autowired
     IProxyService proxyService;
+    @Autowired
+    private FtpClientPool ftpClientPool;
 
     /**
      * Proxy default config. (Should never be used as default config is inserted
@@ -88,6 +95,14 @@ public class FtpService implements IFtpService {
     private static final String DEFAULT_PROXYAUTHENT_USER = "squid";
     private static final String DEFAULT_PROXYAUTHENT_PASSWORD = "squid";
 
+    /**
+     * Size of the content kept in memory when a downloaded file is spooled to
+     * disk.
+     */
+    private static final int PREVIEW_SIZE = 65536;
+    private static final String SPOOL_FOLDER = "spool";
+    private static final long SPOOL_MAX_AGE_MS = 24L * 3600 * 1000;
+
     @Override
     public HashMap<String, String> fromFtpStringToHashMap(String ftpChain) {
         HashMap<String, String> map = new HashMap<>();
@@ -163,36 +178,62 @@ public class FtpService implements IFtpService {
             return result;
         }
 
-        FTPClient ftp = new FTPClient();
         AppService myResponse = factoryAppService.create(service, AppService.TYPE_FTP,
                 method, "", "", content, "", "", "", "", "", "", "", informations.get("path"), true, "", "", false, "", false, "", false, "", "", "", null, "", null, filePath);
 
+        boolean secured = chain.trim().toLowerCase().startsWith("ftps");
+        boolean useProxy = proxyService.useProxy(StringUtil.getURLFromString(informations.get("host"), "", "", "ftp://"), system);
+        // Clients are pooled per server, account and proxy.
+        String proxy = "";
+        if (useProxy) {
+            proxy = parameterService.getParameterStringByKey("cerberus_proxy_host", "", DEFAULT_PROXY_HOST)
+                    + ":" + parameterService.getParameterIntegerByKey("cerberus_proxy_port", "", DEFAULT_PROXY_PORT);
+        }
+        String poolKey = ftpClientPool.getKey(secured ? "ftps" : "ftp", informations.get("host"), informations.get("port"),
+                informations.get("pseudo"), informations.get("password"), proxy);
+
+        FTPClient ftp = ftpClientPool.borrow(poolKey);
+        boolean reusable = false;
         try {
-            if (proxyService.useProxy(StringUtil.getURLFromString(informations.get("host"), "", "", "ftp://"), system)) {
-                this.setProxy(ftp, system, myResponse);
-            }
-            ftp.connect(informations.get("host"), Integer.valueOf(informations.get("port")));
-            boolean logged = ftp.login(informations.get("pseudo"), informations.get("password"));
-            if (!logged) {
-                LOG.error("Exception when logging to ftp server.");
-                message = new MessageEvent(MessageEventEnum.ACTION_FAILED_CALLSERVICE);
-                message.setDescription(message.getDescription().replace("%SERVICE%", informations.get("path")));
-                message.setDescription(
-                        message.getDescription().replace("%DESCRIPTION%", "Error on logging to FTP Server"));
-                result.setResultMessage(message);
-                return result;
+            if (ftp == null) {
+                ftp = secured ? new FTPSClient() : new FTPClient();
+                if (useProxy) {
+                    this.setProxy(ftp, system, myResponse);
+                }
+                ftp.connect(informations.get("host"), Integer.valueOf(informations.get("port")));
+                boolean logged = ftp.login(informations.get("pseudo"), informations.get("password"));
+                if (!logged) {
+                    LOG.error("Exception when logging to ftp server.");
+                    message = new MessageEvent(MessageEventEnum.ACTION_FAILED_CALLSERVICE);
+                    message.setDescription(message.getDescription().replace("%SERVICE%", informations.get("path")));
+                    message.setDescription(
+                            message.getDescription().replace("%DESCRIPTION%", "Error on logging to FTP Server"));
+                    result.setResultMessage(message);
+                    return result;
+                } else {
+                    LOG.info("Successfully logged to the ftp server");
+                }
+                if (secured) {
+                    // Protect the data channel as well.
+                    ((FTPSClient) ftp).execPBSZ(0);
+                    ((FTPSClient) ftp).execPROT("P");
+                }
+                ftp.enterLocalPassiveMode();
+                ftp.setFileType(FTP.BINARY_FILE_TYPE);
+                ftp.setFileTransferMode(FTP.BINARY_FILE_TYPE);
             } else {
-                LOG.info("Successfully logged to the ftp server");
+                LOG.debug("Reusing pooled ftp connection");
+                if (useProxy) {
+                    this.setProxy(ftp, system, myResponse);
+                }
             }
-            ftp.enterLocalPassiveMode();
-            ftp.setFileType(FTP.BINARY_FILE_TYPE);
-            ftp.setFileTransferMode(FTP.BINARY_FILE_TYPE);
 
             if (method.equals("GET")) {
                 result = this.getFTP(informations, ftp, myResponse);
             } else {
                 result = this.postFTP(informations, ftp, myResponse);
             }
+            reusable = true;
 
         } catch (Exception e) {
             message = new MessageEvent(MessageEventEnum.ACTION_FAILED_CALLSERVICE);
@@ -201,14 +242,8 @@ public class FtpService implements IFtpService {
                     message.getDescription().replace("%DESCRIPTION%", "Error on CallFTP : " + e.toString()));
             result.setResultMessage(message);
         } finally {
-            if (ftp.isConnected()) {
-                try {
-                    ftp.logout();
-                    ftp.disconnect();
-                } catch (IOException e) {
-                    LOG.warn(e.toString());
-                }
-            }
+            // The connection goes back to the pool, or is closed when it cannot be trusted anymore.
+            ftpClientPool.release(poolKey, ftp, reusable);
         }
         return result;
     }
@@ -220,32 +255,65 @@ public class FtpService implements IFtpService {
         LOG.info("Start retrieving ftp file");
         FTPFile[] ftpFile = ftp.listFiles(informations.get("path"));
         if (ftpFile.length != 0) {
+            int streamThreshold = parameterService.getParameterIntegerByKey(Parameter.VALUE_cerberus_ftp_streamthreshold, "", 10485760);
             InputStream done = ftp.retrieveFileStream(informations.get("path"));
+            if (done == null) {
+                throw new IOException("Could not open data connection : " + ftp.getReplyString());
+            }
+            // The content is kept in memory up to the threshold, then spooled to disk.
+            ByteArrayOutputStream baos = new ByteArrayOutputStream();
+            File spool = null;
+            OutputStream spoolStream = null;
+            try {
+                byte[] buf = new byte[8192];
+                int n = 0;
+                while ((n = done.read(buf)) >= 0) {
+                    if (spoolStream != null) {
+                        spoolStream.write(buf, 0, n);
+                    } else if (baos.size() + n > streamThreshold) {
+                        spool = createSpoolFile();
+                        spoolStream = new BufferedOutputStream(new FileOutputStream(spool));
+                        baos.writeTo(spoolStream);
+                        spoolStream.write(buf, 0, n);
+                    } else {
+                        baos.write(buf, 0, n);
+                    }
+                }
+            } finally {
+                done.close();
+                if (spoolStream != null) {
+                    spoolStream.close();
+                }
+            }
+            // The transfer can only be completed once the data stream is fully read and closed.
             boolean success = ftp.completePendingCommand();
             myResponse.setResponseHTTPCode(ftp.getReplyCode());
             if (success && FTPReply.isPositiveCompletion(myResponse.getResponseHTTPCode())) {
-                ByteArrayOutputStream baos = new ByteArrayOutputStream();
-                byte[] buf = new byte[1024];
-                int n = 0;
-                while ((n = done.read(buf)) >= 0) {
-                    baos.write(buf, 0, n);
+                byte[] preview = baos.toByteArray();
+                if (spool != null) {
+                    preview = Arrays.copyOf(preview, Math.min(preview.length, PREVIEW_SIZE));
+                    myResponse.setResponseFile(spool);
+                    myResponse.setFile(null);
+                    LOG.info("ftp file successfully retrieve ({} bytes spooled to disk)", spool.length());
+                } else {
+                    myResponse.setFile(preview);
+                    LOG.info("ftp file successfully retrieve");
                 }
-                byte[] content = baos.toByteArray();
-                myResponse.setFile(content);
-                LOG.info("ftp file successfully retrieve");
                 message = new MessageEvent(MessageEventEnum.ACTION_SUCCESS_CALLSERVICE);
                 message.setDescription(message.getDescription().replace("%SERVICEMETHOD%", "GET"));
                 message.setDescription(message.getDescription().replace("%SERVICEPATH%", informations.get("path")));
                 result.setResultMessage(message);
-                String expectedContent = IOUtils.toString(new ByteArrayInputStream(content), "UTF-8");
+                String expectedContent = IOUtils.toString(new ByteArrayInputStream(preview), "UTF-8");
                 String extension = testCaseExecutionFileService.checkExtension(informations.get("path"), "");
                 if ("JSON".equals(extension) || "XML".equals(extension) || "TXT".equals(extension)) {
                     myResponse.setResponseHTTPBody(expectedContent);
                 }
                 myResponse.setResponseHTTPBodyContentType(extension);
                 result.setItem(myResponse);
-                baos.close();
             } else {
+                if (spool != null) {
+                    Files.deleteIfExists(spool.toPath());
+                }
                 LOG.error("Error when downloading the file. Something went wrong");
                 message = new MessageEvent(MessageEventEnum.ACTION_FAILED_CALLSERVICE);
                 message.setDescription(message.getDescription().replace("%SERVICE%", informations.get("path")));
@@ -253,7 +321,6 @@ public class FtpService implements IFtpService {
                         "Error when downloading the file. Something went wrong"));
                 result.setResultMessage(message);
             }
-            done.close();
         } else {
             LOG.error("The file is not present on FTP server. Please check the FTP path");
             message = new MessageEvent(MessageEventEnum.ACTION_FAILED_CALLSERVICE);
@@ -265,6 +332,31 @@ public class FtpService implements IFtpService {
         return result;
     }
 
+    /**
+     * Create the file that receives a download too big to be kept in memory.
+     * It is moved to the execution artifacts when the call is recorded.
+     * Spool files that were never recorded are cleaned after a day.
+     *
+     * @return
+     * @throws IOException
+     */
+    private File createSpoolFile() throws IOException {
+        File spoolFolder = new File(parameterService.getParameterStringByKey(Parameter.VALUE_cerberus_exeautomedia_path, "", ""), SPOOL_FOLDER);
+        if (!spoolFolder.isDirectory() && !spoolFolder.mkdirs()) {
+            throw new IOException("Could not create spool folder " + spoolFolder.getAbsolutePath());
+        }
+        File[] oldFiles = spoolFolder.listFiles();
+        if (oldFiles != null) {
+            long limit = System.currentTimeMillis() - SPOOL_MAX_AGE_MS;
+            for (File oldFile : oldFiles) {
+                if (oldFile.lastModified() < limit && oldFile.delete()) {
+                    LOG.debug("Removed orphan ftp spool file {}", oldFile.getName());
+                }
+            }
+        }
+        return File.createTempFile("ftp", ".tmp", spoolFolder);
+    }
+
     @Override
     public AnswerItem<AppService> postFTP(HashMap<String, String> informations, FTPClient ftp, AppService myResponse) throws IOException {
         MessageEvent message = null;
@@ -0,0 +1,53 @@
+/**
+ * Cerberus Copyright (C) 2013 - 2017 cerberustesting
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This file is part of Cerberus.
+ *
+ * Cerberus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Cerberus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Cerberus.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cerberus.core.service.guibundle;
+
+/**
+ * Precomputed JSON payload served to the GUI, with its gzip version and
+ * strong validator.
+ */
+public class GuiBundle {
+
+    private final byte[] content;
+    private final byte[] gzipContent;
+    private final String hash;
+
+    public GuiBundle(byte[] content, byte[] gzipContent, String hash) {
+        this.content = content;
+        this.gzipContent = gzipContent;
+        this.hash = hash;
+    }
+
+    public byte[] getContent() {
+        return content;
+    }
+
+    public byte[] getGzipContent() {
+        return gzipContent;
+    }
+
+    /**
+     * @return sha-256 of the uncompressed content.
+     */
+    public String getHash() {
+        return hash;
+    }
+
+}
@@ -0,0 +1,75 @@
+/**
+ * Cerberus Copyright (C) 2013 - 2017 cerberustesting
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This file is part of Cerberus.
+ *
+ * Cerberus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Cerberus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Cerberus.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cerberus.core.service.guibundle;
+
+import java.io.IOException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import org.cerberus.core.exception.CerberusException;
+import org.json.JSONException;
+
+/**
+ * Documentation and invariant payloads requested by every GUI page. They are
+ * built once, kept in memory until the underlying data change and served
+ * with an ETag so that the browser only gets a 304 when it already has them.
+ */
+public interface IGuiBundleService {
+
+    /**
+     * @param lang
+     * @return the documentation labels of the language grouped by docTable
+     * (ReadDocumentation format).
+     */
+    GuiBundle getDocumentation(String lang);
+
+    /**
+     * @param idName
+     * @return the invariants of the idName with description and gp1 to gp3
+     * (FindInvariantByID format).
+     * @throws CerberusException
+     * @throws JSONException
+     */
+    GuiBundle getInvariantList(String idName) throws CerberusException, JSONException;
+
+    /**
+     * @param idName
+     * @return the values of the invariants of the idName (GetInvariantList
+     * format).
+     * @throws CerberusException
+     * @throws JSONException
+     */
+    GuiBundle getInvariantValues(String idName) throws CerberusException, JSONException;
+
+    void purgeDocumentation();
+
+    void purgeInvariants();
+
+    /**
+     * Send the bundle as json, compressed if the client accepts it, or a 304
+     * if the client already has it.
+     *
+     * @param bundle
+     * @param request
+     * @param response
+     * @throws IOException
+     */
+    void send(GuiBundle bundle, HttpServletRequest request, HttpServletResponse response) throws IOException;
+
+}
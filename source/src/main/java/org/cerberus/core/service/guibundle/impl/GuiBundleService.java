@@ -0,0 +1,197 @@
+/**
+ * Cerberus Copyright (C) 2013 - 2017 cerberustesting
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This file is part of Cerberus.
+ *
+ * Cerberus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Cerberus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Cerberus.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cerberus.core.service.guibundle.impl;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.GZIPOutputStream;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.cerberus.core.crud.entity.Invariant;
+import org.cerberus.core.crud.service.IDocumentationService;
+import org.cerberus.core.crud.service.IInvariantService;
+import org.cerberus.core.exception.CerberusException;
+import org.cerberus.core.service.guibundle.GuiBundle;
+import org.cerberus.core.service.guibundle.IGuiBundleService;
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+/**
+ * Bundles are built on first request. Documentation bundles are purged when
+ * the documentation table is refreshed and invariant bundles when the
+ * reference data cache is purged (invariant change on any instance).
+ */
+@Service
+public class GuiBundleService implements IGuiBundleService {
+
+    private static final Logger LOG = LogManager.getLogger(GuiBundleService.class);
+
+    // Data can change without URL change so the browser must always revalidate (and will mostly get a 304).
+    private static final String CACHE_CONTROL = "private, no-cache";
+
+    @Autowired
+    private IDocumentationService documentationService;
+    @Autowired
+    private IInvariantService invariantService;
+
+    private final Map<String, GuiBundle> documentationBundles = new ConcurrentHashMap<>();
+    private final Map<String, GuiBundle> invariantBundles = new ConcurrentHashMap<>();
+
+    @Override
+    public GuiBundle getDocumentation(String lang) {
+        GuiBundle bundle = documentationBundles.get(lang);
+        if (bundle == null) {
+            JSONObject jsonResponse = new JSONObject();
+            try {
+                jsonResponse.put("labelTable", documentationService.formatGroupByDocTable(documentationService.findAllWithEmptyDocLabel(lang)));
+            } catch (JSONException ex) {
+                LOG.warn(ex);
+            }
+            bundle = build(jsonResponse.toString());
+            JSONObject labelTable = jsonResponse.optJSONObject("labelTable");
+            // Nothing is kept when database is not yet initialized.
+            if (labelTable != null && labelTable.length() > 0) {
+                documentationBundles.put(lang, bundle);
+            }
+        }
+        return bundle;
+    }
+
+    @Override
+    public GuiBundle getInvariantList(String idName) throws CerberusException, JSONException {
+        String key = "LIST|" + idName;
+        GuiBundle bundle = invariantBundles.get(key);
+        if (bundle == null) {
+            List<Invariant> invariants = invariantService.readByIdName(idName);
+            JSONArray array = new JSONArray();
+            for (Invariant myInvariant : invariants) {
+                JSONObject jsonObject = new JSONObject();
+                jsonObject.put("value", myInvariant.getValue());
+                jsonObject.put("description", myInvariant.getDescription());
+                jsonObject.put("gp1", myInvariant.getGp1());
+                jsonObject.put("gp2", myInvariant.getGp2());
+                jsonObject.put("gp3", myInvariant.getGp3());
+                array.put(jsonObject);
+            }
+            bundle = build(array.toString());
+            // Unknown idName are not kept so that random requests cannot grow the cache.
+            if (!invariants.isEmpty()) {
+                invariantBundles.put(key, bundle);
+            }
+        }
+        return bundle;
+    }
+
+    @Override
+    public GuiBundle getInvariantValues(String idName) throws CerberusException, JSONException {
+        String key = "VALUES|" + idName;
+        GuiBundle bundle = invariantBundles.get(key);
+        if (bundle == null) {
+            List<Invariant> invariants = invariantService.readByIdName(idName);
+            JSONObject jsonResponse = new JSONObject();
+            for (Invariant myInvariant : invariants) {
+                jsonResponse.put(myInvariant.getValue(), myInvariant.getValue());
+            }
+            bundle = build(jsonResponse.toString());
+            if (!invariants.isEmpty()) {
+                invariantBundles.put(key, bundle);
+            }
+        }
+        return bundle;
+    }
+
+    @Override
+    public void purgeDocumentation() {
+        documentationBundles.clear();
+    }
+
+    @Override
+    public void purgeInvariants() {
+        invariantBundles.clear();
+    }
+
+    @Override
+    public void send(GuiBundle bundle, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        String acceptEncoding = request.getHeader("Accept-Encoding");
+        boolean gzip = bundle.getGzipContent() != null && acceptEncoding != null && acceptEncoding.contains("gzip");
+        // Strong validators must differ between encodings.
+        String eTag = "\"" + bundle.getHash() + (gzip ? "-gzip" : "") + "\"";
+
+        response.setHeader("ETag", eTag);
+        response.setHeader("Cache-Control", CACHE_CONTROL);
+        response.setHeader("Vary", "Accept-Encoding");
+
+        String ifNoneMatch = request.getHeader("If-None-Match");
+        if (ifNoneMatch != null && ifNoneMatch.contains(bundle.getHash())) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        response.setContentType("application/json");
+        response.setCharacterEncoding("UTF-8");
+        byte[] content = gzip ? bundle.getGzipContent() : bundle.getContent();
+        if (gzip) {
+            response.setHeader("Content-Encoding", "gzip");
+        }
+        response.setContentLength(content.length);
+        response.getOutputStream().write(content);
+    }
+
+    private GuiBundle build(String json) {
+        byte[] content = json.getBytes(StandardCharsets.UTF_8);
+        byte[] gzipContent = null;
+        try {
+            ByteArrayOutputStream out = new ByteArrayOutputStream(content.length / 4 + 64);
+            try (GZIPOutputStream gzipOut = new GZIPOutputStream(out)) {
+                gzipOut.write(content);
+            }
+            gzipContent = out.toByteArray();
+        } catch (IOException ex) {
+            LOG.warn("Could not compress bundle.", ex);
+        }
+        return new GuiBundle(content, gzipContent, sha256(content));
+    }
+
+    private static String sha256(byte[] content) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(content);
+            StringBuilder sb = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                sb.append(String.format("%02x", b));
+            }
+            return sb.toString();
+        } catch (NoSuchAlgorithmException ex) {
+            // SHA-256 is always available on the JVM.
+            throw new IllegalStateException(ex);
+        }
+    }
+
+}
@@ -22,7 +22,9 @@ package org.cerberus.core.service.notifications.googlechat.impl;
 import java.io.UnsupportedEncodingException;
 import java.net.URLEncoder;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
 import org.cerberus.core.crud.entity.EventHook;
 import org.cerberus.core.crud.entity.Tag;
 import org.cerberus.core.crud.entity.TestCase;
@@ -45,6 +47,7 @@ public class ChatGenerationService implements IChatGenerationService {
 
     private static final org.apache.logging.log4j.Logger LOG = org.apache.logging.log4j.LogManager.getLogger(ChatGenerationService.class);
     private static final String IMAGES_URL = "https://vm.cerberus-testing.org/notifications/status-%STATUS%.png";
+    private static final int MAX_SUMMARY_LINES = 50;
 
     @Autowired
     private IParameterService parameterService;
@@ -241,6 +244,59 @@ public class ChatGenerationService implements IChatGenerationService {
 
     }
 
+    @Override
+    public JSONObject generateNotifyEndExecutionSummary(List<TestCaseExecution> exeList) throws Exception {
+
+        String cerberusUrl = parameterService.getParameterStringByKey("cerberus_gui_url", "", "");
+        if (StringUtil.isEmpty(cerberusUrl)) {
+            cerberusUrl = parameterService.getParameterStringByKey("cerberus_url", "", "");
+        }
+        cerberusUrl = StringUtil.addSuffixIfNotAlready(cerberusUrl, "/");
+
+        Map<String, Integer> statusCount = new TreeMap<>();
+        StringBuilder detail = new StringBuilder();
+        int nbLines = 0;
+        for (TestCaseExecution exe : exeList) {
+            statusCount.put(exe.getControlStatus(), statusCount.getOrDefault(exe.getControlStatus(), 0) + 1);
+            if (nbLines++ < MAX_SUMMARY_LINES) {
+                detail.append("<a href='").append(cerberusUrl).append("TestCaseExecution.jsp?executionId=").append(exe.getId()).append("'>").append(exe.getId()).append("</a> ")
+                        .append(exe.getControlStatus()).append(" - ").append(exe.getTest()).append(" - ").append(exe.getTestCase())
+                        .append(" on ").append(exe.getEnvironment()).append(" - ").append(exe.getCountry()).append("<br>");
+            }
+        }
+        if (nbLines > MAX_SUMMARY_LINES) {
+            detail.append("... and ").append(nbLines - MAX_SUMMARY_LINES).append(" more.");
+        }
+
+        JSONObject chatMessage = new JSONObject();
+
+        JSONArray cards = new JSONArray();
+        JSONObject card = new JSONObject();
+
+        JSONObject textContent = new JSONObject();
+        textContent.put("text", "<b>" + exeList.size() + "</b> Executions Ended.<br>Status : " + statusCount.toString() + "<br>" + detail.toString());
+
+        JSONObject textParaContent = new JSONObject();
+        textParaContent.put("textParagraph", textContent);
+
+        JSONArray widgets = new JSONArray();
+        widgets.put(textParaContent);
+
+        JSONArray sections = new JSONArray();
+        JSONObject widget = new JSONObject();
+
+        widget.put("widgets", widgets);
+        sections.put(widget);
+        card.put("sections", sections);
+
+        cards.put(card);
+        chatMessage.put("cards", cards);
+
+        LOG.debug(chatMessage.toString(1));
+        return chatMessage;
+
+    }
+
     @Override
     public JSONObject generateNotifyTestCaseChange(TestCase testCase, String eventReference) throws Exception {
 
@@ -137,6 +137,7 @@ public class ChatService implements IChatService {
             LOG.warn("Google Chat request http return code : " + rc);
             LOG.warn("Message sent to " + webHook + ":");
             LOG.warn(cerberusMessage.toString(1));
+            throw new Exception("Google Chat request failed with http return code : " + rc);
         }
 
     }
@@ -19,6 +19,7 @@
  */
 package org.cerberus.core.service.notifications.slack;
 
+import java.util.List;
 import org.cerberus.core.crud.entity.Tag;
 import org.cerberus.core.crud.entity.TestCase;
 import org.cerberus.core.crud.entity.TestCaseExecution;
@@ -66,6 +67,16 @@ public interface ISlackGenerationService {
      */
     public JSONObject generateNotifyEndExecution(TestCaseExecution exe, String channel) throws Exception;
 
+    /**
+     * Generate a single message that summarise several end of execution.
+     *
+     * @param exeList
+     * @param channel
+     * @return
+     * @throws Exception
+     */
+    public JSONObject generateNotifyEndExecutionSummary(List<TestCaseExecution> exeList, String channel) throws Exception;
+
     /**
      *
      * @param testCase
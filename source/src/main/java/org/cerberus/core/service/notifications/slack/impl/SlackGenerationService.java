@@ -21,6 +21,9 @@ package org.cerberus.core.service.notifications.slack.impl;
 
 import java.io.UnsupportedEncodingException;
 import java.net.URLEncoder;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
 
 import org.cerberus.core.crud.entity.EventHook;
 import org.cerberus.core.crud.entity.Tag;
@@ -42,6 +45,7 @@ import org.cerberus.core.service.notifications.slack.ISlackGenerationService;
 public class SlackGenerationService implements ISlackGenerationService {
 
     private static final org.apache.logging.log4j.Logger LOG = org.apache.logging.log4j.LogManager.getLogger(SlackGenerationService.class);
+    private static final int MAX_SUMMARY_LINES = 50;
 
     @Autowired
     private IParameterService parameterService;
@@ -171,6 +175,59 @@ public class SlackGenerationService implements ISlackGenerationService {
 
     }
 
+    @Override
+    public JSONObject generateNotifyEndExecutionSummary(List<TestCaseExecution> exeList, String channel) throws Exception {
+
+        String cerberusUrl = parameterService.getParameterStringByKey("cerberus_gui_url", "", "");
+        if (StringUtil.isEmpty(cerberusUrl)) {
+            cerberusUrl = parameterService.getParameterStringByKey("cerberus_url", "", "");
+        }
+        cerberusUrl = StringUtil.addSuffixIfNotAlready(cerberusUrl, "/");
+
+        Map<String, Integer> statusCount = new TreeMap<>();
+        StringBuilder detail = new StringBuilder();
+        int nbLines = 0;
+        for (TestCaseExecution exe : exeList) {
+            statusCount.put(exe.getControlStatus(), statusCount.getOrDefault(exe.getControlStatus(), 0) + 1);
+            if (nbLines++ < MAX_SUMMARY_LINES) {
+                detail.append("<").append(cerberusUrl).append("TestCaseExecution.jsp?executionId=").append(exe.getId()).append("|").append(exe.getId()).append("> ")
+                        .append(exe.getControlStatus()).append(" - ").append(exe.getTest()).append(" - ").append(exe.getTestCase())
+                        .append(" on ").append(exe.getEnvironment()).append(" - ").append(exe.getCountry()).append("\n");
+            }
+        }
+        if (nbLines > MAX_SUMMARY_LINES) {
+            detail.append("... and ").append(nbLines - MAX_SUMMARY_LINES).append(" more.");
+        }
+
+        JSONObject slackMessage = new JSONObject();
+        JSONObject attachementObj = new JSONObject();
+
+        attachementObj.put("fallback", exeList.size() + " Executions Ended. " + statusCount.toString());
+        attachementObj.put("pretext", exeList.size() + " Executions Ended.");
+
+        JSONObject slackattaMessage = new JSONObject();
+        if (statusCount.size() == 1 && statusCount.containsKey(TestCaseExecution.CONTROLSTATUS_OK)) {
+            attachementObj.put("color", TestCaseExecution.CONTROLSTATUS_OK_COL_EXT);
+        } else {
+            attachementObj.put("color", TestCaseExecution.CONTROLSTATUS_KO_COL_EXT);
+        }
+        slackattaMessage.put("title", "Status : " + statusCount.toString());
+        slackattaMessage.put("value", detail.toString());
+        slackattaMessage.put("short", false);
+        attachementObj.append("fields", slackattaMessage);
+
+        slackMessage.append("attachments", attachementObj);
+
+        if (!StringUtil.isEmpty(channel)) {
+            slackMessage.put("channel", channel);
+        }
+        slackMessage.put("username", "Cerberus");
+
+        LOG.debug(slackMessage.toString(1));
+        return slackMessage;
+
+    }
+
     @Override
     public JSONObject generateNotifyTestCaseChange(TestCase testCase, String channel, String eventReference) throws UnsupportedEncodingException, Exception {
 
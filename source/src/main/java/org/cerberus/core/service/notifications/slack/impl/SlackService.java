@@ -136,6 +136,7 @@ public class SlackService implements ISlackService {
             LOG.warn("Slack request http return code : " + rc);
             LOG.warn("Message sent to " + webHook + ":");
             LOG.warn(cerberusMessage.toString(1));
+            throw new Exception("Slack request failed with http return code : " + rc);
         }
 
     }
@@ -19,6 +19,7 @@
  */
 package org.cerberus.core.service.notifications.teams;
 
+import java.util.List;
 import org.cerberus.core.crud.entity.Tag;
 import org.cerberus.core.crud.entity.TestCase;
 import org.cerberus.core.crud.entity.TestCaseExecution;
@@ -62,6 +63,15 @@ public interface ITeamsGenerationService {
      */
     public JSONObject generateNotifyEndExecution(TestCaseExecution exe) throws Exception;
 
+    /**
+     * Generate a single message that summarise several end of execution.
+     *
+     * @param exeList
+     * @return
+     * @throws Exception
+     */
+    public JSONObject generateNotifyEndExecutionSummary(List<TestCaseExecution> exeList) throws Exception;
+
     /**
      *
      * @param testCase
@@ -35,6 +35,9 @@ import org.springframework.stereotype.Service;
 import java.io.UnsupportedEncodingException;
 import java.net.URLEncoder;
 import java.sql.Timestamp;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
 
 /**
  * @author vertigo17
@@ -43,6 +46,7 @@ import java.sql.Timestamp;
 public class TeamsGenerationService implements ITeamsGenerationService {
 
     private static final org.apache.logging.log4j.Logger LOG = org.apache.logging.log4j.LogManager.getLogger(TeamsGenerationService.class);
+    private static final int MAX_SUMMARY_LINES = 50;
     private static final String IMAGES_URL = "https://vm.cerberus-testing.org/notifications/status-%STATUS%.png";
 
     @Autowired
@@ -238,6 +242,50 @@ public class TeamsGenerationService implements ITeamsGenerationService {
 
     }
 
+    @Override
+    public JSONObject generateNotifyEndExecutionSummary(List<TestCaseExecution> exeList) throws Exception {
+
+        String cerberusUrl = parameterService.getParameterStringByKey("cerberus_gui_url", "", "");
+        if (StringUtil.isEmpty(cerberusUrl)) {
+            cerberusUrl = parameterService.getParameterStringByKey("cerberus_url", "", "");
+        }
+        cerberusUrl = StringUtil.addSuffixIfNotAlready(cerberusUrl, "/");
+
+        Map<String, Integer> statusCount = new TreeMap<>();
+        StringBuilder detail = new StringBuilder();
+        int nbLines = 0;
+        for (TestCaseExecution exe : exeList) {
+            statusCount.put(exe.getControlStatus(), statusCount.getOrDefault(exe.getControlStatus(), 0) + 1);
+            if (nbLines++ < MAX_SUMMARY_LINES) {
+                detail.append("[").append(exe.getId()).append("](").append(cerberusUrl).append("TestCaseExecution.jsp?executionId=").append(exe.getId()).append(") ")
+                        .append(exe.getControlStatus()).append(" - ").append(exe.getTest()).append(" - ").append(exe.getTestCase())
+                        .append(" on ").append(exe.getEnvironment()).append(" - ").append(exe.getCountry()).append("<br>");
+            }
+        }
+        if (nbLines > MAX_SUMMARY_LINES) {
+            detail.append("... and ").append(nbLines - MAX_SUMMARY_LINES).append(" more.");
+        }
+
+        JSONObject teamsMessage = new JSONObject();
+
+        teamsMessage.put("@type", "MessageCard");
+        teamsMessage.put("@context", "https://schema.org/extensions");
+        teamsMessage.put("themeColor", "0078D7");
+        teamsMessage.put("title", exeList.size() + " Executions Ended.");
+        teamsMessage.put("summary", "Status : " + statusCount.toString());
+
+        JSONArray sections = new JSONArray();
+        JSONObject sectionsObj = new JSONObject();
+        sectionsObj.put("activityTitle", "Status : " + statusCount.toString());
+        sectionsObj.put("text", detail.toString());
+        sections.put(sectionsObj);
+        teamsMessage.put("sections", sections);
+
+        LOG.debug(teamsMessage.toString(1));
+        return teamsMessage;
+
+    }
+
     @Override
     public JSONObject generateNotifyTestCaseChange(TestCase testCase, String eventReference) throws Exception {
 
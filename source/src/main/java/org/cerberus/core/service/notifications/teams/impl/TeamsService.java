@@ -133,6 +133,7 @@ public class TeamsService implements ITeamsService {
             LOG.warn("Teams request http return code : " + rc);
             LOG.warn("Message sent to " + webHook + ":");
             LOG.warn(cerberusMessage.toString(1));
+            throw new Exception("Teams request failed with http return code : " + rc);
         }
 
     }
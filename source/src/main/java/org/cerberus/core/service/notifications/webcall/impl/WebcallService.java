@@ -130,7 +130,12 @@ public class WebcallService implements IWebcallService {
         HttpResponse response = httpclient.execute(post);
 
         int rc = response.getStatusLine().getStatusCode();
-        LOG.debug("Generic request http return code : " + rc);
+        if (rc >= 200 && rc < 300) {
+            LOG.debug("Generic request http return code : " + rc);
+        } else {
+            LOG.warn("Generic request http return code : " + rc);
+            throw new Exception("Generic request failed with http return code : " + rc);
+        }
 
     }
 
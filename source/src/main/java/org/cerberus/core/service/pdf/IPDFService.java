@@ -19,7 +19,8 @@
  */
 package org.cerberus.core.service.pdf;
 
-import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.Date;
 import java.util.List;
 import org.cerberus.core.crud.entity.Tag;
@@ -34,29 +35,30 @@ public interface IPDFService {
      * @param today
      * @param folder
      * @return
-     * @throws java.io.FileNotFoundException
+     * @throws java.io.IOException if the file could not be generated.
      */
-    String generatePdf(Tag tag, Date today, String folder) throws FileNotFoundException;
+    String generatePdf(Tag tag, Date today, String folder) throws IOException;
 
     /**
      * @param tag
      * @param today
      * @param folder
      * @return
-     * @throws java.io.FileNotFoundException
+     * @throws java.io.IOException if one of the files could not be generated.
      */
-    List<String> generatePdfAppendix(Tag tag, Date today, String folder) throws FileNotFoundException;
+    List<String> generatePdfAppendix(Tag tag, Date today, String folder) throws IOException;
 
     /**
+     * Write the campaign report (summary and appendix pdf files) as a zip to
+     * the outputStream. Report files are generated only if the tag changed
+     * since the last generation.
      *
-     * @param pdfFilePathSrc
-     * @param pdfFilePathDst
      * @param tag
      * @param today
-     * @param withLogo
-     * @return
-     * @throws FileNotFoundException
+     * @param filePostName
+     * @param outputStream
+     * @throws IOException
      */
-    String addHeaderAndFooter(String pdfFilePathSrc, String pdfFilePathDst, Tag tag, Date today, boolean withLogo) throws FileNotFoundException;
+    void writeCampaignReportZip(Tag tag, Date today, String filePostName, OutputStream outputStream) throws IOException;
 
 }
@@ -24,12 +24,21 @@ import com.itextpdf.io.image.ImageData;
 import com.itextpdf.io.image.ImageDataFactory;
 import com.itextpdf.kernel.colors.ColorConstants;
 import com.itextpdf.kernel.colors.DeviceRgb;
+import com.itextpdf.kernel.events.Event;
+import com.itextpdf.kernel.events.IEventHandler;
+import com.itextpdf.kernel.events.PdfDocumentEvent;
+import com.itextpdf.kernel.font.PdfFont;
+import com.itextpdf.kernel.font.PdfFontFactory;
+import com.itextpdf.io.font.constants.StandardFonts;
 import com.itextpdf.kernel.geom.Rectangle;
 import com.itextpdf.kernel.pdf.PdfDocument;
 import com.itextpdf.kernel.pdf.PdfPage;
 import com.itextpdf.kernel.pdf.PdfReader;
 import com.itextpdf.kernel.pdf.PdfWriter;
 import com.itextpdf.kernel.pdf.action.PdfAction;
+import com.itextpdf.kernel.pdf.canvas.PdfCanvas;
+import com.itextpdf.kernel.pdf.xobject.PdfFormXObject;
+import com.itextpdf.layout.Canvas;
 import com.itextpdf.layout.Document;
 import com.itextpdf.layout.borders.Border;
 import com.itextpdf.layout.borders.SolidBorder;
@@ -48,9 +57,11 @@ import com.itextpdf.signatures.PdfSignature;
 import com.itextpdf.signatures.SignatureUtil;
 import java.io.File;
 
-import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.net.MalformedURLException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
 import java.text.DateFormat;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
@@ -64,8 +75,20 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 import java.util.logging.Logger;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+import javax.annotation.PreDestroy;
+import org.apache.commons.io.FileUtils;
 import org.cerberus.core.crud.entity.Parameter;
 import org.cerberus.core.crud.entity.Tag;
 import org.cerberus.core.crud.entity.Test;
@@ -79,6 +102,8 @@ import org.cerberus.core.crud.service.ITestCaseExecutionService;
 import org.cerberus.core.exception.CerberusException;
 import org.springframework.stereotype.Service;
 
+import org.cerberus.core.service.artifact.ExecutionArtifact;
+import org.cerberus.core.service.artifact.IExecutionArtifactStore;
 import org.cerberus.core.service.pdf.IPDFService;
 import org.cerberus.core.util.DateUtil;
 import org.cerberus.core.util.StringUtil;
@@ -100,6 +125,12 @@ public class PDFService implements IPDFService {
     private ITestCaseExecutionService testCaseExecutionService;
     @Autowired
     private IParameterService parameterService;
+    @Autowired
+    private IExecutionArtifactStore executionArtifactStore;
+
+    private ThreadPoolExecutor appendixExecutor;
+    private final Map<String, CampaignReport> reportCache = new ConcurrentHashMap<>();
+    private final Map<String, CompletableFuture<Void>> reportGenerationInProgress = new ConcurrentHashMap<>();
 
     private Table getTitleTable(String desc1, String desc2) {
         // Tittle
@@ -115,19 +146,22 @@ public class PDFService implements IPDFService {
     }
 
     @Override
-    public String generatePdf(Tag tag, Date today, String folder) throws FileNotFoundException {
+    public String generatePdf(Tag tag, Date today, String folder) throws IOException {
 
         UUID fileUUID = UUID.randomUUID();
         DateFormat df = new SimpleDateFormat(DateUtil.DATE_FORMAT_REPORT);
         DateFormat dfEnd = new SimpleDateFormat(DateUtil.DATE_FORMAT_REPORT_TIME);
 
         // Creating a PdfWriter
-        String dest = folder + File.separatorChar + "Campaign Execution Report tmp.pdf";
+        String dest = folder + File.separatorChar + "Campaign Execution Report.pdf";
         LOG.info("Starting to generate PDF Report on :" + dest);
         PdfWriter writer = new PdfWriter(dest);
 
         // Creating a PdfDocument       
         PdfDocument pdfDoc = new PdfDocument(writer);
+        // Headers and Footers are added when each page is ended.
+        HeaderFooterEventHandler headerFooter = new HeaderFooterEventHandler(tag, today, getLogoData(), true);
+        pdfDoc.addEventHandler(PdfDocumentEvent.END_PAGE, headerFooter);
 
         boolean displayCountryColumn = parameterService.getParameterBooleanByKey(Parameter.VALUE_cerberus_pdfcampaignreportdisplaycountry_boolean, "", true);
 
@@ -217,8 +251,7 @@ public class PDFService implements IPDFService {
             statColorMap.put(TestCaseExecution.CONTROLSTATUS_CA, TestCaseExecution.CONTROLSTATUS_CA_COL_EXT);
 
             // Map that will contain the nb of execution for global status.
-            List<TestCaseExecution> listOfExecutions = testCaseExecutionService.readLastExecutionAndExecutionInQueueByTag(tag.getTag());
-            Collections.sort(listOfExecutions, new SortExecution());
+            List<TestCaseExecution> listOfExecutions = getSortedExecutionList(tag);
 
             Map<String, Integer> statNbMap = new HashMap<>();
             for (TestCaseExecution execution : listOfExecutions) {
@@ -408,15 +441,14 @@ public class PDFService implements IPDFService {
                     .addCell(getStatusCell("OK", 1, 1).setTextAlignment(TextAlignment.RIGHT));
             document.add(tableTmp.setMarginLeft(40));
 
+            headerFooter.writeTotalNbOfPages(pdfDoc);
+
             // Closing the document
             LOG.info("Ending to generate PDF Report on :" + dest);
             return dest;
         } catch (ParseException | CerberusException | JSONException ex) {
-            LOG.error(ex, ex);
-        } catch (Exception ex) {
-            LOG.error(ex, ex);
+            throw new IOException("PDF Report could not be generated on " + dest, ex);
         }
-        return null;
     }
 
 // TEmporary version of method in order to retreive signature information from pdf file.
@@ -462,211 +494,213 @@ public class PDFService implements IPDFService {
     }
 
     @Override
-    public List<String> generatePdfAppendix(Tag tag, Date today, String folder) throws FileNotFoundException {
+    public List<String> generatePdfAppendix(Tag tag, Date today, String folder) throws IOException {
 
         List<String> destList = new ArrayList<>();
 
-        UUID fileUUID = UUID.randomUUID();
-
         // Load parameters
-        String mediaPath = parameterService.getParameterStringByKey(Parameter.VALUE_cerberus_exeautomedia_path, "", "");
-        mediaPath = StringUtil.addSuffixIfNotAlready(mediaPath, File.separator);
 
         boolean displayCountryColumn = parameterService.getParameterBooleanByKey(Parameter.VALUE_cerberus_pdfcampaignreportdisplaycountry_boolean, "", true);
 
-        /**
-         * Summary result per execution
-         */
-        List<TestCaseExecution> listOfExecutions;
-        int total_nb_pages = 0;
+        ImageData logo = getLogoData();
+
         try {
 
             // Getting and sorting list of executions.
-            listOfExecutions = testCaseExecutionService.readLastExecutionAndExecutionInQueueByTag(tag.getTag());
-            Collections.sort(listOfExecutions, new SortExecution());
+            List<TestCaseExecution> listOfExecutions = getSortedExecutionList(tag);
 
             // Calculating total nb of pages.
-            total_nb_pages = (listOfExecutions.size() / NB_EXECUTION_PER_APPENDIX_FILE) + 1;
+            int total_nb_pages = (listOfExecutions.size() / NB_EXECUTION_PER_APPENDIX_FILE) + 1;
 
-            int appendix_page;
-            boolean file_not_yet_created = false;
+            // Appendix files do not depend on each other so they are generated in parallel.
+            List<Future<String>> destFutureList = new ArrayList<>();
             for (int current_appendix_index = 1; current_appendix_index < total_nb_pages + 1; current_appendix_index++) {
+                String dest = folder + File.separatorChar + "Campaign Execution Report - Appendix " + current_appendix_index + ".pdf";
+                List<TestCaseExecution> appendixExecutions = listOfExecutions.subList((current_appendix_index - 1) * NB_EXECUTION_PER_APPENDIX_FILE,
+                        Math.min(current_appendix_index * NB_EXECUTION_PER_APPENDIX_FILE, listOfExecutions.size()));
+                int appendixIndex = current_appendix_index;
+                destFutureList.add(getAppendixExecutor().submit(()
+                        -> generatePdfAppendixFile(tag, today, dest, appendixExecutions, appendixIndex, total_nb_pages, displayCountryColumn, logo)));
+            }
+            for (Future<String> destFuture : destFutureList) {
+                destList.add(destFuture.get());
+            }
 
-                // Creating a PdfWriter
-                String dest = folder + File.separatorChar + "Campaign Execution Report Appendix " + current_appendix_index + " tmp.pdf";
-                destList.add(dest);
-                LOG.info("Starting to generate PDF Report on :" + dest);
-                PdfWriter writer = new PdfWriter(dest);
+        } catch (ParseException | CerberusException ex) {
+            throw new IOException("Error when getting the list of execution for pdf file generation.", ex);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted when waiting for pdf file generation.", ex);
+        } catch (ExecutionException ex) {
+            throw new IOException("PDF Report appendix could not be generated.", ex.getCause());
+        }
 
-                // Creating a PdfDocument       
-                PdfDocument pdfDoc = new PdfDocument(writer);
+        return destList;
+    }
+
+    private String generatePdfAppendixFile(Tag tag, Date today, String dest, List<TestCaseExecution> listOfExecutions, int current_appendix_index, int total_nb_pages,
+            boolean displayCountryColumn, ImageData logo) throws IOException {
+
+        // Creating a PdfWriter
+        LOG.info("Starting to generate PDF Report on :" + dest);
+        PdfWriter writer = new PdfWriter(dest);
 
-                try ( // Creating a Document
-                        Document document = new Document(pdfDoc)) {
+        // Creating a PdfDocument       
+        PdfDocument pdfDoc = new PdfDocument(writer);
+        // Headers and Footers are added when each page is ended.
+        HeaderFooterEventHandler headerFooter = new HeaderFooterEventHandler(tag, today, logo, false);
+        pdfDoc.addEventHandler(PdfDocumentEvent.END_PAGE, headerFooter);
 
-                    AreaBreak aB = new AreaBreak();
+        try ( // Creating a Document
+                Document document = new Document(pdfDoc)) {
 
-                    // Tittle
-                    document.add(getTitleTable("", ""));
+            AreaBreak aB = new AreaBreak();
 
-                    Table tableExe, tableTmp;
+            // Tittle
+            document.add(getTitleTable("", ""));
 
-                    tableTmp = new Table(new float[]{600})
-                            .addCell(new Cell().add(new Paragraph().add(getTextFromString("APPENDIX " + current_appendix_index + "/" + total_nb_pages, 20, true).setTextAlignment(TextAlignment.CENTER)).setTextAlignment(TextAlignment.CENTER)).setBorder(Border.NO_BORDER));
-                    document.add(tableTmp.setMarginTop(200));
+            Table tableExe, tableTmp;
 
-                    tableTmp = new Table(new float[]{600})
-                            .addCell(new Cell().add(new Paragraph().add(getTextFromString("Details of Execution Campaign", 20, true).setTextAlignment(TextAlignment.CENTER)).setTextAlignment(TextAlignment.CENTER)).setBorder(Border.NO_BORDER));
-                    document.add(tableTmp.setMarginTop(40));
+            tableTmp = new Table(new float[]{600})
+                    .addCell(new Cell().add(new Paragraph().add(getTextFromString("APPENDIX " + current_appendix_index + "/" + total_nb_pages, 20, true).setTextAlignment(TextAlignment.CENTER)).setTextAlignment(TextAlignment.CENTER)).setBorder(Border.NO_BORDER));
+            document.add(tableTmp.setMarginTop(200));
 
-                    /**
-                     * Detail information per execution
-                     */
-                    int i = 0;
-                    for (TestCaseExecution execution : listOfExecutions) {
-                        appendix_page = (i / NB_EXECUTION_PER_APPENDIX_FILE) + 1;
+            tableTmp = new Table(new float[]{600})
+                    .addCell(new Cell().add(new Paragraph().add(getTextFromString("Details of Execution Campaign", 20, true).setTextAlignment(TextAlignment.CENTER)).setTextAlignment(TextAlignment.CENTER)).setBorder(Border.NO_BORDER));
+            document.add(tableTmp.setMarginTop(40));
 
-                        // We display the execution only if exe is on the correct appendix file.
-                        if (appendix_page == current_appendix_index) {
+            /**
+             * Detail information per execution
+             */
+            for (TestCaseExecution execution : listOfExecutions) {
 
-                            document.add(aB);
+                document.add(aB);
 
-                            document.add(new Paragraph("Execution: " + execution.getId()).setBold().setFontSize(20).setTextAlignment(TextAlignment.CENTER).setDestination(String.valueOf(execution.getId())));
-                            // Adding exeution details
-                            String coloHex = getColor(execution.getControlStatus());
-                            document.add(new Paragraph(execution.getControlStatus() + " - " + execution.getDescription())
-                                    .setBackgroundColor(new DeviceRgb(decodeColor(coloHex, "R"), decodeColor(coloHex, "G"), decodeColor(coloHex, "B"))));
-                            document.add(new Paragraph()
-                                    .add(getTextFromString(String.valueOf(execution.getControlMessage()), 12, true)));
+                document.add(new Paragraph("Execution: " + execution.getId()).setBold().setFontSize(20).setTextAlignment(TextAlignment.CENTER).setDestination(String.valueOf(execution.getId())));
+                // Adding exeution details
+                String coloHex = getColor(execution.getControlStatus());
+                document.add(new Paragraph(execution.getControlStatus() + " - " + execution.getDescription())
+                        .setBackgroundColor(new DeviceRgb(decodeColor(coloHex, "R"), decodeColor(coloHex, "G"), decodeColor(coloHex, "B"))));
+                document.add(new Paragraph()
+                        .add(getTextFromString(String.valueOf(execution.getControlMessage()), 12, true)));
 
-                            if (displayCountryColumn) {
-                                tableExe = new Table(new float[]{200, 90, 20, 70, 80, 70, 70});
-                            } else {
-                                tableExe = new Table(new float[]{200, 90, 20, 70, 70, 70});
-                            }
-                            tableExe
-                                    .addHeaderCell(getHeaderCell("Test Folder"))
-                                    .addHeaderCell(getHeaderCell("Test ID"))
-                                    .addHeaderCell(getHeaderCell("Prio"))
-                                    .addHeaderCell(getHeaderCell("Application"));
-                            if (displayCountryColumn) {
-                                tableExe
-                                        .addHeaderCell(getHeaderCell("Country"));
-                            }
-                            tableExe
-                                    .addHeaderCell(getHeaderCell("Environment"))
-                                    .addHeaderCell(getHeaderCell("Robot"));
-                            tableExe
-                                    .addCell(execution.getTest())
-                                    .addCell(execution.getTestCase())
-                                    .addCell(String.valueOf(execution.getTestCasePriority()))
-                                    .addCell(execution.getApplication());
-                            if (displayCountryColumn) {
-                                tableExe
-                                        .addCell(execution.getCountry());
+                if (displayCountryColumn) {
+                    tableExe = new Table(new float[]{200, 90, 20, 70, 80, 70, 70});
+                } else {
+                    tableExe = new Table(new float[]{200, 90, 20, 70, 70, 70});
+                }
+                tableExe
+                        .addHeaderCell(getHeaderCell("Test Folder"))
+                        .addHeaderCell(getHeaderCell("Test ID"))
+                        .addHeaderCell(getHeaderCell("Prio"))
+                        .addHeaderCell(getHeaderCell("Application"));
+                if (displayCountryColumn) {
+                    tableExe
+                            .addHeaderCell(getHeaderCell("Country"));
+                }
+                tableExe
+                        .addHeaderCell(getHeaderCell("Environment"))
+                        .addHeaderCell(getHeaderCell("Robot"));
+                tableExe
+                        .addCell(execution.getTest())
+                        .addCell(execution.getTestCase())
+                        .addCell(String.valueOf(execution.getTestCasePriority()))
+                        .addCell(execution.getApplication());
+                if (displayCountryColumn) {
+                    tableExe
+                            .addCell(execution.getCountry());
 
+                }
+                tableExe
+                        .addCell(execution.getEnvironment())
+                        .addCell(execution.getRobot());
+                document.add(tableExe.setMarginTop(10).setMarginBottom(10));
+
+                @SuppressWarnings("unchecked")
+                TestCaseExecution exec = testCaseExecutionService.convert(testCaseExecutionService.readByKeyWithDependency(execution.getId()));
+                String desc = "";
+
+                for (TestCaseStepExecution step : exec.getTestCaseStepExecutionList()) {
+                    if (!TestCaseExecution.CONTROLSTATUS_NE.equals(step.getReturnCode())) {
+
+                        // Creating a table
+                        tableTmp = new Table(new float[]{500, 20})
+                                .addCell(new Cell().add(new Paragraph().add(getTextFromString(getElementDescription(step.getDescription(), step.getSort(), step.getIndex(), step.getTest()), 12, true).setTextAlignment(TextAlignment.LEFT)))
+                                        .setBorder(Border.NO_BORDER).setBorderLeft(new SolidBorder(ColorConstants.CYAN, 3)).setBorderRight(new SolidBorder(1)).setBorderTop(new SolidBorder(1)).setBorderBottom(new SolidBorder(1)))
+                                .addCell(getStatusCell(step.getReturnCode(), 1, 1).setTextAlignment(TextAlignment.RIGHT));
+                        document.add(tableTmp.setMarginLeft(0).setMarginTop(20));
+
+                        document.add(new Paragraph()
+                                .add(getTextFromString(String.valueOf(step.getReturnMessage()), 10, false))
+                                .setMarginLeft(0)
+                        );
+
+                        // Add images is exist
+                        tableTmp = getImageTable(step.getFileList());
+                        if (tableTmp != null) {
+                            document.add(tableTmp.setMarginLeft(0));
+                        }
+
+                    }
+
+                    for (TestCaseStepActionExecution action : step.getTestCaseStepActionExecutionList()) {
+                        if (!TestCaseExecution.CONTROLSTATUS_NE.equals(action.getReturnCode())) {
+                            tableTmp = new Table(new float[]{500, 20})
+                                    .addCell(new Cell().add(new Paragraph().add(getTextFromString(getElementDescription(action.getDescription(), action.getSort(), 0, action.getTest()), 12, true).setTextAlignment(TextAlignment.LEFT)))
+                                            .setBorder(Border.NO_BORDER).setBorderLeft(new SolidBorder(ColorConstants.BLUE, 3)).setBorderRight(new SolidBorder(1)).setBorderTop(new SolidBorder(1)).setBorderBottom(new SolidBorder(1)))
+                                    .addCell(getStatusCell(action.getReturnCode(), 1, 1).setTextAlignment(TextAlignment.RIGHT));
+                            document.add(tableTmp.setMarginLeft(20));
+
+                            document.add(new Paragraph()
+                                    .add(getTextFromString(String.valueOf(action.getReturnMessage()), 10, false))
+                                    .setMarginLeft(20)
+                            );
+
+                            // Add images is exist
+                            tableTmp = getImageTable(action.getFileList());
+                            if (tableTmp != null) {
+                                document.add(tableTmp.setMarginLeft(20));
                             }
-                            tableExe
-                                    .addCell(execution.getEnvironment())
-                                    .addCell(execution.getRobot());
-                            document.add(tableExe.setMarginTop(10).setMarginBottom(10));
-
-                            @SuppressWarnings("unchecked")
-                            TestCaseExecution exec = testCaseExecutionService.convert(testCaseExecutionService.readByKeyWithDependency(execution.getId()));
-                            String desc = "";
-
-                            for (TestCaseStepExecution step : exec.getTestCaseStepExecutionList()) {
-                                if (!TestCaseExecution.CONTROLSTATUS_NE.equals(step.getReturnCode())) {
-
-                                    // Creating a table
-                                    tableTmp = new Table(new float[]{500, 20})
-                                            .addCell(new Cell().add(new Paragraph().add(getTextFromString(getElementDescription(step.getDescription(), step.getSort(), step.getIndex(), step.getTest()), 12, true).setTextAlignment(TextAlignment.LEFT)))
-                                                    .setBorder(Border.NO_BORDER).setBorderLeft(new SolidBorder(ColorConstants.CYAN, 3)).setBorderRight(new SolidBorder(1)).setBorderTop(new SolidBorder(1)).setBorderBottom(new SolidBorder(1)))
-                                            .addCell(getStatusCell(step.getReturnCode(), 1, 1).setTextAlignment(TextAlignment.RIGHT));
-                                    document.add(tableTmp.setMarginLeft(0).setMarginTop(20));
-
-                                    document.add(new Paragraph()
-                                            .add(getTextFromString(String.valueOf(step.getReturnMessage()), 10, false))
-                                            .setMarginLeft(0)
-                                    );
-
-                                    // Add images is exist
-                                    tableTmp = getImageTable(step.getFileList(), mediaPath);
-                                    if (tableTmp != null) {
-                                        document.add(tableTmp.setMarginLeft(0));
-                                    }
 
-                                }
+                        }
 
-                                for (TestCaseStepActionExecution action : step.getTestCaseStepActionExecutionList()) {
-                                    if (!TestCaseExecution.CONTROLSTATUS_NE.equals(action.getReturnCode())) {
-                                        tableTmp = new Table(new float[]{500, 20})
-                                                .addCell(new Cell().add(new Paragraph().add(getTextFromString(getElementDescription(action.getDescription(), action.getSort(), 0, action.getTest()), 12, true).setTextAlignment(TextAlignment.LEFT)))
-                                                        .setBorder(Border.NO_BORDER).setBorderLeft(new SolidBorder(ColorConstants.BLUE, 3)).setBorderRight(new SolidBorder(1)).setBorderTop(new SolidBorder(1)).setBorderBottom(new SolidBorder(1)))
-                                                .addCell(getStatusCell(action.getReturnCode(), 1, 1).setTextAlignment(TextAlignment.RIGHT));
-                                        document.add(tableTmp.setMarginLeft(20));
-
-                                        document.add(new Paragraph()
-                                                .add(getTextFromString(String.valueOf(action.getReturnMessage()), 10, false))
-                                                .setMarginLeft(20)
-                                        );
-
-                                        // Add images is exist
-                                        tableTmp = getImageTable(action.getFileList(), mediaPath);
-                                        if (tableTmp != null) {
-                                            document.add(tableTmp.setMarginLeft(20));
-                                        }
-
-                                    }
-
-                                    for (TestCaseStepActionControlExecution control : action.getTestCaseStepActionControlExecutionList()) {
-
-                                        if (!TestCaseExecution.CONTROLSTATUS_NE.equals(control.getReturnCode())) {
-                                            tableTmp = new Table(new float[]{500, 20})
-                                                    .addCell(new Cell().add(new Paragraph().add(getTextFromString(getElementDescription(control.getDescription(), control.getSort(), 0, control.getTest()), 12, true).setTextAlignment(TextAlignment.LEFT)))
-                                                            .setBorder(Border.NO_BORDER).setBorderLeft(new SolidBorder(ColorConstants.GREEN, 3)).setBorderRight(new SolidBorder(1)).setBorderTop(new SolidBorder(1)).setBorderBottom(new SolidBorder(1)))
-                                                    .addCell(getStatusCell(control.getReturnCode(), 1, 1).setTextAlignment(TextAlignment.RIGHT));
-                                            document.add(tableTmp.setMarginLeft(40));
-
-                                            document.add(new Paragraph()
-                                                    .add(getTextFromString(String.valueOf(control.getReturnMessage()), 10, false))
-                                                    .setMarginLeft(40)
-                                            );
-
-                                            // Add images is exist
-                                            tableTmp = getImageTable(control.getFileList(), mediaPath);
-                                            if (tableTmp != null) {
-                                                document.add(tableTmp.setMarginLeft(40));
-                                            }
-                                        }
-
-                                    }
+                        for (TestCaseStepActionControlExecution control : action.getTestCaseStepActionControlExecutionList()) {
 
-                                }
+                            if (!TestCaseExecution.CONTROLSTATUS_NE.equals(control.getReturnCode())) {
+                                tableTmp = new Table(new float[]{500, 20})
+                                        .addCell(new Cell().add(new Paragraph().add(getTextFromString(getElementDescription(control.getDescription(), control.getSort(), 0, control.getTest()), 12, true).setTextAlignment(TextAlignment.LEFT)))
+                                                .setBorder(Border.NO_BORDER).setBorderLeft(new SolidBorder(ColorConstants.GREEN, 3)).setBorderRight(new SolidBorder(1)).setBorderTop(new SolidBorder(1)).setBorderBottom(new SolidBorder(1)))
+                                        .addCell(getStatusCell(control.getReturnCode(), 1, 1).setTextAlignment(TextAlignment.RIGHT));
+                                document.add(tableTmp.setMarginLeft(40));
+
+                                document.add(new Paragraph()
+                                        .add(getTextFromString(String.valueOf(control.getReturnMessage()), 10, false))
+                                        .setMarginLeft(40)
+                                );
 
+                                // Add images is exist
+                                tableTmp = getImageTable(control.getFileList());
+                                if (tableTmp != null) {
+                                    document.add(tableTmp.setMarginLeft(40));
+                                }
                             }
+
                         }
 
-                        i++;
                     }
 
-                    // Closing the document
-                    LOG.info("Ending to generate PDF Report on :" + dest);
-                } catch (CerberusException ex) {
-                    LOG.error(ex, ex);
-                } catch (Exception ex) {
-                    LOG.error(ex, ex);
                 }
 
             }
 
-        } catch (ParseException | CerberusException ex) {
-            LOG.error("Error when getting the list of execution for pdf file generation.", ex);
-        } catch (Exception ex) {
-            LOG.error(ex, ex);
-        }
+            headerFooter.writeTotalNbOfPages(pdfDoc);
 
-        return destList;
+            // Closing the document
+            LOG.info("Ending to generate PDF Report on :" + dest);
+        } catch (CerberusException ex) {
+            throw new IOException("PDF Report could not be generated on " + dest, ex);
+        }
+        return dest;
     }
 
     private String getElementDescription(String desc, int sort, int seq, String test) {
@@ -682,64 +716,314 @@ public class PDFService implements IPDFService {
     }
 
     @Override
-    public String addHeaderAndFooter(String pdfFilePathSrc, String destinationFile, Tag tag, Date today, boolean withLogo) throws FileNotFoundException {
+    public void writeCampaignReportZip(Tag tag, Date today, String filePostName, OutputStream outputStream) throws IOException {
+
+        CampaignReport report = getCampaignReport(tag, today);
         try {
-            LOG.info("Starting to add Headers on PDF Report :" + pdfFilePathSrc + " To : " + destinationFile);
+            // Zip is streamed directly to the caller.
+            ZipOutputStream zipOut = new ZipOutputStream(outputStream);
+            int i = 0;
+            for (String filePath : report.getFiles()) {
+                if (i == 0) {
+                    zipOut.putNextEntry(new ZipEntry("Campaign Execution-" + filePostName + ".pdf"));
+                } else {
+                    zipOut.putNextEntry(new ZipEntry("Campaign Execution-" + filePostName + " - Appendix " + i + ".pdf"));
+                }
+                Files.copy(Paths.get(filePath), zipOut);
+                zipOut.closeEntry();
+                i++;
+            }
+            zipOut.finish();
+            zipOut.flush();
+        } finally {
+            report.release();
+            if (parameterService.getParameterIntegerByKey(Parameter.VALUE_cerberus_pdfcampaignreport_cachesize, "", 10) <= 0) {
+                reportCache.remove(tag.getTag(), report);
+                report.evict();
+            }
+        }
 
-            String logoURL = parameterService.getParameterStringByKey(Parameter.VALUE_cerberus_instancelogo_url, "", "https://vm.cerberus-testing.org/img/logo.png");
-            // Tittle
-            ImageData imageDataLogo;
+    }
+
+    /**
+     * Get the report of the tag from cache or generate it if tag changed since
+     * last generation or was generated another day. Returned report is
+     * acquired and must be released. A report that failed to generate is
+     * never cached.
+     */
+    private CampaignReport getCampaignReport(Tag tag, Date today) throws IOException {
+
+        String signature = new SimpleDateFormat("yyyy-MM-dd").format(today) + "|" + getReportSignature(tag);
+
+        while (true) {
+            CampaignReport report = reportCache.get(tag.getTag());
+            if (report != null && report.getSignature().equals(signature) && report.acquire()) {
+                LOG.debug("PDF Report of '" + tag.getTag() + "' served from cache.");
+                return report;
+            }
+
+            // Only 1 generation at a time per tag. Other requests wait for it and get it from cache.
+            CompletableFuture<Void> generation = new CompletableFuture<>();
+            CompletableFuture<Void> currentGeneration = reportGenerationInProgress.putIfAbsent(tag.getTag(), generation);
+            if (currentGeneration != null) {
+                try {
+                    currentGeneration.get();
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException("Interrupted when waiting for PDF report generation of '" + tag.getTag() + "'.", ex);
+                } catch (ExecutionException ex) {
+                    LOG.debug(ex, ex);
+                }
+                continue;
+            }
+
+            File folder = new File(getReportRootFolder(), UUID.randomUUID().toString());
+            try {
+                folder.mkdirs();
+                List<String> files = new ArrayList<>();
+                try {
+                    files.add(generatePdf(tag, today, folder.getPath()));
+                    files.addAll(generatePdfAppendix(tag, today, folder.getPath()));
+                } catch (IOException | RuntimeException ex) {
+                    // Only the files of that report are removed.
+                    FileUtils.deleteQuietly(folder);
+                    throw new IOException("PDF Report of '" + tag.getTag() + "' could not be generated.", ex);
+                }
+
+                CampaignReport newReport = new CampaignReport(signature, folder, files);
+                newReport.acquire();
+                CampaignReport oldReport = reportCache.put(tag.getTag(), newReport);
+                if (oldReport != null) {
+                    oldReport.evict();
+                }
+                evictOldReports(parameterService.getParameterIntegerByKey(Parameter.VALUE_cerberus_pdfcampaignreport_cachesize, "", 10));
+                return newReport;
+            } finally {
+                reportGenerationInProgress.remove(tag.getTag());
+                generation.complete(null);
+            }
+        }
+    }
+
+    private void evictOldReports(int cacheSize) {
+        while (reportCache.size() > Math.max(cacheSize, 1)) {
+            Map.Entry<String, CampaignReport> oldest = null;
+            for (Map.Entry<String, CampaignReport> entry : reportCache.entrySet()) {
+                if (oldest == null || entry.getValue().getLastAccess() < oldest.getValue().getLastAccess()) {
+                    oldest = entry;
+                }
+            }
+            if (oldest == null) {
+                return;
+            }
+            if (reportCache.remove(oldest.getKey(), oldest.getValue())) {
+                LOG.debug("PDF Report of '" + oldest.getKey() + "' removed from cache.");
+                oldest.getValue().evict();
+            }
+        }
+    }
+
+    /**
+     * Any change on the tag, its executions or the parameters used for the
+     * generation produce a different signature.
+     */
+    private String getReportSignature(Tag tag) {
+        StringBuilder sign = new StringBuilder();
+        sign.append(tag.getDateModif()).append("|").append(tag.getDateEndQueue()).append("|")
+                .append(tag.getNbExe()).append("|").append(tag.getNbExeUsefull()).append("|")
+                .append(tag.getCiResult()).append("|").append(tag.getComment()).append("|").append(tag.getDescription()).append("|")
+                .append(parameterService.getParameterBooleanByKey(Parameter.VALUE_cerberus_pdfcampaignreportdisplaycountry_boolean, "", true)).append("|")
+                .append(parameterService.getParameterStringByKey(Parameter.VALUE_cerberus_instancelogo_url, "", ""));
+        if (tag.getExecutionsNew() != null) {
+            for (TestCaseExecution execution : tag.getExecutionsNew()) {
+                sign.append("|").append(execution.getId()).append(execution.getControlStatus());
+            }
+        }
+        return sign.toString();
+    }
+
+    private File getReportRootFolder() {
+        // Folder is shared with other instances running on the same host so it is never cleaned as a whole.
+        File rootFolder = new File(System.getProperty("java.io.tmpdir", File.separator + "tmp"), "cerberus_campaignreport");
+        rootFolder.mkdirs();
+        return rootFolder;
+    }
+
+    private synchronized ExecutorService getAppendixExecutor() {
+        int poolSize = Math.max(1, parameterService.getParameterIntegerByKey(Parameter.VALUE_cerberus_pdfcampaignreport_threadpoolsize, "", 4));
+        if (appendixExecutor == null) {
+            appendixExecutor = new ThreadPoolExecutor(poolSize, poolSize, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>());
+            appendixExecutor.allowCoreThreadTimeOut(true);
+        } else if (poolSize > appendixExecutor.getMaximumPoolSize()) {
+            appendixExecutor.setMaximumPoolSize(poolSize);
+            appendixExecutor.setCorePoolSize(poolSize);
+        } else if (poolSize < appendixExecutor.getMaximumPoolSize()) {
+            appendixExecutor.setCorePoolSize(poolSize);
+            appendixExecutor.setMaximumPoolSize(poolSize);
+        }
+        return appendixExecutor;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (appendixExecutor != null) {
+            appendixExecutor.shutdownNow();
+        }
+        // Files of the reports generated by this instance are removed.
+        for (CampaignReport report : reportCache.values()) {
+            report.evict();
+        }
+        reportCache.clear();
+    }
+
+    private List<TestCaseExecution> getSortedExecutionList(Tag tag) throws CerberusException, ParseException {
+        List<TestCaseExecution> listOfExecutions;
+        if (tag.getExecutionsNew() != null) {
+            listOfExecutions = new ArrayList<>(tag.getExecutionsNew());
+        } else {
+            listOfExecutions = testCaseExecutionService.readLastExecutionAndExecutionInQueueByTag(tag.getTag());
+        }
+        Collections.sort(listOfExecutions, new SortExecution());
+        return listOfExecutions;
+    }
+
+    private ImageData getLogoData() {
+        String logoURL = parameterService.getParameterStringByKey(Parameter.VALUE_cerberus_instancelogo_url, "", "https://vm.cerberus-testing.org/img/logo.png");
+        try {
             if (StringUtil.isNotEmptyOrNullValue(logoURL)) {
-                imageDataLogo = ImageDataFactory.create(logoURL);
+                return ImageDataFactory.create(logoURL);
             } else {
-                imageDataLogo = ImageDataFactory.create("https://vm.cerberus-testing.org/img/logo.png");
+                return ImageDataFactory.create("https://vm.cerberus-testing.org/img/logo.png");
             }
-            Image image = new Image(imageDataLogo).scaleToFit(50, 25);
+        } catch (MalformedURLException | com.itextpdf.io.exceptions.IOException ex) {
+            LOG.warn("Could not load logo from '" + logoURL + "'. PDF Report will be generated without logo.", ex);
+            return null;
+        }
+    }
 
+    /**
+     * Add Headers and Footers on every page when the page is ended. Total nb
+     * of pages is unknown at that time so it is written in a placeholder that
+     * is filled just before the document is closed.
+     */
+    private static class HeaderFooterEventHandler implements IEventHandler {
+
+        private static final float FONT_SIZE = 5;
+
+        private final Paragraph headerRight;
+        private final Image logo;
+        private final boolean withLogo;
+        private final String footerLeftText;
+        private final PdfFormXObject totalNbOfPagesPlaceholder = new PdfFormXObject(new Rectangle(0, 0, 30, 20));
+        private PdfFont font;
+
+        HeaderFooterEventHandler(Tag tag, Date today, ImageData logoData, boolean withLogo) {
+            this.headerRight = new Paragraph("Campaign Execution Report - " + tag.getTag())
+                    .setFontSize(FONT_SIZE).setItalic().setTextAlignment(TextAlignment.RIGHT).setWidth(400);
+            this.logo = logoData == null ? null : new Image(logoData).scaleToFit(50, 25);
+            this.withLogo = withLogo;
             DateFormat df = new SimpleDateFormat(DateUtil.DATE_FORMAT_REPORT);
+            this.footerLeftText = "(C) Cerberus Testing - " + df.format(today);
+        }
 
-            // Adding Headers and Footers
-            Paragraph headerRight = new Paragraph("Campaign Execution Report - " + tag.getTag())
-                    .setFontSize(5).setItalic().setTextAlignment(TextAlignment.RIGHT).setWidth(400);
-            Paragraph headerLeft = new Paragraph()
-                    .setFontSize(5).setItalic().add(image);
-
-            PdfDocument pdfDoc = new PdfDocument(new PdfReader(pdfFilePathSrc), new PdfWriter(destinationFile));
-            Document doc = new Document(pdfDoc);
-            for (int i = 1; i <= pdfDoc.getNumberOfPages(); i++) {
-
-                Rectangle pageSize = pdfDoc.getPage(i).getPageSize();
-                PdfPage curPage = pdfDoc.getPage(i);
+        @Override
+        public void handleEvent(Event event) {
+            PdfDocumentEvent docEvent = (PdfDocumentEvent) event;
+            PdfDocument pdfDoc = docEvent.getDocument();
+            PdfPage page = docEvent.getPage();
+            int i = pdfDoc.getPageNumber(page);
+            Rectangle pageSize = page.getPageSize();
+            PdfCanvas pdfCanvas = new PdfCanvas(page.newContentStreamAfter(), page.getResources(), pdfDoc);
+
+            try (Canvas canvas = new Canvas(pdfCanvas, pageSize)) {
+                if (font == null) {
+                    font = PdfFontFactory.createFont(StandardFonts.HELVETICA);
+                }
+                canvas.setFont(font);
 
-                // Header insert (no header on first page)
-//                if (i != 1) {
-                LOG.debug("headerRight x " + pageSize.getWidth() + " y " + (pageSize.getTop() - 20));
-                doc.showTextAligned(headerRight, 570, pageSize.getTop() - 20, i, TextAlignment.RIGHT, VerticalAlignment.TOP, 0);
+                // Header insert
+                canvas.showTextAligned(headerRight, 570, pageSize.getTop() - 20, TextAlignment.RIGHT, VerticalAlignment.TOP);
                 // Logo is always displayed on 1st page. It is displayed on other page only if logo flag is activated.
-                if (withLogo || i == 1) {
-                    LOG.debug("headerLeft x " + (20) + " y " + (pageSize.getTop() - 20));
-                    doc.showTextAligned(headerLeft, 20, pageSize.getTop() - 40, i, TextAlignment.LEFT, VerticalAlignment.BOTTOM, 0);
-
+                if (logo != null && (withLogo || i == 1)) {
+                    canvas.showTextAligned(new Paragraph().setFontSize(FONT_SIZE).setItalic().add(logo), 20, pageSize.getTop() - 40, TextAlignment.LEFT, VerticalAlignment.BOTTOM);
                 }
-//                }
 
                 // Footer insert
-                Paragraph footerRight = new Paragraph("Page " + i + " / " + pdfDoc.getNumberOfPages())
-                        .setFontSize(5).setItalic();
-                Paragraph footerLeft = new Paragraph("(C) Cerberus Testing - " + df.format(today))
-                        .setFontSize(5).setItalic();
+                String footerRightText = "Page " + i + " / ";
+                canvas.showTextAligned(new Paragraph(footerRightText).setFontSize(FONT_SIZE).setItalic(), pageSize.getRight() - 60, pageSize.getBottom() + 20, TextAlignment.LEFT, VerticalAlignment.BOTTOM);
+                canvas.showTextAligned(new Paragraph(footerLeftText).setFontSize(FONT_SIZE).setItalic(), 20, pageSize.getBottom() + 20, TextAlignment.LEFT, VerticalAlignment.BOTTOM);
+                pdfCanvas.addXObjectAt(totalNbOfPagesPlaceholder, pageSize.getRight() - 60 + font.getWidth(footerRightText, FONT_SIZE), pageSize.getBottom() + 20);
+            } catch (IOException ex) {
+                LOG.error(ex, ex);
+            }
+            pdfCanvas.release();
+        }
 
-                doc.showTextAligned(footerRight, pageSize.getRight() - 60, pageSize.getBottom() + 20, i, TextAlignment.LEFT, VerticalAlignment.BOTTOM, 0);
-                doc.showTextAligned(footerLeft, 20, pageSize.getBottom() + 20, i, TextAlignment.LEFT, VerticalAlignment.BOTTOM, 0);
+        void writeTotalNbOfPages(PdfDocument pdfDoc) {
+            try (Canvas canvas = new Canvas(totalNbOfPagesPlaceholder, pdfDoc)) {
+                if (font != null) {
+                    canvas.setFont(font);
+                }
+                canvas.showTextAligned(new Paragraph(String.valueOf(pdfDoc.getNumberOfPages())).setFontSize(FONT_SIZE).setItalic(), 0, 0, TextAlignment.LEFT, VerticalAlignment.BOTTOM);
+            }
+        }
 
+    }
+
+    /**
+     * Generated files of a campaign report. Files are deleted once the report
+     * is evicted from cache and no longer being sent.
+     */
+    private static class CampaignReport {
+
+        private final String signature;
+        private final File folder;
+        private final List<String> files;
+        private long lastAccess;
+        private int nbUsers;
+        private boolean evicted;
+
+        CampaignReport(String signature, File folder, List<String> files) {
+            this.signature = signature;
+            this.folder = folder;
+            this.files = files;
+            this.lastAccess = System.currentTimeMillis();
+        }
+
+        String getSignature() {
+            return signature;
+        }
+
+        List<String> getFiles() {
+            return files;
+        }
+
+        synchronized long getLastAccess() {
+            return lastAccess;
+        }
+
+        synchronized boolean acquire() {
+            if (evicted) {
+                return false;
+            }
+            nbUsers++;
+            lastAccess = System.currentTimeMillis();
+            return true;
+        }
+
+        synchronized void release() {
+            nbUsers--;
+            if (evicted && nbUsers <= 0) {
+                FileUtils.deleteQuietly(folder);
             }
-            doc.close();
-            LOG.info("Ended to add Headers on PDF Report :" + pdfFilePathSrc + " To : " + destinationFile);
+        }
 
-        } catch (IOException ex) {
-            LOG.error(ex, ex);
+        synchronized void evict() {
+            evicted = true;
+            if (nbUsers <= 0) {
+                FileUtils.deleteQuietly(folder);
+            }
         }
-        return destinationFile;
 
     }
 
@@ -753,7 +1037,7 @@ public class PDFService implements IPDFService {
         }
     }
 
-    private Table getImageTable(List<TestCaseExecutionFile> fileList, String mediaPath) {
+    private Table getImageTable(List<TestCaseExecutionFile> fileList) {
         Table tableTmp = null;
         boolean imageInserted = false;
         // We count the nb of images in the file list.
@@ -775,10 +1059,10 @@ public class PDFService implements IPDFService {
                     // Load screenshots to pdf.
                     ImageData imageData;
                     try {
-                        File f = new File(mediaPath + controlFile.getFileName());
+                        ExecutionArtifact picture = executionArtifactStore.read(controlFile.getFileName());
                         imageInserted = true;
-                        if (f.exists()) {
-                            imageData = ImageDataFactory.create(mediaPath + controlFile.getFileName());
+                        if (picture != null) {
+                            imageData = ImageDataFactory.create(picture.getContent());
                             Image image = new Image(imageData).scaleToFit(500, 200);
                             tableTmp.addCell(new Cell().add(new Paragraph().add(getTextFromString(controlFile.getFileDesc(), 7, false)).setTextAlignment(TextAlignment.LEFT))
                                     .setBorder(Border.NO_BORDER).setVerticalAlignment(VerticalAlignment.MIDDLE))
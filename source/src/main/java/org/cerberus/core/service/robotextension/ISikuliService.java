@@ -19,7 +19,6 @@
  */
 package org.cerberus.core.service.robotextension;
 
-import java.io.File;
 
 import org.cerberus.core.engine.entity.Identifier;
 import org.cerberus.core.engine.entity.MessageEvent;
@@ -96,7 +95,7 @@ public interface ISikuliService {
      * @param session
      * @return
      */
-    public File takeScreenShotFile(Session session);
+    public byte[] takeScreenShotBytes(Session session);
 
     /**
      *
@@ -21,7 +21,6 @@ package org.cerberus.core.service.robotextension.impl;
 
 import java.io.BufferedInputStream;
 import java.io.BufferedReader;
-import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
@@ -33,9 +32,7 @@ import java.net.MalformedURLException;
 import java.net.Proxy;
 import java.net.URL;
 import java.net.URLConnection;
-import java.util.UUID;
 import org.apache.commons.codec.binary.Base64;
-import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.IOUtils;
 import org.apache.logging.log4j.Logger;
 import org.apache.logging.log4j.LogManager;
@@ -817,31 +814,20 @@ public class SikuliService implements ISikuliService {
     }
 
     @Override
-    public File takeScreenShotFile(Session session) {
-        File image = null;
-        long timeout = System.currentTimeMillis() + (session.getCerberus_selenium_wait_element());
-
+    public byte[] takeScreenShotBytes(Session session) {
         try {
             AnswerItem<JSONObject> actionResult = doSikuliAction(session, this.SIKULI_CAPTURE, null, null, "", "");
             String screenshotInBase64 = actionResult.getItem().getString("screenshot");
             byte[] data = Base64.decodeBase64(screenshotInBase64);
 
-            image = new File("screenshotsikuli" + UUID.randomUUID().toString().subSequence(0, 14) + ".png");
-            FileUtils.writeByteArrayToFile(image, data);
-
-            if (image != null) {
-                //logs for debug purposes
-                LOG.info("Screenshot taken with succes: " + image.getName() + " (size : " + image.length() + " b)");
-            } else {
-                LOG.warn("Screenshot returned null: ");
-            }
+            //logs for debug purposes
+            LOG.info("Screenshot taken with succes (size : " + data.length + " b)");
+            return data;
 
         } catch (JSONException ex) {
             LOG.warn(ex);
-        } catch (IOException ex) {
-            LOG.warn(ex);
         }
-        return image;
+        return null;
     }
 
 }
@@ -88,4 +88,16 @@ public interface IRobotProxyService {
      * @throws CerberusEventException
      */
     public Integer getHitsNb(String exHost, Integer exPort, String exUuid) throws CerberusEventException;
+
+    /**
+     * Wait until the proxy stops recording new hits so that the HAR is
+     * complete, polling quickly up to a short deadline.
+     *
+     * @param exHost
+     * @param exPort
+     * @param exUuid
+     * @param timeoutMs
+     * @return true if the HAR was stable before the deadline.
+     */
+    public boolean waitForHarReady(String exHost, Integer exPort, String exUuid, long timeoutMs);
 }
@@ -252,4 +252,29 @@ public class RobotProxyService implements IRobotProxyService {
         }
         return nbHits;
     }
+
+    @Override
+    public boolean waitForHarReady(String exHost, Integer exPort, String exUuid, long timeoutMs) {
+        long deadline = System.currentTimeMillis() + timeoutMs;
+        long pollMs = 100;
+        try {
+            Integer nbHits = getHitsNb(exHost, exPort, exUuid);
+            while (System.currentTimeMillis() + pollMs < deadline) {
+                Thread.sleep(pollMs);
+                Integer nbHitsNew = getHitsNb(exHost, exPort, exUuid);
+                if (nbHitsNew.equals(nbHits)) {
+                    LOG.debug("HAR ready with {} hits (uuid : {}).", nbHits, exUuid);
+                    return true;
+                }
+                nbHits = nbHitsNew;
+                pollMs = Math.min(pollMs * 2, 500);
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } catch (CerberusEventException ex) {
+            LOG.warn("Exception when waiting for HAR to be ready.", ex);
+        }
+        LOG.debug("HAR still not stable after {} ms (uuid : {}).", timeoutMs, exUuid);
+        return false;
+    }
 }
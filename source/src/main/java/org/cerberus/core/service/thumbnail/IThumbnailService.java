@@ -0,0 +1,84 @@
+/**
+ * Cerberus Copyright (C) 2013 - 2017 cerberustesting
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This file is part of Cerberus.
+ *
+ * Cerberus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Cerberus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Cerberus.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cerberus.core.service.thumbnail;
+
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import org.cerberus.core.service.artifact.ExecutionArtifact;
+
+public interface IThumbnailService {
+
+    /**
+     * Generate in background the thumbnails of all standard sizes of an
+     * execution artifact so that they can be served without decoding the
+     * picture.
+     *
+     * @param relativeFilename name of the picture in the artifact store
+     */
+    void generateThumbnailsAsync(String relativeFilename);
+
+    /**
+     * Get the thumbnail of a picture from the artifact store. Thumbnail is
+     * generated and stored if it does not exist yet or is older than the
+     * picture.
+     *
+     * @param picture
+     * @param width
+     * @param height
+     * @return the thumbnail or null if size is not a standard size.
+     * @throws IOException
+     */
+    ExecutionArtifact getThumbnail(ExecutionArtifact picture, int width, int height) throws IOException;
+
+    /**
+     * Get the thumbnail file of a picture that is not in the artifact store
+     * (manual execution files). Thumbnail is generated if it does
+     * not exist yet or is older than the picture.
+     *
+     * @param picture
+     * @param width
+     * @param height
+     * @return the thumbnail file or null if size is not a standard size.
+     * @throws IOException
+     */
+    File getThumbnail(File picture, int width, int height) throws IOException;
+
+    /**
+     * Resize the image in order to fit inside width x height. Too thin or too
+     * long images are cropped instead.
+     *
+     * @param image
+     * @param width
+     * @param height
+     * @return
+     */
+    BufferedImage resize(BufferedImage image, int width, int height);
+
+    /**
+     *
+     * @param image
+     * @param width
+     * @param height
+     * @return true if the image will be cropped instead of resized.
+     */
+    boolean isCropNeeded(BufferedImage image, int width, int height);
+
+}
@@ -0,0 +1,192 @@
+/**
+ * Cerberus Copyright (C) 2013 - 2017 cerberustesting
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This file is part of Cerberus.
+ *
+ * Cerberus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Cerberus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Cerberus.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cerberus.core.service.thumbnail.impl;
+
+import com.mortennobel.imagescaling.DimensionConstrain;
+import com.mortennobel.imagescaling.ResampleOp;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.imageio.ImageIO;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.cerberus.core.service.artifact.ExecutionArtifact;
+import org.cerberus.core.service.artifact.IExecutionArtifactStore;
+import org.cerberus.core.service.thumbnail.IThumbnailService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+/**
+ * Thumbnails are stored next to the picture (picture.png.thumb-WxH.png) so
+ * that the execution pages do not decode and resize the full screenshots on
+ * every request. Thumbnails of execution artifacts are artifacts themselves.
+ */
+@Service
+public class ThumbnailService implements IThumbnailService {
+
+    private static final Logger LOG = LogManager.getLogger(ThumbnailService.class);
+
+    /**
+     * Sizes requested by the GUI (execution detail page, file modal and
+     * default size).
+     */
+    private static final int[][] STANDARD_SIZES = {{60, 30}, {150, 100}, {560, 400}};
+    private static final String THUMBNAIL_SUFFIX = ".thumb-";
+    private static final int MAX_QUEUED_GENERATION = 1000;
+
+    @Autowired
+    private IExecutionArtifactStore executionArtifactStore;
+
+    private ThreadPoolExecutor executor;
+
+    @PostConstruct
+    public void init() {
+        // When the queue is full, generation is skipped and done on first request.
+        executor = new ThreadPoolExecutor(2, 2, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(MAX_QUEUED_GENERATION), new ThreadPoolExecutor.DiscardPolicy());
+        executor.allowCoreThreadTimeOut(true);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Override
+    public void generateThumbnailsAsync(String relativeFilename) {
+        executor.execute(() -> {
+            try {
+                BufferedImage image = readImage(executionArtifactStore.read(relativeFilename));
+                if (image == null) {
+                    LOG.debug("File is not a supported image, no thumbnail generated : " + relativeFilename);
+                    return;
+                }
+                for (int[] size : STANDARD_SIZES) {
+                    executionArtifactStore.write(getThumbnailName(relativeFilename, size[0], size[1]), toPng(resize(image, size[0], size[1])));
+                }
+                LOG.debug("Thumbnails generated for : " + relativeFilename);
+            } catch (Exception ex) {
+                LOG.warn("Could not generate thumbnails for : " + relativeFilename, ex);
+            }
+        });
+    }
+
+    @Override
+    public ExecutionArtifact getThumbnail(ExecutionArtifact picture, int width, int height) throws IOException {
+        if (!isStandardSize(width, height)) {
+            return null;
+        }
+        String thumbnailName = getThumbnailName(picture.getName(), width, height);
+        ExecutionArtifact thumbnail = executionArtifactStore.read(thumbnailName);
+        if (thumbnail != null && thumbnail.getLastModified() >= picture.getLastModified()) {
+            return thumbnail;
+        }
+        // Thumbnail not generated yet (old execution or generation still in queue).
+        BufferedImage image = readImage(picture);
+        if (image == null) {
+            throw new IOException("File is not a supported image : " + picture.getName());
+        }
+        executionArtifactStore.write(thumbnailName, toPng(resize(image, width, height)));
+        return executionArtifactStore.read(thumbnailName);
+    }
+
+    @Override
+    public File getThumbnail(File picture, int width, int height) throws IOException {
+        if (!isStandardSize(width, height)) {
+            return null;
+        }
+        File thumbnail = getThumbnailFile(picture, width, height);
+        if (thumbnail.exists() && thumbnail.lastModified() >= picture.lastModified()) {
+            return thumbnail;
+        }
+        // Thumbnail not generated yet (old execution or generation still in queue).
+        BufferedImage image = ImageIO.read(picture);
+        if (image == null) {
+            throw new IOException("File is not a supported image : " + picture.getPath());
+        }
+        writeThumbnail(image, thumbnail, width, height);
+        return thumbnail;
+    }
+
+    @Override
+    public BufferedImage resize(BufferedImage image, int width, int height) {
+        if (isCropNeeded(image, width, height)) {
+            LOG.debug("Image is too big of thin. Target Height : " + image.getHeight() * width / image.getWidth() + " Target Width : " + image.getWidth() * height / image.getHeight());
+            return image.getSubimage(0, 0, Math.min(width, image.getWidth()), Math.min(height, image.getHeight()));
+        }
+        ResampleOp rop = new ResampleOp(DimensionConstrain.createMaxDimension(width, height, true));
+        rop.setNumberOfThreads(4);
+        return rop.filter(image, null);
+    }
+
+    @Override
+    public boolean isCropNeeded(BufferedImage image, int width, int height) {
+        // We test if file is too thin or too long. That prevent 500 error in case files are not compatible with resize.
+        return (image.getHeight() * width / image.getWidth() < 10) || (image.getWidth() * height / image.getHeight() < 15);
+    }
+
+    private void writeThumbnail(BufferedImage image, File thumbnail, int width, int height) throws IOException {
+        // Written in a temporary file first so that a partially written thumbnail is never served.
+        File tmpFile = new File(thumbnail.getPath() + ".tmp" + Thread.currentThread().getId());
+        ImageIO.write(resize(image, width, height), "png", tmpFile);
+        Files.move(tmpFile.toPath(), thumbnail.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private File getThumbnailFile(File picture, int width, int height) {
+        return new File(getThumbnailName(picture.getPath(), width, height));
+    }
+
+    private String getThumbnailName(String pictureName, int width, int height) {
+        return pictureName + THUMBNAIL_SUFFIX + width + "x" + height + ".png";
+    }
+
+    private BufferedImage readImage(ExecutionArtifact picture) throws IOException {
+        if (picture == null) {
+            return null;
+        }
+        try (InputStream in = picture.openStream()) {
+            return ImageIO.read(in);
+        }
+    }
+
+    private byte[] toPng(BufferedImage image) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", out);
+        return out.toByteArray();
+    }
+
+    private boolean isStandardSize(int width, int height) {
+        for (int[] size : STANDARD_SIZES) {
+            if (size[0] == width && size[1] == height) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+}
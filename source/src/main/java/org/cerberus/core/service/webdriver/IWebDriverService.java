@@ -20,7 +20,6 @@
 package org.cerberus.core.service.webdriver;
 
 import java.awt.image.BufferedImage;
-import java.io.File;
 import java.io.IOException;
 import java.util.List;
 import org.cerberus.core.engine.entity.Identifier;
@@ -89,7 +88,7 @@ public interface IWebDriverService {
 
     Integer getNumberOfElements(Session session, Identifier object);
 
-    File takeScreenShotFile(Session session, String cropValues);
+    byte[] takeScreenShotBytes(Session session, String cropValues);
 
     BufferedImage takeScreenShot(Session session);
 
@@ -69,7 +69,8 @@ import org.springframework.stereotype.Service;
 import javax.imageio.ImageIO;
 import java.awt.*;
 import java.awt.image.BufferedImage;
-import java.io.File;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.lang.reflect.Field;
 import java.text.SimpleDateFormat;
@@ -672,43 +673,38 @@ public class WebDriverService implements IWebDriverService {
     }
 
     @Override
-    public File takeScreenShotFile(Session session, String cropValues) {
-        boolean event = true;
-        long timeout = System.currentTimeMillis() + (session.getCerberus_selenium_wait_element());
-        //Try to capture picture. Try again until timeout is WebDriverException is raised.
-        while (event) {
-            try {
-                WebDriver augmentedDriver = new Augmenter().augment(session.getDriver());
-                File image = ((TakesScreenshot) augmentedDriver).getScreenshotAs(OutputType.FILE);
-                if (!StringUtil.isEmpty(cropValues)) {
-                    BufferedImage fullImg = ImageIO.read(image);
-                    // x - the X coordinate of the upper-left corner of the specified rectangular region y - the Y coordinate of the upper-left corner of the specified rectangular region w - the width of the specified rectangular region h - the height of the specified rectangular region 
-                    //Left, Top, largeur-Top, largeur-Left-Right, hauteur-Top-Bottom
-                    int l = getValue(cropValues, 0);
-                    int r = getValue(cropValues, 1);
-                    int t = getValue(cropValues, 2);
-                    int b = getValue(cropValues, 3);
-                    if ((fullImg.getWidth() > (l + r)) && (fullImg.getHeight() > (t + b))) {
-                        BufferedImage eleScreenshot = fullImg.getSubimage(l, t, (fullImg.getWidth() - l - r), (fullImg.getHeight() - t - b));
-                        ImageIO.write(eleScreenshot, "png", image);
-                    }
+    public byte[] takeScreenShotBytes(Session session, String cropValues) {
+        try {
+            // Screenshot is kept in memory in order to avoid any temporary file.
+            WebDriver augmentedDriver = new Augmenter().augment(session.getDriver());
+            byte[] image = ((TakesScreenshot) augmentedDriver).getScreenshotAs(OutputType.BYTES);
+            if (image != null && !StringUtil.isEmpty(cropValues)) {
+                BufferedImage fullImg = ImageIO.read(new ByteArrayInputStream(image));
+                // x - the X coordinate of the upper-left corner of the specified rectangular region y - the Y coordinate of the upper-left corner of the specified rectangular region w - the width of the specified rectangular region h - the height of the specified rectangular region 
+                //Left, Top, largeur-Top, largeur-Left-Right, hauteur-Top-Bottom
+                int l = getValue(cropValues, 0);
+                int r = getValue(cropValues, 1);
+                int t = getValue(cropValues, 2);
+                int b = getValue(cropValues, 3);
+                if ((fullImg.getWidth() > (l + r)) && (fullImg.getHeight() > (t + b))) {
+                    BufferedImage eleScreenshot = fullImg.getSubimage(l, t, (fullImg.getWidth() - l - r), (fullImg.getHeight() - t - b));
+                    ByteArrayOutputStream croppedImage = new ByteArrayOutputStream(image.length);
+                    ImageIO.write(eleScreenshot, "png", croppedImage);
+                    image = croppedImage.toByteArray();
                 }
+            }
 
-                if (image != null) {
-                    //logs for debug purposes
-                    LOG.info("WebDriverService: screenshot taken with succes: " + image.getName() + " (size : " + image.length() + ")");
-                } else {
-                    LOG.warn("WebDriverService: screen-shot returned null: ");
-                }
-                return image;
-            } catch (WebDriverException exception) {
-                if (System.currentTimeMillis() >= timeout) {
-                    LOG.warn(exception.toString());
-                }
-                event = false;
-            } catch (IOException ex) {
-                LOG.error("Exception when reading snapshot generated.", ex);
+            if (image != null) {
+                //logs for debug purposes
+                LOG.info("WebDriverService: screenshot taken with succes (size : " + image.length + ")");
+            } else {
+                LOG.warn("WebDriverService: screen-shot returned null: ");
             }
+            return image;
+        } catch (WebDriverException exception) {
+            LOG.warn(exception.toString());
+        } catch (IOException ex) {
+            LOG.error("Exception when reading snapshot generated.", ex);
         }
 
         return null;
@@ -738,8 +734,8 @@ public class WebDriverService implements IWebDriverService {
         while (event) {
             try {
                 WebDriver augmentedDriver = new Augmenter().augment(session.getDriver());
-                File image = ((TakesScreenshot) augmentedDriver).getScreenshotAs(OutputType.FILE);
-                BufferedImage bufferedImage = ImageIO.read(image);
+                byte[] image = ((TakesScreenshot) augmentedDriver).getScreenshotAs(OutputType.BYTES);
+                BufferedImage bufferedImage = ImageIO.read(new ByteArrayInputStream(image));
 
                 newImage = new BufferedImage(bufferedImage.getWidth(), bufferedImage.getHeight(), BufferedImage.TYPE_INT_RGB);
                 newImage.createGraphics().drawImage(bufferedImage, 0, 0, Color.WHITE, null);
@@ -26,6 +26,9 @@ import java.security.cert.X509Certificate;
 import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import javax.net.ssl.SSLContext;
 import org.apache.http.HttpHost;
 import org.apache.http.HttpResponse;
@@ -86,6 +89,9 @@ public class XRayService implements IXRayService {
     // Area to store JIRA XRay token in cache.
     private HashMap<String, JSONObject> cacheEntry = new HashMap<>();
 
+    // Tags locked (PENDING) by this instance. Released when the XRay Test Execution is created.
+    private final ConcurrentHashMap<String, CountDownLatch> pendingTagLocks = new ConcurrentHashMap<>();
+
     private static final Logger LOG = LogManager.getLogger(XRayService.class);
 
     private static final boolean DEFAULT_PROXY_ACTIVATE = false;
@@ -101,6 +107,9 @@ public class XRayService implements IXRayService {
 
     private static final int DEFAULT_XRAY_CACHE_DURATION = 300;
 
+    private static final long PENDING_TAG_TIMEOUT_MS = 100000;
+    private static final long PENDING_TAG_MAXPOLL_MS = 5000;
+
     private String getToken(String system, String origin) {
         try {
             if (cacheEntry.containsKey(getCacheKey(origin, system))) {
@@ -147,6 +156,7 @@ public class XRayService implements IXRayService {
     @Async
     public void createXRayTestExecution(TestCaseExecution execution) {
 
+        String lockedTag = null;
         try {
             Tag currentTag = new Tag();
 
@@ -170,18 +180,15 @@ public class XRayService implements IXRayService {
                         if (StringUtil.isEmpty(currentTag.getXRayTestExecution())) {
                             lock = tagService.lockXRayTestExecution(currentTag.getTag(), currentTag);
                             LOG.debug("Lock attempt : {}", lock);
+                            if (lock > 0) {
+                                lockedTag = currentTag.getTag();
+                                pendingTagLocks.put(lockedTag, new CountDownLatch(1));
+                            }
                         }
 
                         if (lock == 0) {
-
-                            int maxIteration = 0;
                             // We wait that JIRA provide the Epic and Cerberus update it.
-                            while ("PENDING".equals(currentTag.getXRayTestExecution()) && maxIteration++ < 20) {
-                                LOG.debug("Loop Until Tag is no longuer PENDING {}/20 - {}", maxIteration, execution.getId());
-                                currentTag = tagService.convert(tagService.readByKey(execution.getTag()));
-                                Thread.sleep(5000);
-                            }
-
+                            currentTag = waitForPendingTag(currentTag, execution);
                         }
 
                         xRayRequest = xRayGenerationService.generateCreateTestExecution(currentTag, execution);
@@ -312,10 +319,48 @@ public class XRayService implements IXRayService {
 
         } catch (Exception ex) {
             LOG.error(ex, ex);
+        } finally {
+            if (lockedTag != null) {
+                // Wake up the executions of the same tag waiting for the Test Execution.
+                CountDownLatch latch = pendingTagLocks.remove(lockedTag);
+                if (latch != null) {
+                    latch.countDown();
+                }
+            }
         }
 
     }
 
+    /**
+     * Wait until the tag is no longer PENDING. When the lock is owned by this
+     * instance, we are notified as soon as it is released. Otherwise (lock
+     * owned by another instance) the tag is polled with an increasing delay.
+     *
+     * @param currentTag
+     * @param execution
+     * @return the tag reloaded from database.
+     * @throws InterruptedException
+     * @throws CerberusException
+     */
+    private Tag waitForPendingTag(Tag currentTag, TestCaseExecution execution) throws InterruptedException, CerberusException {
+        long deadline = System.currentTimeMillis() + PENDING_TAG_TIMEOUT_MS;
+        long pollMs = 250;
+        while (currentTag != null && "PENDING".equals(currentTag.getXRayTestExecution()) && System.currentTimeMillis() < deadline) {
+            long waitMs = Math.min(pollMs, deadline - System.currentTimeMillis());
+            CountDownLatch latch = pendingTagLocks.get(currentTag.getTag());
+            if (latch != null) {
+                LOG.debug("Waiting for local release of PENDING Tag - {}", execution.getId());
+                latch.await(Math.max(1, deadline - System.currentTimeMillis()), TimeUnit.MILLISECONDS);
+            } else if (waitMs > 0) {
+                LOG.debug("Waiting {} ms Until Tag is no longuer PENDING - {}", waitMs, execution.getId());
+                Thread.sleep(waitMs);
+                pollMs = Math.min(pollMs * 2, PENDING_TAG_MAXPOLL_MS);
+            }
+            currentTag = tagService.convert(tagService.readByKey(execution.getTag()));
+        }
+        return currentTag;
+    }
+
     private void getXRayAuthenticationToken(String origin, String system) throws Exception {
         String xRayUrl = XRAYCLOUD_AUTHENT_URL;
 
@@ -30,7 +30,7 @@ import org.cerberus.core.crud.factory.IFactoryTestCaseStep;
 import org.cerberus.core.crud.factory.IFactoryTestCaseStepAction;
 import org.cerberus.core.crud.factory.IFactoryTestCaseStepActionControl;
 import org.cerberus.core.crud.service.ILogEventService;
-import org.cerberus.core.crud.service.ITestCaseCountryPropertiesService;
+import org.cerberus.core.crud.service.ITestCaseScriptService;
 import org.cerberus.core.crud.service.ITestCaseService;
 import org.cerberus.core.crud.service.ITestCaseStepActionControlService;
 import org.cerberus.core.crud.service.ITestCaseStepActionService;
@@ -70,7 +70,7 @@ public class UpdateTestCaseWithDependencies extends HttpServlet {
 
     private static final Logger LOG = LogManager.getLogger(UpdateTestCaseWithDependencies.class);
     private ITestCaseService testCaseService;
-    private ITestCaseCountryPropertiesService testCaseCountryPropertiesService;
+    private ITestCaseScriptService testCaseScriptService;
     private ITestCaseStepService stepService;
     private ITestCaseStepActionService actionService;
     private ITestCaseStepActionControlService controlService;
@@ -129,7 +129,7 @@ public class UpdateTestCaseWithDependencies extends HttpServlet {
         } else {
             ApplicationContext appContext = WebApplicationContextUtils.getWebApplicationContext(this.getServletContext());
             testCaseService = appContext.getBean(ITestCaseService.class);
-            testCaseCountryPropertiesService = appContext.getBean(ITestCaseCountryPropertiesService.class);
+            testCaseScriptService = appContext.getBean(ITestCaseScriptService.class);
             stepService = appContext.getBean(ITestCaseStepService.class);
             actionService = appContext.getBean(ITestCaseStepActionService.class);
             controlService = appContext.getBean(ITestCaseStepActionControlService.class);
@@ -159,9 +159,7 @@ public class UpdateTestCaseWithDependencies extends HttpServlet {
 
             } else { // Test Case exist and we can update it so Global update start here
 
-                // TestcaseCountryProperties Update
                 List<TestCaseCountryProperties> testcaseCountryPropertiesFromPage = getTestCaseCountryPropertiesFromParameter(testcase, properties);
-                testCaseCountryPropertiesService.compareListAndUpdateInsertDeleteElements(initialTest, initialTestCase, testcaseCountryPropertiesFromPage);
 
                 /*
                  * Get steps, actions and controls from page by:
@@ -203,21 +201,12 @@ public class UpdateTestCaseWithDependencies extends HttpServlet {
                 }
 
                 /*
-                 * Create, update or delete stepId, action and controlId according to the needs
+                 * Create, update or delete properties, steps, actions and controls according to the needs.
+                 * Everything is saved in one transaction, only if nobody saved the testcase since the page loaded it.
                  */
-                List<TestCaseStep> stepsFromDatabase = stepService.getListOfSteps(initialTest, initialTestCase);
-                stepService.compareListAndUpdateInsertDeleteElements(stepsFromRequest, stepsFromDatabase, false);
-
-                List<TestCaseStepAction> actionsFromDatabase = actionService.readByTestTestCase(initialTest, initialTestCase).getDataList();
-                actionService.compareListAndUpdateInsertDeleteElements(actionsFromRequest, actionsFromDatabase, false);
-
-                List<TestCaseStepActionControl> controlsFromDatabase = new ArrayList<>(controlService.findControlByTestTestCase(initialTest, initialTestCase));
-                controlService.compareListAndUpdateInsertDeleteElements(controlsFromRequest, controlsFromDatabase, false);
-
-                testcase.setUsrModif(request.getUserPrincipal().getName());
-                testcase.setVersion(testcase.getVersion() + 1);
-
-                testCaseService.update(testcase.getTest(), testcase.getTestcase(), testcase);
+                int expectedVersion = jObj.optInt("informationVersion", testcase.getVersion());
+                ans = testCaseScriptService.saveScript(testcase, initialTest, initialTestCase, expectedVersion, request.getUserPrincipal().getName(),
+                        testcaseCountryPropertiesFromPage, stepsFromRequest, actionsFromRequest, controlsFromRequest);
 
                 /**
                  * Adding Log entry.
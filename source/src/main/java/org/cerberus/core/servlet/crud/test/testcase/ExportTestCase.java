@@ -19,26 +19,23 @@
  */
 package org.cerberus.core.servlet.crud.test.testcase;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import java.io.IOException;
-import java.text.SimpleDateFormat;
-import java.util.Date;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
 import javax.servlet.ServletException;
 import javax.servlet.annotation.WebServlet;
 import javax.servlet.http.HttpServlet;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
-import net.minidev.json.JSONArray;
+import org.apache.commons.lang3.StringUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
-import org.cerberus.core.crud.entity.Application;
 import org.cerberus.core.crud.entity.TestCase;
-import org.cerberus.core.crud.service.IApplicationService;
-import org.cerberus.core.exception.CerberusException;
+import org.cerberus.core.crud.service.ITestCaseImportExportService;
 import org.cerberus.core.crud.service.ITestCaseService;
-import org.cerberus.core.version.Infos;
-import org.json.JSONException;
-import org.json.JSONObject;
+import org.cerberus.core.util.ParameterParserUtil;
 import org.owasp.html.PolicyFactory;
 import org.owasp.html.Sanitizers;
 import org.springframework.context.ApplicationContext;
@@ -53,7 +50,7 @@ public class ExportTestCase extends HttpServlet {
 
     private static final Logger LOG = LogManager.getLogger(ExportTestCase.class);
     private ITestCaseService testcaseService;
-    private IApplicationService applicationService;
+    private ITestCaseImportExportService importExportService;
 
     /**
      * Processes requests for both HTTP <code>GET</code> and <code>POST</code>
@@ -66,65 +63,66 @@ public class ExportTestCase extends HttpServlet {
      */
     protected void processRequest(HttpServletRequest httpServletRequest, HttpServletResponse httpServletResponse)
             throws ServletException, IOException {
-        try {
-            ApplicationContext appContext = WebApplicationContextUtils.getWebApplicationContext(this.getServletContext());
-            testcaseService = appContext.getBean(ITestCaseService.class);
-            applicationService = appContext.getBean(IApplicationService.class);
-
-            PolicyFactory policy = Sanitizers.FORMATTING.and(Sanitizers.LINKS);
-            String test = policy.sanitize(httpServletRequest.getParameter("test"));
-            String testcase = policy.sanitize(httpServletRequest.getParameter("testcase"));
-
-            // Target JSON structure for export.
-            JSONObject export = new JSONObject();
-
-            // Header export.
-            export.put("version", Infos.getInstance().getProjectVersion());
-            export.put("user", httpServletRequest.getUserPrincipal());
-            SimpleDateFormat formatter = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSSXXX");
-            export.put("date", formatter.format(new Date()));
-
-            // Contain the main ** TestCase **
-            TestCase tcInfo = testcaseService.findTestCaseByKeyWithDependency(test, testcase);
-            ObjectMapper mapper = new ObjectMapper();
-            JSONObject tcInfoJSON = new JSONObject(mapper.writeValueAsString(tcInfo));
-            tcInfoJSON.remove("bugs");
-            tcInfoJSON.put("bugs", tcInfo.getBugs());
-            tcInfoJSON.remove("conditionOptions");
-            tcInfoJSON.put("conditionOptions", tcInfo.getConditionOptions());
-            
-            JSONArray tcJA = new JSONArray();
-            tcJA.add(tcInfoJSON);
-            export.put("testcases", tcJA);
-
-            // Contain the ** application ** of the testcase
-            Application appInfo = applicationService.convert(applicationService.readByKey(tcInfo.getApplication()));
-            // Java object to JSON string
-            JSONObject app = new JSONObject(mapper.writeValueAsString(appInfo));
-            export.put("application", app);
-
-            // ** TODO : SYSTEMS, COUNTRIES ** invariant.
-            export.put("invariants", new JSONArray());
-
-            // ** TODO : Application objects **.
-            export.put("applicationsObjects", new JSONArray());
-
-            // ** TODO : Datalib **.
-            export.put("datalibs", new JSONArray());
-
-            // ** TODO : Services **.
-            export.put("services", new JSONArray());
-
-            // ** TODO : Libraries TestCases **.
-            export.put("libraryTestcases", new JSONArray());
-
+        ApplicationContext appContext = WebApplicationContextUtils.getWebApplicationContext(this.getServletContext());
+        testcaseService = appContext.getBean(ITestCaseService.class);
+        importExportService = appContext.getBean(ITestCaseImportExportService.class);
+
+        PolicyFactory policy = Sanitizers.FORMATTING.and(Sanitizers.LINKS);
+        String[] tests = httpServletRequest.getParameterValues("test");
+        String[] testcases = httpServletRequest.getParameterValues("testcase");
+        String[] labels = httpServletRequest.getParameterValues("label");
+        boolean zip = ParameterParserUtil.parseBooleanParam(httpServletRequest.getParameter("zip"), false);
+
+        /*
+         * Testcases to export : the given testcases (test and testcase are
+         * paired), all the testcases of the given labels or all the testcases
+         * of the given test folders.
+         */
+        List<TestCase> testcasesToExport = new ArrayList<>();
+        String filename;
+        if (testcases != null && tests != null) {
+            for (int i = 0; i < testcases.length && i < tests.length; i++) {
+                TestCase testcase = new TestCase();
+                testcase.setTest(policy.sanitize(tests[i]));
+                testcase.setTestcase(policy.sanitize(testcases[i]));
+                testcasesToExport.add(testcase);
+            }
+            filename = testcasesToExport.size() == 1 ? getFilename(testcasesToExport.get(0).getTest(), testcasesToExport.get(0).getTestcase()) : "testcases";
+        } else if (labels != null) {
+            List<Integer> labelIds = new ArrayList<>();
+            for (String label : labels) {
+                labelIds.add(ParameterParserUtil.parseIntegerParam(label, -1));
+            }
+            testcasesToExport = testcaseService.readByVarious(null, null, null, null, null, null, labelIds, null, null, null, -1).getDataList();
+            filename = "label-" + StringUtils.join(labelIds, "-");
+        } else if (tests != null) {
+            for (String test : tests) {
+                testcasesToExport.addAll(testcaseService.findTestCaseByTest(policy.sanitize(test)));
+            }
+            filename = tests.length == 1 ? policy.sanitize(tests[0]).replace("\'", "") : "testcases";
+        } else {
+            httpServletResponse.sendError(HttpServletResponse.SC_BAD_REQUEST, "test, testcase or label parameter is required.");
+            return;
+        }
+        if (testcasesToExport == null) {
+            testcasesToExport = new ArrayList<>();
+        }
+        LOG.debug("Exporting {} testcase(s).", testcasesToExport.size());
+
+        String user = httpServletRequest.getUserPrincipal() == null ? "" : httpServletRequest.getUserPrincipal().getName();
+        // The export is streamed to the response, one testcase at a time.
+        if (zip) {
+            httpServletResponse.setContentType("application/zip");
+            httpServletResponse.setHeader("Content-Disposition", "attachment; filename=\"" + filename + ".zip\"");
+            ZipOutputStream zipOutputStream = new ZipOutputStream(httpServletResponse.getOutputStream());
+            zipOutputStream.putNextEntry(new ZipEntry(filename + ".json"));
+            importExportService.exportTestCases(testcasesToExport, user, zipOutputStream);
+            zipOutputStream.closeEntry();
+            zipOutputStream.finish();
+        } else {
             httpServletResponse.setContentType("application/json");
-            httpServletResponse.setHeader("Content-Disposition", "attachment; filename=\"" + getFilename(test, testcase) + ".json\"");
-            // Nice formating the json result by putting indent 4 parameter.
-            httpServletResponse.getOutputStream().print(export.toString(1));
-
-        } catch (CerberusException | JSONException ex) {
-            LOG.warn(ex);
+            httpServletResponse.setHeader("Content-Disposition", "attachment; filename=\"" + filename + ".json\"");
+            importExportService.exportTestCases(testcasesToExport, user, httpServletResponse.getOutputStream());
         }
     }
 
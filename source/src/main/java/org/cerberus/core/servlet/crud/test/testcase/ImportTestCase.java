@@ -19,15 +19,15 @@
  */
 package org.cerberus.core.servlet.crud.test.testcase;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Paths;
-import java.util.HashMap;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
-import java.util.logging.Level;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
 import javax.servlet.ServletContext;
 import javax.servlet.ServletException;
 import javax.servlet.annotation.WebServlet;
@@ -40,16 +40,11 @@ import org.apache.commons.fileupload.disk.DiskFileItemFactory;
 import org.apache.commons.fileupload.servlet.ServletFileUpload;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
-import org.cerberus.core.crud.entity.TestCase;
-import org.cerberus.core.crud.service.ITestCaseService;
-import org.cerberus.core.engine.entity.MessageEvent;
+import org.cerberus.core.crud.service.ITestCaseImportExportService;
+import org.cerberus.core.dto.TestCaseImportReportDTO;
 import org.cerberus.core.enums.MessageEventEnum;
-import org.cerberus.core.exception.CerberusException;
-import org.cerberus.core.util.VersionComparator;
 import org.cerberus.core.util.answer.Answer;
 import org.cerberus.core.util.answer.AnswerUtil;
-import org.cerberus.core.version.Infos;
-import org.json.JSONArray;
 import org.json.JSONException;
 import org.json.JSONObject;
 import org.springframework.context.ApplicationContext;
@@ -63,7 +58,7 @@ import org.springframework.web.context.support.WebApplicationContextUtils;
 public class ImportTestCase extends HttpServlet {
 
     private static final Logger LOG = LogManager.getLogger(ImportTestCase.class);
-    private ITestCaseService testcaseService;
+    private ITestCaseImportExportService importExportService;
 
     /**
      * Processes requests for both HTTP <code>GET</code> and <code>POST</code>
@@ -81,86 +76,48 @@ public class ImportTestCase extends HttpServlet {
         try {
             try {
                 ApplicationContext appContext = WebApplicationContextUtils.getWebApplicationContext(this.getServletContext());
-                testcaseService = appContext.getBean(ITestCaseService.class);
-                Answer ans = new Answer();
-                MessageEvent msg = new MessageEvent(MessageEventEnum.DATA_OPERATION_ERROR_UNEXPECTED);
-                msg.setDescription(msg.getDescription().replace("%DESCRIPTION%", ""));
-                ans.setResultMessage(msg);
-
-                ///Get files
-//                List<String> files = getFiles(httpServletRequest);
-                HashMap<String, String> param = getParams(httpServletRequest);
-                String userCreated = httpServletRequest.getUserPrincipal().getName();
-
-                // Prepare the final answer.
-                MessageEvent msg1 = new MessageEvent(MessageEventEnum.GENERIC_OK);
-                Answer finalAnswer = new Answer(msg1);
-
-                String importOption = param.get("importOption");
-
-                for (Map.Entry<String, String> entry : param.entrySet()) {
-                    String key = entry.getKey();
-                    String val = entry.getValue();
-                    if (key.startsWith("file")) {
-
-                        JSONObject json = new JSONObject(val);
-
-                        if (isCompatible(json)) {
+                importExportService = appContext.getBean(ITestCaseImportExportService.class);
+
+                // Files are kept on disk by the upload and read as streams so that memory does not depend on their size.
+                List<FileItem> items = getItems(httpServletRequest);
+                String importOption = ITestCaseImportExportService.IMPORTOPTION_KEEPIDS;
+                for (FileItem item : items) {
+                    if (item.isFormField() && "importOption".equals(item.getFieldName())) {
+                        importOption = item.getString();
+                    }
+                }
 
-                            //Remove attribute not in the Object
-                            JSONObject tcJson;
-                            // Testcase moved from ROOT / "testCase" to ROOT / testcases [] in order to support multiple testcase export to a single file. 
-                            if (json.has("testCase")) {
-                                tcJson = json.getJSONObject("testCase");
+                TestCaseImportReportDTO report = new TestCaseImportReportDTO();
+                for (FileItem item : items) {
+                    if (!item.isFormField()) {
+                        LOG.debug("Importing file : {}", item.getName());
+                        try (InputStream inputStream = item.getInputStream()) {
+                            if ((item.getName() != null) && item.getName().toLowerCase().endsWith(".zip")) {
+                                // Every json file of the archive is imported.
+                                ZipInputStream zipInputStream = new ZipInputStream(inputStream);
+                                ZipEntry entry;
+                                while ((entry = zipInputStream.getNextEntry()) != null) {
+                                    if (!entry.isDirectory() && entry.getName().toLowerCase().endsWith(".json")) {
+                                        LOG.debug("Importing archive entry : {}", entry.getName());
+                                        importExportService.importTestCases(zipInputStream, importOption, report);
+                                    }
+                                }
                             } else {
-                                tcJson = json.getJSONArray("testcases").getJSONObject(0);
-                            }
-                            JSONArray bugs = tcJson.getJSONArray("bugs");
-                            tcJson.remove("bugs");
-                            JSONArray condOpts = tcJson.getJSONArray("conditionOptions");
-                            tcJson.remove("conditionOptions");
-
-                            if ("2".equalsIgnoreCase(importOption)) {
-                                String targetTestcase = testcaseService.getNextAvailableTestcaseId(tcJson.getString("test"));
-                                tcJson.put("testcase", targetTestcase);
-                            }
-
-                            ObjectMapper mapper = new ObjectMapper();
-
-                            TestCase tcInfo = mapper.readValue(tcJson.toString(), TestCase.class);
-                            tcInfo.setBugs(bugs);
-                            tcInfo.setConditionOptions(condOpts);
-                            LOG.debug(tcInfo.toJson().toString(1));
-                            try {
-                                testcaseService.createTestcaseWithDependencies(tcInfo);
-
-                                msg = new MessageEvent(MessageEventEnum.DATA_OPERATION_OK);
-                                msg.setDescription(msg.getDescription().replace("%ITEM%", "TestCase " + tcInfo.getTest() + " - " + tcInfo.getTestcase())
-                                        .replace("%OPERATION%", "Import"));
-                                ans.setResultMessage(msg);
-                                finalAnswer = AnswerUtil.agregateAnswer(finalAnswer, ans);
-                            } catch (CerberusException ex) {
-                                LOG.error("Cerberus Exception during testcase import.", ex);
-                                msg = new MessageEvent(MessageEventEnum.DATA_OPERATION_ERROR_EXPECTED);
-                                msg.setDescription(msg.getDescription().replace("%ITEM%", "TestCase " + tcInfo.getTest() + " - " + tcInfo.getTestcase())
-                                        .replace("%OPERATION%", "Import")
-                                        .replace("%REASON%", ex.getMessageError().getDescription()));
-                                ans.setResultMessage(msg);
-                                finalAnswer = AnswerUtil.agregateAnswer(finalAnswer, ans);
+                                importExportService.importTestCases(inputStream, importOption, report);
                             }
-                        } else {
-                            msg = new MessageEvent(MessageEventEnum.DATA_OPERATION_ERROR_EXPECTED);
-                            msg.setDescription(msg.getDescription().replace("%ITEM%", "TestCase ")
-                                    .replace("%OPERATION%", "Import")
-                                    .replace("%REASON%", "The file you're trying to import is not supported or is not in a compatible version format."));
-                            ans.setResultMessage(msg);
-                            finalAnswer = AnswerUtil.agregateAnswer(finalAnswer, ans);
+                        } finally {
+                            item.delete();
                         }
                     }
                 }
+                LOG.info("Import of testcases finished : {}.", report);
 
+                Answer finalAnswer = report.getAnswer();
                 jsonResponse.put("messageType", finalAnswer.getResultMessage().getMessage().getCodeString());
                 jsonResponse.put("message", finalAnswer.getResultMessage().getDescription());
+                jsonResponse.put("imported", report.getImported());
+                jsonResponse.put("skipped", report.getSkipped());
+                jsonResponse.put("failed", report.getFailed());
 
             } catch (Exception ex) {
                 jsonResponse.put("messageType", MessageEventEnum.GENERIC_ERROR.getCodeString());
@@ -220,8 +177,8 @@ public class ImportTestCase extends HttpServlet {
         return "Short description";
     }// </editor-fold>
 
-    private HashMap<String, String> getParams(HttpServletRequest httpServletRequest) {
-        HashMap<String, String> result = new HashMap<>();
+    private List<FileItem> getItems(HttpServletRequest httpServletRequest) {
+        List<FileItem> result = new ArrayList<>();
 
         try {
             if (ServletFileUpload.isMultipartContent(httpServletRequest)) {
@@ -236,56 +193,18 @@ public class ImportTestCase extends HttpServlet {
                 List<FileItem> formItems = upload.parseRequest(httpServletRequest);
                 if (formItems != null) {
                     LOG.debug("Nb of Param to import : " + formItems.size());
-                    if (formItems.size() > 0) {
-                        int i = 1;
-                        for (FileItem item : formItems) {
-                            LOG.debug("Param to import (" + i++ + ") : " + item.toString() + " FieldName : " + item.getFieldName() + " ContentType : " + item.getContentType());
-                            if (item.isFormField()) {
-                                result.put(item.getFieldName(), item.getString());
-                            } else {
-                                result.put(item.getFieldName() + i, item.getString());
-
-                            }
-                        }
+                    int i = 1;
+                    for (FileItem item : formItems) {
+                        LOG.debug("Param to import (" + i++ + ") : " + item.toString() + " FieldName : " + item.getFieldName() + " ContentType : " + item.getContentType());
+                        result.add(item);
                     }
                 }
             }
         } catch (FileUploadException ex) {
-            java.util.logging.Logger.getLogger(ImportTestCaseFromSIDE.class.getName()).log(Level.SEVERE, null, ex);
+            LOG.error("Exception parsing the testcase import request.", ex);
         }
         LOG.debug("result Param : " + result.size());
         return result;
     }
 
-    private boolean isCompatible(JSONObject json) {
-
-        try {
-            String fileVersion = json.getString("version");
-            String projectVersion = Infos.getInstance().getProjectVersion();
-            LOG.debug("Version from import file : " + fileVersion);
-            LOG.debug("Current Version of Cerberus : " + projectVersion);
-
-            //Compatibility Matrix. To update if testcase (including dependencies) model change.
-            Map<String, String> compatibilityMatrix = new HashMap<>();
-            compatibilityMatrix.put("1.0", "4.0");
-            compatibilityMatrix.put("4.1", "100.0");
-
-            //Check fileVersion and projectVersion are in the same rank in the compatibility Matrix
-            for (Map.Entry<String, String> entry : compatibilityMatrix.entrySet()) {
-//                LOG.debug("File - Key : " + VersionComparator.compare(fileVersion, entry.getKey()));
-//                LOG.debug("File - Value : " + VersionComparator.compare(fileVersion, entry.getValue()));
-//                LOG.debug("Project - Key : " + VersionComparator.compare(projectVersion, entry.getKey()));
-//                LOG.debug("Project - Value : " + VersionComparator.compare(projectVersion, entry.getValue()));
-                if (VersionComparator.compare(fileVersion, entry.getKey()) * VersionComparator.compare(fileVersion, entry.getValue()) < 0) {
-                    return VersionComparator.compare(projectVersion, entry.getKey()) * VersionComparator.compare(projectVersion, entry.getValue()) < 0;
-                }
-            }
-            return false;
-
-        } catch (JSONException ex) {
-            LOG.warn(ex);
-            return false;
-        }
-    }
-
 }
@@ -27,11 +27,8 @@ import java.text.SimpleDateFormat;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.Date;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.TimeZone;
-import java.util.TreeMap;
 import javax.servlet.ServletException;
 import javax.servlet.annotation.WebServlet;
 import javax.servlet.http.HttpServlet;
@@ -40,13 +37,13 @@ import javax.servlet.http.HttpServletResponse;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.cerberus.core.crud.entity.Application;
-import org.cerberus.core.crud.entity.Tag;
+import org.cerberus.core.crud.entity.TagStatDaily;
 import org.cerberus.core.crud.entity.TestCaseExecution;
 import org.cerberus.core.crud.entity.TestCaseExecution.ControlStatus;
 import org.cerberus.core.crud.entity.TestCaseExecutionHttpStat;
 import org.cerberus.core.crud.factory.IFactoryTestCase;
 import org.cerberus.core.crud.service.IApplicationService;
-import org.cerberus.core.crud.service.ITagService;
+import org.cerberus.core.crud.service.ITagStatDailyService;
 import org.cerberus.core.crud.service.ITestCaseExecutionHttpStatService;
 import org.cerberus.core.crud.service.ITestCaseService;
 import org.cerberus.core.engine.entity.MessageEvent;
@@ -76,7 +73,7 @@ public class ReadExecutionTagHistory extends HttpServlet {
     private IFactoryTestCase factoryTestCase;
     private IApplicationService applicationService;
     private ITestCaseService testCaseService;
-    private ITagService tagService;
+    private ITagStatDailyService tagStatDailyService;
 
     private static final Logger LOG = LogManager.getLogger(ReadExecutionTagHistory.class);
     private static final String DATE_FORMAT = "yyyy-MM-dd'T'HH:mm:ss.S'Z'";
@@ -168,24 +165,10 @@ public class ReadExecutionTagHistory extends HttpServlet {
 
         AnswerItem<JSONObject> item = new AnswerItem<>();
         JSONObject object = new JSONObject();
-        testCaseExecutionHttpStatService = appContext.getBean(ITestCaseExecutionHttpStatService.class);
-        applicationService = appContext.getBean(IApplicationService.class);
-        testCaseService = appContext.getBean(ITestCaseService.class);
-        factoryTestCase = appContext.getBean(IFactoryTestCase.class);
-        tagService = appContext.getBean(ITagService.class);
-
-        HashMap<String, JSONObject> curveStatusObjMap = new HashMap<>();
-        TreeMap<String, Boolean> curveDateMap = new TreeMap<>();
-        TreeMap<String, Integer> curveDateStatusMap = new TreeMap<>();
-        TreeMap<String, Integer> curveStatusMap = new TreeMap<>();
-
-        String curveKeyStatus;
-        JSONArray curArray = new JSONArray();
-        JSONObject curveStatObj = new JSONObject();
-        JSONObject pointObj = new JSONObject();
+        tagStatDailyService = appContext.getBean(ITagStatDailyService.class);
 
-        // get all TestCase Execution Data.
-        AnswerList<Tag> resp = tagService.readByVarious(system, from, to);
+        // Daily statistics are materialized when tags end so the cost only depends on the number of days.
+        AnswerList<TagStatDaily> resp = tagStatDailyService.readByVarious(system, from, to);
 
         // Building the list of status to load adding the extra RETRY.
         List<String> statList = new ArrayList<>();
@@ -194,79 +177,39 @@ public class ReadExecutionTagHistory extends HttpServlet {
         }
         statList.add("RETRY");
 
+        List<TagStatDaily> dayList = new ArrayList<>();
+        int nbTag = 0;
         if (resp.isCodeEquals(MessageEventEnum.DATA_OPERATION_OK.getCode())) {//the service was able to perform the query, then we should get all values
-            List<Tag> tcList = resp.getDataList();
-            for (Tag tagCur : tcList) {
-
-                /**
-                 * Bar Charts per control status.
-                 */
-                for (String v : statList) {
-                    
-                    curveKeyStatus = v.toUpperCase();
-                    int x = getValue(tagCur, curveKeyStatus);
-
-                    Date d = new Date(tagCur.getDateCreated().getTime());
-                    TimeZone tz = TimeZone.getTimeZone("UTC");
-                    DateFormat df = new SimpleDateFormat(DATE_FORMAT_DAY);
-                    df.setTimeZone(tz);
-                    String dday = df.format(d);
-
-                    curveDateMap.put(dday, false);
-
-                    String keyDateStatus = curveKeyStatus + "-" + dday;
-                    if (curveDateStatusMap.containsKey(keyDateStatus)) {
-                        curveDateStatusMap.put(keyDateStatus, curveDateStatusMap.get(keyDateStatus) + x);
-                    } else {
-                        curveDateStatusMap.put(keyDateStatus, x);
-                    }
-
-                    if (curveStatusMap.containsKey(curveKeyStatus)) {
-                        curveStatusMap.put(curveKeyStatus, curveStatusMap.get(curveKeyStatus) + x);
-                    } else {
-                        curveStatusMap.put(curveKeyStatus, x);
-                    }
-
-                    if (!curveStatusObjMap.containsKey(curveKeyStatus)) {
-
-                        curveStatObj = new JSONObject();
-                        curveStatObj.put("key", curveKeyStatus);
-                        curveStatObj.put("unit", "nbExe");
-
-                        curveStatusObjMap.put(curveKeyStatus, curveStatObj);
-                    }
-                }
-
+            dayList = resp.getDataList();
+            for (TagStatDaily dayCur : dayList) {
+                nbTag += dayCur.getNbTag();
             }
-            object.put("hasHistodata", (tcList.size() > 0));
+            object.put("hasHistodata", (nbTag > 0));
         }
 
         /**
          * Bar Charts per control status to JSON.
          */
         JSONArray curvesArray = new JSONArray();
-        for (Map.Entry<String, Boolean> entry : curveDateMap.entrySet()) {
-            curvesArray.put(entry.getKey());
+        for (TagStatDaily dayCur : dayList) {
+            curvesArray.put(dayCur.getDay().toString());
         }
         object.put("curvesDatesNb", curvesArray);
 
         curvesArray = new JSONArray();
-        for (Map.Entry<String, JSONObject> entry : curveStatusObjMap.entrySet()) {
-            String key = entry.getKey();
-            if (curveStatusMap.get(key) > 0) {
-                JSONObject val = entry.getValue();
-                val.put("nbExe", curveStatusMap.get(key));
-
-                JSONArray valArray = new JSONArray();
-
-                for (Map.Entry<String, Boolean> entry1 : curveDateMap.entrySet()) {
-                    String key1 = entry1.getKey(); // Date
-                    if (curveDateStatusMap.containsKey(key + "-" + key1)) {
-                        valArray.put(curveDateStatusMap.get(key + "-" + key1));
-                    } else {
-                        valArray.put(0);
-                    }
-                }
+        for (String curveKeyStatus : statList) {
+            int total = 0;
+            JSONArray valArray = new JSONArray();
+            for (TagStatDaily dayCur : dayList) {
+                int x = getValue(dayCur, curveKeyStatus);
+                valArray.put(x);
+                total += x;
+            }
+            if (total > 0) {
+                JSONObject val = new JSONObject();
+                val.put("key", curveKeyStatus);
+                val.put("unit", "nbExe");
+                val.put("nbExe", total);
 
                 JSONObject localcur = new JSONObject();
                 localcur.put("key", val);
@@ -276,38 +219,38 @@ public class ReadExecutionTagHistory extends HttpServlet {
         }
         object.put("curvesNb", curvesArray);
 
-        object.put("iTotalRecords", resp.getTotalRows());
-        object.put("iTotalDisplayRecords", resp.getTotalRows());
+        object.put("iTotalRecords", nbTag);
+        object.put("iTotalDisplayRecords", nbTag);
 
         item.setItem(object);
         item.setResultMessage(resp.getResultMessage());
         return item;
     }
 
-    private int getValue(Tag tagCur, String status) {
+    private int getValue(TagStatDaily dayCur, String status) {
         switch (status) {
             case "OK":
-                return tagCur.getNbOK();
+                return dayCur.getNbOK();
             case "KO":
-                return tagCur.getNbKO();
+                return dayCur.getNbKO();
             case "FA":
-                return tagCur.getNbFA();
+                return dayCur.getNbFA();
             case "NA":
-                return tagCur.getNbNA();
+                return dayCur.getNbNA();
             case "NE":
-                return tagCur.getNbNE();
+                return dayCur.getNbNE();
             case "WE":
-                return tagCur.getNbWE();
+                return dayCur.getNbWE();
             case "PE":
-                return tagCur.getNbPE();
+                return dayCur.getNbPE();
             case "QU":
-                return tagCur.getNbQU();
+                return dayCur.getNbQU();
             case "QE":
-                return tagCur.getNbQE();
+                return dayCur.getNbQE();
             case "CA":
-                return tagCur.getNbCA();
+                return dayCur.getNbCA();
             case "RETRY":
-                return tagCur.getNbExe() - tagCur.getNbExeUsefull();
+                return dayCur.getNbExe() - dayCur.getNbExeUsefull();
         }
         return 0;
     }
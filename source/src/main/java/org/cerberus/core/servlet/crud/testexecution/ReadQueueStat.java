@@ -208,6 +208,8 @@ public class ReadQueueStat extends HttpServlet {
             point1Obj = new JSONObject();
             point1Obj.put("x", df.format(d));
             point1Obj.put("y", y1);
+            point1Obj.put("min", exeCur.getCurrentlyRunningMin());
+            point1Obj.put("max", exeCur.getCurrentlyRunningMax());
             cur1Array.put(point1Obj);
 
             y2 = exeCur.getGlobalConstrain();
@@ -220,6 +222,8 @@ public class ReadQueueStat extends HttpServlet {
             point3Obj = new JSONObject();
             point3Obj.put("x", df.format(d));
             point3Obj.put("y", y3);
+            point3Obj.put("min", exeCur.getQueueSizeMin());
+            point3Obj.put("max", exeCur.getQueueSizeMax());
             cur3Array.put(point3Obj);
 
         }
@@ -464,7 +464,13 @@ public class ReadTestCaseExecution extends HttpServlet {
             }
         }
 
-        AnswerList<TestCaseExecution> resp = testCaseExecutionService.readByCriteria(startPosition, length, columnName.concat(" ").concat(sort), searchParameter, individualSearch, individualLike, system);
+        AnswerList<TestCaseExecution> resp;
+        boolean keyset = ParameterParserUtil.parseBooleanParam(request.getParameter("keyset"), false);
+        if (keyset) {
+            resp = testCaseExecutionService.readByCriteria(startPosition, length, columnName, sort, searchParameter, individualSearch, individualLike, system, request.getParameter("cursor"));
+        } else {
+            resp = testCaseExecutionService.readByCriteria(startPosition, length, columnName.concat(" ").concat(sort), searchParameter, individualSearch, individualLike, system);
+        }
 
         JSONArray jsonArray = new JSONArray();
         if (resp.isCodeEquals(MessageEventEnum.DATA_OPERATION_OK.getCode())) {//the service was able to perform the query, then we should get all values
@@ -477,6 +483,9 @@ public class ReadTestCaseExecution extends HttpServlet {
         object.put("hasPermissions", userHasPermissions);
         object.put("iTotalRecords", resp.getTotalRows());
         object.put("iTotalDisplayRecords", resp.getTotalRows());
+        if (keyset) {
+            object.put("nextCursor", resp.getNextCursor());
+        }
 
         answer.setItem(object);
         answer.setResultMessage(new MessageEvent(MessageEventEnum.DATA_OPERATION_OK_GENERIC));
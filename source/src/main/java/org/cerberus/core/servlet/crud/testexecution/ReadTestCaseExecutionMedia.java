@@ -19,11 +19,9 @@
  */
 package org.cerberus.core.servlet.crud.testexecution;
 
-import com.google.common.io.Files;
-import com.mortennobel.imagescaling.DimensionConstrain;
-import com.mortennobel.imagescaling.ResampleOp;
 import java.awt.image.BufferedImage;
 import java.io.*;
+import java.nio.channels.Channels;
 import java.text.SimpleDateFormat;
 import java.util.*;
 import javax.imageio.ImageIO;
@@ -33,8 +31,6 @@ import javax.servlet.http.HttpServlet;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 
-import org.apache.commons.io.FileUtils;
-import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.time.DateUtils;
 import org.apache.logging.log4j.LogManager;
@@ -46,11 +42,13 @@ import org.cerberus.core.crud.service.ITestCaseExecutionFileService;
 import org.cerberus.core.engine.entity.MessageEvent;
 import org.cerberus.core.enums.MessageEventEnum;
 import org.cerberus.core.exception.CerberusException;
+import org.cerberus.core.service.artifact.ExecutionArtifact;
+import org.cerberus.core.service.artifact.IExecutionArtifactStore;
+import org.cerberus.core.service.thumbnail.IThumbnailService;
 import org.cerberus.core.util.ParameterParserUtil;
 import org.cerberus.core.util.StringUtil;
 import org.cerberus.core.util.answer.AnswerList;
 import org.cerberus.core.util.servlet.ServletUtil;
-import org.jfree.util.Log;
 import org.springframework.context.ApplicationContext;
 import org.springframework.web.context.support.WebApplicationContextUtils;
 
@@ -63,6 +61,8 @@ public class ReadTestCaseExecutionMedia extends HttpServlet {
 
     private static final Logger LOG = LogManager.getLogger(ReadTestCaseExecutionMedia.class);
 
+    private static final int MEDIA_CACHE_MAXAGE = 31536000;
+
     private IFactoryTestCaseExecutionFile factoryTestCaseExecutionFile;
 
     String data = "data:image/png;base64,iVBORw0KGgoAAAANSUhEUgAAAAEAAAABCAQAAAC1HAwCAAAAC0lEQVR4nGNiYAAAAAkAAxkR2eQAAAAASUVORK5CYII=";
@@ -164,6 +164,7 @@ public class ReadTestCaseExecutionMedia extends HttpServlet {
             } else {
                 pathString = parameterService.getParameterStringByKey("cerberus_exemanualmedia_path", "", "");
             }
+            ExecutionArtifact artifact = getArtifact(tceFile, auto, pathString, appContext);
 
             switch (tceFile.getFileType()) {
                 case "JPG":
@@ -171,45 +172,47 @@ public class ReadTestCaseExecutionMedia extends HttpServlet {
                     if (autoContentType) {
                         response.setContentType("image/jpeg");
                     }
-                    returnImage(request, response, tceFile, pathString);
+                    returnImage(request, response, tceFile, artifact, auto, autoContentType);
                     break;
                 case "PNG":
                     if (autoContentType) {
                         response.setContentType("image/png");
                     }
-                    returnImage(request, response, tceFile, pathString);
+                    returnImage(request, response, tceFile, artifact, auto, autoContentType);
                     break;
                 case "GIF":
                     if (autoContentType) {
                         response.setContentType("image/gif");
                     }
-                    returnImage(request, response, tceFile, pathString);
+                    returnImage(request, response, tceFile, artifact, auto, autoContentType);
                     break;
                 case "HTML":
                     if (autoContentType) {
                         response.setContentType("text/html");
                     }
-                    returnFile(request, response, tceFile, pathString);
+                    returnFile(request, response, tceFile, artifact);
                     break;
                 case "XML":
                     if (autoContentType) {
                         response.setContentType("application/xml");
                     }
-                    returnFile(request, response, tceFile, pathString);
+                    returnFile(request, response, tceFile, artifact);
                     break;
                 case "JSON":
                     if (autoContentType) {
                         response.setContentType("application/json");
                     }
-                    returnFile(request, response, tceFile, pathString);
+                    returnFile(request, response, tceFile, artifact);
                     break;
                 case "TXT":
-                    returnFile(request, response, tceFile, pathString);
+                    returnFile(request, response, tceFile, artifact);
                     break;
                 case "PDF":
-                    returnPDF(request, response, tceFile, pathString);
+                    returnPDF(request, response, tceFile, artifact);
+                    break;
                 case "MP4":
-                    returnMP4(request, response, tceFile, pathString);
+                    returnMP4(request, response, tceFile, artifact);
+                    break;
                 default:
                     returnNotSupported(request, response, tceFile, pathString);
             }
@@ -217,119 +220,205 @@ public class ReadTestCaseExecutionMedia extends HttpServlet {
         }
     }
 
-    private void returnImage(HttpServletRequest request, HttpServletResponse response, TestCaseExecutionFile tc, String filePath) throws IOException {
+    /**
+     * Automatic execution files are read from the artifact store. Manual ones
+     * are loose files of cerberus_exemanualmedia_path.
+     */
+    private ExecutionArtifact getArtifact(TestCaseExecutionFile tc, boolean auto, String filePath, ApplicationContext appContext) throws IOException {
+        if (auto) {
+            return appContext.getBean(IExecutionArtifactStore.class).read(tc.getFileName());
+        }
+        return getFileArtifact(new File(StringUtil.addSuffixIfNotAlready(filePath, File.separator) + tc.getFileName()));
+    }
+
+    private ExecutionArtifact getFileArtifact(File file) {
+        if (!file.isFile()) {
+            return null;
+        }
+        return new ExecutionArtifact(file.getPath(), file, 0, file.length(), file.lastModified(), null);
+    }
+
+    private void returnImage(HttpServletRequest request, HttpServletResponse response, TestCaseExecutionFile tc, ExecutionArtifact picture, boolean auto, boolean autoContentType) throws IOException {
 
         int width = (!StringUtils.isEmpty(request.getParameter("w"))) ? Integer.valueOf(request.getParameter("w")) : 150;
         int height = (!StringUtils.isEmpty(request.getParameter("h"))) ? Integer.valueOf(request.getParameter("h")) : 100;
 
         Boolean real = request.getParameter("r") != null;
 
-        BufferedImage image = null;
-        BufferedImage b = null;
-        filePath = StringUtil.addSuffixIfNotAlready(filePath, File.separator);
+        LOG.debug("Accessing File : " + tc.getFileName());
 
-        File picture = new File(filePath + tc.getFileName());
-        LOG.debug("Accessing File : " + picture.getAbsolutePath());
-        try {
-            if (real) {
-                b = ImageIO.read(picture);
-                ImageIO.write(b, "png", response.getOutputStream());
-            } else {
-                image = ImageIO.read(picture);
-
-                // We test if file is too thin or too long. That prevent 500 error in case files are not compatible with resize. In that case, we crop the file.
-                if ((image.getHeight() * width / image.getWidth() < 10) || (image.getWidth() * height / image.getHeight() < 15)) {
-                    LOG.debug("Image is too big of thin. Target Height : " + image.getHeight() * width / image.getWidth() + " Target Width : " + image.getWidth() * height / image.getHeight());
-                    b = ImageIO.read(picture);
-                    int minwidth = width;
-                    if (width > image.getWidth()) {
-                        minwidth = image.getWidth();
-                    }
-                    int minheight = height;
-                    if (height > image.getHeight()) {
-                        minheight = image.getHeight();
-                    }
-                    BufferedImage crop = b.getSubimage(0, 0, minwidth, minheight);
+        response.setHeader("Type", "PNG");
+        response.setHeader("Description", tc.getFileDesc());
 
-                    b = crop;
-                    response.setHeader("Format-Status", "ERROR");
-                    response.setHeader("Format-Status-Message", "Image Crop from : " + image.getWidth() + "X" + image.getHeight() + " to : " + minwidth + "X" + minheight);
-                } else {
-                    ResampleOp rop = new ResampleOp(DimensionConstrain.createMaxDimension(width, height, true));
-                    rop.setNumberOfThreads(4);
-                    b = rop.filter(image, null);
-                    response.setHeader("Format-Status", "OK");
+        if (picture == null) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+
+        if (real) {
+            // Original file is sent as is.
+            returnFileContent(request, response, picture);
+            return;
+        }
+
+        IThumbnailService thumbnailService = WebApplicationContextUtils.getWebApplicationContext(this.getServletContext()).getBean(IThumbnailService.class);
+        try {
+            ExecutionArtifact thumbnail = auto
+                    ? thumbnailService.getThumbnail(picture, width, height)
+                    : getFileArtifact(thumbnailService.getThumbnail(picture.getFile(), width, height));
+            if (thumbnail != null) {
+                if (autoContentType) {
+                    response.setContentType("image/png");
                 }
+                response.setHeader("Format-Status", "OK");
+                returnFileContent(request, response, thumbnail);
+                return;
             }
-        } catch (IOException e) {
 
+            // Not a standard size so it is resized on the fly.
+            BufferedImage image;
+            try (InputStream in = picture.openStream()) {
+                image = ImageIO.read(in);
+            }
+            if (image == null) {
+                throw new IOException("File is not a supported image : " + tc.getFileName());
+            }
+            BufferedImage b = thumbnailService.resize(image, width, height);
+            if (thumbnailService.isCropNeeded(image, width, height)) {
+                response.setHeader("Format-Status", "ERROR");
+                response.setHeader("Format-Status-Message", "Image Crop from : " + image.getWidth() + "X" + image.getHeight() + " to : " + b.getWidth() + "X" + b.getHeight());
+            } else {
+                response.setHeader("Format-Status", "OK");
+            }
+            if (autoContentType) {
+                response.setContentType("image/png");
+            }
+            response.setDateHeader("Last-Modified", picture.getLastModified());
+            response.setHeader("Cache-Control", "private, max-age=" + MEDIA_CACHE_MAXAGE);
+            ImageIO.write(b, "png", response.getOutputStream());
+        } catch (IOException | RuntimeException e) {
+            LOG.warn("Could not resize image : " + tc.getFileName(), e);
+            if (!response.isCommitted()) {
+                response.sendError(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+            }
         }
+    }
 
-        SimpleDateFormat sdf = new SimpleDateFormat();
-        sdf.setTimeZone(new SimpleTimeZone(0, "GMT"));
-        sdf.applyPattern("dd MMM yyyy HH:mm:ss z");
+    private void returnPDF(HttpServletRequest request, HttpServletResponse response, TestCaseExecutionFile tc, ExecutionArtifact artifact) throws IOException {
 
-        response.setHeader("Last-Modified", sdf.format(DateUtils.addDays(Calendar.getInstance().getTime(), 2 * 360)));
-        response.setHeader("Expires", sdf.format(DateUtils.addDays(Calendar.getInstance().getTime(), 2 * 360)));
-        response.setHeader("Type", "PNG");
-        response.setHeader("Description", tc.getFileDesc());
+        response.setContentType("application/pdf");
+        returnFileContent(request, response, artifact);
 
-        ImageIO.write(b, "png", response.getOutputStream());
     }
 
-    private void returnPDF(HttpServletRequest request, HttpServletResponse response, TestCaseExecutionFile tc, String filePath) {
+    private void returnMP4(HttpServletRequest request, HttpServletResponse response, TestCaseExecutionFile tc, ExecutionArtifact artifact) throws IOException {
 
-        File pdfFile = null;
-        filePath = StringUtil.addSuffixIfNotAlready(filePath, File.separator);
-        pdfFile = new File(filePath + tc.getFileName());
-        response.setContentType("application/pdf");
-        response.setContentLength((int) pdfFile.length());
-        try {
-            Files.copy(pdfFile, response.getOutputStream());
-        } catch (IOException e) {
-            Log.warn(e);
-        }
+        response.setContentType("video/mp4");
+        returnFileContent(request, response, artifact);
 
     }
 
-    private void returnMP4(HttpServletRequest request, HttpServletResponse response, TestCaseExecutionFile tc, String filePath) {
+    private void returnFile(HttpServletRequest request, HttpServletResponse response, TestCaseExecutionFile tc, ExecutionArtifact artifact) throws IOException {
+        LOG.debug("Accessing File : " + tc.getFileName());
 
-        File mp4File = null;
-        filePath = StringUtil.addSuffixIfNotAlready(filePath, File.separator);
-        mp4File = new File(filePath + tc.getFileName());
-        response.setContentType("video/mp4");
-        response.setContentLength((int) mp4File.length());
-        response.setHeader("Content-Range",  "bytes start-end/length");
-        try {
-            Files.copy(mp4File, response.getOutputStream());
-        } catch (IOException e) {
-            Log.warn(e);
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader("Type", tc.getFileType());
+        response.setHeader("Description", tc.getFileDesc());
+        returnFileContent(request, response, artifact);
+    }
+
+    /**
+     * Send the file content with validators (ETag / Last-Modified) and single
+     * range support. Execution files never change once written so browsers
+     * can keep them in cache.
+     */
+    private void returnFileContent(HttpServletRequest request, HttpServletResponse response, ExecutionArtifact artifact) throws IOException {
+
+        if (artifact == null) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
         }
 
-    }
+        long length = artifact.getLength();
+        // Http dates have a second precision.
+        long lastModified = artifact.getLastModified() / 1000 * 1000;
+        String eTag = (artifact.getHash() != null)
+                ? "\"" + artifact.getHash() + "\""
+                : "\"" + Long.toHexString(lastModified) + "-" + Long.toHexString(length) + "\"";
+
+        response.setHeader("ETag", eTag);
+        response.setDateHeader("Last-Modified", lastModified);
+        response.setHeader("Cache-Control", "private, max-age=" + MEDIA_CACHE_MAXAGE);
+        response.setHeader("Accept-Ranges", "bytes");
+
+        String ifNoneMatch = request.getHeader("If-None-Match");
+        if (ifNoneMatch != null) {
+            if ("*".equals(ifNoneMatch) || ifNoneMatch.contains(eTag)) {
+                response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+                return;
+            }
+        } else if (getDateHeader(request, "If-Modified-Since") >= lastModified) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        long start = 0;
+        long end = length - 1;
+        String range = request.getHeader("Range");
+        if (range != null && range.startsWith("bytes=") && !range.contains(",") && isIfRangeValid(request, eTag, lastModified)) {
+            String[] bounds = range.substring("bytes=".length()).trim().split("-", 2);
+            boolean rangeValid = true;
+            try {
+                if (bounds[0].isEmpty()) {
+                    // Suffix range : last n bytes.
+                    start = Math.max(0, length - Long.parseLong(bounds[1]));
+                } else {
+                    start = Long.parseLong(bounds[0]);
+                    if (bounds.length > 1 && !bounds[1].isEmpty()) {
+                        end = Math.min(Long.parseLong(bounds[1]), length - 1);
+                    }
+                }
+            } catch (NumberFormatException | ArrayIndexOutOfBoundsException ex) {
+                // Invalid range header is ignored and the full content is sent.
+                rangeValid = false;
+                start = 0;
+                end = length - 1;
+            }
+            if (rangeValid) {
+                if (start > end || start >= length) {
+                    response.setHeader("Content-Range", "bytes */" + length);
+                    response.sendError(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                    return;
+                }
+                response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+                response.setHeader("Content-Range", "bytes " + start + "-" + end + "/" + length);
+            }
+        }
 
-    private void returnFile(HttpServletRequest request, HttpServletResponse response, TestCaseExecutionFile tc, String filePath) {
-        String everything = "";
-        filePath = StringUtil.addSuffixIfNotAlready(filePath, File.separator);
-        File file = new File(filePath + tc.getFileName());
-        LOG.debug("Accessing File : " + filePath + tc.getFileName());
-        try (FileInputStream inputStream = FileUtils.openInputStream(file);) {
-            everything = IOUtils.toString(inputStream, "UTF-8");
-            response.setCharacterEncoding("UTF-8");
-            response.getWriter().print(everything);
-        } catch (FileNotFoundException e) {
+        response.setContentLengthLong(end - start + 1);
 
-        } catch (IOException e) {
+        if (length > 0) {
+            artifact.transferTo(start, end - start + 1, Channels.newChannel(response.getOutputStream()));
+        }
+    }
 
+    private boolean isIfRangeValid(HttpServletRequest request, String eTag, long lastModified) {
+        String ifRange = request.getHeader("If-Range");
+        if (ifRange == null) {
+            return true;
         }
-        SimpleDateFormat sdf = new SimpleDateFormat();
-        sdf.setTimeZone(new SimpleTimeZone(0, "GMT"));
-        sdf.applyPattern("dd MMM yyyy HH:mm:ss z");
+        if (ifRange.startsWith("\"") || ifRange.startsWith("W/")) {
+            return ifRange.equals(eTag);
+        }
+        return getDateHeader(request, "If-Range") == lastModified;
+    }
 
-        response.setHeader("Last-Modified", sdf.format(DateUtils.addDays(Calendar.getInstance().getTime(), 2 * 360)));
-        response.setHeader("Expires", sdf.format(DateUtils.addDays(Calendar.getInstance().getTime(), 2 * 360)));
-        response.setHeader("Type", tc.getFileType());
-        response.setHeader("Description", tc.getFileDesc());
+    private long getDateHeader(HttpServletRequest request, String header) {
+        try {
+            return request.getDateHeader(header);
+        } catch (IllegalArgumentException ex) {
+            return -1;
+        }
     }
 
     private void returnText(HttpServletRequest request, HttpServletResponse response, TestCaseExecutionFile tc, String filePath) {
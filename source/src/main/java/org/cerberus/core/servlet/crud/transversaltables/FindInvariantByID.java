@@ -20,7 +20,6 @@
 package org.cerberus.core.servlet.crud.transversaltables;
 
 import java.io.IOException;
-import java.util.List;
 import javax.servlet.ServletException;
 import javax.servlet.annotation.WebServlet;
 import javax.servlet.http.HttpServlet;
@@ -28,14 +27,10 @@ import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
-import org.cerberus.core.crud.entity.Invariant;
-import org.cerberus.core.crud.service.IInvariantService;
-import org.cerberus.core.crud.service.impl.InvariantService;
 import org.cerberus.core.exception.CerberusException;
+import org.cerberus.core.service.guibundle.IGuiBundleService;
 import org.cerberus.core.util.servlet.ServletUtil;
-import org.json.JSONArray;
 import org.json.JSONException;
-import org.json.JSONObject;
 import org.owasp.html.PolicyFactory;
 import org.owasp.html.Sanitizers;
 import org.springframework.context.ApplicationContext;
@@ -65,27 +60,13 @@ public class FindInvariantByID extends HttpServlet {
         String idName = policy.sanitize(request.getParameter("idName"));
 
         ApplicationContext appContext = WebApplicationContextUtils.getWebApplicationContext(this.getServletContext());
-        response.setContentType("application/json");
-        response.setCharacterEncoding("utf8");
 
         // Calling Servlet Transversal Util.
         ServletUtil.servletStart(request);
 
-        IInvariantService invariantService = appContext.getBean(InvariantService.class);
+        IGuiBundleService guiBundleService = appContext.getBean(IGuiBundleService.class);
 
-        JSONArray array = new JSONArray();
-        List<Invariant> lstInvariant = invariantService.readByIdName(idName);
-        for (Invariant myInvariant : lstInvariant) {
-            JSONObject jsonObject = new JSONObject();
-            jsonObject.put("value", myInvariant.getValue());
-            jsonObject.put("description", myInvariant.getDescription());
-            jsonObject.put("gp1", myInvariant.getGp1());
-            jsonObject.put("gp2", myInvariant.getGp2());
-            jsonObject.put("gp3", myInvariant.getGp3());
-            array.put(jsonObject);
-        }
-
-        response.getWriter().print(array.toString());
+        guiBundleService.send(guiBundleService.getInvariantList(idName), request, response);
 
     }
 
@@ -31,6 +31,7 @@ import org.cerberus.core.crud.entity.Invariant;
 import org.cerberus.core.crud.service.IInvariantService;
 import org.cerberus.core.crud.service.impl.InvariantService;
 import org.cerberus.core.exception.CerberusException;
+import org.cerberus.core.service.guibundle.IGuiBundleService;
 import org.cerberus.core.util.ParameterParserUtil;
 import org.json.JSONArray;
 import org.json.JSONException;
@@ -77,10 +78,10 @@ public class GetInvariantList extends HttpServlet {
                     }
                 }
             } else {
-                //gets one item
-                for (Invariant myInvariant : invariantService.readByIdName(idName)) {
-                    jsonResponse.put(myInvariant.getValue(), myInvariant.getValue());
-                }
+                //gets one item from the precomputed bundle.
+                IGuiBundleService guiBundleService = appContext.getBean(IGuiBundleService.class);
+                guiBundleService.send(guiBundleService.getInvariantValues(idName), request, response);
+                return;
             }
             response.setContentType("application/json");
             response.getWriter().print(jsonResponse.toString());
@@ -21,8 +21,6 @@ package org.cerberus.core.servlet.crud.transversaltables;
 
 import com.google.gson.Gson;
 import java.io.IOException;
-import java.util.ArrayList;
-import java.util.List;
 
 import javax.servlet.ServletException;
 import javax.servlet.annotation.WebServlet;
@@ -33,12 +31,10 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import org.cerberus.core.crud.entity.Documentation;
-import org.cerberus.core.crud.service.IDocumentationService;
+import org.cerberus.core.service.guibundle.IGuiBundleService;
 import org.cerberus.core.util.ParameterParserUtil;
 import org.json.JSONException;
 import org.json.JSONObject;
-import org.owasp.html.PolicyFactory;
-import org.owasp.html.Sanitizers;
 import org.springframework.context.ApplicationContext;
 import org.springframework.web.context.support.WebApplicationContextUtils;
 
@@ -50,25 +46,12 @@ public class ReadDocumentation extends HttpServlet {
     @Override
     protected void doGet(HttpServletRequest httpServletRequest, HttpServletResponse response) throws ServletException, IOException {
         ApplicationContext appContext = WebApplicationContextUtils.getWebApplicationContext(this.getServletContext());
-        IDocumentationService docService = appContext.getBean(IDocumentationService.class);
-        PolicyFactory policy = Sanitizers.FORMATTING.and(Sanitizers.LINKS);
-        JSONObject jsonResponse = new JSONObject();
-        List<Documentation> result = new ArrayList<>();
-        JSONObject format = new JSONObject();
-
-        response.setContentType("application/json");
-        response.setCharacterEncoding("utf8");
+        IGuiBundleService guiBundleService = appContext.getBean(IGuiBundleService.class);
 
         String lang = ParameterParserUtil.parseStringParamAndSanitize(httpServletRequest.getParameter("lang"), "en");
 
-        result = docService.findAllWithEmptyDocLabel(lang);
-        format = docService.formatGroupByDocTable(result);
-        try {
-            jsonResponse.put("labelTable", format);
-        } catch (JSONException ex) {
-            LOG.warn(ex);
-        }
-        response.getWriter().print(jsonResponse.toString());
+        // Precomputed labelTable of the language.
+        guiBundleService.send(guiBundleService.getDocumentation(lang), httpServletRequest, response);
     }
 
     private JSONObject convertDocToJSONObject(Documentation doc) throws JSONException {
@@ -216,7 +216,13 @@ public class ReadLogEvent extends HttpServlet {
             }
         }
 
-        AnswerList<LogEvent> resp = logEventService.readByCriteria(startPosition, length, columnName, sort, searchParameter, individualSearch);
+        AnswerList<LogEvent> resp;
+        boolean keyset = ParameterParserUtil.parseBooleanParam(request.getParameter("keyset"), false);
+        if (keyset) {
+            resp = logEventService.readByCriteria(startPosition, length, columnName, sort, searchParameter, individualSearch, request.getParameter("cursor"));
+        } else {
+            resp = logEventService.readByCriteria(startPosition, length, columnName, sort, searchParameter, individualSearch);
+        }
 
         JSONArray jsonArray = new JSONArray();
         boolean userHasPermissions = false;
@@ -230,6 +236,9 @@ public class ReadLogEvent extends HttpServlet {
         jsonResponse.put("contentTable", jsonArray);
         jsonResponse.put("iTotalRecords", resp.getTotalRows());
         jsonResponse.put("iTotalDisplayRecords", resp.getTotalRows());
+        if (keyset) {
+            jsonResponse.put("nextCursor", resp.getNextCursor());
+        }
 
         item.setItem(jsonResponse);
         item.setResultMessage(resp.getResultMessage());
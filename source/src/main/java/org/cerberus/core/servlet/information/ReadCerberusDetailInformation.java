@@ -43,6 +43,7 @@ import org.cerberus.core.config.Property;
 import org.cerberus.core.crud.entity.Parameter;
 import org.cerberus.core.database.dao.ICerberusInformationDAO;
 import org.cerberus.core.engine.entity.ExecutionUUID;
+import org.cerberus.core.engine.execution.impl.RobotSessionPool;
 import org.cerberus.core.session.SessionCounter;
 import org.cerberus.core.crud.entity.TestCaseExecution;
 import org.cerberus.core.crud.service.IMyVersionService;
@@ -247,6 +248,9 @@ public class ReadCerberusDetailInformation extends HttpServlet {
             executionThreadPoolService = appContext.getBean(IExecutionThreadPoolService.class);
             jsonResponse.put("executionThreadPoolInstanceActive", executionThreadPoolService.isInstanceActive());
 
+            // Robot session pool hit and miss.
+            jsonResponse.put("robotSessionPool", appContext.getBean(RobotSessionPool.class).getStatus());
+
         } catch (JSONException ex) {
             LOG.warn(ex);
         } catch (Exception ex) {
@@ -33,6 +33,7 @@ import org.cerberus.core.crud.entity.Parameter;
 import org.cerberus.core.crud.service.ILogEventService;
 import org.cerberus.core.crud.service.IMyVersionService;
 import org.cerberus.core.crud.service.IParameterService;
+import org.cerberus.core.crud.service.IReferenceDataCacheService;
 import org.cerberus.core.crud.service.ITagSystemService;
 import org.cerberus.core.crud.service.ITestCaseExecutionQueueService;
 import org.cerberus.core.database.IDatabaseVersioningService;
@@ -66,6 +67,12 @@ public class ManageV001 extends HttpServlet {
     public static final String ACTIONCLEANMEMORY = "cleanMemory";
     public static final String ACTIONPURGECACHE = "purgeCache";
 
+    /**
+     * Time given to executions already submitted to become visible on the
+     * instance when it is requested to stop.
+     */
+    private static final long STOP_GRACEPERIOD_MS = 10000;
+
     private IExecutionThreadPoolService executionThreadPoolService;
     private IParameterService parameterService;
     private ITestCaseExecutionQueueService tceiqService;
@@ -74,6 +81,7 @@ public class ManageV001 extends HttpServlet {
     private IAPIKeyService apiKeyService;
     private IXRayService xrayService;
     private ITagSystemService tagSystemService;
+    private IReferenceDataCacheService referenceDataCacheService;
 
     private IDatabaseVersioningService databaseVersionService;
     private IMyVersionService myVersionService;
@@ -108,6 +116,7 @@ public class ManageV001 extends HttpServlet {
             apiKeyService = appContext.getBean(IAPIKeyService.class);
             xrayService = appContext.getBean(IXRayService.class);
             tagSystemService = appContext.getBean(ITagSystemService.class);
+            referenceDataCacheService = appContext.getBean(IReferenceDataCacheService.class);
 
             String message = "";
             String returnCode = "OK";
@@ -140,6 +149,10 @@ public class ManageV001 extends HttpServlet {
                     parameterService.purgeCacheEntry(null);
                     //TagSystem
                     tagSystemService.purgeTagSystemCache();
+                    //Reference data
+                    referenceDataCacheService.purge();
+                    //API Keys
+                    apiKeyService.purgeCache();
 
                     message = "Cache Purged.";
                     returnCode = "OK";
@@ -175,23 +188,19 @@ public class ManageV001 extends HttpServlet {
                         /**
                          * Now that we stopped the submissions of new executions
                          * and also stopped the scheduler, no more executions
-                         * should be triggered on that instance. We now wait a
-                         * bit until we check the pending executions. Some
-                         * executions could be submitted but not yet visible
-                         * from the instance yet.
+                         * should be triggered on that instance. Some executions
+                         * could be submitted but not yet visible from the
+                         * instance yet so the instance is not considered as
+                         * drained before a grace period. We then wait (up to
+                         * maxIteration seconds) for the last running execution
+                         * to end, being notified when it does.
                          */
-                        Thread.sleep(10000);
-                        /**
-                         * We loop every second until maxIteration session in
-                         * order to wait until no more executions are running on
-                         * that instance.
-                         */
-                        while (instancePendingExecutionNb > 0 && cntIteration <= maxIteration) {
-                            cntIteration++;
-                            Thread.sleep(1000);
-                            instancePendingExecutionNb = euuid.size();
-                            LOG.info("Stopping instance : Check " + cntIteration + "/" + maxIteration + " on pending executions on that instance. Still running : " + instancePendingExecutionNb);
-                        }
+                        long stopStart = System.currentTimeMillis();
+                        LOG.info("Stopping instance : Waiting for the " + instancePendingExecutionNb + " pending execution(s) on that instance to finish (max " + maxIteration + "s).");
+                        euuid.waitUntilEmpty(stopStart + STOP_GRACEPERIOD_MS, stopStart + STOP_GRACEPERIOD_MS + (maxIteration * 1000L));
+                        instancePendingExecutionNb = euuid.size();
+                        cntIteration = (int) ((System.currentTimeMillis() - stopStart) / 1000);
+                        LOG.info("Stopping instance : Waited " + cntIteration + "s on pending executions on that instance. Still running : " + instancePendingExecutionNb);
                         data.put("waitedIterations", cntIteration);
                         message = "Instance Stopped.";
                         returnCode = "OK";
@@ -0,0 +1,109 @@
+/**
+ * Cerberus Copyright (C) 2013 - 2017 cerberustesting
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This file is part of Cerberus.
+ *
+ * Cerberus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Cerberus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Cerberus.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cerberus.core.util;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Difference between a list of objects coming from a page and the same list
+ * in database, splitting the objects to create, update and delete.
+ *
+ * @param <T>
+ */
+public final class ListDiff<T> {
+
+    private final List<T> toCreate = new ArrayList<>();
+    private final List<T> toUpdate = new ArrayList<>();
+    private final List<T> toDelete = new ArrayList<>();
+
+    private ListDiff() {
+    }
+
+    /**
+     * Objects from newList equal to an object of oldList are left untouched.
+     * Other ones are updated if an object with the same key exist in oldList
+     * or else created. Objects of oldList whose key is no longer in newList
+     * are deleted.
+     *
+     * @param <T>
+     * @param newList
+     * @param oldList
+     * @param key function that return the primary key of an object.
+     * @param withDelete false to never delete objects from oldList.
+     * @return
+     */
+    public static <T> ListDiff<T> compare(List<T> newList, List<T> oldList, Function<T, ?> key, boolean withDelete) {
+        ListDiff<T> diff = new ListDiff<>();
+        Set<T> oldObjects = new HashSet<>(oldList);
+        Map<Object, T> oldByKey = new HashMap<>();
+        for (T oldObject : oldList) {
+            oldByKey.put(key.apply(oldObject), oldObject);
+        }
+        Set<Object> newKeys = new HashSet<>();
+        for (T newObject : newList) {
+            Object newKey = key.apply(newObject);
+            newKeys.add(newKey);
+            if (oldObjects.contains(newObject)) {
+                continue;
+            }
+            if (oldByKey.containsKey(newKey)) {
+                diff.toUpdate.add(newObject);
+            } else {
+                diff.toCreate.add(newObject);
+            }
+        }
+        if (withDelete) {
+            for (T oldObject : oldList) {
+                if (!newKeys.contains(key.apply(oldObject))) {
+                    diff.toDelete.add(oldObject);
+                }
+            }
+        }
+        return diff;
+    }
+
+    public List<T> getToCreate() {
+        return toCreate;
+    }
+
+    public List<T> getToUpdate() {
+        return toUpdate;
+    }
+
+    public List<T> getToDelete() {
+        return toDelete;
+    }
+
+    public boolean isEmpty() {
+        return toCreate.isEmpty() && toUpdate.isEmpty() && toDelete.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        return "create=" + toCreate.size() + " update=" + toUpdate.size() + " delete=" + toDelete.size();
+    }
+
+}
@@ -19,15 +19,23 @@
  */
 package org.cerberus.core.util;
 
+import java.sql.Connection;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.regex.Pattern;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.cerberus.core.util.answer.AnswerList;
+import org.cerberus.core.util.datatable.KeysetCursor;
 import org.json.JSONArray;
 import org.json.JSONException;
 
@@ -248,6 +256,262 @@ public class SqlUtil {
         return colValue;
     }
 
+    /**
+     * @param sortColumn column the list is sorted on (ex : exe.`Start`)
+     * @param idColumn unique id column used to break ties (ex : exe.`ID`)
+     * @param desc true if the list is sorted descending
+     * @return the seek clause that selects the rows after a keyset cursor.
+     * Parameters have to be set with
+     * {@link #setKeysetParameters(PreparedStatement, int, String, String, KeysetCursor)}.
+     */
+    public static String getKeysetClause(String sortColumn, String idColumn, boolean desc) {
+        String operator = desc ? " < ?" : " > ?";
+        if (sortColumn.equalsIgnoreCase(idColumn)) {
+            return idColumn + operator;
+        }
+        return "(" + sortColumn + operator + " or (" + sortColumn + " = ? and " + idColumn + operator + "))";
+    }
+
+    /**
+     * @param sortColumn
+     * @param idColumn
+     * @param desc
+     * @return the order by clause that matches a keyset clause.
+     */
+    public static String getKeysetOrderBy(String sortColumn, String idColumn, boolean desc) {
+        String dir = desc ? " desc" : " asc";
+        if (sortColumn.equalsIgnoreCase(idColumn)) {
+            return " order by " + idColumn + dir;
+        }
+        return " order by " + sortColumn + dir + ", " + idColumn + dir;
+    }
+
+    /**
+     * Set the parameters of a clause generated by
+     * {@link #getKeysetClause(String, String, boolean)}.
+     *
+     * @param preStat
+     * @param i index of the first parameter
+     * @param sortColumn
+     * @param idColumn
+     * @param cursor
+     * @return the index of the next parameter
+     * @throws SQLException
+     */
+    public static int setKeysetParameters(PreparedStatement preStat, int i, String sortColumn, String idColumn, KeysetCursor cursor) throws SQLException {
+        if (!sortColumn.equalsIgnoreCase(idColumn)) {
+            preStat.setString(i++, cursor.getValue());
+            preStat.setString(i++, cursor.getValue());
+        }
+        preStat.setLong(i++, cursor.getId());
+        return i;
+    }
+
+    /**
+     * @param connection
+     * @param table
+     * @return the number of rows of the table as estimated by the storage
+     * engine statistics, without scanning it. -1 if not available.
+     */
+    public static int getApproximateRowCount(Connection connection, String table) {
+        try (PreparedStatement preStat = connection.prepareStatement("SELECT TABLE_ROWS FROM information_schema.TABLES WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ?")) {
+            preStat.setString(1, table);
+            try (ResultSet resultSet = preStat.executeQuery()) {
+                if (resultSet.next()) {
+                    return (int) Math.min(Integer.MAX_VALUE, resultSet.getLong(1));
+                }
+            }
+        } catch (SQLException exception) {
+            LOG.warn("Unable to estimate row count of {} : {}", table, exception.toString());
+        }
+        return -1;
+    }
+
+    /**
+     * Turn the global search term of a list into a SQL predicate.
+     *
+     * Columns declared with {@link #fullText(String...)} must exactly match the
+     * columns of a FULLTEXT index. When the term can be answered by the index
+     * (words of at least 3 letters or digits, not only numbers and no stop
+     * word), the predicate is a MATCH ... AGAINST in boolean mode with a
+     * prefix search on every word, or a '%term%' LIKE on the columns declared
+     * with {@link #like(String...)} that are not in an index. Otherwise the
+     * predicate falls back to the historical '%term%' LIKE on the full text
+     * and the like columns.
+     *
+     * FULLTEXT only matches words from their start. A read done through
+     * {@link #read(Function)} is run again with the LIKE predicate when the
+     * full text search found nothing, so that a part of a word is still found.
+     */
+    public static class SearchQueryBuilder {
+
+        private static final Pattern INDEXABLE_WORD = Pattern.compile("[\\p{L}\\p{N}_]{3,}");
+        private static final Pattern NUMBER = Pattern.compile("[\\p{N}]+");
+        private static final int MAX_WORDS = 5;
+        /**
+         * InnoDB default stop words. A required stop word never matches.
+         */
+        private static final Set<String> STOP_WORDS = new HashSet<>(Arrays.asList(
+                "a", "about", "an", "are", "as", "at", "be", "by", "com", "de", "en", "for", "from", "how", "i", "in", "is", "it",
+                "la", "of", "on", "or", "that", "the", "this", "to", "was", "what", "when", "where", "who", "will", "with", "und", "www"));
+
+        private final String searchTerm;
+        private final List<String> fullTextIndexes = new ArrayList<>();
+        private final List<String> likeColumns = new ArrayList<>();
+        private final List<String> notIndexedColumns = new ArrayList<>();
+        private final String booleanQuery;
+        private boolean infix;
+
+        public SearchQueryBuilder(String searchTerm) {
+            this.searchTerm = searchTerm == null ? "" : searchTerm.trim();
+            this.booleanQuery = toBooleanQuery(this.searchTerm);
+        }
+
+        /**
+         * @param columns columns of a FULLTEXT index, in the index order.
+         * @return this
+         */
+        public SearchQueryBuilder fullText(String... columns) {
+            fullTextIndexes.add(String.join(", ", columns));
+            likeColumns.addAll(Arrays.asList(columns));
+            return this;
+        }
+
+        /**
+         * @param columns columns not in a FULLTEXT index, always searched with
+         * a LIKE.
+         * @return this
+         */
+        public SearchQueryBuilder like(String... columns) {
+            likeColumns.addAll(Arrays.asList(columns));
+            notIndexedColumns.addAll(Arrays.asList(columns));
+            return this;
+        }
+
+        public String getSearchTerm() {
+            return searchTerm;
+        }
+
+        public boolean isEmpty() {
+            return searchTerm.isEmpty();
+        }
+
+        public boolean isFullText() {
+            return !infix && booleanQuery != null && !fullTextIndexes.isEmpty();
+        }
+
+        /**
+         * @param reader read of the list, done with this search.
+         * @return the answer of the reader, read again with the LIKE predicate
+         * when the full text search found no row.
+         */
+        public <T> AnswerList<T> read(Function<SearchQueryBuilder, AnswerList<T>> reader) {
+            AnswerList<T> answer = reader.apply(this);
+            if (isFullText() && answer.getTotalRows() == 0
+                    && (answer.getDataList() == null || answer.getDataList().isEmpty())) {
+                infix = true;
+                answer = reader.apply(this);
+            }
+            return answer;
+        }
+
+        /**
+         * Rows matching any of the FULLTEXT indexes, one SELECT per index in a
+         * UNION. Unlike a OR between MATCH on different tables, every SELECT
+         * is answered by its own index.
+         *
+         * @param selects one SELECT per FULLTEXT index, in the declaration
+         * order, then one for the like columns if any, with a %s where the
+         * predicate goes.
+         * @return the UNION between parenthesis, to be joined as a derived
+         * table. Its parameters are set by
+         * {@link #setParameters(PreparedStatement, int)}.
+         */
+        public String getUnion(String... selects) {
+            List<String> queries = new ArrayList<>();
+            for (int j = 0; j < fullTextIndexes.size(); j++) {
+                queries.add(String.format(selects[j], "MATCH(" + fullTextIndexes.get(j) + ") AGAINST(? IN BOOLEAN MODE)"));
+            }
+            if (!notIndexedColumns.isEmpty()) {
+                queries.add(String.format(selects[fullTextIndexes.size()], "(" + getLikePredicates(notIndexedColumns) + ")"));
+            }
+            return "(" + String.join(" UNION ", queries) + ")";
+        }
+
+        /**
+         * @return the predicate between parenthesis, empty if there is no
+         * search term.
+         */
+        public String getClause() {
+            if (isEmpty()) {
+                return "";
+            }
+            if (!isFullText()) {
+                return "(" + getLikePredicates(likeColumns) + ")";
+            }
+            List<String> predicates = new ArrayList<>();
+            for (String index : fullTextIndexes) {
+                predicates.add("MATCH(" + index + ") AGAINST(? IN BOOLEAN MODE)");
+            }
+            if (!notIndexedColumns.isEmpty()) {
+                predicates.add(getLikePredicates(notIndexedColumns));
+            }
+            return "(" + String.join(" or ", predicates) + ")";
+        }
+
+        private static String getLikePredicates(List<String> columns) {
+            List<String> predicates = new ArrayList<>();
+            for (String column : columns) {
+                predicates.add(column + " like ?");
+            }
+            return String.join(" or ", predicates);
+        }
+
+        /**
+         * @param preStat
+         * @param i index of the first parameter of the clause
+         * @return the index of the next parameter
+         * @throws SQLException
+         */
+        public int setParameters(PreparedStatement preStat, int i) throws SQLException {
+            if (isEmpty()) {
+                return i;
+            }
+            if (isFullText()) {
+                for (int j = 0; j < fullTextIndexes.size(); j++) {
+                    preStat.setString(i++, booleanQuery);
+                }
+                for (int j = 0; j < notIndexedColumns.size(); j++) {
+                    preStat.setString(i++, "%" + searchTerm + "%");
+                }
+            } else {
+                for (int j = 0; j < likeColumns.size(); j++) {
+                    preStat.setString(i++, "%" + searchTerm + "%");
+                }
+            }
+            return i;
+        }
+
+        private static String toBooleanQuery(String term) {
+            if (term.isEmpty()) {
+                return null;
+            }
+            String[] words = term.split("\\s+");
+            if (words.length > MAX_WORDS) {
+                return null;
+            }
+            StringBuilder query = new StringBuilder();
+            for (String word : words) {
+                if (!INDEXABLE_WORD.matcher(word).matches() || NUMBER.matcher(word).matches()
+                        || STOP_WORDS.contains(word.toLowerCase())) {
+                    return null;
+                }
+                query.append("+").append(word).append("* ");
+            }
+            return query.toString().trim();
+        }
+    }
+
     public static boolean hasColumn(ResultSet rs, String columnName) throws SQLException {
         ResultSetMetaData rsmd = rs.getMetaData();
         int columns = rsmd.getColumnCount();
@@ -41,6 +41,12 @@ public class AnswerList<E extends Object> extends Answer {
      */
     private int totalRows;
 
+    /**
+     * Cursor to read the next page when the list was read in keyset mode,
+     * null when there is no next page or offset pagination was used
+     */
+    private String nextCursor;
+
     public AnswerList() {
         this.totalRows = 0;
     }
@@ -83,4 +89,12 @@ public class AnswerList<E extends Object> extends Answer {
     public void setTotalRows(int totalRows) {
         this.totalRows = totalRows;
     }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
 }
@@ -0,0 +1,89 @@
+/**
+ * Cerberus Copyright (C) 2013 - 2017 cerberustesting
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This file is part of Cerberus.
+ *
+ * Cerberus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Cerberus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Cerberus.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cerberus.core.util.datatable;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Position of the last row returned by a keyset (seek) paginated list. The
+ * next page is read with a where clause on the sort column and the row id
+ * instead of an offset, so reading page n does not cost n pages of scan.
+ *
+ * The cursor travels to the browser as an opaque url safe string.
+ */
+public class KeysetCursor {
+
+    private static final Logger LOG = LogManager.getLogger(KeysetCursor.class);
+
+    private static final String SEPARATOR = "|";
+
+    /**
+     * Value of the sort column on the last row (null when sorting on the id).
+     */
+    private final String value;
+    /**
+     * Id of the last row, used to break ties on the sort column.
+     */
+    private final long id;
+
+    public KeysetCursor(String value, long id) {
+        this.value = value;
+        this.id = id;
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public String encode() {
+        String raw = id + SEPARATOR + (value == null ? "" : value);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @param cursor string produced by {@link #encode()}
+     * @return the decoded cursor or null when cursor is empty or malformed.
+     */
+    public static KeysetCursor decode(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int sep = raw.indexOf(SEPARATOR);
+            if (sep <= 0) {
+                return null;
+            }
+            String value = raw.substring(sep + 1);
+            return new KeysetCursor(value.isEmpty() ? null : value, Long.parseLong(raw.substring(0, sep)));
+        } catch (IllegalArgumentException ex) {
+            LOG.debug("Invalid keyset cursor '{}' : {}", cursor, ex.toString());
+            return null;
+        }
+    }
+
+}
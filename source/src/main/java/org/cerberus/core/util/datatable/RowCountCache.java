@@ -0,0 +1,72 @@
+/**
+ * Cerberus Copyright (C) 2013 - 2017 cerberustesting
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This file is part of Cerberus.
+ *
+ * Cerberus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Cerberus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Cerberus.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cerberus.core.util.datatable;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Short lived cache of the total number of rows of a list. Used by keyset
+ * paginated lists so that scrolling a large table does not recount the whole
+ * table on every page.
+ */
+public class RowCountCache {
+
+    private static final int MAX_ENTRIES = 500;
+
+    private final long ttlMs;
+    private final Map<String, long[]> counts = new ConcurrentHashMap<>();
+
+    /**
+     * @param ttlMs duration in ms a count stays valid.
+     */
+    public RowCountCache(long ttlMs) {
+        this.ttlMs = ttlMs;
+    }
+
+    /**
+     * @param key query and parameters the count was computed for.
+     * @return the cached count or -1 when missing or expired.
+     */
+    public int get(String key) {
+        long[] entry = counts.get(key);
+        if (entry == null || entry[1] < System.currentTimeMillis()) {
+            return -1;
+        }
+        return (int) entry[0];
+    }
+
+    public void put(String key, int count) {
+        if (counts.size() >= MAX_ENTRIES) {
+            long now = System.currentTimeMillis();
+            for (Iterator<long[]> it = counts.values().iterator(); it.hasNext();) {
+                if (it.next()[1] < now) {
+                    it.remove();
+                }
+            }
+            if (counts.size() >= MAX_ENTRIES) {
+                counts.clear();
+            }
+        }
+        counts.put(key, new long[]{count, System.currentTimeMillis() + ttlMs});
+    }
+
+}
@@ -6232,3 +6232,153 @@ ALTER TABLE tag MODIFY COLUMN Description TEXT NULL;
 -- 1255
 INSERT INTO `invariant` (`idname`, `value`, `sort`, `description`)
   VALUES   ('CAMPAIGN_TCCRITERIA', 'TESTFOLDER', 50 , '');
+
+-- 1756
+CREATE TABLE `eventoutbox` (`ID` bigint(20) unsigned NOT NULL AUTO_INCREMENT, `EventReference` VARCHAR(45) NOT NULL DEFAULT '', `EventHookID` int(11) NOT NULL DEFAULT 0, 
+    `ObjectKey1` VARCHAR(255) NOT NULL DEFAULT '', `ObjectKey2` VARCHAR(255) NOT NULL DEFAULT '', `ObjectKey3` VARCHAR(255) NOT NULL DEFAULT '', `ObjectKey4` VARCHAR(255) NOT NULL DEFAULT '', 
+    `Status` VARCHAR(45) NOT NULL DEFAULT 'QUEUED', `NbRetry` int(10) NOT NULL DEFAULT 0, `NextTryDate` TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP, `Message` TEXT NULL, 
+    `UsrCreated` VARCHAR(45) NOT NULL DEFAULT '',`DateCreated` TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,`UsrModif` VARCHAR(45) NOT NULL DEFAULT '',`DateModif` TIMESTAMP NOT NULL DEFAULT '1970-01-01 01:01:01', 
+    PRIMARY KEY (`ID`), KEY `IX_eventoutbox_01` (`Status`, `NextTryDate`), KEY `IX_eventoutbox_02` (`EventHookID`))
+  ENGINE=InnoDB AUTO_INCREMENT=1 DEFAULT CHARSET=utf8;
+
+-- 1757
+INSERT INTO `parameter` (`system`, `param`, `value`, `description`)
+  VALUES ('', 'cerberus_eventoutbox_maxretry', '5', 'Maximum number of delivery attempts of an event hook notification before it is moved to ERROR status.')
+  ,('', 'cerberus_eventoutbox_retryperiod', '30', 'Nb of seconds before the first retry of a failed event hook notification. That period doubles on every new attempt.')
+  ,('', 'cerberus_eventoutbox_coalescewindow', '30', 'Nb of seconds during which end of execution notifications sent to the same Slack, Teams or Google Chat hook are grouped into a single summary message. 0 disable the grouping.')
+  ,('', 'cerberus_eventoutbox_threadpoolsize', '4', 'Nb of parallel threads used in order to deliver event hook notifications.')
+  ,('', 'cerberus_eventoutbox_retention', '7', 'Nb of days delivered event hook notifications are kept in eventoutbox table.')
+  ,('', 'cerberus_eventhook_cacheduration', '60', 'Cache duration in second of event hook definitions.');
+
+-- 1758
+INSERT INTO `parameter` (`system`, `param`, `value`, `description`)
+  VALUES ('', 'cerberus_pdfcampaignreport_threadpoolsize', '4', 'Nb of parallel threads used in order to generate the appendix files of pdf campaign execution reports.')
+  ,('', 'cerberus_pdfcampaignreport_cachesize', '10', 'Nb of campaign execution pdf reports kept on disk in order to be served again as long as the campaign execution does not change. 0 disable the cache.');
+
+-- 1759
+INSERT INTO `parameter` (`system`, `param`, `value`, `description`)
+  VALUES ('', 'cerberus_screenshot_writer_threadpoolsize', '2', 'Nb of parallel threads used in order to write screenshots to the media storage folder.')
+  ,('', 'cerberus_screenshot_writer_queuesize', '200', 'Maximum nb of screenshots waiting to be written. When the queue is full, execution thread write the screenshot itself.')
+  ,('', 'cerberus_screenshot_recompress_boolean', 'false', 'Boolean in order to recompress (without any loss) the png screenshots before they are stored. Screenshots bigger than cerberus_screenshot_max_size are always recompressed before being rejected.');
+
+-- 1760
+INSERT INTO `parameter` (`system`, `param`, `value`, `description`)
+  VALUES ('', 'cerberus_exeautomedia_packthreshold', '65536', 'Size in bytes under which execution files are packed into a single segment file per execution (artifacts.seg) instead of one file each. 0 disable the packing.')
+  ,('', 'cerberus_exeautomedia_dedup_boolean', 'true', 'Boolean in order to store only once (in cas folder of cerberus_exeautomedia_path) the execution files that have the same content. Small identical files are also shared inside the segment file of the execution.');
+
+-- 1761
+CREATE TABLE `testcaseexecutionhttpstatmetric` (`ExeID` bigint(20) unsigned NOT NULL, `Party` VARCHAR(150) NOT NULL, `Type` VARCHAR(20) NOT NULL, `Unit` VARCHAR(20) NOT NULL, `Value` bigint(20) NOT NULL DEFAULT 0, 
+    PRIMARY KEY (`ExeID`, `Party`, `Type`, `Unit`))
+  ENGINE=InnoDB DEFAULT CHARSET=utf8;
+
+-- 1762
+CREATE TABLE `testcaseexecutionhttpstathourly` (`Period` DATETIME NOT NULL, `CurveKey` CHAR(32) NOT NULL, 
+    `System` varchar(45) NOT NULL DEFAULT '', `Application` varchar(200) NOT NULL DEFAULT '', `Test` varchar(45) NOT NULL DEFAULT '', `Testcase` varchar(45) NOT NULL DEFAULT '', `Country` varchar(45) NOT NULL DEFAULT '', `Environment` varchar(45) NOT NULL DEFAULT '', `RobotDecli` varchar(100) NOT NULL DEFAULT '', `ControlStatus` varchar(2) NOT NULL DEFAULT '', 
+    `Party` VARCHAR(150) NOT NULL, `Type` VARCHAR(20) NOT NULL, `Unit` VARCHAR(20) NOT NULL, 
+    `NbExe` int(10) NOT NULL DEFAULT 0, `ValueSum` bigint(20) NOT NULL DEFAULT 0, `ValueMin` bigint(20) NOT NULL DEFAULT 0, `ValueMax` bigint(20) NOT NULL DEFAULT 0, `LastExeID` bigint(20) unsigned NOT NULL DEFAULT 0, 
+    PRIMARY KEY (`Period`, `CurveKey`), KEY `IX_testcaseexecutionhttpstathourly_01` (`Test`, `Testcase`, `Period`))
+  ENGINE=InnoDB DEFAULT CHARSET=utf8;
+
+-- 1763
+CREATE TABLE `testcaseexecutionhttpstatdaily` (`Period` DATETIME NOT NULL, `CurveKey` CHAR(32) NOT NULL, 
+    `System` varchar(45) NOT NULL DEFAULT '', `Application` varchar(200) NOT NULL DEFAULT '', `Test` varchar(45) NOT NULL DEFAULT '', `Testcase` varchar(45) NOT NULL DEFAULT '', `Country` varchar(45) NOT NULL DEFAULT '', `Environment` varchar(45) NOT NULL DEFAULT '', `RobotDecli` varchar(100) NOT NULL DEFAULT '', `ControlStatus` varchar(2) NOT NULL DEFAULT '', 
+    `Party` VARCHAR(150) NOT NULL, `Type` VARCHAR(20) NOT NULL, `Unit` VARCHAR(20) NOT NULL, 
+    `NbExe` int(10) NOT NULL DEFAULT 0, `ValueSum` bigint(20) NOT NULL DEFAULT 0, `ValueMin` bigint(20) NOT NULL DEFAULT 0, `ValueMax` bigint(20) NOT NULL DEFAULT 0, `LastExeID` bigint(20) unsigned NOT NULL DEFAULT 0, 
+    PRIMARY KEY (`Period`, `CurveKey`), KEY `IX_testcaseexecutionhttpstatdaily_01` (`Test`, `Testcase`, `Period`))
+  ENGINE=InnoDB DEFAULT CHARSET=utf8;
+
+-- 1764
+ALTER TABLE `testcase` ADD FULLTEXT INDEX `FT_testcase_01` (`Test`, `TestCase`, `Application`, `Description`, `Status`, `Type`, `UsrCreated`, `UsrModif`);
+
+-- 1765
+ALTER TABLE `label` ADD FULLTEXT INDEX `FT_label_01` (`Label`);
+
+-- 1766
+ALTER TABLE `testcaseexecution` ADD FULLTEXT INDEX `FT_testcaseexecution_02` (`Test`, `TestCase`, `Tag`);
+
+-- 1767
+ALTER TABLE `appservice` ADD FULLTEXT INDEX `FT_appservice_01` (`Service`, `Application`, `Type`, `ServicePath`, `Method`, `Operation`, `ServiceRequest`, `KafkaTopic`, `KafkaKey`, `AttachementURL`, `Group`, `Description`, `UsrCreated`, `UsrModif`);
+
+-- 1768
+ALTER TABLE `testdatalib` ADD FULLTEXT INDEX `FT_testdatalib_01` (`Name`, `Group`, `Type`, `Database`, `DatabaseUrl`, `Script`, `Service`, `ServicePath`, `Method`, `Envelope`, `DatabaseCsv`, `CsvUrl`, `Description`, `System`, `Environment`, `Country`);
+
+-- 1769
+ALTER TABLE `applicationobject` ADD FULLTEXT INDEX `FT_applicationobject_01` (`Application`, `Object`, `Value`, `ScreenshotFileName`, `UsrCreated`, `UsrModif`);
+
+-- 1770
+INSERT INTO `parameter` (`system`, `param`, `value`, `description`)
+  VALUES ('', 'cerberus_executionretentionjob_active', 'true', 'Boolean in order to activate the job that archives and purges the old executions, log events and queue statistics.')
+  ,('', 'cerberus_executionretentionjob_period', '60', 'Integer that correspond to the number of minutes between every execution retention job.')
+  ,('', 'cerberus_executionretention_days', '0', 'Nb of days executions are kept in the database. Older executions are archived (see cerberus_executionretention_archive_boolean) then deleted with their media. Can be defined per system. 0 keep the executions forever.')
+  ,('', 'cerberus_executionretention_keeptagregex', '', 'Regular expression on the tag of the executions that must be kept whatever their age (ex : ^RELEASE-). Can be defined per system.')
+  ,('', 'cerberus_executionretention_batchsize', '200', 'Nb of executions archived and deleted at once by the execution retention job. Log events and queue statistics are purged by 10 times that nb of rows.')
+  ,('', 'cerberus_executionretention_pausems', '200', 'Pause in ms between 2 batches of the execution retention job in order to leave room to the running executions.')
+  ,('', 'cerberus_executionretention_archive_boolean', 'true', 'Boolean in order to save the executions into gzipped json files before they are deleted.')
+  ,('', 'cerberus_executionretention_archivepath', '', 'Path where the execution archive files are written. Empty to use the archive folder of cerberus_exeautomedia_path.')
+  ,('', 'cerberus_logeventretention_days', '0', 'Nb of days log events are kept. 0 keep them forever.')
+  ,('', 'cerberus_queuestatretention_days', '0', 'Nb of days queue statistics are kept. 0 keep them forever.');
+
+-- 1771
+CREATE TABLE `tagstatdaily` (  `System` VARCHAR(45) NOT NULL DEFAULT '',  `Campaign` VARCHAR(200) NOT NULL DEFAULT '',  `Day` DATE NOT NULL,  `NbTag` INT NOT NULL DEFAULT 0,  `NbExe` INT NOT NULL DEFAULT 0,  `NbExeUsefull` INT NOT NULL DEFAULT 0,  `NbOK` INT NOT NULL DEFAULT 0,  `NbKO` INT NOT NULL DEFAULT 0,  `NbFA` INT NOT NULL DEFAULT 0,  `NbNA` INT NOT NULL DEFAULT 0,  `NbNE` INT NOT NULL DEFAULT 0,  `NbWE` INT NOT NULL DEFAULT 0,  `NbPE` INT NOT NULL DEFAULT 0,  `NbQU` INT NOT NULL DEFAULT 0,  `NbQE` INT NOT NULL DEFAULT 0,  `NbCA` INT NOT NULL DEFAULT 0,  PRIMARY KEY (`Day`, `System`, `Campaign`),  INDEX `IX_tagstatdaily_01` (`System`, `Day`))
+  ENGINE=InnoDB DEFAULT CHARSET=utf8;
+
+-- 1772
+CREATE TABLE `queuestatbucket` (  `BucketStart` TIMESTAMP NOT NULL DEFAULT '1970-01-01 01:01:01',  `NbSample` INT NOT NULL DEFAULT 0,  `GlobalConstrainMax` INT NOT NULL DEFAULT 0,  `CurrentlyRunningMin` INT NOT NULL DEFAULT 0,  `CurrentlyRunningAvg` DECIMAL(10,2) NOT NULL DEFAULT 0,  `CurrentlyRunningMax` INT NOT NULL DEFAULT 0,  `QueueSizeMin` INT NOT NULL DEFAULT 0,  `QueueSizeAvg` DECIMAL(10,2) NOT NULL DEFAULT 0,  `QueueSizeMax` INT NOT NULL DEFAULT 0,  PRIMARY KEY (`BucketStart`))
+  ENGINE=InnoDB DEFAULT CHARSET=utf8;
+
+-- 1773
+INSERT INTO `parameter` (`system`, `param`, `value`, `description`)
+  VALUES ('', 'cerberus_queuestat_flushsize', '10', 'Nb of queue stat samples (one per minute) kept in memory before being written to the database in a single batch.')
+  ,('', 'cerberus_queuestatcompactionjob_period', '60', 'Integer that correspond to the number of minutes between every queue stat compaction job.')
+  ,('', 'cerberus_queuestatcompaction_days', '7', 'Nb of days queue stat samples are kept at full resolution. Older samples are compacted into hourly min/avg/max buckets. 0 disable the compaction.');
+
+-- 1774
+UPDATE `parameter` SET `value` = '500', `description` = 'Maximum number of points on the queue history graph. Queue stats are averaged by the database on larger periods.' WHERE `system` = '' and `param` = 'cerberus_queueshistorystatgraph_maxnbpoints' and `value` = '1000';
+
+-- 1775
+INSERT INTO `parameter` (`system`, `param`, `value`, `description`)
+  VALUES ('', 'cerberus_ftp_pool_maxidle', '4', 'Maximum number of idle authenticated FTP connections kept per server, account and proxy. 0 disable the pool.')
+  ,('', 'cerberus_ftp_pool_idletimeout', '60', 'Nb of seconds an idle FTP connection is kept in the pool before being closed.')
+  ,('', 'cerberus_ftp_streamthreshold', '10485760', 'Size in bytes above which a downloaded FTP file is streamed to disk instead of being kept in memory. Only a preview is then available as the response body.');
+
+-- 1776
+INSERT INTO `myversion` (`Key`, `Value`) VALUES ('referencedata_version', 0);
+
+-- 1777
+INSERT INTO `parameter` (`system`, `param`, `value`, `description`)
+  VALUES ('', 'cerberus_robotexecutor_healthcheck_period', '30', 'Nb of seconds between 2 background availability checks of the active robot executors (hub and executor extension). Executors found down are skipped by the queue. 0 disable the background check.')
+  ,('', 'cerberus_robotexecutor_healthcheck_timeout', '5000', 'Timeout in ms of the connection and read when checking the availability of a robot executor hub or extension.');
+
+-- 1778
+INSERT INTO `parameter` (`system`, `param`, `value`, `description`)
+  VALUES ('', 'cerberus_apikey_cachettl', '60', 'Nb of seconds a verified (or rejected) API Key is kept in memory before being checked again against the user table. The cache is purged when a user is created, updated or deleted on the same instance. 0 disable the cache.')
+  ,('', 'cerberus_apikey_maxfailures', '20', 'Maximum number of invalid API Key a client can send per minute. Above it, calls with an invalid API Key are answered with HTTP 429 instead of 401. Valid API Keys are always accepted. 0 disable the limit.')
+  ,('', 'cerberus_apikey_trustedproxies', '', 'Comma separated list of the IP of the reverse proxies in front of Cerberus. For calls coming from one of them, the client counted by cerberus_apikey_maxfailures is taken from the X-Forwarded-For header.');
+
+-- 1779
+INSERT INTO `myversion` (`Key`, `Value`, `ValueString`) VALUES ('database_checksum', 0, ''), ('documentation_checksum', 0, '');
+
+-- 1780
+INSERT INTO `parameter` (`system`, `param`, `value`, `description`)
+  VALUES ('', 'cerberus_robot_sessionpool_size', '0', 'Number of warm standby browser sessions kept started per robot and capabilities. Sessions are reset and reused by the next executions instead of being started on the hub for every execution. Warm sessions use hub slots even when no execution is running. 0 disable the pool.')
+  ,('', 'cerberus_robot_sessionpool_idletimeout', '240', 'Nb of seconds a standby browser session can stay idle before being closed. Keep it below the session timeout of the hub. Robots not used since that delay are no longer kept warm.')
+  ,('', 'cerberus_robot_sessionpool_freshbrowserlabel', 'FreshBrowser', 'Name of the label that, when attached to a test case, makes it always run on a new browser session that is not taken from or given back to the session pool.');
+
+-- 1781
+INSERT INTO `parameter` (`system`, `param`, `value`, `description`)
+  VALUES ('', 'cerberus_property_parallelcalculation_poolsize', '0', 'Number of threads used to calculate concurrently the independent properties (getFromSql, getFromDataLib and getFromJson on an url) needed at the same time by an action or a control. Retries of those properties are scheduled instead of blocking a thread. 0 keeps the sequential calculation on the execution thread.');
+
+-- 1782
+INSERT INTO `parameter` (`system`, `param`, `value`, `description`)
+  VALUES ('', 'cerberus_execution_parallelstep_poolsize', '0', 'Maximum number of steps of a same execution executed concurrently on SRV and NONE applications. Only consecutive steps that are executed once (no loop), with an always condition, that do not use a library step, that only call services or execute sql and that do not share any property are executed together. Steps are still reported in their sort order. 0 or 1 keeps the sequential execution of the steps.');
+
+-- 1783
+INSERT INTO `parameter` (`system`, `param`, `value`, `description`)
+  VALUES ('', 'cerberus_robot_sessionpool_maxidleperhost', '10', 'Maximum number of idle and starting standby browser sessions kept per robot host, all capabilities together. Sessions given back when the host already reached that number are closed.');
+
+-- 1784
+UPDATE `parameter` SET `description` = 'Maximum number of steps of a same execution executed concurrently on SRV and NONE applications. Only testcases that activate the option parallelSteps with value Y are concerned. Only consecutive steps that are executed once (no loop), with an always condition, that do not use a library step, that only call services or execute sql, that do not read the return code of a step and that do not share any property are executed together. Steps are still reported in their sort order. 0 or 1 keeps the sequential execution of the steps.'
+    WHERE (`system` = '') and (`param` = 'cerberus_execution_parallelstep_poolsize');
+
+-- 1785
+ALTER TABLE `eventoutbox` ADD COLUMN `Payload` MEDIUMTEXT NULL AFTER `ObjectKey4`;
@@ -25,6 +25,9 @@
 <%@page import="org.springframework.context.ApplicationContext"%>
 <%@page import="java.util.Date"%>
 <%@page import="java.util.ArrayList"%>
+<%@page import="java.util.LinkedHashMap"%>
+<%@page import="java.util.List"%>
+<%@page import="java.util.Map"%>
 <%@page import="org.springframework.web.context.support.WebApplicationContextUtils" %>
 <%@page import="org.cerberus.core.crud.factory.IFactoryMyversion"%>
 <%@page import="org.cerberus.core.crud.factory.impl.FactoryMyversion"%>
@@ -53,8 +56,8 @@
                 Logger LOG = LogManager.getLogger("DatabaseMaintenance.jsp");
 
                 Integer NewVersion;
-                // Full script that create the cerberus database.
-                ArrayList<String> SQLInstruction;
+                // SQL still to be executed on the cerberus database indexed by their version.
+                LinkedHashMap<Integer, String> SQLInstruction;
                 // Store the Return code of the specific SQL.
                 ArrayList<String> SQLRC;
                 // Store the Return code of the specific SQL.
@@ -65,6 +68,8 @@
                 boolean SQLExecuted = false;
                 // SQL that has version equal to SQLLimit will not be executed automatically.
                 Integer SQLLimit = 1748; // 4.16 Version LEVEL.
+                // Number of SQL executed inside the same transaction.
+                int SQLChunk = 100;
                 IFactoryMyversion factoryMyversion;
 
                 try {
@@ -84,16 +89,16 @@
 
                     // Displaying the current version of the database.
                     // Start to build the SQL Script here.
-                    SQLInstruction = new ArrayList<String>();
                     appContext = WebApplicationContextUtils.getWebApplicationContext(this.getServletContext());
                     IDatabaseVersioningService databaseVersionService = appContext.getBean(IDatabaseVersioningService.class);
-                    SQLInstruction = databaseVersionService.getSQLScriptFromFile();
+                    // Only the SQL that are not yet applied are read from the script.
+                    SQLInstruction = databaseVersionService.getSQLScriptFromVersion(DtbVersion.getValue());
 
                     // Initialize the array that will receive the RC of every execution.
                     SQLRC = new ArrayList<String>();
 
-                    // Calculate the version that will be updated. Version correspond directly to the size of the arry (ie the number of SQL to execute)
-                    NewVersion = SQLInstruction.size();
+                    // Calculate the version that will be updated. Version correspond directly to the number of SQL in the script.
+                    NewVersion = databaseVersionService.getSqlVersion();
 
                     if (DtbVersion.getValue() < NewVersion) {
                         String ButtonText = "Apply Next SQL";
@@ -106,7 +111,7 @@
                         out.print("<input type=\"text\" class=\"form-control\" name=\"databaseVersion\" aria-describedby=\"basic-addon1\" value=\"" + DtbVersion.getValue() + "\" readonly></div>");
                         out.print("<div class=\"form-group col-xs-6\">");
                         out.print("<label for=\"targetVersion\" name=\"targetVersion\">Target Database Version</label>");
-                        out.print("<input type=\"text\" class=\"form-control\" name=\"targetDatabaseVersion\" aria-describedby=\"basic-addon1\" value=\"" + SQLInstruction.size() + "\" readonly></div></div>");
+                        out.print("<input type=\"text\" class=\"form-control\" name=\"targetDatabaseVersion\" aria-describedby=\"basic-addon1\" value=\"" + NewVersion + "\" readonly></div></div>");
                         out.print("<input id=\"buttonApplyDatabase\" class=\"btn btn-warning btn-lg\" type=\"submit\" disabled=\"disabled\" value=\"" + ButtonText + "\" onClick=\"ExecApply.submit(); this.disabled=true; this.value='Processing...'; \">");
 
                         if (DtbVersion.getValue() < NewVersion) {
@@ -114,45 +119,59 @@
                             out.print("<div class=\"panel-body\"><table class=\"table table-hover\">");
                             out.print("<tr><th>version</th><th>SQL</th><th>Status</th></tr>");
                             Integer i = 0;
-                            for (String MySQL : SQLInstruction) {
-                                i = i + 1;
-                                if ((i > DtbVersion.getValue()) && ((request.getParameter("GO") != null))) { // Only if the SQL has not been executed already. and button pressed.
-                                    if ((i < SQLLimit) || (SQLExecuted == false)) { // After version SQLLimit, only 1 execution at a time.
-                                        // Execute the SQL Here
-                                        LOG.info("Execute SQL to version : " + i + " / " + SQLInstruction.size());
-                                        MySQLRC = databaseVersionService.exeSQL(MySQL);
-                                        SQLExecuted = true;
-                                        SQLRC.add(MySQLRC);
-                                        String colorClass = "";
-                                        String rowLine = "";
-                                        if (MySQLRC.equalsIgnoreCase("OK")) {
-                                            colorClass = "success";
-                                            rowLine = "1";
-                                        } else {
-                                            colorClass = "danger";
-                                            rowLine = "5";
-                                        }
+                            // List of the SQL to execute in that batch.
+                            List<Integer> SQLToExecute = new ArrayList<Integer>();
+                            if (request.getParameter("GO") != null) { // Only if button pressed.
+                                for (Integer version : SQLInstruction.keySet()) {
+                                    if ((version < SQLLimit) || (SQLExecuted == false)) { // After version SQLLimit, only 1 execution at a time.
+                                        SQLToExecute.add(version);
+                                        SQLExecuted = (version >= SQLLimit);
+                                    }
+                                }
+                            }
+                            // SQL are executed by chunk on a single connection. Each SQL is committed with the new database version. SQL in error are reported and the next ones are still executed.
+                            boolean SQLError = false;
+                            for (int chunkStart = 0; (chunkStart < SQLToExecute.size()) && !SQLError; chunkStart += SQLChunk) {
+                                List<Integer> chunkVersions = SQLToExecute.subList(chunkStart, Math.min(chunkStart + SQLChunk, SQLToExecute.size()));
+                                LinkedHashMap<Integer, String> chunkSQL = new LinkedHashMap<Integer, String>();
+                                for (Integer version : chunkVersions) {
+                                    chunkSQL.put(version, SQLInstruction.get(version));
+                                }
+                                LOG.info("Execute SQL to version : " + chunkVersions.get(chunkVersions.size() - 1) + " / " + NewVersion);
+                                List<String> chunkRC = databaseVersionService.exeSQL(chunkSQL);
+                                for (int j = 0; j < chunkRC.size(); j++) {
+                                    i = chunkVersions.get(j);
+                                    String MySQL = chunkSQL.get(i);
+                                    MySQLRC = chunkRC.get(j);
+                                    SQLRC.add(MySQLRC);
+                                    String colorClass = "";
+                                    String rowLine = "";
+                                    if (MySQLRC.equalsIgnoreCase("OK")) {
+                                        colorClass = "success";
+                                        rowLine = "1";
+                                    } else {
+                                        colorClass = "danger";
+                                        rowLine = "5";
+                                    }
 
-                                        out.print("<tr class=\"" + colorClass + "\"><td>");
-                                        out.print(i);
-                                        out.print("</td><td class=\"wob\"><textarea class=\"form-control\" name=\"SQL\" rows=\"" + rowLine + "\" style=\"background-color:transparent;border:0px;font-size:x-small;width: 100%\" readonly>");
-                                        out.print(MySQL.replace("</textarea>", "</text4rea>"));
-                                        out.print("</textarea></td>");
+                                    out.print("<tr class=\"" + colorClass + "\"><td>");
+                                    out.print(i);
+                                    out.print("</td><td class=\"wob\"><textarea class=\"form-control\" name=\"SQL\" rows=\"" + rowLine + "\" style=\"background-color:transparent;border:0px;font-size:x-small;width: 100%\" readonly>");
+                                    out.print(MySQL.replace("</textarea>", "</text4rea>"));
+                                    out.print("</textarea></td>");
 
-                                        if ((i >= 3) && (MySQLRC.equalsIgnoreCase("OK"))) { // The myversion table is only available after the Version 3
-                                            // Update the myversion table to comit the execution of the SQL Instruction.
-                                            DtbVersion.setValue(i);
-                                            myVersionService.update(DtbVersion);
-                                        }
-                                        if (i >= 4) { // The log table is only available after the Version 4
-                                            // Log the SQL execution here
-                                            logEventService.createForPrivateCalls("/DatabaseMaintenance.jsp", "SQL", "SQL " + MySQLRC + ": ['" + MySQL + "']", request);
-                                        }
-                                        out.print("<td><textarea class=\"form-control\" name=\"SQL\" rows=\"" + rowLine + "\" style=\"background-color:transparent;border:0px;font-size:x-small;width: 100%\" readonly>");
-                                        out.print(MySQLRC);
-                                        out.print("</textarea></td>");
-                                        out.println("</tr>");
+                                    if (i >= 4) { // The log table is only available after the Version 4
+                                        // Log the SQL execution here
+                                        logEventService.createForPrivateCalls("/DatabaseMaintenance.jsp", "SQL", "SQL " + MySQLRC + ": ['" + MySQL + "']", request);
                                     }
+                                    out.print("<td><textarea class=\"form-control\" name=\"SQL\" rows=\"" + rowLine + "\" style=\"background-color:transparent;border:0px;font-size:x-small;width: 100%\" readonly>");
+                                    out.print(MySQLRC);
+                                    out.print("</textarea></td>");
+                                    out.println("</tr>");
+                                }
+                                if (chunkRC.size() < chunkSQL.size()) {
+                                    // Connection lost, the remaining SQL cannot be executed.
+                                    SQLError = true;
                                 }
                             }
                             out.print("</table>");
@@ -176,13 +195,13 @@
                         i = 0;
                         out.print("<div class=\"panel-body\"><table class=\"table table-hover\">");
                         out.print("<tr><th class=\"col-md-1\">version</th><th class=\"col-md-11\">SQL</th></tr>");
-                        for (String MySQL : SQLInstruction) {
-                            i = i + 1;
+                        for (Map.Entry<Integer, String> MySQL : SQLInstruction.entrySet()) {
+                            i = MySQL.getKey();
                             if (i > DtbVersion.getValue()) {
                                 out.print("<tr><td>");
                                 out.print(i);
                                 out.print("</td><td class=\"wob\" style=\"padding:0\"><textarea class=\"form-control\" name=\"SQL\" rows=\"3\" style=\"background-color:transparent;border:0px;font-size:x-small;width: 100%\" readonly>");
-                                out.print(MySQL.replace("</textarea>", "</text4rea>"));
+                                out.print(MySQL.getValue().replace("</textarea>", "</text4rea>"));
                                 out.print("</textarea></td>");
                                 out.println("</tr>");
                             }
@@ -206,7 +225,7 @@
                     // We force the reload of the Documentation Database.
                     if ((NewVersion > 100) && (request.getParameter("GO") != null)) {
                         DocumentationDatabaseService documentationService = appContext.getBean(DocumentationDatabaseService.class);
-                        documentationService.init();
+                        documentationService.refresh(true);
                     }
             %>
             <script>
@@ -224,7 +243,7 @@
                             out.print("<div class=\"panel panel-default marginTop20\"><div class=\"panel-heading\"><span class=\"glyphicon glyphicon-list\"></span><label>  All SQL Scripts :</label></div>");
                             out.print("<div class=\"panel-body\"><table class=\"table table-hover\">");
                             out.print("<tr><th class=\"col-md-1\">version</th><th class=\"col-md-11\">SQL</th></tr>");
-                            for (String MySQL : SQLInstruction) {
+                            for (String MySQL : databaseVersionService.getSQLScriptFromFile()) {
                                 i = i + 1;
                                 out.print("<tr><td>");
                                 out.print(i);
@@ -1525,6 +1525,8 @@ function TableConfigurationsServerSide(divId, ajaxSource, ajaxProp, aoColumnsFun
     this.stateDuration = 0;
     this.colreorder = true;
     this.searchDelay = 500;
+    //Keyset pagination : the servlet reads the next page after the last row of the current one instead of skipping rows (servlet must support the keyset and cursor parameters)
+    this.keysetPaging = false;
 }
 
 function returnMessageHandler(response) {
@@ -1674,6 +1676,32 @@ function createDataTableWithPermissions(tableConfigurations, callbackFunction, o
                 }
             }
 
+            var keysetNextStart;
+            if (tableConfigurations.keysetPaging) {
+                // Cursors are only valid for the same sort, filters and page length.
+                var keysetKey = JSON.stringify($.grep(aoData, function (param) {
+                    return param.name !== "iDisplayStart" && param.name !== "sEcho";
+                }));
+                if (oSettings.keysetKey !== keysetKey) {
+                    oSettings.keysetKey = keysetKey;
+                    oSettings.keysetCursors = {};
+                }
+                var displayStart = 0;
+                var displayLength = 0;
+                $.each(aoData, function (index, param) {
+                    if (param.name === "iDisplayStart") {
+                        displayStart = Number(param.value);
+                    } else if (param.name === "iDisplayLength") {
+                        displayLength = Number(param.value);
+                    }
+                });
+                keysetNextStart = String(displayStart + displayLength);
+                aoData.push({name: "keyset", value: true});
+                if (oSettings.keysetCursors[String(displayStart)] !== undefined) {
+                    aoData.push({name: "cursor", value: oSettings.keysetCursors[String(displayStart)]});
+                }
+            }
+
             var objectWL = $(objectWaitingLayer);
             if (objectWaitingLayer !== undefined) {
                 showLoader(objectWL);
@@ -1698,6 +1726,9 @@ function createDataTableWithPermissions(tableConfigurations, callbackFunction, o
                         //sets the permissions in the table
                         tabCheckPermissions.attr("hasPermissions", hasPermissions);
                     }
+                    if (keysetNextStart !== undefined && json["nextCursor"] !== undefined) {
+                        oSettings.keysetCursors[keysetNextStart] = json["nextCursor"];
+                    }
                     returnMessageHandler(json);
                     fnCallback(json);
                     if (Boolean(userCallbackFunction)) {
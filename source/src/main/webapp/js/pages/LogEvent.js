@@ -37,6 +37,7 @@ function initPage() {
 //    showLoader('#logViewerTable');
     //configure and create the dataTable
     var configurations = new TableConfigurationsServerSide("logViewerTable", "ReadLogEvent", "contentTable", aoColumnsFunc(), [1, 'desc']);
+    configurations.keysetPaging = true;
 
     var table = createDataTableWithPermissions(configurations, renderOptionsForLogViewer, "#logViewer");
 //    hideLoader('#logViewerTable');
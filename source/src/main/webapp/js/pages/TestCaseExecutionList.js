@@ -74,6 +74,7 @@ function loadTable() {
     var lengthMenu = [10, 25, 50, 100, 500, 1000];
     var configurations = new TableConfigurationsServerSide("testCaseExecutionTable", contentUrl, "contentTable", aoColumnsFunc(), [3, 'desc'], lengthMenu);
     configurations.aaSorting = [2, 'desc'];
+    configurations.keysetPaging = true;
 
     var filtrableColumns = new Array("test", "testcase", "application", "country", "environment");
 
@@ -370,23 +370,29 @@ function exportTestCasesMenuClick() {
         var localMessage = new Message("danger", doc.getDocLabel("page_global", "message_exportActionError"));
         showMessage(localMessage, null);
     } else {
-        $("input[data-line=select]:checked").each(function (index, file) {
+        // All selected testcases are exported by a single request, zipped when there are several of them.
+        let iframe = document.createElement('iframe');
+        iframe.style.visibility = 'collapse';
+        document.body.append(iframe);
+
+        let form = iframe.contentDocument.createElement('form');
+        form.action = "./ExportTestCase";
+        form.method = "POST";
+        let selected = $("input[data-line=select]:checked");
+        selected.each(function (index, file) {
             var t = $(file).prop("name").replace(/test-/g, 'test=').replace(/testcase-/g, '&testcase=');
             var test = t.split("test=")[1].split("&testcase=")[0];
             var testcase = t.split("test=")[1].split("&testcase=")[1];
-
-            var url = "./ExportTestCase?" + $(file).prop("name").replace(/test-/g, 'test=').replace(/testcase-/g, '&testcase=');
-            let iframe = document.createElement('iframe');
-            iframe.style.visibility = 'collapse';
-            document.body.append(iframe);
-
-            iframe.contentDocument.write(
-                    "<form action='" + url + "' method='GET'><input name='test' value='" + test + "'/><input name='testcase' value='" + testcase + "'/></form>"
-                    );
-            iframe.contentDocument.forms[0].submit();
-
-            setTimeout(() => iframe.remove(), 2000);
+            $(form).append($("<input type='hidden' name='test'/>").val(test));
+            $(form).append($("<input type='hidden' name='testcase'/>").val(testcase));
         });
+        if (selected.length > 1) {
+            $(form).append($("<input type='hidden' name='zip' value='Y'/>"));
+        }
+        iframe.contentDocument.body.append(form);
+        form.submit();
+
+        setTimeout(() => iframe.remove(), 60000);
         var data = '{"messageType":"OK","message":"Export OK"}';
         showMessage(JSON.parse(data));
         $('#testCaseTable').DataTable().draw();
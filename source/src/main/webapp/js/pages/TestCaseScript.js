@@ -21,6 +21,8 @@
 /* global getSelectInvariant */
 
 var canUpdate = false;
+// Version of the testcase loaded in the page. Sent back on save so that a concurrent modification is detected.
+var loadedTestCaseVersion;
 var allDelete = false;
 var Tags = [];
 
@@ -151,6 +153,7 @@ $.when($.getScript("js/global/global.js")
                     application = data.contentTable[0].application;
                     description = data.contentTable[0].description;
                     testcaseObject = data.contentTable[0];
+                    loadedTestCaseVersion = testcaseObject.version;
                     loadTestCaseInfo(testcaseObject);
                     stepsObject = testcaseObject.steps;
                     sortData(stepsObject);
@@ -650,10 +653,18 @@ function saveScript(property) {
                 informationInitialTestCase: GetURLParameter("testcase"),
                 informationTest: GetURLParameter("test"),
                 informationTestCase: GetURLParameter("testcase"),
+                informationVersion: loadedTestCaseVersion,
                 steps: stepArr,
                 properties: propArr
             }),
-            success: function () {
+            success: function (data) {
+
+                if (data.messageType !== undefined && data.messageType !== "OK") {
+                    hideLoaderInModal('#propertiesModal');
+                    showMessageMainPage(getAlertType(data.messageType), data.message, false, 60000);
+                    $("#saveScript").attr("disabled", false);
+                    return;
+                }
 
                 var stepHtml = $("#steps li.active");
                 var stepData = stepHtml.data("item");